@@ -0,0 +1,9 @@
+-- Run this script from the parent directory, e.g. psql -f migrations/migrate-20261017.sql
+
+\i updates/NET-520-store-datum-batch.sql
+\i updates/NET-521-batch-agg-stale-processing.sql
+\i updates/NET-522-store-staged-datum.sql
+\i updates/NET-523-c2c-poll-task-batch-claim.sql
+\i updates/NET-524-cache-invalidate-notify.sql
+\i updates/NET-525-oscp-measurement-claim.sql
+\i updates/NET-526-datum-latest.sql
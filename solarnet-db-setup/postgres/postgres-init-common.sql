@@ -493,3 +493,33 @@ $$
 	FROM jsonb_each(A) ta(ka, va)
 	FULL JOIN jsonb_each(B) tb(kb, vb) ON ka = kb
 $$;
+
+/**
+ * Trigger function to broadcast cache invalidation notifications.
+ *
+ * A notification is sent on the `solarnet_cache_invalidate` channel for every changed row. The
+ * payload is the fully qualified table name and the row's primary key, separated by a newline.
+ * The trigger arguments are the names of the primary key columns. A single column key is
+ * formatted as a plain value, while a composite key is formatted like `(a,b)`.
+ *
+ * Notifications are only delivered when the transaction commits, and duplicate notifications
+ * within a transaction are delivered only once.
+ */
+CREATE OR REPLACE FUNCTION solarcommon.notify_cache_invalidate()
+	RETURNS TRIGGER LANGUAGE plpgsql VOLATILE AS
+$$
+DECLARE
+	row_data JSONB := to_jsonb(CASE TG_OP WHEN 'DELETE' THEN OLD ELSE NEW END);
+	k TEXT;
+BEGIN
+	IF TG_NARGS = 1 THEN
+		k := row_data ->> TG_ARGV[0];
+	ELSE
+		SELECT '(' || string_agg(row_data ->> t.col, ',' ORDER BY t.idx) || ')'
+		INTO k
+		FROM unnest(TG_ARGV) WITH ORDINALITY AS t(col, idx);
+	END IF;
+	PERFORM pg_notify('solarnet_cache_invalidate', TG_TABLE_SCHEMA || '.' || TG_TABLE_NAME || E'\n' || k);
+	RETURN NULL;
+END
+$$;
@@ -230,6 +230,10 @@ CREATE TABLE solarnet.sn_node_meta (
         ON UPDATE NO ACTION ON DELETE CASCADE
 );
 
+CREATE TRIGGER sn_node_meta_cache_invalidate
+	AFTER INSERT OR UPDATE OR DELETE ON solarnet.sn_node_meta
+	FOR EACH ROW EXECUTE PROCEDURE solarcommon.notify_cache_invalidate('node_id');
+
 /******************************************************************************
  * FUNCTION solarnet.store_node_meta(timestamptz, bigint, text)
  *
@@ -70,6 +70,84 @@ CREATE TABLE solardatm.da_datm (
 
 CREATE UNIQUE INDEX IF NOT EXISTS da_datm_pkey ON solardatm.da_datm (stream_id, ts DESC);
 
+-- latest datum timestamp per stream, to support efficient "most recent" queries; the timestamp
+-- is maintained by trigger on insert only, so may be later than the actual latest datum after
+-- datum are deleted; queries must therefore treat it as an upper bound, and must not assume
+-- every stream has a row; the row is deleted when its stream is deleted
+CREATE TABLE solardatm.da_datm_latest (
+	stream_id	UUID NOT NULL,
+	ts			TIMESTAMP WITH TIME ZONE NOT NULL,
+	CONSTRAINT da_datm_latest_pk PRIMARY KEY (stream_id)
+);
+
+/**
+ * Row trigger function to maintain the `solardatm.da_datm_latest` table as datum are inserted.
+ *
+ * The latest timestamp of the stream is first read without any lock, and only when the inserted
+ * datum advances that timestamp is it upserted. Thus inserting older datum, as in imports or
+ * back-filled data, takes no lock on `solardatm.da_datm_latest` rows. Live ingest does advance
+ * the timestamp with nearly every datum, which costs one primary key lookup plus one update of a
+ * narrow row per datum; that update changes no indexed column so is eligible for HOT updates.
+ * Statements that insert datum for several streams should insert them in stream order, so the
+ * latest rows are locked in a consistent order. A statement-level trigger with a transition
+ * table is not used because TimescaleDB hypertables do not support transition tables.
+ *
+ * If the `solardatm.datm_latest_defer` setting is `true` then nothing is done, so bulk loading
+ * functions can update the table once at the end instead.
+ */
+CREATE OR REPLACE FUNCTION solardatm.da_datm_maintain_latest()
+	RETURNS "trigger"  LANGUAGE 'plpgsql' VOLATILE AS $$
+DECLARE
+	latest_ts TIMESTAMP WITH TIME ZONE;
+BEGIN
+	IF current_setting('solardatm.datm_latest_defer', TRUE) = 'true' THEN
+		RETURN NULL;
+	END IF;
+
+	SELECT ts FROM solardatm.da_datm_latest WHERE stream_id = NEW.stream_id
+	INTO latest_ts;
+
+	IF latest_ts IS NULL OR latest_ts < NEW.ts THEN
+		INSERT INTO solardatm.da_datm_latest (stream_id, ts)
+		VALUES (NEW.stream_id, NEW.ts)
+		ON CONFLICT (stream_id) DO UPDATE
+		SET ts = EXCLUDED.ts
+		WHERE da_datm_latest.ts < EXCLUDED.ts;
+	END IF;
+
+	RETURN NULL;
+END;
+$$;
+
+CREATE TRIGGER da_datm_maintain_latest
+    AFTER INSERT
+    ON solardatm.da_datm
+    FOR EACH ROW
+    EXECUTE PROCEDURE solardatm.da_datm_maintain_latest();
+
+/**
+ * Trigger function to delete the `solardatm.da_datm_latest` row of a deleted datum stream.
+ */
+CREATE OR REPLACE FUNCTION solardatm.da_datm_meta_delete_latest()
+	RETURNS "trigger"  LANGUAGE 'plpgsql' VOLATILE AS $$
+BEGIN
+	DELETE FROM solardatm.da_datm_latest WHERE stream_id = OLD.stream_id;
+	RETURN NULL;
+END;
+$$;
+
+CREATE TRIGGER da_datm_meta_delete_latest
+    AFTER DELETE
+    ON solardatm.da_datm_meta
+    FOR EACH ROW
+    EXECUTE PROCEDURE solardatm.da_datm_meta_delete_latest();
+
+CREATE TRIGGER da_loc_datm_meta_delete_latest
+    AFTER DELETE
+    ON solardatm.da_loc_datm_meta
+    FOR EACH ROW
+    EXECUTE PROCEDURE solardatm.da_datm_meta_delete_latest();
+
 -- datum aux table
 CREATE TYPE solardatm.da_datm_aux_type AS ENUM ('Reset', 'Mark', 'Annotation', 'Flag', 'Note');
 
@@ -80,6 +80,9 @@ CREATE TABLE solardin.din_xform (
 		ON UPDATE NO ACTION ON DELETE CASCADE
 );
 
+CREATE TRIGGER din_xform_cache_invalidate
+	AFTER INSERT OR UPDATE OR DELETE ON solardin.din_xform
+	FOR EACH ROW EXECUTE PROCEDURE solarcommon.notify_cache_invalidate('user_id', 'id');
 
 /**
  * Datum input overall endpoint configuration.
@@ -117,6 +120,9 @@ CREATE TABLE solardin.din_endpoint (
 		ON UPDATE NO ACTION ON DELETE SET NULL (xform_id)
 );
 
+CREATE TRIGGER din_endpoint_cache_invalidate
+	AFTER INSERT OR UPDATE OR DELETE ON solardin.din_endpoint
+	FOR EACH ROW EXECUTE PROCEDURE solarcommon.notify_cache_invalidate('user_id', 'id');
 
 /**
  * Datum input endpoint authorization credentials configuration.
@@ -204,6 +210,9 @@ CREATE TABLE solardin.inin_req_xform (
 		ON UPDATE NO ACTION ON DELETE CASCADE
 );
 
+CREATE TRIGGER inin_req_xform_cache_invalidate
+	AFTER INSERT OR UPDATE OR DELETE ON solardin.inin_req_xform
+	FOR EACH ROW EXECUTE PROCEDURE solarcommon.notify_cache_invalidate('user_id', 'id');
 
 /**
  * Account-wide instruction input response transform service configuration.
@@ -230,6 +239,9 @@ CREATE TABLE solardin.inin_res_xform (
 		ON UPDATE NO ACTION ON DELETE CASCADE
 );
 
+CREATE TRIGGER inin_res_xform_cache_invalidate
+	AFTER INSERT OR UPDATE OR DELETE ON solardin.inin_res_xform
+	FOR EACH ROW EXECUTE PROCEDURE solarcommon.notify_cache_invalidate('user_id', 'id');
 
 /**
  * Instruction input overall endpoint configuration.
@@ -272,6 +284,9 @@ CREATE TABLE solardin.inin_endpoint (
 		ON UPDATE NO ACTION ON DELETE SET NULL (res_xform_id)
 );
 
+CREATE TRIGGER inin_endpoint_cache_invalidate
+	AFTER INSERT OR UPDATE OR DELETE ON solardin.inin_endpoint
+	FOR EACH ROW EXECUTE PROCEDURE solarcommon.notify_cache_invalidate('user_id', 'id');
 
 /**
  * Instruction input endpoint authorization credentials configuration.
@@ -705,6 +720,46 @@ $$
 $$;
 
 
+/**************************************************************************************************
+ * FUNCTION solardin.claim_datum_stream_poll_tasks(integer)
+ *
+ * "Claim" up to a maximum number of poll tasks from the solardin.cin_datum_stream_poll_task table
+ * that have a status of 'q' and change the status to 'p' and return them. The tasks will be
+ * claimed from oldest to newest based on the exec_at column.
+ *
+ * The exec_at column will also be updated to CURRENT_TIMESTAMP, although the original values will
+ * be returned.
+ *
+ * @param max_count the maximum number of tasks to claim
+ * @return the claimed rows, if any were able to be claimed
+ */
+CREATE OR REPLACE FUNCTION solardin.claim_datum_stream_poll_tasks(max_count INTEGER)
+	RETURNS SETOF solardin.cin_datum_stream_poll_task LANGUAGE SQL VOLATILE ROWS 10 AS
+$$
+	WITH t AS (
+		SELECT t.user_id, t.ds_id, t.exec_at
+		FROM solardin.cin_datum_stream_poll_task t
+		WHERE t.status = 'q'
+		AND t.exec_at <= CURRENT_TIMESTAMP
+		ORDER BY t.exec_at
+		LIMIT max_count
+		FOR NO KEY UPDATE SKIP LOCKED
+	)
+	UPDATE solardin.cin_datum_stream_poll_task
+	SET status = 'p', exec_at = CURRENT_TIMESTAMP
+	FROM t
+	WHERE cin_datum_stream_poll_task.user_id = t.user_id
+	AND cin_datum_stream_poll_task.ds_id = t.ds_id
+	RETURNING cin_datum_stream_poll_task.user_id
+		, cin_datum_stream_poll_task.ds_id
+		, cin_datum_stream_poll_task.status
+		, t.exec_at
+		, cin_datum_stream_poll_task.start_at
+		, cin_datum_stream_poll_task.message
+		, cin_datum_stream_poll_task.sprops
+$$;
+
+
 /**************************************************************************************************
  * FUNCTION solardin.claim_datum_stream_rake_task()
  *
@@ -218,12 +218,17 @@ CREATE TABLE solaroscp.oscp_cg_settings (
 
 /**
  * OSCP Capacity Group Capacity Provider measurement job status.
+ *
+ * The `claim_until` column is set while a measurement job has claimed the row
+ * for sending a measurement, so other job instances skip the row until the
+ * claim is released or expires.
  */
 CREATE TABLE solaroscp.oscp_cg_cp_meas (
 	user_id			BIGINT NOT NULL,
 	cg_id			BIGINT NOT NULL,
 	created			TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
 	meas_at			TIMESTAMP WITH TIME ZONE,
+	claim_until		TIMESTAMP WITH TIME ZONE,
 	CONSTRAINT oscp_cg_cp_meas_pk PRIMARY KEY (user_id, cg_id),
 	CONSTRAINT oscp_cg_cp_meas_cg_fk FOREIGN KEY (user_id, cg_id)
 		REFERENCES solaroscp.oscp_cg_conf (user_id, id) MATCH SIMPLE
@@ -235,12 +240,17 @@ CREATE INDEX oscp_cg_cp_meas_meas_idx ON solaroscp.oscp_cg_cp_meas (meas_at);
 
 /**
  * OSCP Capacity Group Capacity Optimizer measurement job status.
+ *
+ * The `claim_until` column is set while a measurement job has claimed the row
+ * for sending a measurement, so other job instances skip the row until the
+ * claim is released or expires.
  */
 CREATE TABLE solaroscp.oscp_cg_co_meas (
 	user_id			BIGINT NOT NULL,
 	cg_id			BIGINT NOT NULL,
 	created			TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
 	meas_at			TIMESTAMP WITH TIME ZONE,
+	claim_until		TIMESTAMP WITH TIME ZONE,
 	CONSTRAINT oscp_cg_co_meas_pk PRIMARY KEY (user_id, cg_id),
 	CONSTRAINT oscp_cg_co_meas_cg_fk FOREIGN KEY (user_id, cg_id)
 		REFERENCES solaroscp.oscp_cg_conf (user_id, id) MATCH SIMPLE
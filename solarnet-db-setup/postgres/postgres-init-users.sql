@@ -82,6 +82,10 @@ CREATE TABLE solaruser.user_meta (
         ON UPDATE NO ACTION ON DELETE CASCADE
 );
 
+CREATE TRIGGER user_meta_cache_invalidate
+	AFTER INSERT OR UPDATE OR DELETE ON solaruser.user_meta
+	FOR EACH ROW EXECUTE PROCEDURE solarcommon.notify_cache_invalidate('user_id');
+
 /******************************************************************************
  * FUNCTION solaruser.store_meta(timestamptz, bigint, text)
  *
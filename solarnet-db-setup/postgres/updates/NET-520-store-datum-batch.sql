@@ -0,0 +1,259 @@
+/**************************************************************************************************
+ * FUNCTION solardatm.store_datum_batch(TIMESTAMP WITH TIME ZONE[], BIGINT[], TEXT[],
+ *                                      TIMESTAMP WITH TIME ZONE[], TEXT[])
+ *
+ * Add or update a batch of node datum records. The data is stored in the `solardatm.da_datm` table.
+ *
+ * This function accepts parallel arrays of datum values, where each array index represents one
+ * datum. All missing streams are created in one pass, each datum is then stored via
+ * `solardatm.store_datum(UUID,...)`, re-using the stream property name arrays across datum of the
+ * same stream, and finally the audit counts and stale aggregate hours are updated once for the
+ * whole batch, rather than once per datum as `solardatm.store_datum(...,track)` does.
+ *
+ * @param ddates 	the datum timestamps
+ * @param nodes 	the node IDs
+ * @param srcs 		the source IDs
+ * @param rdates 	the dates the datum were received by SolarNetwork
+ * @param jdatas 	the datum JSON objects (with jdata_i, jdata_a, jdata_s, and jdata_t properties)
+ * @return the 1-based array index and associated stream ID of each stored datum
+ */
+CREATE OR REPLACE FUNCTION solardatm.store_datum_batch(
+	ddates 			TIMESTAMP WITH TIME ZONE[],
+	nodes 			BIGINT[],
+	srcs 			TEXT[],
+	rdates 			TIMESTAMP WITH TIME ZONE[],
+	jdatas 			TEXT[]
+	) RETURNS TABLE (
+		datum_idx 	INTEGER,
+		datum_sid 	UUID
+	) LANGUAGE plpgsql VOLATILE AS
+$$
+DECLARE
+	rec 		RECORD;
+	curr_sid 	UUID;
+	is_insert 	BOOLEAN;
+
+	-- property name arrays
+	p_i			TEXT[];
+	p_a			TEXT[];
+	p_s			TEXT[];
+
+	-- if each datum was inserted (rather than updated), by datum index; elements are assigned in
+	-- place so this stays linear in the batch size
+	r_inserts 	BOOLEAN[] := array_fill(TRUE, ARRAY[COALESCE(array_length(ddates, 1), 0)]);
+BEGIN
+	-- create any missing streams
+	INSERT INTO solardatm.da_datm_meta (node_id, source_id)
+	SELECT DISTINCT d.node, d.src
+	FROM unnest(nodes, srcs) AS d(node, src)
+	ON CONFLICT (node_id, source_id) DO NOTHING;
+
+	FOR rec IN
+		SELECT d.idx::INTEGER AS idx
+			, m.stream_id AS sid
+			, m.names_i
+			, m.names_a
+			, m.names_s
+			, d.src
+			, COALESCE(d.ddate, now()) AS ts_crea
+			, COALESCE(d.rdate, now()) AS ts_recv
+			, d.jdata::jsonb AS jdata_json
+		FROM unnest(ddates, nodes, srcs, rdates, jdatas)
+			WITH ORDINALITY AS d(ddate, node, src, rdate, jdata, idx)
+		INNER JOIN solardatm.da_datm_meta m ON m.node_id = d.node AND m.source_id = d.src
+		ORDER BY m.stream_id, d.idx
+	LOOP
+		IF curr_sid IS DISTINCT FROM rec.sid THEN
+			curr_sid := rec.sid;
+			p_i := rec.names_i;
+			p_a := rec.names_a;
+			p_s := rec.names_s;
+		END IF;
+
+		SELECT * FROM solardatm.store_datum(rec.sid, rec.ts_crea, rec.src, rec.ts_recv,
+						rec.jdata_json->'i',
+						rec.jdata_json->'a',
+						rec.jdata_json->'s',
+						solarcommon.json_array_to_text_array(rec.jdata_json->'t'),
+						p_i, p_a, p_s)
+		INTO p_i, p_a, p_s, is_insert;
+
+		r_inserts[rec.idx] := is_insert;
+
+		datum_idx := rec.idx;
+		datum_sid := rec.sid;
+		RETURN NEXT;
+	END LOOP;
+
+	-- add to audit datum in counts, once per stream hour
+	INSERT INTO solardatm.aud_datm_io (stream_id, ts_start, datum_count, prop_count, prop_u_count)
+	SELECT m.stream_id
+		, date_trunc('hour', COALESCE(d.rdate, now()))
+		, count(*)
+		, sum(p.pcount)
+		, sum(CASE r_inserts[d.idx] WHEN TRUE THEN 0 ELSE p.pcount END)
+	FROM unnest(nodes, srcs, rdates, jdatas)
+		WITH ORDINALITY AS d(node, src, rdate, jdata, idx)
+	INNER JOIN solardatm.da_datm_meta m ON m.node_id = d.node AND m.source_id = d.src
+	CROSS JOIN LATERAL (
+		SELECT solardatm.json_datum_prop_count(d.jdata::jsonb) AS pcount
+	) p
+	GROUP BY m.stream_id, date_trunc('hour', COALESCE(d.rdate, now()))
+	ON CONFLICT (stream_id, ts_start) DO UPDATE
+	SET datum_count = aud_datm_io.datum_count + EXCLUDED.datum_count,
+		prop_count = aud_datm_io.prop_count + EXCLUDED.prop_count,
+		prop_u_count = aud_datm_io.prop_u_count + EXCLUDED.prop_u_count;
+
+	-- add stale aggregate hour(s); only the first and last datum within each stream hour
+	-- can affect adjacent hours, so only those need to be passed to calc_stale_datm()
+	INSERT INTO solardatm.agg_stale_datm (stream_id, ts_start, agg_kind)
+	SELECT DISTINCT s.stream_id, s.ts_start, 'h' AS agg_kind
+	FROM (
+		SELECT m.stream_id AS sid, min(a.ts) AS ts_min, max(a.ts) AS ts_max
+		FROM unnest(ddates, nodes, srcs) AS d(ddate, node, src)
+		INNER JOIN solardatm.da_datm_meta m ON m.node_id = d.node AND m.source_id = d.src
+		CROSS JOIN LATERAL (SELECT COALESCE(d.ddate, now()) AS ts) a
+		GROUP BY m.stream_id, date_trunc('hour', a.ts)
+	) h
+	CROSS JOIN LATERAL (
+		SELECT * FROM solardatm.calc_stale_datm(h.sid, h.ts_min)
+		UNION
+		SELECT * FROM solardatm.calc_stale_datm(h.sid, h.ts_max)
+	) s
+	ON CONFLICT (agg_kind, stream_id, ts_start) DO NOTHING;
+END
+$$;
+
+
+/**************************************************************************************************
+ * FUNCTION solardatm.store_stream_datum_batch(UUID[], TIMESTAMP WITH TIME ZONE[],
+ *                                             TIMESTAMP WITH TIME ZONE[], TEXT[])
+ *
+ * Add or update a batch of stream datum records. The data is stored in the `solardatm.da_datm`
+ * table.
+ *
+ * This function accepts parallel arrays of datum values, where each array index represents one
+ * datum. All datum are stored like `solardatm.store_stream_datum(...)` does, but with a single
+ * statement, and then the audit counts and stale aggregate hours are updated once for the whole
+ * batch, rather than once per datum.
+ *
+ * @param sids 		the stream IDs
+ * @param ddates 	the datum timestamps
+ * @param rdates 	the dates the datum were received by SolarNetwork
+ * @param jdatas 	the datum property JSON objects, with i, a, s, and t array properties
+ */
+CREATE OR REPLACE FUNCTION solardatm.store_stream_datum_batch(
+	sids 			UUID[],
+	ddates 			TIMESTAMP WITH TIME ZONE[],
+	rdates 			TIMESTAMP WITH TIME ZONE[],
+	jdatas 			TEXT[]
+	) RETURNS VOID LANGUAGE plpgsql VOLATILE AS
+$$
+DECLARE
+	-- stored datum rows, and if each was inserted (rather than updated)
+	w_sids 		UUID[];
+	w_ts 		TIMESTAMP WITH TIME ZONE[];
+	w_inserts 	BOOLEAN[];
+BEGIN
+	-- store all datum with one statement; a datum repeated within the batch is stored once, with
+	-- the values of its last occurrence, which is the same result as storing each one in turn
+	WITH d AS (
+		SELECT DISTINCT ON (d.sid, COALESCE(d.ddate, now()))
+			d.sid
+			, COALESCE(d.ddate, now()) AS ts_crea
+			, COALESCE(d.rdate, now()) AS ts_recv
+			, d.jdata::jsonb AS jdata
+		FROM unnest(sids, ddates, rdates, jdatas)
+			WITH ORDINALITY AS d(sid, ddate, rdate, jdata, idx)
+		ORDER BY d.sid, COALESCE(d.ddate, now()), d.idx DESC
+	), v AS (
+		SELECT d.sid
+			, d.ts_crea
+			, d.ts_recv
+			, ARRAY(SELECT e.v::NUMERIC FROM jsonb_array_elements_text(d.jdata->'i')
+				WITH ORDINALITY AS e(v, idx) ORDER BY e.idx) AS idata
+			, ARRAY(SELECT e.v::NUMERIC FROM jsonb_array_elements_text(d.jdata->'a')
+				WITH ORDINALITY AS e(v, idx) ORDER BY e.idx) AS adata
+			, ARRAY(SELECT e.v FROM jsonb_array_elements_text(d.jdata->'s')
+				WITH ORDINALITY AS e(v, idx) ORDER BY e.idx) AS sdata
+			, ARRAY(SELECT e.v FROM jsonb_array_elements_text(d.jdata->'t')
+				WITH ORDINALITY AS e(v, idx) ORDER BY e.idx) AS tdata
+		FROM d
+	), w AS (
+		INSERT INTO solardatm.da_datm (stream_id, ts, received, data_i, data_a, data_s, data_t)
+		SELECT v.sid
+			, v.ts_crea
+			, v.ts_recv
+			, CASE WHEN COALESCE(array_length(v.idata, 1), 0) < 1 THEN NULL ELSE v.idata END
+			, CASE WHEN COALESCE(array_length(v.adata, 1), 0) < 1 THEN NULL ELSE v.adata END
+			, CASE WHEN COALESCE(array_length(v.sdata, 1), 0) < 1 THEN NULL ELSE v.sdata END
+			, CASE WHEN COALESCE(array_length(v.tdata, 1), 0) < 1 THEN NULL ELSE v.tdata END
+		FROM v
+		ON CONFLICT (stream_id, ts) DO UPDATE
+		SET received = EXCLUDED.received,
+			data_i = EXCLUDED.data_i,
+			data_a = EXCLUDED.data_a,
+			data_s = EXCLUDED.data_s,
+			data_t = EXCLUDED.data_t
+		RETURNING stream_id, ts, (xmax = 0) AS is_ins
+	)
+	SELECT array_agg(w.stream_id), array_agg(w.ts), array_agg(w.is_ins)
+	INTO w_sids, w_ts, w_inserts
+	FROM w;
+
+	-- add to audit datum in counts, once per stream hour; a datum counts as an update unless it
+	-- is the first occurrence in the batch of a row that was inserted
+	INSERT INTO solardatm.aud_datm_io (stream_id, ts_start, datum_count, prop_count, prop_u_count)
+	SELECT a.sid
+		, date_trunc('hour', a.ts_recv)
+		, count(*)
+		, sum(a.pcount)
+		, sum(CASE a.is_ins WHEN TRUE THEN 0 ELSE a.pcount END)
+	FROM (
+		SELECT d.sid
+			, COALESCE(d.rdate, now()) AS ts_recv
+			, p.pcount
+			, (w.is_ins AND row_number() OVER (
+				PARTITION BY d.sid, COALESCE(d.ddate, now()) ORDER BY d.idx) = 1) AS is_ins
+		FROM unnest(sids, ddates, rdates, jdatas)
+			WITH ORDINALITY AS d(sid, ddate, rdate, jdata, idx)
+		INNER JOIN unnest(w_sids, w_ts, w_inserts) AS w(sid, ts, is_ins)
+			ON w.sid = d.sid AND w.ts = COALESCE(d.ddate, now())
+		CROSS JOIN LATERAL (SELECT d.jdata::jsonb AS jdata) j
+		CROSS JOIN LATERAL (
+			SELECT count(*)::INTEGER AS pcount
+			FROM (
+				SELECT jsonb_array_elements(j.jdata->'i') AS v
+				UNION ALL
+				SELECT jsonb_array_elements(j.jdata->'a')
+				UNION ALL
+				SELECT jsonb_array_elements(j.jdata->'s')
+				UNION ALL
+				SELECT jsonb_array_elements(j.jdata->'t')
+			) e
+			WHERE e.v <> 'null'::jsonb
+		) p
+	) a
+	GROUP BY a.sid, date_trunc('hour', a.ts_recv)
+	ON CONFLICT (stream_id, ts_start) DO UPDATE
+	SET datum_count = aud_datm_io.datum_count + EXCLUDED.datum_count,
+		prop_count = aud_datm_io.prop_count + EXCLUDED.prop_count,
+		prop_u_count = aud_datm_io.prop_u_count + EXCLUDED.prop_u_count;
+
+	-- add stale aggregate hour(s); only the first and last datum within each stream hour
+	-- can affect adjacent hours, so only those need to be passed to calc_stale_datm()
+	INSERT INTO solardatm.agg_stale_datm (stream_id, ts_start, agg_kind)
+	SELECT DISTINCT s.stream_id, s.ts_start, 'h' AS agg_kind
+	FROM (
+		SELECT a.sid, min(a.ts) AS ts_min, max(a.ts) AS ts_max
+		FROM unnest(w_sids, w_ts) AS a(sid, ts)
+		GROUP BY a.sid, date_trunc('hour', a.ts)
+	) h
+	CROSS JOIN LATERAL (
+		SELECT * FROM solardatm.calc_stale_datm(h.sid, h.ts_min)
+		UNION
+		SELECT * FROM solardatm.calc_stale_datm(h.sid, h.ts_max)
+	) s
+	ON CONFLICT (agg_kind, stream_id, ts_start) DO NOTHING;
+END
+$$;
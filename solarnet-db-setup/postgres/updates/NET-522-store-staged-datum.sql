@@ -0,0 +1,97 @@
+/**
+ * Add or update node datum records staged in a table. The data is stored in the
+ * `solardatm.da_datm` table.
+ *
+ * This is designed to work with a (temporary) table populated via `COPY`, for bulk loading
+ * datum. All missing streams are created in one pass, and each datum is then stored via
+ * `solardatm.store_datum(UUID,...)`, re-using the stream property name arrays across datum of the
+ * same stream, in stream and `idx` order. No audit or stale aggregate records are updated;
+ * instead the datum statistics for each stream are returned so those can be updated once
+ * per stream.
+ *
+ * The staged table must have the following columns:
+ *
+ *  - `idx` a BIGINT ordering value
+ *  - `ts` the datum timestamp
+ *  - `node_id` the node ID
+ *  - `source_id` the source ID
+ *  - `received` the date the datum was received by SolarNetwork
+ *  - `jdata` the datum JSON object (with jdata_i, jdata_a, jdata_s, and jdata_t properties)
+ *
+ * @param staged the staged datum table
+ * @return the stored datum date range and counts for each stream
+ */
+CREATE OR REPLACE FUNCTION solardatm.store_staged_datum(staged REGCLASS)
+	RETURNS TABLE (
+		stream_id 	UUID,
+		ts_min 		TIMESTAMP WITH TIME ZONE,
+		ts_max 		TIMESTAMP WITH TIME ZONE,
+		datum_count INTEGER,
+		prop_count 	INTEGER
+	) LANGUAGE plpgsql VOLATILE AS
+$$
+DECLARE
+	rec 		RECORD;
+	curr_sid 	UUID;
+	is_insert 	BOOLEAN;
+
+	-- property name arrays
+	p_i			TEXT[];
+	p_a			TEXT[];
+	p_s			TEXT[];
+BEGIN
+	-- create any missing streams
+	EXECUTE format(
+		'INSERT INTO solardatm.da_datm_meta (node_id, source_id) '
+		'SELECT DISTINCT d.node_id, d.source_id FROM %s d '
+		'ON CONFLICT (node_id, source_id) DO NOTHING'
+		, staged);
+
+	FOR rec IN EXECUTE format(
+		'SELECT m.stream_id AS sid '
+		'	, m.names_i '
+		'	, m.names_a '
+		'	, m.names_s '
+		'	, d.source_id AS src '
+		'	, COALESCE(d.ts, now()) AS ts_crea '
+		'	, COALESCE(d.received, now()) AS ts_recv '
+		'	, d.jdata::jsonb AS jdata_json '
+		'FROM %s d '
+		'INNER JOIN solardatm.da_datm_meta m ON m.node_id = d.node_id AND m.source_id = d.source_id '
+		'ORDER BY m.stream_id, d.idx'
+		, staged)
+	LOOP
+		IF curr_sid IS DISTINCT FROM rec.sid THEN
+			IF curr_sid IS NOT NULL THEN
+				RETURN NEXT;
+			END IF;
+			curr_sid 	:= rec.sid;
+			p_i 		:= rec.names_i;
+			p_a 		:= rec.names_a;
+			p_s 		:= rec.names_s;
+			stream_id 	:= rec.sid;
+			ts_min 		:= rec.ts_crea;
+			ts_max 		:= rec.ts_crea;
+			datum_count := 0;
+			prop_count 	:= 0;
+		END IF;
+
+		SELECT * FROM solardatm.store_datum(rec.sid, rec.ts_crea, rec.src, rec.ts_recv,
+						rec.jdata_json->'i',
+						rec.jdata_json->'a',
+						rec.jdata_json->'s',
+						solarcommon.json_array_to_text_array(rec.jdata_json->'t'),
+						p_i, p_a, p_s)
+		INTO p_i, p_a, p_s, is_insert;
+
+		ts_min 		:= LEAST(ts_min, rec.ts_crea);
+		ts_max 		:= GREATEST(ts_max, rec.ts_crea);
+		datum_count := datum_count + 1;
+		prop_count 	:= prop_count + COALESCE(solardatm.json_datum_prop_count(rec.jdata_json), 0);
+	END LOOP;
+
+	IF curr_sid IS NOT NULL THEN
+		RETURN NEXT;
+	END IF;
+END
+$$;
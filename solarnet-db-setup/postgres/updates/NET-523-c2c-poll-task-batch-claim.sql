@@ -0,0 +1,38 @@
+/**************************************************************************************************
+ * FUNCTION solardin.claim_datum_stream_poll_tasks(integer)
+ *
+ * "Claim" up to a maximum number of poll tasks from the solardin.cin_datum_stream_poll_task table
+ * that have a status of 'q' and change the status to 'p' and return them. The tasks will be
+ * claimed from oldest to newest based on the exec_at column.
+ *
+ * The exec_at column will also be updated to CURRENT_TIMESTAMP, although the original values will
+ * be returned.
+ *
+ * @param max_count the maximum number of tasks to claim
+ * @return the claimed rows, if any were able to be claimed
+ */
+CREATE OR REPLACE FUNCTION solardin.claim_datum_stream_poll_tasks(max_count INTEGER)
+	RETURNS SETOF solardin.cin_datum_stream_poll_task LANGUAGE SQL VOLATILE ROWS 10 AS
+$$
+	WITH t AS (
+		SELECT t.user_id, t.ds_id, t.exec_at
+		FROM solardin.cin_datum_stream_poll_task t
+		WHERE t.status = 'q'
+		AND t.exec_at <= CURRENT_TIMESTAMP
+		ORDER BY t.exec_at
+		LIMIT max_count
+		FOR NO KEY UPDATE SKIP LOCKED
+	)
+	UPDATE solardin.cin_datum_stream_poll_task
+	SET status = 'p', exec_at = CURRENT_TIMESTAMP
+	FROM t
+	WHERE cin_datum_stream_poll_task.user_id = t.user_id
+	AND cin_datum_stream_poll_task.ds_id = t.ds_id
+	RETURNING cin_datum_stream_poll_task.user_id
+		, cin_datum_stream_poll_task.ds_id
+		, cin_datum_stream_poll_task.status
+		, t.exec_at
+		, cin_datum_stream_poll_task.start_at
+		, cin_datum_stream_poll_task.message
+		, cin_datum_stream_poll_task.sprops
+$$;
@@ -0,0 +1,57 @@
+/**
+ * Trigger function to broadcast cache invalidation notifications.
+ *
+ * A notification is sent on the `solarnet_cache_invalidate` channel for every changed row. The
+ * payload is the fully qualified table name and the row's primary key, separated by a newline.
+ * The trigger arguments are the names of the primary key columns. A single column key is
+ * formatted as a plain value, while a composite key is formatted like `(a,b)`.
+ *
+ * Notifications are only delivered when the transaction commits, and duplicate notifications
+ * within a transaction are delivered only once.
+ */
+CREATE OR REPLACE FUNCTION solarcommon.notify_cache_invalidate()
+	RETURNS TRIGGER LANGUAGE plpgsql VOLATILE AS
+$$
+DECLARE
+	row_data JSONB := to_jsonb(CASE TG_OP WHEN 'DELETE' THEN OLD ELSE NEW END);
+	k TEXT;
+BEGIN
+	IF TG_NARGS = 1 THEN
+		k := row_data ->> TG_ARGV[0];
+	ELSE
+		SELECT '(' || string_agg(row_data ->> t.col, ',' ORDER BY t.idx) || ')'
+		INTO k
+		FROM unnest(TG_ARGV) WITH ORDINALITY AS t(col, idx);
+	END IF;
+	PERFORM pg_notify('solarnet_cache_invalidate', TG_TABLE_SCHEMA || '.' || TG_TABLE_NAME || E'\n' || k);
+	RETURN NULL;
+END
+$$;
+
+CREATE TRIGGER sn_node_meta_cache_invalidate
+	AFTER INSERT OR UPDATE OR DELETE ON solarnet.sn_node_meta
+	FOR EACH ROW EXECUTE PROCEDURE solarcommon.notify_cache_invalidate('node_id');
+
+CREATE TRIGGER user_meta_cache_invalidate
+	AFTER INSERT OR UPDATE OR DELETE ON solaruser.user_meta
+	FOR EACH ROW EXECUTE PROCEDURE solarcommon.notify_cache_invalidate('user_id');
+
+CREATE TRIGGER din_xform_cache_invalidate
+	AFTER INSERT OR UPDATE OR DELETE ON solardin.din_xform
+	FOR EACH ROW EXECUTE PROCEDURE solarcommon.notify_cache_invalidate('user_id', 'id');
+
+CREATE TRIGGER din_endpoint_cache_invalidate
+	AFTER INSERT OR UPDATE OR DELETE ON solardin.din_endpoint
+	FOR EACH ROW EXECUTE PROCEDURE solarcommon.notify_cache_invalidate('user_id', 'id');
+
+CREATE TRIGGER inin_req_xform_cache_invalidate
+	AFTER INSERT OR UPDATE OR DELETE ON solardin.inin_req_xform
+	FOR EACH ROW EXECUTE PROCEDURE solarcommon.notify_cache_invalidate('user_id', 'id');
+
+CREATE TRIGGER inin_res_xform_cache_invalidate
+	AFTER INSERT OR UPDATE OR DELETE ON solardin.inin_res_xform
+	FOR EACH ROW EXECUTE PROCEDURE solarcommon.notify_cache_invalidate('user_id', 'id');
+
+CREATE TRIGGER inin_endpoint_cache_invalidate
+	AFTER INSERT OR UPDATE OR DELETE ON solardin.inin_endpoint
+	FOR EACH ROW EXECUTE PROCEDURE solarcommon.notify_cache_invalidate('user_id', 'id');
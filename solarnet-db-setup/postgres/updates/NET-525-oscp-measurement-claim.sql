@@ -0,0 +1,6 @@
+/**
+ * Add a claim expiration date to the OSCP measurement job status tables, so measurements can be
+ * sent to external systems without holding row locks for the duration of the HTTP exchange.
+ */
+ALTER TABLE solaroscp.oscp_cg_cp_meas ADD COLUMN claim_until TIMESTAMP WITH TIME ZONE;
+ALTER TABLE solaroscp.oscp_cg_co_meas ADD COLUMN claim_until TIMESTAMP WITH TIME ZONE;
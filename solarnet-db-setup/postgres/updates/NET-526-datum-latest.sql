@@ -0,0 +1,221 @@
+/**
+ * Add a table to track the latest datum timestamp per stream, maintained by a row trigger as datum
+ * are inserted, so "most recent" datum queries can bound their search for the latest datum of each
+ * stream.
+ */
+CREATE TABLE solardatm.da_datm_latest (
+	stream_id	UUID NOT NULL,
+	ts			TIMESTAMP WITH TIME ZONE NOT NULL,
+	CONSTRAINT da_datm_latest_pk PRIMARY KEY (stream_id)
+);
+
+/**
+ * Row trigger function to maintain the `solardatm.da_datm_latest` table as datum are inserted.
+ *
+ * The latest timestamp of the stream is first read without any lock, and only when the inserted
+ * datum advances that timestamp is it upserted. Thus inserting older datum, as in imports or
+ * back-filled data, takes no lock on `solardatm.da_datm_latest` rows. Live ingest does advance
+ * the timestamp with nearly every datum, which costs one primary key lookup plus one update of a
+ * narrow row per datum; that update changes no indexed column so is eligible for HOT updates.
+ * Statements that insert datum for several streams should insert them in stream order, so the
+ * latest rows are locked in a consistent order. A statement-level trigger with a transition
+ * table is not used because TimescaleDB hypertables do not support transition tables.
+ *
+ * If the `solardatm.datm_latest_defer` setting is `true` then nothing is done, so bulk loading
+ * functions can update the table once at the end instead.
+ */
+CREATE OR REPLACE FUNCTION solardatm.da_datm_maintain_latest()
+	RETURNS "trigger"  LANGUAGE 'plpgsql' VOLATILE AS $$
+DECLARE
+	latest_ts TIMESTAMP WITH TIME ZONE;
+BEGIN
+	IF current_setting('solardatm.datm_latest_defer', TRUE) = 'true' THEN
+		RETURN NULL;
+	END IF;
+
+	SELECT ts FROM solardatm.da_datm_latest WHERE stream_id = NEW.stream_id
+	INTO latest_ts;
+
+	IF latest_ts IS NULL OR latest_ts < NEW.ts THEN
+		INSERT INTO solardatm.da_datm_latest (stream_id, ts)
+		VALUES (NEW.stream_id, NEW.ts)
+		ON CONFLICT (stream_id) DO UPDATE
+		SET ts = EXCLUDED.ts
+		WHERE da_datm_latest.ts < EXCLUDED.ts;
+	END IF;
+
+	RETURN NULL;
+END;
+$$;
+
+CREATE TRIGGER da_datm_maintain_latest
+    AFTER INSERT
+    ON solardatm.da_datm
+    FOR EACH ROW
+    EXECUTE PROCEDURE solardatm.da_datm_maintain_latest();
+
+/**
+ * Trigger function to delete the `solardatm.da_datm_latest` row of a deleted datum stream.
+ */
+CREATE OR REPLACE FUNCTION solardatm.da_datm_meta_delete_latest()
+	RETURNS "trigger"  LANGUAGE 'plpgsql' VOLATILE AS $$
+BEGIN
+	DELETE FROM solardatm.da_datm_latest WHERE stream_id = OLD.stream_id;
+	RETURN NULL;
+END;
+$$;
+
+CREATE TRIGGER da_datm_meta_delete_latest
+    AFTER DELETE
+    ON solardatm.da_datm_meta
+    FOR EACH ROW
+    EXECUTE PROCEDURE solardatm.da_datm_meta_delete_latest();
+
+CREATE TRIGGER da_loc_datm_meta_delete_latest
+    AFTER DELETE
+    ON solardatm.da_loc_datm_meta
+    FOR EACH ROW
+    EXECUTE PROCEDURE solardatm.da_datm_meta_delete_latest();
+
+-- defer latest datum maintenance while loading staged datum
+/**
+ * Add or update node datum records staged in a table. The data is stored in the
+ * `solardatm.da_datm` table.
+ *
+ * This is designed to work with a (temporary) table populated via `COPY`, for bulk loading
+ * datum. All missing streams are created in one pass, and each datum is then stored via
+ * `solardatm.store_datum(UUID,...)`, re-using the stream property name arrays across datum of the
+ * same stream, in stream and `idx` order. No audit or stale aggregate records are updated;
+ * instead the datum statistics for each stream are returned so those can be updated once
+ * per stream. Likewise the `solardatm.da_datm_latest` table is updated once per stream after
+ * all datum are stored, so its rows are not locked while the datum are loaded.
+ *
+ * The staged table must have the following columns:
+ *
+ *  - `idx` a BIGINT ordering value
+ *  - `ts` the datum timestamp
+ *  - `node_id` the node ID
+ *  - `source_id` the source ID
+ *  - `received` the date the datum was received by SolarNetwork
+ *  - `jdata` the datum JSON object (with jdata_i, jdata_a, jdata_s, and jdata_t properties)
+ *
+ * @param staged the staged datum table
+ * @return the stored datum date range and counts for each stream
+ */
+CREATE OR REPLACE FUNCTION solardatm.store_staged_datum(staged REGCLASS)
+	RETURNS TABLE (
+		stream_id 	UUID,
+		ts_min 		TIMESTAMP WITH TIME ZONE,
+		ts_max 		TIMESTAMP WITH TIME ZONE,
+		datum_count INTEGER,
+		prop_count 	INTEGER
+	) LANGUAGE plpgsql VOLATILE AS
+$$
+DECLARE
+	rec 		RECORD;
+	curr_sid 	UUID;
+	is_insert 	BOOLEAN;
+
+	-- property name arrays
+	p_i			TEXT[];
+	p_a			TEXT[];
+	p_s			TEXT[];
+BEGIN
+	-- create any missing streams
+	EXECUTE format(
+		'INSERT INTO solardatm.da_datm_meta (node_id, source_id) '
+		'SELECT DISTINCT d.node_id, d.source_id FROM %s d '
+		'ON CONFLICT (node_id, source_id) DO NOTHING'
+		, staged);
+
+	-- defer latest datum maintenance until all datum are stored
+	PERFORM set_config('solardatm.datm_latest_defer', 'true', TRUE);
+
+	FOR rec IN EXECUTE format(
+		'SELECT m.stream_id AS sid '
+		'	, m.names_i '
+		'	, m.names_a '
+		'	, m.names_s '
+		'	, d.source_id AS src '
+		'	, COALESCE(d.ts, now()) AS ts_crea '
+		'	, COALESCE(d.received, now()) AS ts_recv '
+		'	, d.jdata::jsonb AS jdata_json '
+		'FROM %s d '
+		'INNER JOIN solardatm.da_datm_meta m ON m.node_id = d.node_id AND m.source_id = d.source_id '
+		'ORDER BY m.stream_id, d.idx'
+		, staged)
+	LOOP
+		IF curr_sid IS DISTINCT FROM rec.sid THEN
+			IF curr_sid IS NOT NULL THEN
+				RETURN NEXT;
+			END IF;
+			curr_sid 	:= rec.sid;
+			p_i 		:= rec.names_i;
+			p_a 		:= rec.names_a;
+			p_s 		:= rec.names_s;
+			stream_id 	:= rec.sid;
+			ts_min 		:= rec.ts_crea;
+			ts_max 		:= rec.ts_crea;
+			datum_count := 0;
+			prop_count 	:= 0;
+		END IF;
+
+		SELECT * FROM solardatm.store_datum(rec.sid, rec.ts_crea, rec.src, rec.ts_recv,
+						rec.jdata_json->'i',
+						rec.jdata_json->'a',
+						rec.jdata_json->'s',
+						solarcommon.json_array_to_text_array(rec.jdata_json->'t'),
+						p_i, p_a, p_s)
+		INTO p_i, p_a, p_s, is_insert;
+
+		ts_min 		:= LEAST(ts_min, rec.ts_crea);
+		ts_max 		:= GREATEST(ts_max, rec.ts_crea);
+		datum_count := datum_count + 1;
+		prop_count 	:= prop_count + COALESCE(solardatm.json_datum_prop_count(rec.jdata_json), 0);
+	END LOOP;
+
+	IF curr_sid IS NOT NULL THEN
+		RETURN NEXT;
+	END IF;
+
+	PERFORM set_config('solardatm.datm_latest_defer', '', TRUE);
+
+	EXECUTE format(
+		'INSERT INTO solardatm.da_datm_latest (stream_id, ts) '
+		'SELECT n.stream_id, n.ts '
+		'FROM ( '
+		'	SELECT m.stream_id, max(COALESCE(d.ts, now())) AS ts '
+		'	FROM %s d '
+		'	INNER JOIN solardatm.da_datm_meta m ON m.node_id = d.node_id AND m.source_id = d.source_id '
+		'	GROUP BY m.stream_id '
+		') n '
+		'LEFT OUTER JOIN solardatm.da_datm_latest l ON l.stream_id = n.stream_id '
+		'WHERE l.ts IS NULL OR l.ts < n.ts '
+		'ORDER BY n.stream_id '
+		'ON CONFLICT (stream_id) DO UPDATE '
+		'SET ts = EXCLUDED.ts '
+		'WHERE da_datm_latest.ts < EXCLUDED.ts'
+		, staged);
+END
+$$;
+
+-- populate from existing datum; the trigger is created first so any datum inserted while this
+-- runs is also captured, with the ON CONFLICT guard keeping the later of the two timestamps
+INSERT INTO solardatm.da_datm_latest (stream_id, ts)
+SELECT s.stream_id, d.ts
+FROM (
+	SELECT stream_id FROM solardatm.da_datm_meta
+	UNION ALL
+	SELECT stream_id FROM solardatm.da_loc_datm_meta
+) s
+INNER JOIN LATERAL (
+	SELECT datum.ts
+	FROM solardatm.da_datm datum
+	WHERE datum.stream_id = s.stream_id
+	ORDER BY datum.ts DESC
+	LIMIT 1
+) d ON TRUE
+ORDER BY s.stream_id
+ON CONFLICT (stream_id) DO UPDATE
+SET ts = EXCLUDED.ts
+WHERE da_datm_latest.ts < EXCLUDED.ts;
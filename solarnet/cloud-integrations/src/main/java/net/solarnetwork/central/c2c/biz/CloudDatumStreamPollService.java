@@ -23,6 +23,8 @@
 package net.solarnetwork.central.c2c.biz;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.Future;
 import org.jspecify.annotations.Nullable;
 import net.solarnetwork.central.c2c.domain.CloudDatumStreamPollTaskEntity;
@@ -31,7 +33,7 @@ import net.solarnetwork.central.c2c.domain.CloudDatumStreamPollTaskEntity;
  * Service to manage cloud datum stream poll tasks.
  *
  * @author matt
- * @version 1.0
+ * @version 1.1
  */
 public interface CloudDatumStreamPollService {
 
@@ -48,6 +50,31 @@ public interface CloudDatumStreamPollService {
 	@Nullable
 	CloudDatumStreamPollTaskEntity claimQueuedTask();
 
+	/**
+	 * Claim up to a maximum number of queued poll tasks.
+	 *
+	 * <p>
+	 * The default implementation calls {@link #claimQueuedTask()} until
+	 * {@code max} tasks are claimed or no more are available.
+	 * </p>
+	 *
+	 * @param max
+	 *        the maximum number of tasks to claim
+	 * @return the claimed tasks, never {@code null}
+	 * @since 1.1
+	 */
+	default List<CloudDatumStreamPollTaskEntity> claimQueuedTasks(int max) {
+		final List<CloudDatumStreamPollTaskEntity> result = new ArrayList<>(Math.max(0, max));
+		while ( result.size() < max ) {
+			final CloudDatumStreamPollTaskEntity task = claimQueuedTask();
+			if ( task == null ) {
+				break;
+			}
+			result.add(task);
+		}
+		return result;
+	}
+
 	/**
 	 * Execute a poll task.
 	 *
@@ -22,11 +22,15 @@
 
 package net.solarnetwork.central.c2c.biz;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import org.jspecify.annotations.Nullable;
+import net.solarnetwork.central.c2c.domain.BasicQueryFilter;
 import net.solarnetwork.central.c2c.domain.CloudDataValue;
 import net.solarnetwork.central.c2c.domain.CloudDatumStreamConfiguration;
 import net.solarnetwork.central.c2c.domain.CloudDatumStreamQueryFilter;
@@ -44,7 +48,7 @@ import net.solarnetwork.settings.SettingSpecifierProvider;
  * API for a cloud datum stream service.
  *
  * @author matt
- * @version 2.3
+ * @version 2.4
  */
 public interface CloudDatumStreamService
 		extends Unique<String>, SettingSpecifierProvider, LocalizedServiceInfoProvider {
@@ -240,6 +244,87 @@ public interface CloudDatumStreamService
 	CloudDatumStreamQueryResult datum(CloudDatumStreamConfiguration datumStream,
 			CloudDatumStreamQueryFilter filter);
 
+	/**
+	 * Stream datum for a datum stream configuration that match some filter
+	 * criteria, one page of results at a time.
+	 *
+	 * <p>
+	 * Each page of results is passed to {@code handler} as soon as it is
+	 * available, so that callers can process large time ranges without holding
+	 * all datum in memory. The handler returns {@literal true} to request the
+	 * next page, or {@literal false} to stop. Each page's
+	 * {@link CloudDatumStreamQueryResult#getUsedQueryFilter()} and
+	 * {@link CloudDatumStreamQueryResult#getNextQueryFilter()} describe the
+	 * time range covered by that page and where the following page starts.
+	 * </p>
+	 *
+	 * <p>
+	 * The default implementation passes
+	 * {@link #datum(CloudDatumStreamConfiguration, CloudDatumStreamQueryFilter)}
+	 * to {@link #datumPages(CloudDatumStreamQueryFilter, Predicate, Function)}.
+	 * Implementations can override to avoid repeating work for each page, such
+	 * as resolving the datum stream configuration.
+	 * </p>
+	 *
+	 * @param datumStream
+	 *        the datum stream configuration to get the datum for
+	 * @param filter
+	 *        the query filter
+	 * @param handler
+	 *        the handler to pass each page of results to
+	 * @since 2.4
+	 */
+	default void datum(CloudDatumStreamConfiguration datumStream, CloudDatumStreamQueryFilter filter,
+			Predicate<CloudDatumStreamQueryResult> handler) {
+		datumPages(filter, handler, pageFilter -> datum(datumStream, pageFilter));
+	}
+
+	/**
+	 * Query pages of datum, following the next query filter of each page.
+	 *
+	 * <p>
+	 * The first page is queried with {@code filter}. Then, while
+	 * {@code handler} returns {@literal true} and a next query filter with a
+	 * start date later than the previous one is provided, the next page is
+	 * queried with a copy of {@code filter} starting at that date.
+	 * </p>
+	 *
+	 * @param filter
+	 *        the query filter
+	 * @param handler
+	 *        the handler to pass each page of results to
+	 * @param pageProvider
+	 *        function to query one page of results for a given filter
+	 * @return the number of pages passed to {@code handler}
+	 * @since 2.4
+	 */
+	static int datumPages(CloudDatumStreamQueryFilter filter,
+			Predicate<CloudDatumStreamQueryResult> handler,
+			Function<CloudDatumStreamQueryFilter, @Nullable CloudDatumStreamQueryResult> pageProvider) {
+		int count = 0;
+		CloudDatumStreamQueryFilter pageFilter = filter;
+		while ( true ) {
+			final CloudDatumStreamQueryResult page = pageProvider.apply(pageFilter);
+			if ( page == null ) {
+				return count;
+			}
+			count++;
+			if ( !handler.test(page) ) {
+				return count;
+			}
+			final CloudDatumStreamQueryFilter next = page.getNextQueryFilter();
+			final Instant nextStartDate = (next != null ? next.getStartDate() : null);
+			final Instant pageStartDate = pageFilter.getStartDate();
+			if ( nextStartDate == null
+					|| (pageStartDate != null && !nextStartDate.isAfter(pageStartDate)) ) {
+				return count;
+			}
+			final BasicQueryFilter nextFilter = BasicQueryFilter.copyOf(filter);
+			nextFilter.setStartDate(nextStartDate);
+			pageFilter = nextFilter;
+		}
+	}
+
 	/**
 	 * Resolve the source IDs generated by a given datum stream configuration.
 	 *
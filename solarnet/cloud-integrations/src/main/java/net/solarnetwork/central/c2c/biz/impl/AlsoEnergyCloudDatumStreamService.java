@@ -60,6 +60,7 @@ import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
 import java.util.concurrent.locks.Lock;
+import java.util.function.Predicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -88,6 +89,7 @@ import net.solarnetwork.central.c2c.domain.BasicCloudDatumStreamQueryResult;
 import net.solarnetwork.central.c2c.domain.BasicQueryFilter;
 import net.solarnetwork.central.c2c.domain.CloudDataValue;
 import net.solarnetwork.central.c2c.domain.CloudDatumStreamConfiguration;
+import net.solarnetwork.central.c2c.domain.CloudDatumStreamMappingConfiguration;
 import net.solarnetwork.central.c2c.domain.CloudDatumStreamPropertyConfiguration;
 import net.solarnetwork.central.c2c.domain.CloudDatumStreamQueryFilter;
 import net.solarnetwork.central.c2c.domain.CloudDatumStreamQueryResult;
@@ -116,7 +118,7 @@ import tools.jackson.databind.JsonNode;
  * AlsoEnergy implementation of {@link CloudDatumStreamService}.
  *
  * @author matt
- * @version 2.2
+ * @version 2.3
  */
 public class AlsoEnergyCloudDatumStreamService extends BaseRestOperationsCloudDatumStreamService {
 
@@ -425,118 +427,135 @@ public class AlsoEnergyCloudDatumStreamService extends BaseRestOperationsCloudDa
 			CloudDatumStreamQueryFilter filter) {
 		requireNonNullArgument(datumStream, "datumStream");
 		requireNonNullArgument(filter, "filter");
-		return performAction(datumStream, (ms, ds, mapping, integration, valueProps, exprProps) -> {
-
-			if ( valueProps.isEmpty() ) {
-				String msg = "Datum stream has no properties.";
-				Errors errors = new BindException(ds, "datumStream");
-				errors.reject("error.datumStream.noProperties", null, msg);
-				throw new ValidationException(msg, errors, ms);
-			}
+		return performAction(datumStream, (ms, ds, mapping, integration, valueProps,
+				exprProps) -> queryDatum(ms, ds, mapping, integration, valueProps, exprProps, filter));
+	}
 
-			final Instant filterStartDate = requireNonNullArgument(filter.getStartDate(),
-					"filter.startDate");
-			final Instant filterEndDate = requireNonNullArgument(filter.getEndDate(),
-					"filter.startDate");
+	@Override
+	public void datum(CloudDatumStreamConfiguration datumStream, CloudDatumStreamQueryFilter filter,
+			Predicate<CloudDatumStreamQueryResult> handler) {
+		requireNonNullArgument(datumStream, "datumStream");
+		requireNonNullArgument(filter, "filter");
+		requireNonNullArgument(handler, "handler");
+		performAction(datumStream,
+				(ms, ds, mapping, integration, valueProps, exprProps) -> CloudDatumStreamService
+						.datumPages(filter, handler, pageFilter -> queryDatum(ms, ds, mapping,
+								integration, valueProps, exprProps, pageFilter)));
+	}
 
-			final ZoneId zone = resolveTimeZone(datumStream, filter.getParameters());
+	private CloudDatumStreamQueryResult queryDatum(MessageSource ms, CloudDatumStreamConfiguration ds,
+			CloudDatumStreamMappingConfiguration mapping, CloudIntegrationConfiguration integration,
+			List<CloudDatumStreamPropertyConfiguration> valueProps,
+			List<CloudDatumStreamPropertyConfiguration> exprProps, CloudDatumStreamQueryFilter filter) {
+		if ( valueProps.isEmpty() ) {
+			String msg = "Datum stream has no properties.";
+			Errors errors = new BindException(ds, "datumStream");
+			errors.reject("error.datumStream.noProperties", null, msg);
+			throw new ValidationException(msg, errors, ms);
+		}
 
-			final SortedMap<Period, AlsoEnergyGranularity> granularityPeriods = resolveGranularityPeriods(
-					datumStream);
+		final Instant filterStartDate = requireNonNullArgument(filter.getStartDate(),
+				"filter.startDate");
+		final Instant filterEndDate = requireNonNullArgument(filter.getEndDate(),
+				"filter.startDate");
 
-			final AlsoEnergyGranularity resolution = resolveGranularity(ds, filter.getParameters(),
-					granularityPeriods, filterStartDate, zone);
+		final ZoneId zone = resolveTimeZone(ds, filter.getParameters());
 
-			final Map<String, String> sourceIdMap = ds.servicePropertyStringMap(SOURCE_ID_MAP_SETTING);
+		final SortedMap<Period, AlsoEnergyGranularity> granularityPeriods = resolveGranularityPeriods(
+				ds);
 
-			// validation support
-			final Set<String> ignoredValidations = ds
-					.servicePropertyStringSet(VALIDATION_IGNORE_SETTING);
+		final AlsoEnergyGranularity resolution = resolveGranularity(ds, filter.getParameters(),
+				granularityPeriods, filterStartDate, zone);
 
-			// construct (siteId, hardwareId) to ValueRef[] mapping
-			final Map<UserLongCompositePK, List<ValueRef>> hardwareGroups = resolveHardwareGroups(
-					integration, ds, sourceIdMap != null ? sourceIdMap.keySet() : null, valueProps);
+		final Map<String, String> sourceIdMap = ds.servicePropertyStringMap(SOURCE_ID_MAP_SETTING);
 
-			BasicQueryFilter nextQueryFilter = null;
+		// validation support
+		final Set<String> ignoredValidations = ds
+				.servicePropertyStringSet(VALIDATION_IGNORE_SETTING);
 
-			Instant startDate = resolution.tickStart(filterStartDate, zone);
-			Instant endDate = resolution.tickStart(filterEndDate, zone);
-			if ( endDate.isBefore(filterEndDate) ) {
-				endDate = resolution.nextTickStart(endDate, zone);
-			}
+		// construct (siteId, hardwareId) to ValueRef[] mapping
+		final Map<UserLongCompositePK, List<ValueRef>> hardwareGroups = resolveHardwareGroups(
+				integration, ds, sourceIdMap != null ? sourceIdMap.keySet() : null, valueProps);
 
-			endDate = adjustEndDateForGranularityPeriods(granularityPeriods, startDate, endDate, zone);
+		BasicQueryFilter nextQueryFilter = null;
 
-			if ( Duration.between(startDate, endDate).compareTo(MAX_QUERY_TIME_RANGE) > 0 ) {
-				Instant nextEndDate = resolution
-						.tickStart(startDate.plus(MAX_QUERY_TIME_RANGE.multipliedBy(2)), zone);
-				if ( nextEndDate.isAfter(endDate) ) {
-					nextEndDate = endDate;
-				}
+		Instant startDate = resolution.tickStart(filterStartDate, zone);
+		Instant endDate = resolution.tickStart(filterEndDate, zone);
+		if ( endDate.isBefore(filterEndDate) ) {
+			endDate = resolution.nextTickStart(endDate, zone);
+		}
 
-				endDate = resolution.tickStart(startDate.plus(MAX_QUERY_TIME_RANGE), zone);
+		endDate = adjustEndDateForGranularityPeriods(granularityPeriods, startDate, endDate, zone);
 
-				nextQueryFilter = new BasicQueryFilter();
-				nextQueryFilter.setStartDate(endDate);
-				nextQueryFilter.setEndDate(nextEndDate);
+		if ( Duration.between(startDate, endDate).compareTo(MAX_QUERY_TIME_RANGE) > 0 ) {
+			Instant nextEndDate = resolution
+					.tickStart(startDate.plus(MAX_QUERY_TIME_RANGE.multipliedBy(2)), zone);
+			if ( nextEndDate.isAfter(endDate) ) {
+				nextEndDate = endDate;
 			}
 
-			final BasicQueryFilter usedQueryFilter = new BasicQueryFilter();
-			usedQueryFilter.setStartDate(startDate);
-			usedQueryFilter.setEndDate(endDate);
+			endDate = resolution.tickStart(startDate.plus(MAX_QUERY_TIME_RANGE), zone);
 
-			if ( !endDate.isAfter(startDate) ) {
-				return new BasicCloudDatumStreamQueryResult(usedQueryFilter, nextQueryFilter, List.of());
-			}
+			nextQueryFilter = new BasicQueryFilter();
+			nextQueryFilter.setStartDate(endDate);
+			nextQueryFilter.setEndDate(nextEndDate);
+		}
 
-			final OrderedDatumSamplesBuffer streamBuffer = new OrderedDatumSamplesBuffer();
+		final BasicQueryFilter usedQueryFilter = new BasicQueryFilter();
+		usedQueryFilter.setStartDate(startDate);
+		usedQueryFilter.setEndDate(endDate);
 
-			for ( Entry<UserLongCompositePK, List<ValueRef>> e : hardwareGroups.entrySet() ) {
-				final ZonedDateTime siteStartDate = startDate.atZone(zone);
-				final ZonedDateTime siteEndDate = endDate.atZone(zone);
+		if ( !endDate.isAfter(startDate) ) {
+			return new BasicCloudDatumStreamQueryResult(usedQueryFilter, nextQueryFilter, List.of());
+		}
 
-				final List<Map<String, Object>> reqBody = new ArrayList<>(e.getValue().size());
-				for ( ValueRef ref : e.getValue() ) {
-					var reqField = new LinkedHashMap<String, Object>(4);
-					reqField.put("siteId", ref.siteId);
-					reqField.put("hardwareId", ref.hardwareId);
-					reqField.put("function", ref.fn.name());
-					reqField.put("fieldName", ref.fieldName);
-					reqBody.add(reqField);
-				}
+		final OrderedDatumSamplesBuffer streamBuffer = new OrderedDatumSamplesBuffer();
 
-				String startDateParam = ISO_DATE_OPT_TIME_OPT_MILLIS_UTC
-						.format(siteStartDate.toLocalDateTime());
-				String endDateParam = ISO_DATE_OPT_TIME_OPT_MILLIS_UTC
-						.format(siteEndDate.toLocalDateTime());
-
-				restOpsHelper.http("List data for hardware", HttpMethod.POST, reqBody, integration,
-						JsonNode.class, req -> {
-							req.setContentType(MediaType.APPLICATION_JSON);
-						// @formatter:off
-							return fromUri(resolveBaseUrl(integration, BASE_URI)).path(BIN_DATA_URL)
-									.queryParam("from", startDateParam)
-									.queryParam("to", endDateParam)
-									.queryParam("binSizes", resolution.getQueryKey())
-									.queryParam("tz", zone.getId())
-									.buildAndExpand().toUri();
-							// @formatter:on
-						}, (req, res) -> parseDatum(req, res.getBody(), e.getValue(), ds, sourceIdMap,
-								streamBuffer, ignoredValidations));
+		for ( Entry<UserLongCompositePK, List<ValueRef>> e : hardwareGroups.entrySet() ) {
+			final ZonedDateTime siteStartDate = startDate.atZone(zone);
+			final ZonedDateTime siteEndDate = endDate.atZone(zone);
+
+			final List<Map<String, Object>> reqBody = new ArrayList<>(e.getValue().size());
+			for ( ValueRef ref : e.getValue() ) {
+				var reqField = new LinkedHashMap<String, Object>(4);
+				reqField.put("siteId", ref.siteId);
+				reqField.put("hardwareId", ref.hardwareId);
+				reqField.put("function", ref.fn.name());
+				reqField.put("fieldName", ref.fieldName);
+				reqBody.add(reqField);
 			}
 
-			List<GeneralDatum> resultDatum = streamBuffer.datum(GeneralDatum::new);
+			String startDateParam = ISO_DATE_OPT_TIME_OPT_MILLIS_UTC
+					.format(siteStartDate.toLocalDateTime());
+			String endDateParam = ISO_DATE_OPT_TIME_OPT_MILLIS_UTC
+					.format(siteEndDate.toLocalDateTime());
+
+			restOpsHelper.http("List data for hardware", HttpMethod.POST, reqBody, integration,
+					JsonNode.class, req -> {
+						req.setContentType(MediaType.APPLICATION_JSON);
+					// @formatter:off
+						return fromUri(resolveBaseUrl(integration, BASE_URI)).path(BIN_DATA_URL)
+								.queryParam("from", startDateParam)
+								.queryParam("to", endDateParam)
+								.queryParam("binSizes", resolution.getQueryKey())
+								.queryParam("tz", zone.getId())
+								.buildAndExpand().toUri();
+						// @formatter:on
+					}, (req, res) -> parseDatum(req, res.getBody(), e.getValue(), ds, sourceIdMap,
+							streamBuffer, ignoredValidations));
+		}
+
+		List<GeneralDatum> resultDatum = streamBuffer.datum(GeneralDatum::new);
 
-			nextQueryFilter = resolveNextQueryFilterForMultiStreamLag(ds, streamBuffer, nextQueryFilter,
-					resolution.getTickAmount(), zone, filterEndDate, endDate);
+		nextQueryFilter = resolveNextQueryFilterForMultiStreamLag(ds, streamBuffer, nextQueryFilter,
+				resolution.getTickAmount(), zone, filterEndDate, endDate);
 
-			// evaluate expressions on merged datum
-			var r = evaluateExpressions(datumStream, exprProps, resultDatum, mapping.getConfigId(),
-					integration.getConfigId());
+		// evaluate expressions on merged datum
+		var r = evaluateExpressions(ds, exprProps, resultDatum, mapping.getConfigId(),
+				integration.getConfigId());
 
-			return new BasicCloudDatumStreamQueryResult(usedQueryFilter, nextQueryFilter,
-					r.stream().map(Datum.class::cast).toList(), streamBuffer.auxiliaryOrNull());
-		});
+		return new BasicCloudDatumStreamQueryResult(usedQueryFilter, nextQueryFilter,
+				r.stream().map(Datum.class::cast).toList(), streamBuffer.auxiliaryOrNull());
 	}
 
 	private List<CloudDataValue> sites(CloudIntegrationConfiguration integration) {
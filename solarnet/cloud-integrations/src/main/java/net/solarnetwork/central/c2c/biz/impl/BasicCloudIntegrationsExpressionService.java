@@ -31,6 +31,10 @@ import javax.cache.Cache;
 import org.apache.commons.codec.digest.DigestUtils;
 import org.jspecify.annotations.Nullable;
 import org.springframework.expression.Expression;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.ast.SpelNodeImpl;
+import org.springframework.expression.spel.standard.SpelExpression;
 import org.springframework.util.AntPathMatcher;
 import org.springframework.util.PathMatcher;
 import net.solarnetwork.central.c2c.biz.CloudIntegrationsExpressionService;
@@ -40,6 +44,7 @@ import net.solarnetwork.central.common.http.HttpOperations;
 import net.solarnetwork.central.dao.SolarNodeOwnershipDao;
 import net.solarnetwork.central.datum.biz.DatumStreamsAccessor;
 import net.solarnetwork.central.datum.domain.DatumExpressionRoot;
+import net.solarnetwork.central.domain.UserLongIntegerCompositePK;
 import net.solarnetwork.central.domain.SolarNodeMetadata;
 import net.solarnetwork.central.domain.SolarNodeOwnership;
 import net.solarnetwork.central.user.dao.UserSecretAccessDao;
@@ -55,8 +60,16 @@ import net.solarnetwork.service.ExpressionService;
 /**
  * Basic implementation of {@link CloudIntegrationsExpressionService}.
  *
+ * <p>
+ * Parsed expressions are cached by the identity of their associated property
+ * configuration, and SpEL expressions are evaluated using the configured
+ * {@link SpelCompilerMode} so frequently evaluated expressions can be compiled
+ * to byte code. Node ownership and metadata can also be cached, so expressions
+ * evaluated against many datum do not require repeated DAO lookups.
+ * </p>
+ *
  * @author matt
- * @version 1.5
+ * @version 1.6
  */
 public class BasicCloudIntegrationsExpressionService implements CloudIntegrationsExpressionService {
 
@@ -68,6 +81,20 @@ public class BasicCloudIntegrationsExpressionService implements CloudIntegration
 	private @Nullable Cache<String, Expression> expressionCache;
 	private @Nullable SolarNodeMetadataReadOnlyDao metadataDao;
 	private @Nullable Cache<ObjectDatumStreamMetadataId, TariffSchedule> tariffScheduleCache;
+	private @Nullable Cache<Long, SolarNodeOwnership> nodeOwnershipCache;
+	private @Nullable Cache<Long, SolarNodeMetadata> nodeMetadataCache;
+	private @Nullable SpelCompilerMode spelCompilerMode = SpelCompilerMode.MIXED;
+	private @Nullable SpelParserConfiguration spelConfiguration = spelConfiguration(
+			spelCompilerMode);
+
+	private static @Nullable SpelParserConfiguration spelConfiguration(
+			@Nullable SpelCompilerMode mode) {
+		if ( mode == null || mode == SpelCompilerMode.OFF ) {
+			return null;
+		}
+		return new SpelParserConfiguration(mode,
+				BasicCloudIntegrationsExpressionService.class.getClassLoader());
+	}
 
 	private static PathMatcher defaultSourceIdPathMatcher() {
 		var pm = new AntPathMatcher();
@@ -146,7 +173,7 @@ public class BasicCloudIntegrationsExpressionService implements CloudIntegration
 
 		// for node datum, lookup ownership so we have access to the node's time zone
 		if ( datum != null && datum.getKind() == ObjectDatumKind.Node && datum.getObjectId() != null ) {
-			SolarNodeOwnership node = nodeOwnershipDao.ownershipForNodeId(datum.getObjectId());
+			SolarNodeOwnership node = nodeOwnership(datum.getObjectId());
 			if ( node != null ) {
 				Map<String, Object> params = new LinkedHashMap<>(
 						parameters != null ? parameters : Map.of());
@@ -160,6 +187,18 @@ public class BasicCloudIntegrationsExpressionService implements CloudIntegration
 				httpOperations, this::decryptUserSecret);
 	}
 
+	private @Nullable SolarNodeOwnership nodeOwnership(Long nodeId) {
+		final Cache<Long, SolarNodeOwnership> cache = getNodeOwnershipCache();
+		SolarNodeOwnership result = (cache != null ? cache.get(nodeId) : null);
+		if ( result == null ) {
+			result = nodeOwnershipDao.ownershipForNodeId(nodeId);
+			if ( result != null && cache != null ) {
+				cache.put(nodeId, result);
+			}
+		}
+		return result;
+	}
+
 	private byte @Nullable [] decryptUserSecret(Long userId, String key) {
 		final var dao = getUserSecretAccessDao();
 		if ( dao == null ) {
@@ -173,9 +212,20 @@ public class BasicCloudIntegrationsExpressionService implements CloudIntegration
 	}
 
 	private @Nullable DatumMetadataOperations nodeMetadata(ObjectDatumStreamMetadataId id) {
-		SolarNodeMetadata meta = (id != null && id.getKind() == ObjectDatumKind.Node
-				&& id.getObjectId() != null && metadataDao != null ? metadataDao.get(id.getObjectId())
-						: null);
+		final SolarNodeMetadataReadOnlyDao dao = getMetadataDao();
+		if ( id == null || id.getKind() != ObjectDatumKind.Node || id.getObjectId() == null
+				|| dao == null ) {
+			return null;
+		}
+		final Long nodeId = id.getObjectId();
+		final Cache<Long, SolarNodeMetadata> cache = getNodeMetadataCache();
+		SolarNodeMetadata meta = (cache != null ? cache.get(nodeId) : null);
+		if ( meta == null ) {
+			meta = dao.get(nodeId);
+			if ( meta != null && cache != null ) {
+				cache.put(nodeId, meta);
+			}
+		}
 		return (meta != null ? meta.getMetadata() : null);
 	}
 
@@ -220,15 +270,19 @@ public class BasicCloudIntegrationsExpressionService implements CloudIntegration
 	@Override
 	public Expression expression(CloudDatumStreamPropertyConfiguration property) {
 		final Cache<String, Expression> cache = getExpressionCache();
+		final String expr = property.getValueReference();
 		Expression result = null;
 		String cacheKey = null;
 		if ( cache != null ) {
-			cacheKey = Base64.getUrlEncoder()
-					.encodeToString(DigestUtils.sha512_224(property.getValueReference()));
+			cacheKey = expressionCacheKey(property);
 			result = cache.get(cacheKey);
+			if ( result != null && !expr.equals(result.getExpressionString()) ) {
+				// property expression has changed
+				result = null;
+			}
 		}
 		if ( result == null ) {
-			result = expressionService.parseExpression(property.getValueReference());
+			result = compilable(expressionService.parseExpression(expr));
 			if ( cache != null && cacheKey != null ) {
 				cache.put(cacheKey, result);
 			}
@@ -236,11 +290,31 @@ public class BasicCloudIntegrationsExpressionService implements CloudIntegration
 		return result;
 	}
 
+	private static String expressionCacheKey(CloudDatumStreamPropertyConfiguration property) {
+		final UserLongIntegerCompositePK id = property.getId();
+		if ( id != null && id.groupIdIsAssigned() && id.entityIdIsAssigned() ) {
+			return id.ident();
+		}
+		return Base64.getUrlEncoder()
+				.encodeToString(DigestUtils.sha512_224(property.getValueReference()));
+	}
+
+	private Expression compilable(Expression expression) {
+		final SpelParserConfiguration config = this.spelConfiguration;
+		if ( config != null && expression instanceof SpelExpression spel
+				&& spel.getAST() instanceof SpelNodeImpl ast ) {
+			return new SpelExpression(spel.getExpressionString(), ast, config);
+		}
+		return expression;
+	}
+
 	/**
 	 * Get the expression cache.
 	 *
 	 * <p>
-	 * The keys of the cache are SHA hashes of the expression value.
+	 * The keys of the cache are the identifiers of the property configurations
+	 * the expressions belong to, or SHA hashes of the expression value for
+	 * properties without an assigned identifier.
 	 * </p>
 	 *
 	 * @return the expression cache, or {@code null}
@@ -319,4 +393,70 @@ public class BasicCloudIntegrationsExpressionService implements CloudIntegration
 		this.userSecretAccessDao = userSecretAccessDao;
 	}
 
+	/**
+	 * Get the node ownership cache.
+	 *
+	 * @return the cache
+	 * @since 1.6
+	 */
+	public final @Nullable Cache<Long, SolarNodeOwnership> getNodeOwnershipCache() {
+		return nodeOwnershipCache;
+	}
+
+	/**
+	 * Set the node ownership cache.
+	 *
+	 * @param nodeOwnershipCache
+	 *        the cache to set
+	 * @since 1.6
+	 */
+	public final void setNodeOwnershipCache(
+			@Nullable Cache<Long, SolarNodeOwnership> nodeOwnershipCache) {
+		this.nodeOwnershipCache = nodeOwnershipCache;
+	}
+
+	/**
+	 * Get the node metadata cache.
+	 *
+	 * @return the cache
+	 * @since 1.6
+	 */
+	public final @Nullable Cache<Long, SolarNodeMetadata> getNodeMetadataCache() {
+		return nodeMetadataCache;
+	}
+
+	/**
+	 * Set the node metadata cache.
+	 *
+	 * @param nodeMetadataCache
+	 *        the cache to set
+	 * @since 1.6
+	 */
+	public final void setNodeMetadataCache(@Nullable Cache<Long, SolarNodeMetadata> nodeMetadataCache) {
+		this.nodeMetadataCache = nodeMetadataCache;
+	}
+
+	/**
+	 * Get the SpEL compiler mode to use for parsed expressions.
+	 *
+	 * @return the mode; defaults to {@code MIXED}
+	 * @since 1.6
+	 */
+	public final @Nullable SpelCompilerMode getSpelCompilerMode() {
+		return spelCompilerMode;
+	}
+
+	/**
+	 * Set the SpEL compiler mode to use for parsed expressions.
+	 *
+	 * @param spelCompilerMode
+	 *        the mode to use, or {@code null} or {@code OFF} to always
+	 *        interpret expressions; defaults to {@code MIXED}
+	 * @since 1.6
+	 */
+	public final void setSpelCompilerMode(@Nullable SpelCompilerMode spelCompilerMode) {
+		this.spelCompilerMode = spelCompilerMode;
+		this.spelConfiguration = spelConfiguration(spelCompilerMode);
+	}
+
 }
@@ -35,8 +35,10 @@ import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.SequencedCollection;
@@ -53,10 +55,13 @@ import java.util.stream.Collectors;
 import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.scheduling.Trigger;
 import org.springframework.scheduling.support.PeriodicTrigger;
 import org.springframework.scheduling.support.SimpleTriggerContext;
 import org.springframework.web.client.RestClientResponseException;
+import org.threeten.extra.Interval;
 import net.solarnetwork.central.biz.UserEventAppenderBiz;
 import net.solarnetwork.central.c2c.biz.CloudDatumStreamPollService;
 import net.solarnetwork.central.c2c.biz.CloudDatumStreamService;
@@ -74,6 +79,7 @@ import net.solarnetwork.central.c2c.domain.CloudDatumStreamQueryResult;
 import net.solarnetwork.central.c2c.domain.CloudDatumStreamRakeTaskEntity;
 import net.solarnetwork.central.c2c.domain.CloudDatumStreamSettings;
 import net.solarnetwork.central.c2c.domain.CloudIntegrationsUserEvents;
+import net.solarnetwork.central.c2c.support.AdaptiveServiceBulkhead;
 import net.solarnetwork.central.dao.SolarNodeOwnershipDao;
 import net.solarnetwork.central.datum.biz.DatumProcessor;
 import net.solarnetwork.central.datum.domain.GeneralNodeDatum;
@@ -108,7 +114,7 @@ import net.solarnetwork.util.StringNaturalSortComparator;
  * DAO based implementation of {@link CloudDatumStreamPollService}.
  *
  * @author matt
- * @version 2.2
+ * @version 2.4
  */
 public class DaoCloudDatumStreamPollService implements CloudDatumStreamPollService,
 		ServiceLifecycleObserver, CloudIntegrationsUserEvents, DatumImportUserEvents {
@@ -137,6 +143,13 @@ public class DaoCloudDatumStreamPollService implements CloudDatumStreamPollServi
 	 */
 	public static final int DEFAULT_REQUEUE_ERROR_COUNT_MAXIMUM = 100;
 
+	/**
+	 * The {@code maxPagesPerExecution} property default value.
+	 *
+	 * @since 2.3
+	 */
+	public static final int DEFAULT_MAX_PAGES_PER_EXECUTION = 10;
+
 	/** The {@code defaultDatumStreamSettings} default value. */
 	public static final CloudDatumStreamSettings DEFAULT_DATUM_STREAM_SETTINGS = new BasicCloudDatumStreamSettings(
 			true, false);
@@ -159,8 +172,10 @@ public class DaoCloudDatumStreamPollService implements CloudDatumStreamPollServi
 	private Duration fastRescheduleAmount = DEFAULT_FAST_RESCHEDULE_AMOUNT;
 	private Duration shutdownMaxWait = DEFAULT_SHUTDOWN_MAX_WAIT;
 	private int requeueErrorCountMaximum = DEFAULT_REQUEUE_ERROR_COUNT_MAXIMUM;
+	private int maxPagesPerExecution = DEFAULT_MAX_PAGES_PER_EXECUTION;
 	private CloudDatumStreamSettings defaultDatumStreamSettings = DEFAULT_DATUM_STREAM_SETTINGS;
 	private @Nullable DatumProcessor fluxPublisher;
+	private @Nullable AdaptiveServiceBulkhead bulkhead;
 
 	/**
 	 * Constructor.
@@ -254,6 +269,14 @@ public class DaoCloudDatumStreamPollService implements CloudDatumStreamPollServi
 		return taskDao.claimQueuedTask();
 	}
 
+	@Override
+	public List<CloudDatumStreamPollTaskEntity> claimQueuedTasks(int max) {
+		if ( executorService.isShutdown() ) {
+			return List.of();
+		}
+		return taskDao.claimQueuedTasks(max);
+	}
+
 	@Override
 	public Future<CloudDatumStreamPollTaskEntity> executeTask(CloudDatumStreamPollTaskEntity task) {
 		try {
@@ -276,6 +299,15 @@ public class DaoCloudDatumStreamPollService implements CloudDatumStreamPollServi
 		private final BasicClaimableJobState startState;
 		private @Nullable Set<String> resolvedSourceIds;
 		private @Nullable Map<String, UUID> sourceToStreamIds;
+		private final Map<String, Integer> sourceCounts = new TreeMap<>(
+				StringNaturalSortComparator.CASE_INSENSITIVE_NATURAL_SORT);
+		private final Map<String, Instant> sourceLastDates = new TreeMap<>(
+				StringNaturalSortComparator.CASE_INSENSITIVE_NATURAL_SORT);
+		private int pageCount;
+		private int datumCount;
+		private @Nullable Instant lastDatumDate;
+		private boolean cancelled;
+		private @Nullable String bulkheadKey;
 
 		private CloudDatumStreamPollTask(CloudDatumStreamPollTaskEntity taskInfo) {
 			super();
@@ -285,9 +317,11 @@ public class DaoCloudDatumStreamPollService implements CloudDatumStreamPollServi
 
 		@Override
 		public CloudDatumStreamPollTaskEntity call() throws Exception {
+			boolean throttled = false;
 			try {
 				return executeTask();
 			} catch ( Exception e ) {
+				throttled = isThrottled(e);
 				Throwable t = e;
 				while ( t.getCause() != null ) {
 					t = t.getCause();
@@ -349,6 +383,12 @@ public class DaoCloudDatumStreamPollService implements CloudDatumStreamPollServi
 					// ignore, return original
 				}
 				throw e;
+			} finally {
+				final AdaptiveServiceBulkhead bulkhead = DaoCloudDatumStreamPollService.this.bulkhead;
+				final String key = bulkheadKey;
+				if ( bulkhead != null && key != null ) {
+					bulkhead.release(key, throttled);
+				}
 			}
 		}
 
@@ -426,6 +466,23 @@ public class DaoCloudDatumStreamPollService implements CloudDatumStreamPollServi
 				return taskInfo;
 			}
 
+			// verify the datum stream service has capacity, so one slow service cannot use up all workers
+			final AdaptiveServiceBulkhead bulkhead = DaoCloudDatumStreamPollService.this.bulkhead;
+			if ( bulkhead != null ) {
+				final String key = datumStream.getServiceIdentifier();
+				if ( !bulkhead.tryAcquire(key) ) {
+					log.debug(
+							"Deferring datum stream {} poll task because service {} concurrency or rate limit reached",
+							datumStreamIdent, key);
+					taskInfo.setExecuteAt(
+							execTime.plus(bulkhead.getRetryDelay()).truncatedTo(ChronoUnit.SECONDS));
+					taskInfo.setState(Queued);
+					taskDao.updateTask(taskInfo, startState);
+					return taskInfo;
+				}
+				bulkheadKey = key;
+			}
+
 			// save task state to Executing
 			if ( !taskDao.updateTaskState(taskInfo.id(), Executing, startState) ) {
 				log.warn("Failed to update poll task {} state to Executing @ {} starting @ {}",
@@ -484,104 +541,26 @@ public class DaoCloudDatumStreamPollService implements CloudDatumStreamPollServi
 									STARTED_AT_DATA_KEY, execTime)));
 
 			log.debug("Polling for {} datum with filter {}", datumStreamIdent, filter);
-			final var polledDatum = datumStreamService.datum(datumStream, filter);
-
-			Instant lastDatumDate = null;
-			if ( polledDatum != null && !polledDatum.isEmpty() ) {
-				log.debug("Polling for {} found {} datum to import", datumStreamIdent,
-						polledDatum.size());
-				final DatumProcessor fluxPublisher = getFluxPublisher();
-
-				// cache datum stream  metadata to speed up conversion to StreamDatum
-				final Map<ObjectDatumStreamMetadataId, ObjectDatumStreamMetadata> streamMetaCache = new HashMap<>(
-						8);
-
-				for ( var datum : polledDatum ) {
-					final var datumId = datum.datumIdent();
-					// validate that provided datum ID matches that on the configuration
-					if ( !objectId.equals(datumId.getObjectId()) ) {
-						log.warn(
-								"Datum stream {} configured with object ID {} but produced datum with object ID {}: cancelling poll task.",
-								datumStreamIdent, taskInfo.getUserId(), datumStream.getObjectId());
-						var errMsg = "Access denied to datum with object ID different from datum stream configuration.";
-						Map<String, Object> errData = Map.of(SOURCE_DATA_KEY, datumId.getObjectId(),
-								"expected", objectId);
-						taskInfo.setMessage(errMsg);
-						taskInfo.putServiceProps(errData);
-						taskInfo.setState(Completed); // stop processing job
-						userEventAppenderBiz.addEvent(datumStream.getUserId(), eventForUserRelatedKey(
-								datumStream.getId(), INTEGRATION_POLL_ERROR_TAGS, errMsg, errData));
-						taskDao.updateTask(taskInfo, Executing);
-						return taskInfo;
-					}
-					final ObjectDatumKind datumKind = (datumId.getKind() != null ? datumId.getKind()
-							: kind);
-					if ( !kind.equals(datumKind) ) {
-						log.warn(
-								"Datum stream {} configured with kind {} but produced datum with kind {}: cancelling rake task.",
-								datumStreamIdent, kind, datumKind);
-						var errMsg = "Access denied to datum with kind different from datum stream configuration.";
-						Map<String, Object> errData = Map.of(SOURCE_DATA_KEY, datumKind, "expected",
-								kind);
-						taskInfo.setMessage(errMsg);
-						taskInfo.putServiceProps(errData);
-						taskInfo.setState(Completed); // stop processing job
-						userEventAppenderBiz.addEvent(datumStream.getUserId(), eventForUserRelatedKey(
-								datumStream.getId(), INTEGRATION_POLL_ERROR_TAGS, errMsg, errData));
-						taskDao.updateTask(taskInfo, Executing);
-						return taskInfo;
-					}
-					if ( datumId.getSourceId() == null ) {
-						continue;
-					}
-					if ( datumId instanceof StreamDatum d ) {
-						if ( datumStreamSettings.isPublishToSolarIn() ) {
-							datumDao.store(d);
-						}
-					} else {
-						if ( datumStreamSettings.isPublishToSolarIn() ) {
-							final StreamDatum sDatum = datumStreamDatum(datumId, datum, queryEndDate,
-									streamMetaCache);
-							if ( sDatum != null ) {
-								datumDao.store(sDatum);
-							} else {
-								datumDao.store(datum);
-							}
-						}
-					}
-					if ( fluxPublisher != null && datumStreamSettings.isPublishToSolarFlux()
-							&& kind == ObjectDatumKind.Node ) {
-						GeneralObjectDatum<?> gd = DatumUtils.convertGeneralDatum(datum);
-						if ( gd instanceof GeneralNodeDatum nodeDatum ) {
-							fluxPublisher.processDatum(nodeDatum);
-						}
-					}
-					if ( lastDatumDate == null || lastDatumDate.isBefore(datumId.getTimestamp()) ) {
-						lastDatumDate = datumId.getTimestamp();
-					}
+			final DatumProcessor fluxPublisher = getFluxPublisher();
+
+			// cache datum stream  metadata to speed up conversion to StreamDatum
+			final Map<ObjectDatumStreamMetadataId, ObjectDatumStreamMetadata> streamMetaCache = new HashMap<>(
+					8);
+
+			// process each page of results as they are provided, so memory use is bounded
+			// by the page size and the task start date advances as each page is persisted
+			datumStreamService.datum(datumStream, filter, page -> {
+				if ( !processPolledPage(datumStream, datumStreamService, datumStreamSettings,
+						objectId, kind, queryEndDate, fluxPublisher, streamMetaCache, page) ) {
+					return false;
 				}
-			}
+				return (++pageCount < maxPagesPerExecution);
+			});
 
-			// success: update task info
-			if ( polledDatum != null && polledDatum.getNextQueryFilter() != null
-					&& polledDatum.getNextQueryFilter().getStartDate() != null ) {
-				// use the start date provided by the results, so the next iteration picks up from there
-				taskInfo.setStartAt(polledDatum.getNextQueryFilter().getStartDate());
-			} else if ( polledDatum != null && polledDatum.getUsedQueryFilter() != null
-					&& polledDatum.getUsedQueryFilter().getEndDate() != null ) {
-				// use the end date provided by the results, so the next iteration picks up from there
-				taskInfo.setStartAt(polledDatum.getUsedQueryFilter().getEndDate());
-			} else if ( lastDatumDate != null ) {
-				// set new start date to date of last datum; this might update the same datum more than once
-				// across different poll executions, but that supports cloud services that return constantly
-				// updating aggregate values at the same timestamp
-				taskInfo.setStartAt(lastDatumDate);
+			if ( cancelled ) {
+				return taskInfo;
 			}
 
-			// deal with auxiliary datum
-			maintainAuxiliaryRecords(datumStream, datumStreamService, queryStartDate, queryEndDate,
-					polledDatum);
-
 			// calculate the next execution time based on the datum stream schedule
 			var now = clock.instant();
 			var ctx = new SimpleTriggerContext(clock);
@@ -628,32 +607,13 @@ public class DaoCloudDatumStreamPollService implements CloudDatumStreamPollServi
 				var data = new LinkedHashMap<String, Object>(4);
 				data.put(EXECUTE_AT_DATA_KEY, taskInfo.getExecuteAt());
 				data.put(START_AT_DATA_KEY, taskInfo.getStartAt());
-				data.put(DATUM_COUNT_DATA_KEY, polledDatum != null ? polledDatum.size() : 0);
+				data.put(DATUM_COUNT_DATA_KEY, datumCount);
 				if ( lastDatumDate != null ) {
 					data.put("datumLastDate", lastDatumDate);
 				}
-				if ( polledDatum != null && !polledDatum.isEmpty() ) {
-					Map<String, Integer> sourceCounts = new TreeMap<>(
-							StringNaturalSortComparator.CASE_INSENSITIVE_NATURAL_SORT);
-					Map<String, Instant> lastDates = new TreeMap<>(
-							StringNaturalSortComparator.CASE_INSENSITIVE_NATURAL_SORT);
-					for ( var datum : polledDatum ) {
-						final var datumId = datum.datumIdent();
-						sourceCounts.compute(datumId.getSourceId(), (_, old) -> {
-							if ( old == null ) {
-								return 1;
-							}
-							return old + 1;
-						});
-						lastDates.compute(datumId.getSourceId(), (_, old) -> {
-							if ( old == null ) {
-								return datumId.getTimestamp();
-							}
-							return datumId.getTimestamp().isAfter(old) ? datum.getTimestamp() : old;
-						});
-					}
+				if ( !sourceCounts.isEmpty() ) {
 					data.put(DATUM_COUNT_BY_SOURCE_DATA_KEY, sourceCounts);
-					data.put("datumLastDateBySource", lastDates);
+					data.put("datumLastDateBySource", sourceLastDates);
 				}
 				userEventAppenderBiz.addEvent(datumStream.getUserId(),
 						eventForUserRelatedKey(datumStream.getId(), INTEGRATION_POLL_TAGS, msg, data));
@@ -661,8 +621,127 @@ public class DaoCloudDatumStreamPollService implements CloudDatumStreamPollServi
 			return taskInfo;
 		}
 
+		/**
+		 * Process one page of polled datum.
+		 *
+		 * @return {@literal true} if the page was processed, {@literal false}
+		 *         if the task was cancelled because of invalid datum
+		 */
+		private boolean processPolledPage(CloudDatumStreamConfiguration datumStream,
+				CloudDatumStreamService datumStreamService,
+				CloudDatumStreamSettings datumStreamSettings, Long objectId, ObjectDatumKind kind,
+				Instant queryEndDate, @Nullable DatumProcessor fluxPublisher,
+				Map<ObjectDatumStreamMetadataId, ObjectDatumStreamMetadata> streamMetaCache,
+				CloudDatumStreamQueryResult page) {
+			final String datumStreamIdent = datumStream.id().ident();
+			if ( !page.isEmpty() ) {
+				log.debug("Polling for {} found {} datum to import", datumStreamIdent, page.size());
+			}
+			// validate the whole page before persisting any of it
+			for ( var datum : page ) {
+				final var datumId = datum.datumIdent();
+				// validate that provided datum ID matches that on the configuration
+				if ( !objectId.equals(datumId.getObjectId()) ) {
+					log.warn(
+							"Datum stream {} configured with object ID {} but produced datum with object ID {}: cancelling poll task.",
+							datumStreamIdent, taskInfo.getUserId(), datumStream.getObjectId());
+					var errMsg = "Access denied to datum with object ID different from datum stream configuration.";
+					Map<String, Object> errData = Map.of(SOURCE_DATA_KEY, datumId.getObjectId(),
+							"expected", objectId);
+					cancel(datumStream, errMsg, errData);
+					return false;
+				}
+				final ObjectDatumKind datumKind = (datumId.getKind() != null ? datumId.getKind()
+						: kind);
+				if ( !kind.equals(datumKind) ) {
+					log.warn(
+							"Datum stream {} configured with kind {} but produced datum with kind {}: cancelling rake task.",
+							datumStreamIdent, kind, datumKind);
+					var errMsg = "Access denied to datum with kind different from datum stream configuration.";
+					Map<String, Object> errData = Map.of(SOURCE_DATA_KEY, datumKind, "expected", kind);
+					cancel(datumStream, errMsg, errData);
+					return false;
+				}
+			}
+
+			final List<Object> toStore = new ArrayList<>(page.size());
+			final List<Datum> toPublish = new ArrayList<>(page.size());
+			for ( var datum : page ) {
+				final var datumId = datum.datumIdent();
+				datumCount++;
+				final String sourceId = datumId.getSourceId();
+				if ( sourceId == null ) {
+					continue;
+				}
+				if ( datumStreamSettings.isPublishToSolarIn() ) {
+					if ( datumId instanceof StreamDatum d ) {
+						toStore.add(d);
+					} else {
+						final StreamDatum sDatum = datumStreamDatum(datumId, datum, queryEndDate,
+								streamMetaCache);
+						toStore.add(sDatum != null ? sDatum : datum);
+					}
+				}
+				toPublish.add(datum);
+				final Instant ts = datumId.getTimestamp();
+				if ( lastDatumDate == null || lastDatumDate.isBefore(ts) ) {
+					lastDatumDate = ts;
+				}
+				sourceCounts.merge(sourceId, 1, Integer::sum);
+				sourceLastDates.merge(sourceId, ts, (l, r) -> r.isAfter(l) ? r : l);
+			}
+
+			// persist the page in one batch
+			if ( !toStore.isEmpty() ) {
+				datumDao.storeAll(toStore);
+			}
+
+			if ( fluxPublisher != null && datumStreamSettings.isPublishToSolarFlux()
+					&& kind == ObjectDatumKind.Node ) {
+				for ( Datum datum : toPublish ) {
+					GeneralObjectDatum<?> gd = DatumUtils.convertGeneralDatum(datum);
+					if ( gd instanceof GeneralNodeDatum nodeDatum ) {
+						fluxPublisher.processDatum(nodeDatum);
+					}
+				}
+			}
+
+			// page persisted: advance task start date, so a later failure resumes from here
+			final CloudDatumStreamQueryFilter nextFilter = page.getNextQueryFilter();
+			final CloudDatumStreamQueryFilter usedFilter = page.getUsedQueryFilter();
+			final Instant nextStartDate = (nextFilter != null ? nextFilter.getStartDate() : null);
+			final Instant usedEndDate = (usedFilter != null ? usedFilter.getEndDate() : null);
+			if ( nextStartDate != null ) {
+				// use the start date provided by the results, so the next iteration picks up from there
+				taskInfo.setStartAt(nextStartDate);
+			} else if ( usedEndDate != null ) {
+				// use the end date provided by the results, so the next iteration picks up from there
+				taskInfo.setStartAt(usedEndDate);
+			} else if ( lastDatumDate != null ) {
+				// set new start date to date of last datum; this might update the same datum more than once
+				// across different poll executions, but that supports cloud services that return constantly
+				// updating aggregate values at the same timestamp
+				taskInfo.setStartAt(lastDatumDate);
+			}
+
+			// deal with auxiliary datum
+			maintainAuxiliaryRecords(datumStream, datumStreamService, page);
+			return true;
+		}
+
+		private void cancel(CloudDatumStreamConfiguration datumStream, String errMsg,
+				Map<String, Object> errData) {
+			taskInfo.setMessage(errMsg);
+			taskInfo.putServiceProps(errData);
+			taskInfo.setState(Completed); // stop processing job
+			userEventAppenderBiz.addEvent(datumStream.getUserId(), eventForUserRelatedKey(
+					datumStream.getId(), INTEGRATION_POLL_ERROR_TAGS, errMsg, errData));
+			taskDao.updateTask(taskInfo, Executing);
+			cancelled = true;
+		}
+
 		private void maintainAuxiliaryRecords(CloudDatumStreamConfiguration datumStream,
-				CloudDatumStreamService datumStreamService, Instant queryStartDate, Instant queryEndDate,
+				CloudDatumStreamService datumStreamService,
 				@Nullable CloudDatumStreamQueryResult polledDatum) {
 			if ( polledDatum == null || datumStream.getKind() != ObjectDatumKind.Node ) {
 				return;
@@ -671,38 +750,31 @@ public class DaoCloudDatumStreamPollService implements CloudDatumStreamPollServi
 			if ( sourceIds.isEmpty() ) {
 				return;
 			}
-			final CloudDatumStreamQueryFilter usedFilter = (polledDatum.getUsedQueryFilter() != null
-					? polledDatum.getUsedQueryFilter()
-					: null);
-
-			final Instant startDate = usedFilter != null && usedFilter.getStartDate() != null
-					? usedFilter.getStartDate()
-					: queryStartDate;
-			final Instant endDate = usedFilter != null && usedFilter.getEndDate() != null
-					? usedFilter.getEndDate()
-					: queryEndDate;
-
-			// clear out any existing generated auxiliary for query date range
-			var auxFilter = new BasicDatumCriteria();
-			auxFilter.setDatumAuxiliaryType(DatumAuxiliaryType.Mark);
-			auxFilter.setObjectKind(datumStream.getKind());
-			auxFilter.setNodeId(datumStream.getObjectId());
-			auxFilter.setSourceIds(sourceIds.toArray(String[]::new));
-			auxFilter.setStartDate(startDate);
-			auxFilter.setEndDate(endDate);
-			auxFilter.setSearchFilter(CloudDatumStreamService.GENERATED_AUXILIARY_SEARCH_FILTER);
-			long deleteCount = datumAuxiliaryDao.deleteFiltered(auxFilter);
-			if ( deleteCount > 0 ) {
-				userEventAppenderBiz.addEvent(datumStream.getUserId(), eventForUserRelatedKey(
-						datumStream.getId(), DATUM_IMPORT_TAGS,
-						"Deleted %d generated Mark datum auxiliary records.".formatted(deleteCount),
-						// @formatter:off
-								Map.of(START_AT_DATA_KEY, auxFilter.getStartDate()
-									, END_AT_DATA_KEY, auxFilter.getEndDate()
-									, NODE_ID_DATA_KEY, auxFilter.getNodeId()
-									, SOURCE_ID_DATA_KEY, auxFilter.getSourceIds()
-								// @formatter:on
-						)));
+
+			// clear out any existing generated auxiliary for the page date range
+			final Interval pageRange = pageDateRange(polledDatum);
+			if ( pageRange != null ) {
+				var auxFilter = new BasicDatumCriteria();
+				auxFilter.setDatumAuxiliaryType(DatumAuxiliaryType.Mark);
+				auxFilter.setObjectKind(datumStream.getKind());
+				auxFilter.setNodeId(datumStream.getObjectId());
+				auxFilter.setSourceIds(sourceIds.toArray(String[]::new));
+				auxFilter.setStartDate(pageRange.getStart());
+				auxFilter.setEndDate(pageRange.getEnd());
+				auxFilter.setSearchFilter(CloudDatumStreamService.GENERATED_AUXILIARY_SEARCH_FILTER);
+				long deleteCount = datumAuxiliaryDao.deleteFiltered(auxFilter);
+				if ( deleteCount > 0 ) {
+					userEventAppenderBiz.addEvent(datumStream.getUserId(), eventForUserRelatedKey(
+							datumStream.getId(), DATUM_IMPORT_TAGS,
+							"Deleted %d generated Mark datum auxiliary records.".formatted(deleteCount),
+							// @formatter:off
+									Map.of(START_AT_DATA_KEY, auxFilter.getStartDate()
+										, END_AT_DATA_KEY, auxFilter.getEndDate()
+										, NODE_ID_DATA_KEY, auxFilter.getNodeId()
+										, SOURCE_ID_DATA_KEY, auxFilter.getSourceIds()
+									// @formatter:on
+							)));
+				}
 			}
 
 			// save any auxiliary records returned
@@ -731,6 +803,38 @@ public class DaoCloudDatumStreamPollService implements CloudDatumStreamPollServi
 			return this.resolvedSourceIds;
 		}
 
+		/**
+		 * Get the date range covered by a page of results.
+		 *
+		 * <p>
+		 * The page's used query filter range is returned if available.
+		 * Otherwise the range of the page's datum timestamps is returned, with
+		 * an exclusive end date just after the latest datum.
+		 * </p>
+		 *
+		 * @return the range, or {@code null} if the page has neither a used
+		 *         query filter range nor any datum
+		 */
+		private static @Nullable Interval pageDateRange(CloudDatumStreamQueryResult page) {
+			final CloudDatumStreamQueryFilter usedFilter = page.getUsedQueryFilter();
+			if ( usedFilter != null && usedFilter.getStartDate() != null
+					&& usedFilter.getEndDate() != null ) {
+				return Interval.of(usedFilter.getStartDate(), usedFilter.getEndDate());
+			}
+			Instant min = null;
+			Instant max = null;
+			for ( Datum d : page ) {
+				final Instant ts = d.getTimestamp();
+				if ( min == null || ts.isBefore(min) ) {
+					min = ts;
+				}
+				if ( max == null || ts.isAfter(max) ) {
+					max = ts;
+				}
+			}
+			return (min != null && max != null ? Interval.of(min, max.plusMillis(1)) : null);
+		}
+
 		private Map<String, UUID> sourceToStreamIds(CloudDatumStreamConfiguration datumStream,
 				Set<String> sourceIds) {
 			if ( sourceToStreamIds != null || sourceIds.isEmpty() ) {
@@ -753,6 +857,32 @@ public class DaoCloudDatumStreamPollService implements CloudDatumStreamPollServi
 
 	}
 
+	/**
+	 * Test if an exception indicates a remote service is throttling requests or
+	 * is unavailable.
+	 *
+	 * @param e
+	 *        the exception to test
+	 * @return {@literal true} if {@code e} or any cause is an HTTP 429 or 5xx
+	 *         response error, or an IO error
+	 */
+	private static boolean isThrottled(Throwable e) {
+		Throwable t = e;
+		while ( t != null ) {
+			if ( t instanceof RestClientResponseException re ) {
+				final HttpStatusCode status = re.getStatusCode();
+				if ( status.value() == HttpStatus.TOO_MANY_REQUESTS.value()
+						|| status.is5xxServerError() ) {
+					return true;
+				}
+			} else if ( t instanceof IOException ) {
+				return true;
+			}
+			t = t.getCause();
+		}
+		return false;
+	}
+
 	private @Nullable StreamDatum datumStreamDatum(DatumIdentity datumId, Datum datum, Instant received,
 			Map<ObjectDatumStreamMetadataId, ObjectDatumStreamMetadata> cache) {
 		final ObjectDatumStreamMetadata meta = datumStreamMetadata(datumId, cache);
@@ -951,4 +1081,63 @@ public class DaoCloudDatumStreamPollService implements CloudDatumStreamPollServi
 		this.requeueErrorCountMaximum = requeueErrorCountMaximum;
 	}
 
+	/**
+	 * Get the maximum number of result pages to process per task execution.
+	 *
+	 * @return the maximum page count; defaults to
+	 *         {@link #DEFAULT_MAX_PAGES_PER_EXECUTION}
+	 * @since 2.3
+	 */
+	public final int getMaxPagesPerExecution() {
+		return maxPagesPerExecution;
+	}
+
+	/**
+	 * Set the maximum number of result pages to process per task execution.
+	 *
+	 * <p>
+	 * When a datum stream service returns results in pages, for example when
+	 * catching up after a stream has been offline, up to this many pages will
+	 * be persisted in a single task execution. The task start date advances
+	 * after each page, so any remaining pages are picked up by the next
+	 * execution.
+	 * </p>
+	 *
+	 * @param maxPagesPerExecution
+	 *        the maximum page count to set; anything less than {@literal 1}
+	 *        will be treated as {@literal 1}
+	 * @since 2.3
+	 */
+	public final void setMaxPagesPerExecution(int maxPagesPerExecution) {
+		this.maxPagesPerExecution = Math.max(1, maxPagesPerExecution);
+	}
+
+	/**
+	 * Get the per-service bulkhead.
+	 *
+	 * @return the bulkhead, or {@code null}
+	 * @since 2.4
+	 */
+	public final @Nullable AdaptiveServiceBulkhead getBulkhead() {
+		return bulkhead;
+	}
+
+	/**
+	 * Set a per-service bulkhead.
+	 *
+	 * <p>
+	 * If configured, each task must acquire a permit from the bulkhead for the
+	 * datum stream's service identifier before executing. Tasks that cannot
+	 * acquire a permit are re-queued to execute after the bulkhead's retry
+	 * delay.
+	 * </p>
+	 *
+	 * @param bulkhead
+	 *        the bulkhead to set
+	 * @since 2.4
+	 */
+	public final void setBulkhead(@Nullable AdaptiveServiceBulkhead bulkhead) {
+		this.bulkhead = bulkhead;
+	}
+
 }
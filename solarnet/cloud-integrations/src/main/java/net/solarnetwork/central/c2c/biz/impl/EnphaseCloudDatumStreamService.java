@@ -59,6 +59,7 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.locks.Lock;
+import java.util.function.Predicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import javax.cache.Cache;
@@ -84,6 +85,7 @@ import net.solarnetwork.central.c2c.domain.BasicCloudDatumStreamQueryResult;
 import net.solarnetwork.central.c2c.domain.BasicQueryFilter;
 import net.solarnetwork.central.c2c.domain.CloudDataValue;
 import net.solarnetwork.central.c2c.domain.CloudDatumStreamConfiguration;
+import net.solarnetwork.central.c2c.domain.CloudDatumStreamMappingConfiguration;
 import net.solarnetwork.central.c2c.domain.CloudDatumStreamPropertyConfiguration;
 import net.solarnetwork.central.c2c.domain.CloudDatumStreamQueryFilter;
 import net.solarnetwork.central.c2c.domain.CloudDatumStreamQueryResult;
@@ -109,7 +111,7 @@ import tools.jackson.databind.JsonNode;
  * Enphase implementation of {@link CloudDatumStreamService}.
  *
  * @author matt
- * @version 2.1
+ * @version 2.2
  */
 public class EnphaseCloudDatumStreamService extends BaseRestOperationsCloudDatumStreamService {
 
@@ -789,139 +791,156 @@ public class EnphaseCloudDatumStreamService extends BaseRestOperationsCloudDatum
 			CloudDatumStreamQueryFilter filter) {
 		requireNonNullArgument(datumStream, "datumStream");
 		requireNonNullArgument(filter, "filter");
-		return performAction(datumStream, (ms, ds, mapping, integration, valueProps, exprProps) -> {
+		return performAction(datumStream, (ms, ds, mapping, integration, valueProps,
+				exprProps) -> queryDatum(ms, ds, mapping, integration, valueProps, exprProps, filter));
+	}
 
-			if ( valueProps.isEmpty() ) {
-				String msg = "Datum stream has no properties.";
-				Errors errors = new BindException(ds, "datumStream");
-				errors.reject("error.datumStream.noProperties", null, msg);
-				throw new ValidationException(msg, errors, ms);
-			}
+	@Override
+	public void datum(CloudDatumStreamConfiguration datumStream, CloudDatumStreamQueryFilter filter,
+			Predicate<CloudDatumStreamQueryResult> handler) {
+		requireNonNullArgument(datumStream, "datumStream");
+		requireNonNullArgument(filter, "filter");
+		requireNonNullArgument(handler, "handler");
+		performAction(datumStream,
+				(ms, ds, mapping, integration, valueProps, exprProps) -> CloudDatumStreamService
+						.datumPages(filter, handler, pageFilter -> queryDatum(ms, ds, mapping,
+								integration, valueProps, exprProps, pageFilter)));
+	}
 
-			final var decryptedIntegration = integration.copyWithId(integration.id());
-			decryptedIntegration.unmaskSensitiveInformation(_ -> SECURE_SETTINGS, encryptor);
+	private CloudDatumStreamQueryResult queryDatum(MessageSource ms, CloudDatumStreamConfiguration ds,
+			CloudDatumStreamMappingConfiguration mapping, CloudIntegrationConfiguration integration,
+			List<CloudDatumStreamPropertyConfiguration> valueProps,
+			List<CloudDatumStreamPropertyConfiguration> exprProps, CloudDatumStreamQueryFilter filter) {
+		if ( valueProps.isEmpty() ) {
+			String msg = "Datum stream has no properties.";
+			Errors errors = new BindException(ds, "datumStream");
+			errors.reject("error.datumStream.noProperties", null, msg);
+			throw new ValidationException(msg, errors, ms);
+		}
+
+		final var decryptedIntegration = integration.copyWithId(integration.id());
+		decryptedIntegration.unmaskSensitiveInformation(_ -> SECURE_SETTINGS, encryptor);
 
-			final Duration deviceReportingMaxLag = nonnull(
-					datumStream.servicePropertyDuration(DEVICE_REPORTING_MAXIMUM_LAG_SETTING,
-							DEFAULT_DEVICE_REPORTING_MAXIMUM_LAG),
-					"Maximum lag");
+		final Duration deviceReportingMaxLag = nonnull(
+				ds.servicePropertyDuration(DEVICE_REPORTING_MAXIMUM_LAG_SETTING,
+						DEFAULT_DEVICE_REPORTING_MAXIMUM_LAG),
+				"Maximum lag");
 
-			final Instant filterStartDate = requireNonNullArgument(filter.getStartDate(),
-					"filter.startDate");
-			final Instant filterEndDate = requireNonNullArgument(filter.getEndDate(),
-					"filter.startDate");
+		final Instant filterStartDate = requireNonNullArgument(filter.getStartDate(),
+				"filter.startDate");
+		final Instant filterEndDate = requireNonNullArgument(filter.getEndDate(),
+				"filter.startDate");
 
-			BasicQueryFilter nextQueryFilter = null;
+		BasicQueryFilter nextQueryFilter = null;
 
-			Instant startDate = FifteenMinute.tickStart(filterStartDate, UTC);
-			Instant endDate = FifteenMinute.tickStart(filterEndDate, UTC);
-			if ( endDate.isBefore(filterEndDate) ) {
-				endDate = FifteenMinute.nextTickStart(endDate, UTC);
+		Instant startDate = FifteenMinute.tickStart(filterStartDate, UTC);
+		Instant endDate = FifteenMinute.tickStart(filterEndDate, UTC);
+		if ( endDate.isBefore(filterEndDate) ) {
+			endDate = FifteenMinute.nextTickStart(endDate, UTC);
+		}
+		if ( Duration.between(startDate, endDate).compareTo(MAX_QUERY_TIME_RANGE) > 0 ) {
+			Instant nextEndDate = FifteenMinute
+					.tickStart(startDate.plus(MAX_QUERY_TIME_RANGE.multipliedBy(2)), UTC);
+			if ( nextEndDate.isAfter(endDate) ) {
+				nextEndDate = endDate;
 			}
-			if ( Duration.between(startDate, endDate).compareTo(MAX_QUERY_TIME_RANGE) > 0 ) {
-				Instant nextEndDate = FifteenMinute
-						.tickStart(startDate.plus(MAX_QUERY_TIME_RANGE.multipliedBy(2)), UTC);
-				if ( nextEndDate.isAfter(endDate) ) {
-					nextEndDate = endDate;
-				}
 
-				endDate = FifteenMinute.tickStart(startDate.plus(MAX_QUERY_TIME_RANGE), UTC);
+			endDate = FifteenMinute.tickStart(startDate.plus(MAX_QUERY_TIME_RANGE), UTC);
 
-				nextQueryFilter = new BasicQueryFilter();
-				nextQueryFilter.setStartDate(endDate);
-				nextQueryFilter.setEndDate(nextEndDate);
-			}
-			if ( endDate.isAfter(clock.instant()) ) {
-				endDate = FifteenMinute.tickStart(clock.instant(), UTC);
-			}
+			nextQueryFilter = new BasicQueryFilter();
+			nextQueryFilter.setStartDate(endDate);
+			nextQueryFilter.setEndDate(nextEndDate);
+		}
+		if ( endDate.isAfter(clock.instant()) ) {
+			endDate = FifteenMinute.tickStart(clock.instant(), UTC);
+		}
 
-			final BasicQueryFilter usedQueryFilter = new BasicQueryFilter();
-			usedQueryFilter.setStartDate(startDate);
-			usedQueryFilter.setEndDate(endDate);
-
-			final Map<String, String> sourceIdMap = ds.servicePropertyStringMap(SOURCE_ID_MAP_SETTING);
-
-			// validation support
-			final Set<String> ignoredValidations = ds
-					.servicePropertyStringSet(VALIDATION_IGNORE_SETTING);
-
-			final OrderedDatumSamplesBuffer streamBuffer = new OrderedDatumSamplesBuffer();
-			final Map<Long, SystemQueryPlan> queryPlans = resolveSystemQueryPlans(ds, sourceIdMap,
-					valueProps);
-
-			// track the earliest reported "data valid as of" date, as an epoch second
-			final var lastReportDate = new MutableLong(endDate.getEpochSecond());
-
-			for ( SystemQueryPlan queryPlan : queryPlans.values() ) {
-				// system inverter data
-				List<ValueRef> systemInvRefs = queryPlan.systemValueRefs(Inverter);
-				if ( systemInvRefs != null && !systemInvRefs.isEmpty() ) {
-					restOpsHelper.httpGet("List system inverter data", integration, JsonNode.class,
-							_ -> fromUri(resolveBaseUrl(integration, BASE_URI))
-									.path(INVERTER_TELEMETRY_PATH_TEMPLATE)
-									.queryParam(API_KEY_PARAM,
-											decryptedIntegration.serviceProperty(API_KEY_SETTING,
-													String.class))
-									.queryParam(START_AT_PARAM, startDate.getEpochSecond())
-									.queryParam(GRANULARITY_PARAM, EnphaseGranularity
-											.forQueryDateRange(filterStartDate, filterEndDate).getKey())
-									.buildAndExpand(queryPlan.systemId).toUri(),
-							(req, res) -> {
-								var result = parseSiteInverterDatum(req, res.getBody(), systemInvRefs,
-										ds, sourceIdMap, usedQueryFilter, ignoredValidations,
-										streamBuffer);
-								updateLastReportDate(deviceReportingMaxLag, lastReportDate,
-										res.getBody(), clock.instant(), result);
-								return result;
-							});
-				}
+		final BasicQueryFilter usedQueryFilter = new BasicQueryFilter();
+		usedQueryFilter.setStartDate(startDate);
+		usedQueryFilter.setEndDate(endDate);
+
+		final Map<String, String> sourceIdMap = ds.servicePropertyStringMap(SOURCE_ID_MAP_SETTING);
+
+		// validation support
+		final Set<String> ignoredValidations = ds
+				.servicePropertyStringSet(VALIDATION_IGNORE_SETTING);
+
+		final OrderedDatumSamplesBuffer streamBuffer = new OrderedDatumSamplesBuffer();
+		final Map<Long, SystemQueryPlan> queryPlans = resolveSystemQueryPlans(ds, sourceIdMap,
+				valueProps);
+
+		// track the earliest reported "data valid as of" date, as an epoch second
+		final var lastReportDate = new MutableLong(endDate.getEpochSecond());
+
+		for ( SystemQueryPlan queryPlan : queryPlans.values() ) {
+			// system inverter data
+			List<ValueRef> systemInvRefs = queryPlan.systemValueRefs(Inverter);
+			if ( systemInvRefs != null && !systemInvRefs.isEmpty() ) {
+				restOpsHelper.httpGet("List system inverter data", integration, JsonNode.class,
+						_ -> fromUri(resolveBaseUrl(integration, BASE_URI))
+								.path(INVERTER_TELEMETRY_PATH_TEMPLATE)
+								.queryParam(API_KEY_PARAM,
+										decryptedIntegration.serviceProperty(API_KEY_SETTING,
+												String.class))
+								.queryParam(START_AT_PARAM, startDate.getEpochSecond())
+								.queryParam(GRANULARITY_PARAM, EnphaseGranularity
+										.forQueryDateRange(filterStartDate, filterEndDate).getKey())
+								.buildAndExpand(queryPlan.systemId).toUri(),
+						(req, res) -> {
+							var result = parseSiteInverterDatum(req, res.getBody(), systemInvRefs,
+									ds, sourceIdMap, usedQueryFilter, ignoredValidations,
+									streamBuffer);
+							updateLastReportDate(deviceReportingMaxLag, lastReportDate,
+									res.getBody(), clock.instant(), result);
+							return result;
+						});
+			}
 
-				// system meter data
-
-				List<ValueRef> systemMetRefs = queryPlan.systemValueRefs(Meter);
-				if ( systemMetRefs != null && !systemMetRefs.isEmpty() ) {
-					restOpsHelper.httpGet("List system meter data", integration, JsonNode.class,
-							_ -> fromUri(resolveBaseUrl(integration, BASE_URI))
-									.path(RGM_TELEMETRY_PATH_TEMPLATE)
-									.queryParam(API_KEY_PARAM,
-											decryptedIntegration.serviceProperty(API_KEY_SETTING,
-													String.class))
-									.queryParam(START_AT_PARAM, startDate.getEpochSecond())
-									.queryParam(END_AT_PARAM,
-											nonnull(usedQueryFilter.getEndDate(), "Used end date")
-													.getEpochSecond())
-									.buildAndExpand(queryPlan.systemId).toUri(),
-							(req, res) -> {
-								var result = parseSiteMeterDatum(req, res.getBody(), systemMetRefs, ds,
-										sourceIdMap, ignoredValidations, streamBuffer);
-								updateLastReportDate(deviceReportingMaxLag, lastReportDate,
-										res.getBody(), clock.instant(), result);
-								return result;
-							});
-				}
+			// system meter data
+
+			List<ValueRef> systemMetRefs = queryPlan.systemValueRefs(Meter);
+			if ( systemMetRefs != null && !systemMetRefs.isEmpty() ) {
+				restOpsHelper.httpGet("List system meter data", integration, JsonNode.class,
+						_ -> fromUri(resolveBaseUrl(integration, BASE_URI))
+								.path(RGM_TELEMETRY_PATH_TEMPLATE)
+								.queryParam(API_KEY_PARAM,
+										decryptedIntegration.serviceProperty(API_KEY_SETTING,
+												String.class))
+								.queryParam(START_AT_PARAM, startDate.getEpochSecond())
+								.queryParam(END_AT_PARAM,
+										nonnull(usedQueryFilter.getEndDate(), "Used end date")
+												.getEpochSecond())
+								.buildAndExpand(queryPlan.systemId).toUri(),
+						(req, res) -> {
+							var result = parseSiteMeterDatum(req, res.getBody(), systemMetRefs, ds,
+									sourceIdMap, ignoredValidations, streamBuffer);
+							updateLastReportDate(deviceReportingMaxLag, lastReportDate,
+									res.getBody(), clock.instant(), result);
+							return result;
+						});
 			}
+		}
 
-			// tick-align lastReportDate value
-			lastReportDate.setValue(FifteenMinute
-					.tickStart(Instant.ofEpochSecond(lastReportDate.longValue()), UTC).getEpochSecond());
+		// tick-align lastReportDate value
+		lastReportDate.setValue(FifteenMinute
+				.tickStart(Instant.ofEpochSecond(lastReportDate.longValue()), UTC).getEpochSecond());
 
-			if ( lastReportDate.longValue() < endDate.getEpochSecond() ) {
-				// data drop out? adjust next start date
-				if ( nextQueryFilter == null ) {
-					nextQueryFilter = new BasicQueryFilter();
-				}
-				nextQueryFilter.setStartDate(Instant.ofEpochSecond(lastReportDate.longValue()));
+		if ( lastReportDate.longValue() < endDate.getEpochSecond() ) {
+			// data drop out? adjust next start date
+			if ( nextQueryFilter == null ) {
+				nextQueryFilter = new BasicQueryFilter();
 			}
+			nextQueryFilter.setStartDate(Instant.ofEpochSecond(lastReportDate.longValue()));
+		}
 
-			final List<GeneralDatum> resultDatum = streamBuffer.datum(GeneralDatum::new);
+		final List<GeneralDatum> resultDatum = streamBuffer.datum(GeneralDatum::new);
 
-			// evaluate expressions on merged datum
-			var r = evaluateExpressions(datumStream, exprProps, resultDatum, mapping.getConfigId(),
-					integration.getConfigId());
+		// evaluate expressions on merged datum
+		var r = evaluateExpressions(ds, exprProps, resultDatum, mapping.getConfigId(),
+				integration.getConfigId());
 
-			return new BasicCloudDatumStreamQueryResult(usedQueryFilter, nextQueryFilter,
-					r.stream().map(Datum.class::cast).toList(), streamBuffer.auxiliaryOrNull());
-		});
+		return new BasicCloudDatumStreamQueryResult(usedQueryFilter, nextQueryFilter,
+				r.stream().map(Datum.class::cast).toList(), streamBuffer.auxiliaryOrNull());
 	}
 
 	private Map<Long, SystemQueryPlan> resolveSystemQueryPlans(CloudDatumStreamConfiguration datumStream,
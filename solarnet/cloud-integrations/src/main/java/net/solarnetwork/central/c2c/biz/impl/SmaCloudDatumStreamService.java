@@ -55,6 +55,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.locks.Lock;
+import java.util.function.Predicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import javax.cache.Cache;
@@ -109,7 +110,7 @@ import tools.jackson.databind.JsonNode;
  * SMA implementation of {@link CloudDatumStreamService}.
  *
  * @author matt
- * @version 2.3
+ * @version 2.4
  */
 public class SmaCloudDatumStreamService extends BaseRestOperationsCloudDatumStreamService {
 
@@ -587,6 +588,18 @@ public class SmaCloudDatumStreamService extends BaseRestOperationsCloudDatumStre
 		});
 	}
 
+	@Override
+	public void datum(CloudDatumStreamConfiguration datumStream, CloudDatumStreamQueryFilter filter,
+			Predicate<CloudDatumStreamQueryResult> handler) {
+		requireNonNullArgument(datumStream, "datumStream");
+		requireNonNullArgument(filter, "filter");
+		requireNonNullArgument(handler, "handler");
+		performAction(datumStream,
+				(ms, ds, mapping, integration, valueProps, exprProps) -> CloudDatumStreamService
+						.datumPages(filter, handler, pageFilter -> query(pageFilter, ms, ds, mapping,
+								integration, valueProps, exprProps, SmaPeriod.Day)));
+	}
+
 	private BasicCloudDatumStreamQueryResult query(@Nullable CloudDatumStreamQueryFilter filter,
 			MessageSource ms, CloudDatumStreamConfiguration ds,
 			CloudDatumStreamMappingConfiguration mapping, CloudIntegrationConfiguration integration,
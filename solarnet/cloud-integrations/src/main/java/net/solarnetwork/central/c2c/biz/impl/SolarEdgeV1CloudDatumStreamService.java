@@ -67,6 +67,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Predicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -92,6 +93,7 @@ import net.solarnetwork.central.c2c.domain.BasicCloudDatumStreamQueryResult;
 import net.solarnetwork.central.c2c.domain.BasicQueryFilter;
 import net.solarnetwork.central.c2c.domain.CloudDataValue;
 import net.solarnetwork.central.c2c.domain.CloudDatumStreamConfiguration;
+import net.solarnetwork.central.c2c.domain.CloudDatumStreamMappingConfiguration;
 import net.solarnetwork.central.c2c.domain.CloudDatumStreamPropertyConfiguration;
 import net.solarnetwork.central.c2c.domain.CloudDatumStreamQueryFilter;
 import net.solarnetwork.central.c2c.domain.CloudDatumStreamQueryResult;
@@ -119,7 +121,7 @@ import tools.jackson.databind.JsonNode;
  * SolarEdge implementation of {@link CloudDatumStreamService} using the V1 API.
  *
  * @author matt
- * @version 2.3
+ * @version 2.4
  */
 public class SolarEdgeV1CloudDatumStreamService extends BaseRestOperationsCloudDatumStreamService {
 
@@ -803,171 +805,188 @@ public class SolarEdgeV1CloudDatumStreamService extends BaseRestOperationsCloudD
 			CloudDatumStreamQueryFilter filter) {
 		requireNonNullArgument(datumStream, "datumStream");
 		requireNonNullArgument(filter, "filter");
-		return performAction(datumStream, (ms, ds, mapping, integration, valueProps, exprProps) -> {
+		return performAction(datumStream, (ms, ds, mapping, integration, valueProps,
+				exprProps) -> queryDatum(ms, ds, mapping, integration, valueProps, exprProps, filter));
+	}
 
-			if ( valueProps.isEmpty() ) {
-				String msg = "Datum stream has no properties.";
-				Errors errors = new BindException(ds, "datumStream");
-				errors.reject("error.datumStream.noProperties", null, msg);
-				throw new ValidationException(msg, errors, ms);
-			}
+	@Override
+	public void datum(CloudDatumStreamConfiguration datumStream, CloudDatumStreamQueryFilter filter,
+			Predicate<CloudDatumStreamQueryResult> handler) {
+		requireNonNullArgument(datumStream, "datumStream");
+		requireNonNullArgument(filter, "filter");
+		requireNonNullArgument(handler, "handler");
+		performAction(datumStream,
+				(ms, ds, mapping, integration, valueProps, exprProps) -> CloudDatumStreamService
+						.datumPages(filter, handler, pageFilter -> queryDatum(ms, ds, mapping,
+								integration, valueProps, exprProps, pageFilter)));
+	}
+
+	private CloudDatumStreamQueryResult queryDatum(MessageSource ms, CloudDatumStreamConfiguration ds,
+			CloudDatumStreamMappingConfiguration mapping, CloudIntegrationConfiguration integration,
+			List<CloudDatumStreamPropertyConfiguration> valueProps,
+			List<CloudDatumStreamPropertyConfiguration> exprProps, CloudDatumStreamQueryFilter filter) {
+		if ( valueProps.isEmpty() ) {
+			String msg = "Datum stream has no properties.";
+			Errors errors = new BindException(ds, "datumStream");
+			errors.reject("error.datumStream.noProperties", null, msg);
+			throw new ValidationException(msg, errors, ms);
+		}
 
-			final Instant filterStartDate = requireNonNullArgument(filter.getStartDate(),
-					"filter.startDate");
-			final Instant filterEndDate = requireNonNullArgument(filter.getEndDate(),
-					"filter.startDate");
+		final Instant filterStartDate = requireNonNullArgument(filter.getStartDate(),
+				"filter.startDate");
+		final Instant filterEndDate = requireNonNullArgument(filter.getEndDate(),
+				"filter.startDate");
 
-			final SolarEdgeResolution resolution = resolveResolution(ds, filter.getParameters());
+		final SolarEdgeResolution resolution = resolveResolution(ds, filter.getParameters());
 
-			final Map<String, String> sourceIdMap = ds.servicePropertyStringMap(SOURCE_ID_MAP_SETTING);
+		final Map<String, String> sourceIdMap = ds.servicePropertyStringMap(SOURCE_ID_MAP_SETTING);
 
-			// validation support
-			final Set<String> ignoredValidations = ds
-					.servicePropertyStringSet(VALIDATION_IGNORE_SETTING);
-			final var streamBuffer = new OrderedDatumSamplesBuffer();
+		// validation support
+		final Set<String> ignoredValidations = ds
+				.servicePropertyStringSet(VALIDATION_IGNORE_SETTING);
+		final var streamBuffer = new OrderedDatumSamplesBuffer();
 
-			final Duration timeGapDuration = (!ignoredValidations.contains(TimeGap.getKey())
-					? resolveTimeGapValidationThreshold(datumStream)
-					: null);
+		final Duration timeGapDuration = (!ignoredValidations.contains(TimeGap.getKey())
+				? resolveTimeGapValidationThreshold(ds)
+				: null);
 
-			final Map<Long, SiteQueryPlan> queryPlans = resolveSiteQueryPlans(integration, ds,
-					sourceIdMap, valueProps);
+		final Map<Long, SiteQueryPlan> queryPlans = resolveSiteQueryPlans(integration, ds,
+				sourceIdMap, valueProps);
 
-			BasicQueryFilter nextQueryFilter = null;
+		BasicQueryFilter nextQueryFilter = null;
 
-			Instant startDate = resolution.truncateDate(filterStartDate);
-			Instant endDate = resolution.truncateDate(filterEndDate);
-			if ( endDate.isBefore(filterEndDate) ) {
-				endDate = resolution.nextDate(endDate);
+		Instant startDate = resolution.truncateDate(filterStartDate);
+		Instant endDate = resolution.truncateDate(filterEndDate);
+		if ( endDate.isBefore(filterEndDate) ) {
+			endDate = resolution.nextDate(endDate);
+		}
+		if ( Duration.between(startDate, endDate).compareTo(MAX_QUERY_TIME_RANGE) > 0 ) {
+			Instant nextEndDate = startDate.plus(MAX_QUERY_TIME_RANGE.multipliedBy(2));
+			if ( nextEndDate.isAfter(endDate) ) {
+				nextEndDate = endDate;
 			}
-			if ( Duration.between(startDate, endDate).compareTo(MAX_QUERY_TIME_RANGE) > 0 ) {
-				Instant nextEndDate = startDate.plus(MAX_QUERY_TIME_RANGE.multipliedBy(2));
-				if ( nextEndDate.isAfter(endDate) ) {
-					nextEndDate = endDate;
-				}
 
-				endDate = startDate.plus(MAX_QUERY_TIME_RANGE);
+			endDate = startDate.plus(MAX_QUERY_TIME_RANGE);
 
-				nextQueryFilter = new BasicQueryFilter();
-				nextQueryFilter.setStartDate(endDate);
-				nextQueryFilter.setEndDate(nextEndDate);
-			}
+			nextQueryFilter = new BasicQueryFilter();
+			nextQueryFilter.setStartDate(endDate);
+			nextQueryFilter.setEndDate(nextEndDate);
+		}
 
-			final BasicQueryFilter usedQueryFilter = new BasicQueryFilter();
-			usedQueryFilter.setStartDate(startDate);
-			usedQueryFilter.setEndDate(endDate);
-			for ( SiteQueryPlan queryPlan : queryPlans.values() ) {
-				ZonedDateTime siteStartDate = startDate.atZone(queryPlan.zone);
-				ZonedDateTime siteEndDate = endDate.atZone(queryPlan.zone);
-
-				DateTimeFormatter timestampFmt = DateUtils.ISO_DATE_OPT_TIME_ALT
-						.withZone(queryPlan.zone);
-
-				String startDateParam = timestampFmt.format(siteStartDate.toLocalDateTime());
-				String endDateParam = timestampFmt.format(siteEndDate.toLocalDateTime());
-
-				// inverter data
-				if ( queryPlan.inverterIds != null && !queryPlan.inverterIds.isEmpty() ) {
-					for ( String inverterId : queryPlan.inverterIds ) {
-						restOpsHelper.httpGet("List inverter data", integration, JsonNode.class,
-								_ -> fromUri(resolveBaseUrl(integration, BASE_URI))
-										.path(EQUIPMENT_DATA_URL_TEMPLATE)
-										.queryParam("startTime", startDateParam)
-										.queryParam("endTime", endDateParam)
-										.buildAndExpand(queryPlan.siteId, inverterId).toUri(),
-								(req, res) -> parseInverterDatum(req, res.getBody(), queryPlan,
-										inverterId, ds, sourceIdMap, timestampFmt, timeGapDuration,
-										streamBuffer));
-					}
-				}
+		final BasicQueryFilter usedQueryFilter = new BasicQueryFilter();
+		usedQueryFilter.setStartDate(startDate);
+		usedQueryFilter.setEndDate(endDate);
+		for ( SiteQueryPlan queryPlan : queryPlans.values() ) {
+			ZonedDateTime siteStartDate = startDate.atZone(queryPlan.zone);
+			ZonedDateTime siteEndDate = endDate.atZone(queryPlan.zone);
 
-				// meter data
-				if ( queryPlan.includeMeters ) {
-					// have to request two URLs for this
-					// @formatter:off
-					JsonNode meterPower = restOpsHelper.httpGet("List meter power data", integration,
-							JsonNode.class,
-							_ -> fromUri(resolveBaseUrl(integration, BASE_URI))
-									.path(POWER_DETAILS_URL_TEMPLATE)
-									.queryParam("startTime", startDateParam)
-									.queryParam("endTime", endDateParam)
-									.queryParam("timeUnit", resolution.getKey())
-									.buildAndExpand(queryPlan.siteId)
-									.toUri(),
-							(_, res) -> nonnull(res.getBody(), "Response body"));
-					restOpsHelper.httpGet("List meter energy data", integration,
-							JsonNode.class,
+			DateTimeFormatter timestampFmt = DateUtils.ISO_DATE_OPT_TIME_ALT
+					.withZone(queryPlan.zone);
+
+			String startDateParam = timestampFmt.format(siteStartDate.toLocalDateTime());
+			String endDateParam = timestampFmt.format(siteEndDate.toLocalDateTime());
+
+			// inverter data
+			if ( queryPlan.inverterIds != null && !queryPlan.inverterIds.isEmpty() ) {
+				for ( String inverterId : queryPlan.inverterIds ) {
+					restOpsHelper.httpGet("List inverter data", integration, JsonNode.class,
 							_ -> fromUri(resolveBaseUrl(integration, BASE_URI))
-									.path(METERS_URL_TEMPLATE)
+									.path(EQUIPMENT_DATA_URL_TEMPLATE)
 									.queryParam("startTime", startDateParam)
 									.queryParam("endTime", endDateParam)
-									.queryParam("timeUnit", resolution.getKey())
-									.buildAndExpand(queryPlan.siteId)
-									.toUri(),
-							(req, res) -> {
-								final JsonNode meterEnergy = nonnull(res.getBody(), "Response body");
-								return parseMeterDatum(req, meterPower, meterEnergy, queryPlan,
-										ds, sourceIdMap, timestampFmt, resolution, timeGapDuration,
-										streamBuffer);
-							});
-					// @formatter:on
+									.buildAndExpand(queryPlan.siteId, inverterId).toUri(),
+							(req, res) -> parseInverterDatum(req, res.getBody(), queryPlan,
+									inverterId, ds, sourceIdMap, timestampFmt, timeGapDuration,
+									streamBuffer));
 				}
+			}
 
-				// battery data
-				if ( queryPlan.includeBatteries ) {
-					restOpsHelper.httpGet("List battery data", integration, JsonNode.class,
-							_ -> fromUri(resolveBaseUrl(integration, BASE_URI))
-									.path(STORAGE_DATA_URL_TEMPLATE)
-									.queryParam("startTime", startDateParam)
-									.queryParam("endTime", endDateParam).buildAndExpand(queryPlan.siteId)
-									.toUri(),
-							(req, res) -> parseBatteryDatum(req, res.getBody(), queryPlan, ds,
-									sourceIdMap, timestampFmt, timeGapDuration, streamBuffer));
-				}
+			// meter data
+			if ( queryPlan.includeMeters ) {
+				// have to request two URLs for this
+				// @formatter:off
+				JsonNode meterPower = restOpsHelper.httpGet("List meter power data", integration,
+						JsonNode.class,
+						_ -> fromUri(resolveBaseUrl(integration, BASE_URI))
+								.path(POWER_DETAILS_URL_TEMPLATE)
+								.queryParam("startTime", startDateParam)
+								.queryParam("endTime", endDateParam)
+								.queryParam("timeUnit", resolution.getKey())
+								.buildAndExpand(queryPlan.siteId)
+								.toUri(),
+						(_, res) -> nonnull(res.getBody(), "Response body"));
+				restOpsHelper.httpGet("List meter energy data", integration,
+						JsonNode.class,
+						_ -> fromUri(resolveBaseUrl(integration, BASE_URI))
+								.path(METERS_URL_TEMPLATE)
+								.queryParam("startTime", startDateParam)
+								.queryParam("endTime", endDateParam)
+								.queryParam("timeUnit", resolution.getKey())
+								.buildAndExpand(queryPlan.siteId)
+								.toUri(),
+						(req, res) -> {
+							final JsonNode meterEnergy = nonnull(res.getBody(), "Response body");
+							return parseMeterDatum(req, meterPower, meterEnergy, queryPlan,
+									ds, sourceIdMap, timestampFmt, resolution, timeGapDuration,
+									streamBuffer);
+						});
+				// @formatter:on
 			}
 
-			final List<GeneralDatum> resultDatum = streamBuffer.datum(GeneralDatum::new);
-
-			// evaluate expressions on merged datum
-			var r = evaluateExpressions(datumStream, exprProps, resultDatum, mapping.getConfigId(),
-					integration.getConfigId());
-
-			Map<ObjectDatumStreamMetadataId, Instant> greatestTimestampPerStream = new HashMap<>(4);
-			List<Datum> finalResult = new ArrayList<>(r.size());
-			for ( GeneralDatum d : r ) {
-				var datumId = d.datumIdent();
-				ObjectDatumStreamMetadataId streamPk = new ObjectDatumStreamMetadataId(datumId.getKind(),
-						datumId.getObjectId(), datumId.getSourceId());
-				Instant ts = datumId.getTimestamp();
-				greatestTimestampPerStream.compute(streamPk,
-						(_, v) -> v == null || ts.compareTo(v) > 0 ? ts : v);
-				finalResult.add(d);
+			// battery data
+			if ( queryPlan.includeBatteries ) {
+				restOpsHelper.httpGet("List battery data", integration, JsonNode.class,
+						_ -> fromUri(resolveBaseUrl(integration, BASE_URI))
+								.path(STORAGE_DATA_URL_TEMPLATE)
+								.queryParam("startTime", startDateParam)
+								.queryParam("endTime", endDateParam).buildAndExpand(queryPlan.siteId)
+								.toUri(),
+						(req, res) -> parseBatteryDatum(req, res.getBody(), queryPlan, ds,
+								sourceIdMap, timestampFmt, timeGapDuration, streamBuffer));
 			}
-			finalResult.sort(null);
-
-			// latest datum might not have been reported yet; check latest datum date (per stream), and if
-			// less than expected date make that the next query start date
-			final Duration multiStreamMaximumLag = multiStreamMaximumLag(ds);
-			if ( multiStreamMaximumLag.compareTo(Duration.ZERO) > 0
-					&& greatestTimestampPerStream.size() > 1 ) {
-				Instant leastGreatestTimestampPerStream = greatestTimestampPerStream.values().stream()
-						.min(Instant::compareTo).get();
-				Instant greatestTimestampAcrossStreams = greatestTimestampPerStream.values().stream()
-						.max(Instant::compareTo).get();
-				if ( leastGreatestTimestampPerStream.isBefore(greatestTimestampAcrossStreams)
-						&& Duration.between(leastGreatestTimestampPerStream, clock.instant())
-								.compareTo(multiStreamMaximumLag) < 0 ) {
-					if ( nextQueryFilter == null ) {
-						nextQueryFilter = new BasicQueryFilter();
-					}
-					nextQueryFilter
-							.setStartDate(resolution.truncateDate(leastGreatestTimestampPerStream));
+		}
+
+		final List<GeneralDatum> resultDatum = streamBuffer.datum(GeneralDatum::new);
+
+		// evaluate expressions on merged datum
+		var r = evaluateExpressions(ds, exprProps, resultDatum, mapping.getConfigId(),
+				integration.getConfigId());
+
+		Map<ObjectDatumStreamMetadataId, Instant> greatestTimestampPerStream = new HashMap<>(4);
+		List<Datum> finalResult = new ArrayList<>(r.size());
+		for ( GeneralDatum d : r ) {
+			var datumId = d.datumIdent();
+			ObjectDatumStreamMetadataId streamPk = new ObjectDatumStreamMetadataId(datumId.getKind(),
+					datumId.getObjectId(), datumId.getSourceId());
+			Instant ts = datumId.getTimestamp();
+			greatestTimestampPerStream.compute(streamPk,
+					(_, v) -> v == null || ts.compareTo(v) > 0 ? ts : v);
+			finalResult.add(d);
+		}
+		finalResult.sort(null);
+
+		// latest datum might not have been reported yet; check latest datum date (per stream), and if
+		// less than expected date make that the next query start date
+		final Duration multiStreamMaximumLag = multiStreamMaximumLag(ds);
+		if ( multiStreamMaximumLag.compareTo(Duration.ZERO) > 0
+				&& greatestTimestampPerStream.size() > 1 ) {
+			Instant leastGreatestTimestampPerStream = greatestTimestampPerStream.values().stream()
+					.min(Instant::compareTo).get();
+			Instant greatestTimestampAcrossStreams = greatestTimestampPerStream.values().stream()
+					.max(Instant::compareTo).get();
+			if ( leastGreatestTimestampPerStream.isBefore(greatestTimestampAcrossStreams)
+					&& Duration.between(leastGreatestTimestampPerStream, clock.instant())
+							.compareTo(multiStreamMaximumLag) < 0 ) {
+				if ( nextQueryFilter == null ) {
+					nextQueryFilter = new BasicQueryFilter();
 				}
+				nextQueryFilter
+						.setStartDate(resolution.truncateDate(leastGreatestTimestampPerStream));
 			}
+		}
 
-			return new BasicCloudDatumStreamQueryResult(usedQueryFilter, nextQueryFilter, finalResult,
-					streamBuffer.auxiliaryOrNull());
-		});
+		return new BasicCloudDatumStreamQueryResult(usedQueryFilter, nextQueryFilter, finalResult,
+				streamBuffer.auxiliaryOrNull());
 	}
 
 	private Void parseInverterDatum(RequestEntity<Void> request, @Nullable JsonNode json,
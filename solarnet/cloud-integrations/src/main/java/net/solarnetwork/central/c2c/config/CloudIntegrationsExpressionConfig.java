@@ -35,6 +35,8 @@ import org.springframework.expression.Expression;
 import net.solarnetwork.central.c2c.biz.impl.BasicCloudIntegrationsExpressionService;
 import net.solarnetwork.central.common.dao.SolarNodeMetadataReadOnlyDao;
 import net.solarnetwork.central.dao.SolarNodeOwnershipDao;
+import net.solarnetwork.central.domain.SolarNodeMetadata;
+import net.solarnetwork.central.domain.SolarNodeOwnership;
 import net.solarnetwork.central.user.dao.UserSecretAccessDao;
 import net.solarnetwork.common.expr.spel.SpelExpressionService;
 import net.solarnetwork.domain.datum.ObjectDatumStreamMetadataId;
@@ -44,7 +46,7 @@ import net.solarnetwork.domain.tariff.TariffSchedule;
  * Cloud integrations expression configuration.
  *
  * @author matt
- * @version 1.2
+ * @version 1.3
  */
 @Configuration(proxyBeanMethods = false)
 @Profile(CLOUD_INTEGRATIONS)
@@ -68,6 +70,14 @@ public class CloudIntegrationsExpressionConfig implements SolarNetCloudIntegrati
 			@Autowired(required = false)
 			Cache<ObjectDatumStreamMetadataId, TariffSchedule> tariffScheduleCache,
 
+			@Qualifier(CLOUD_INTEGRATIONS_EXPRESSIONS_NODE_OWNERSHIP)
+			@Autowired(required = false)
+			Cache<Long, SolarNodeOwnership> nodeOwnershipCache,
+
+			@Qualifier(CLOUD_INTEGRATIONS_EXPRESSIONS_NODE_METADATA)
+			@Autowired(required = false)
+			Cache<Long, SolarNodeMetadata> nodeMetadataCache,
+
 			@Autowired(required = false)
 			UserSecretAccessDao userSecretAccessDao
 			// @formatter:on
@@ -77,6 +87,8 @@ public class CloudIntegrationsExpressionConfig implements SolarNetCloudIntegrati
 		service.setMetadataDao(nodeMetadataDao);
 		service.setExpressionCache(expressionCache);
 		service.setTariffScheduleCache(tariffScheduleCache);
+		service.setNodeOwnershipCache(nodeOwnershipCache);
+		service.setNodeMetadataCache(nodeMetadataCache);
 		service.setUserSecretAccessDao(userSecretAccessDao);
 		return service;
 	}
@@ -33,7 +33,7 @@ import net.solarnetwork.central.support.RetrySettings;
  * Marker interface for the cloud integrations configuration package.
  *
  * @author matt
- * @version 1.6
+ * @version 1.7
  */
 public interface SolarNetCloudIntegrationsConfiguration {
 
@@ -84,6 +84,20 @@ public interface SolarNetCloudIntegrationsConfiguration {
 	 */
 	String CLOUD_INTEGRATIONS_DEVMODE = SolarNetCommonConfiguration.DEVMODE + " & " + CLOUD_INTEGRATIONS;
 
+	/**
+	 * A qualifier for cloud integrations expression node ownership.
+	 *
+	 * @since 1.7
+	 */
+	String CLOUD_INTEGRATIONS_EXPRESSIONS_NODE_OWNERSHIP = "c2c-expr-node-ownership";
+
+	/**
+	 * A qualifier for cloud integrations expression node metadata.
+	 *
+	 * @since 1.7
+	 */
+	String CLOUD_INTEGRATIONS_EXPRESSIONS_NODE_METADATA = "c2c-expr-node-meta";
+
 	/**
 	 * Create a {@link RetryTemplate} for given settings, suitable for use in
 	 * cloud integrations.
@@ -22,6 +22,8 @@
 
 package net.solarnetwork.central.c2c.dao;
 
+import java.util.ArrayList;
+import java.util.List;
 import net.solarnetwork.central.c2c.domain.CloudDatumStreamPollTaskEntity;
 import net.solarnetwork.central.common.dao.ClaimableTaskDao;
 import net.solarnetwork.central.common.dao.FilterableDeleteDao;
@@ -33,7 +35,7 @@ import net.solarnetwork.dao.FilterableDao;
  * DAO API for {@link CloudDatumStreamPollTaskEntity} entities.
  *
  * @author matt
- * @version 1.0
+ * @version 1.1
  */
 public interface CloudDatumStreamPollTaskDao
 		extends GenericCompositeKey2Dao<CloudDatumStreamPollTaskEntity, UserLongCompositePK, Long, Long>,
@@ -41,4 +43,31 @@ public interface CloudDatumStreamPollTaskDao
 		FilterableDeleteDao<CloudDatumStreamPollTaskFilter>,
 		ClaimableTaskDao<CloudDatumStreamPollTaskEntity, UserLongCompositePK> {
 
+	/**
+	 * Claim up to a maximum number of queued tasks.
+	 *
+	 * <p>
+	 * This method will "claim" tasks that are currently in a "queued" state,
+	 * changing their state to "claimed". The default implementation calls
+	 * {@link #claimQueuedTask()} until {@code max} tasks are claimed or no
+	 * more are available.
+	 * </p>
+	 *
+	 * @param max
+	 *        the maximum number of tasks to claim
+	 * @return the claimed tasks, never {@code null}
+	 * @since 1.1
+	 */
+	default List<CloudDatumStreamPollTaskEntity> claimQueuedTasks(int max) {
+		final List<CloudDatumStreamPollTaskEntity> result = new ArrayList<>(Math.max(0, max));
+		while ( result.size() < max ) {
+			final CloudDatumStreamPollTaskEntity task = claimQueuedTask();
+			if ( task == null ) {
+				break;
+			}
+			result.add(task);
+		}
+		return result;
+	}
+
 }
@@ -29,6 +29,7 @@ import static net.solarnetwork.central.domain.BasicClaimableJobState.Unknown;
 import static net.solarnetwork.util.ObjectUtils.requireNonNullArgument;
 import java.sql.CallableStatement;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import org.jspecify.annotations.Nullable;
@@ -51,14 +52,22 @@ import net.solarnetwork.domain.SortDescriptor;
  * JDBC implementation of {@link CloudDatumStreamPollTaskDao}.
  *
  * @author matt
- * @version 1.4
+ * @version 1.5
  */
 public class JdbcCloudDatumStreamPollTaskDao implements CloudDatumStreamPollTaskDao {
 
 	public static final String DEFAULT_CLAIM_JOB_SQL = "{call solardin.claim_datum_stream_poll_task()}";
 
+	/**
+	 * The default SQL used to claim a batch of tasks.
+	 *
+	 * @since 1.5
+	 */
+	public static final String DEFAULT_CLAIM_JOBS_SQL = "{call solardin.claim_datum_stream_poll_tasks(?)}";
+
 	private final JdbcOperations jdbcOps;
 	private final String claimTaskSql;
+	private String claimTasksSql = DEFAULT_CLAIM_JOBS_SQL;
 
 	/**
 	 * Constructor.
@@ -185,6 +194,31 @@ public class JdbcCloudDatumStreamPollTaskDao implements CloudDatumStreamPollTask
 		});
 	}
 
+	@Override
+	public List<CloudDatumStreamPollTaskEntity> claimQueuedTasks(int max) {
+		if ( max < 1 ) {
+			return List.of();
+		}
+		final List<CloudDatumStreamPollTaskEntity> result = jdbcOps.execute(claimTasksSql,
+				(CallableStatement cs) -> {
+					cs.setInt(1, max);
+					final List<CloudDatumStreamPollTaskEntity> tasks = new ArrayList<>(max);
+					if ( cs.execute() ) {
+						try (var rs = cs.getResultSet()) {
+							if ( rs != null ) {
+								int row = 0;
+								while ( rs.next() ) {
+									tasks.add(CloudDatumStreamPollTaskEntityRowMapper.INSTANCE
+											.mapRow(rs, ++row));
+								}
+							}
+						}
+					}
+					return tasks;
+				});
+		return (result != null ? result : List.of());
+	}
+
 	@Override
 	public boolean updateTaskState(UserLongCompositePK id, BasicClaimableJobState desiredState,
 			BasicClaimableJobState @Nullable... expectedStates) {
@@ -221,4 +255,22 @@ public class JdbcCloudDatumStreamPollTaskDao implements CloudDatumStreamPollTask
 		return jdbcOps.update(sql);
 	}
 
+	/**
+	 * Set the SQL used to claim a batch of tasks.
+	 *
+	 * <p>
+	 * The SQL must accept a single integer parameter for the maximum number of
+	 * tasks to claim.
+	 * </p>
+	 *
+	 * @param claimTasksSql
+	 *        the SQL to set
+	 * @throws IllegalArgumentException
+	 *         if {@code claimTasksSql} is {@code null}
+	 * @since 1.5
+	 */
+	public void setClaimTasksSql(String claimTasksSql) {
+		this.claimTasksSql = requireNonNullArgument(claimTasksSql, "claimTasksSql");
+	}
+
 }
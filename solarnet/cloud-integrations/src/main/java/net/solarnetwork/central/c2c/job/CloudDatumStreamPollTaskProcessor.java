@@ -23,6 +23,7 @@
 package net.solarnetwork.central.c2c.job;
 
 import static net.solarnetwork.util.ObjectUtils.requireNonNullArgument;
+import java.util.List;
 import java.util.concurrent.Future;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -34,11 +35,12 @@ import net.solarnetwork.central.scheduler.JobSupport;
  * Job to process ready-to-execute cloud datum stream polling tasks.
  *
  * @author matt
- * @version 1.1
+ * @version 1.2
  */
 public class CloudDatumStreamPollTaskProcessor extends JobSupport {
 
 	private final CloudDatumStreamPollService service;
+	private int claimBatchSize = 1;
 
 	/**
 	 * Constructor.
@@ -61,21 +63,60 @@ public class CloudDatumStreamPollTaskProcessor extends JobSupport {
 	@Override
 	protected int executeJobTask(AtomicInteger remainingIterations) throws Exception {
 		int count = 0;
-		while ( remainingIterations.getAndDecrement() > 0 ) {
-			CloudDatumStreamPollTaskEntity task = service.claimQueuedTask();
-			if ( task == null ) {
+		boolean rejected = false;
+		while ( !rejected && remainingIterations.get() > 0 ) {
+			final List<CloudDatumStreamPollTaskEntity> tasks = claimTasks(
+					Math.min(claimBatchSize, remainingIterations.get()));
+			if ( tasks.isEmpty() ) {
 				break;
 			}
-			try {
-				Future<?> _ = service.executeTask(task);
-			} catch ( RejectedExecutionException e ) {
-				log.debug("Task [{}] rejected, aborting any more claims", task.getId());
-				remainingIterations.set(0);
-				break;
+			remainingIterations.addAndGet(-tasks.size());
+			for ( CloudDatumStreamPollTaskEntity task : tasks ) {
+				// once rejected, remaining claimed tasks are still passed to the service
+				// so it can reset them back to Queued
+				try {
+					Future<?> _ = service.executeTask(task);
+					count++;
+				} catch ( RejectedExecutionException e ) {
+					if ( !rejected ) {
+						log.debug("Task [{}] rejected, aborting any more claims", task.getId());
+						rejected = true;
+						remainingIterations.set(0);
+					}
+				}
 			}
-			count++;
 		}
 		return count;
 	}
 
+	private List<CloudDatumStreamPollTaskEntity> claimTasks(int max) {
+		if ( max > 1 ) {
+			return service.claimQueuedTasks(max);
+		}
+		final CloudDatumStreamPollTaskEntity task = service.claimQueuedTask();
+		return (task != null ? List.of(task) : List.of());
+	}
+
+	/**
+	 * Get the maximum number of tasks to claim at once.
+	 *
+	 * @return the claim batch size; defaults to {@literal 1}
+	 * @since 1.2
+	 */
+	public final int getClaimBatchSize() {
+		return claimBatchSize;
+	}
+
+	/**
+	 * Set the maximum number of tasks to claim at once.
+	 *
+	 * @param claimBatchSize
+	 *        the claim batch size to set; anything less than {@literal 1} will
+	 *        be treated as {@literal 1}
+	 * @since 1.2
+	 */
+	public final void setClaimBatchSize(int claimBatchSize) {
+		this.claimBatchSize = Math.max(1, claimBatchSize);
+	}
+
 }
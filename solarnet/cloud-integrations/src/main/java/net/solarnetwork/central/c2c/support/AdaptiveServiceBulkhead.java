@@ -0,0 +1,335 @@
+/* ==================================================================
+ * AdaptiveServiceBulkhead.java - 17/10/2026 7:12:38 pm
+ *
+ * Copyright 2026 SolarNetwork.net Dev Team
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation; either version 2 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA
+ * 02111-1307 USA
+ * ==================================================================
+ */
+
+package net.solarnetwork.central.c2c.support;
+
+import static net.solarnetwork.util.ObjectUtils.requireNonNullArgument;
+import java.time.Duration;
+import java.time.InstantSource;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Per-service concurrency and rate limits that adapt to remote service
+ * throttling.
+ *
+ * <p>
+ * Each service key (for example a cloud datum stream service identifier) is
+ * given its own compartment, with a concurrency limit and a budget of
+ * operations that can be started per minute. {@link #tryAcquire(String)} only
+ * succeeds if both have capacity, so a slow or failing service can only ever
+ * occupy its own share of the available workers.
+ * </p>
+ *
+ * <p>
+ * Limits adapt using an additive increase, multiplicative decrease approach:
+ * when an operation is released as throttled (for example after an HTTP 429
+ * or 5xx response) both the concurrency limit and the rate are halved, down to
+ * a minimum of one concurrent operation and one operation per minute. Each
+ * successful operation increases the concurrency limit by one and the rate by
+ * 10%, up to the configured maximums.
+ * </p>
+ *
+ * @author matt
+ * @version 1.0
+ */
+public class AdaptiveServiceBulkhead {
+
+	/** The {@code maxConcurrency} property default value. */
+	public static final int DEFAULT_MAX_CONCURRENCY = 4;
+
+	/** The {@code maxStartsPerMinute} property default value. */
+	public static final int DEFAULT_MAX_STARTS_PER_MINUTE = 120;
+
+	/** The {@code retryDelay} property default value. */
+	public static final Duration DEFAULT_RETRY_DELAY = Duration.ofSeconds(30);
+
+	private static final double RATE_INCREASE_FACTOR = 1.1;
+
+	private static final Logger log = LoggerFactory.getLogger(AdaptiveServiceBulkhead.class);
+
+	private final InstantSource clock;
+	private final ConcurrentHashMap<String, Compartment> compartments = new ConcurrentHashMap<>(16);
+	private int maxConcurrency = DEFAULT_MAX_CONCURRENCY;
+	private int maxStartsPerMinute = DEFAULT_MAX_STARTS_PER_MINUTE;
+	private Map<String, Integer> serviceMaxConcurrency = Map.of();
+	private Map<String, Integer> serviceMaxStartsPerMinute = Map.of();
+	private Duration retryDelay = DEFAULT_RETRY_DELAY;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param clock
+	 *        the clock to use
+	 * @throws IllegalArgumentException
+	 *         if any argument is {@code null}
+	 */
+	public AdaptiveServiceBulkhead(InstantSource clock) {
+		super();
+		this.clock = requireNonNullArgument(clock, "clock");
+	}
+
+	private final class Compartment {
+
+		private final String key;
+		private final int maxConcurrency;
+		private final double maxRate;
+		private int active;
+		private int limit;
+		private double rate;
+		private double tokens;
+		private long lastRefill;
+
+		private Compartment(String key) {
+			super();
+			this.key = key;
+			this.maxConcurrency = Math.max(1,
+					serviceMaxConcurrency.getOrDefault(key, AdaptiveServiceBulkhead.this.maxConcurrency));
+			this.maxRate = Math.max(1, serviceMaxStartsPerMinute.getOrDefault(key,
+					AdaptiveServiceBulkhead.this.maxStartsPerMinute));
+			this.limit = maxConcurrency;
+			this.rate = maxRate;
+			this.tokens = maxRate;
+			this.lastRefill = clock.millis();
+		}
+
+		private synchronized boolean tryAcquire() {
+			if ( active >= limit ) {
+				return false;
+			}
+			final long now = clock.millis();
+			tokens = Math.min(rate, tokens + (now - lastRefill) * rate / 60_000.0);
+			lastRefill = now;
+			if ( tokens < 1.0 ) {
+				return false;
+			}
+			tokens -= 1.0;
+			active++;
+			return true;
+		}
+
+		private synchronized void release(boolean throttled) {
+			if ( active > 0 ) {
+				active--;
+			}
+			if ( throttled ) {
+				final int oldLimit = limit;
+				limit = Math.max(1, limit / 2);
+				rate = Math.max(1.0, rate / 2.0);
+				tokens = Math.min(tokens, rate);
+				log.info("Service [{}] throttled: reduced concurrency limit from {} to {}, rate to {}/min",
+						key, oldLimit, limit, (int) rate);
+			} else {
+				limit = Math.min(maxConcurrency, limit + 1);
+				rate = Math.min(maxRate, rate * RATE_INCREASE_FACTOR);
+			}
+		}
+
+	}
+
+	private Compartment compartment(String key) {
+		return compartments.computeIfAbsent(requireNonNullArgument(key, "key"), Compartment::new);
+	}
+
+	/**
+	 * Try to acquire a permit to start an operation for a service.
+	 *
+	 * <p>
+	 * If this method returns {@literal true} then
+	 * {@link #release(String, boolean)} <b>must</b> be called when the
+	 * operation completes.
+	 * </p>
+	 *
+	 * @param key
+	 *        the service key
+	 * @return {@literal true} if the operation can start
+	 * @throws IllegalArgumentException
+	 *         if {@code key} is {@code null}
+	 */
+	public boolean tryAcquire(String key) {
+		return compartment(key).tryAcquire();
+	}
+
+	/**
+	 * Release a permit previously acquired via {@link #tryAcquire(String)}.
+	 *
+	 * @param key
+	 *        the service key
+	 * @param throttled
+	 *        {@literal true} if the operation was throttled or failed because
+	 *        the service appears overloaded or unavailable
+	 * @throws IllegalArgumentException
+	 *         if {@code key} is {@code null}
+	 */
+	public void release(String key, boolean throttled) {
+		compartment(key).release(throttled);
+	}
+
+	/**
+	 * Get the current concurrency limit for a service.
+	 *
+	 * @param key
+	 *        the service key
+	 * @return the current concurrency limit
+	 */
+	public int concurrencyLimit(String key) {
+		final Compartment c = compartment(key);
+		synchronized ( c ) {
+			return c.limit;
+		}
+	}
+
+	/**
+	 * Get the number of active operations for a service.
+	 *
+	 * @param key
+	 *        the service key
+	 * @return the active operation count
+	 */
+	public int activeCount(String key) {
+		final Compartment c = compartments.get(key);
+		if ( c == null ) {
+			return 0;
+		}
+		synchronized ( c ) {
+			return c.active;
+		}
+	}
+
+	/**
+	 * Get the default maximum number of concurrent operations per service.
+	 *
+	 * @return the maximum concurrency; defaults to
+	 *         {@link #DEFAULT_MAX_CONCURRENCY}
+	 */
+	public final int getMaxConcurrency() {
+		return maxConcurrency;
+	}
+
+	/**
+	 * Set the default maximum number of concurrent operations per service.
+	 *
+	 * @param maxConcurrency
+	 *        the maximum concurrency to set
+	 */
+	public final void setMaxConcurrency(int maxConcurrency) {
+		this.maxConcurrency = maxConcurrency;
+	}
+
+	/**
+	 * Get the default maximum number of operations started per minute, per
+	 * service.
+	 *
+	 * @return the maximum rate; defaults to
+	 *         {@link #DEFAULT_MAX_STARTS_PER_MINUTE}
+	 */
+	public final int getMaxStartsPerMinute() {
+		return maxStartsPerMinute;
+	}
+
+	/**
+	 * Set the default maximum number of operations started per minute, per
+	 * service.
+	 *
+	 * @param maxStartsPerMinute
+	 *        the maximum rate to set
+	 */
+	public final void setMaxStartsPerMinute(int maxStartsPerMinute) {
+		this.maxStartsPerMinute = maxStartsPerMinute;
+	}
+
+	/**
+	 * Get the per-service maximum concurrency overrides.
+	 *
+	 * @return the overrides, never {@code null}
+	 */
+	public final Map<String, Integer> getServiceMaxConcurrency() {
+		return serviceMaxConcurrency;
+	}
+
+	/**
+	 * Set per-service maximum concurrency overrides.
+	 *
+	 * <p>
+	 * Overrides only apply to services not yet seen by this bulkhead.
+	 * </p>
+	 *
+	 * @param serviceMaxConcurrency
+	 *        mapping of service keys to maximum concurrency values
+	 */
+	public final void setServiceMaxConcurrency(@Nullable Map<String, Integer> serviceMaxConcurrency) {
+		this.serviceMaxConcurrency = (serviceMaxConcurrency != null ? serviceMaxConcurrency
+				: Map.of());
+	}
+
+	/**
+	 * Get the per-service maximum starts per minute overrides.
+	 *
+	 * @return the overrides, never {@code null}
+	 */
+	public final Map<String, Integer> getServiceMaxStartsPerMinute() {
+		return serviceMaxStartsPerMinute;
+	}
+
+	/**
+	 * Set per-service maximum starts per minute overrides.
+	 *
+	 * <p>
+	 * Overrides only apply to services not yet seen by this bulkhead.
+	 * </p>
+	 *
+	 * @param serviceMaxStartsPerMinute
+	 *        mapping of service keys to maximum starts per minute values
+	 */
+	public final void setServiceMaxStartsPerMinute(
+			@Nullable Map<String, Integer> serviceMaxStartsPerMinute) {
+		this.serviceMaxStartsPerMinute = (serviceMaxStartsPerMinute != null
+				? serviceMaxStartsPerMinute
+				: Map.of());
+	}
+
+	/**
+	 * Get the amount of time to wait before retrying an operation that could
+	 * not acquire a permit.
+	 *
+	 * @return the delay; defaults to {@link #DEFAULT_RETRY_DELAY}
+	 */
+	public final Duration getRetryDelay() {
+		return retryDelay;
+	}
+
+	/**
+	 * Set the amount of time to wait before retrying an operation that could
+	 * not acquire a permit.
+	 *
+	 * @param retryDelay
+	 *        the delay to set; if {@code null} then
+	 *        {@link #DEFAULT_RETRY_DELAY} will be used
+	 */
+	public final void setRetryDelay(@Nullable Duration retryDelay) {
+		this.retryDelay = (retryDelay != null ? retryDelay : DEFAULT_RETRY_DELAY);
+	}
+
+}
@@ -32,10 +32,13 @@ import static net.solarnetwork.central.test.CommonTestUtils.randomLong;
 import static net.solarnetwork.central.test.CommonTestUtils.randomString;
 import static net.solarnetwork.domain.datum.DatumSamplesType.Accumulating;
 import static net.solarnetwork.domain.datum.DatumSamplesType.Instantaneous;
+import static net.solarnetwork.domain.datum.DatumSamplesType.Status;
 import static org.assertj.core.api.BDDAssertions.then;
 import static org.assertj.core.api.BDDAssertions.thenObject;
 import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.LocalDateTime;
@@ -47,6 +50,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpression;
 import net.solarnetwork.central.c2c.biz.impl.BasicCloudIntegrationsExpressionService;
 import net.solarnetwork.central.c2c.domain.CloudDatumStreamPropertyConfiguration;
 import net.solarnetwork.central.common.dao.SolarNodeMetadataReadOnlyDao;
@@ -55,6 +59,7 @@ import net.solarnetwork.central.dao.SolarNodeOwnershipDao;
 import net.solarnetwork.central.datum.domain.DatumExpressionRoot;
 import net.solarnetwork.central.domain.BasicSolarNodeOwnership;
 import net.solarnetwork.central.domain.SolarNodeMetadata;
+import net.solarnetwork.central.domain.SolarNodeOwnership;
 import net.solarnetwork.central.domain.UserStringStringCompositePK;
 import net.solarnetwork.central.support.SimpleCache;
 import net.solarnetwork.central.user.dao.UserSecretAccessDao;
@@ -73,7 +78,7 @@ import net.solarnetwork.domain.tariff.TariffSchedule;
  * using the {@link SpelExpressionService}.
  *
  * @author matt
- * @version 1.2
+ * @version 1.3
  */
 @ExtendWith(MockitoExtension.class)
 public class BasicCloudIntegrationsExpressionService_SpelTests {
@@ -424,4 +429,158 @@ public class BasicCloudIntegrationsExpressionService_SpelTests {
 				.isEqualTo(decryptedSecretValue);
 	}
 
+	@Test
+	public void nodeTz_cachedOwnership() {
+		// GIVEN
+		final var ownershipCache = new SimpleCache<Long, SolarNodeOwnership>("ownership-cache");
+		service.setNodeOwnershipCache(ownershipCache);
+
+		final Long integrationId = randomLong();
+		final Long nodeId = randomLong();
+		final String sourceId = randomString();
+		final GeneralDatum datum = createNodeDatum(nodeId, sourceId);
+
+		final BasicSolarNodeOwnership nodeOwnership = BasicSolarNodeOwnership.privateOwnershipFor(nodeId,
+				randomLong(), "NZ", "Pacific/Auckland");
+		given(nodeOwnershipDao.ownershipForNodeId(nodeId)).willReturn(nodeOwnership);
+
+		final var config = new CloudDatumStreamPropertyConfiguration(randomLong(), randomLong(), 0,
+				now(), Status, "r", SpelExpression, "node.zone.id");
+
+		// WHEN
+		String result1 = service.evaluateDatumPropertyExpression(config,
+				service.createDatumExpressionRoot(config.getUserId(), integrationId, datum, null, null,
+						null, null),
+				null, String.class);
+		String result2 = service.evaluateDatumPropertyExpression(config,
+				service.createDatumExpressionRoot(config.getUserId(), integrationId, datum, null, null,
+						null, null),
+				null, String.class);
+
+		// THEN
+		verify(nodeOwnershipDao, times(1)).ownershipForNodeId(nodeId);
+
+		// @formatter:off
+		then(result1)
+			.as("Expression evaluated using node ownership")
+			.isEqualTo("Pacific/Auckland")
+			.as("Expression evaluated using cached node ownership")
+			.isEqualTo(result2)
+			;
+		then(ownershipCache.get(nodeId))
+			.as("Ownership cached")
+			.isSameAs(nodeOwnership)
+			;
+		// @formatter:on
+	}
+
+	@Test
+	public void evaluate_nodeMetadata_cached() {
+		// GIVEN
+		final var metadataCache = new SimpleCache<Long, SolarNodeMetadata>("metadata-cache");
+		service.setNodeMetadataCache(metadataCache);
+
+		final Long integrationId = randomLong();
+		final Long nodeId = randomLong();
+		final String sourceId = randomString();
+		final GeneralDatum datum = createNodeDatum(nodeId, sourceId);
+
+		final var config = new CloudDatumStreamPropertyConfiguration(randomLong(), randomLong(), 0,
+				now(), Instantaneous, "r", SpelExpression, "nodeMetadata('/m/setpoint') * (a * b + 1)");
+
+		final var nodeMeta = new GeneralDatumMetadata();
+		nodeMeta.putInfoValue("setpoint", 0.5);
+
+		final var nodeMetadata = new SolarNodeMetadata(nodeId);
+		nodeMetadata.setMeta(nodeMeta);
+
+		given(metadataDao.get(nodeId)).willReturn(nodeMetadata);
+
+		// WHEN
+		Double result1 = service.evaluateDatumPropertyExpression(config,
+				service.createDatumExpressionRoot(config.getUserId(), integrationId, datum, null, null,
+						null, null),
+				null, Double.class);
+		Double result2 = service.evaluateDatumPropertyExpression(config,
+				service.createDatumExpressionRoot(config.getUserId(), integrationId, datum, null, null,
+						null, null),
+				null, Double.class);
+
+		// THEN
+		verify(metadataDao, times(1)).get(nodeId);
+
+		// @formatter:off
+		then(result1)
+			.as("Expression evaulated, using node metadata value")
+			.isEqualTo(8.0)
+			.as("Expression evaluated using cached node metadata")
+			.isEqualTo(result2)
+			;
+		// @formatter:on
+	}
+
+	@Test
+	public void expression_cachedByPropertyIdentity() {
+		// GIVEN
+		final var config = new CloudDatumStreamPropertyConfiguration(randomLong(), randomLong(), 0,
+				now(), Instantaneous, "r", SpelExpression, "a * b");
+
+		// WHEN
+		final Expression expr1 = service.expression(config);
+		final Expression expr2 = service.expression(config);
+
+		config.setValueReference("a + b");
+		final Expression expr3 = service.expression(config);
+
+		// THEN
+		// @formatter:off
+		then(expressionCache.get(config.getId().ident()))
+			.as("Expression cached by property configuration ID")
+			.isSameAs(expr3)
+			;
+		then(expr2)
+			.as("Cached expression returned for same property configuration")
+			.isSameAs(expr1)
+			;
+		then(expr3)
+			.as("Expression parsed again when property configuration expression changed")
+			.isNotSameAs(expr1)
+			.returns("a + b", Expression::getExpressionString)
+			;
+		// @formatter:on
+	}
+
+	@Test
+	public void expression_compiled() {
+		// GIVEN
+		final Long integrationId = randomLong();
+		final GeneralDatum datum = createNodeDatum(randomLong(), randomString());
+
+		final var config = new CloudDatumStreamPropertyConfiguration(randomLong(), randomLong(), 0,
+				now(), Instantaneous, "r", SpelExpression, "a * b + c");
+
+		// WHEN
+		final Expression expr = service.expression(config);
+		final DatumExpressionRoot root = service.createDatumExpressionRoot(config.getUserId(),
+				integrationId, datum, null, null, null, null);
+
+		// evaluate more than the MIXED mode interpreted threshold, to trigger compilation
+		Object result = null;
+		for ( int i = 0; i < 200; i++ ) {
+			result = service.evaluateDatumPropertyExpression(expr, root, null, Object.class);
+		}
+
+		// THEN
+		// @formatter:off
+		then(expr)
+			.as("SpEL expression returned")
+			.isInstanceOf(SpelExpression.class)
+			;
+		thenObject(result)
+			.as("Expression result consistent after compilation")
+			.isEqualTo(22)
+			;
+		// @formatter:on
+	}
+
 }
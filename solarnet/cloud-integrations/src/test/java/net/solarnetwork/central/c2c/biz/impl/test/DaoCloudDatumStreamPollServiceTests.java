@@ -46,7 +46,9 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.internal.verification.VerificationModeFactory.times;
+import java.io.IOException;
 import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
@@ -54,6 +56,7 @@ import java.time.Period;
 import java.time.ZoneOffset;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -76,6 +79,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
 import net.solarnetwork.central.biz.UserEventAppenderBiz;
 import net.solarnetwork.central.c2c.biz.CloudDatumStreamService;
 import net.solarnetwork.central.c2c.biz.impl.DaoCloudDatumStreamPollService;
@@ -86,11 +90,13 @@ import net.solarnetwork.central.c2c.dao.CloudDatumStreamRakeTaskFilter;
 import net.solarnetwork.central.c2c.dao.CloudDatumStreamSettingsEntityDao;
 import net.solarnetwork.central.c2c.domain.BasicCloudDatumStreamQueryResult;
 import net.solarnetwork.central.c2c.domain.BasicCloudDatumStreamSettings;
+import net.solarnetwork.central.c2c.domain.BasicQueryFilter;
 import net.solarnetwork.central.c2c.domain.CloudDatumStreamConfiguration;
 import net.solarnetwork.central.c2c.domain.CloudDatumStreamPollTaskEntity;
 import net.solarnetwork.central.c2c.domain.CloudDatumStreamQueryFilter;
 import net.solarnetwork.central.c2c.domain.CloudDatumStreamRakeTaskEntity;
 import net.solarnetwork.central.c2c.domain.CloudIntegrationsUserEvents;
+import net.solarnetwork.central.c2c.support.AdaptiveServiceBulkhead;
 import net.solarnetwork.central.dao.SolarNodeOwnershipDao;
 import net.solarnetwork.central.datum.biz.DatumProcessor;
 import net.solarnetwork.central.datum.domain.DatumValidationType;
@@ -128,7 +134,7 @@ import net.solarnetwork.service.RemoteServiceException;
  * Test cases for the {@link DaoCloudDatumStreamPollService} class.
  *
  * @author matt
- * @version 1.6
+ * @version 1.8
  */
 @SuppressWarnings("static-access")
 @ExtendWith(MockitoExtension.class)
@@ -196,6 +202,9 @@ public class DaoCloudDatumStreamPollServiceTests implements CloudIntegrationsUse
 	@Captor
 	private ArgumentCaptor<StreamDatum> streamDatumCaptor;
 
+	@Captor
+	private ArgumentCaptor<Collection<?>> datumPageCaptor;
+
 	@Captor
 	private ArgumentCaptor<Identity<GeneralNodeDatumPK>> generalNodeDatumCaptor;
 
@@ -219,6 +228,11 @@ public class DaoCloudDatumStreamPollServiceTests implements CloudIntegrationsUse
 				datumDao, datumAuxiliaryDao, executor, datumStreamServices::get);
 		service.setFluxPublisher(fluxProcessor);
 
+		// use default paging implementation, delegating to mocked datum() method
+		lenient().doCallRealMethod().when(datumStreamService).datum(any(), any(), any());
+
+		// use default batch implementation, delegating to mocked store() methods
+		lenient().doCallRealMethod().when(datumDao).storeAll(any());
 	}
 
 	@Test
@@ -317,7 +331,7 @@ public class DaoCloudDatumStreamPollServiceTests implements CloudIntegrationsUse
 		final Set<String> resolvedSourceIds = Set.of(datumStream.getSourceId());
 		given(datumStreamService.datumStreamSourceIds(datumStream)).willReturn(resolvedSourceIds);
 
-		// delete generated auxiliary for query time range
+		// delete generated auxiliary for page time range
 		given(datumAuxiliaryDao.deleteFiltered(any())).willReturn(0L);
 
 		// update task details
@@ -366,8 +380,9 @@ public class DaoCloudDatumStreamPollServiceTests implements CloudIntegrationsUse
 
 		// delete generated auxiliary for query range
 		then(datumAuxiliaryDao).should().deleteFiltered(datumAuxiliaryFilterCaptor.capture());
+		// page has no used query filter, so the datum date range is used
 		thenDeleteAuxiliaryForQueryRanges(datumStream, resolvedSourceIds, datumAuxiliaryFilterCaptor.getAllValues(),
-				queryFilterCaptor.getAllValues());
+				List.of(BasicQueryFilter.ofRange(datum1.getTimestamp(), datum2.getTimestamp().plusMillis(1))));
 
 		then(taskDao).should().updateTask(taskCaptor.capture(), eq(Executing));
 		and.then(taskCaptor.getValue())
@@ -475,6 +490,142 @@ public class DaoCloudDatumStreamPollServiceTests implements CloudIntegrationsUse
 			;
 	}
 
+	@Test
+	public void executeTask_multiplePages() throws Exception {
+		// GIVEN
+		// submit task
+		var future = new CompletableFuture<CloudDatumStreamPollTaskEntity>();
+		given(executor.submit(argThat((Callable<CloudDatumStreamPollTaskEntity> call) -> {
+			try {
+				future.complete(call.call());
+			} catch ( Exception e ) {
+				future.completeExceptionally(e);
+			}
+			return true;
+		}))).willReturn(future);
+
+		final Instant hour = clock.instant().truncatedTo(ChronoUnit.HOURS);
+
+		final CloudDatumStreamConfiguration datumStream = new CloudDatumStreamConfiguration(TEST_USER_ID,
+				randomLong(), now(), randomString(), TEST_DATUM_STREAM_SERVICE_IDENTIFIER,
+				ObjectDatumKind.Node);
+		datumStream.setDatumStreamMappingId(randomLong());
+		datumStream.setSchedule("0 0/5 * * * *");
+		datumStream.setObjectId(randomLong());
+		datumStream.setSourceId(randomString());
+
+		// look up datum stream associated with task
+		given(datumStreamDao.get(datumStream.getId())).willReturn(datumStream);
+
+		// resolve datum stream settings
+		given(datumStreamSettingsDao.resolveSettings(TEST_USER_ID, datumStream.getConfigId(),
+				DEFAULT_DATUM_STREAM_SETTINGS)).willReturn(DEFAULT_DATUM_STREAM_SETTINGS);
+
+		// verify node ownership
+		final var nodeOwner = new BasicSolarNodeOwnership(datumStream.getObjectId(), TEST_USER_ID, "NZ",
+				UTC, true, false);
+		given(nodeOwnershipDao.ownershipForNodeId(datumStream.getObjectId())).willReturn(nodeOwner);
+
+		// update task state to "processing"
+		given(taskDao.updateTaskState(datumStream.getId(), Executing, Claimed)).willReturn(true);
+
+		// query for data associated with service configured on datum stream
+		// here we return two pages of results, the first with a next query filter
+		final Instant pageBoundary = hour.minusSeconds(200);
+		final Datum datum1 = new GeneralDatum(
+				nodeId(datumStream.getObjectId(), datumStream.getSourceId(), hour.minusSeconds(300)),
+				new DatumSamples(Map.of("watts", 123), Map.of("wattHours", 23456L), null));
+		final Datum datum2 = new GeneralDatum(
+				nodeId(datumStream.getObjectId(), datumStream.getSourceId(), hour.minusSeconds(120)),
+				new DatumSamples(Map.of("watts", 234), Map.of("wattHours", 34567L), null));
+		final var task = new CloudDatumStreamPollTaskEntity(datumStream.getId(), Claimed, hour,
+				hour.minusSeconds(600));
+		given(datumStreamService.datum(same(datumStream), any())).willReturn(
+				new BasicCloudDatumStreamQueryResult(
+						BasicQueryFilter.ofRange(task.getStartAt(), pageBoundary),
+						BasicQueryFilter.ofRange(pageBoundary, clock.instant()), List.of(datum1)),
+				new BasicCloudDatumStreamQueryResult(List.of(datum2)));
+
+		// persist datum
+		final var streamId = UUID.randomUUID();
+		final var datumId1 = new DatumPK(streamId, datum1.getTimestamp());
+		final var datumId2 = new DatumPK(streamId, datum2.getTimestamp());
+		given(datumDao.store(any(Datum.class))).willReturn(datumId1, datumId2);
+
+		// resolve source IDs
+		final Set<String> resolvedSourceIds = Set.of(datumStream.getSourceId());
+		given(datumStreamService.datumStreamSourceIds(datumStream)).willReturn(resolvedSourceIds);
+
+		// delete generated auxiliary for each page time range
+		given(datumAuxiliaryDao.deleteFiltered(any())).willReturn(0L);
+
+		// update task details
+		given(taskDao.updateTask(any(), eq(Executing))).willReturn(true);
+
+		// WHEN
+		Future<CloudDatumStreamPollTaskEntity> result = service.executeTask(task);
+		CloudDatumStreamPollTaskEntity resultTask = result.get(1, TimeUnit.MINUTES);
+
+		// THEN
+		// @formatter:off
+		then(datumStreamService).should(times(2)).datum(same(datumStream), queryFilterCaptor.capture());
+		and.then(queryFilterCaptor.getAllValues())
+			.as("First page queried from task start date")
+			.satisfies(filters -> {
+				and.then(filters).element(0)
+					.as("The first page start date is the startAt of the task")
+					.returns(task.getStartAt(), from(CloudDatumStreamQueryFilter::getStartDate))
+					.as("The first page end date is the current date")
+					.returns(clock.instant(), from(CloudDatumStreamQueryFilter::getEndDate))
+					;
+				and.then(filters).element(1)
+					.as("The second page start date is the next query filter start date")
+					.returns(pageBoundary, from(CloudDatumStreamQueryFilter::getStartDate))
+					.as("The second page end date is the current date")
+					.returns(clock.instant(), from(CloudDatumStreamQueryFilter::getEndDate))
+					;
+			})
+			;
+
+		then(datumDao).should(times(2)).storeAll(datumPageCaptor.capture());
+		and.then(datumPageCaptor.getAllValues())
+			.as("Each page persisted as one batch")
+			.satisfiesExactly(
+				page -> and.then(page).as("First page").containsExactly(datum1),
+				page -> and.then(page).as("Second page").containsExactly(datum2)
+			)
+			;
+
+		then(datumDao).should(times(2)).store(datumCaptor.capture());
+		and.then(datumCaptor.getAllValues())
+			.as("Datum from all pages persisted in order")
+			.containsExactly(datum1, datum2)
+			;
+
+		then(datumAuxiliaryDao).should(times(2)).deleteFiltered(datumAuxiliaryFilterCaptor.capture());
+		thenDeleteAuxiliaryForQueryRanges(datumStream, resolvedSourceIds, datumAuxiliaryFilterCaptor.getAllValues(),
+				List.of(
+					// first page has used query filter
+					BasicQueryFilter.ofRange(task.getStartAt(), pageBoundary),
+					// second page has no used query filter, so the datum date range is used
+					BasicQueryFilter.ofRange(datum2.getTimestamp(), datum2.getTimestamp().plusMillis(1))
+				));
+
+		then(taskDao).should().updateTask(taskCaptor.capture(), eq(Executing));
+		and.then(taskCaptor.getValue())
+			.as("Update task state to Queued to run again")
+			.returns(Queued, from(CloudDatumStreamPollTaskEntity::getState))
+			.as("Update task start date to highest date of datum captured on last page")
+			.returns(datum2.getTimestamp(), from(CloudDatumStreamPollTaskEntity::getStartAt))
+			;
+
+		and.then(resultTask)
+			.as("Result task is same as passed to DAO for update")
+			.isSameAs(taskCaptor.getValue())
+			;
+		// @formatter:on
+	}
+
 	@Test
 	public void executeTask_streamCreated() throws Exception {
 		// GIVEN
@@ -548,7 +699,7 @@ public class DaoCloudDatumStreamPollServiceTests implements CloudIntegrationsUse
 		final Set<String> resolvedSourceIds = Set.of(datumStream.getSourceId());
 		given(datumStreamService.datumStreamSourceIds(datumStream)).willReturn(resolvedSourceIds);
 
-		// delete generated auxiliary for query time range
+		// delete generated auxiliary for page time range
 		given(datumAuxiliaryDao.deleteFiltered(any())).willReturn(0L);
 
 		// update task details
@@ -587,8 +738,9 @@ public class DaoCloudDatumStreamPollServiceTests implements CloudIntegrationsUse
 
 		// delete generated auxiliary for query range
 		then(datumAuxiliaryDao).should().deleteFiltered(datumAuxiliaryFilterCaptor.capture());
+		// page has no used query filter, so the datum date range is used
 		thenDeleteAuxiliaryForQueryRanges(datumStream, resolvedSourceIds, datumAuxiliaryFilterCaptor.getAllValues(),
-				queryFilterCaptor.getAllValues());
+				List.of(BasicQueryFilter.ofRange(datum1.getTimestamp(), datum2.getTimestamp().plusMillis(1))));
 
 		then(taskDao).should().updateTask(taskCaptor.capture(), eq(Executing));
 		and.then(taskCaptor.getValue())
@@ -744,7 +896,7 @@ public class DaoCloudDatumStreamPollServiceTests implements CloudIntegrationsUse
 		final Set<String> resolvedSourceIds = Set.of(datumStream.getSourceId());
 		given(datumStreamService.datumStreamSourceIds(datumStream)).willReturn(resolvedSourceIds);
 
-		// delete generated auxiliary for query time range
+		// delete generated auxiliary for page time range
 		given(datumAuxiliaryDao.deleteFiltered(any())).willReturn(0L);
 
 		// update task details
@@ -788,8 +940,9 @@ public class DaoCloudDatumStreamPollServiceTests implements CloudIntegrationsUse
 
 		// delete generated auxiliary for query range
 		then(datumAuxiliaryDao).should().deleteFiltered(datumAuxiliaryFilterCaptor.capture());
+		// page has no used query filter, so the datum date range is used
 		thenDeleteAuxiliaryForQueryRanges(datumStream, resolvedSourceIds, datumAuxiliaryFilterCaptor.getAllValues(),
-				queryFilterCaptor.getAllValues());
+				List.of(BasicQueryFilter.ofRange(datum1.getTimestamp(), datum2.getTimestamp().plusMillis(1))));
 
 		then(taskDao).should().updateTask(taskCaptor.capture(), eq(Executing));
 		and.then(taskCaptor.getValue())
@@ -948,7 +1101,7 @@ public class DaoCloudDatumStreamPollServiceTests implements CloudIntegrationsUse
 		final Set<String> resolvedSourceIds = Set.of(datumStream.getSourceId());
 		given(datumStreamService.datumStreamSourceIds(datumStream)).willReturn(resolvedSourceIds);
 
-		// delete generated auxiliary for query time range
+		// delete generated auxiliary for page time range
 		given(datumAuxiliaryDao.deleteFiltered(any())).willReturn(0L);
 
 		// persist auxiliary, after looking up stream ID
@@ -1001,8 +1154,9 @@ public class DaoCloudDatumStreamPollServiceTests implements CloudIntegrationsUse
 
 		// delete generated auxiliary for query range
 		then(datumAuxiliaryDao).should().deleteFiltered(datumAuxiliaryFilterCaptor.capture());
+		// page has no used query filter, so the datum date range is used
 		thenDeleteAuxiliaryForQueryRanges(datumStream, resolvedSourceIds, datumAuxiliaryFilterCaptor.getAllValues(),
-				queryFilterCaptor.getAllValues());
+				List.of(BasicQueryFilter.ofRange(datum1.getTimestamp(), datum2.getTimestamp().plusMillis(1))));
 
 		// datum stream metadata query for expected kind/node/sources
 		then(datumStreamMetadataDao).should().findDatumStreamMetadataIds(streamMetadataCriteriaCaptor.capture());
@@ -1877,4 +2031,197 @@ public class DaoCloudDatumStreamPollServiceTests implements CloudIntegrationsUse
 		// @formatter:on
 	}
 
+	private CloudDatumStreamConfiguration givenBulkheadTask(AdaptiveServiceBulkhead bulkhead) {
+		service.setBulkhead(bulkhead);
+
+		// submit task
+		var future = new CompletableFuture<CloudDatumStreamPollTaskEntity>();
+		given(executor.submit(argThat((Callable<CloudDatumStreamPollTaskEntity> call) -> {
+			try {
+				future.complete(call.call());
+			} catch ( Exception e ) {
+				future.completeExceptionally(e);
+			}
+			return true;
+		}))).willReturn(future);
+
+		final CloudDatumStreamConfiguration datumStream = new CloudDatumStreamConfiguration(TEST_USER_ID,
+				randomLong(), now(), randomString(), TEST_DATUM_STREAM_SERVICE_IDENTIFIER,
+				ObjectDatumKind.Node);
+		datumStream.setDatumStreamMappingId(randomLong());
+		datumStream.setSchedule("0 0/5 * * * *");
+		datumStream.setObjectId(randomLong());
+		datumStream.setSourceId(randomString());
+
+		// look up datum stream associated with task
+		given(datumStreamDao.get(datumStream.getId())).willReturn(datumStream);
+
+		// resolve datum stream settings
+		given(datumStreamSettingsDao.resolveSettings(TEST_USER_ID, datumStream.getConfigId(),
+				DEFAULT_DATUM_STREAM_SETTINGS)).willReturn(DEFAULT_DATUM_STREAM_SETTINGS);
+
+		// verify node ownership
+		final var nodeOwner = new BasicSolarNodeOwnership(datumStream.getObjectId(), TEST_USER_ID, "NZ",
+				UTC, true, false);
+		given(nodeOwnershipDao.ownershipForNodeId(datumStream.getObjectId())).willReturn(nodeOwner);
+
+		return datumStream;
+	}
+
+	@Test
+	public void executeTask_bulkheadFull() throws Exception {
+		// GIVEN
+		final var bulkhead = new AdaptiveServiceBulkhead(clock);
+		bulkhead.setMaxConcurrency(1);
+		bulkhead.setRetryDelay(Duration.ofSeconds(45));
+
+		// use up the only permit for the service
+		and.then(bulkhead.tryAcquire(TEST_DATUM_STREAM_SERVICE_IDENTIFIER))
+			.as("Permit acquired")
+			.isTrue();
+
+		final CloudDatumStreamConfiguration datumStream = givenBulkheadTask(bulkhead);
+
+		// update task details
+		given(taskDao.updateTask(any(), eq(Claimed))).willReturn(true);
+
+		// WHEN
+		final Instant hour = clock.instant().truncatedTo(ChronoUnit.HOURS);
+		var task = new CloudDatumStreamPollTaskEntity(datumStream.getId(), Claimed, hour,
+				hour.minusSeconds(300));
+
+		Future<CloudDatumStreamPollTaskEntity> result = service.executeTask(task);
+		CloudDatumStreamPollTaskEntity resultTask = result.get(1, TimeUnit.MINUTES);
+
+		// THEN
+		// @formatter:off
+		then(taskDao).should().updateTask(taskCaptor.capture(), eq(Claimed));
+		and.then(taskCaptor.getValue())
+			.as("Update task state to Queued to run again after bulkhead retry delay")
+			.returns(Queued, from(CloudDatumStreamPollTaskEntity::getState))
+			.as("Update task execute date to retry delay in future")
+			.returns(clock.instant().plus(bulkhead.getRetryDelay()).truncatedTo(ChronoUnit.SECONDS),
+					from(CloudDatumStreamPollTaskEntity::getExecuteAt))
+			.as("Update task start date unchanged")
+			.returns(task.getStartAt(), from(CloudDatumStreamPollTaskEntity::getStartAt))
+			;
+
+		and.then(resultTask)
+			.as("Result task is same as passed to DAO for update")
+			.isSameAs(taskCaptor.getValue())
+			;
+
+		then(taskDao).should(times(0)).updateTaskState(any(), any(), any());
+		then(datumStreamService).should(times(0)).datum(any(), any());
+
+		and.then(bulkhead.activeCount(TEST_DATUM_STREAM_SERVICE_IDENTIFIER))
+			.as("Deferred task did not acquire or release a permit")
+			.isEqualTo(1)
+			;
+		// @formatter:on
+	}
+
+	private void executeBulkheadTaskWithError(AdaptiveServiceBulkhead bulkhead, Exception error)
+			throws Exception {
+		final CloudDatumStreamConfiguration datumStream = givenBulkheadTask(bulkhead);
+
+		// update task state to "processing"
+		given(taskDao.updateTaskState(datumStream.getId(), Executing, Claimed)).willReturn(true);
+
+		// query for data associated with service configured on datum stream; but throw error
+		given(datumStreamService.datum(same(datumStream), any())).willThrow(error);
+
+		// update task details
+		given(taskDao.updateTask(any(), eq(Executing))).willReturn(true);
+
+		final Instant hour = clock.instant().truncatedTo(ChronoUnit.HOURS);
+		var task = new CloudDatumStreamPollTaskEntity(datumStream.getId(), Claimed, hour,
+				hour.minusSeconds(300));
+
+		Future<CloudDatumStreamPollTaskEntity> result = service.executeTask(task);
+
+		// @formatter:off
+		and.thenThrownBy(() -> {
+				result.get(1, TimeUnit.MINUTES);
+			}, "ExecutionException thrown")
+			.isInstanceOf(ExecutionException.class)
+			.cause()
+			.isSameAs(error)
+			;
+		and.then(bulkhead.activeCount(TEST_DATUM_STREAM_SERVICE_IDENTIFIER))
+			.as("Permit released after task error")
+			.isEqualTo(0)
+			;
+		// @formatter:on
+	}
+
+	@Test
+	public void executeTask_bulkhead_throttled_tooManyRequests() throws Exception {
+		// GIVEN
+		final var bulkhead = new AdaptiveServiceBulkhead(clock);
+		bulkhead.setMaxConcurrency(4);
+
+		final RemoteServiceException error = new RemoteServiceException("Remote error",
+				HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "429 Too Many Requests",
+						new HttpHeaders(), new byte[0], null));
+
+		// WHEN
+		executeBulkheadTaskWithError(bulkhead, error);
+
+		// THEN
+		// @formatter:off
+		and.then(bulkhead.concurrencyLimit(TEST_DATUM_STREAM_SERVICE_IDENTIFIER))
+			.as("HTTP 429 response classified as throttled, so concurrency limit halved")
+			.isEqualTo(2)
+			;
+		// @formatter:on
+	}
+
+	@Test
+	public void executeTask_bulkhead_throttled_ioError() throws Exception {
+		// GIVEN
+		final var bulkhead = new AdaptiveServiceBulkhead(clock);
+		bulkhead.setMaxConcurrency(4);
+
+		final RemoteServiceException error = new RemoteServiceException("Remote error",
+				new ResourceAccessException("I/O error", new IOException("Connection reset")));
+
+		// WHEN
+		executeBulkheadTaskWithError(bulkhead, error);
+
+		// THEN
+		// @formatter:off
+		and.then(bulkhead.concurrencyLimit(TEST_DATUM_STREAM_SERVICE_IDENTIFIER))
+			.as("IO error classified as throttled, so concurrency limit halved")
+			.isEqualTo(2)
+			;
+		// @formatter:on
+	}
+
+	@Test
+	public void executeTask_bulkhead_notThrottled_clientError() throws Exception {
+		// GIVEN
+		final var bulkhead = new AdaptiveServiceBulkhead(clock);
+		bulkhead.setMaxConcurrency(4);
+
+		// reduce limit from 4 to 2, so growth can be observed
+		bulkhead.tryAcquire(TEST_DATUM_STREAM_SERVICE_IDENTIFIER);
+		bulkhead.release(TEST_DATUM_STREAM_SERVICE_IDENTIFIER, true);
+
+		final RemoteServiceException error = new RemoteServiceException("Remote error",
+				HttpClientErrorException.create(HttpStatus.NOT_FOUND, "404 Not Found",
+						new HttpHeaders(), new byte[0], null));
+
+		// WHEN
+		executeBulkheadTaskWithError(bulkhead, error);
+
+		// THEN
+		// @formatter:off
+		and.then(bulkhead.concurrencyLimit(TEST_DATUM_STREAM_SERVICE_IDENTIFIER))
+			.as("HTTP 404 response not classified as throttled, so concurrency limit grows")
+			.isEqualTo(3)
+			;
+		// @formatter:on
+	}
+
 }
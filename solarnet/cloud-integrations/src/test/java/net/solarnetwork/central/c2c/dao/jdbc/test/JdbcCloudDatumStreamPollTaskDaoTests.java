@@ -68,7 +68,7 @@ import net.solarnetwork.domain.datum.ObjectDatumKind;
  * Test cases for the {@link JdbcCloudDatumStreamPollTaskDao} class.
  *
  * @author matt
- * @version 1.3
+ * @version 1.4
  */
 public class JdbcCloudDatumStreamPollTaskDaoTests extends AbstractJUnit5JdbcDaoTestSupport {
 
@@ -1099,6 +1099,164 @@ public class JdbcCloudDatumStreamPollTaskDaoTests extends AbstractJUnit5JdbcDaoT
 		// @formatter:on
 	}
 
+	@Test
+	public void claimTasks_noRows() {
+		// GIVEN
+
+		// WHEN
+		List<CloudDatumStreamPollTaskEntity> result = dao.claimQueuedTasks(10);
+
+		// THEN
+		// @formatter:off
+		then(result)
+			.as("Empty list returned when no rows exist")
+			.isEmpty()
+			;
+		// @formatter:on
+	}
+
+	@Test
+	public void claimTasks_maxZero() {
+		// GIVEN
+		insert();
+
+		// WHEN
+		List<CloudDatumStreamPollTaskEntity> result = dao.claimQueuedTasks(0);
+
+		// THEN
+		// @formatter:off
+		then(result)
+			.as("Empty list returned when max is 0")
+			.isEmpty()
+			;
+		then(allCloudDatumStreamPollTaskEntityData(jdbcTemplate))
+			.as("Queued task row not claimed")
+			.singleElement(map(String.class, Object.class))
+			.containsEntry("status", BasicClaimableJobState.Queued.keyValue())
+			;
+		// @formatter:on
+	}
+
+	@Test
+	public void claimTasks() {
+		// GIVEN
+		final Instant start = now().truncatedTo(ChronoUnit.SECONDS);
+		final CloudIntegrationConfiguration integration = createIntegration(userId, null);
+		final CloudDatumStreamMappingConfiguration mapping = createDatumStreamMapping(userId,
+				integration.getConfigId(), null);
+
+		// @formatter:off
+		// 3 queued tasks with executeAt in past, created newest to oldest: claimable
+		final List<CloudDatumStreamPollTaskEntity> pastTasks = new ArrayList<>(3);
+		for ( int i = 0; i < 3; i++ ) {
+			final CloudDatumStreamConfiguration datumStream = createDatumStream(userId,
+					mapping.getConfigId(), null);
+			CloudDatumStreamPollTaskEntity conf = newCloudDatumStreamPollTaskEntity(userId,
+					datumStream.getConfigId(),
+					BasicClaimableJobState.Queued,
+					start.minus(i + 1, ChronoUnit.HOURS),
+					now().truncatedTo(ChronoUnit.DAYS),
+					randomString(),
+					null)
+					;
+			pastTasks.add(dao.get(dao.save(conf)));
+		}
+
+		// queued task with executeAt in future: not claimable
+		final CloudDatumStreamConfiguration futureDatumStream = createDatumStream(userId,
+				mapping.getConfigId(), null);
+		final CloudDatumStreamPollTaskEntity futureTask = newCloudDatumStreamPollTaskEntity(userId,
+				futureDatumStream.getConfigId(),
+				BasicClaimableJobState.Queued,
+				start.plus(1L, ChronoUnit.DAYS),
+				now().truncatedTo(ChronoUnit.DAYS),
+				randomString(),
+				null)
+				;
+		dao.save(futureTask);
+
+		// completed task with executeAt in past: not claimable
+		final CloudDatumStreamConfiguration completedDatumStream = createDatumStream(userId,
+				mapping.getConfigId(), null);
+		final CloudDatumStreamPollTaskEntity completedTask = newCloudDatumStreamPollTaskEntity(userId,
+				completedDatumStream.getConfigId(),
+				BasicClaimableJobState.Completed,
+				start.minus(1L, ChronoUnit.DAYS),
+				now().truncatedTo(ChronoUnit.DAYS),
+				randomString(),
+				null)
+				;
+		dao.save(completedTask);
+		// @formatter:on
+
+		allCloudDatumStreamPollTaskEntityData(jdbcTemplate);
+
+		// WHEN
+		List<CloudDatumStreamPollTaskEntity> result1 = dao.claimQueuedTasks(2);
+		List<CloudDatumStreamPollTaskEntity> result2 = dao.claimQueuedTasks(10);
+
+		// THEN
+		final Instant afterClaim = now();
+
+		// @formatter:off
+		then(result1)
+			.as("Claimed up to max tasks, oldest first")
+			.hasSize(2)
+			.allSatisfy(c -> {
+				then(c.getState())
+					.as("Claimed entity has Claimed state")
+					.isEqualTo(BasicClaimableJobState.Claimed)
+					;
+			})
+			.extracting(CloudDatumStreamPollTaskEntity::getId)
+			.containsExactlyInAnyOrder(pastTasks.get(2).getId(), pastTasks.get(1).getId())
+			;
+		then(result1)
+			.as("Claimed entities returned with original execution dates")
+			.extracting(CloudDatumStreamPollTaskEntity::getExecuteAt)
+			.containsExactlyInAnyOrder(pastTasks.get(2).getExecuteAt(), pastTasks.get(1).getExecuteAt())
+			;
+
+		then(result2)
+			.as("Remaining claimable task claimed")
+			.extracting(CloudDatumStreamPollTaskEntity::getId)
+			.containsExactly(pastTasks.get(0).getId())
+			;
+
+		var pollData = allCloudDatumStreamPollTaskEntityData(jdbcTemplate);
+		then(pollData)
+			.as("Table has rows for each task")
+			.hasSize(5)
+			.filteredOn(row -> futureTask.getDatumStreamId().equals(row.get("ds_id"))
+					|| completedTask.getDatumStreamId().equals(row.get("ds_id")))
+			.as("Future and completed task rows not claimed")
+			.hasSize(2)
+			.allSatisfy(row -> {
+				then(row)
+					.as("Task row state unchanged")
+					.doesNotContainEntry("status", BasicClaimableJobState.Claimed.keyValue())
+					;
+			})
+			;
+		then(pollData)
+			.filteredOn(row -> pastTasks.stream().anyMatch(t -> t.getDatumStreamId().equals(row.get("ds_id"))))
+			.as("Past task rows claimed")
+			.hasSize(3)
+			.allSatisfy(row -> {
+				then(row)
+					.containsEntry("status", BasicClaimableJobState.Claimed.keyValue())
+					.hasEntrySatisfying("exec_at", ts -> {
+						then(((Timestamp)ts).toInstant())
+							.as("Claimed task row execution date reset to 'now'")
+							.isCloseTo(afterClaim, within(Duration.ofSeconds(1)))
+							;
+					})
+					;
+			})
+			;
+		// @formatter:on
+	}
+
 	@Test
 	public void resetAbandoned() {
 		// GIVEN
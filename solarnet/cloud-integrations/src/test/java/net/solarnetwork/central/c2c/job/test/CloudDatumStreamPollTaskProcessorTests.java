@@ -27,7 +27,9 @@ import static net.solarnetwork.central.domain.BasicClaimableJobState.Unknown;
 import static net.solarnetwork.central.test.CommonTestUtils.randomLong;
 import static org.assertj.core.api.BDDAssertions.and;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -50,7 +52,7 @@ import net.solarnetwork.central.c2c.job.CloudDatumStreamPollTaskProcessor;
  * Test cases for the {@link CloudDatumStreamPollTaskProcessor} class.
  *
  * @author matt
- * @version 1.0
+ * @version 1.1
  */
 @SuppressWarnings("static-access")
 @ExtendWith(MockitoExtension.class)
@@ -228,4 +230,55 @@ public class CloudDatumStreamPollTaskProcessorTests {
 		// @formatter:on
 	}
 
+	@Test
+	public void executeParallelTasks_batchClaim() {
+		// GIVEN
+		final Long userId = randomLong();
+		job.setClaimBatchSize(5);
+
+		final int taskCount = 2;
+		final List<CloudDatumStreamPollTaskEntity> tasks = new ArrayList<>();
+		for ( int i = 0; i < taskCount; i++ ) {
+			var task = new CloudDatumStreamPollTaskEntity(userId, randomLong(), Unknown, now(), now());
+			tasks.add(task);
+		}
+
+		// claim all tasks in one batch
+		given(service.claimQueuedTasks(anyInt())).willReturn(tasks, List.of());
+
+		// execute submitted tasks
+		final List<CloudDatumStreamPollTaskEntity> processedTasks = Collections
+				.synchronizedList(new ArrayList<>(taskCount));
+		final CountDownLatch latch = new CountDownLatch(taskCount);
+
+		given(service.executeTask(any())).willAnswer(invocation -> {
+			final var arg = (CloudDatumStreamPollTaskEntity) invocation.getArgument(0);
+			return serviceExecutor.submit(() -> {
+				processedTasks.add(arg);
+				latch.countDown();
+				return arg;
+			});
+		});
+
+		// WHEN
+		job.setMaximumIterations(6);
+		job.run();
+		try {
+			latch.await(2, TimeUnit.SECONDS);
+		} catch ( InterruptedException e ) {
+			// continue
+		}
+
+		// THEN
+		then(service).should().claimQueuedTasks(5);
+		then(service).should().claimQueuedTasks(4);
+
+		// @formatter:off
+		and.then(processedTasks)
+			.as("All batch claimed tasks processed")
+			.containsOnly(tasks.toArray(CloudDatumStreamPollTaskEntity[]::new))
+			;
+		// @formatter:on
+	}
+
 }
@@ -0,0 +1,146 @@
+/* ==================================================================
+ * AdaptiveServiceBulkheadTests.java - 17/10/2026 7:48:05 pm
+ *
+ * Copyright 2026 SolarNetwork.net Dev Team
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation; either version 2 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA
+ * 02111-1307 USA
+ * ==================================================================
+ */
+
+package net.solarnetwork.central.c2c.support.test;
+
+import static org.assertj.core.api.BDDAssertions.and;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import net.solarnetwork.central.c2c.support.AdaptiveServiceBulkhead;
+
+/**
+ * Test cases for the {@link AdaptiveServiceBulkhead} class.
+ *
+ * @author matt
+ * @version 1.0
+ */
+public class AdaptiveServiceBulkheadTests {
+
+	private static final String SERVICE_1 = "s1";
+	private static final String SERVICE_2 = "s2";
+
+	private AdaptiveServiceBulkhead bulkhead;
+
+	@BeforeEach
+	public void setup() {
+		bulkhead = new AdaptiveServiceBulkhead(Clock.fixed(Instant.now(), ZoneOffset.UTC));
+	}
+
+	@Test
+	public void concurrencyLimitPerService() {
+		// GIVEN
+		bulkhead.setMaxConcurrency(2);
+
+		// WHEN
+		boolean a1 = bulkhead.tryAcquire(SERVICE_1);
+		boolean a2 = bulkhead.tryAcquire(SERVICE_1);
+		boolean a3 = bulkhead.tryAcquire(SERVICE_1);
+		boolean b1 = bulkhead.tryAcquire(SERVICE_2);
+
+		// THEN
+		and.then(a1).as("First permit acquired").isTrue();
+		and.then(a2).as("Second permit acquired").isTrue();
+		and.then(a3).as("Permit beyond concurrency limit denied").isFalse();
+		and.then(b1).as("Other service has its own limit").isTrue();
+		and.then(bulkhead.activeCount(SERVICE_1)).as("Active count for service").isEqualTo(2);
+
+		// WHEN
+		bulkhead.release(SERVICE_1, false);
+
+		// THEN
+		and.then(bulkhead.tryAcquire(SERVICE_1)).as("Permit available after release").isTrue();
+	}
+
+	@Test
+	public void serviceOverride() {
+		// GIVEN
+		bulkhead.setMaxConcurrency(4);
+		bulkhead.setServiceMaxConcurrency(Map.of(SERVICE_1, 1));
+
+		// WHEN
+		boolean a1 = bulkhead.tryAcquire(SERVICE_1);
+		boolean a2 = bulkhead.tryAcquire(SERVICE_1);
+
+		// THEN
+		and.then(a1).as("First permit acquired").isTrue();
+		and.then(a2).as("Service override limit applied").isFalse();
+		and.then(bulkhead.concurrencyLimit(SERVICE_2)).as("Default limit for other service")
+				.isEqualTo(4);
+	}
+
+	@Test
+	public void throttledReducesLimit_successRestores() {
+		// GIVEN
+		bulkhead.setMaxConcurrency(8);
+
+		// WHEN
+		bulkhead.tryAcquire(SERVICE_1);
+		bulkhead.release(SERVICE_1, true);
+
+		// THEN
+		and.then(bulkhead.concurrencyLimit(SERVICE_1)).as("Limit halved after throttle")
+				.isEqualTo(4);
+
+		// WHEN
+		bulkhead.tryAcquire(SERVICE_1);
+		bulkhead.release(SERVICE_1, true);
+		bulkhead.tryAcquire(SERVICE_1);
+		bulkhead.release(SERVICE_1, true);
+		bulkhead.tryAcquire(SERVICE_1);
+		bulkhead.release(SERVICE_1, true);
+
+		// THEN
+		and.then(bulkhead.concurrencyLimit(SERVICE_1)).as("Limit does not drop below 1")
+				.isEqualTo(1);
+
+		// WHEN
+		bulkhead.tryAcquire(SERVICE_1);
+		bulkhead.release(SERVICE_1, false);
+
+		// THEN
+		and.then(bulkhead.concurrencyLimit(SERVICE_1)).as("Limit increased after success")
+				.isEqualTo(2);
+	}
+
+	@Test
+	public void rateLimit() {
+		// GIVEN
+		bulkhead.setMaxConcurrency(100);
+		bulkhead.setMaxStartsPerMinute(3);
+
+		// WHEN
+		int acquired = 0;
+		for ( int i = 0; i < 10; i++ ) {
+			if ( bulkhead.tryAcquire(SERVICE_1) ) {
+				acquired++;
+			}
+		}
+
+		// THEN
+		and.then(acquired).as("Starts limited by rate budget with fixed clock").isEqualTo(3);
+	}
+
+}
@@ -0,0 +1,124 @@
+/* ==================================================================
+ * CachedContentCodec.java - 17/10/2026 8:52:10 pm
+ *
+ * Copyright 2026 SolarNetwork.net Dev Team
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation; either version 2 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA
+ * 02111-1307 USA
+ * ==================================================================
+ */
+
+package net.solarnetwork.central.web.support;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * API for a codec that encodes cached content with an HTTP
+ * {@literal Content-Encoding}.
+ *
+ * <p>
+ * The {@link Standard} enumeration provides codecs for the encodings supported
+ * by the JDK. Other encodings, for example {@literal zstd} or {@literal br},
+ * can be supported by implementing this API with the appropriate library.
+ * </p>
+ *
+ * @author matt
+ * @version 1.0
+ */
+public interface CachedContentCodec {
+
+	/**
+	 * Get the HTTP {@literal Content-Encoding} value supported by this codec.
+	 *
+	 * @return the content encoding, never {@code null}
+	 */
+	String getContentEncoding();
+
+	/**
+	 * Create an output stream that encodes data written to it.
+	 *
+	 * <p>
+	 * Closing the returned stream must finish the encoding and close
+	 * {@code out}.
+	 * </p>
+	 *
+	 * @param out
+	 *        the stream to write the encoded data to
+	 * @return the encoding stream
+	 * @throws IOException
+	 *         if any IO error occurs
+	 */
+	OutputStream encodingStream(OutputStream out) throws IOException;
+
+	/**
+	 * Create an input stream that decodes data read from another stream.
+	 *
+	 * @param in
+	 *        the stream of encoded data
+	 * @return the decoding stream
+	 * @throws IOException
+	 *         if any IO error occurs, for example if the data is not valid
+	 */
+	InputStream decodingStream(InputStream in) throws IOException;
+
+	/**
+	 * Standard codecs supported by the JDK.
+	 */
+	enum Standard implements CachedContentCodec {
+
+		/** The gzip encoding. */
+		GZIP("gzip"),
+
+		/** The deflate (zlib) encoding. */
+		DEFLATE("deflate"),
+
+		;
+
+		private final String contentEncoding;
+
+		Standard(String contentEncoding) {
+			this.contentEncoding = contentEncoding;
+		}
+
+		@Override
+		public String getContentEncoding() {
+			return contentEncoding;
+		}
+
+		@Override
+		public OutputStream encodingStream(OutputStream out) throws IOException {
+			return switch (this) {
+				case GZIP -> new GZIPOutputStream(out);
+				case DEFLATE -> new DeflaterOutputStream(out);
+			};
+		}
+
+		@Override
+		public InputStream decodingStream(InputStream in) throws IOException {
+			return switch (this) {
+				case GZIP -> new GZIPInputStream(in);
+				case DEFLATE -> new InflaterInputStream(in);
+			};
+		}
+
+	}
+
+}
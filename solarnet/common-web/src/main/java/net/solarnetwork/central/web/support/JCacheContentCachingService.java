@@ -27,6 +27,7 @@ import static net.solarnetwork.util.ObjectUtils.requireNonNullArgument;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Serializable;
 import java.security.MessageDigest;
 import java.util.Arrays;
@@ -36,12 +37,11 @@ import java.util.Enumeration;
 import java.util.HashSet;
 import java.util.HexFormat;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.zip.GZIPInputStream;
-import java.util.zip.GZIPOutputStream;
 import java.util.zip.ZipException;
 import javax.cache.Cache;
 import javax.cache.configuration.FactoryBuilder.SingletonFactory;
@@ -71,8 +71,15 @@ import net.solarnetwork.web.jakarta.security.AuthenticationScheme;
 /**
  * Caching service backed by a {@link javax.cache.Cache}.
  *
+ * <p>
+ * Compressible content is stored encoded with the first configured
+ * {@link CachedContentCodec}. Cached content is sent as-is when the request
+ * {@literal Accept-Encoding} accepts the stored encoding, otherwise it is
+ * decoded with the configured codec matching the stored encoding.
+ * </p>
+ *
  * @author matt
- * @version 2.0
+ * @version 2.1
  */
 public class JCacheContentCachingService
 		implements ContentCachingService, PingTest, CacheEntryCreatedListener<String, CachedContent>,
@@ -84,6 +91,14 @@ public class JCacheContentCachingService
 	/** The default value for the {@code statLogAccessCount} property. */
 	public static final int DEFAULT_STAT_LOG_ACCESS_COUNT = 500;
 
+	/**
+	 * The default value for the {@code codecs} property.
+	 *
+	 * @since 2.1
+	 */
+	public static final List<CachedContentCodec> DEFAULT_CODECS = List
+			.of(CachedContentCodec.Standard.values());
+
 	private static final Pattern SNWS_V1_KEY_PATTERN = Pattern
 			.compile("^" + AuthenticationScheme.V1.getSchemeName() + "\\s+([^:]+):");
 	private static final Pattern SNWS_V2_KEY_PATTERN = Pattern.compile("Credential=([^,]+)(?:,|$)");
@@ -97,6 +112,7 @@ public class JCacheContentCachingService
 	private Set<MediaType> compressibleMediaTypes = new HashSet<>(
 			MediaType.parseMediaTypes("text/*, application/cbor, application/json, application/xml"));
 	private int compressMinimumLength = 2048;
+	private List<CachedContentCodec> codecs = DEFAULT_CODECS;
 
 	/**
 	 * Constructor.
@@ -358,11 +374,11 @@ public class JCacheContentCachingService
 
 		InputStream in = content.getContent();
 		if ( in != null ) {
-			String contentEncoding = content.getContentEncoding();
-			String accept = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
-			if ( accept != null && accept.contains(CompressionType.GZIP.getContentEncoding())
-					&& CompressionType.GZIP.getContentEncoding().equals(contentEncoding) ) {
-				// send already compressed content
+			final String contentEncoding = content.getContentEncoding();
+			final CachedContentCodec codec = codecForEncoding(contentEncoding);
+			if ( codec != null && contentEncoding != null && acceptsEncoding(
+					request.getHeaders(HttpHeaders.ACCEPT_ENCODING), contentEncoding) ) {
+				// send already encoded content
 				response.setHeader(HttpHeaders.CONTENT_ENCODING, contentEncoding);
 				response.setContentLength(content.getContentLength());
 				String vary = response.getHeader(HttpHeaders.VARY);
@@ -382,10 +398,10 @@ public class JCacheContentCachingService
 					}
 				}
 				FileCopyUtils.copy(in, response.getOutputStream());
-			} else if ( CompressionType.GZIP.getContentEncoding().equals(contentEncoding) ) {
-				// send decompressed content
+			} else if ( codec != null ) {
+				// send decoded content
 				try {
-					FileCopyUtils.copy(new GZIPInputStream(in), response.getOutputStream());
+					FileCopyUtils.copy(codec.decodingStream(in), response.getOutputStream());
 				} catch ( ZipException e ) {
 					// should not be here! log some info to help troubleshoot
 					String base64Content = "";
@@ -399,9 +415,9 @@ public class JCacheContentCachingService
 						// ignore exception and continue
 					}
 					log.error("""
-							Cached content {} for [{}] marked as gzip but not valid ({}). \
+							Cached content {} for [{}] marked as {} but not valid ({}). \
 							Content size: {}; headers: {}; metadata: {}; content Base64: {}
-							""", key, request.getRequestURI(), e.getMessage(),
+							""", key, request.getRequestURI(), contentEncoding, e.getMessage(),
 							content.getContentLength(), content.getHeaders(), content.getMetadata(),
 							base64Content);
 
@@ -429,18 +445,20 @@ public class JCacheContentCachingService
 		if ( compressionType != null ) {
 			// content already compressed for us
 			contentEncoding = compressionType.getContentEncoding();
-		} else {
+		} else if ( contentEncoding == null && !codecs.isEmpty() ) {
 			MediaType type = headers.getContentType();
 			if ( type != null && data.length >= compressMinimumLength ) {
 				// compress the content if possible
 				for ( MediaType t : compressibleMediaTypes ) {
 					if ( t.includes(type) ) {
-						try (ByteArrayOutputStream byos = new ByteArrayOutputStream();
-								GZIPOutputStream out = new GZIPOutputStream(byos)) {
-							FileCopyUtils.copy(data, out);
-							data = byos.toByteArray();
-							contentEncoding = CompressionType.GZIP.getContentEncoding();
+						final CachedContentCodec codec = codecs.getFirst();
+						final ByteArrayOutputStream byos = new ByteArrayOutputStream(
+								data.length / 4);
+						try (OutputStream out = codec.encodingStream(byos)) {
+							out.write(data);
 						}
+						data = byos.toByteArray();
+						contentEncoding = codec.getContentEncoding();
 						break;
 					}
 				}
@@ -452,6 +470,80 @@ public class JCacheContentCachingService
 		stats.increment(ContentCacheStats.Stored);
 	}
 
+	private @Nullable CachedContentCodec codecForEncoding(@Nullable String contentEncoding) {
+		if ( contentEncoding == null ) {
+			return null;
+		}
+		for ( CachedContentCodec codec : codecs ) {
+			if ( contentEncoding.equalsIgnoreCase(codec.getContentEncoding()) ) {
+				return codec;
+			}
+		}
+		for ( CachedContentCodec codec : CachedContentCodec.Standard.values() ) {
+			// support decoding content cached with a previously configured codec
+			if ( contentEncoding.equalsIgnoreCase(codec.getContentEncoding()) ) {
+				return codec;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Test if an {@literal Accept-Encoding} HTTP header accepts a given content
+	 * encoding.
+	 *
+	 * <p>
+	 * The encoding is accepted if it is listed explicitly, or matched by a
+	 * {@literal *} wildcard, with a non-zero quality value.
+	 * </p>
+	 *
+	 * @param acceptEncodings
+	 *        the {@literal Accept-Encoding} header values
+	 * @param contentEncoding
+	 *        the content encoding to test
+	 * @return {@code true} if {@code contentEncoding} is accepted
+	 * @since 2.1
+	 */
+	public static boolean acceptsEncoding(@Nullable Enumeration<String> acceptEncodings,
+			String contentEncoding) {
+		if ( acceptEncodings == null ) {
+			return false;
+		}
+		boolean wildcard = false;
+		while ( acceptEncodings.hasMoreElements() ) {
+			final String header = acceptEncodings.nextElement();
+			if ( header == null ) {
+				continue;
+			}
+			for ( String item : header.split(",") ) {
+				final String[] components = item.split(";");
+				final String coding = components[0].trim();
+				final boolean accepted = !isZeroQuality(components);
+				if ( coding.equalsIgnoreCase(contentEncoding) ) {
+					// an explicit coding takes precedence over the wildcard
+					return accepted;
+				} else if ( "*".equals(coding) ) {
+					wildcard = accepted;
+				}
+			}
+		}
+		return wildcard;
+	}
+
+	private static boolean isZeroQuality(String[] components) {
+		for ( int i = 1; i < components.length; i++ ) {
+			final String param = components[i].trim().toLowerCase(Locale.ENGLISH);
+			if ( param.startsWith("q=") ) {
+				try {
+					return Double.parseDouble(param.substring(2).trim()) <= 0.0;
+				} catch ( NumberFormatException e ) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
 	/**
 	 * Get metadata for the cache content.
 	 *
@@ -497,6 +589,36 @@ public class JCacheContentCachingService
 		this.compressMinimumLength = compressMinimumLength;
 	}
 
+	/**
+	 * Get the content codecs.
+	 *
+	 * @return the codecs, never {@code null}
+	 * @since 2.1
+	 */
+	public final List<CachedContentCodec> getCodecs() {
+		return codecs;
+	}
+
+	/**
+	 * Set the content codecs.
+	 *
+	 * <p>
+	 * The first codec is used to encode compressible content stored in the
+	 * cache. All codecs are used to decode cached content for requests that do
+	 * not accept the stored encoding. An empty list disables storing encoded
+	 * content.
+	 * </p>
+	 *
+	 * @param codecs
+	 *        the codecs to use; defaults to {@link #DEFAULT_CODECS}
+	 * @throws IllegalArgumentException
+	 *         if {@code codecs} is {@code null}
+	 * @since 2.1
+	 */
+	public final void setCodecs(List<CachedContentCodec> codecs) {
+		this.codecs = List.copyOf(requireNonNullArgument(codecs, "codecs"));
+	}
+
 	/**
 	 * Set the statistic log update count.
 	 *
@@ -24,7 +24,11 @@ package net.solarnetwork.central.web.support;
 
 import static net.solarnetwork.util.ObjectUtils.requireNonNullArgument;
 import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -48,8 +52,29 @@ import net.solarnetwork.central.web.RateLimitExceededException;
 /**
  * Filter for rate-limiting HTTP requests.
  *
+ * <p>
+ * By default every request consumes one token from the shared bucket managed
+ * by the configured {@link ProxyManager}. When {@link #setLeaseSize(int)} is
+ * configured with a value greater than {@literal 1}, the filter instead leases
+ * up to that many tokens at a time from the shared bucket and hands them out
+ * locally, only returning to the shared bucket when the local lease has been
+ * used up or has expired. This greatly reduces the load on the shared bucket
+ * storage, at the cost of the limits being only approximately enforced across
+ * a cluster: a client can be allowed up to one extra lease worth of requests
+ * per application instance, and leased tokens that are not used before the
+ * lease expires are discarded.
+ * </p>
+ *
+ * <p>
+ * In lease mode the {@link #X_SN_RATE_LIMIT_REMAINING_HEADER} value is the
+ * number of tokens the shared bucket had left when the current lease was
+ * taken, plus the number of tokens left in the local lease. That is the same
+ * value the shared bucket alone would report if no other application instance
+ * had consumed tokens since the lease was taken.
+ * </p>
+ *
  * @author matt
- * @version 1.2
+ * @version 1.4
  */
 public final class RateLimitingFilter extends OncePerRequestFilter implements Filter {
 
@@ -71,11 +96,23 @@ public final class RateLimitingFilter extends OncePerRequestFilter implements Fi
 
 	private static final Long GLOBAL_ANONYMOUS_KEY = -1L;
 
+	/**
+	 * The default {@code leaseDuration} property value.
+	 *
+	 * @since 1.3
+	 */
+	public static final Duration DEFAULT_LEASE_DURATION = Duration.ofSeconds(1);
+
 	private final ProxyManager<Long> proxyManager;
 	private final Supplier<BucketConfiguration> bucketConfigurationProvider;
 	private final @Nullable String keyPrefix;
 
+	private final ConcurrentMap<Long, TokenLease> leases = new ConcurrentHashMap<>(64, 0.9f, 4);
+	private final AtomicLong nextLeasePurge = new AtomicLong();
+
 	private @Nullable HandlerExceptionResolver exceptionResolver;
+	private int leaseSize;
+	private Duration leaseDuration = DEFAULT_LEASE_DURATION;
 
 	/**
 	 * Constructor.
@@ -154,6 +191,17 @@ public final class RateLimitingFilter extends OncePerRequestFilter implements Fi
 			FilterChain filterChain) throws ServletException, IOException {
 		final String key = requestKey(request);
 		final Long id = idForString(key);
+		final int leaseSize = this.leaseSize;
+		if ( leaseSize > 1 ) {
+			final long remaining = consumeFromLease(id, leaseSize);
+			if ( remaining >= 0 ) {
+				response.addIntHeader(X_SN_RATE_LIMIT_REMAINING_HEADER, (int) remaining);
+				filterChain.doFilter(request, response);
+				return;
+			}
+			// no tokens could be leased; fall through to get the time to wait for a refill
+		}
+
 		final Bucket bucket = proxyManager.builder().build(id, bucketConfigurationProvider);
 
 		ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(1);
@@ -174,6 +222,126 @@ public final class RateLimitingFilter extends OncePerRequestFilter implements Fi
 		}
 	}
 
+	/**
+	 * Consume a token from a local lease, leasing more tokens from the shared
+	 * bucket as needed.
+	 *
+	 * @param id
+	 *        the bucket ID
+	 * @param leaseSize
+	 *        the maximum number of tokens to lease from the shared bucket
+	 * @return the number of tokens remaining in the shared bucket as of the
+	 *         last lease plus the number remaining in the local lease after
+	 *         consuming one, or {@literal -1} if no token could be leased
+	 */
+	private long consumeFromLease(Long id, int leaseSize) {
+		final long now = System.nanoTime();
+		final TokenLease lease = leases.get(id);
+		if ( lease != null ) {
+			final long remaining = lease.tryConsume(now);
+			if ( remaining >= 0 ) {
+				return lease.sharedRemaining + remaining;
+			}
+		}
+
+		purgeExpiredLeases(now);
+
+		final Bucket bucket = proxyManager.builder().build(id, bucketConfigurationProvider);
+		final ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(leaseSize);
+		final long leased;
+		final long sharedRemaining;
+		if ( probe.isConsumed() ) {
+			leased = leaseSize;
+			sharedRemaining = probe.getRemainingTokens();
+		} else if ( probe.getRemainingTokens() > 0 ) {
+			// not enough tokens for a full lease, so lease what is left
+			leased = bucket.tryConsumeAsMuchAsPossible(probe.getRemainingTokens());
+			sharedRemaining = 0;
+		} else {
+			return -1;
+		}
+		if ( leased < 1 ) {
+			return -1;
+		}
+		final long remaining = leased - 1;
+		if ( remaining > 0 ) {
+			// merge with any lease concurrently added by another request, so no tokens are lost
+			final long expires = now + leaseDuration.toNanos();
+			leases.compute(id, (_, existing) -> new TokenLease(
+					(existing != null ? existing.drain(now) : 0L) + remaining, sharedRemaining,
+					expires));
+		} else if ( lease != null ) {
+			leases.remove(id, lease);
+		}
+		return sharedRemaining + remaining;
+	}
+
+	private void purgeExpiredLeases(final long now) {
+		final long next = nextLeasePurge.get();
+		if ( now - next < 0 || !nextLeasePurge.compareAndSet(next, now + leaseDuration.toNanos()) ) {
+			return;
+		}
+		leases.values().removeIf(l -> l.isExpired(now));
+	}
+
+	/**
+	 * A set of tokens leased from a shared bucket, to be consumed locally.
+	 */
+	private static final class TokenLease {
+
+		private final AtomicLong tokens;
+		private final long sharedRemaining;
+		private final long expires;
+
+		private TokenLease(long tokens, long sharedRemaining, long expires) {
+			super();
+			this.tokens = new AtomicLong(tokens);
+			this.sharedRemaining = sharedRemaining;
+			this.expires = expires;
+		}
+
+		private boolean isExpired(long now) {
+			return now - expires >= 0;
+		}
+
+		/**
+		 * Consume one token.
+		 *
+		 * @param now
+		 *        the current {@link System#nanoTime()} value
+		 * @return the remaining token count, or {@literal -1} if no token is
+		 *         available
+		 */
+		private long tryConsume(long now) {
+			if ( isExpired(now) ) {
+				return -1;
+			}
+			while ( true ) {
+				final long avail = tokens.get();
+				if ( avail < 1 ) {
+					return -1;
+				}
+				if ( tokens.compareAndSet(avail, avail - 1) ) {
+					return avail - 1;
+				}
+			}
+		}
+
+		/**
+		 * Remove all available tokens.
+		 *
+		 * @param now
+		 *        the current {@link System#nanoTime()} value
+		 * @return the removed token count, or {@literal 0} if the lease has
+		 *         expired
+		 */
+		private long drain(long now) {
+			final long avail = tokens.getAndSet(0);
+			return (isExpired(now) ? 0L : avail);
+		}
+
+	}
+
 	/**
 	 * Set a handler exception resolver.
 	 *
@@ -184,4 +352,63 @@ public final class RateLimitingFilter extends OncePerRequestFilter implements Fi
 		this.exceptionResolver = exceptionResolver;
 	}
 
+	/**
+	 * Get the maximum number of tokens to lease from the shared bucket at a
+	 * time.
+	 *
+	 * @return the lease size; defaults to {@literal 0}
+	 * @since 1.3
+	 */
+	public int getLeaseSize() {
+		return leaseSize;
+	}
+
+	/**
+	 * Set the maximum number of tokens to lease from the shared bucket at a
+	 * time.
+	 *
+	 * <p>
+	 * Setting this to anything greater than {@literal 1} enables the local
+	 * token leasing mode. The value should be small relative to the bucket
+	 * capacity, as it determines how far over the limit a client can go when
+	 * spreading requests across application instances.
+	 * </p>
+	 *
+	 * @param leaseSize
+	 *        the lease size to set; anything less than {@literal 2} disables
+	 *        token leasing
+	 * @since 1.3
+	 */
+	public void setLeaseSize(int leaseSize) {
+		this.leaseSize = leaseSize;
+	}
+
+	/**
+	 * Get the maximum amount of time leased tokens can be used for.
+	 *
+	 * @return the lease duration; defaults to {@link #DEFAULT_LEASE_DURATION}
+	 * @since 1.3
+	 */
+	public Duration getLeaseDuration() {
+		return leaseDuration;
+	}
+
+	/**
+	 * Set the maximum amount of time leased tokens can be used for.
+	 *
+	 * <p>
+	 * Tokens that have not been used by the time their lease expires are
+	 * discarded. This should generally be no longer than the time it takes
+	 * the shared bucket to refill the lease size number of tokens.
+	 * </p>
+	 *
+	 * @param leaseDuration
+	 *        the lease duration to set; if {@code null} then
+	 *        {@link #DEFAULT_LEASE_DURATION} will be used
+	 * @since 1.3
+	 */
+	public void setLeaseDuration(@Nullable Duration leaseDuration) {
+		this.leaseDuration = (leaseDuration != null ? leaseDuration : DEFAULT_LEASE_DURATION);
+	}
+
 }
@@ -37,6 +37,12 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 import javax.sql.DataSource;
 import org.junit.jupiter.api.AfterEach;
@@ -71,7 +77,7 @@ import net.solarnetwork.central.web.support.RateLimitingFilter;
  * Test cases for the {@link RateLimitingFilter} class.
  *
  * @author matt
- * @version 1.1
+ * @version 1.3
  */
 @SuppressWarnings("static-access")
 @ExtendWith(MockitoExtension.class)
@@ -95,13 +101,14 @@ public class RateLimitingFilterTests extends AbstractJUnit5JdbcDaoTestSupport {
 	@Captor
 	private ArgumentCaptor<Exception> exceptionCaptor;
 
+	private ProxyManager<Long> proxyManager;
 	private RateLimitingFilter filter;
 
 	@BeforeEach
 	public void setup() {
 		ExpirationAfterWriteStrategy expiration = ExpirationAfterWriteStrategy
 				.basedOnTimeForRefillingBucketUpToMax(Duration.ofSeconds(1));
-		ProxyManager<Long> proxyManager = Bucket4jPostgreSQL.advisoryLockBasedBuilder(dataSource)
+		proxyManager = Bucket4jPostgreSQL.advisoryLockBasedBuilder(dataSource)
 				.expirationAfterWrite(expiration).table("solarcommon.bucket").build();
 
 		Supplier<BucketConfiguration> configurationProvider = () -> BucketConfiguration.builder()
@@ -289,4 +296,116 @@ public class RateLimitingFilterTests extends AbstractJUnit5JdbcDaoTestSupport {
 		// @formatter:on
 	}
 
+	@Test
+	public void tokenAuth_leased() throws ServletException, IOException {
+		// GIVEN
+		filter.setLeaseSize(2);
+		filter.setLeaseDuration(Duration.ofMinutes(1));
+
+		final List<MockHttpServletResponse> responses = new ArrayList<>(TEST_CAPACITY + 1);
+
+		final String tokenId = CommonTestUtils.randomString();
+
+		// WHEN
+		for ( int i = 0; i < TEST_CAPACITY + 1; i++ ) {
+			final MockHttpServletRequest req = new MockHttpServletRequest(GET.toString(), "/foo");
+			req.addHeader(AUTHORIZATION, snws2Cred(tokenId));
+
+			final MockHttpServletResponse res = new MockHttpServletResponse();
+			responses.add(res);
+
+			final MockFilterChain chain = new MockFilterChain(servlet, nextFilter);
+
+			filter.doFilter(req, res, chain);
+		}
+
+		// THEN
+		// @formatter:off
+		then(nextFilter).should(times(TEST_CAPACITY)).doFilter(any(), any(), any());
+
+		and.then(responses)
+			.extracting(res -> res.getHeader(RateLimitingFilter.X_SN_RATE_LIMIT_REMAINING_HEADER))
+			.as("Remaining header counts shared bucket and local lease tokens, as without leasing")
+			.containsExactly("2", "1", "0", null)
+			;
+
+		then(handlerExceptionResolver).should().resolveException(any(), any(), any(), exceptionCaptor.capture());
+		and.then(exceptionCaptor.getValue())
+			.as("Rate limit exceeded once shared bucket exhausted")
+			.isInstanceOf(RateLimitExceededException.class)
+			;
+
+		and.then(responses.getLast().getHeader(RateLimitingFilter.X_SN_RATE_LIMIT_RETRY_AFTER))
+			.as("Retry after header provided")
+			.isNotNull()
+			;
+		// @formatter:on
+	}
+
+	@Test
+	public void tokenAuth_leased_concurrent() throws Exception {
+		// GIVEN
+		final int capacity = 20;
+		final int threadCount = 8;
+		final int requestsPerThread = 4;
+		final Supplier<BucketConfiguration> configurationProvider = () -> BucketConfiguration
+				.builder().addLimit(Bandwidth.builder().capacity(capacity)
+						.refillGreedy(1, Duration.ofHours(1)).build())
+				.build();
+		final RateLimitingFilter leaseFilter = new RateLimitingFilter(proxyManager,
+				configurationProvider);
+		leaseFilter.setExceptionResolver(handlerExceptionResolver);
+		leaseFilter.setLeaseSize(4);
+		leaseFilter.setLeaseDuration(Duration.ofMinutes(1));
+
+		final String tokenId = CommonTestUtils.randomString();
+		final AtomicInteger allowed = new AtomicInteger();
+		final CountDownLatch start = new CountDownLatch(1);
+
+		// WHEN
+		final ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+		try {
+			final List<Future<?>> futures = new ArrayList<>(threadCount);
+			for ( int t = 0; t < threadCount; t++ ) {
+				futures.add(executor.submit(() -> {
+					start.await();
+					for ( int i = 0; i < requestsPerThread; i++ ) {
+						if ( doRequest(leaseFilter, tokenId) ) {
+							allowed.incrementAndGet();
+						}
+					}
+					return null;
+				}));
+			}
+			start.countDown();
+			for ( Future<?> f : futures ) {
+				f.get(1, TimeUnit.MINUTES);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		// use up any tokens left in the local lease
+		while ( doRequest(leaseFilter, tokenId) ) {
+			allowed.incrementAndGet();
+		}
+
+		// THEN
+		// @formatter:off
+		and.then(allowed.get())
+			.as("Every token from shared bucket used, none lost to concurrent leases")
+			.isEqualTo(capacity)
+			;
+		// @formatter:on
+	}
+
+	private boolean doRequest(RateLimitingFilter filter, String tokenId)
+			throws ServletException, IOException {
+		final MockHttpServletRequest req = new MockHttpServletRequest(GET.toString(), "/foo");
+		req.addHeader(AUTHORIZATION, snws2Cred(tokenId));
+		final MockHttpServletResponse res = new MockHttpServletResponse();
+		filter.doFilter(req, res, new MockFilterChain(servlet, nextFilter));
+		return res.getHeader(RateLimitingFilter.X_SN_RATE_LIMIT_REMAINING_HEADER) != null;
+	}
+
 }
@@ -37,7 +37,10 @@ import static org.hamcrest.Matchers.sameInstance;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.Collections;
 import java.util.HexFormat;
+import java.util.List;
+import java.util.zip.DeflaterOutputStream;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
 import javax.cache.Cache;
@@ -52,6 +55,7 @@ import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.util.FileCopyUtils;
 import net.solarnetwork.central.web.support.CachedContent;
+import net.solarnetwork.central.web.support.CachedContentCodec;
 import net.solarnetwork.central.web.support.JCacheContentCachingService;
 import net.solarnetwork.central.web.support.SimpleCachedContent;
 
@@ -59,7 +63,7 @@ import net.solarnetwork.central.web.support.SimpleCachedContent;
  * Test cases for the {@link JCacheContentCachingService} class.
  *
  * @author matt
- * @version 2.1
+ * @version 2.2
  */
 public class JCacheContentCachingServiceTests {
 
@@ -627,4 +631,128 @@ public class JCacheContentCachingServiceTests {
 		assertThat("Cached data", new String(cachedBody, UTF_8), equalTo(body));
 	}
 
+	@Test
+	public void cacheHitContentCompressedRejected() throws IOException {
+		// given
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/somepath");
+		request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, deflate");
+
+		cache.registerCacheEntryListener(anyObject());
+
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		final String key = "test.key";
+		final HttpHeaders headers = new HttpHeaders();
+		headers.setContentType(MediaType.TEXT_PLAIN);
+		final String body = "Hello, world.";
+		final SimpleCachedContent content = new SimpleCachedContent(headers, compress(body), "gzip");
+		expect(cache.get(key)).andReturn(content);
+
+		// when
+		replayAll();
+		JCacheContentCachingService service = new JCacheContentCachingService(cache);
+		CachedContent result = service.sendCachedResponse(key, request, response);
+
+		// then
+		then(result).as("Cache hit").isSameAs(content);
+		then(response.getHeader(HttpHeaders.CONTENT_ENCODING))
+				.as("Content not encoded because gzip not acceptable").isNull();
+		then(response.getContentAsString()).as("Decoded content sent").isEqualTo(body);
+	}
+
+	@Test
+	public void cacheContentCompressed_deflate() throws IOException {
+		// given
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/somepath");
+
+		cache.registerCacheEntryListener(anyObject());
+
+		final String key = "test.key";
+		final HttpHeaders headers = new HttpHeaders();
+		headers.setContentType(MediaType.APPLICATION_JSON);
+		final String body = "{\"hello\":\"world\"}";
+
+		final ByteArrayOutputStream byos = new ByteArrayOutputStream();
+		try (DeflaterOutputStream out = new DeflaterOutputStream(byos)) {
+			out.write(body.getBytes(UTF_8));
+		}
+		final byte[] compressedBody = byos.toByteArray();
+
+		final Capture<CachedContent> contentCaptor = new Capture<>();
+		cache.put(eq(key), capture(contentCaptor));
+
+		// when
+		replayAll();
+		JCacheContentCachingService service = new JCacheContentCachingService(cache);
+		service.setCompressMinimumLength(8);
+		service.setCodecs(List.of(CachedContentCodec.Standard.DEFLATE));
+		service.cacheResponse(key, request, 200, headers,
+				new ByteArrayInputStream(body.getBytes(UTF_8)));
+
+		// then
+		CachedContent content = contentCaptor.getValue();
+		then(content).as("Content cached").isNotNull();
+		then(content.getContentEncoding()).as("Content encoded with first codec")
+				.isEqualTo("deflate");
+		then(FileCopyUtils.copyToByteArray(content.getContent())).as("Compressed cached data")
+				.isEqualTo(compressedBody);
+	}
+
+	@Test
+	public void cacheHitContentDeflateAcceptedByWildcard() throws IOException {
+		// given
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/somepath");
+		request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, *;q=0.5");
+
+		cache.registerCacheEntryListener(anyObject());
+
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		final String key = "test.key";
+		final HttpHeaders headers = new HttpHeaders();
+		headers.setContentType(MediaType.TEXT_PLAIN);
+		final byte[] compressedBody = new byte[] { 1, 2, 3 };
+		final SimpleCachedContent content = new SimpleCachedContent(headers, compressedBody,
+				"deflate");
+		expect(cache.get(key)).andReturn(content);
+
+		// when
+		replayAll();
+		JCacheContentCachingService service = new JCacheContentCachingService(cache);
+		CachedContent result = service.sendCachedResponse(key, request, response);
+
+		// then
+		then(result).as("Cache hit").isSameAs(content);
+		then(response.getHeader(HttpHeaders.CONTENT_ENCODING)).as("Encoded content sent")
+				.isEqualTo("deflate");
+		then(response.getHeader(HttpHeaders.VARY)).as("Vary header added")
+				.isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+		then(response.getContentAsByteArray()).as("Stored content sent as-is")
+				.isEqualTo(compressedBody);
+	}
+
+	@Test
+	public void acceptsEncoding() {
+		// GIVEN
+		replayAll();
+		final String[][] tests = new String[][] { { "gzip", "gzip", "true" },
+				{ "GZIP", "gzip", "true" }, { "deflate, gzip;q=0.8", "gzip", "true" },
+				{ "gzip;q=0", "gzip", "false" }, { "gzip; q=0.000", "gzip", "false" },
+				{ "br", "gzip", "false" }, { "*", "gzip", "true" }, { "*;q=0", "gzip", "false" },
+				{ "gzip;q=0, *", "gzip", "false" }, { "gzip, *;q=0", "gzip", "true" },
+				{ "x-gzip", "gzip", "false" }, { "", "gzip", "false" } };
+
+		for ( String[] test : tests ) {
+			// WHEN
+			boolean result = JCacheContentCachingService
+					.acceptsEncoding(Collections.enumeration(List.of(test[0])), test[1]);
+
+			// THEN
+			then(result).as("Accept-Encoding [%s] accepts %s", test[0], test[1])
+					.isEqualTo(Boolean.parseBoolean(test[2]));
+		}
+		then(JCacheContentCachingService.acceptsEncoding(null, "gzip"))
+				.as("No Accept-Encoding does not accept").isFalse();
+	}
+
 }
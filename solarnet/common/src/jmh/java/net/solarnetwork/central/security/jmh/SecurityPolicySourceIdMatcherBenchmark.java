@@ -0,0 +1,180 @@
+/* ==================================================================
+ * SecurityPolicySourceIdMatcherBenchmark.java - 17/10/2026 8:14:37 pm
+ *
+ * Copyright 2026 SolarNetwork.net Dev Team
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation; either version 2 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA
+ * 02111-1307 USA
+ * ==================================================================
+ */
+
+package net.solarnetwork.central.security.jmh;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.AntPathMatcher;
+import net.solarnetwork.central.security.SecurityPolicyEnforcer;
+import net.solarnetwork.central.security.SecurityPolicySourceIdMatcher;
+import net.solarnetwork.domain.BasicSecurityPolicy;
+import net.solarnetwork.domain.SecurityPolicy;
+
+/**
+ * Compare verifying source IDs against large security policies with and
+ * without the compiled {@link SecurityPolicySourceIdMatcher}.
+ *
+ * <p>
+ * Each policy has half exact source IDs and half source ID patterns, spread
+ * over a set of sites and devices like {@code /site/device/**}. The
+ * {@code linear} benchmark evaluates every policy pattern against every source
+ * ID, as {@link SecurityPolicyEnforcer} used to do.
+ * </p>
+ *
+ * <p>
+ * Run with {@code ./gradlew :solarnet-common:jmh}.
+ * </p>
+ *
+ * @author matt
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SecurityPolicySourceIdMatcherBenchmark {
+
+	private static final int SOURCE_ID_COUNT = 20;
+
+	/** The number of policy source IDs. */
+	@Param({ "100", "1000", "5000" })
+	public int policySize;
+
+	private AntPathMatcher pathMatcher;
+	private SecurityPolicy policy;
+	private String[] sourceIds;
+
+	/**
+	 * Setup the benchmark state.
+	 */
+	@Setup
+	public void setup() {
+		final RandomGenerator rng = RandomGenerator.of("L64X128MixRandom");
+		pathMatcher = new AntPathMatcher();
+		pathMatcher.setCachePatterns(false);
+		pathMatcher.setCaseSensitive(true);
+
+		final int siteCount = Math.max(1, policySize / 50);
+		final Set<String> policySourceIds = new LinkedHashSet<>(policySize);
+		while ( policySourceIds.size() < policySize ) {
+			final int i = policySourceIds.size();
+			final String path = "/site%d/dev%d".formatted(rng.nextInt(siteCount), i);
+			policySourceIds.add(i % 2 == 0 ? path + "/**" : path + "/meter");
+		}
+		policy = new BasicSecurityPolicy.Builder().withSourceIds(policySourceIds).build();
+
+		// request a mix of allowed and denied source IDs
+		final List<String> ids = new ArrayList<>(SOURCE_ID_COUNT);
+		final List<String> policyIds = new ArrayList<>(policySourceIds);
+		for ( int i = 0; i < SOURCE_ID_COUNT; i++ ) {
+			String policyId = policyIds.get(rng.nextInt(policyIds.size()));
+			if ( i % 4 == 0 ) {
+				ids.add("/site%d/unknown%d/meter".formatted(rng.nextInt(siteCount), i));
+			} else if ( policyId.endsWith("/**") ) {
+				ids.add(policyId.substring(0, policyId.length() - 2) + "inverter/" + i);
+			} else {
+				ids.add(policyId);
+			}
+		}
+		sourceIds = ids.toArray(String[]::new);
+	}
+
+	/**
+	 * Verify the source IDs by evaluating every policy pattern.
+	 *
+	 * @return the allowed source IDs
+	 */
+	@Benchmark
+	public List<String> linear() {
+		// split the policy source IDs into exact values and patterns on each call
+		final Set<String> exact = new LinkedHashSet<>(policy.getSourceIds());
+		final Set<String> patterns = new LinkedHashSet<>(exact.size());
+		for ( String policySourceId : policy.getSourceIds() ) {
+			if ( pathMatcher.isPattern(policySourceId) ) {
+				patterns.add(policySourceId);
+			}
+		}
+		exact.removeAll(patterns);
+		final List<String> result = new ArrayList<>(sourceIds.length);
+		for ( String sourceId : sourceIds ) {
+			if ( exact.contains(sourceId) ) {
+				result.add(sourceId);
+				continue;
+			}
+			for ( String pattern : patterns ) {
+				if ( pathMatcher.match(pattern, sourceId) ) {
+					result.add(sourceId);
+					break;
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Verify the source IDs with the cached, compiled policy matcher.
+	 *
+	 * @return the allowed source IDs
+	 */
+	@Benchmark
+	public List<String> compiled() {
+		final SecurityPolicySourceIdMatcher matcher = SecurityPolicySourceIdMatcher.forPolicy(policy,
+				pathMatcher);
+		final List<String> result = new ArrayList<>(sourceIds.length);
+		for ( String sourceId : sourceIds ) {
+			if ( matcher.matches(sourceId) ) {
+				result.add(sourceId);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Verify the source IDs with {@link SecurityPolicyEnforcer}.
+	 *
+	 * @return the allowed source IDs
+	 */
+	@Benchmark
+	public String[] enforcer() {
+		return new SecurityPolicyEnforcer(policy, "bench", null, pathMatcher)
+				.verifySourceIds(sourceIds);
+	}
+
+}
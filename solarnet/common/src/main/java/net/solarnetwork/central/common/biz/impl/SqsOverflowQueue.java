@@ -101,13 +101,24 @@ import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
  * successfully persisted. Second, from the nature of SQS itself, which might
  * deliver the same message multiple times.
  * </p>
+ * <p>
+ * When {@code writeBatchSize} is configured larger than {@literal 1} the
+ * "writer" threads operate in a batching mode: each thread drains up to
+ * {@code writeBatchSize} items from the work queue, waiting at most
+ * {@code writeBatchMaxLingerMs} for the batch to fill, and then persists them
+ * together via {@link GenericWriteOnlyDao#persistAll(List)}. If the batch
+ * fails, each entity in the batch is persisted individually so that every
+ * work item is completed with its own key or failure. Entities passed to
+ * {@link #persistAll(List)} are all added to the work queue before waiting on
+ * any of them, so they can be persisted in the same batch.
+ * </p>
  *
  * @param <T>
  *        the message entity type
  * @param <K>
  *        the message entity key type
  * @author matt
- * @version 1.1
+ * @version 1.3
  */
 public class SqsOverflowQueue<T, K>
 		implements GenericWriteOnlyDao<T, K>, PingTest, ServiceLifecycleObserver {
@@ -167,6 +178,36 @@ public class SqsOverflowQueue<T, K>
 	 */
 	public static final long DEFAULT_PING_TEST_TIMEOUT_MS = 2_000L;
 
+	/**
+	 * The {@code writeBatchSize} property default value.
+	 * 
+	 * @since 1.2
+	 */
+	public static final int DEFAULT_WRITE_BATCH_SIZE = 1;
+
+	/**
+	 * The {@code writeBatchMaxLingerMs} property default value.
+	 * 
+	 * @since 1.2
+	 */
+	public static final long DEFAULT_WRITE_BATCH_MAX_LINGER_MS = 20L;
+
+	/**
+	 * Ping test status property for the average number of entities persisted
+	 * per batch.
+	 * 
+	 * @since 1.2
+	 */
+	public static final String BATCH_SIZE_AVERAGE_STATUS_PROP = "BatchSizeAverage";
+
+	/**
+	 * Ping test status property for the average batch flush time, in
+	 * milliseconds.
+	 * 
+	 * @since 1.2
+	 */
+	public static final String BATCH_FLUSH_AVERAGE_MS_STATUS_PROP = "BatchFlushAverageMs";
+
 	private static final Logger log = LoggerFactory.getLogger(SqsOverflowQueue.class);
 
 	private static final AtomicInteger READER_COUNTER = new AtomicInteger(0);
@@ -195,6 +236,8 @@ public class SqsOverflowQueue<T, K>
 	private String pingTestName = DEFAULT_PING_TEST_NAME;
 	private long pingTestTimeoutMs = DEFAULT_PING_TEST_TIMEOUT_MS;
 	private @Nullable Set<Class<? extends Throwable>> ignoredDaoExceptions;
+	private int writeBatchSize = DEFAULT_WRITE_BATCH_SIZE;
+	private long writeBatchMaxLingerMs = DEFAULT_WRITE_BATCH_MAX_LINGER_MS;
 
 	private @Nullable List<DaoWriterThread> writerThreads;
 	private @Nullable List<QueueReaderThread> readerThreads;
@@ -236,6 +279,18 @@ public class SqsOverflowQueue<T, K>
 		/** Work queue removals found to be cancelled. */
 		WorkQueueCancels,
 
+		/** Batches persisted by writers in batching mode. */
+		BatchFlushes,
+
+		/** Entities persisted by writers in batching mode. */
+		BatchObjects,
+
+		/** Total time spent flushing batches, in milliseconds. */
+		BatchFlushTimeMs,
+
+		/** Batches that failed and were persisted entity-by-entity instead. */
+		BatchFallbacks,
+
 		;
 
 	}
@@ -454,6 +509,13 @@ public class SqsOverflowQueue<T, K>
 								: 100)
 						: 0);
 		statMap.put(WORK_QUEUE_AVAILABLE_CAPACITY_STATUS_PROP, queue.remainingCapacity());
+		final long batchCount = stats.get(BasicCount.BatchFlushes);
+		if ( batchCount > 0 ) {
+			statMap.put(BATCH_SIZE_AVERAGE_STATUS_PROP,
+					(double) stats.get(BasicCount.BatchObjects) / batchCount);
+			statMap.put(BATCH_FLUSH_AVERAGE_MS_STATUS_PROP,
+					(double) stats.get(BasicCount.BatchFlushTimeMs) / batchCount);
+		}
 		if ( msgCount != null ) {
 			statMap.put(SQS_QUEUE_MESSAGE_COUNT_STATUS_PROP, new BigInteger(msgCount));
 		}
@@ -536,6 +598,64 @@ public class SqsOverflowQueue<T, K>
 		} else {
 			var _ = sendToSqs(entity, f);
 		}
+		return awaitResult(f);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>
+	 * All entities are offered to the work queue before waiting on any of
+	 * them, so a writer thread in batching mode can persist them together. The
+	 * {@code workItemMaxWaitMs} timeout applies to the batch as a whole; any
+	 * entity that cannot be added to the work queue, or does not get persisted
+	 * within the timeout, overflows to SQS individually.
+	 * </p>
+	 *
+	 * @since 1.3
+	 */
+	@Override
+	public List<@Nullable K> persistAll(List<? extends T> entities) {
+		final int count = entities.size();
+		final List<CompletableFuture<K>> futures = new ArrayList<>(count);
+		final boolean[] queued = new boolean[count];
+		for ( int i = 0; i < count; i++ ) {
+			final T entity = entities.get(i);
+			stats.increment(BasicCount.ObjectsReceived);
+			CompletableFuture<K> f = new CompletableFuture<>();
+			if ( queue.offer(new WorkItem<T, K>(entity, f)) ) {
+				stats.increment(BasicCount.WorkQueueAdds);
+				queued[i] = true;
+			} else {
+				var _ = sendToSqs(entity, f);
+			}
+			futures.add(f);
+		}
+		if ( workItemMaxWaitMs > 0 ) {
+			// wait for all to complete within timeout, then send remaining to SQS
+			final long deadline = System.nanoTime()
+					+ TimeUnit.MILLISECONDS.toNanos(workItemMaxWaitMs);
+			for ( int i = 0; i < count; i++ ) {
+				if ( !queued[i] ) {
+					continue;
+				}
+				final CompletableFuture<K> f = futures.get(i);
+				try {
+					var _ = f.get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+				} catch ( Exception e ) {
+					f.cancel(false);
+					futures.set(i, sendToSqs(entities.get(i), new CompletableFuture<K>()));
+				}
+			}
+		}
+		final List<@Nullable K> result = new ArrayList<>(count);
+		for ( CompletableFuture<K> f : futures ) {
+			result.add(awaitResult(f));
+		}
+		return result;
+	}
+
+	private @Nullable K awaitResult(CompletableFuture<K> f) {
 		try {
 			return f.get();
 		} catch ( Exception e ) {
@@ -824,6 +944,8 @@ public class SqsOverflowQueue<T, K>
 
 		@Override
 		public void run() {
+			final int batchSize = getWriteBatchSize();
+			final List<WorkItem<T, K>> batch = (batchSize > 1 ? new ArrayList<>(batchSize) : null);
 			while ( writeEnabled ) {
 				final WorkItem<T, K> item;
 				try {
@@ -837,31 +959,118 @@ public class SqsOverflowQueue<T, K>
 					stats.increment(BasicCount.WorkQueueCancels, true);
 					continue;
 				}
+				if ( batch == null ) {
+					persistItem(item);
+					continue;
+				}
+				batch.add(item);
 				try {
-					var id = persistEntityInternal(item.entity);
-					item.future.complete(id);
-				} catch ( Throwable t ) {
-					final K ignoredId = ignorePersistExceptionAndComplete(item.entity, t);
-					if ( ignoredId != null ) {
-						item.future.complete(ignoredId);
-					} else {
-						stats.increment(BasicCount.ObjectsFailed);
-						log.warn("Error storing entity {}: {}", item.entity, t.getMessage(), t);
-						UncaughtExceptionHandler exHandler = getUncaughtExceptionHandler();
-						if ( exHandler != null ) {
-							try {
-								exHandler.uncaughtException(this, t);
-							} catch ( Exception e ) {
-								log.error(
-										"Exception handler [{}] threw exception after error storing entity {}",
-										exHandler, item.entity, e);
-							}
+					fillBatch(batch, batchSize);
+				} catch ( InterruptedException e ) {
+					// flush what we have, then continue
+				}
+				try {
+					persistBatch(batch);
+				} finally {
+					batch.clear();
+				}
+			}
+			log.info("Writer thread exiting.");
+		}
+
+		/**
+		 * Drain more items from the work queue into a batch, waiting up to
+		 * {@code writeBatchMaxLingerMs} for the batch to fill.
+		 *
+		 * @param batch
+		 *        the batch to add to
+		 * @param batchSize
+		 *        the maximum batch size
+		 * @throws InterruptedException
+		 *         if interrupted while waiting
+		 */
+		private void fillBatch(List<WorkItem<T, K>> batch, int batchSize)
+				throws InterruptedException {
+			final long lingerMs = getWriteBatchMaxLingerMs();
+			final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMs);
+			while ( batch.size() < batchSize ) {
+				WorkItem<T, K> next = queue.poll();
+				if ( next == null ) {
+					final long remaining = deadline - System.nanoTime();
+					if ( remaining <= 0 ) {
+						break;
+					}
+					next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+					if ( next == null ) {
+						break;
+					}
+				}
+				stats.increment(BasicCount.WorkQueueRemovals, true);
+				if ( next.future.isDone() ) {
+					stats.increment(BasicCount.WorkQueueCancels, true);
+					continue;
+				}
+				batch.add(next);
+			}
+		}
+
+		private void persistBatch(List<WorkItem<T, K>> batch) {
+			if ( batch.size() == 1 ) {
+				persistItem(batch.getFirst());
+				return;
+			}
+			final List<T> entities = new ArrayList<>(batch.size());
+			for ( WorkItem<T, K> item : batch ) {
+				entities.add(item.entity);
+			}
+			final long start = System.currentTimeMillis();
+			final List<@Nullable K> ids;
+			try {
+				ids = dao.persistAll(entities);
+			} catch ( Throwable t ) {
+				stats.increment(BasicCount.BatchFallbacks);
+				log.debug("Error storing batch of {} entities, will persist individually: {}",
+						batch.size(), t.getMessage(), t);
+				for ( WorkItem<T, K> item : batch ) {
+					if ( !item.future.isDone() ) {
+						persistItem(item);
+					}
+				}
+				return;
+			}
+			stats.add(BasicCount.BatchFlushTimeMs, System.currentTimeMillis() - start, true);
+			stats.increment(BasicCount.BatchFlushes, true);
+			stats.add(BasicCount.BatchObjects, batch.size(), true);
+			stats.add(BasicCount.ObjectsStored, batch.size(), true);
+			for ( int i = 0, len = batch.size(); i < len; i++ ) {
+				batch.get(i).future.complete(i < ids.size() ? ids.get(i) : null);
+			}
+		}
+
+		private void persistItem(WorkItem<T, K> item) {
+			try {
+				var id = persistEntityInternal(item.entity);
+				item.future.complete(id);
+			} catch ( Throwable t ) {
+				final K ignoredId = ignorePersistExceptionAndComplete(item.entity, t);
+				if ( ignoredId != null ) {
+					item.future.complete(ignoredId);
+				} else {
+					stats.increment(BasicCount.ObjectsFailed);
+					log.warn("Error storing entity {}: {}", item.entity, t.getMessage(), t);
+					UncaughtExceptionHandler exHandler = getUncaughtExceptionHandler();
+					if ( exHandler != null ) {
+						try {
+							exHandler.uncaughtException(this, t);
+						} catch ( Exception e ) {
+							log.error(
+									"Exception handler [{}] threw exception after error storing entity {}",
+									exHandler, item.entity, e);
 						}
-						item.future.completeExceptionally(t);
 					}
+					item.future.completeExceptionally(t);
 				}
 			}
-			log.info("Writer thread exiting.");
 		}
 
 	}
@@ -1175,4 +1384,65 @@ public class SqsOverflowQueue<T, K>
 		this.ignoredDaoExceptions = ignoredDaoExceptions;
 	}
 
+	/**
+	 * Get the maximum number of entities each writer thread persists in a
+	 * single batch.
+	 * 
+	 * @return the batch size; defaults to {@link #DEFAULT_WRITE_BATCH_SIZE}
+	 * @since 1.2
+	 */
+	public final int getWriteBatchSize() {
+		return writeBatchSize;
+	}
+
+	/**
+	 * Set the maximum number of entities each writer thread persists in a
+	 * single batch.
+	 * 
+	 * <p>
+	 * A value of {@literal 1} disables batching, so each entity is persisted
+	 * via {@link GenericWriteOnlyDao#persist(Object)}. Changes take effect the
+	 * next time the writer threads are started.
+	 * </p>
+	 * 
+	 * @param writeBatchSize
+	 *        the batch size to set; anything less than {@literal 1} will be
+	 *        treated as {@literal 1}
+	 * @since 1.2
+	 */
+	public final void setWriteBatchSize(int writeBatchSize) {
+		if ( writeBatchSize < 1 ) {
+			writeBatchSize = 1;
+		}
+		this.writeBatchSize = writeBatchSize;
+	}
+
+	/**
+	 * Get the maximum amount of time a writer thread will wait for a batch to
+	 * fill before persisting it.
+	 * 
+	 * @return the maximum linger time, in milliseconds; defaults to
+	 *         {@link #DEFAULT_WRITE_BATCH_MAX_LINGER_MS}
+	 * @since 1.2
+	 */
+	public final long getWriteBatchMaxLingerMs() {
+		return writeBatchMaxLingerMs;
+	}
+
+	/**
+	 * Set the maximum amount of time a writer thread will wait for a batch to
+	 * fill before persisting it.
+	 * 
+	 * @param writeBatchMaxLingerMs
+	 *        the maximum linger time to set, in milliseconds; anything less
+	 *        than {@literal 0} will be treated as {@literal 0}
+	 * @since 1.2
+	 */
+	public final void setWriteBatchMaxLingerMs(long writeBatchMaxLingerMs) {
+		if ( writeBatchMaxLingerMs < 0 ) {
+			writeBatchMaxLingerMs = 0;
+		}
+		this.writeBatchMaxLingerMs = writeBatchMaxLingerMs;
+	}
+
 }
@@ -0,0 +1,70 @@
+/* ==================================================================
+ * BasicKeysetFilterResults.java - 17/10/2026 9:15:22 pm
+ *
+ * Copyright 2026 SolarNetwork.net Dev Team
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation; either version 2 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA
+ * 02111-1307 USA
+ * ==================================================================
+ */
+
+package net.solarnetwork.central.common.dao;
+
+import org.jspecify.annotations.Nullable;
+import net.solarnetwork.dao.BasicFilterResults;
+import net.solarnetwork.domain.Unique;
+
+/**
+ * Basic implementation of {@link KeysetFilterResults}.
+ *
+ * @param <M>
+ *        the match type
+ * @param <K>
+ *        the match key type
+ * @author matt
+ * @version 1.0
+ */
+public class BasicKeysetFilterResults<M extends Unique<K>, K extends Comparable<K>>
+		extends BasicFilterResults<M, K> implements KeysetFilterResults<M, K> {
+
+	private final @Nullable String nextCursor;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param results
+	 *        the results iterable
+	 * @param totalResults
+	 *        the total available results, or {@code null}
+	 * @param startingOffset
+	 *        the starting offset
+	 * @param returnedResultCount
+	 *        the count of objects in {@code results}
+	 * @param nextCursor
+	 *        the next page cursor, or {@code null} if no more results are
+	 *        available
+	 */
+	public BasicKeysetFilterResults(Iterable<M> results, @Nullable Long totalResults,
+			long startingOffset, int returnedResultCount, @Nullable String nextCursor) {
+		super(results, totalResults, startingOffset, returnedResultCount);
+		this.nextCursor = nextCursor;
+	}
+
+	@Override
+	public final @Nullable String getNextCursor() {
+		return nextCursor;
+	}
+
+}
@@ -36,7 +36,7 @@ import net.solarnetwork.dao.PaginationCriteria;
  * Basic implementation of {@link UserEventFilter}.
  *
  * @author matt
- * @version 1.1
+ * @version 1.2
  */
 public class BasicUserEventFilter extends BasicCoreCriteria
 		implements UserEventFilter, UserEventPurgeFilter {
@@ -44,6 +44,7 @@ public class BasicUserEventFilter extends BasicCoreCriteria
 	private String @Nullable [] tags;
 	private @Nullable Instant startDate;
 	private @Nullable Instant endDate;
+	private @Nullable String cursor;
 
 	/**
 	 * Constructor.
@@ -69,6 +70,7 @@ public class BasicUserEventFilter extends BasicCoreCriteria
 			setTags(c.getTags());
 			setStartDate(c.getStartDate());
 			setEndDate(c.getEndDate());
+			setCursor(c.getCursor());
 		} else {
 			if ( criteria instanceof TagCriteria c ) {
 				setTags(c.getTags());
@@ -77,6 +79,9 @@ public class BasicUserEventFilter extends BasicCoreCriteria
 				setStartDate(c.getStartDate());
 				setEndDate(c.getEndDate());
 			}
+			if ( criteria instanceof KeysetCriteria c ) {
+				setCursor(c.getCursor());
+			}
 		}
 	}
 
@@ -90,7 +95,7 @@ public class BasicUserEventFilter extends BasicCoreCriteria
 		final int prime = 31;
 		int result = super.hashCode();
 		result = prime * result + Arrays.hashCode(tags);
-		result = prime * result + Objects.hash(endDate, startDate);
+		result = prime * result + Objects.hash(endDate, startDate, cursor);
 		return result;
 	}
 
@@ -103,7 +108,7 @@ public class BasicUserEventFilter extends BasicCoreCriteria
 			return false;
 		}
 		return Objects.equals(endDate, other.endDate) && Arrays.equals(tags, other.tags)
-				&& Objects.equals(startDate, other.startDate);
+				&& Objects.equals(startDate, other.startDate) && Objects.equals(cursor, other.cursor);
 	}
 
 	@Override
@@ -113,6 +118,7 @@ public class BasicUserEventFilter extends BasicCoreCriteria
 				|| endDate != null
 				|| startDate != null
 				|| (tags != null && tags.length > 0)
+				|| cursor != null
 				;
 		// @formatter:on
 	}
@@ -179,4 +185,20 @@ public class BasicUserEventFilter extends BasicCoreCriteria
 		this.endDate = endDate;
 	}
 
+	@Override
+	public final @Nullable String getCursor() {
+		return cursor;
+	}
+
+	/**
+	 * Set the keyset pagination cursor.
+	 *
+	 * @param cursor
+	 *        the cursor to set
+	 * @since 1.2
+	 */
+	public final void setCursor(@Nullable String cursor) {
+		this.cursor = cursor;
+	}
+
 }
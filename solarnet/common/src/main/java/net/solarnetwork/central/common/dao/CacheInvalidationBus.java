@@ -0,0 +1,84 @@
+/* ==================================================================
+ * CacheInvalidationBus.java - 17/10/2026 8:32:14 pm
+ *
+ * Copyright 2026 SolarNetwork.net Dev Team
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation; either version 2 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA
+ * 02111-1307 USA
+ * ==================================================================
+ */
+
+package net.solarnetwork.central.common.dao;
+
+/**
+ * API for a service that delivers cache invalidation messages, so entities
+ * cached by one application instance can be evicted when they are changed by
+ * another.
+ *
+ * <p>
+ * Messages are made up of a <i>topic</i>, such as the name of the table an
+ * entity is stored in, and a <i>key</i>, which is the entity's primary key
+ * encoded as a string. Single-valued keys are encoded as plain strings and
+ * {@link net.solarnetwork.central.domain.CompositeKey} keys are encoded using
+ * {@link net.solarnetwork.central.domain.CompositeKey#ident()}.
+ * </p>
+ *
+ * @author matt
+ * @version 1.0
+ */
+public interface CacheInvalidationBus {
+
+	/**
+	 * A special topic and key value that signals that all cached entities
+	 * should be considered invalid, for example after the bus has been
+	 * disconnected and messages might have been missed.
+	 */
+	String ALL = "*";
+
+	/**
+	 * API for a cache invalidation message listener.
+	 */
+	@FunctionalInterface
+	interface Listener {
+
+		/**
+		 * Handle a cache invalidation message.
+		 *
+		 * @param topic
+		 *        the message topic, or {@link CacheInvalidationBus#ALL}
+		 * @param key
+		 *        the invalidated key, or {@link CacheInvalidationBus#ALL}
+		 */
+		void cacheKeyInvalidated(String topic, String key);
+
+	}
+
+	/**
+	 * Register a listener for cache invalidation messages.
+	 *
+	 * @param listener
+	 *        the listener to add
+	 */
+	void addInvalidationListener(Listener listener);
+
+	/**
+	 * Unregister a listener for cache invalidation messages.
+	 *
+	 * @param listener
+	 *        the listener to remove
+	 */
+	void removeInvalidationListener(Listener listener);
+
+}
@@ -27,11 +27,19 @@ import java.io.Serializable;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.function.Predicate;
 import javax.cache.Cache;
 import javax.cache.Cache.Entry;
 import org.jspecify.annotations.Nullable;
+import net.solarnetwork.central.domain.CompositeKey;
+import net.solarnetwork.central.domain.UserIdRelated;
 import net.solarnetwork.dao.Entity;
 import net.solarnetwork.dao.GenericDao;
 import net.solarnetwork.domain.SortDescriptor;
@@ -39,6 +47,34 @@ import net.solarnetwork.domain.SortDescriptor;
 /**
  * Proxy implementation of {@link GenericDao} with caching support.
  * 
+ * <p>
+ * If a {@link CacheInvalidationBus} and {@code invalidationTopic} are
+ * configured, cached entities will also be evicted when invalidation messages
+ * for the topic are received, so entities changed by other application
+ * instances are not served from the cache until their time-to-live expires.
+ * </p>
+ * 
+ * <p>
+ * Keys of user-related entities added to the cache via
+ * {@link #cachePut(Comparable, Entity)} are indexed by user ID, so
+ * {@link #evictUserKeysMatching(Long, Predicate)} can evict entries without
+ * iterating over the entire cache. The cache does not report entries it
+ * expires or evicts itself, so whenever the index has doubled in size since it
+ * was last pruned, the configured {@link Executor} prunes keys no longer in
+ * the cache from it. This keeps the index size proportional to the cache
+ * size.
+ * </p>
+ * 
+ * <p>
+ * To avoid caching an entity loaded from the delegate concurrently with an
+ * invalidation of that entity, an invalidation version is maintained for
+ * (stripes of) keys. Loading methods read the version via
+ * {@link #invalidationVersion(Object)} before querying the delegate and
+ * check it again with {@link #invalidatedSince(Object, long)} after adding the
+ * result to the cache, removing the result again if the key was invalidated
+ * in the meantime.
+ * </p>
+ * 
  * @param <T>
  *        the entity type managed by this DAO
  * @param <K>
@@ -46,7 +82,7 @@ import net.solarnetwork.domain.SortDescriptor;
  * @param <D>
  *        the delegate DAO type
  * @author matt
- * @version 2.0
+ * @version 2.1
  */
 public class CachingGenericDao<T extends Entity<K>, K extends Comparable<K> & Serializable, D extends GenericDao<T, K>>
 		implements GenericDao<T, K> {
@@ -60,6 +96,22 @@ public class CachingGenericDao<T extends Entity<K>, K extends Comparable<K> & Se
 	/** A background task executor. */
 	protected final Executor executor;
 
+	private static final int INVALIDATION_STRIPES = 64;
+
+	/** The minimum number of indexed user keys before pruning the index. */
+	private static final long MIN_USER_KEYS_PRUNE_THRESHOLD = 1024;
+
+	private final ConcurrentMap<Long, Set<K>> userKeys = new ConcurrentHashMap<>(16, 0.9f, 2);
+	private final AtomicLong userKeyCount = new AtomicLong();
+	private final AtomicBoolean userKeysPruning = new AtomicBoolean();
+	private volatile long userKeysPruneThreshold = MIN_USER_KEYS_PRUNE_THRESHOLD;
+	private final AtomicLongArray keyInvalidations = new AtomicLongArray(INVALIDATION_STRIPES);
+	private final AtomicLong bulkInvalidations = new AtomicLong();
+	private final CacheInvalidationBus.Listener invalidationListener = this::cacheKeyInvalidated;
+	private volatile @Nullable K keyTemplate;
+	private @Nullable CacheInvalidationBus invalidationBus;
+	private @Nullable String invalidationTopic;
+
 	/**
 	 * Constructor.
 	 *
@@ -93,7 +145,7 @@ public class CachingGenericDao<T extends Entity<K>, K extends Comparable<K> & Se
 	public K save(T entity) {
 		K result = delegate.save(entity);
 		if ( result != null ) {
-			cache.remove(result);
+			evict(result);
 		}
 		return result;
 	}
@@ -102,9 +154,13 @@ public class CachingGenericDao<T extends Entity<K>, K extends Comparable<K> & Se
 	public @Nullable T get(K id) {
 		T result = cache.get(id);
 		if ( result == null ) {
+			final long version = invalidationVersion(id);
 			result = delegate.get(id);
 			if ( result != null ) {
-				cache.put(id, result);
+				cachePut(id, result);
+				if ( invalidatedSince(id, version) ) {
+					cache.remove(id);
+				}
 			}
 		}
 		return result;
@@ -119,7 +175,172 @@ public class CachingGenericDao<T extends Entity<K>, K extends Comparable<K> & Se
 	public void delete(T entity) {
 		delegate.delete(entity);
 		if ( entity.getId() != null ) {
-			cache.remove(entity.getId());
+			evict(entity.getId());
+		}
+	}
+
+	/**
+	 * Add an entity to the cache.
+	 * 
+	 * <p>
+	 * If the entity is user-related, its key will be indexed by user ID.
+	 * </p>
+	 * 
+	 * @param key
+	 *        the cache key
+	 * @param entity
+	 *        the entity to cache
+	 * @since 2.1
+	 */
+	protected void cachePut(K key, T entity) {
+		cache.put(key, entity);
+		keyTemplate = key;
+		final Long userId = userId(key, entity);
+		if ( userId != null ) {
+			final boolean[] added = new boolean[1];
+			// add within compute so the set cannot be concurrently pruned from the index
+			userKeys.compute(userId, (_, keys) -> {
+				Set<K> result = (keys != null ? keys : ConcurrentHashMap.newKeySet());
+				added[0] = result.add(key);
+				return result;
+			});
+			if ( added[0] && userKeyCount.incrementAndGet() >= userKeysPruneThreshold
+					&& userKeysPruning.compareAndSet(false, true) ) {
+				executor.execute(this::pruneUserKeys);
+			}
+		}
+	}
+
+	/**
+	 * Remove keys no longer in the cache from the user key index.
+	 */
+	private void pruneUserKeys() {
+		try {
+			long count = 0;
+			for ( Long userId : userKeys.keySet() ) {
+				final Set<K> keys = userKeys.get(userId);
+				if ( keys == null ) {
+					continue;
+				}
+				keys.removeIf(key -> !cache.containsKey(key));
+				userKeys.computeIfPresent(userId, (_, s) -> (s.isEmpty() ? null : s));
+				count += keys.size();
+			}
+			userKeyCount.set(count);
+			userKeysPruneThreshold = Math.max(MIN_USER_KEYS_PRUNE_THRESHOLD, count * 2);
+		} finally {
+			userKeysPruning.set(false);
+		}
+	}
+
+	/**
+	 * Evict an entity from the cache.
+	 * 
+	 * @param key
+	 *        the cache key to evict
+	 * @since 2.1
+	 */
+	protected void evict(K key) {
+		keyInvalidated(key);
+		cache.remove(key);
+		final Long userId = userId(key, null);
+		if ( userId != null ) {
+			final Set<K> keys = userKeys.get(userId);
+			if ( keys != null ) {
+				keys.remove(key);
+			}
+		}
+	}
+
+	private static int invalidationStripe(Object key) {
+		final int h = key.hashCode();
+		return (h ^ (h >>> 16)) & (INVALIDATION_STRIPES - 1);
+	}
+
+	private void keyInvalidated(Object key) {
+		keyInvalidations.incrementAndGet(invalidationStripe(key));
+	}
+
+	/**
+	 * Get the current invalidation version of a key.
+	 * 
+	 * <p>
+	 * Call this before loading an entity from the delegate, and then pass the
+	 * returned value to {@link #invalidatedSince(Object, long)} after adding
+	 * the entity to the cache.
+	 * </p>
+	 * 
+	 * @param key
+	 *        the key to get the invalidation version of
+	 * @return the version
+	 * @since 2.1
+	 */
+	protected final long invalidationVersion(Object key) {
+		return keyInvalidations.get(invalidationStripe(key)) + bulkInvalidations.get();
+	}
+
+	/**
+	 * Test if a key might have been invalidated since a version returned from
+	 * {@link #invalidationVersion(Object)}.
+	 * 
+	 * <p>
+	 * Keys share versions, so this can return {@code true} when a different
+	 * key was invalidated, but never returns {@code false} when the given key
+	 * was invalidated.
+	 * </p>
+	 * 
+	 * @param key
+	 *        the key to test
+	 * @param version
+	 *        the version previously returned from
+	 *        {@link #invalidationVersion(Object)} for the same key
+	 * @return {@code true} if the key might have been invalidated
+	 * @since 2.1
+	 */
+	protected final boolean invalidatedSince(Object key, long version) {
+		return invalidationVersion(key) != version;
+	}
+
+	private static @Nullable Long userId(Object key, @Nullable Object entity) {
+		if ( key instanceof UserIdRelated u && u.userIdIsAssigned() ) {
+			return u.getUserId();
+		} else if ( entity instanceof UserIdRelated u && u.userIdIsAssigned() ) {
+			return u.getUserId();
+		}
+		return null;
+	}
+
+	/**
+	 * Evict all keys of a given user matching a predicate.
+	 * 
+	 * <p>
+	 * Only keys added via {@link #cachePut(Comparable, Entity)} are
+	 * considered, using an index of keys by user ID so the entire cache does
+	 * not need to be iterated over. Indexed keys no longer present in the
+	 * cache are also removed from the index.
+	 * </p>
+	 * 
+	 * @param userId
+	 *        the user ID of the keys to evict
+	 * @param filter
+	 *        the predicate to match keys of entries to evict from the cache
+	 * @since 2.1
+	 */
+	protected void evictUserKeysMatching(Long userId, Predicate<K> filter) {
+		bulkInvalidations.incrementAndGet();
+		final Set<K> keys = userKeys.get(userId);
+		if ( keys == null ) {
+			return;
+		}
+		for ( Iterator<K> itr = keys.iterator(); itr.hasNext(); ) {
+			K key = itr.next();
+			if ( filter.test(key) ) {
+				cache.remove(key);
+				itr.remove();
+			} else if ( !cache.containsKey(key) ) {
+				// prune keys that have expired from the cache
+				itr.remove();
+			}
 		}
 	}
 
@@ -136,6 +357,7 @@ public class CachingGenericDao<T extends Entity<K>, K extends Comparable<K> & Se
 	 */
 	protected void evictKeysMatching(Predicate<K> filter) {
 		executor.execute(() -> {
+			bulkInvalidations.incrementAndGet();
 			for ( Iterator<Entry<K, T>> itr = cache.iterator(); itr.hasNext(); ) {
 				Entry<K, T> entry = itr.next();
 				if ( entry == null ) {
@@ -148,4 +370,151 @@ public class CachingGenericDao<T extends Entity<K>, K extends Comparable<K> & Se
 		});
 	}
 
+	/**
+	 * Handle a cache invalidation message.
+	 * 
+	 * @param topic
+	 *        the message topic
+	 * @param key
+	 *        the invalidated key
+	 */
+	private void cacheKeyInvalidated(String topic, String key) {
+		if ( !(CacheInvalidationBus.ALL.equals(topic) || topic.equals(invalidationTopic)) ) {
+			return;
+		}
+		final K k = (CacheInvalidationBus.ALL.equals(key) ? null : parseCacheKey(key));
+		if ( k != null ) {
+			cacheKeyInvalidated(k);
+		} else {
+			cacheInvalidated();
+		}
+	}
+
+	/**
+	 * Handle the invalidation of all cache keys via the configured
+	 * {@link CacheInvalidationBus}.
+	 * 
+	 * <p>
+	 * This implementation clears the cache. Extending classes can override to
+	 * clear other related caches as well.
+	 * </p>
+	 * 
+	 * @since 2.1
+	 */
+	protected void cacheInvalidated() {
+		bulkInvalidations.incrementAndGet();
+		cache.clear();
+		userKeys.clear();
+		userKeyCount.set(0);
+	}
+
+	/**
+	 * Handle the invalidation of a cache key via the configured
+	 * {@link CacheInvalidationBus}.
+	 * 
+	 * <p>
+	 * This implementation calls {@link #evict(Comparable)}. Extending classes
+	 * can override to evict other related keys as well.
+	 * </p>
+	 * 
+	 * @param key
+	 *        the invalidated key
+	 * @since 2.1
+	 */
+	protected void cacheKeyInvalidated(K key) {
+		evict(key);
+	}
+
+	/**
+	 * Parse a key from an invalidation message.
+	 * 
+	 * <p>
+	 * This implementation supports {@link Long} and {@link CompositeKey} keys,
+	 * using the type of the most recent key added to the cache.
+	 * </p>
+	 * 
+	 * @param value
+	 *        the key value to parse
+	 * @return the key, or {@code null} if the key cannot be parsed, in which
+	 *         case all entries will be evicted
+	 * @since 2.1
+	 */
+	@SuppressWarnings("unchecked")
+	protected @Nullable K parseCacheKey(String value) {
+		final K template = keyTemplate;
+		try {
+			if ( template instanceof Long ) {
+				return (K) Long.valueOf(value);
+			} else if ( template instanceof CompositeKey ck && value.length() > 1
+					&& value.charAt(0) == '(' && value.charAt(value.length() - 1) == ')' ) {
+				final String[] vals = value.substring(1, value.length() - 1).split(",", -1);
+				final Object[] components = new Object[vals.length];
+				for ( int i = 0; i < vals.length; i++ ) {
+					components[i] = (vals[i].isEmpty() ? null : vals[i]);
+				}
+				return (K) ck.createKey(null, components);
+			}
+		} catch ( IllegalArgumentException e ) {
+			// ignore and treat as unknown
+		}
+		return null;
+	}
+
+	/**
+	 * Get the cache invalidation bus.
+	 * 
+	 * @return the bus
+	 * @since 2.1
+	 */
+	public final @Nullable CacheInvalidationBus getInvalidationBus() {
+		return invalidationBus;
+	}
+
+	/**
+	 * Set the cache invalidation bus.
+	 * 
+	 * @param invalidationBus
+	 *        the bus to set
+	 * @since 2.1
+	 */
+	public synchronized void setInvalidationBus(@Nullable CacheInvalidationBus invalidationBus) {
+		final CacheInvalidationBus old = this.invalidationBus;
+		if ( old == invalidationBus ) {
+			return;
+		}
+		if ( old != null ) {
+			old.removeInvalidationListener(invalidationListener);
+		}
+		this.invalidationBus = invalidationBus;
+		if ( invalidationBus != null ) {
+			invalidationBus.addInvalidationListener(invalidationListener);
+		}
+	}
+
+	/**
+	 * Get the cache invalidation topic.
+	 * 
+	 * @return the topic
+	 * @since 2.1
+	 */
+	public final @Nullable String getInvalidationTopic() {
+		return invalidationTopic;
+	}
+
+	/**
+	 * Set the cache invalidation topic.
+	 * 
+	 * <p>
+	 * This is the topic of {@link CacheInvalidationBus} messages relevant to
+	 * this DAO, for example the name of the table the entities are stored in.
+	 * </p>
+	 * 
+	 * @param invalidationTopic
+	 *        the topic to set
+	 * @since 2.1
+	 */
+	public final void setInvalidationTopic(@Nullable String invalidationTopic) {
+		this.invalidationTopic = invalidationTopic;
+	}
+
 }
@@ -22,13 +22,15 @@
 
 package net.solarnetwork.central.common.dao;
 
+import java.util.ArrayList;
+import java.util.List;
 import org.jspecify.annotations.Nullable;
 
 /**
  * API for a generic write-only DAO.
  * 
  * @author matt
- * @version 1.0
+ * @version 1.1
  */
 public interface GenericWriteOnlyDao<T, K> {
 
@@ -43,4 +45,31 @@ public interface GenericWriteOnlyDao<T, K> {
 	@Nullable
 	K persist(T entity);
 
+	/**
+	 * Persist a batch of new entities.
+	 *
+	 * <p>
+	 * Implementations are encouraged to persist all entities using as few
+	 * round trips as possible, for example within a single transaction or
+	 * JDBC batch. If any entity cannot be persisted an exception should be
+	 * thrown, in which case callers should assume none of the entities were
+	 * persisted. This default implementation simply calls
+	 * {@link #persist(Object)} for each entity.
+	 * </p>
+	 *
+	 * @param entities
+	 *        the entities to add
+	 * @return the primary keys, in the same order as {@code entities}; an
+	 *         element will be {@code null} if the associated entity was not
+	 *         persisted
+	 * @since 1.1
+	 */
+	default List<@Nullable K> persistAll(List<? extends T> entities) {
+		final List<@Nullable K> result = new ArrayList<>(entities.size());
+		for ( T entity : entities ) {
+			result.add(persist(entity));
+		}
+		return result;
+	}
+
 }
@@ -0,0 +1,61 @@
+/* ==================================================================
+ * KeysetCriteria.java - 17/10/2026 9:12:41 pm
+ *
+ * Copyright 2026 SolarNetwork.net Dev Team
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation; either version 2 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA
+ * 02111-1307 USA
+ * ==================================================================
+ */
+
+package net.solarnetwork.central.common.dao;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Criteria API for keyset (seek) pagination.
+ *
+ * <p>
+ * A keyset cursor is an opaque token that encodes the sort key of the last
+ * result of a previous page of results. When provided, queries return the
+ * results that sort <b>after</b> the cursor, instead of skipping over an
+ * offset number of results.
+ * </p>
+ *
+ * @author matt
+ * @version 1.0
+ * @see KeysetCursor
+ */
+public interface KeysetCriteria {
+
+	/**
+	 * Get the keyset cursor.
+	 *
+	 * @return the cursor, or {@code null} to start from the first result
+	 */
+	@Nullable
+	String getCursor();
+
+	/**
+	 * Test if a keyset cursor is available.
+	 *
+	 * @return {@code true} if a cursor is available
+	 */
+	default boolean hasCursor() {
+		String c = getCursor();
+		return (c != null && !c.isEmpty());
+	}
+
+}
@@ -0,0 +1,193 @@
+/* ==================================================================
+ * KeysetCursor.java - 17/10/2026 9:10:17 pm
+ *
+ * Copyright 2026 SolarNetwork.net Dev Team
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation; either version 2 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA
+ * 02111-1307 USA
+ * ==================================================================
+ */
+
+package net.solarnetwork.central.common.dao;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static net.solarnetwork.util.ObjectUtils.requireNonNullArgument;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * An opaque keyset pagination cursor, holding the sort key values of the last
+ * result of a page of results.
+ *
+ * <p>
+ * Each value is stored as a string, and the {@link #token()} form is a URL-safe
+ * encoding of those strings. The typed accessor methods like
+ * {@link #longValue(int)} parse values back into their original types; it is
+ * up to the query using the cursor to know the types of its sort key values.
+ * </p>
+ *
+ * @param values
+ *        the sort key values
+ * @author matt
+ * @version 1.0
+ */
+public record KeysetCursor(List<String> values) {
+
+	private static final char DELIMITER = '.';
+
+	/**
+	 * Constructor.
+	 *
+	 * @param values
+	 *        the sort key values
+	 * @throws IllegalArgumentException
+	 *         if {@code values} is {@code null}
+	 */
+	public KeysetCursor {
+		values = List.copyOf(requireNonNullArgument(values, "values"));
+	}
+
+	/**
+	 * Create a new cursor from a list of sort key values.
+	 *
+	 * <p>
+	 * Each value is converted to a string with {@link Object#toString()}.
+	 * </p>
+	 *
+	 * @param values
+	 *        the values
+	 * @return the cursor
+	 * @throws IllegalArgumentException
+	 *         if any value is {@code null}
+	 */
+	public static KeysetCursor of(Object... values) {
+		List<String> l = new ArrayList<>(values.length);
+		for ( Object v : values ) {
+			l.add(requireNonNullArgument(v, "value").toString());
+		}
+		return new KeysetCursor(l);
+	}
+
+	/**
+	 * Parse a cursor token.
+	 *
+	 * @param token
+	 *        the token to parse, as previously returned from {@link #token()}
+	 * @param count
+	 *        the expected number of values
+	 * @return the cursor
+	 * @throws IllegalArgumentException
+	 *         if {@code token} is not a valid cursor with {@code count} values
+	 */
+	public static KeysetCursor parse(String token, int count) {
+		requireNonNullArgument(token, "token");
+		final Base64.Decoder decoder = Base64.getUrlDecoder();
+		final List<String> l = new ArrayList<>(count);
+		int start = 0;
+		while ( start <= token.length() ) {
+			int end = token.indexOf(DELIMITER, start);
+			if ( end < 0 ) {
+				end = token.length();
+			}
+			l.add(new String(decoder.decode(token.substring(start, end)), UTF_8));
+			start = end + 1;
+		}
+		if ( l.size() != count ) {
+			throw new IllegalArgumentException("Invalid cursor.");
+		}
+		return new KeysetCursor(l);
+	}
+
+	/**
+	 * Get the opaque token form of this cursor.
+	 *
+	 * @return the token
+	 */
+	public String token() {
+		final Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+		final StringBuilder buf = new StringBuilder();
+		for ( String v : values ) {
+			if ( !buf.isEmpty() ) {
+				buf.append(DELIMITER);
+			}
+			buf.append(encoder.encodeToString(v.getBytes(UTF_8)));
+		}
+		return buf.toString();
+	}
+
+	/**
+	 * Get a value as a string.
+	 *
+	 * @param index
+	 *        the value index
+	 * @return the value
+	 */
+	public String stringValue(int index) {
+		return values.get(index);
+	}
+
+	/**
+	 * Get a value as a long.
+	 *
+	 * @param index
+	 *        the value index
+	 * @return the value
+	 * @throws IllegalArgumentException
+	 *         if the value is not a valid long
+	 */
+	public long longValue(int index) {
+		return Long.parseLong(values.get(index));
+	}
+
+	/**
+	 * Get a value as a UUID.
+	 *
+	 * @param index
+	 *        the value index
+	 * @return the value
+	 * @throws IllegalArgumentException
+	 *         if the value is not a valid UUID
+	 */
+	public UUID uuidValue(int index) {
+		return UUID.fromString(values.get(index));
+	}
+
+	/**
+	 * Get a value as an instant.
+	 *
+	 * @param index
+	 *        the value index
+	 * @return the value
+	 * @throws IllegalArgumentException
+	 *         if the value is not a valid ISO 8601 instant
+	 */
+	public Instant instantValue(int index) {
+		try {
+			return Instant.parse(values.get(index));
+		} catch ( DateTimeParseException e ) {
+			throw new IllegalArgumentException("Invalid cursor instant value.", e);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return token();
+	}
+
+}
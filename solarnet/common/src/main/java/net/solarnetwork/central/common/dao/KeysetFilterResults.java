@@ -0,0 +1,52 @@
+/* ==================================================================
+ * KeysetFilterResults.java - 17/10/2026 9:14:03 pm
+ *
+ * Copyright 2026 SolarNetwork.net Dev Team
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation; either version 2 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA
+ * 02111-1307 USA
+ * ==================================================================
+ */
+
+package net.solarnetwork.central.common.dao;
+
+import org.jspecify.annotations.Nullable;
+import net.solarnetwork.dao.FilterResults;
+import net.solarnetwork.domain.Unique;
+
+/**
+ * API for filter results that support keyset (seek) pagination.
+ *
+ * @param <M>
+ *        the match type
+ * @param <K>
+ *        the match key type
+ * @author matt
+ * @version 1.0
+ */
+public interface KeysetFilterResults<M extends Unique<K>, K extends Comparable<K>>
+		extends FilterResults<M, K> {
+
+	/**
+	 * Get a cursor for the next page of results.
+	 *
+	 * @return the cursor to pass as {@link KeysetCriteria#getCursor()} to get
+	 *         the next page of results, or {@code null} if no more results are
+	 *         available
+	 */
+	@Nullable
+	String getNextCursor();
+
+}
@@ -32,7 +32,7 @@ import net.solarnetwork.dao.FilterableDao;
  * DAO API user events.
  * 
  * @author matt
- * @version 1.1
+ * @version 1.2
  */
 public interface UserEventDao
 		extends UserEventAppenderDao, FilterableDao<UserEvent, UserUuidPK, UserEventFilter> {
@@ -40,6 +40,13 @@ public interface UserEventDao
 	/**
 	 * API for querying for a filtered stream of {@link UserEvent} entities.
 	 * 
+	 * <p>
+	 * If the filter has a maximum result count and that many results are
+	 * returned, a cursor for the next page of results is passed to the
+	 * processor as the
+	 * {@link FilteredResultsProcessor#NEXT_CURSOR_ATTRIBUTE} start attribute.
+	 * </p>
+	 * 
 	 * @param filter
 	 *        the filter
 	 * @param processor
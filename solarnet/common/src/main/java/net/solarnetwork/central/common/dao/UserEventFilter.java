@@ -30,9 +30,9 @@ import net.solarnetwork.dao.SortCriteria;
  * Filter API for user events.
  * 
  * @author matt
- * @version 1.1
+ * @version 1.2
  */
 public interface UserEventFilter extends UserCriteria, TagCriteria, DateRangeCriteria,
-		SearchFilterCriteria, PaginationCriteria, SortCriteria {
+		SearchFilterCriteria, PaginationCriteria, SortCriteria, KeysetCriteria {
 
 }
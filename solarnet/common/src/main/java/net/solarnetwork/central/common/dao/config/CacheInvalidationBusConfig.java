@@ -0,0 +1,88 @@
+/* ==================================================================
+ * CacheInvalidationBusConfig.java - 17/10/2026 9:14:27 pm
+ *
+ * Copyright 2026 SolarNetwork.net Dev Team
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation; either version 2 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA
+ * 02111-1307 USA
+ * ==================================================================
+ */
+
+package net.solarnetwork.central.common.dao.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import net.solarnetwork.central.common.dao.jdbc.JdbcCacheInvalidationBus;
+
+/**
+ * Cache invalidation bus configuration.
+ *
+ * <p>
+ * The bus is only enabled when the {@code app.cache.invalidation.enabled}
+ * property is {@code true}. The bus holds one database connection open, so it
+ * connects via its own non-pooled data source, not the shared connection pool.
+ * The connection settings of the main data source are used, unless
+ * {@code app.cache.invalidation.datasource.url}, {@code username}, or
+ * {@code password} properties are configured. The connection must be to the
+ * primary database server.
+ * </p>
+ *
+ * @author matt
+ * @version 1.0
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "app.cache.invalidation.enabled", havingValue = "true")
+public class CacheInvalidationBusConfig {
+
+	@Value("${app.cache.invalidation.poll-timeout:5000}")
+	private int pollTimeout = JdbcCacheInvalidationBus.DEFAULT_POLL_TIMEOUT;
+
+	@Value("${app.cache.invalidation.connection-recovery-delay:15000}")
+	private long connectionRecoveryDelay = JdbcCacheInvalidationBus.DEFAULT_CONNECTION_RECOVERY_DELAY;
+
+	@Value("${app.cache.invalidation.datasource.url:}")
+	private String url;
+
+	@Value("${app.cache.invalidation.datasource.username:}")
+	private String username;
+
+	@Value("${app.cache.invalidation.datasource.password:}")
+	private String password;
+
+	@Bean(initMethod = "serviceDidStartup", destroyMethod = "serviceDidShutdown")
+	public JdbcCacheInvalidationBus cacheInvalidationBus(DataSourceProperties dataSourceProperties) {
+		DataSourceBuilder<SimpleDriverDataSource> dataSource = dataSourceProperties
+				.initializeDataSourceBuilder().type(SimpleDriverDataSource.class);
+		if ( !url.isEmpty() ) {
+			dataSource.url(url);
+		}
+		if ( !username.isEmpty() ) {
+			dataSource.username(username);
+		}
+		if ( !password.isEmpty() ) {
+			dataSource.password(password);
+		}
+		JdbcCacheInvalidationBus bus = new JdbcCacheInvalidationBus(dataSource.build());
+		bus.setPollTimeout(pollTimeout);
+		bus.setConnectionRecoveryDelay(connectionRecoveryDelay);
+		return bus;
+	}
+
+}
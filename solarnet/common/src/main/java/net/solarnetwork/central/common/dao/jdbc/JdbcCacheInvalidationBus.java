@@ -0,0 +1,291 @@
+/* ==================================================================
+ * JdbcCacheInvalidationBus.java - 17/10/2026 8:41:52 pm
+ *
+ * Copyright 2026 SolarNetwork.net Dev Team
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation; either version 2 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA
+ * 02111-1307 USA
+ * ==================================================================
+ */
+
+package net.solarnetwork.central.common.dao.jdbc;
+
+import static net.solarnetwork.util.ObjectUtils.requireNonNullArgument;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+import javax.sql.DataSource;
+import org.jspecify.annotations.Nullable;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import net.solarnetwork.central.common.dao.CacheInvalidationBus;
+import net.solarnetwork.service.ServiceLifecycleObserver;
+
+/**
+ * PostgreSQL {@code LISTEN}/{@code NOTIFY} implementation of
+ * {@link CacheInvalidationBus}.
+ *
+ * <p>
+ * A dedicated database connection is used to {@code LISTEN} on a notification
+ * channel. Notification payloads are expected in the form
+ * {@code topic\nkey}, as generated by the
+ * {@code solarcommon.notify_cache_invalidate()} trigger function. Each time
+ * the connection starts listening, including the first time, all listeners
+ * will be notified that all keys are invalid, as notifications sent before
+ * then have been missed. If the connection fails it will be re-established
+ * after a delay.
+ * </p>
+ *
+ * <p>
+ * The connection is held for as long as the listener runs, so the configured
+ * {@link DataSource} should not be a pool shared with other services, where it
+ * would permanently take one connection away from them. A non-pooled
+ * {@link DataSource} that opens a new physical connection for each request is
+ * appropriate. Note also that notifications are not delivered to connections
+ * on a read-only standby server, so the {@link DataSource} must connect to the
+ * primary server.
+ * </p>
+ *
+ * @author matt
+ * @version 1.0
+ */
+public class JdbcCacheInvalidationBus implements CacheInvalidationBus, ServiceLifecycleObserver {
+
+	/** The {@code channel} property default value. */
+	public static final String DEFAULT_CHANNEL = "solarnet_cache_invalidate";
+
+	/** The {@code pollTimeout} property default value. */
+	public static final int DEFAULT_POLL_TIMEOUT = 5000;
+
+	/** The {@code connectionRecoveryDelay} property default value. */
+	public static final long DEFAULT_CONNECTION_RECOVERY_DELAY = 15000;
+
+	private static final Pattern CHANNEL_NAME_REGEX = Pattern.compile("[a-z_][a-z0-9_]*");
+
+	private static final Logger log = LoggerFactory.getLogger(JdbcCacheInvalidationBus.class);
+
+	private final DataSource dataSource;
+	private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+	private String channel = DEFAULT_CHANNEL;
+	private int pollTimeout = DEFAULT_POLL_TIMEOUT;
+	private long connectionRecoveryDelay = DEFAULT_CONNECTION_RECOVERY_DELAY;
+	private @Nullable ListenerThread listenerThread;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param dataSource
+	 *        the data source to listen for notifications with
+	 * @throws IllegalArgumentException
+	 *         if any argument is {@code null}
+	 */
+	public JdbcCacheInvalidationBus(DataSource dataSource) {
+		super();
+		this.dataSource = requireNonNullArgument(dataSource, "dataSource");
+	}
+
+	@Override
+	public synchronized void serviceDidStartup() {
+		if ( listenerThread == null || !listenerThread.isGoing() ) {
+			ListenerThread t = new ListenerThread();
+			t.setName("CacheInvalidationListener");
+			t.setDaemon(true);
+			this.listenerThread = t;
+			t.start();
+		}
+	}
+
+	@Override
+	public synchronized void serviceDidShutdown() {
+		if ( listenerThread != null ) {
+			listenerThread.exit();
+			listenerThread = null;
+		}
+	}
+
+	@Override
+	public void addInvalidationListener(Listener listener) {
+		listeners.add(requireNonNullArgument(listener, "listener"));
+	}
+
+	@Override
+	public void removeInvalidationListener(Listener listener) {
+		listeners.remove(listener);
+	}
+
+	/**
+	 * Handle a notification payload.
+	 *
+	 * @param payload
+	 *        the payload, in the form {@code topic\nkey}
+	 */
+	public void handleNotification(@Nullable String payload) {
+		final int idx = (payload != null ? payload.indexOf('\n') : -1);
+		if ( payload == null || idx < 1 ) {
+			log.debug("Ignoring unsupported cache invalidation payload [{}]", payload);
+			return;
+		}
+		notifyListeners(payload.substring(0, idx), payload.substring(idx + 1));
+	}
+
+	private void notifyListeners(String topic, String key) {
+		log.trace("Cache key [{}] invalidated on topic [{}]", key, topic);
+		for ( Listener l : listeners ) {
+			try {
+				l.cacheKeyInvalidated(topic, key);
+			} catch ( Exception e ) {
+				log.warn("Error handling cache invalidation of key [{}] on topic [{}]: {}", key, topic,
+						e.toString(), e);
+			}
+		}
+	}
+
+	private class ListenerThread extends Thread {
+
+		private final AtomicBoolean keepGoing = new AtomicBoolean(true);
+
+		private boolean isGoing() {
+			return keepGoing.get();
+		}
+
+		private void exit() {
+			keepGoing.set(false);
+		}
+
+		@Override
+		public void run() {
+			log.info("Started cache invalidation listener on channel [{}]", channel);
+			while ( keepGoing.get() ) {
+				try {
+					listen();
+				} catch ( SQLException | RuntimeException e ) {
+					log.warn("Exception listening for cache invalidation notifications: {}",
+							e.toString());
+					try {
+						Thread.sleep(connectionRecoveryDelay);
+					} catch ( InterruptedException e2 ) {
+						log.info("Cache invalidation listener interrupted: exiting now.");
+						keepGoing.set(false);
+					}
+				}
+			}
+			log.info("Stopped cache invalidation listener on channel [{}]", channel);
+		}
+
+		private void listen() throws SQLException {
+			try (Connection conn = dataSource.getConnection()) {
+				conn.setAutoCommit(true);
+				try (Statement stmt = conn.createStatement()) {
+					stmt.execute("LISTEN " + channel);
+				}
+				// notifications might have been missed before listening started, either
+				// while disconnected or while caches were populated during startup
+				notifyListeners(ALL, ALL);
+				final PGConnection pgConn = conn.unwrap(PGConnection.class);
+				while ( keepGoing.get() ) {
+					PGNotification[] notifications = pgConn.getNotifications(pollTimeout);
+					if ( notifications == null ) {
+						continue;
+					}
+					for ( PGNotification n : notifications ) {
+						handleNotification(n.getParameter());
+					}
+				}
+				try (Statement stmt = conn.createStatement()) {
+					stmt.execute("UNLISTEN *");
+				}
+			}
+		}
+
+	}
+
+	/**
+	 * Get the notification channel name.
+	 *
+	 * @return the channel name; defaults to {@link #DEFAULT_CHANNEL}
+	 */
+	public final String getChannel() {
+		return channel;
+	}
+
+	/**
+	 * Set the notification channel name.
+	 *
+	 * <p>
+	 * Changes only take effect the next time the listener connects.
+	 * </p>
+	 *
+	 * @param channel
+	 *        the channel name to set; must be a lower-case SQL identifier
+	 * @throws IllegalArgumentException
+	 *         if {@code channel} is not a valid channel name
+	 */
+	public final void setChannel(String channel) {
+		if ( channel == null || !CHANNEL_NAME_REGEX.matcher(channel).matches() ) {
+			throw new IllegalArgumentException("Invalid channel name [%s]".formatted(channel));
+		}
+		this.channel = channel;
+	}
+
+	/**
+	 * Get the maximum amount of time to wait for notifications, in
+	 * milliseconds, before checking if the listener should stop.
+	 *
+	 * @return the timeout; defaults to {@link #DEFAULT_POLL_TIMEOUT}
+	 */
+	public final int getPollTimeout() {
+		return pollTimeout;
+	}
+
+	/**
+	 * Set the maximum amount of time to wait for notifications, in
+	 * milliseconds, before checking if the listener should stop.
+	 *
+	 * @param pollTimeout
+	 *        the timeout to set
+	 */
+	public final void setPollTimeout(int pollTimeout) {
+		this.pollTimeout = pollTimeout;
+	}
+
+	/**
+	 * Get the amount of time to wait before reconnecting after a connection
+	 * failure, in milliseconds.
+	 *
+	 * @return the delay; defaults to {@link #DEFAULT_CONNECTION_RECOVERY_DELAY}
+	 */
+	public final long getConnectionRecoveryDelay() {
+		return connectionRecoveryDelay;
+	}
+
+	/**
+	 * Set the amount of time to wait before reconnecting after a connection
+	 * failure, in milliseconds.
+	 *
+	 * @param connectionRecoveryDelay
+	 *        the delay to set
+	 */
+	public final void setConnectionRecoveryDelay(long connectionRecoveryDelay) {
+		this.connectionRecoveryDelay = connectionRecoveryDelay;
+	}
+
+}
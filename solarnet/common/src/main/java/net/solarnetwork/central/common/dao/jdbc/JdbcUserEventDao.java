@@ -33,6 +33,7 @@ import org.jspecify.annotations.Nullable;
 import org.springframework.jdbc.core.JdbcOperations;
 import org.springframework.jdbc.core.PreparedStatementCreator;
 import org.springframework.jdbc.core.RowMapper;
+import net.solarnetwork.central.common.dao.KeysetCursor;
 import net.solarnetwork.central.common.dao.UserEventDao;
 import net.solarnetwork.central.common.dao.UserEventFilter;
 import net.solarnetwork.central.common.dao.UserEventMaintenanceDao;
@@ -49,7 +50,7 @@ import net.solarnetwork.domain.SortDescriptor;
  * JDBC implementation of {@link UserEventDao}.
  *
  * @author matt
- * @version 1.2
+ * @version 1.3
  */
 public class JdbcUserEventDao implements UserEventDao, UserEventMaintenanceDao {
 
@@ -79,7 +80,12 @@ public class JdbcUserEventDao implements UserEventDao, UserEventMaintenanceDao {
 	public FilterResults<UserEvent, UserUuidPK> findFiltered(UserEventFilter filter,
 			@Nullable List<SortDescriptor> sorts, @Nullable Long offset, @Nullable Integer max) {
 		SelectUserEvent sql = new SelectUserEvent(filter);
-		return executeFilterQuery(jdbcOps, filter, sql, UserEventRowMapper.INSTANCE);
+		return executeFilterQuery(jdbcOps, filter, sql, UserEventRowMapper.INSTANCE,
+				JdbcUserEventDao::cursor);
+	}
+
+	private static KeysetCursor cursor(UserEvent event) {
+		return KeysetCursor.of(event.getUserId(), event.id().getUuid());
 	}
 
 	@Override
@@ -95,7 +101,21 @@ public class JdbcUserEventDao implements UserEventDao, UserEventMaintenanceDao {
 		requireNonNullArgument(processor, "processor");
 		final PreparedStatementCreator sql = new SelectUserEvent(filter);
 		final RowMapper<UserEvent> mapper = UserEventRowMapper.INSTANCE;
-		processor.start(null, null, null, Map.of()); // TODO: support count total results/offset/max
+		final Integer max = filter.getMax();
+		if ( max != null && max > 0 ) {
+			// load the page first, so the next cursor can be passed to the processor
+			final List<UserEvent> page = jdbcOps.query(sql, mapper);
+			processor.start(null, null, page.size(),
+					page.size() >= max
+							? Map.of(FilteredResultsProcessor.NEXT_CURSOR_ATTRIBUTE,
+									cursor(page.getLast()).token())
+							: Map.of());
+			for ( UserEvent event : page ) {
+				processor.handleResultItem(event);
+			}
+			return;
+		}
+		processor.start(null, null, null, Map.of()); // TODO: support count total results/offset
 		try {
 			jdbcOps.execute(sql, (PreparedStatement ps) -> {
 				try (ResultSet rs = ps.executeQuery()) {
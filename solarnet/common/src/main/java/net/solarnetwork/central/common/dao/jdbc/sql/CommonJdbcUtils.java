@@ -39,6 +39,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import org.jspecify.annotations.Nullable;
 import org.postgresql.util.PGInterval;
 import org.springframework.jdbc.core.JdbcOperations;
@@ -46,6 +47,9 @@ import org.springframework.jdbc.core.PreparedStatementCreator;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
+import net.solarnetwork.central.common.dao.BasicKeysetFilterResults;
+import net.solarnetwork.central.common.dao.KeysetCriteria;
+import net.solarnetwork.central.common.dao.KeysetCursor;
 import net.solarnetwork.central.common.dao.jdbc.CountPreparedStatementCreatorProvider;
 import net.solarnetwork.central.support.FilteredResultsProcessor;
 import net.solarnetwork.dao.BasicFilterResults;
@@ -60,7 +64,7 @@ import net.solarnetwork.util.ObjectUtils;
  * Common JDBC utilities.
  *
  * @author matt
- * @version 2.4
+ * @version 2.6
  */
 public final class CommonJdbcUtils {
 
@@ -185,6 +189,214 @@ public final class CommonJdbcUtils {
 		return result;
 	}
 
+	/**
+	 * Get a numeric array result column value by decoding the column's text
+	 * form directly.
+	 *
+	 * <p>
+	 * This method avoids creating a {@link Array} and then converting that
+	 * into a {@link BigDecimal} array, which can be significantly faster for
+	 * large result sets. Non-finite values are mapped to {@code null}, as with
+	 * {@link #getArray(ResultSet, int)}. If the column value is not a
+	 * one-dimensional array literal then {@link #getArray(ResultSet, int)} will
+	 * be used instead.
+	 * </p>
+	 *
+	 * @param rs
+	 *        the result set
+	 * @param colNum
+	 *        the column number
+	 * @return the array, or {@code null} if the column value is null
+	 * @throws SQLException
+	 *         if any SQL error occurs
+	 * @see #parseDecimalArrayLiteral(String)
+	 * @since 2.5
+	 */
+	public static BigDecimal @Nullable [] getDecimalArray(ResultSet rs, int colNum)
+			throws SQLException {
+		final String literal = rs.getString(colNum);
+		try {
+			return parseDecimalArrayLiteral(literal);
+		} catch ( IllegalArgumentException e ) {
+			return getArray(rs, colNum);
+		}
+	}
+
+	/**
+	 * Get a text array result column value by decoding the column's text form
+	 * directly.
+	 *
+	 * <p>
+	 * If the column value is not a one-dimensional array literal then
+	 * {@link #getArray(ResultSet, int)} will be used instead.
+	 * </p>
+	 *
+	 * @param rs
+	 *        the result set
+	 * @param colNum
+	 *        the column number
+	 * @return the array, or {@code null} if the column value is null
+	 * @throws SQLException
+	 *         if any SQL error occurs
+	 * @see #parseStringArrayLiteral(String)
+	 * @since 2.5
+	 */
+	public static String @Nullable [] getStringArray(ResultSet rs, int colNum) throws SQLException {
+		final String literal = rs.getString(colNum);
+		try {
+			return parseStringArrayLiteral(literal);
+		} catch ( IllegalArgumentException e ) {
+			return getArray(rs, colNum);
+		}
+	}
+
+	/**
+	 * Parse a one-dimensional Postgres numeric array literal, for example
+	 * <code>{1.23,NULL,45}</code>.
+	 *
+	 * <p>
+	 * {@code NULL}, {@code NaN}, {@code Infinity}, and {@code -Infinity}
+	 * elements are mapped to {@code null}.
+	 * </p>
+	 *
+	 * @param literal
+	 *        the array literal to parse
+	 * @return the array, or {@code null} if {@code literal} is {@code null}
+	 * @throws IllegalArgumentException
+	 *         if {@code literal} is not a one-dimensional numeric array
+	 *         literal
+	 * @since 2.5
+	 */
+	public static BigDecimal @Nullable [] parseDecimalArrayLiteral(@Nullable String literal) {
+		if ( literal == null ) {
+			return null;
+		}
+		final int end = arrayLiteralEnd(literal);
+		if ( end == 1 ) {
+			return new BigDecimal[0];
+		}
+		int count = 1;
+		for ( int i = 1; i < end; i++ ) {
+			char c = literal.charAt(i);
+			if ( c == ',' ) {
+				count++;
+			} else if ( c == '{' || c == '"' ) {
+				throw new IllegalArgumentException("Unsupported numeric array literal: " + literal);
+			}
+		}
+		final char[] chars = literal.toCharArray();
+		final BigDecimal[] result = new BigDecimal[count];
+		for ( int i = 0, start = 1; i < count; i++ ) {
+			int stop = start;
+			while ( stop < end && chars[stop] != ',' ) {
+				stop++;
+			}
+			if ( stop == start ) {
+				throw new IllegalArgumentException("Empty numeric array element: " + literal);
+			}
+			final char c = chars[start];
+			if ( c == 'N' || c == 'I' || (c == '-' && stop - start > 1 && chars[start + 1] == 'I') ) {
+				// NULL, NaN, Infinity, -Infinity
+				result[i] = null;
+			} else {
+				result[i] = new BigDecimal(chars, start, stop - start);
+			}
+			start = stop + 1;
+		}
+		return result;
+	}
+
+	/**
+	 * Parse a one-dimensional Postgres text array literal, for example
+	 * <code>{a,"b c",NULL}</code>.
+	 *
+	 * <p>
+	 * Unquoted {@code NULL} elements are mapped to {@code null}. Quoted
+	 * elements may contain backslash-escaped characters.
+	 * </p>
+	 *
+	 * @param literal
+	 *        the array literal to parse
+	 * @return the array, or {@code null} if {@code literal} is {@code null}
+	 * @throws IllegalArgumentException
+	 *         if {@code literal} is not a one-dimensional array literal
+	 * @since 2.5
+	 */
+	public static String @Nullable [] parseStringArrayLiteral(@Nullable String literal) {
+		if ( literal == null ) {
+			return null;
+		}
+		final int end = arrayLiteralEnd(literal);
+		if ( end == 1 ) {
+			return new String[0];
+		}
+		int count = 1;
+		boolean quoted = false;
+		for ( int i = 1; i < end; i++ ) {
+			char c = literal.charAt(i);
+			if ( quoted ) {
+				if ( c == '\\' ) {
+					i++;
+				} else if ( c == '"' ) {
+					quoted = false;
+				}
+			} else if ( c == '"' ) {
+				quoted = true;
+			} else if ( c == ',' ) {
+				count++;
+			} else if ( c == '{' ) {
+				throw new IllegalArgumentException("Unsupported text array literal: " + literal);
+			}
+		}
+		if ( quoted ) {
+			throw new IllegalArgumentException("Unterminated text array literal: " + literal);
+		}
+		final String[] result = new String[count];
+		for ( int i = 0, pos = 1; i < count; i++ ) {
+			if ( literal.charAt(pos) == '"' ) {
+				StringBuilder buf = null;
+				int start = ++pos;
+				char c;
+				while ( (c = literal.charAt(pos)) != '"' ) {
+					if ( c == '\\' ) {
+						if ( buf == null ) {
+							buf = new StringBuilder(literal.length());
+						}
+						buf.append(literal, start, pos);
+						start = ++pos;
+					}
+					pos++;
+				}
+				if ( buf != null ) {
+					result[i] = buf.append(literal, start, pos).toString();
+				} else {
+					result[i] = literal.substring(start, pos);
+				}
+				pos++;
+			} else {
+				int start = pos;
+				while ( pos < end && literal.charAt(pos) != ',' ) {
+					pos++;
+				}
+				result[i] = (pos - start == 4 && literal.startsWith("NULL", start) ? null
+						: literal.substring(start, pos));
+			}
+			if ( pos < end && literal.charAt(pos) != ',' ) {
+				throw new IllegalArgumentException("Malformed text array literal: " + literal);
+			}
+			pos++;
+		}
+		return result;
+	}
+
+	private static int arrayLiteralEnd(String literal) {
+		final int end = literal.length() - 1;
+		if ( end < 1 || literal.charAt(0) != '{' || literal.charAt(end) != '}' ) {
+			throw new IllegalArgumentException("Not a one-dimensional array literal: " + literal);
+		}
+		return end;
+	}
+
 	/**
 	 * Get an array value from a SQL array instance.
 	 *
@@ -409,6 +621,63 @@ public final class CommonJdbcUtils {
 		return new BasicFilterResults<>(results, totalCount, offset, results.size());
 	}
 
+	/**
+	 * Standardized utility to execute a filter based query that supports
+	 * keyset pagination.
+	 *
+	 * <p>
+	 * If {@code filter} implements {@link KeysetCriteria} and provides a
+	 * cursor, no total results count query is executed and the starting offset
+	 * will be reported as {@code 0}. When the number of results returned equals
+	 * the filter's maximum result count, the returned
+	 * {@link BasicKeysetFilterResults#getNextCursor()} will be populated using
+	 * {@code cursorProvider} on the last result.
+	 * </p>
+	 *
+	 * @param <M>
+	 *        the filter result type
+	 * @param <K>
+	 *        the filter result key type
+	 * @param jdbcTemplate
+	 *        the JDBC template to use
+	 * @param filter
+	 *        the pagination criteria
+	 * @param sql
+	 *        the SQL to execute
+	 * @param mapper
+	 *        the row mapper to use
+	 * @param cursorProvider
+	 *        function to generate a cursor from a result
+	 * @return the results, never {@code null}
+	 * @since 2.6
+	 */
+	public static <M extends Unique<K>, K extends Comparable<K>> BasicKeysetFilterResults<M, K> executeFilterQuery(
+			JdbcOperations jdbcTemplate, PaginationCriteria filter, PreparedStatementCreator sql,
+			RowMapper<M> mapper, Function<M, KeysetCursor> cursorProvider) {
+		final boolean keyset = (filter instanceof KeysetCriteria kc && kc.hasCursor());
+		Long totalCount = null;
+		if ( !keyset && filter.getMax() != null
+				&& sql instanceof CountPreparedStatementCreatorProvider c
+				&& !(filter instanceof OptimizedQueryCriteria oqc
+						&& oqc.isWithoutTotalResultsCount()) ) {
+			totalCount = executeCountQuery(jdbcTemplate, c.countPreparedStatementCreator());
+		}
+
+		List<M> results = jdbcTemplate.query(sql, mapper);
+
+		if ( filter.getMax() == null ) {
+			totalCount = (long) results.size();
+		}
+
+		final Integer max = filter.getMax();
+		final String nextCursor = (max != null && max > 0 && results.size() >= max
+				? cursorProvider.apply(results.getLast()).token()
+				: null);
+		long offset = (!keyset && filter.getOffset() != null ? filter.getOffset() : 0L);
+		return new BasicKeysetFilterResults<>(results, totalCount, offset, results.size(),
+				nextCursor);
+	}
+
 	/**
 	 * Execute a streaming query.
 	 *
@@ -46,7 +46,7 @@ import net.solarnetwork.domain.SortDescriptor;
  * Common SQL utilities for SolarNetwork.
  *
  * @author matt
- * @version 2.10
+ * @version 2.11
  */
 public final class CommonSqlUtils {
 
@@ -723,6 +723,84 @@ public final class CommonSqlUtils {
 		return parameterOffset;
 	}
 
+	/**
+	 * Generate SQL {@literal LIMIT x} criteria to support keyset pagination.
+	 *
+	 * <p>
+	 * The buffer is populated with a pattern of {@literal \nLIMIT ?}. Any
+	 * offset in {@code filter} is ignored, as keyset pagination relies on a
+	 * sort key predicate instead.
+	 * </p>
+	 *
+	 * @param filter
+	 *        the search criteria
+	 * @param buf
+	 *        the buffer to append the SQL to
+	 * @return the number of JDBC query parameters generated
+	 * @since 2.11
+	 */
+	public static int limit(@Nullable PaginationCriteria filter, StringBuilder buf) {
+		final Integer max = (filter != null ? filter.getMax() : null);
+		if ( max != null && max > 0 ) {
+			buf.append("\nLIMIT ?");
+			return 1;
+		}
+		return 0;
+	}
+
+	/**
+	 * Prepare a SQL query limit.
+	 *
+	 * @param filter
+	 *        the search criteria
+	 * @param stmt
+	 *        the JDBC statement
+	 * @param parameterOffset
+	 *        the zero-based starting JDBC statement parameter offset
+	 * @return the new JDBC statement parameter offset
+	 * @throws SQLException
+	 *         if any SQL error occurs
+	 * @see #limit(PaginationCriteria, StringBuilder)
+	 * @since 2.11
+	 */
+	public static int prepareLimit(@Nullable PaginationCriteria filter, PreparedStatement stmt,
+			int parameterOffset) throws SQLException {
+		final Integer max = (filter != null ? filter.getMax() : null);
+		if ( max != null && max > 0 ) {
+			stmt.setInt(++parameterOffset, max);
+		}
+		return parameterOffset;
+	}
+
+	/**
+	 * Generate a SQL row comparison criteria to support keyset pagination.
+	 *
+	 * <p>
+	 * The buffer is populated with a pattern of
+	 * {@literal \tAND (a, b) > (?, ?)\n}, for the given column names. The
+	 * column names must match the {@literal ORDER BY} columns of the query,
+	 * which must all be sorted in ascending order.
+	 * </p>
+	 *
+	 * @param colNames
+	 *        the sort key column names
+	 * @param buf
+	 *        the buffer to append the SQL to
+	 * @return the number of JDBC query parameters generated
+	 * @since 2.11
+	 */
+	public static int whereKeysetAfter(String[] colNames, StringBuilder buf) {
+		buf.append("\tAND (").append(String.join(", ", colNames)).append(") > (");
+		for ( int i = 0; i < colNames.length; i++ ) {
+			if ( i > 0 ) {
+				buf.append(", ");
+			}
+			buf.append('?');
+		}
+		buf.append(")\n");
+		return colNames.length;
+	}
+
 	/**
 	 * Wrap a SQL query with a {@literal SELECT COUNT(*)} clause.
 	 *
@@ -27,9 +27,11 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Types;
 import org.jspecify.annotations.Nullable;
 import org.springframework.jdbc.core.PreparedStatementCreator;
 import org.springframework.jdbc.core.SqlProvider;
+import net.solarnetwork.central.common.dao.KeysetCursor;
 import net.solarnetwork.central.common.dao.UserEventFilter;
 import net.solarnetwork.central.common.dao.jdbc.CountPreparedStatementCreatorProvider;
 import net.solarnetwork.central.support.SearchFilterUtils;
@@ -41,11 +43,14 @@ import net.solarnetwork.util.UuidTimestampDecoder;
  * Select for user events.
  *
  * @author matt
- * @version 1.1
+ * @version 1.2
  */
 public final class SelectUserEvent
 		implements PreparedStatementCreator, SqlProvider, CountPreparedStatementCreatorProvider {
 
+	/** The keyset pagination sort key columns. */
+	private static final String[] KEYSET_COLUMNS = new String[] { "uel.user_id", "uel.event_id" };
+
 	/** The {@code fetchSize} property default value. */
 	public static final int DEFAULT_FETCH_SIZE = 1000;
 
@@ -53,6 +58,7 @@ public final class SelectUserEvent
 	private final UserEventFilter filter;
 	private final int fetchSize;
 	private final @Nullable SearchFilter searchFilter;
+	private final @Nullable KeysetCursor cursor;
 
 	/**
 	 * Constructor.
@@ -81,15 +87,21 @@ public final class SelectUserEvent
 		this.filter = requireNonNullArgument(filter, "filter");
 		this.fetchSize = fetchSize;
 		this.searchFilter = SearchFilter.forLDAPSearchFilterString(filter.getSearchFilter());
+		final String c = filter.getCursor();
+		this.cursor = (c != null && !c.isEmpty() ? KeysetCursor.parse(c, 2) : null);
 	}
 
 	@Override
 	public String getSql() {
 		StringBuilder buf = new StringBuilder();
 		sqlCore(buf);
-		sqlWhere(buf);
+		sqlWhere(buf, true);
 		sqlOrderBy(buf);
-		CommonSqlUtils.limitOffset(filter, buf);
+		if ( cursor != null ) {
+			CommonSqlUtils.limit(filter, buf);
+		} else {
+			CommonSqlUtils.limitOffset(filter, buf);
+		}
 		return buf.toString();
 	}
 
@@ -98,7 +110,7 @@ public final class SelectUserEvent
 		buf.append("FROM solaruser.user_event_log uel\n");
 	}
 
-	private void sqlWhere(StringBuilder buf) {
+	private void sqlWhere(StringBuilder buf, boolean keyset) {
 		StringBuilder where = new StringBuilder();
 		int idx = 0;
 		if ( filter.hasUserCriteria() ) {
@@ -114,6 +126,9 @@ public final class SelectUserEvent
 		}
 
 		idx += CommonSqlUtils.whereDateRange(filter, "uel.event_id", where);
+		if ( keyset && cursor != null ) {
+			idx += CommonSqlUtils.whereKeysetAfter(KEYSET_COLUMNS, where);
+		}
 		if ( idx > 0 ) {
 			buf.append("WHERE").append(where.substring(4));
 		}
@@ -128,7 +143,13 @@ public final class SelectUserEvent
 		PreparedStatement stmt = con.prepareStatement(getSql(), ResultSet.TYPE_FORWARD_ONLY,
 				ResultSet.CONCUR_READ_ONLY, ResultSet.CLOSE_CURSORS_AT_COMMIT);
 		int p = prepareCore(con, stmt, 0);
-		CommonSqlUtils.prepareLimitOffset(filter, stmt, p);
+		if ( cursor != null ) {
+			stmt.setObject(++p, cursor.longValue(0));
+			stmt.setObject(++p, cursor.uuidValue(1), Types.OTHER);
+			CommonSqlUtils.prepareLimit(filter, stmt, p);
+		} else {
+			CommonSqlUtils.prepareLimitOffset(filter, stmt, p);
+		}
 		if ( fetchSize > 0 ) {
 			stmt.setFetchSize(fetchSize);
 		}
@@ -165,6 +186,7 @@ public final class SelectUserEvent
 		public String getSql() {
 			StringBuilder buf = new StringBuilder();
 			sqlCore(buf);
+			sqlWhere(buf, false);
 			return CommonSqlUtils.wrappedCountQuery(buf.toString());
 		}
 
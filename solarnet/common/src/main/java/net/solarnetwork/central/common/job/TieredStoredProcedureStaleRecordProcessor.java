@@ -46,7 +46,7 @@ import org.springframework.jdbc.core.JdbcOperations;
  * rows.
  * 
  * @author matt
- * @version 2.2
+ * @version 2.3
  * @since 1.7
  */
 public class TieredStoredProcedureStaleRecordProcessor extends TieredStaleRecordProcessor {
@@ -109,12 +109,7 @@ public class TieredStoredProcedureStaleRecordProcessor extends TieredStaleRecord
 							}
 							if ( hasResultSet ) {
 								try (ResultSet rs = call.getResultSet()) {
-									if ( rs.next() ) {
-										processResultRow(rs, elapsed);
-										resultCount = 1;
-									} else {
-										resultCount = 0;
-									}
+									resultCount = processResultSet(rs, elapsed);
 								}
 							} else {
 								resultCount = call.getInt(1);
@@ -138,6 +133,33 @@ public class TieredStoredProcedureStaleRecordProcessor extends TieredStaleRecord
 		return processedCount.intValue();
 	}
 
+	/**
+	 * Process a procedure result set.
+	 *
+	 * <p>
+	 * This implementation passes the first row of the result set, if
+	 * available, to {@link #processResultRow(ResultSet, Duration)}. Extending
+	 * classes can override to handle procedures that return more than one
+	 * row per call.
+	 * </p>
+	 *
+	 * @param rs
+	 *        the result set, positioned before the first row
+	 * @param duration
+	 *        the execution duration
+	 * @return the number of processed rows
+	 * @throws SQLException
+	 *         if any SQL error occurs
+	 * @since 2.3
+	 */
+	protected int processResultSet(ResultSet rs, Duration duration) throws SQLException {
+		if ( rs.next() ) {
+			processResultRow(rs, duration);
+			return 1;
+		}
+		return 0;
+	}
+
 	/**
 	 * Process a procedure result set row.
 	 * 
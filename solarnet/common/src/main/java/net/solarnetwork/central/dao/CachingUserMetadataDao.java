@@ -23,6 +23,9 @@
 package net.solarnetwork.central.dao;
 
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executor;
 import javax.cache.Cache;
 import org.jspecify.annotations.Nullable;
@@ -37,13 +40,22 @@ import net.solarnetwork.util.ObjectUtils;
 /**
  * Caching implementation of {@link UserMetadataDao}.
  *
+ * <p>
+ * Metadata path values are derived from the metadata entity of a user, so
+ * whenever a user's entity is evicted, for example from a
+ * {@link net.solarnetwork.central.common.dao.CacheInvalidationBus} message, all
+ * cached path values for that user are evicted as well.
+ * </p>
+ *
  * @author matt
- * @version 1.1
+ * @version 1.2
  */
 public class CachingUserMetadataDao extends CachingGenericDao<UserMetadataEntity, Long, UserMetadataDao>
 		implements UserMetadataDao {
 
 	private final Cache<UserStringCompositePK, String> metadataPathCache;
+	private final ConcurrentMap<Long, Set<UserStringCompositePK>> userPathKeys = new ConcurrentHashMap<>(
+			16, 0.9f, 2);
 
 	/**
 	 * Constructor.
@@ -75,12 +87,43 @@ public class CachingUserMetadataDao extends CachingGenericDao<UserMetadataEntity
 		final UserStringCompositePK key = new UserStringCompositePK(userId, path);
 		String result = metadataPathCache.get(key);
 		if ( result == null ) {
+			// path values are invalidated along with the user's metadata entity
+			final long version = invalidationVersion(userId);
 			result = delegate.jsonMetadataAtPath(userId, path);
 			if ( result != null ) {
+				userPathKeys.computeIfAbsent(userId, _ -> ConcurrentHashMap.newKeySet()).add(key);
 				metadataPathCache.put(key, result);
+				if ( invalidatedSince(userId, version) ) {
+					metadataPathCache.remove(key);
+				}
 			}
 		}
 		return result;
 	}
 
+	@Override
+	protected void evict(Long key) {
+		super.evict(key);
+		final Set<UserStringCompositePK> pathKeys = userPathKeys.remove(key);
+		if ( pathKeys != null ) {
+			metadataPathCache.removeAll(pathKeys);
+		}
+	}
+
+	@Override
+	protected void cacheInvalidated() {
+		super.cacheInvalidated();
+		metadataPathCache.clear();
+		userPathKeys.clear();
+	}
+
+	@Override
+	protected @Nullable Long parseCacheKey(String value) {
+		try {
+			return Long.valueOf(value);
+		} catch ( NumberFormatException e ) {
+			return null;
+		}
+	}
+
 }
@@ -27,6 +27,9 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import org.jspecify.annotations.Nullable;
+import net.solarnetwork.central.common.dao.BasicKeysetFilterResults;
+import net.solarnetwork.central.common.dao.KeysetCriteria;
+import net.solarnetwork.central.common.dao.KeysetCursor;
 import net.solarnetwork.central.domain.Filter;
 import net.solarnetwork.central.domain.FilterMatch;
 import net.solarnetwork.dao.BasicFilterResults;
@@ -39,7 +42,7 @@ import net.solarnetwork.domain.SortDescriptor;
  * Base MyBatis {@link FilterableDao} implementation.
  *
  * @author matt
- * @version 2.0
+ * @version 2.1
  */
 public abstract class BaseMyBatisFilterableDao<T extends Entity<K>, M extends FilterMatch<K>, F extends Filter, K extends Comparable<K> & Serializable>
 		extends BaseMyBatisGenericDao<T, K> implements FilterableDao<M, K, F> {
@@ -91,9 +94,40 @@ public abstract class BaseMyBatisFilterableDao<T extends Entity<K>, M extends Fi
 		// nothing here, extending classes can implement
 	}
 
+	/**
+	 * Get a keyset pagination cursor for a filter result.
+	 *
+	 * <p>
+	 * Keyset pagination is only used for filters that implement
+	 * {@link KeysetCriteria}, and the returned cursor must encode the default
+	 * sort order of the filter query. No cursor is returned for queries with
+	 * sort descriptors, and a filter cursor combined with sort descriptors is
+	 * rejected with an {@link IllegalArgumentException}. This implementation
+	 * returns {@code null}, meaning keyset pagination is not supported;
+	 * extending classes can override.
+	 * </p>
+	 *
+	 * @param match
+	 *        the last match in a page of results
+	 * @return the cursor to the next page of results, or {@code null} if not
+	 *         supported
+	 * @since 2.1
+	 */
+	protected @Nullable KeysetCursor keysetCursor(M match) {
+		return null;
+	}
+
 	@Override
 	public FilterResults<M, K> findFiltered(F filter, @Nullable List<SortDescriptor> sortDescriptors,
 			@Nullable Long offset, @Nullable Integer max) {
+		// a keyset cursor encodes the default sort order, so cannot be combined with other sorts
+		final boolean keyset = (filter instanceof KeysetCriteria k && k.hasCursor());
+		final boolean defaultSort = (sortDescriptors == null || sortDescriptors.isEmpty());
+		if ( keyset && !defaultSort ) {
+			throw new IllegalArgumentException(
+					"A cursor is only supported in the default sort order.");
+		}
+
 		final String filterDomain = getMemberDomainKey(filterResultClass);
 		final String query = getFilteredQuery(filterDomain, filter);
 		Map<String, Object> sqlProps = new HashMap<>(1);
@@ -103,16 +137,28 @@ public abstract class BaseMyBatisFilterableDao<T extends Entity<K>, M extends Fi
 		}
 		postProcessFilterProperties(filter, sqlProps);
 
-		// attempt count first, if max NOT specified as -1
+		// attempt count first, if max NOT specified as -1 and not seeking with a keyset cursor
 		Long totalCount = null;
-		if ( max != null && max != -1 ) {
+		if ( !keyset && max != null && max != -1 ) {
 			Long n = executeFilterCountQuery(query + "-count", filter, sqlProps);
 			if ( n != null ) {
 				totalCount = n;
 			}
 		}
 
-		List<M> rows = selectList(query, sqlProps, offset, max);
+		List<M> rows = selectList(query, sqlProps, keyset ? null : offset, max);
+
+		if ( filter instanceof KeysetCriteria ) {
+			final KeysetCursor next = (defaultSort && max != null && max > 0 && rows.size() >= max
+					? keysetCursor(rows.getLast())
+					: null);
+			if ( keyset || next != null ) {
+				return new BasicKeysetFilterResults<>(rows,
+						(totalCount != null || keyset ? totalCount : Long.valueOf(rows.size())),
+						keyset || offset == null ? 0L : offset, rows.size(),
+						next != null ? next.token() : null);
+			}
+		}
 
 		return new BasicFilterResults<>(rows,
 				(totalCount != null ? totalCount : Long.valueOf(rows.size())),
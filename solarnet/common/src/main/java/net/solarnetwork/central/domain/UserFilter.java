@@ -24,14 +24,16 @@ package net.solarnetwork.central.domain;
 
 import java.util.Map;
 import org.jspecify.annotations.Nullable;
+import net.solarnetwork.central.common.dao.KeysetCriteria;
+import net.solarnetwork.central.common.dao.KeysetCursor;
 
 /**
  * Filter API for user related entities.
  *
  * @author matt
- * @version 1.0
+ * @version 1.1
  */
-public interface UserFilter extends Filter {
+public interface UserFilter extends Filter, KeysetCriteria {
 
 	/**
 	 * Get an email criteria.
@@ -49,4 +51,31 @@ public interface UserFilter extends Filter {
 	@Nullable
 	Map<String, Object> getInternalData();
 
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>
+	 * This implementation returns {@code null}.
+	 * </p>
+	 *
+	 * @since 1.1
+	 */
+	@Override
+	default @Nullable String getCursor() {
+		return null;
+	}
+
+	/**
+	 * Get the user ID to return results after, from the keyset cursor.
+	 *
+	 * @return the user ID, or {@code null} if no cursor is available
+	 * @throws IllegalArgumentException
+	 *         if the cursor is not valid
+	 * @since 1.1
+	 */
+	default @Nullable Long getCursorUserId() {
+		final String c = getCursor();
+		return (c != null && !c.isEmpty() ? KeysetCursor.parse(c, 1).longValue(0) : null);
+	}
+
 }
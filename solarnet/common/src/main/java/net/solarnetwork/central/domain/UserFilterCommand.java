@@ -37,7 +37,7 @@ import net.solarnetwork.domain.SortDescriptor;
  * Filter support for user actions.
  *
  * @author matt
- * @version 2.3
+ * @version 2.4
  * @since 1.23
  */
 public class UserFilterCommand extends FilterSupport implements UserFilter {
@@ -50,6 +50,7 @@ public class UserFilterCommand extends FilterSupport implements UserFilter {
 	private @Nullable Integer max;
 	private @Nullable String email;
 	private @Nullable Map<String, Object> internalData;
+	private @Nullable String cursor;
 
 	/**
 	 * Convert to a {@link UserMetadataFilter}.
@@ -153,6 +154,27 @@ public class UserFilterCommand extends FilterSupport implements UserFilter {
 		return JsonUtils.getJSONString(this.internalData, null);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @since 2.4
+	 */
+	@Override
+	public final @Nullable String getCursor() {
+		return cursor;
+	}
+
+	/**
+	 * Set the keyset pagination cursor.
+	 *
+	 * @param cursor
+	 *        the cursor to set, from a previous result's next cursor value
+	 * @since 2.4
+	 */
+	public final void setCursor(@Nullable String cursor) {
+		this.cursor = cursor;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 *
@@ -167,6 +189,7 @@ public class UserFilterCommand extends FilterSupport implements UserFilter {
 		result = prime * result + ((max == null) ? 0 : max.hashCode());
 		result = prime * result + ((offset == null) ? 0 : offset.hashCode());
 		result = prime * result + ((sorts == null) ? 0 : sorts.hashCode());
+		result = prime * result + ((cursor == null) ? 0 : cursor.hashCode());
 		return result;
 	}
 
@@ -211,6 +234,13 @@ public class UserFilterCommand extends FilterSupport implements UserFilter {
 		} else if ( !offset.equals(other.offset) ) {
 			return false;
 		}
+		if ( cursor == null ) {
+			if ( other.cursor != null ) {
+				return false;
+			}
+		} else if ( !cursor.equals(other.cursor) ) {
+			return false;
+		}
 		if ( sorts == null ) {
 			return other.sorts == null;
 		}
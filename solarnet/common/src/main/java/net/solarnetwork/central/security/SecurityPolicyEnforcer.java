@@ -53,7 +53,7 @@ import net.solarnetwork.domain.datum.ObjectDatumKind;
  * Support for enforcing a {@link SecurityPolicy} on domain objects.
  *
  * @author matt
- * @version 3.1
+ * @version 3.2
  * @since 1.12
  */
 public class SecurityPolicyEnforcer implements InvocationHandler {
@@ -449,40 +449,34 @@ public class SecurityPolicyEnforcer implements InvocationHandler {
 
 	private String @Nullable [] verifySourceIds(String @Nullable [] sourceIds,
 			final boolean cacheResults) {
-		Set<String> policySourceIds = (policy != null ? policy.getSourceIds() : null);
+		final SecurityPolicy policy = this.policy;
+		final Set<String> allPolicySourceIds = (policy != null ? policy.getSourceIds() : null);
 
 		// verify source IDs
-		if ( policySourceIds == null || policySourceIds.isEmpty() ) {
+		if ( policy == null || allPolicySourceIds == null || allPolicySourceIds.isEmpty() ) {
 			return sourceIds;
 		}
 		if ( cacheResults && cachedSourceIds != null ) {
 			return (cachedSourceIds.length == 0 ? null : cachedSourceIds);
 		}
 
+		final SecurityPolicySourceIdMatcher policyMatcher = SecurityPolicySourceIdMatcher
+				.forPolicy(policy, pathMatcher);
+
+		// policy source IDs, without patterns
+		final Set<String> policySourceIds = policyMatcher.getSourceIds();
+
 		if ( sourceIds != null && sourceIds.length > 0 ) {
 			Set<String> sourceIdsSet = new LinkedHashSet<>(Arrays.asList(sourceIds));
 
 			// extract policy source ID patterns
-			Set<String> policySourceIdPatterns = null;
+			final Set<String> policySourceIdPatterns = (policyMatcher.getPatterns().isEmpty() ? null
+					: policyMatcher.getPatterns());
 
 			// extract input source ID patterns
 			Set<String> sourceIdPatterns = null;
 
 			if ( pathMatcher != null ) {
-				for ( String policySourceId : policySourceIds ) {
-					if ( pathMatcher.isPattern(policySourceId) ) {
-						if ( policySourceIdPatterns == null ) {
-							policySourceIdPatterns = new LinkedHashSet<>(policySourceIds.size());
-						}
-						policySourceIdPatterns.add(policySourceId);
-					}
-				}
-				if ( policySourceIdPatterns != null ) {
-					Set<String> mutablePolicySourceIds = new LinkedHashSet<>(policySourceIds);
-					mutablePolicySourceIds.removeAll(policySourceIdPatterns);
-					policySourceIds = mutablePolicySourceIds;
-				}
-
 				for ( String sourceId : sourceIds ) {
 					if ( pathMatcher.isPattern(sourceId) ) {
 						if ( sourceIdPatterns == null ) {
@@ -498,8 +492,7 @@ public class SecurityPolicyEnforcer implements InvocationHandler {
 			List<String> removedSourceIds = null;
 			for ( Iterator<String> itr = sourceIdsSet.iterator(); itr.hasNext(); ) {
 				final String sourceId = itr.next();
-				if ( policySourceIds.contains(sourceId) || (policySourceIdPatterns != null
-						&& matchesPattern(policySourceIdPatterns, sourceId)) ) {
+				if ( policyMatcher.matches(sourceId) ) {
 					continue;
 				}
 				if ( removedSourceIds == null ) {
@@ -550,10 +543,10 @@ public class SecurityPolicyEnforcer implements InvocationHandler {
 			}
 		} else {
 			// no source IDs provided, set to policy source IDs
-			LOG.info("Access RESTRICTED to sources {} for {}: policy restriction", policySourceIds,
+			LOG.info("Access RESTRICTED to sources {} for {}: policy restriction", allPolicySourceIds,
 					principal);
 			filtered = true;
-			sourceIds = policySourceIds.toArray(String[]::new);
+			sourceIds = allPolicySourceIds.toArray(String[]::new);
 		}
 		if ( cacheResults ) {
 			cachedSourceIds = (sourceIds == null ? new String[0] : sourceIds);
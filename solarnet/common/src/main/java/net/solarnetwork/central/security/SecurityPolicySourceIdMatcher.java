@@ -0,0 +1,316 @@
+/* ==================================================================
+ * SecurityPolicySourceIdMatcher.java - 17/10/2026 7:21:44 pm
+ *
+ * Copyright 2026 SolarNetwork.net Dev Team
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation; either version 2 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA
+ * 02111-1307 USA
+ * ==================================================================
+ */
+
+package net.solarnetwork.central.security;
+
+import static java.util.Collections.unmodifiableSet;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.jspecify.annotations.Nullable;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import net.solarnetwork.domain.SecurityPolicy;
+
+/**
+ * A compiled form of the source IDs of a {@link SecurityPolicy}, for fast
+ * matching of source IDs against the policy.
+ *
+ * <p>
+ * The policy source IDs are split into exact IDs, held in a hash set, and
+ * patterns. The patterns are indexed in a trie by their leading literal path
+ * segments, so matching a source ID only needs to evaluate the patterns that
+ * share its leading path segments, rather than every pattern in the policy.
+ * This indexing is only used for {@link AntPathMatcher} instances that use
+ * the default case-sensitive {@literal /} path separator settings; for any
+ * other {@link PathMatcher} all patterns are evaluated.
+ * </p>
+ *
+ * <p>
+ * Use {@link #forPolicy(SecurityPolicy, PathMatcher)} to get a cached instance
+ * for a given policy instance. The policy source IDs are assumed not to change
+ * once the policy has been created.
+ * </p>
+ *
+ * @author matt
+ * @version 1.0
+ */
+public final class SecurityPolicySourceIdMatcher {
+
+	private static final char PATH_SEPARATOR = '/';
+
+	private static final Map<PolicyKey, SecurityPolicySourceIdMatcher> CACHE = new ConcurrentHashMap<>();
+	private static final ReferenceQueue<SecurityPolicy> CACHE_QUEUE = new ReferenceQueue<>();
+
+	private final @Nullable PathMatcher pathMatcher;
+	private final Set<String> sourceIds;
+	private final Set<String> patterns;
+	private final Node root;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param policySourceIds
+	 *        the policy source IDs, which may include patterns
+	 * @param pathMatcher
+	 *        the path matcher to use, or {@code null} to treat all source IDs
+	 *        as exact values
+	 */
+	public SecurityPolicySourceIdMatcher(@Nullable Set<String> policySourceIds,
+			@Nullable PathMatcher pathMatcher) {
+		super();
+		this.pathMatcher = pathMatcher;
+		final Set<String> ids = new LinkedHashSet<>(
+				policySourceIds != null ? policySourceIds.size() : 0);
+		final Set<String> pats = new LinkedHashSet<>(8);
+		final boolean indexed = isIndexable(pathMatcher);
+		this.root = new Node();
+		if ( policySourceIds != null ) {
+			for ( String sourceId : policySourceIds ) {
+				if ( sourceId == null ) {
+					continue;
+				}
+				if ( pathMatcher != null && pathMatcher.isPattern(sourceId) ) {
+					if ( pats.add(sourceId) ) {
+						addPattern(sourceId, indexed);
+					}
+				} else {
+					ids.add(sourceId);
+				}
+			}
+		}
+		this.sourceIds = unmodifiableSet(ids);
+		this.patterns = unmodifiableSet(pats);
+	}
+
+	/**
+	 * Get a matcher for a policy.
+	 *
+	 * <p>
+	 * Matchers are cached by policy instance, so the policy source IDs are
+	 * only compiled once for a given policy instance. Cached matchers are
+	 * discarded once their policy is no longer referenced.
+	 * </p>
+	 *
+	 * @param policy
+	 *        the policy to get the matcher for
+	 * @param pathMatcher
+	 *        the path matcher to use, or {@code null} to treat all source IDs
+	 *        as exact values
+	 * @return the matcher, never {@code null}
+	 */
+	public static SecurityPolicySourceIdMatcher forPolicy(SecurityPolicy policy,
+			@Nullable PathMatcher pathMatcher) {
+		expungeStaleEntries();
+		final PolicyKey key = new PolicyKey(policy, null);
+		final SecurityPolicySourceIdMatcher cached = CACHE.get(key);
+		if ( cached != null && cached.pathMatcher == pathMatcher ) {
+			return cached;
+		}
+		final var result = new SecurityPolicySourceIdMatcher(policy.getSourceIds(), pathMatcher);
+		CACHE.put(new PolicyKey(policy, CACHE_QUEUE), result);
+		return result;
+	}
+
+	private static void expungeStaleEntries() {
+		Object ref;
+		while ( (ref = CACHE_QUEUE.poll()) != null ) {
+			CACHE.remove(ref);
+		}
+	}
+
+	private static boolean isIndexable(@Nullable PathMatcher pathMatcher) {
+		// verify the matcher uses path segments of case-sensitive, untrimmed literal values
+		// separated by "/", so that patterns can be indexed by their leading literal segments
+		return (pathMatcher instanceof AntPathMatcher m && m.match("/a/*", "/a/b")
+				&& !m.match("/a/*", "/a/b/c") && !m.match("/a", "/A") && !m.match("/a", "/ a"));
+	}
+
+	private void addPattern(String pattern, boolean indexed) {
+		Node node = root;
+		if ( indexed ) {
+			int start = 0;
+			final int len = pattern.length();
+			while ( start < len ) {
+				int end = pattern.indexOf(PATH_SEPARATOR, start);
+				if ( end < 0 ) {
+					end = len;
+				}
+				if ( end > start ) {
+					String segment = pattern.substring(start, end);
+					if ( isPatternSegment(segment) ) {
+						break;
+					}
+					node = node.child(segment);
+				}
+				start = end + 1;
+			}
+		}
+		node.patterns.add(pattern);
+	}
+
+	private static boolean isPatternSegment(String segment) {
+		return (segment.indexOf('*') >= 0 || segment.indexOf('?') >= 0
+				|| segment.indexOf('{') >= 0);
+	}
+
+	/**
+	 * Test if a source ID is allowed by the policy, either by exactly matching
+	 * a policy source ID or by matching a policy source ID pattern.
+	 *
+	 * @param sourceId
+	 *        the source ID to test
+	 * @return {@code true} if {@code sourceId} is allowed by the policy
+	 */
+	public boolean matches(@Nullable String sourceId) {
+		if ( sourceId == null ) {
+			return false;
+		}
+		return sourceIds.contains(sourceId) || matchesPattern(sourceId);
+	}
+
+	/**
+	 * Test if a source ID matches any policy source ID pattern.
+	 *
+	 * @param sourceId
+	 *        the source ID to test
+	 * @return {@code true} if {@code sourceId} matches a policy pattern
+	 */
+	public boolean matchesPattern(String sourceId) {
+		final PathMatcher m = this.pathMatcher;
+		if ( m == null || patterns.isEmpty() ) {
+			return false;
+		}
+		Node node = root;
+		if ( node.matches(m, sourceId) ) {
+			return true;
+		}
+		int start = 0;
+		final int len = sourceId.length();
+		while ( start < len ) {
+			int end = sourceId.indexOf(PATH_SEPARATOR, start);
+			if ( end < 0 ) {
+				end = len;
+			}
+			if ( end > start ) {
+				node = node.child(sourceId, start, end);
+				if ( node == null ) {
+					return false;
+				}
+				if ( node.matches(m, sourceId) ) {
+					return true;
+				}
+			}
+			start = end + 1;
+		}
+		return false;
+	}
+
+	/**
+	 * Get the policy source IDs that are not patterns.
+	 *
+	 * @return the exact source IDs, in policy order, never {@code null}
+	 */
+	public Set<String> getSourceIds() {
+		return sourceIds;
+	}
+
+	/**
+	 * Get the policy source IDs that are patterns.
+	 *
+	 * @return the source ID patterns, in policy order, never {@code null}
+	 */
+	public Set<String> getPatterns() {
+		return patterns;
+	}
+
+	/**
+	 * A trie node, for one literal path segment.
+	 */
+	private static final class Node {
+
+		private final List<String> patterns = new ArrayList<>(2);
+		private @Nullable Map<String, Node> children;
+
+		private Node child(String segment) {
+			Map<String, Node> c = children;
+			if ( c == null ) {
+				c = new HashMap<>(4);
+				children = c;
+			}
+			return c.computeIfAbsent(segment, _ -> new Node());
+		}
+
+		private @Nullable Node child(String path, int start, int end) {
+			final Map<String, Node> c = children;
+			return (c != null ? c.get(path.substring(start, end)) : null);
+		}
+
+		private boolean matches(PathMatcher pathMatcher, String path) {
+			for ( String pattern : patterns ) {
+				if ( pathMatcher.match(pattern, path) ) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+	}
+
+	/**
+	 * A weak, identity-based policy cache key.
+	 */
+	private static final class PolicyKey extends WeakReference<SecurityPolicy> {
+
+		private final int hash;
+
+		private PolicyKey(SecurityPolicy policy, @Nullable ReferenceQueue<SecurityPolicy> queue) {
+			super(policy, queue);
+			this.hash = System.identityHashCode(policy);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(@Nullable Object obj) {
+			if ( this == obj ) {
+				return true;
+			}
+			if ( !(obj instanceof PolicyKey other) ) {
+				return false;
+			}
+			final SecurityPolicy policy = get();
+			return (policy != null && policy == other.get());
+		}
+
+	}
+
+}
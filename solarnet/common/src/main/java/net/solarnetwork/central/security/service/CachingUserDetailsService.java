@@ -0,0 +1,184 @@
+/* ==================================================================
+ * CachingUserDetailsService.java - 17/10/2026 9:34:18 pm
+ *
+ * Copyright 2026 SolarNetwork.net Dev Team
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation; either version 2 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA
+ * 02111-1307 USA
+ * ==================================================================
+ */
+
+package net.solarnetwork.central.security.service;
+
+import static net.solarnetwork.util.ObjectUtils.requireNonNullArgument;
+import java.util.Map;
+import javax.cache.Cache;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import net.solarnetwork.central.security.AuthenticatedToken;
+import net.solarnetwork.central.security.AuthenticatedUser;
+import net.solarnetwork.service.PingTest;
+import net.solarnetwork.service.PingTestResult;
+import net.solarnetwork.util.StatTracker;
+
+/**
+ * Implementation of {@link UserDetailsService} with caching support.
+ *
+ * <p>
+ * User details, including any parsed token {@code SecurityPolicy}, are cached
+ * by username (the token ID for security tokens) so that repeated
+ * authentication of the same user does not need to query the delegate service.
+ * The cache should be configured with a short time-to-live, and
+ * {@link #evictUser(String)} should be called when a user's details change.
+ * </p>
+ *
+ * <p>
+ * A copy of the cached user details is returned from
+ * {@link #loadUserByUsername(String)}, because the returned details can have
+ * their credentials erased after authentication.
+ * </p>
+ *
+ * @author matt
+ * @version 1.0
+ */
+public class CachingUserDetailsService implements UserDetailsService, PingTest {
+
+	/** The default value for the {@code statLogAccessCount} property. */
+	public static final int DEFAULT_STAT_LOG_ACCESS_COUNT = 1000;
+
+	/**
+	 * Statistic counts.
+	 */
+	public enum CacheStats {
+
+		/** Cache hit. */
+		Hit,
+
+		/** Cache miss. */
+		Miss,
+
+		/** Explicit cache eviction. */
+		Evicted,
+
+	}
+
+	private final Cache<String, UserDetails> cache;
+	private final UserDetailsService delegate;
+	private final StatTracker stats;
+	private final String pingTestId;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param cache
+	 *        the cache
+	 * @param delegate
+	 *        the service to delegate to
+	 * @throws IllegalArgumentException
+	 *         if any argument is {@code null}
+	 */
+	public CachingUserDetailsService(Cache<String, UserDetails> cache, UserDetailsService delegate) {
+		super();
+		this.cache = requireNonNullArgument(cache, "cache");
+		this.delegate = requireNonNullArgument(delegate, "delegate");
+		this.stats = new StatTracker("UserDetailsCache", cache.getName(),
+				LoggerFactory.getLogger(CachingUserDetailsService.class),
+				DEFAULT_STAT_LOG_ACCESS_COUNT);
+		this.pingTestId = String.format("%s-%s", CachingUserDetailsService.class.getName(),
+				cache.getName());
+	}
+
+	@Override
+	public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+		UserDetails result = cache.get(username);
+		if ( result != null ) {
+			stats.increment(CacheStats.Hit);
+			return copy(result);
+		}
+		stats.increment(CacheStats.Miss);
+		result = delegate.loadUserByUsername(username);
+		cache.put(username, result);
+		return copy(result);
+	}
+
+	private static UserDetails copy(UserDetails user) {
+		if ( user instanceof AuthenticatedToken t ) {
+			return new AuthenticatedToken(t, t.getTokenType(), t.getUserId(), t.getPolicy());
+		} else if ( user instanceof AuthenticatedUser u ) {
+			return new AuthenticatedUser(u, u.getUserId(), u.getName(),
+					u.isAuthenticatedWithToken());
+		}
+		return User.withUserDetails(user).build();
+	}
+
+	/**
+	 * Evict a user from the cache.
+	 *
+	 * @param username
+	 *        the username (or token ID) of the user to evict
+	 */
+	public void evictUser(String username) {
+		if ( cache.remove(username) ) {
+			stats.increment(CacheStats.Evicted);
+		}
+	}
+
+	@Override
+	public String getPingTestId() {
+		return pingTestId;
+	}
+
+	@Override
+	public String getPingTestName() {
+		return "User Details Cache";
+	}
+
+	@Override
+	public long getPingTestMaximumExecutionMilliseconds() {
+		return 500;
+	}
+
+	@Override
+	public Result performPingTest() throws Exception {
+		Map<String, Long> statMap = stats.allCounts();
+		Long hits = statMap.get(CacheStats.Hit.name());
+		Long misses = statMap.get(CacheStats.Miss.name());
+		long total = (hits != null ? hits : 0L) + (misses != null ? misses : 0L);
+		double hitRate = (hits == null || hits < 1 ? 0.0 : (double) hits / (double) total);
+		statMap.put("HitRate", (long) (hitRate * 100));
+		return new PingTestResult(true, "Cache active.", statMap);
+	}
+
+	/**
+	 * Set the statistic log update count.
+	 *
+	 * <p>
+	 * Setting this to something greater than {@literal 0} will cause
+	 * {@literal INFO} level statistic log entries to be emitted every
+	 * {@code statLogAccessCount} times a user has been loaded.
+	 * </p>
+	 *
+	 * @param statLogAccessCount
+	 *        the access count; defaults to
+	 *        {@link #DEFAULT_STAT_LOG_ACCESS_COUNT}
+	 */
+	public final void setStatLogAccessCount(int statLogAccessCount) {
+		this.stats.setLogFrequency(statLogAccessCount);
+	}
+
+}
@@ -37,8 +37,16 @@ import org.jspecify.annotations.Nullable;
 /**
  * A standardized cache settings bean.
  *
+ * <p>
+ * The cache tiers are configured in order of heap, off-heap, and disk. Each
+ * tier is omitted if its maximum size is {@literal 0}. When both off-heap and
+ * disk tiers are configured the disk tier must be larger than the off-heap
+ * tier. Values held in the off-heap and disk tiers must be
+ * {@link java.io.Serializable}.
+ * </p>
+ *
  * @author matt
- * @version 1.1
+ * @version 1.2
  */
 public class CacheSettings {
 
@@ -51,6 +59,13 @@ public class CacheSettings {
 	/** The {@code heapMaxEntries} property default value. */
 	public static final long DEFAULT_HEAP_MAX_ENTRIES = 10000L;
 
+	/**
+	 * The {@code offHeapMaxSizeMb} property default value.
+	 *
+	 * @since 1.2
+	 */
+	public static final long DEFAULT_OFF_HEAP_MAX_SIZE_MB = 0L;
+
 	/** The {@code diskMaxSizeMb} property default value. */
 	public static final long DEFAULT_DISK_MAX_SIZE_MB = 100L;
 
@@ -60,6 +75,7 @@ public class CacheSettings {
 	private long tti = DEFAULT_TIME_TO_IDLE;
 	private long ttl = DEFAULT_TIME_TO_LIVE;
 	private long heapMaxEntries = DEFAULT_HEAP_MAX_ENTRIES;
+	private long offHeapMaxSizeMb = DEFAULT_OFF_HEAP_MAX_SIZE_MB;
 	private long diskMaxSizeMb = DEFAULT_DISK_MAX_SIZE_MB;
 	private boolean diskPersistent = DEFAULT_DISK_PERSISTENT;
 	private @Nullable CacheLoaderWriter<?, ?> loaderWriter;
@@ -96,6 +112,9 @@ public class CacheSettings {
 		if ( heapMaxEntries > 0 ) {
 			poolsBuilder = poolsBuilder.heap(heapMaxEntries, EntryUnit.ENTRIES);
 		}
+		if ( offHeapMaxSizeMb > 0 ) {
+			poolsBuilder = poolsBuilder.offheap(offHeapMaxSizeMb, MemoryUnit.MB);
+		}
 		if ( diskMaxSizeMb > 0 ) {
 			poolsBuilder = poolsBuilder.disk(diskMaxSizeMb, MemoryUnit.MB, diskPersistent);
 		}
@@ -176,6 +195,33 @@ public class CacheSettings {
 		this.heapMaxEntries = heapMaxEntries;
 	}
 
+	/**
+	 * Get the off-heap (direct memory) maximum size, in MB.
+	 *
+	 * @return the off-heap maximum size, or {@literal 0} for no off-heap tier;
+	 *         defaults to {@link #DEFAULT_OFF_HEAP_MAX_SIZE_MB}
+	 * @since 1.2
+	 */
+	public final long getOffHeapMaxSizeMb() {
+		return offHeapMaxSizeMb;
+	}
+
+	/**
+	 * Set the off-heap (direct memory) maximum size, in MB.
+	 *
+	 * <p>
+	 * The JVM must allow enough direct memory for this tier, for example via
+	 * the {@code -XX:MaxDirectMemorySize} option.
+	 * </p>
+	 *
+	 * @param offHeapMaxSizeMb
+	 *        the off-heap maximum size, or {@literal 0} for no off-heap tier
+	 * @since 1.2
+	 */
+	public final void setOffHeapMaxSizeMb(long offHeapMaxSizeMb) {
+		this.offHeapMaxSizeMb = offHeapMaxSizeMb;
+	}
+
 	/**
 	 * Get the on-disk maximum size, in MB.
 	 *
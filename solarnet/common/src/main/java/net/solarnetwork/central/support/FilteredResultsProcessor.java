@@ -36,11 +36,19 @@ import org.springframework.util.MimeType;
  * @param <R>
  *        the result item type
  * @author matt
- * @version 1.0
+ * @version 1.1
  * @since 1.2
  */
 public interface FilteredResultsProcessor<R> extends Closeable, Flushable {
 
+	/**
+	 * A {@link #start(Long, Integer, Integer, Map)} attribute for an opaque
+	 * cursor string to use to get the next page of results.
+	 * 
+	 * @since 1.1
+	 */
+	String NEXT_CURSOR_ATTRIBUTE = "nextCursor";
+
 	/**
 	 * Get the MIME type generated by this processor.
 	 * 
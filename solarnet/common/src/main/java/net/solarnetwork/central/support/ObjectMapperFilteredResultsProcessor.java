@@ -40,13 +40,21 @@ import tools.jackson.databind.ValueSerializer;
  * Basic {@link FilteredResultsProcessor} that serializes using Jackson JSON.
  * 
  * @author matt
- * @version 2.0
+ * @version 2.1
  */
 public class ObjectMapperFilteredResultsProcessor<R> extends AbstractFilteredResultsProcessor<R> {
 
 	/** The success array field name. */
 	public static final SerializedString SUCCESS_FIELD_NAME = new SerializedString("success");
 
+	/**
+	 * The next cursor field name.
+	 * 
+	 * @since 2.1
+	 */
+	public static final SerializedString NEXT_CURSOR_FIELD_NAME = new SerializedString(
+			NEXT_CURSOR_ATTRIBUTE);
+
 	private final JsonGenerator generator;
 	private final SerializationContext provider;
 	private final @Nullable ValueSerializer<R> serializer;
@@ -89,8 +97,10 @@ public class ObjectMapperFilteredResultsProcessor<R> extends AbstractFilteredRes
 	public void start(final @Nullable Long totalResultCount, final @Nullable Integer startingOffset,
 			final @Nullable Integer expectedResultCount, @Nullable Map<String, ?> attributes)
 			throws IOException {
+		final Object nextCursor = (attributes != null ? attributes.get(NEXT_CURSOR_ATTRIBUTE)
+				: null);
 		int count = 1 + (expectedResultCount != null ? 1 : 0) + (startingOffset != null ? 1 : 0)
-				+ (totalResultCount != null ? 1 : 0);
+				+ (totalResultCount != null ? 1 : 0) + (nextCursor != null ? 1 : 0);
 
 		generator.writeStartObject(this, count);
 		generator.writeName(SUCCESS_FIELD_NAME);
@@ -108,6 +118,10 @@ public class ObjectMapperFilteredResultsProcessor<R> extends AbstractFilteredRes
 			generator.writeName(TOTAL_RESULT_COUNT_FIELD_NAME);
 			generator.writeNumber(totalResultCount);
 		}
+		if ( nextCursor != null ) {
+			generator.writeName(NEXT_CURSOR_FIELD_NAME);
+			generator.writeString(nextCursor.toString());
+		}
 	}
 
 	@Override
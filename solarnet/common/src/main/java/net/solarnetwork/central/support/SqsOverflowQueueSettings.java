@@ -34,7 +34,7 @@ import software.amazon.awssdk.services.sqs.SqsAsyncClientBuilder;
  * Settings for the {@link SqsOverflowQueue} class.
  *
  * @author matt
- * @version 1.1
+ * @version 1.2
  */
 public class SqsOverflowQueueSettings extends SqsProperties {
 
@@ -57,6 +57,9 @@ public class SqsOverflowQueueSettings extends SqsProperties {
 	private Duration readSleepThrottleStep = Duration
 			.ofMillis(SqsOverflowQueue.DEFAULT_READ_SLEEP_THROTTLE_STEP_MS);
 	private Duration pingTestTimeout = Duration.ofMillis(SqsOverflowQueue.DEFAULT_PING_TEST_TIMEOUT_MS);
+	private int writeBatchSize = SqsOverflowQueue.DEFAULT_WRITE_BATCH_SIZE;
+	private Duration writeBatchMaxLinger = Duration
+			.ofMillis(SqsOverflowQueue.DEFAULT_WRITE_BATCH_MAX_LINGER_MS);
 
 	private Duration shutdownWait = Duration.ZERO;
 
@@ -108,6 +111,10 @@ public class SqsOverflowQueueSettings extends SqsProperties {
 		if ( shutdownWait != null ) {
 			queue.setShutdownWaitSecs((int) shutdownWait.toSeconds());
 		}
+		queue.setWriteBatchSize(writeBatchSize);
+		if ( writeBatchMaxLinger != null ) {
+			queue.setWriteBatchMaxLingerMs(writeBatchMaxLinger.toMillis());
+		}
 	}
 
 	/**
@@ -390,4 +397,60 @@ public class SqsOverflowQueueSettings extends SqsProperties {
 				: Duration.ofMillis(SqsOverflowQueue.DEFAULT_PING_TEST_TIMEOUT_MS));
 	}
 
+	/**
+	 * Get the maximum number of entities each writer thread persists in a
+	 * single batch.
+	 * 
+	 * @return the batch size; defaults to
+	 *         {@link SqsOverflowQueue#DEFAULT_WRITE_BATCH_SIZE}
+	 * @since 1.2
+	 */
+	public final int getWriteBatchSize() {
+		return writeBatchSize;
+	}
+
+	/**
+	 * Set the maximum number of entities each writer thread persists in a
+	 * single batch.
+	 * 
+	 * @param writeBatchSize
+	 *        the batch size to set; {@literal 1} disables batching and anything
+	 *        less than {@literal 1} will be treated as {@literal 1}
+	 * @since 1.2
+	 */
+	public final void setWriteBatchSize(int writeBatchSize) {
+		if ( writeBatchSize < 1 ) {
+			writeBatchSize = 1;
+		}
+		this.writeBatchSize = writeBatchSize;
+	}
+
+	/**
+	 * Get the maximum amount of time a writer thread will wait for a batch to
+	 * fill before persisting it.
+	 * 
+	 * @return the maximum linger time; defaults to
+	 *         {@link SqsOverflowQueue#DEFAULT_WRITE_BATCH_MAX_LINGER_MS}
+	 *         milliseconds
+	 * @since 1.2
+	 */
+	public final Duration getWriteBatchMaxLinger() {
+		return writeBatchMaxLinger;
+	}
+
+	/**
+	 * Set the maximum amount of time a writer thread will wait for a batch to
+	 * fill before persisting it.
+	 * 
+	 * @param writeBatchMaxLinger
+	 *        the maximum linger time to set; if {@code null} then
+	 *        {@link SqsOverflowQueue#DEFAULT_WRITE_BATCH_MAX_LINGER_MS}
+	 *        milliseconds will be used
+	 * @since 1.2
+	 */
+	public final void setWriteBatchMaxLinger(Duration writeBatchMaxLinger) {
+		this.writeBatchMaxLinger = (writeBatchMaxLinger != null ? writeBatchMaxLinger
+				: Duration.ofMillis(SqsOverflowQueue.DEFAULT_WRITE_BATCH_MAX_LINGER_MS));
+	}
+
 }
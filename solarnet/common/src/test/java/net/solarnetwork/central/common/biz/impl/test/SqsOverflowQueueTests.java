@@ -26,15 +26,20 @@ import static net.solarnetwork.central.test.CommonTestUtils.randomLong;
 import static net.solarnetwork.central.test.CommonTestUtils.randomString;
 import static org.assertj.core.api.BDDAssertions.and;
 import static org.assertj.core.api.BDDAssertions.from;
+import static org.assertj.core.api.BDDAssertions.thenThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.then;
 import java.io.IOException;
 import java.lang.Thread.UncaughtExceptionHandler;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -75,7 +80,7 @@ import tools.jackson.databind.module.SimpleModule;
  * Test cases for the {@link SqsOverflowQueue} class.
  *
  * @author matt
- * @version 1.0
+ * @version 1.2
  */
 @SuppressWarnings("static-access")
 @ExtendWith(MockitoExtension.class)
@@ -121,6 +126,9 @@ public class SqsOverflowQueueTests {
 	@Captor
 	private ArgumentCaptor<Datum> datumCaptor;
 
+	@Captor
+	private ArgumentCaptor<List<UserEvent>> entityListCaptor;
+
 	private String sqsUrl;
 	private BlockingQueue<SqsOverflowQueue.WorkItem<UserEvent, UserUuidPK>> workQueue;
 	private BlockingQueue<String> completedSqsMessageHandles;
@@ -374,4 +382,197 @@ public class SqsOverflowQueueTests {
 		// @formatter:on
 	}
 
+	private List<CompletableFuture<UserUuidPK>> offerWorkItems(List<UserEvent> entities) {
+		List<CompletableFuture<UserUuidPK>> futures = new ArrayList<>(entities.size());
+		for ( UserEvent entity : entities ) {
+			CompletableFuture<UserUuidPK> f = new CompletableFuture<>();
+			workQueue.offer(new SqsOverflowQueue.WorkItem<>(entity, f));
+			futures.add(f);
+		}
+		return futures;
+	}
+
+	/**
+	 * Verify that in batching mode several work items are persisted together.
+	 */
+	@Test
+	public void batchStore() throws Exception {
+		// GIVEN
+		collector.setReadConcurrency(0); // disable read thread
+		collector.setWriteBatchSize(4);
+		collector.setWriteBatchMaxLingerMs(100);
+
+		List<UserEvent> entities = new ArrayList<>(3);
+		for ( int i = 0; i < 3; i++ ) {
+			entities.add(new UserEvent(randomLong(), UUID_GENERATOR.generate(),
+					new String[] { randomString() }, null, null));
+		}
+		List<CompletableFuture<UserUuidPK>> futures = offerWorkItems(entities);
+
+		given(delegateDao.persistAll(any())).willAnswer(invocation -> {
+			List<UserEvent> l = invocation.getArgument(0);
+			return l.stream().map(UserEvent::getId).toList();
+		});
+
+		// WHEN
+		collector.serviceDidStartup();
+
+		List<UserUuidPK> results = new ArrayList<>(futures.size());
+		for ( CompletableFuture<UserUuidPK> f : futures ) {
+			results.add(f.get(2, TimeUnit.SECONDS));
+		}
+
+		collector.shutdownAndWait();
+
+		// THEN
+		// @formatter:off
+		then(exceptionHandler).shouldHaveNoInteractions();
+
+		then(delegateDao).should().persistAll(entityListCaptor.capture());
+		and.then(entityListCaptor.getValue())
+			.as("All work items persisted in single batch")
+			.containsExactlyElementsOf(entities)
+			;
+		then(delegateDao).shouldHaveNoMoreInteractions();
+
+		and.then(results)
+			.as("Each work item completed with its own key")
+			.containsExactlyElementsOf(entities.stream().map(UserEvent::getId).toList())
+			;
+
+		and.then(stats.get(SqsOverflowQueue.BasicCount.BatchFlushes))
+			.as("One batch flushed")
+			.isEqualTo(1)
+			;
+		and.then(stats.get(SqsOverflowQueue.BasicCount.BatchObjects))
+			.as("All entities included in batch")
+			.isEqualTo(3)
+			;
+		and.then(stats.get(SqsOverflowQueue.BasicCount.ObjectsStored))
+			.as("All entities stored")
+			.isEqualTo(3)
+			;
+		// @formatter:on
+	}
+
+	/**
+	 * Verify that when a batch fails each work item is persisted individually
+	 * and completed with its own result.
+	 */
+	@Test
+	public void batchStore_fallback() throws Exception {
+		// GIVEN
+		collector.setReadConcurrency(0); // disable read thread
+		collector.setWriteBatchSize(4);
+		collector.setWriteBatchMaxLingerMs(100);
+
+		List<UserEvent> entities = new ArrayList<>(2);
+		for ( int i = 0; i < 2; i++ ) {
+			entities.add(new UserEvent(randomLong(), UUID_GENERATOR.generate(),
+					new String[] { randomString() }, null, null));
+		}
+		List<CompletableFuture<UserUuidPK>> futures = offerWorkItems(entities);
+
+		given(delegateDao.persistAll(any())).willThrow(new RuntimeException("batch boom!"));
+
+		Throwable t = new RuntimeException("boom!");
+		given(delegateDao.persist(any())).willReturn(entities.get(0).getId()).willThrow(t);
+
+		// WHEN
+		collector.serviceDidStartup();
+
+		UserUuidPK result = futures.get(0).get(2, TimeUnit.SECONDS);
+
+		// @formatter:off
+		thenThrownBy(() -> futures.get(1).get(2, TimeUnit.SECONDS))
+			.as("Failed entity completed exceptionally")
+			.isInstanceOf(ExecutionException.class)
+			.cause()
+			.isSameAs(t)
+			;
+		// @formatter:on
+
+		collector.shutdownAndWait();
+
+		// THEN
+		// @formatter:off
+		then(exceptionHandler).should().uncaughtException(any(), throwableCaptor.capture());
+		and.then(throwableCaptor.getValue())
+			.as("Exception passed to handler")
+			.isSameAs(t)
+			;
+
+		and.then(result)
+			.as("Successful entity completed with its own key")
+			.isEqualTo(entities.get(0).getId())
+			;
+
+		and.then(stats.get(SqsOverflowQueue.BasicCount.BatchFallbacks))
+			.as("Batch fallback recorded")
+			.isEqualTo(1)
+			;
+		and.then(stats.get(SqsOverflowQueue.BasicCount.ObjectsFailed))
+			.as("Failed entity recorded")
+			.isEqualTo(1)
+			;
+		// @formatter:on
+	}
+
+	/**
+	 * Verify that all entities passed to {@code persistAll()} are queued before
+	 * waiting, so they are persisted in a single batch.
+	 */
+	@Test
+	public void persistAll_singleBatch() throws Exception {
+		// GIVEN
+		collector.setReadConcurrency(0); // disable read thread
+		collector.setWriteBatchSize(4);
+		collector.setWriteBatchMaxLingerMs(100);
+
+		List<UserEvent> entities = new ArrayList<>(3);
+		for ( int i = 0; i < 3; i++ ) {
+			entities.add(new UserEvent(randomLong(), UUID_GENERATOR.generate(),
+					new String[] { randomString() }, null, null));
+		}
+
+		given(delegateDao.persistAll(any())).willAnswer(invocation -> {
+			List<UserEvent> l = invocation.getArgument(0);
+			return l.stream().map(UserEvent::getId).toList();
+		});
+
+		// WHEN
+		collector.serviceDidStartup();
+
+		List<UserUuidPK> results = collector.persistAll(entities);
+
+		collector.shutdownAndWait();
+
+		// THEN
+		// @formatter:off
+		then(exceptionHandler).shouldHaveNoInteractions();
+		then(sqsClient).shouldHaveNoInteractions();
+
+		then(delegateDao).should().persistAll(entityListCaptor.capture());
+		and.then(entityListCaptor.getValue())
+			.as("All entities persisted in single batch")
+			.containsExactlyElementsOf(entities)
+			;
+		then(delegateDao).shouldHaveNoMoreInteractions();
+
+		and.then(results)
+			.as("Each entity returned with its own key")
+			.containsExactlyElementsOf(entities.stream().map(UserEvent::getId).toList())
+			;
+
+		and.then(stats.get(SqsOverflowQueue.BasicCount.BatchFlushes))
+			.as("One batch flushed")
+			.isEqualTo(1)
+			;
+		and.then(stats.get(SqsOverflowQueue.BasicCount.WorkQueueAdds))
+			.as("All entities added to work queue")
+			.isEqualTo(3)
+			;
+		// @formatter:on
+	}
+
 }
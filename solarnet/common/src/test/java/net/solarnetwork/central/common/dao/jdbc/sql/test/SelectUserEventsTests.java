@@ -37,8 +37,10 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Types;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.UUID;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
@@ -48,6 +50,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import net.solarnetwork.central.common.dao.BasicUserEventFilter;
+import net.solarnetwork.central.common.dao.KeysetCursor;
 import net.solarnetwork.central.common.dao.UserEventFilter;
 import net.solarnetwork.central.common.dao.jdbc.sql.SelectUserEvent;
 import net.solarnetwork.central.support.SearchFilterUtils;
@@ -57,7 +60,7 @@ import net.solarnetwork.util.SearchFilter;
  * Test cases for the {@link SelectUserEvent} class.
  * 
  * @author matt
- * @version 1.2
+ * @version 1.3
  */
 @ExtendWith(MockitoExtension.class)
 public class SelectUserEventsTests {
@@ -302,4 +305,53 @@ public class SelectUserEventsTests {
 		verifyPrepStatement(result, filter);
 	}
 
+	@Test
+	public void sql_keyset() {
+		// GIVEN
+		BasicUserEventFilter filter = new BasicUserEventFilter();
+		filter.setUserId(1L);
+		filter.setTag("A");
+		filter.setMax(100);
+		filter.setOffset(200L);
+		filter.setCursor(KeysetCursor.of(1L, UUID.randomUUID()).token());
+
+		// WHEN
+		String sql = new SelectUserEvent(filter).getSql();
+
+		// THEN
+		log.debug("Generated SQL:\n{}", sql);
+		assertThat("SQL matches, offset ignored", sql,
+				equalToTextResource("select-user-event-keyset.sql", TestSqlResources.class, SQL_COMMENT));
+	}
+
+	@Test
+	public void prep_keyset() throws SQLException {
+		// GIVEN
+		final UUID eventId = UUID.randomUUID();
+		BasicUserEventFilter filter = new BasicUserEventFilter();
+		filter.setUserId(1L);
+		filter.setTag("A");
+		filter.setMax(100);
+		filter.setCursor(KeysetCursor.of(1L, eventId).token());
+
+		givenPrepStatement();
+		givenSetTagsArrayParameter(filter.getTags());
+
+		// WHEN
+		PreparedStatement result = new SelectUserEvent(filter).createPreparedStatement(con);
+
+		// THEN
+		then(con).should().prepareStatement(sqlCaptor.capture(), eq(ResultSet.TYPE_FORWARD_ONLY),
+				eq(ResultSet.CONCUR_READ_ONLY), eq(ResultSet.CLOSE_CURSORS_AT_COMMIT));
+		log.debug("Generated SQL:\n{}", sqlCaptor.getValue());
+		assertThat("Generated SQL", sqlCaptor.getValue(),
+				equalToTextResource("select-user-event-keyset.sql", TestSqlResources.class, SQL_COMMENT));
+		assertThat("Connection statement returned", result, sameInstance(stmt));
+		then(result).should().setObject(1, filter.getUserId());
+		then(result).should().setArray(2, tagsArray);
+		then(result).should().setObject(3, 1L);
+		then(result).should().setObject(4, eventId, Types.OTHER);
+		then(result).should().setInt(5, 100);
+	}
+
 }
@@ -22,16 +22,20 @@
 
 package net.solarnetwork.central.common.dao.jdbc.test;
 
+import static org.assertj.core.api.BDDAssertions.thenThrownBy;
 import static org.easymock.EasyMock.anyObject;
 import static org.easymock.EasyMock.expect;
 import static org.easymock.EasyMock.replay;
 import static org.easymock.EasyMock.same;
 import static org.easymock.EasyMock.verify;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayContaining;
+import static org.hamcrest.Matchers.emptyArray;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.Matchers.sameInstance;
+import java.math.BigDecimal;
 import java.sql.SQLException;
 import java.util.List;
 import org.easymock.EasyMock;
@@ -50,7 +54,7 @@ import net.solarnetwork.dao.FilterResults;
  * Test cases for the {@link CommonJdbcUtils} class.
  * 
  * @author matt
- * @version 1.1
+ * @version 1.2
  */
 public class CommonJdbcUtilsTests {
 
@@ -156,4 +160,53 @@ public class CommonJdbcUtilsTests {
 		verify(jdbcTemplate, sql, mapper);
 	}
 
+	@Test
+	public void parseDecimalArrayLiteral() {
+		// WHEN
+		BigDecimal[] result = CommonJdbcUtils
+				.parseDecimalArrayLiteral("{1.23,NULL,-4.5E+3,NaN,Infinity,-Infinity,7}");
+
+		// THEN
+		assertThat("Decimals parsed, with NULL and non-finite values as null", result,
+				arrayContaining(new BigDecimal("1.23"), null, new BigDecimal("-4.5E+3"), null, null,
+						null, new BigDecimal("7")));
+	}
+
+	@Test
+	public void parseDecimalArrayLiteral_empty() {
+		assertThat("Empty array parsed", CommonJdbcUtils.parseDecimalArrayLiteral("{}"),
+				emptyArray());
+	}
+
+	@Test
+	public void parseDecimalArrayLiteral_null() {
+		assertThat("Null literal parsed as null", CommonJdbcUtils.parseDecimalArrayLiteral(null),
+				nullValue());
+	}
+
+	@Test
+	public void parseDecimalArrayLiteral_multiDimensional() {
+		thenThrownBy(() -> CommonJdbcUtils.parseDecimalArrayLiteral("{{1,2},{3,4}}"))
+				.as("Multi-dimensional array not supported")
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	public void parseStringArrayLiteral() {
+		// WHEN
+		String[] result = CommonJdbcUtils
+				.parseStringArrayLiteral("{a,\"b c\",NULL,\"NULL\",\"d\\\"e\\\\f\",\"\",g}");
+
+		// THEN
+		assertThat("Strings parsed, with quotes and escapes decoded", result,
+				arrayContaining("a", "b c", null, "NULL", "d\"e\\f", "", "g"));
+	}
+
+	@Test
+	public void parseStringArrayLiteral_dimensionDecoration() {
+		thenThrownBy(() -> CommonJdbcUtils.parseStringArrayLiteral("[0:1]={a,b}"))
+				.as("Array with explicit bounds not supported")
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
 }
@@ -0,0 +1,175 @@
+/* ==================================================================
+ * JdbcCacheInvalidationBusTests.java - 17/10/2026 9:31:08 pm
+ *
+ * Copyright 2026 SolarNetwork.net Dev Team
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation; either version 2 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA
+ * 02111-1307 USA
+ * ==================================================================
+ */
+
+package net.solarnetwork.central.common.dao.jdbc.test;
+
+import static org.assertj.core.api.BDDAssertions.and;
+import static org.assertj.core.api.BDDAssertions.thenIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.PGConnection;
+import net.solarnetwork.central.common.dao.CacheInvalidationBus;
+import net.solarnetwork.central.common.dao.jdbc.JdbcCacheInvalidationBus;
+
+/**
+ * Test cases for the {@link JdbcCacheInvalidationBus} class.
+ *
+ * @author matt
+ * @version 1.0
+ */
+@ExtendWith(MockitoExtension.class)
+public class JdbcCacheInvalidationBusTests {
+
+	@Mock
+	private DataSource dataSource;
+
+	@Mock
+	private Connection conn;
+
+	@Mock
+	private Statement stmt;
+
+	@Mock
+	private PGConnection pgConn;
+
+	private JdbcCacheInvalidationBus bus;
+
+	@BeforeEach
+	public void setup() {
+		bus = new JdbcCacheInvalidationBus(dataSource);
+	}
+
+	@Test
+	public void handleNotification() {
+		// GIVEN
+		final List<String> messages = new ArrayList<>();
+		bus.addInvalidationListener((topic, key) -> messages.add(topic + "|" + key));
+
+		// WHEN
+		bus.handleNotification("solardin.din_xform\n(1,2)");
+		bus.handleNotification("solarnet.sn_node_meta\n123");
+
+		// THEN
+		then(dataSource).shouldHaveNoInteractions();
+		and.then(messages).as("Topic and key parsed from payloads")
+				.containsExactly("solardin.din_xform|(1,2)", "solarnet.sn_node_meta|123");
+	}
+
+	@Test
+	public void handleNotification_invalid() {
+		// GIVEN
+		final List<String> messages = new ArrayList<>();
+		bus.addInvalidationListener((topic, key) -> messages.add(topic + "|" + key));
+
+		// WHEN
+		bus.handleNotification(null);
+		bus.handleNotification("no.key");
+		bus.handleNotification("\n123");
+
+		// THEN
+		and.then(messages).as("Invalid payloads ignored").isEmpty();
+	}
+
+	@Test
+	public void handleNotification_listenerException() {
+		// GIVEN
+		final List<String> messages = new ArrayList<>();
+		bus.addInvalidationListener((_, _) -> {
+			throw new RuntimeException("Boom");
+		});
+		bus.addInvalidationListener((topic, key) -> messages.add(topic + "|" + key));
+
+		// WHEN
+		bus.handleNotification("solaruser.user_meta\n1");
+
+		// THEN
+		and.then(messages).as("Listener called after other listener threw exception")
+				.containsExactly("solaruser.user_meta|1");
+	}
+
+	@Test
+	public void removeListener() {
+		// GIVEN
+		final List<String> messages = new ArrayList<>();
+		final JdbcCacheInvalidationBus.Listener l = (topic, key) -> messages.add(topic + "|" + key);
+		bus.addInvalidationListener(l);
+
+		// WHEN
+		bus.removeInvalidationListener(l);
+		bus.handleNotification("solaruser.user_meta\n1");
+
+		// THEN
+		and.then(messages).as("Removed listener not called").isEmpty();
+	}
+
+	@Test
+	public void startup_invalidateAll() throws Exception {
+		// GIVEN
+		given(dataSource.getConnection()).willReturn(conn);
+		given(conn.createStatement()).willReturn(stmt);
+		given(conn.unwrap(PGConnection.class)).willReturn(pgConn);
+		given(pgConn.getNotifications(anyInt())).willReturn(null);
+
+		final List<String> messages = new ArrayList<>();
+		final CountDownLatch latch = new CountDownLatch(1);
+		bus.addInvalidationListener((topic, key) -> {
+			messages.add(topic + "|" + key);
+			latch.countDown();
+		});
+		bus.setPollTimeout(10);
+
+		// WHEN
+		bus.serviceDidStartup();
+		final boolean notified;
+		try {
+			notified = latch.await(5, TimeUnit.SECONDS);
+		} finally {
+			bus.serviceDidShutdown();
+		}
+
+		// THEN
+		then(stmt).should().execute("LISTEN " + JdbcCacheInvalidationBus.DEFAULT_CHANNEL);
+		and.then(notified).as("Listener notified after first connection").isTrue();
+		and.then(messages).as("All keys invalidated on first connection, as changes made before "
+				+ "listening might not be reflected in caches")
+				.containsExactly(CacheInvalidationBus.ALL + "|" + CacheInvalidationBus.ALL);
+	}
+
+	@Test
+	public void setChannel_invalid() {
+		thenIllegalArgumentException().isThrownBy(() -> bus.setChannel("foo; DROP TABLE bar"));
+	}
+
+}
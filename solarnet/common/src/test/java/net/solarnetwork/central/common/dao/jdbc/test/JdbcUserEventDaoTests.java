@@ -35,6 +35,7 @@ import static org.hamcrest.Matchers.hasItemInArray;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
 import java.io.IOException;
 import java.security.SecureRandom;
 import java.time.Instant;
@@ -55,6 +56,7 @@ import net.solarnetwork.central.common.dao.jdbc.JdbcUserEventDao;
 import net.solarnetwork.central.domain.UserEvent;
 import net.solarnetwork.central.domain.UserUuidPK;
 import net.solarnetwork.central.support.AbstractFilteredResultsProcessor;
+import net.solarnetwork.central.support.FilteredResultsProcessor;
 import net.solarnetwork.central.test.AbstractJUnit5JdbcDaoTestSupport;
 import net.solarnetwork.central.test.CommonDbTestUtils;
 import net.solarnetwork.dao.FilterResults;
@@ -65,7 +67,7 @@ import net.solarnetwork.util.UuidGenerator;
  * Test cases for the {@link JdbcUserEventDao} class.
  * 
  * @author matt
- * @version 1.2
+ * @version 1.3
  */
 public class JdbcUserEventDaoTests extends AbstractJUnit5JdbcDaoTestSupport {
 
@@ -223,6 +225,58 @@ public class JdbcUserEventDaoTests extends AbstractJUnit5JdbcDaoTestSupport {
 		}
 	}
 
+	@Test
+	public void find_stream_cursor() throws IOException {
+		// GIVEN
+		final Instant start = clock.instant();
+		final int count = 5;
+		final List<UserEvent> events = new ArrayList<>(count);
+		for ( int i = 0; i < count; i++ ) {
+			UserEvent event = new UserEvent(userId, uuidGenerator.generate(), new String[] { "a" },
+					null, null);
+			dao.persist(event);
+			events.add(event);
+			clock.add(1, ChronoUnit.SECONDS);
+		}
+
+		// WHEN
+		final List<UserEvent> results = new ArrayList<>(count);
+		final List<Map<String, ?>> startAttributes = new ArrayList<>(2);
+		final FilteredResultsProcessor<UserEvent> processor = new AbstractFilteredResultsProcessor<>() {
+
+			@Override
+			public void start(Long totalResultCount, Integer startingOffset,
+					Integer expectedResultCount, Map<String, ?> attributes) throws IOException {
+				startAttributes.add(attributes);
+			}
+
+			@Override
+			public void handleResultItem(UserEvent resultItem) throws IOException {
+				results.add(resultItem);
+			}
+
+		};
+		BasicUserEventFilter f = new BasicUserEventFilter();
+		f.setUserId(userId);
+		f.setStartDate(start);
+		f.setEndDate(start.plusSeconds(count));
+		f.setMax(3);
+		dao.findFilteredStream(f, processor);
+
+		Object cursor = startAttributes.getLast().get(FilteredResultsProcessor.NEXT_CURSOR_ATTRIBUTE);
+		assertThat("First page cursor provided", cursor, is(notNullValue()));
+
+		f.setCursor(cursor.toString());
+		dao.findFilteredStream(f, processor);
+
+		// THEN
+		assertThat("Second page cursor not provided because page not full",
+				startAttributes.getLast().get(FilteredResultsProcessor.NEXT_CURSOR_ATTRIBUTE),
+				is(nullValue()));
+		assertThat("Pages return all events in order", results,
+				contains(events.toArray(UserEvent[]::new)));
+	}
+
 	@Test
 	public void delete_userOlderThan() {
 		// GIVEN
@@ -0,0 +1,115 @@
+/* ==================================================================
+ * CachingGenericDaoTests.java - 17/10/2026 9:48:03 pm
+ *
+ * Copyright 2026 SolarNetwork.net Dev Team
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation; either version 2 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA
+ * 02111-1307 USA
+ * ==================================================================
+ */
+
+package net.solarnetwork.central.common.dao.test;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+import java.time.Instant;
+import javax.cache.Cache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import net.solarnetwork.central.common.dao.CachingGenericDao;
+import net.solarnetwork.central.dao.UserMetadataDao;
+import net.solarnetwork.central.domain.UserMetadataEntity;
+
+/**
+ * Test cases for the {@link CachingGenericDao} class.
+ *
+ * @author matt
+ * @version 1.0
+ */
+@ExtendWith(MockitoExtension.class)
+public class CachingGenericDaoTests {
+
+	/** The number of cached user keys that triggers pruning the index. */
+	private static final int PRUNE_THRESHOLD = 1024;
+
+	@Mock
+	private Cache<Long, UserMetadataEntity> cache;
+
+	@Mock
+	private UserMetadataDao delegate;
+
+	private TestCachingDao dao;
+
+	private static final class TestCachingDao
+			extends CachingGenericDao<UserMetadataEntity, Long, UserMetadataDao> {
+
+		private TestCachingDao(UserMetadataDao delegate, Cache<Long, UserMetadataEntity> cache) {
+			// run background tasks like index pruning on the calling thread
+			super(delegate, cache, Runnable::run);
+		}
+
+		private void evictUser(Long userId) {
+			evictUserKeysMatching(userId, _ -> true);
+		}
+
+	}
+
+	@BeforeEach
+	public void setup() {
+		dao = new TestCachingDao(delegate, cache);
+		given(delegate.get(any()))
+				.willAnswer(inv -> new UserMetadataEntity(inv.getArgument(0), Instant.now()));
+	}
+
+	@Test
+	public void userKeys_prunedAfterCacheExpiry() {
+		// GIVEN
+		// user 1 is still in the cache, all others have expired or been evicted
+		given(cache.containsKey(any())).willAnswer(inv -> inv.getArgument(0).equals(1L));
+
+		// WHEN
+		for ( long userId = 1; userId <= PRUNE_THRESHOLD; userId++ ) {
+			dao.get(userId);
+		}
+		dao.evictUser(1L);
+		dao.evictUser(2L);
+
+		// THEN
+		then(cache).should().remove(1L);
+		then(cache).should(never()).remove(2L);
+	}
+
+	@Test
+	public void userKeys_notPrunedBelowThreshold() {
+		// GIVEN
+		final long count = PRUNE_THRESHOLD - 1;
+
+		// WHEN
+		for ( long userId = 1; userId <= count; userId++ ) {
+			dao.get(userId);
+		}
+		dao.evictUser(1L);
+
+		// THEN
+		then(cache).should(never()).containsKey(any());
+		then(cache).should().remove(1L);
+	}
+
+}
@@ -26,15 +26,21 @@ import static net.solarnetwork.central.test.CommonTestUtils.randomLong;
 import static org.assertj.core.api.BDDAssertions.and;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.verify;
 import java.util.List;
 import java.util.concurrent.Executors;
 import javax.cache.Cache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import net.solarnetwork.central.common.dao.BasicCoreCriteria;
+import net.solarnetwork.central.common.dao.CacheInvalidationBus;
 import net.solarnetwork.central.common.dao.CachingSolarNodeMetadataDao;
 import net.solarnetwork.central.common.dao.SolarNodeMetadataDao;
 import net.solarnetwork.central.common.dao.SolarNodeMetadataReadOnlyDao;
@@ -46,7 +52,7 @@ import net.solarnetwork.dao.FilterResults;
  * Test cases for the {@link CachingSolarNodeMetadataDao} class.
  * 
  * @author matt
- * @version 1.0
+ * @version 1.1
  */
 @ExtendWith(MockitoExtension.class)
 @SuppressWarnings("static-access")
@@ -58,6 +64,12 @@ public class CachingSolarNodeMetadataDaoTests {
 	@Mock
 	private SolarNodeMetadataDao delegate;
 
+	@Mock
+	private CacheInvalidationBus invalidationBus;
+
+	@Captor
+	private ArgumentCaptor<CacheInvalidationBus.Listener> listenerCaptor;
+
 	private CachingSolarNodeMetadataDao dao;
 
 	@BeforeEach
@@ -179,4 +191,76 @@ public class CachingSolarNodeMetadataDaoTests {
 		// @formatter:on
 	}
 
+	@Test
+	public void remoteInvalidation() {
+		// GIVEN
+		final String topic = "solarnet.sn_node_meta";
+		dao.setInvalidationTopic(topic);
+		dao.setInvalidationBus(invalidationBus);
+		verify(invalidationBus).addInvalidationListener(listenerCaptor.capture());
+
+		final Long nodeId = randomLong();
+		given(entityCache.get(nodeId)).willReturn(null);
+
+		final var metadata = new SolarNodeMetadata(nodeId);
+		SolarNodeMetadataReadOnlyDao rod = delegate; // work-around for javac "reference to get is ambiguous"
+		given(rod.get(nodeId)).willReturn(metadata);
+
+		dao.get(nodeId);
+
+		// WHEN
+		listenerCaptor.getValue().cacheKeyInvalidated("solaruser.user_meta", nodeId.toString());
+		listenerCaptor.getValue().cacheKeyInvalidated(topic, nodeId.toString());
+
+		// THEN
+		then(entityCache).should().get(nodeId);
+		then(entityCache).should().put(nodeId, metadata);
+		then(entityCache).should().remove(nodeId);
+		then(entityCache).shouldHaveNoMoreInteractions();
+	}
+
+	@Test
+	public void remoteInvalidation_duringLoad() {
+		// GIVEN
+		final String topic = "solarnet.sn_node_meta";
+		dao.setInvalidationTopic(topic);
+		dao.setInvalidationBus(invalidationBus);
+		verify(invalidationBus).addInvalidationListener(listenerCaptor.capture());
+
+		final Long nodeId = randomLong();
+		given(entityCache.get(nodeId)).willReturn(null);
+
+		// invalidate the node while the delegate is loading the (now stale) entity
+		final var metadata = new SolarNodeMetadata(nodeId);
+		SolarNodeMetadataReadOnlyDao rod = delegate; // work-around for javac "reference to get is ambiguous"
+		given(rod.get(nodeId)).willAnswer(_ -> {
+			listenerCaptor.getValue().cacheKeyInvalidated(topic, nodeId.toString());
+			return metadata;
+		});
+
+		// WHEN
+		SolarNodeMetadata result = dao.get(nodeId);
+
+		// THEN
+		and.then(result).as("Result from delegate").isSameAs(metadata);
+		InOrder cacheOrder = inOrder(entityCache);
+		cacheOrder.verify(entityCache).put(nodeId, metadata);
+		cacheOrder.verify(entityCache).remove(nodeId);
+	}
+
+	@Test
+	public void remoteInvalidation_all() {
+		// GIVEN
+		dao.setInvalidationTopic("solarnet.sn_node_meta");
+		dao.setInvalidationBus(invalidationBus);
+		verify(invalidationBus).addInvalidationListener(listenerCaptor.capture());
+
+		// WHEN
+		listenerCaptor.getValue().cacheKeyInvalidated(CacheInvalidationBus.ALL,
+				CacheInvalidationBus.ALL);
+
+		// THEN
+		then(entityCache).should().clear();
+	}
+
 }
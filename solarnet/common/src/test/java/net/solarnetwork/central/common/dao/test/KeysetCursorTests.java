@@ -0,0 +1,83 @@
+/* ==================================================================
+ * KeysetCursorTests.java - 17/10/2026 9:41:08 pm
+ *
+ * Copyright 2026 SolarNetwork.net Dev Team
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation; either version 2 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA
+ * 02111-1307 USA
+ * ==================================================================
+ */
+
+package net.solarnetwork.central.common.dao.test;
+
+import static org.assertj.core.api.BDDAssertions.and;
+import static org.assertj.core.api.BDDAssertions.thenIllegalArgumentException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import net.solarnetwork.central.common.dao.KeysetCursor;
+
+/**
+ * Test cases for the {@link KeysetCursor} class.
+ *
+ * @author matt
+ * @version 1.0
+ */
+@SuppressWarnings("static-access")
+public class KeysetCursorTests {
+
+	@Test
+	public void roundTrip() {
+		// GIVEN
+		final Long id = 123L;
+		final UUID uuid = UUID.randomUUID();
+		final Instant ts = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+		final String source = "/foo.bar/1,2";
+
+		// WHEN
+		final String token = KeysetCursor.of(id, uuid, ts, source).token();
+		final KeysetCursor result = KeysetCursor.parse(token, 4);
+
+		// THEN
+		// @formatter:off
+		and.then(token)
+			.as("Token is URL safe")
+			.matches("[A-Za-z0-9_.-]+")
+			;
+		and.then(result.longValue(0)).as("Long value decoded").isEqualTo(id);
+		and.then(result.uuidValue(1)).as("UUID value decoded").isEqualTo(uuid);
+		and.then(result.instantValue(2)).as("Instant value decoded").isEqualTo(ts);
+		and.then(result.stringValue(3)).as("String value decoded").isEqualTo(source);
+		// @formatter:on
+	}
+
+	@Test
+	public void parse_wrongCount() {
+		// GIVEN
+		final String token = KeysetCursor.of(1L, 2L).token();
+
+		// THEN
+		thenIllegalArgumentException().as("Value count must match")
+				.isThrownBy(() -> KeysetCursor.parse(token, 3));
+	}
+
+	@Test
+	public void parse_invalid() {
+		thenIllegalArgumentException().as("Invalid Base64 rejected")
+				.isThrownBy(() -> KeysetCursor.parse("not valid!", 1));
+	}
+
+}
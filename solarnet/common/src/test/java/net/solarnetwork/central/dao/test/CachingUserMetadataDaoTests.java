@@ -26,13 +26,18 @@ import static net.solarnetwork.central.test.CommonTestUtils.randomLong;
 import static net.solarnetwork.central.test.CommonTestUtils.randomString;
 import static org.assertj.core.api.BDDAssertions.then;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+import java.util.Set;
 import java.util.concurrent.Executors;
 import javax.cache.Cache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import net.solarnetwork.central.common.dao.CacheInvalidationBus;
 import net.solarnetwork.central.dao.CachingUserMetadataDao;
 import net.solarnetwork.central.dao.UserMetadataDao;
 import net.solarnetwork.central.domain.UserMetadataEntity;
@@ -42,7 +47,7 @@ import net.solarnetwork.central.domain.UserStringCompositePK;
  * Test cases for the {@link CachingUserMetadataDao}.
  * 
  * @author matt
- * @version 1.0
+ * @version 1.1
  */
 @ExtendWith(MockitoExtension.class)
 public class CachingUserMetadataDaoTests {
@@ -56,6 +61,12 @@ public class CachingUserMetadataDaoTests {
 	@Mock
 	private UserMetadataDao delegate;
 
+	@Mock
+	private CacheInvalidationBus invalidationBus;
+
+	@Captor
+	private ArgumentCaptor<CacheInvalidationBus.Listener> listenerCaptor;
+
 	private CachingUserMetadataDao dao;
 
 	@BeforeEach
@@ -100,4 +111,47 @@ public class CachingUserMetadataDaoTests {
 		then(result).as("Result from cache").isSameAs(metadata);
 	}
 
+	@Test
+	public void metadata_remoteInvalidation() {
+		// GIVEN
+		final String topic = "solaruser.user_meta";
+		dao.setInvalidationTopic(topic);
+		dao.setInvalidationBus(invalidationBus);
+		verify(invalidationBus).addInvalidationListener(listenerCaptor.capture());
+
+		final Long userId = randomLong();
+		final String metadataPath = randomString();
+		final UserStringCompositePK key = new UserStringCompositePK(userId, metadataPath);
+		given(metadataCache.get(key)).willReturn(null);
+
+		final String metadata = randomString();
+		given(delegate.jsonMetadataAtPath(userId, metadataPath)).willReturn(metadata);
+
+		dao.jsonMetadataAtPath(userId, metadataPath);
+
+		// WHEN
+		listenerCaptor.getValue().cacheKeyInvalidated(topic, userId.toString());
+
+		// THEN
+		verify(metadataCache).put(key, metadata);
+		verify(entityCache).remove(userId);
+		verify(metadataCache).removeAll(Set.of(key));
+	}
+
+	@Test
+	public void metadata_remoteInvalidation_all() {
+		// GIVEN
+		dao.setInvalidationTopic("solaruser.user_meta");
+		dao.setInvalidationBus(invalidationBus);
+		verify(invalidationBus).addInvalidationListener(listenerCaptor.capture());
+
+		// WHEN
+		listenerCaptor.getValue().cacheKeyInvalidated(CacheInvalidationBus.ALL,
+				CacheInvalidationBus.ALL);
+
+		// THEN
+		verify(entityCache).clear();
+		verify(metadataCache).clear();
+	}
+
 }
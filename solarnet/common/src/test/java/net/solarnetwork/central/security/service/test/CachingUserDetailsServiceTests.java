@@ -0,0 +1,192 @@
+/* ==================================================================
+ * CachingUserDetailsServiceTests.java - 17/10/2026 9:58:41 pm
+ *
+ * Copyright 2026 SolarNetwork.net Dev Team
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation; either version 2 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA
+ * 02111-1307 USA
+ * ==================================================================
+ */
+
+package net.solarnetwork.central.security.service.test;
+
+import static net.solarnetwork.central.test.CommonTestUtils.randomLong;
+import static net.solarnetwork.central.test.CommonTestUtils.randomString;
+import static org.assertj.core.api.BDDAssertions.and;
+import static org.assertj.core.api.BDDAssertions.thenExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+import java.util.Set;
+import javax.cache.Cache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import net.solarnetwork.central.security.AuthenticatedToken;
+import net.solarnetwork.central.security.SecurityTokenType;
+import net.solarnetwork.central.security.service.CachingUserDetailsService;
+import net.solarnetwork.domain.BasicSecurityPolicy;
+import net.solarnetwork.domain.SecurityPolicy;
+import net.solarnetwork.service.PingTest;
+
+/**
+ * Test cases for the {@link CachingUserDetailsService} class.
+ *
+ * @author matt
+ * @version 1.0
+ */
+@ExtendWith(MockitoExtension.class)
+public class CachingUserDetailsServiceTests {
+
+	@Mock
+	private Cache<String, UserDetails> cache;
+
+	@Mock
+	private UserDetailsService delegate;
+
+	@Captor
+	private ArgumentCaptor<UserDetails> userCaptor;
+
+	private CachingUserDetailsService service;
+
+	@BeforeEach
+	public void setup() {
+		given(cache.getName()).willReturn("Test Cache");
+		service = new CachingUserDetailsService(cache, delegate);
+	}
+
+	private static AuthenticatedToken token(String tokenId, SecurityPolicy policy) {
+		return new AuthenticatedToken(
+				new User(tokenId, randomString(), true, true, true, true,
+						AuthorityUtils.createAuthorityList("ROLE_READNODEDATA")),
+				SecurityTokenType.ReadNodeData, randomLong(), policy);
+	}
+
+	@Test
+	public void cacheMiss() {
+		// GIVEN
+		final String tokenId = randomString();
+		final SecurityPolicy policy = new BasicSecurityPolicy.Builder().withNodeIds(Set.of(1L))
+				.build();
+		final AuthenticatedToken token = token(tokenId, policy);
+		given(cache.get(tokenId)).willReturn(null);
+		given(delegate.loadUserByUsername(tokenId)).willReturn(token);
+
+		// WHEN
+		UserDetails result = service.loadUserByUsername(tokenId);
+
+		// THEN
+		then(cache).should().put(eq(tokenId), userCaptor.capture());
+		and.then(userCaptor.getValue()).as("Delegate result cached").isSameAs(token);
+		and.then(result).as("Copy of cached result returned").isNotSameAs(token)
+				.isInstanceOf(AuthenticatedToken.class).isEqualTo(token);
+		and.then(((AuthenticatedToken) result).getPolicy()).as("Parsed policy shared")
+				.isSameAs(policy);
+		and.then(result.getPassword()).as("Credentials copied").isEqualTo(token.getPassword());
+		and.then(result.getAuthorities()).as("Authorities copied")
+				.containsExactlyElementsOf(token.getAuthorities());
+	}
+
+	@Test
+	public void cacheHit() {
+		// GIVEN
+		final String tokenId = randomString();
+		final SecurityPolicy policy = new BasicSecurityPolicy.Builder().withNodeIds(Set.of(1L))
+				.build();
+		final AuthenticatedToken token = token(tokenId, policy);
+		given(cache.get(tokenId)).willReturn(token);
+
+		// WHEN
+		AuthenticatedToken result = (AuthenticatedToken) service.loadUserByUsername(tokenId);
+		result.eraseCredentials();
+
+		// THEN
+		then(delegate).shouldHaveNoInteractions();
+		then(cache).should(never()).put(anyString(), any());
+		and.then(result).as("Copy of cached result returned").isNotSameAs(token);
+		and.then(result.getUserId()).as("User ID copied").isEqualTo(token.getUserId());
+		and.then(result.getTokenType()).as("Token type copied").isEqualTo(token.getTokenType());
+		and.then(result.getPolicy()).as("Parsed policy shared").isSameAs(policy);
+		and.then(token.getPassword()).as("Cached credentials not erased by caller").isNotNull();
+	}
+
+	@Test
+	public void notFound() {
+		// GIVEN
+		final String tokenId = randomString();
+		given(cache.get(tokenId)).willReturn(null);
+		given(delegate.loadUserByUsername(tokenId))
+				.willThrow(new UsernameNotFoundException("Not found"));
+
+		// WHEN
+		thenExceptionOfType(UsernameNotFoundException.class)
+				.isThrownBy(() -> service.loadUserByUsername(tokenId));
+
+		// THEN
+		then(cache).should(never()).put(anyString(), any());
+	}
+
+	@Test
+	public void evict() throws Exception {
+		// GIVEN
+		final String tokenId = randomString();
+		given(cache.remove(tokenId)).willReturn(true);
+
+		// WHEN
+		service.evictUser(tokenId);
+
+		// THEN
+		then(cache).should().remove(tokenId);
+		PingTest.Result pingResult = service.performPingTest();
+		and.then(pingResult.getProperties().get(CachingUserDetailsService.CacheStats.Evicted.name()))
+				.as("Eviction counted").isEqualTo(1L);
+	}
+
+	@Test
+	public void pingTest() throws Exception {
+		// GIVEN
+		final String tokenId = randomString();
+		final AuthenticatedToken token = token(tokenId, null);
+		given(cache.get(tokenId)).willReturn(null, token, token);
+		given(delegate.loadUserByUsername(tokenId)).willReturn(token);
+
+		// WHEN
+		for ( int i = 0; i < 4; i++ ) {
+			service.loadUserByUsername(tokenId);
+		}
+		PingTest.Result result = service.performPingTest();
+
+		// THEN
+		and.then(result.isSuccess()).as("Ping success").isTrue();
+		and.then(result.getProperties().get(CachingUserDetailsService.CacheStats.Hit.name()))
+				.as("Hit count").isEqualTo(3L);
+		and.then(result.getProperties().get(CachingUserDetailsService.CacheStats.Miss.name()))
+				.as("Miss count").isEqualTo(1L);
+		and.then(result.getProperties().get("HitRate")).as("Hit rate percentage").isEqualTo(75L);
+	}
+
+}
@@ -0,0 +1,140 @@
+/* ==================================================================
+ * SecurityPolicySourceIdMatcherTests.java - 17/10/2026 7:58:03 pm
+ *
+ * Copyright 2026 SolarNetwork.net Dev Team
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation; either version 2 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA
+ * 02111-1307 USA
+ * ==================================================================
+ */
+
+package net.solarnetwork.central.security.test;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import net.solarnetwork.central.security.SecurityPolicySourceIdMatcher;
+import net.solarnetwork.domain.BasicSecurityPolicy;
+import net.solarnetwork.domain.SecurityPolicy;
+
+/**
+ * Test cases for the {@link SecurityPolicySourceIdMatcher} class.
+ *
+ * @author matt
+ * @version 1.0
+ */
+public class SecurityPolicySourceIdMatcherTests {
+
+	private static final List<String> POLICY_SOURCE_IDS = List.of("/exact/one", "/exact/two",
+			"/a/**", "/a/b/*/c", "/b/?", "/c/*/d/**", "*/relative", "/**/deep", "/d/x{y}",
+			"/e/*.csv");
+
+	private static final List<String> SOURCE_IDS = List.of("/exact/one", "/exact/three", "/a",
+			"/a/", "/a/b", "/a/b/c/d", "/a/b/x/c", "/aa/b", "/b/1", "/b/12", "/c/x/d", "/c/x/d/e/f",
+			"/c/x/e", "x/relative", "/x/relative", "/one/two/deep", "/deep", "/d/xay", "/e/f.csv",
+			"/e/f.txt", "//a//b", "/A/b", "relative");
+
+	private static AntPathMatcher antPathMatcher(boolean caseSensitive) {
+		AntPathMatcher m = new AntPathMatcher();
+		m.setCachePatterns(false);
+		m.setCaseSensitive(caseSensitive);
+		return m;
+	}
+
+	private static boolean linearMatch(PathMatcher m, String sourceId) {
+		for ( String policySourceId : POLICY_SOURCE_IDS ) {
+			if ( m.isPattern(policySourceId) ? m.match(policySourceId, sourceId)
+					: policySourceId.equals(sourceId) ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static void assertSameAsLinearMatch(PathMatcher m) {
+		final var matcher = new SecurityPolicySourceIdMatcher(new LinkedHashSet<>(POLICY_SOURCE_IDS),
+				m);
+		for ( String sourceId : SOURCE_IDS ) {
+			then(matcher.matches(sourceId)).as("Match %s same as linear pattern match", sourceId)
+					.isEqualTo(linearMatch(m, sourceId));
+		}
+	}
+
+	@Test
+	public void split() {
+		// WHEN
+		final var matcher = new SecurityPolicySourceIdMatcher(new LinkedHashSet<>(POLICY_SOURCE_IDS),
+				antPathMatcher(true));
+
+		// THEN
+		then(matcher.getSourceIds()).as("Exact source IDs extracted in order")
+				.containsExactly("/exact/one", "/exact/two");
+		then(matcher.getPatterns()).as("Patterns extracted in order")
+				.containsExactlyElementsOf(POLICY_SOURCE_IDS.subList(2, POLICY_SOURCE_IDS.size()));
+	}
+
+	@Test
+	public void matches_caseSensitive() {
+		assertSameAsLinearMatch(antPathMatcher(true));
+	}
+
+	@Test
+	public void matches_caseInsensitive() {
+		assertSameAsLinearMatch(antPathMatcher(false));
+	}
+
+	@Test
+	public void matches_customSeparator() {
+		AntPathMatcher m = new AntPathMatcher(".");
+		assertSameAsLinearMatch(m);
+	}
+
+	@Test
+	public void matches_noPathMatcher() {
+		// WHEN
+		final var matcher = new SecurityPolicySourceIdMatcher(new LinkedHashSet<>(POLICY_SOURCE_IDS),
+				null);
+
+		// THEN
+		then(matcher.getPatterns()).as("No patterns without path matcher").isEmpty();
+		then(matcher.matches("/a/**")).as("Pattern matched as exact value").isTrue();
+		then(matcher.matches("/a/b")).as("Pattern not evaluated").isFalse();
+	}
+
+	@Test
+	public void forPolicy_cached() {
+		// GIVEN
+		final SecurityPolicy policy = new BasicSecurityPolicy.Builder()
+				.withSourceIds(Set.of("/a/**", "/b")).build();
+		final AntPathMatcher m = antPathMatcher(true);
+
+		// WHEN
+		final var matcher = SecurityPolicySourceIdMatcher.forPolicy(policy, m);
+		final var matcher2 = SecurityPolicySourceIdMatcher.forPolicy(policy, m);
+		final var matcher3 = SecurityPolicySourceIdMatcher.forPolicy(policy, antPathMatcher(true));
+
+		// THEN
+		then(matcher2).as("Cached matcher returned for same policy").isSameAs(matcher);
+		then(matcher3).as("New matcher returned for different path matcher").isNotSameAs(matcher);
+		then(matcher.matches("/a/b/c")).as("Pattern matches").isTrue();
+		then(matcher.matches("/b")).as("Exact value matches").isTrue();
+		then(matcher.matches("/c")).as("Other value does not match").isFalse();
+	}
+
+}
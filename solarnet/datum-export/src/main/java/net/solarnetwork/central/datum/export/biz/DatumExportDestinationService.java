@@ -22,6 +22,7 @@
 
 package net.solarnetwork.central.datum.export.biz;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.util.Map;
@@ -51,7 +52,7 @@ import net.solarnetwork.settings.SettingSpecifierProvider;
  * </p>
  *
  * @author matt
- * @version 2.0
+ * @version 2.1
  * @since 1.23
  */
 public interface DatumExportDestinationService extends DatumExportService {
@@ -77,4 +78,86 @@ public interface DatumExportDestinationService extends DatumExportService {
 			Map<String, ?> runtimeProperties,
 			@Nullable ProgressListener<DatumExportService> progressListener) throws IOException;
 
+	/**
+	 * A streaming export, where data is written to the destination as it is
+	 * produced.
+	 *
+	 * @since 2.1
+	 */
+	interface StreamingExport extends Closeable {
+
+		/**
+		 * Get the output stream to write the export data to.
+		 *
+		 * <p>
+		 * Closing the returned stream has no effect: call {@link #finish()} to
+		 * complete the export.
+		 * </p>
+		 *
+		 * @return the output stream
+		 */
+		OutputStream getOutputStream();
+
+		/**
+		 * Complete the export, after all data has been written to the output
+		 * stream.
+		 *
+		 * @throws IOException
+		 *         if the export fails for any reason from an IO error
+		 * @throws net.solarnetwork.service.RemoteServiceException
+		 *         if a remote access error occurs
+		 */
+		void finish() throws IOException;
+
+		/**
+		 * Release all resources associated with the export.
+		 *
+		 * <p>
+		 * If {@link #finish()} has not been successfully called, the export
+		 * is aborted and any data already sent to the destination discarded,
+		 * if possible.
+		 * </p>
+		 *
+		 * @throws IOException
+		 *         if an IO error occurs
+		 */
+		@Override
+		void close() throws IOException;
+
+	}
+
+	/**
+	 * Create a streaming export for a specific configuration.
+	 *
+	 * <p>
+	 * A streaming export accepts the export data as it is produced, so no
+	 * temporary resources need to be created. Progress is reported to
+	 * {@code progressListener} as the fraction of the bytes written to the
+	 * export that have been sent to the destination.
+	 * </p>
+	 *
+	 * <p>
+	 * This default implementation returns {@code null}.
+	 * </p>
+	 *
+	 * @param config
+	 *        the configuration in use
+	 * @param contentType
+	 *        the content type of the export data
+	 * @param runtimeProperties
+	 *        the runtime properties to use
+	 * @param progressListener
+	 *        an optional listener for progress updates on the export process
+	 * @return the streaming export, or {@code null} if streaming is not
+	 *         supported for the given configuration
+	 * @throws IOException
+	 *         if the export cannot be created for any reason from an IO error
+	 * @since 2.1
+	 */
+	default @Nullable StreamingExport createStreamingExport(Configuration config,
+			String contentType, Map<String, ?> runtimeProperties,
+			@Nullable ProgressListener<DatumExportService> progressListener) throws IOException {
+		return null;
+	}
+
 }
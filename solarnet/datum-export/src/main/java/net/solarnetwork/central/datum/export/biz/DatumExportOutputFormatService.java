@@ -25,6 +25,7 @@ package net.solarnetwork.central.datum.export.biz;
 import java.io.Closeable;
 import java.io.Flushable;
 import java.io.IOException;
+import java.io.OutputStream;
 import org.jspecify.annotations.Nullable;
 import net.solarnetwork.central.datum.domain.GeneralNodeDatumFilterMatch;
 import net.solarnetwork.central.datum.export.domain.DatumExportResource;
@@ -51,7 +52,7 @@ import net.solarnetwork.settings.SettingSpecifierProvider;
  *
  *
  * @author matt
- * @version 2.0
+ * @version 2.1
  * @since 1.23
  */
 public interface DatumExportOutputFormatService extends DatumExportService {
@@ -131,4 +132,33 @@ public interface DatumExportOutputFormatService extends DatumExportService {
 	 */
 	ExportContext createExportContext(OutputConfiguration config);
 
+	/**
+	 * Create an export context that encodes the data directly to an output
+	 * stream.
+	 *
+	 * <p>
+	 * The returned context writes the encoded (and possibly compressed) data
+	 * to {@code out} as it is produced, without creating any temporary
+	 * resources. Its {@link ExportContext#finish()} method completes the
+	 * encoding and returns an empty iterable. The context does not close
+	 * {@code out}.
+	 * </p>
+	 *
+	 * <p>
+	 * This default implementation returns {@code null}.
+	 * </p>
+	 *
+	 * @param config
+	 *        the configuration to create the context for
+	 * @param out
+	 *        the output stream to write to
+	 * @return the context, or {@code null} if streaming is not supported for
+	 *         the given configuration
+	 * @since 2.1
+	 */
+	default @Nullable ExportContext createStreamingExportContext(OutputConfiguration config,
+			OutputStream out) {
+		return null;
+	}
+
 }
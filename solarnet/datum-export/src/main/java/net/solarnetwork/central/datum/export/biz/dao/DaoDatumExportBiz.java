@@ -34,24 +34,31 @@ import java.io.IOException;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.InstantSource;
+import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 import org.jspecify.annotations.Nullable;
@@ -83,6 +90,7 @@ import net.solarnetwork.central.datum.export.domain.DatumExportState;
 import net.solarnetwork.central.datum.export.domain.DatumExportStatus;
 import net.solarnetwork.central.datum.export.domain.DatumExportTaskInfo;
 import net.solarnetwork.central.datum.export.domain.DatumExportUserEvents;
+import net.solarnetwork.central.datum.export.domain.OutputCompressionType;
 import net.solarnetwork.central.datum.export.domain.OutputConfiguration;
 import net.solarnetwork.central.datum.export.domain.ScheduleType;
 import net.solarnetwork.central.datum.export.support.DatumExportException;
@@ -95,6 +103,7 @@ import net.solarnetwork.dao.BasicBulkExportOptions;
 import net.solarnetwork.dao.BulkExportingDao.ExportCallback;
 import net.solarnetwork.dao.BulkExportingDao.ExportCallbackAction;
 import net.solarnetwork.domain.BasicIdentifiableConfiguration;
+import net.solarnetwork.domain.datum.Aggregation;
 import net.solarnetwork.domain.Identity;
 import net.solarnetwork.event.AppEventPublisher;
 import net.solarnetwork.service.IdentifiableConfiguration;
@@ -109,7 +118,7 @@ import net.solarnetwork.util.StringLongMapping;
  * DAO-based implementation of {@link DatumExportBiz}.
  *
  * @author matt
- * @version 2.5
+ * @version 2.7
  */
 public class DaoDatumExportBiz
 		implements DatumExportBiz, ServiceLifecycleObserver, DatumExportUserEvents {
@@ -120,6 +129,13 @@ public class DaoDatumExportBiz
 	/** The default query page size. */
 	public static final int DEFAULT_QUERY_PAGE_SIZE = 1000;
 
+	/**
+	 * The minimum time range of a partition.
+	 *
+	 * @since 2.7
+	 */
+	public static final Duration MINIMUM_PARTITION_DURATION = Duration.ofHours(1);
+
 	private final ConcurrentMap<String, DatumExportTask> taskMap = new ConcurrentHashMap<>(16);
 	private final Logger log = LoggerFactory.getLogger(getClass());
 
@@ -141,6 +157,9 @@ public class DaoDatumExportBiz
 
 	private @Nullable ScheduledFuture<?> taskPurgerTask;
 	private @Nullable QueryAuditor queryAuditor;
+	private boolean streamingExport;
+	private int partitionCount = 1;
+	private @Nullable Executor partitionExecutor;
 
 	/**
 	 * Constructor.
@@ -271,6 +290,8 @@ public class DaoDatumExportBiz
 		private @Nullable Future<DatumExportResult> delegate;
 		private int lastPercentCompleteEvent;
 		private boolean resourcesGenerated;
+		private boolean streaming;
+		private volatile boolean aborted;
 
 		/**
 		 * Construct from a task info.
@@ -309,12 +330,14 @@ public class DaoDatumExportBiz
 			updateTaskStatus(DatumExportState.Executing);
 
 			try {
-				// first step: export to resources
-				Iterable<DatumExportResource> resources = exportToResources();
+				if ( !(streamingExport && exportStreaming()) ) {
+					// first step: export to resources
+					Iterable<DatumExportResource> resources = exportToResources();
 
-				// second step: upload the resources to the destination
-				if ( resources != null ) {
-					uploadToDestination(resources);
+					// second step: upload the resources to the destination
+					if ( resources != null ) {
+						uploadToDestination(resources);
+					}
 				}
 
 				updateTaskStatus(DatumExportState.Completed, Boolean.TRUE, null, clock.instant());
@@ -376,7 +399,33 @@ public class DaoDatumExportBiz
 			postJobStatusChangedEvent(this);
 		}
 
-		private Iterable<DatumExportResource> exportToResources() {
+		private DatumExportOutputFormatService outputService() {
+			final DatumExportOutputFormatService outputService = optionalService(outputFormatServices,
+					config.getOutputConfiguration());
+			if ( outputService == null ) {
+				String serviceId = (config.getOutputConfiguration() != null
+						? config.getOutputConfiguration().getServiceIdentifier()
+						: null);
+				throw new DatumExportException(info.id(),
+						"No output service available for identifier [" + serviceId + "]", null);
+			}
+			return outputService;
+		}
+
+		private DatumExportDestinationService destinationService() {
+			DatumExportDestinationService destService = optionalService(destinationServices,
+					config.getDestinationConfiguration());
+			if ( destService == null ) {
+				String serviceId = (config.getDestinationConfiguration() != null
+						? config.getDestinationConfiguration().getServiceIdentifier()
+						: null);
+				throw new DatumExportException(info.id(),
+						"No destination service available for identifier [" + serviceId + "]", null);
+			}
+			return destService;
+		}
+
+		private BasicDatumCriteria exportCriteria() {
 			AggregateGeneralNodeDatumFilter datumFilter = (config.getDataConfiguration() != null
 					? config.getDataConfiguration().getDatumFilter()
 					: null);
@@ -391,16 +440,6 @@ public class DaoDatumExportBiz
 				throw new DatumExportException(info.id(), "No export date available", null);
 			}
 
-			final DatumExportOutputFormatService outputService = optionalService(outputFormatServices,
-					config.getOutputConfiguration());
-			if ( outputService == null ) {
-				String serviceId = (config.getOutputConfiguration() != null
-						? config.getOutputConfiguration().getServiceIdentifier()
-						: null);
-				throw new DatumExportException(info.id(),
-						"No output service available for identifier [" + serviceId + "]", null);
-			}
-
 			final ZoneId zone = (config.getTimeZoneId() != null ? ZoneId.of(config.getTimeZoneId())
 					: ZoneOffset.UTC);
 
@@ -424,74 +463,336 @@ public class DaoDatumExportBiz
 						schedule.nextExportDate(exportDate.atZone(ZoneId.of(zone.getId()))).toInstant());
 			}
 
+			return filter;
+		}
+
+		/**
+		 * Export directly to the destination, if both the output and
+		 * destination services support streaming.
+		 *
+		 * @return {@code true} if the export was streamed, {@code false} if
+		 *         streaming is not supported
+		 * @throws IOException
+		 *         if an IO error occurs
+		 */
+		private boolean exportStreaming() throws IOException {
+			final BasicDatumCriteria filter = exportCriteria();
+			final DatumExportOutputFormatService outputService = outputService();
+			final DatumExportDestinationService destService = destinationService();
 			final OutputConfiguration outputConfig = nonnull(config.getOutputConfiguration(),
 					"Output configuration");
-
-			return doWithinOptionalTransaction(() -> {
+			final DateTimeFormatter dateFormatter = config.createDateTimeFormatterForSchedule();
+			final Map<String, Object> runtimeProps = config.createRuntimeProperties(info,
+					dateFormatter, outputService);
+			final String contentType = (outputConfig.getCompressionType() != null
+					&& outputConfig.getCompressionType() != OutputCompressionType.None
+							? outputConfig.getCompressionType().getContentType()
+							: outputService.getExportContentType());
+			final StreamingProgress progress = new StreamingProgress();
+			try (DatumExportDestinationService.StreamingExport export = destService
+					.createStreamingExport(config, contentType, runtimeProps, progress.uploaded)) {
+				if ( export == null ) {
+					return false;
+				}
 				try (DatumExportOutputFormatService.ExportContext exportContext = outputService
-						.createExportContext(outputConfig)) {
+						.createStreamingExportContext(outputConfig, export.getOutputStream())) {
+					if ( exportContext == null ) {
+						return false;
+					}
+					streaming = true;
+					log.info("Streaming datum export job {} to {}", info.getId(),
+							config.getDestinationConfiguration());
+					doWithinOptionalTransaction(() -> {
+						exportDatum(exportContext, filter, progress.encoded);
+						try {
+							exportContext.finish();
+						} catch ( IOException e ) {
+							throw new DatumExportException(info.id(), e.getMessage(), e);
+						}
+						return null;
+					});
+				}
+				export.finish();
+				progressChanged(null, 1.0);
+			}
+			return true;
+		}
 
-					BasicBulkExportOptions options = new BasicBulkExportOptions(DATUM_EXPORT_NAME,
-							singletonMap(DatumEntityDao.EXPORT_PARAMETER_DATUM_CRITERIA, filter));
+		/**
+		 * Combine encoding and upload progress for streaming exports.
+		 *
+		 * <p>
+		 * The overall progress is the fraction of datum encoded multiplied by
+		 * the fraction of encoded bytes uploaded.
+		 * </p>
+		 */
+		private final class StreamingProgress {
 
-					final QueryAuditor auditor = queryAuditor;
-					if ( auditor != null ) {
-						auditor.resetCurrentAuditResults();
-					}
+			private double encodedAmount;
+			private double uploadedAmount;
 
-					// all exported data will be audited on the hour we start the export at
-					final Instant auditDate = clock.instant().truncatedTo(ChronoUnit.HOURS);
+			private final ProgressListener<DatumExportService> encoded = (_, amount) -> {
+				encodedAmount = amount;
+				update();
+			};
 
-					datumDao.bulkExport(new ExportCallback<>() {
+			private final ProgressListener<DatumExportService> uploaded = (_, amount) -> {
+				uploadedAmount = amount;
+				update();
+			};
 
-						@Override
-						public void didBegin(@Nullable Long totalResultCountEstimate) {
-							try {
-								exportContext.start(
-										totalResultCountEstimate != null ? totalResultCountEstimate
-												: COUNT_UNKNOWN);
-							} catch ( IOException e ) {
-								throw new DatumExportException(info.id(), e.getMessage(), e);
-							}
-						}
+			private synchronized void update() {
+				progressChanged(null, Math.min(1.0, encodedAmount * uploadedAmount));
+			}
 
-						@Override
-						public ExportCallbackAction handle(GeneralNodeDatumFilterMatch d) {
-							if ( d != null && d.getId() != null && auditor != null ) {
-								final var pk = new GeneralNodeDatumPK(d.getId().getNodeId(), auditDate,
-										d.getId().getSourceId());
-								auditor.addNodeDatumAuditResults(singletonMap(pk, 1));
-							}
-							datumCount++;
-							if ( d != null && d.getId() != null ) {
-								countTracker.incrementCount(d.getId().getSourceId());
-							}
-							try {
-								exportContext.appendDatumMatch(singleton(d), DatumExportTask.this);
-							} catch ( IOException e ) {
-								throw new DatumExportException(info.id(), e.getMessage(), e);
+		}
+
+		private Iterable<DatumExportResource> exportToResources() {
+			final BasicDatumCriteria filter = exportCriteria();
+			final DatumExportOutputFormatService outputService = outputService();
+			final OutputConfiguration outputConfig = nonnull(config.getOutputConfiguration(),
+					"Output configuration");
+
+			final List<BasicDatumCriteria> partitions = partitionCriteria(filter);
+			if ( partitions.size() > 1 ) {
+				return exportPartitionsToResources(outputService, outputConfig, partitions);
+			}
+
+			return doWithinOptionalTransaction(
+					() -> exportToResources(outputService, outputConfig, filter, this));
+		}
+
+		private Iterable<DatumExportResource> exportToResources(
+				DatumExportOutputFormatService outputService, OutputConfiguration outputConfig,
+				BasicDatumCriteria filter, ProgressListener<DatumExportService> progressListener) {
+			try (DatumExportOutputFormatService.ExportContext exportContext = outputService
+					.createExportContext(outputConfig)) {
+				exportDatum(exportContext, filter, progressListener);
+				return exportContext.finish();
+			} catch ( IOException e ) {
+				throw new DatumExportException(info.id(), e.getMessage(), e);
+			}
+		}
+
+		/**
+		 * Split the export criteria into time range partitions.
+		 *
+		 * <p>
+		 * Only non-aggregate criteria with a complete date or local date range
+		 * are partitioned, and only if a partition executor is configured.
+		 * </p>
+		 *
+		 * @param filter
+		 *        the export criteria
+		 * @return the partition criteria, or a list with just {@code filter} if
+		 *         the criteria cannot be partitioned
+		 */
+		private List<BasicDatumCriteria> partitionCriteria(BasicDatumCriteria filter) {
+			final int count = partitionCount;
+			final Aggregation agg = filter.getAggregation();
+			if ( count < 2 || partitionExecutor == null || (agg != null && agg != Aggregation.None) ) {
+				return List.of(filter);
+			}
+			final List<BasicDatumCriteria> result = new ArrayList<>(count);
+			final Instant start = filter.getStartDate();
+			final Instant end = filter.getEndDate();
+			final LocalDateTime localStart = filter.getLocalStartDate();
+			final LocalDateTime localEnd = filter.getLocalEndDate();
+			if ( start != null && end != null ) {
+				final Duration step = partitionStep(Duration.between(start, end), count);
+				for ( Instant s = start; s.isBefore(end); s = s.plus(step) ) {
+					BasicDatumCriteria c = filter.clone();
+					c.setStartDate(s);
+					Instant e = s.plus(step);
+					c.setEndDate(e.isBefore(end) ? e : end);
+					result.add(c);
+				}
+			} else if ( localStart != null && localEnd != null ) {
+				final Duration step = partitionStep(Duration.between(localStart, localEnd), count);
+				for ( LocalDateTime s = localStart; s.isBefore(localEnd); s = s.plus(step) ) {
+					BasicDatumCriteria c = filter.clone();
+					c.setLocalStartDate(s);
+					LocalDateTime e = s.plus(step);
+					c.setLocalEndDate(e.isBefore(localEnd) ? e : localEnd);
+					result.add(c);
+				}
+			}
+			return (result.size() > 1 ? result : List.of(filter));
+		}
+
+		private static Duration partitionStep(Duration range, int count) {
+			// round up to whole minimum partition durations
+			final long unit = MINIMUM_PARTITION_DURATION.toSeconds();
+			final long secs = Math.ceilDiv(Math.ceilDiv(range.toSeconds(), count), unit) * unit;
+			return Duration.ofSeconds(Math.max(unit, secs));
+		}
+
+		/**
+		 * Export each partition to resources in parallel, each on its own
+		 * connection.
+		 *
+		 * @param outputService
+		 *        the output service
+		 * @param outputConfig
+		 *        the output configuration
+		 * @param partitions
+		 *        the partition criteria
+		 * @return the resources, one for each partition, in partition order
+		 */
+		private Iterable<DatumExportResource> exportPartitionsToResources(
+				DatumExportOutputFormatService outputService, OutputConfiguration outputConfig,
+				List<BasicDatumCriteria> partitions) {
+			final Executor partitionExecutor = nonnull(DaoDatumExportBiz.this.partitionExecutor,
+					"Partition executor");
+			log.info("Exporting datum export job {} in {} partitions", info.getId(),
+					partitions.size());
+			final PartitionProgress progress = new PartitionProgress(partitions.size());
+			final AtomicReference<Throwable> failure = new AtomicReference<>();
+			final List<CompletableFuture<Iterable<DatumExportResource>>> futures = new ArrayList<>(
+					partitions.size());
+			for ( int i = 0, len = partitions.size(); i < len; i++ ) {
+				final BasicDatumCriteria partition = partitions.get(i);
+				final ProgressListener<DatumExportService> listener = progress.listener(i);
+				futures.add(CompletableFuture
+						.supplyAsync(() -> doWithinOptionalTransaction(
+								() -> exportToResources(outputService, outputConfig, partition, listener)),
+								partitionExecutor)
+						.whenComplete((_, t) -> {
+							if ( t != null ) {
+								// stop other partitions as soon as possible
+								failure.compareAndSet(null,
+										t instanceof CompletionException && t.getCause() != null
+												? t.getCause()
+												: t);
+								aborted = true;
 							}
-							return ExportCallbackAction.CONTINUE;
-						}
-					}, options);
+						}));
+			}
+			final List<DatumExportResource> result = new ArrayList<>(partitions.size());
+			try {
+				for ( CompletableFuture<Iterable<DatumExportResource>> f : futures ) {
+					for ( DatumExportResource r : f.join() ) {
+						result.add(r);
+					}
+				}
+			} catch ( CompletionException e ) {
+				// wait for all partitions to stop, then throw the first failure
+				CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+						.exceptionally(_ -> null).join();
+				final Throwable first = failure.get();
+				final Throwable t = (first != null ? first : e);
+				if ( t instanceof RuntimeException re ) {
+					throw re;
+				}
+				throw new DatumExportException(info.id(), t.getMessage(), t);
+			}
+			return result;
+		}
 
-					return exportContext.finish();
-				} catch ( IOException e ) {
-					throw new DatumExportException(info.id(), e.getMessage(), e);
+		/**
+		 * Combine the progress of concurrent partitions.
+		 *
+		 * <p>
+		 * The overall progress is the average progress of all partitions.
+		 * </p>
+		 */
+		private final class PartitionProgress {
+
+			private final double[] amounts;
+
+			private PartitionProgress(int count) {
+				super();
+				this.amounts = new double[count];
+			}
+
+			private ProgressListener<DatumExportService> listener(int index) {
+				return (_, amount) -> update(index, amount);
+			}
+
+			private synchronized void update(int index, double amount) {
+				amounts[index] = amount;
+				double total = 0;
+				for ( double a : amounts ) {
+					total += a;
 				}
-			});
+				progressChanged(null, Math.min(1.0, total / amounts.length));
+			}
+
 		}
 
-		private void uploadToDestination(Iterable<DatumExportResource> resources) throws IOException {
-			DatumExportDestinationService destService = optionalService(destinationServices,
-					config.getDestinationConfiguration());
-			if ( destService == null ) {
-				String serviceId = (config.getDestinationConfiguration() != null
-						? config.getDestinationConfiguration().getServiceIdentifier()
-						: null);
-				throw new DatumExportException(info.id(),
-						"No destination service available for identifier [" + serviceId + "]", null);
+		private void exportDatum(DatumExportOutputFormatService.ExportContext exportContext,
+				BasicDatumCriteria filter, ProgressListener<DatumExportService> progressListener) {
+			BasicBulkExportOptions options = new BasicBulkExportOptions(DATUM_EXPORT_NAME,
+					singletonMap(DatumEntityDao.EXPORT_PARAMETER_DATUM_CRITERIA, filter));
+
+			final QueryAuditor auditor = queryAuditor;
+			if ( auditor != null ) {
+				auditor.resetCurrentAuditResults();
 			}
+
+			// all exported data will be audited on the hour we start the export at
+			final Instant auditDate = clock.instant().truncatedTo(ChronoUnit.HOURS);
+
+			// aggregate audit counts locally, to add to the auditor once at the end
+			final Map<GeneralNodeDatumPK, Integer> auditCounts = new HashMap<>(16);
+
+			try {
+				bulkExport(exportContext, progressListener, auditor != null ? auditCounts : null,
+						auditDate, options);
+			} finally {
+				if ( auditor != null && !auditCounts.isEmpty() ) {
+					auditor.addNodeDatumAuditResults(auditCounts);
+				}
+			}
+		}
+
+		private void bulkExport(DatumExportOutputFormatService.ExportContext exportContext,
+				ProgressListener<DatumExportService> progressListener,
+				@Nullable Map<GeneralNodeDatumPK, Integer> auditCounts, Instant auditDate,
+				BasicBulkExportOptions options) {
+			datumDao.bulkExport(new ExportCallback<>() {
+
+				@Override
+				public void didBegin(@Nullable Long totalResultCountEstimate) {
+					try {
+						exportContext.start(
+								totalResultCountEstimate != null ? totalResultCountEstimate
+										: COUNT_UNKNOWN);
+					} catch ( IOException e ) {
+						throw new DatumExportException(info.id(), e.getMessage(), e);
+					}
+				}
+
+				@Override
+				public ExportCallbackAction handle(GeneralNodeDatumFilterMatch d) {
+					if ( aborted ) {
+						// another partition failed
+						throw new DatumExportException(info.id(), "Export aborted", null);
+					}
+					if ( d != null && d.getId() != null && auditCounts != null ) {
+						final var pk = new GeneralNodeDatumPK(d.getId().getNodeId(), auditDate,
+								d.getId().getSourceId());
+						auditCounts.merge(pk, 1, Integer::sum);
+					}
+					synchronized ( countTracker ) {
+						// partitions may be exported concurrently
+						datumCount++;
+						if ( d != null && d.getId() != null ) {
+							countTracker.incrementCount(d.getId().getSourceId());
+						}
+					}
+					try {
+						exportContext.appendDatumMatch(singleton(d), progressListener);
+					} catch ( IOException e ) {
+						throw new DatumExportException(info.id(), e.getMessage(), e);
+					}
+					return ExportCallbackAction.CONTINUE;
+				}
+			}, options);
+		}
+
+		private void uploadToDestination(Iterable<DatumExportResource> resources) throws IOException {
+			DatumExportDestinationService destService = destinationService();
 			DatumExportOutputFormatService outputService = optionalService(outputFormatServices,
 					config.getOutputConfiguration());
 			DateTimeFormatter dateFormatter = config.createDateTimeFormatterForSchedule();
@@ -505,9 +806,14 @@ public class DaoDatumExportBiz
 
 		@Override
 		public void progressChanged(@Nullable DatumExportService context, double amountComplete) {
-			// each progress here counts for 50% of overall progress, split between
-			// resource generation and then upload to destination
-			this.percentComplete = (amountComplete / 2.0) + (resourcesGenerated ? 0.5 : 0.0);
+			if ( streaming ) {
+				// streaming progress combines resource generation and upload to destination
+				this.percentComplete = amountComplete;
+			} else {
+				// each progress here counts for 50% of overall progress, split between
+				// resource generation and then upload to destination
+				this.percentComplete = (amountComplete / 2.0) + (resourcesGenerated ? 0.5 : 0.0);
+			}
 			final int eventBucket = nonnull(down((int) (this.percentComplete * 100), 10),
 					"Amount complete").intValue();
 			if ( eventBucket > lastPercentCompleteEvent ) {
@@ -705,4 +1011,59 @@ public class DaoDatumExportBiz
 		this.queryAuditor = queryAuditor;
 	}
 
+	/**
+	 * Set the streaming export mode.
+	 *
+	 * <p>
+	 * When enabled, exports are encoded directly to the destination as they
+	 * are generated, without first writing the complete export to temporary
+	 * resources, if both the output format and destination services support
+	 * streaming the export configuration. Otherwise exports fall back to the
+	 * temporary resource method.
+	 * </p>
+	 *
+	 * @param streamingExport
+	 *        {@code true} to stream exports when possible
+	 * @since 2.6
+	 */
+	public final void setStreamingExport(boolean streamingExport) {
+		this.streamingExport = streamingExport;
+	}
+
+	/**
+	 * Set the maximum number of partitions to split exports into.
+	 *
+	 * <p>
+	 * When greater than {@literal 1} and a {@code partitionExecutor} is
+	 * configured, non-aggregate exports are split into up to this many time
+	 * range partitions that are exported in parallel, each on its own database
+	 * connection. Each partition produces its own output resource. Partitions
+	 * are at least {@link #MINIMUM_PARTITION_DURATION} long.
+	 * </p>
+	 *
+	 * @param partitionCount
+	 *        the maximum partition count; defaults to {@literal 1}
+	 * @since 2.7
+	 */
+	public final void setPartitionCount(int partitionCount) {
+		this.partitionCount = partitionCount;
+	}
+
+	/**
+	 * Set the executor to export partitions with.
+	 *
+	 * <p>
+	 * This should be a different executor from the one tasks are executed
+	 * with, so that tasks waiting on partitions do not prevent partitions from
+	 * being executed.
+	 * </p>
+	 *
+	 * @param partitionExecutor
+	 *        the executor, or {@code null} to disable partitioning
+	 * @since 2.7
+	 */
+	public final void setPartitionExecutor(@Nullable Executor partitionExecutor) {
+		this.partitionExecutor = partitionExecutor;
+	}
+
 }
@@ -27,10 +27,12 @@ import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.crypto.encrypt.TextEncryptor;
 import org.springframework.transaction.support.TransactionTemplate;
 import net.solarnetwork.central.biz.UserEventAppenderBiz;
@@ -46,7 +48,7 @@ import net.solarnetwork.event.AppEventPublisher;
  * Datum export service configuration.
  *
  * @author matt
- * @version 1.1
+ * @version 1.3
  */
 @Configuration(proxyBeanMethods = false)
 public class DatumExportBizConfig implements SolarNetDatumExportConfiguration {
@@ -54,6 +56,12 @@ public class DatumExportBizConfig implements SolarNetDatumExportConfiguration {
 	@Value("${app.datum.export.completed-task-minimum-cache-time:14400000}")
 	private int completedTaskMinimumCacheTime = 14400000;
 
+	@Value("${app.datum.export.streaming:false}")
+	private boolean streaming;
+
+	@Value("${app.datum.export.partition.count:1}")
+	private int partitionCount = 1;
+
 	@Autowired
 	private TransactionTemplate transactionTemplate;
 
@@ -88,14 +96,35 @@ public class DatumExportBizConfig implements SolarNetDatumExportConfiguration {
 	@Autowired
 	private UserEventAppenderBiz userEventAppenderBiz;
 
+	/**
+	 * A task executor specific for use with exporting partitions.
+	 *
+	 * @return the task executor
+	 */
+	@Bean
+	@Qualifier(DATUM_EXPORT_PARTITION)
+	@ConfigurationProperties(prefix = "app.datum.export.partition.executor")
+	public ThreadPoolTaskExecutor datumExportPartitionTaskExecutor() {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setThreadNamePrefix("Export-Partition-");
+		executor.setCorePoolSize(4);
+		executor.setMaxPoolSize(4);
+		executor.setAllowCoreThreadTimeOut(true);
+		return executor;
+	}
+
 	@Bean(initMethod = "serviceDidStartup", destroyMethod = "serviceDidShutdown")
-	public DaoDatumExportBiz datumExportBiz() {
+	public DaoDatumExportBiz datumExportBiz(
+			@Qualifier(DATUM_EXPORT_PARTITION) ThreadPoolTaskExecutor partitionExecutor) {
 		DaoDatumExportBiz biz = new DaoDatumExportBiz(Clock.systemUTC(), userEventAppenderBiz,
 				datumExportTaskInfoDao, datumEntityDao, taskScheduler, taskExecutor, textEncryptor,
 				datumExportOutputFormatServices, datumExportDestinationServices, transactionTemplate);
 		biz.setQueryAuditor(queryAuditor);
 		biz.setCompletedTaskMinimumCacheTime(completedTaskMinimumCacheTime);
 		biz.setEventPublisher(eventPublisher);
+		biz.setStreamingExport(streaming);
+		biz.setPartitionCount(partitionCount);
+		biz.setPartitionExecutor(partitionExecutor);
 		return biz;
 	}
 
@@ -42,12 +42,13 @@ import net.solarnetwork.central.datum.export.dest.s3.S3DestinationProperties;
 import net.solarnetwork.central.datum.export.domain.OutputConfiguration;
 import net.solarnetwork.central.datum.export.standard.CsvDatumExportOutputFormatService;
 import net.solarnetwork.central.datum.export.standard.JsonDatumExportOutputFormatService;
+import net.solarnetwork.central.datum.export.standard.ParquetDatumExportOutputFormatService;
 
 /**
  * Datum export standard service configuration.
  *
  * @author matt
- * @version 1.2
+ * @version 1.3
  */
 @Configuration(proxyBeanMethods = false)
 public class DatumExportStandardServiceConfig implements SolarNetDatumExportConfiguration {
@@ -81,6 +82,19 @@ public class DatumExportStandardServiceConfig implements SolarNetDatumExportConf
 		return service;
 	}
 
+	@Bean
+	public DatumExportOutputFormatService parquetDatumExportOutputFormatService() {
+		ParquetDatumExportOutputFormatService service = new ParquetDatumExportOutputFormatService();
+		service.setTemporaryPath(temporaryDir);
+
+		ResourceBundleMessageSource msgSource = new ResourceBundleMessageSource();
+		msgSource.setBasenames(ParquetDatumExportOutputFormatService.class.getName(),
+				OutputConfiguration.class.getName());
+		service.setMessageSource(msgSource);
+
+		return service;
+	}
+
 	/**
 	 * A task executor specific for use with the S3 Transfer manager.
 	 *
@@ -26,7 +26,7 @@ package net.solarnetwork.central.datum.export.config;
  * Marker interface for the datum export configuration package.
  *
  * @author matt
- * @version 1.1
+ * @version 1.2
  */
 public interface SolarNetDatumExportConfiguration {
 
@@ -37,4 +37,11 @@ public interface SolarNetDatumExportConfiguration {
 	 */
 	String DATUM_EXPORT = "datum-export";
 
+	/**
+	 * A qualifier constant to use for datum export partition configurations.
+	 *
+	 * @since 1.2
+	 */
+	String DATUM_EXPORT_PARTITION = "datum-export-partition";
+
 }
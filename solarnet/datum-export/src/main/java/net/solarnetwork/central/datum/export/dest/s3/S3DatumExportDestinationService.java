@@ -67,11 +67,13 @@ import software.amazon.awssdk.transfer.s3.progress.TransferProgressSnapshot;
  * AWS S3 implementation of {@link DatumExportDestinationService}.
  *
  * @author matt
- * @version 3.1
+ * @version 3.2
  */
 public class S3DatumExportDestinationService extends BaseDatumExportDestinationService {
 
 	private final ExecutorService executorService;
+	private int streamingPartSize = S3MultipartStreamingExport.DEFAULT_PART_SIZE;
+	private int streamingMaxConcurrency = S3MultipartStreamingExport.DEFAULT_MAX_CONCURRENCY;
 
 	/**
 	 * Constructor.
@@ -186,6 +188,38 @@ public class S3DatumExportDestinationService extends BaseDatumExportDestinationS
 		}
 	}
 
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>
+	 * This implementation returns a {@link S3MultipartStreamingExport} that
+	 * uploads the data as a multipart upload, with parts uploaded concurrently
+	 * as data is written.
+	 * </p>
+	 */
+	@Override
+	public StreamingExport createStreamingExport(Configuration config, String contentType,
+			Map<String, ?> runtimeProperties,
+			@Nullable ProgressListener<DatumExportService> progressListener) throws IOException {
+		DestinationConfiguration destConfig = config.getDestinationConfiguration();
+		if ( destConfig == null ) {
+			throw new IOException("No destination configuration provided.");
+		}
+		S3DestinationProperties props = new S3DestinationProperties();
+		ClassUtils.setBeanProperties(props, destConfig.getServiceProperties(), true);
+		if ( !props.isValid() ) {
+			throw new IOException("Service configuration is not valid.");
+		}
+		S3Uri uri = nonnull(props.getUri(), "S3 URI");
+		if ( uri.bucket().isEmpty() ) {
+			throw new IOException("No S3 bucket provided.");
+		}
+		String key = getDestinationPath(uri, props, runtimeProperties, 0);
+		return new S3MultipartStreamingExport(this, getClient(uri, props), uri.bucket().get(), key,
+				contentType, props.getStorageClass(), streamingPartSize, streamingMaxConcurrency,
+				progressListener);
+	}
+
 	private String getDestinationPath(S3Uri uri, S3DestinationProperties props,
 			Map<String, ?> runtimeProperties, int resourceIndex) {
 		String key = uri.key().orElse("") + "/"
@@ -221,4 +255,29 @@ public class S3DatumExportDestinationService extends BaseDatumExportDestinationS
 		return builder.build();
 	}
 
+	/**
+	 * Set the streaming export part size.
+	 *
+	 * @param streamingPartSize
+	 *        the part size, in bytes, to use for streaming exports; defaults
+	 *        to {@link S3MultipartStreamingExport#DEFAULT_PART_SIZE}
+	 * @since 3.2
+	 */
+	public final void setStreamingPartSize(int streamingPartSize) {
+		this.streamingPartSize = streamingPartSize;
+	}
+
+	/**
+	 * Set the streaming export maximum concurrent part uploads.
+	 *
+	 * @param streamingMaxConcurrency
+	 *        the maximum number of parts to upload concurrently for each
+	 *        streaming export; defaults to
+	 *        {@link S3MultipartStreamingExport#DEFAULT_MAX_CONCURRENCY}
+	 * @since 3.2
+	 */
+	public final void setStreamingMaxConcurrency(int streamingMaxConcurrency) {
+		this.streamingMaxConcurrency = streamingMaxConcurrency;
+	}
+
 }
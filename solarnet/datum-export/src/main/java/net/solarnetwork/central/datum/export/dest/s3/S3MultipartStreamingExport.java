@@ -0,0 +1,336 @@
+/* ==================================================================
+ * S3MultipartStreamingExport.java - 17/10/2026 3:42:19 pm
+ *
+ * Copyright 2026 SolarNetwork.net Dev Team
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation; either version 2 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA
+ * 02111-1307 USA
+ * ==================================================================
+ */
+
+package net.solarnetwork.central.datum.export.dest.s3;
+
+import static net.solarnetwork.util.ObjectUtils.requireNonNullArgument;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import net.solarnetwork.central.datum.export.biz.DatumExportDestinationService.StreamingExport;
+import net.solarnetwork.central.datum.export.biz.DatumExportService;
+import net.solarnetwork.service.ProgressListener;
+import net.solarnetwork.service.RemoteServiceException;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+
+/**
+ * {@link StreamingExport} that uploads data to S3 as a multipart upload, with
+ * parts uploaded concurrently as data is written.
+ *
+ * <p>
+ * Data written to the output stream is buffered into parts of a fixed size.
+ * Each full part is uploaded asynchronously, with at most
+ * {@code maxConcurrency} parts uploading at once: writing blocks until an
+ * upload slot is available. Memory use is thus bounded to roughly
+ * {@code (maxConcurrency + 1) * partSize} bytes. If less than one part of data
+ * is written in total, the data is uploaded as a single object when finished.
+ * </p>
+ *
+ * <p>
+ * Progress is reported as the fraction of the bytes written that have been
+ * uploaded.
+ * </p>
+ *
+ * @author matt
+ * @version 1.0
+ */
+public class S3MultipartStreamingExport implements StreamingExport {
+
+	/** The minimum part size allowed by S3 (5 MiB). */
+	public static final int MIN_PART_SIZE = 5 * 1024 * 1024;
+
+	/** The default part size (8 MiB). */
+	public static final int DEFAULT_PART_SIZE = 8 * 1024 * 1024;
+
+	/** The default maximum number of concurrent part uploads. */
+	public static final int DEFAULT_MAX_CONCURRENCY = 4;
+
+	private static final Logger log = LoggerFactory.getLogger(S3MultipartStreamingExport.class);
+
+	private final DatumExportService service;
+	private final S3AsyncClient client;
+	private final String bucket;
+	private final String key;
+	private final @Nullable String contentType;
+	private final @Nullable String storageClass;
+	private final int partSize;
+	private final Semaphore uploadSlots;
+	private final @Nullable ProgressListener<DatumExportService> progressListener;
+	private final PartOutputStream out;
+
+	private final List<CompletableFuture<CompletedPart>> parts = new ArrayList<>(16);
+	private final AtomicLong uploadedCount = new AtomicLong();
+	private @Nullable String uploadId;
+	private volatile long writtenCount;
+	private boolean finished;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param service
+	 *        the service to report progress for
+	 * @param client
+	 *        the S3 client; will be closed when this export is closed
+	 * @param bucket
+	 *        the bucket name
+	 * @param key
+	 *        the object key
+	 * @param contentType
+	 *        the content type
+	 * @param storageClass
+	 *        the storage class
+	 * @param partSize
+	 *        the part size, in bytes; will be forced to at least
+	 *        {@link #MIN_PART_SIZE}
+	 * @param maxConcurrency
+	 *        the maximum number of concurrent part uploads; will be forced to
+	 *        at least {@literal 1}
+	 * @param progressListener
+	 *        an optional progress listener
+	 * @throws IllegalArgumentException
+	 *         if any argument other than {@code contentType},
+	 *         {@code storageClass}, or {@code progressListener} is
+	 *         {@code null}
+	 */
+	public S3MultipartStreamingExport(DatumExportService service, S3AsyncClient client,
+			String bucket, String key, @Nullable String contentType, @Nullable String storageClass,
+			int partSize, int maxConcurrency,
+			@Nullable ProgressListener<DatumExportService> progressListener) {
+		super();
+		this.service = requireNonNullArgument(service, "service");
+		this.client = requireNonNullArgument(client, "client");
+		this.bucket = requireNonNullArgument(bucket, "bucket");
+		this.key = requireNonNullArgument(key, "key");
+		this.contentType = contentType;
+		this.storageClass = storageClass;
+		this.partSize = Math.max(MIN_PART_SIZE, partSize);
+		this.uploadSlots = new Semaphore(Math.max(1, maxConcurrency));
+		this.progressListener = progressListener;
+		this.out = new PartOutputStream();
+	}
+
+	@Override
+	public OutputStream getOutputStream() {
+		return out;
+	}
+
+	private final class PartOutputStream extends OutputStream {
+
+		private byte[] buf = new byte[0];
+		private int len;
+
+		@Override
+		public void write(int b) throws IOException {
+			write(new byte[] { (byte) b }, 0, 1);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int count) throws IOException {
+			if ( finished ) {
+				throw new IOException("The export has been finished.");
+			}
+			while ( count > 0 ) {
+				if ( buf.length == 0 ) {
+					buf = new byte[partSize];
+					len = 0;
+				}
+				int n = Math.min(count, buf.length - len);
+				System.arraycopy(b, off, buf, len, n);
+				len += n;
+				off += n;
+				count -= n;
+				writtenCount += n;
+				if ( len == buf.length ) {
+					uploadPart(buf, len);
+					buf = new byte[0];
+					len = 0;
+				}
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			// closing has no effect; call finish() to complete the upload
+		}
+
+	}
+
+	private String uploadId() throws IOException {
+		if ( uploadId != null ) {
+			return uploadId;
+		}
+		CreateMultipartUploadRequest.Builder req = CreateMultipartUploadRequest.builder()
+				.bucket(bucket).key(key);
+		if ( contentType != null ) {
+			req.contentType(contentType);
+		}
+		if ( storageClass != null ) {
+			req.storageClass(storageClass);
+		}
+		String id = join(client.createMultipartUpload(req.build())).uploadId();
+		log.debug("Started S3 multipart upload {} to {}/{}", id, bucket, key);
+		uploadId = id;
+		return id;
+	}
+
+	private void uploadPart(byte[] data, int length) throws IOException {
+		final String id = uploadId();
+		try {
+			uploadSlots.acquire();
+		} catch ( InterruptedException e ) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted waiting to upload S3 part.");
+		}
+		final int partNumber = parts.size() + 1;
+		final UploadPartRequest req = UploadPartRequest.builder().bucket(bucket).key(key)
+				.uploadId(id).partNumber(partNumber).contentLength((long) length).build();
+		CompletableFuture<CompletedPart> f;
+		try {
+			f = client.uploadPart(req, AsyncRequestBody.fromBytesUnsafe(data))
+					.thenApply(res -> CompletedPart.builder().partNumber(partNumber).eTag(res.eTag())
+							.build());
+		} catch ( RuntimeException e ) {
+			uploadSlots.release();
+			throw e;
+		}
+		f = f.whenComplete((_, t) -> {
+			uploadSlots.release();
+			if ( t == null ) {
+				uploadProgress(length);
+			}
+		});
+		parts.add(f);
+	}
+
+	private void uploadProgress(long count) {
+		final long uploaded = uploadedCount.addAndGet(count);
+		final ProgressListener<DatumExportService> listener = this.progressListener;
+		if ( listener != null ) {
+			final long written = Math.max(writtenCount, uploaded);
+			listener.progressChanged(service,
+					written > 0 ? Math.min(1.0, (double) uploaded / (double) written) : 1.0);
+		}
+	}
+
+	@Override
+	public void finish() throws IOException {
+		if ( finished ) {
+			return;
+		}
+		finished = true;
+		final byte[] buf = out.buf;
+		final int len = out.len;
+		final String id = uploadId;
+		if ( id == null ) {
+			// less than one part written: upload as single object
+			PutObjectRequest.Builder req = PutObjectRequest.builder().bucket(bucket).key(key)
+					.contentLength((long) len);
+			if ( contentType != null ) {
+				req.contentType(contentType);
+			}
+			if ( storageClass != null ) {
+				req.storageClass(storageClass);
+			}
+			join(client.putObject(req.build(), AsyncRequestBody.fromBytesUnsafe(
+					len == buf.length ? buf : Arrays.copyOf(buf, len))));
+			uploadProgress(len);
+			return;
+		}
+		if ( len > 0 ) {
+			uploadPart(buf, len);
+		}
+		List<CompletedPart> completed = new ArrayList<>(parts.size());
+		for ( CompletableFuture<CompletedPart> f : parts ) {
+			completed.add(join(f));
+		}
+		completed.sort(Comparator.comparing(CompletedPart::partNumber));
+		join(client.completeMultipartUpload(CompleteMultipartUploadRequest.builder().bucket(bucket)
+				.key(key).uploadId(id)
+				.multipartUpload(CompletedMultipartUpload.builder().parts(completed).build()).build()));
+		log.info("Completed S3 multipart upload of {} bytes in {} parts to {}/{}", writtenCount,
+				completed.size(), bucket, key);
+		uploadId = null;
+	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			final String id = uploadId;
+			if ( id != null ) {
+				// not finished successfully: abort
+				for ( CompletableFuture<CompletedPart> f : parts ) {
+					f.cancel(true);
+				}
+				try {
+					client.abortMultipartUpload(AbortMultipartUploadRequest.builder().bucket(bucket)
+							.key(key).uploadId(id).build()).join();
+					log.info("Aborted S3 multipart upload {} to {}/{}", id, bucket, key);
+				} catch ( CompletionException e ) {
+					log.warn("Error aborting S3 multipart upload {} to {}/{}: {}", id, bucket, key,
+							e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+				}
+				uploadId = null;
+			}
+		} finally {
+			finished = true;
+			client.close();
+		}
+	}
+
+	private <T> T join(CompletableFuture<T> f) throws IOException {
+		try {
+			return f.join();
+		} catch ( CompletionException ce ) {
+			if ( ce.getCause() instanceof AwsServiceException e ) {
+				log.warn("AWS error: {}; HTTP code {}; AWS code {}; request ID {}", e.getMessage(),
+						e.statusCode(), e.awsErrorDetails().errorCode(), e.requestId());
+				throw new RemoteServiceException("Error uploading S3 object at " + key, e);
+			} else if ( ce.getCause() instanceof SdkClientException e ) {
+				log.debug("Error communicating with AWS: {}", e.getMessage());
+				throw new IOException("Error communicating with AWS", e);
+			}
+			throw new RemoteServiceException("Error uploading S3 object at " + key, ce);
+		}
+	}
+
+}
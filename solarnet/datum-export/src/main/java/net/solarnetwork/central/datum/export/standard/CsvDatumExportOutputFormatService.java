@@ -78,7 +78,7 @@ import net.solarnetwork.util.ClassUtils;
  * {@link DatumExportOutputFormatService}
  *
  * @author matt
- * @version 2.3
+ * @version 2.4
  * @since 1.23
  */
 public class CsvDatumExportOutputFormatService extends BaseDatumExportOutputFormatService {
@@ -126,12 +126,29 @@ public class CsvDatumExportOutputFormatService extends BaseDatumExportOutputForm
 
 	@Override
 	public ExportContext createExportContext(OutputConfiguration config) {
-		return new CsvExportContext(config);
+		return new CsvExportContext(config, null);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>
+	 * Streaming is only supported when the {@code includeHeader} property is
+	 * disabled, as the header row can only be generated after all datum have
+	 * been encoded.
+	 * </p>
+	 */
+	@Override
+	public @Nullable ExportContext createStreamingExportContext(OutputConfiguration config,
+			OutputStream out) {
+		CsvExportContext ctx = new CsvExportContext(config, out);
+		return (ctx.isSinglePassOutput() ? ctx : null);
 	}
 
 	private class CsvExportContext extends BaseDatumExportOutputFormatServiceExportContext {
 
 		private final CsvOutputFormatProperties props;
+		private final @Nullable OutputStream streamOut;
 		private @Nullable File temporaryFile;
 		private @Nullable CsvWriter writer;
 		private @Nullable Set<String> headerSet;
@@ -139,8 +156,9 @@ public class CsvDatumExportOutputFormatService extends BaseDatumExportOutputForm
 		private @Nullable List<Function<@Nullable Object, @Nullable String>> cellProcessors;
 		private int rowNum;
 
-		private CsvExportContext(OutputConfiguration config) {
+		private CsvExportContext(OutputConfiguration config, @Nullable OutputStream streamOut) {
 			super(config);
+			this.streamOut = streamOut;
 
 			CsvOutputFormatProperties props = new CsvOutputFormatProperties();
 			ClassUtils.setBeanProperties(props, config.getServiceProperties(), true);
@@ -248,6 +266,15 @@ public class CsvDatumExportOutputFormatService extends BaseDatumExportOutputForm
 		@SuppressWarnings("ReferenceEquality")
 		@Override
 		public void start(long estimatedResultCount) throws IOException {
+			if ( streamOut != null ) {
+				// write directly to stream, compressing as configured
+				writer = CsvWriter.builder()
+						.build(createCompressedOutputStream(StreamUtils.nonClosing(streamOut)));
+				setEstimatedResultCount(estimatedResultCount);
+				log.info("Starting streaming CSV export with estimated row count {} for config {}",
+						estimatedResultCount, config);
+				return;
+			}
 			temporaryFile = createTemporaryResource(config);
 			BufferedOutputStream rawOut = new BufferedOutputStream(new FileOutputStream(temporaryFile));
 			OutputStream out = rawOut;
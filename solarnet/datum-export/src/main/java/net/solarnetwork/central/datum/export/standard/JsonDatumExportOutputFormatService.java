@@ -34,6 +34,7 @@ import java.util.zip.GZIPOutputStream;
 import org.jspecify.annotations.Nullable;
 import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
+import org.springframework.util.StreamUtils;
 import net.solarnetwork.central.datum.domain.GeneralNodeDatumFilterMatch;
 import net.solarnetwork.central.datum.export.biz.DatumExportOutputFormatService;
 import net.solarnetwork.central.datum.export.biz.DatumExportService;
@@ -54,7 +55,7 @@ import tools.jackson.databind.ObjectMapper;
  * JSON implementation of {@link DatumExportOutputFormatService}
  *
  * @author matt
- * @version 3.0
+ * @version 3.1
  * @since 1.23
  */
 public class JsonDatumExportOutputFormatService extends BaseDatumExportOutputFormatService {
@@ -99,23 +100,36 @@ public class JsonDatumExportOutputFormatService extends BaseDatumExportOutputFor
 
 	@Override
 	public ExportContext createExportContext(OutputConfiguration config) {
-		return new JsonExportContext(config);
+		return new JsonExportContext(config, null);
+	}
+
+	@Override
+	public ExportContext createStreamingExportContext(OutputConfiguration config, OutputStream out) {
+		return new JsonExportContext(config, out);
 	}
 
 	private class JsonExportContext extends BaseDatumExportOutputFormatServiceExportContext {
 
+		private final @Nullable OutputStream streamOut;
 		private @Nullable File temporaryFile;
 		private @Nullable JsonGenerator generator;
 		private boolean started;
 
-		private JsonExportContext(OutputConfiguration config) {
+		private JsonExportContext(OutputConfiguration config, @Nullable OutputStream streamOut) {
 			super(config);
+			this.streamOut = streamOut;
 		}
 
 		@SuppressWarnings("ReferenceEquality")
 		@Override
 		public void start(long estimatedResultCount) throws IOException {
 			setEstimatedResultCount(estimatedResultCount);
+			if ( streamOut != null ) {
+				// write directly to stream, compressing as configured
+				generator = objectMapper
+						.createGenerator(createCompressedOutputStream(StreamUtils.nonClosing(streamOut)));
+				return;
+			}
 			temporaryFile = createTemporaryResource(config);
 			BufferedOutputStream rawOut = new BufferedOutputStream(new FileOutputStream(temporaryFile));
 			OutputStream out = createCompressedOutputStream(rawOut);
@@ -0,0 +1,621 @@
+/* ==================================================================
+ * ParquetDatumExportOutputFormatService.java - 17/10/2026 5:51:27 pm
+ *
+ * Copyright 2026 SolarNetwork.net Dev Team
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation; either version 2 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA
+ * 02111-1307 USA
+ * ==================================================================
+ */
+
+package net.solarnetwork.central.datum.export.standard;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.jspecify.annotations.Nullable;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.StringUtils;
+import net.solarnetwork.central.datum.domain.GeneralNodeDatumFilterMatch;
+import net.solarnetwork.central.datum.domain.GeneralNodeDatumPK;
+import net.solarnetwork.central.datum.export.biz.DatumExportOutputFormatService;
+import net.solarnetwork.central.datum.export.biz.DatumExportService;
+import net.solarnetwork.central.datum.export.domain.BasicDatumExportResource;
+import net.solarnetwork.central.datum.export.domain.DatumExportResource;
+import net.solarnetwork.central.datum.export.domain.OutputConfiguration;
+import net.solarnetwork.central.datum.export.support.BaseDatumExportOutputFormatService;
+import net.solarnetwork.central.datum.export.support.BaseDatumExportOutputFormatServiceExportContext;
+import net.solarnetwork.central.datum.export.support.ParquetFileWriter;
+import net.solarnetwork.central.datum.export.support.ParquetFileWriter.Column;
+import net.solarnetwork.central.datum.export.support.ParquetFileWriter.ConvertedType;
+import net.solarnetwork.central.datum.export.support.ParquetFileWriter.PhysicalType;
+import net.solarnetwork.io.DeleteOnCloseFileResource;
+import net.solarnetwork.service.ProgressListener;
+import net.solarnetwork.settings.SettingSpecifier;
+import net.solarnetwork.settings.support.BasicToggleSettingSpecifier;
+import net.solarnetwork.util.ClassUtils;
+
+/**
+ * Apache Parquet implementation of {@link DatumExportOutputFormatService}.
+ *
+ * <p>
+ * Datum are written with typed columns: {@code created} as a UTC timestamp,
+ * {@code nodeId} as a 64-bit integer, {@code sourceId} as a dictionary encoded
+ * string, {@code localDate} as a date, and {@code localTime} as a time. Each
+ * datum property is written as an optional column, typed from all the values
+ * of the first row group the property appears in: {@code INT64} if all values
+ * are integers, {@code DECIMAL} with the largest scale seen if any value is a
+ * non-integer decimal, {@code DOUBLE} if any value is a floating point number,
+ * or a dictionary encoded string otherwise.
+ * </p>
+ *
+ * <p>
+ * A later value that cannot be stored exactly in its property column, for
+ * example a string value of a number property or a decimal with a larger
+ * scale, is instead written as a string to a companion column named after the
+ * property with a {@code _text} suffix, so no values are lost.
+ * </p>
+ *
+ * <p>
+ * Datum are buffered into row groups of up to {@code rowGroupSize} rows or
+ * about {@code rowGroupMaxSize} bytes, and each row group is sorted by
+ * {@code created} before being written. As the file is written in a single
+ * pass, streaming exports are supported.
+ * </p>
+ *
+ * @author matt
+ * @version 1.0
+ */
+public class ParquetDatumExportOutputFormatService extends BaseDatumExportOutputFormatService {
+
+	/** The {@code rowGroupSize} property default value. */
+	public static final int DEFAULT_ROW_GROUP_SIZE = 65_536;
+
+	/** The {@code rowGroupMaxSize} property default value. */
+	public static final long DEFAULT_ROW_GROUP_MAX_SIZE = 64L * 1024L * 1024L;
+
+	/** The suffix added to property names for string companion columns. */
+	public static final String TEXT_COLUMN_SUFFIX = "_text";
+
+	/** The decimal precision used for {@code DECIMAL} property columns. */
+	private static final int DECIMAL_PRECISION = 38;
+
+	private static final int CREATED_COLUMN = 0;
+
+	private static final List<Column> CORE_COLUMNS = List.of(
+			new Column("created", PhysicalType.INT64, ConvertedType.TIMESTAMP_MILLIS, true, false),
+			new Column("nodeId", PhysicalType.INT64, ConvertedType.NONE, true, false),
+			new Column("sourceId", PhysicalType.BYTE_ARRAY, ConvertedType.UTF8, true, true),
+			new Column("localDate", PhysicalType.INT32, ConvertedType.DATE, false, false),
+			new Column("localTime", PhysicalType.INT32, ConvertedType.TIME_MILLIS, false, false));
+
+	private static final Set<String> CORE_COLUMN_NAMES = Set.of("created", "nodeId", "sourceId",
+			"localDate", "localTime");
+
+	private static final Comparator<Row> ROW_ORDER = Comparator.comparingLong(Row::created)
+			.thenComparingLong(Row::nodeId).thenComparing(Row::sourceId);
+
+	private int rowGroupSize = DEFAULT_ROW_GROUP_SIZE;
+	private long rowGroupMaxSize = DEFAULT_ROW_GROUP_MAX_SIZE;
+	private int pageRowLimit = ParquetFileWriter.DEFAULT_PAGE_ROW_LIMIT;
+
+	/**
+	 * Constructor.
+	 */
+	public ParquetDatumExportOutputFormatService() {
+		super("net.solarnetwork.central.datum.export.standard.ParquetDatumExportOutputFormatService");
+	}
+
+	@Override
+	public String getDisplayName() {
+		return "Parquet Output Format";
+	}
+
+	@Override
+	public String getExportFilenameExtension() {
+		return "parquet";
+	}
+
+	@Override
+	public String getExportContentType() {
+		return "application/vnd.apache.parquet";
+	}
+
+	@Override
+	public List<SettingSpecifier> getSettingSpecifiers() {
+		List<SettingSpecifier> result = new ArrayList<>(4);
+		result.add(new BasicToggleSettingSpecifier("compressPages", true));
+		return result;
+	}
+
+	@Override
+	public ExportContext createExportContext(OutputConfiguration config) {
+		return new ParquetExportContext(config, null);
+	}
+
+	@Override
+	public ExportContext createStreamingExportContext(OutputConfiguration config, OutputStream out) {
+		return new ParquetExportContext(config, out);
+	}
+
+	/**
+	 * A buffered datum row.
+	 *
+	 * @param created
+	 *        the creation date, as milliseconds since the epoch
+	 * @param nodeId
+	 *        the node ID
+	 * @param sourceId
+	 *        the source ID
+	 * @param localDate
+	 *        the local date, as days since the epoch
+	 * @param localTime
+	 *        the local time, as milliseconds since midnight
+	 * @param properties
+	 *        the raw property values, in property order
+	 */
+	private record Row(long created, long nodeId, String sourceId, @Nullable Integer localDate,
+			@Nullable Integer localTime, @Nullable Object[] properties) {
+
+	}
+
+	/** A property column value kind. */
+	private enum Kind {
+		INTEGER,
+		FLOAT,
+		DECIMAL,
+		STRING,
+	}
+
+	/** A property column. */
+	private static final class PropertyColumn {
+
+		private final String name;
+		private @Nullable Kind kind;
+		private int scale;
+		private int writerIndex = -1;
+		private @Nullable PropertyColumn text;
+
+		private PropertyColumn(String name) {
+			super();
+			this.name = name;
+		}
+
+		private Column column() {
+			return switch (kind) {
+				case INTEGER -> new Column(name, PhysicalType.INT64, ConvertedType.NONE, false,
+						false);
+				case FLOAT -> new Column(name, PhysicalType.DOUBLE, ConvertedType.NONE, false,
+						false);
+				case DECIMAL -> new Column(name, PhysicalType.BYTE_ARRAY, ConvertedType.DECIMAL,
+						false, false, scale, DECIMAL_PRECISION);
+				case null, default -> new Column(name, PhysicalType.BYTE_ARRAY, ConvertedType.UTF8,
+						false, true);
+			};
+		}
+
+		/**
+		 * Convert a value to this column's type.
+		 *
+		 * @param value
+		 *        the value
+		 * @return the converted value, or {@code null} if the value cannot be
+		 *         stored exactly in this column
+		 */
+		private @Nullable Object convert(Object value) {
+			return switch (kind) {
+				case INTEGER -> integral(value);
+				case FLOAT -> {
+					if ( value instanceof Double || value instanceof Float ) {
+						yield ((Number) value).doubleValue();
+					}
+					final BigDecimal d = decimal(value);
+					if ( d == null ) {
+						yield null;
+					}
+					final double dv = d.doubleValue();
+					yield (BigDecimal.valueOf(dv).compareTo(d) == 0 ? dv : null);
+				}
+				case DECIMAL -> {
+					final BigDecimal d = decimal(value);
+					if ( d == null ) {
+						yield null;
+					}
+					try {
+						final BigDecimal scaled = d.setScale(scale);
+						yield (scaled.precision() <= DECIMAL_PRECISION ? scaled : null);
+					} catch ( ArithmeticException e ) {
+						// more decimal places than the column scale
+						yield null;
+					}
+				}
+				case null, default -> (value instanceof Object[] a
+						? StringUtils.arrayToCommaDelimitedString(a)
+						: value.toString());
+			};
+		}
+
+	}
+
+	private static @Nullable Long integral(Object value) {
+		if ( value instanceof Long || value instanceof Integer || value instanceof Short
+				|| value instanceof Byte ) {
+			return ((Number) value).longValue();
+		} else if ( value instanceof BigInteger n ) {
+			return (n.bitLength() < 64 ? n.longValue() : null);
+		} else if ( value instanceof BigDecimal n ) {
+			try {
+				return n.longValueExact();
+			} catch ( ArithmeticException e ) {
+				return null;
+			}
+		}
+		return null;
+	}
+
+	private static @Nullable BigDecimal decimal(Object value) {
+		if ( value instanceof BigDecimal n ) {
+			return n;
+		} else if ( value instanceof BigInteger n ) {
+			return new BigDecimal(n);
+		} else if ( value instanceof Double || value instanceof Float ) {
+			final double d = ((Number) value).doubleValue();
+			return (Double.isFinite(d) ? BigDecimal.valueOf(d) : null);
+		}
+		final Long l = integral(value);
+		return (l != null ? BigDecimal.valueOf(l) : null);
+	}
+
+	private class ParquetExportContext extends BaseDatumExportOutputFormatServiceExportContext {
+
+		private final ParquetOutputFormatProperties props;
+		private final @Nullable OutputStream streamOut;
+		private final Map<String, Integer> propertyIndexes = new LinkedHashMap<>(16);
+		private final List<PropertyColumn> properties = new ArrayList<>(16);
+		private final Map<String, PropertyColumn> columnNames = new HashMap<>(16);
+		private final List<Row> rows;
+		private long rowsSize;
+		private @Nullable File temporaryFile;
+		private @Nullable OutputStream out;
+		private @Nullable ParquetFileWriter writer;
+
+		private ParquetExportContext(OutputConfiguration config, @Nullable OutputStream streamOut) {
+			super(config);
+			this.streamOut = streamOut;
+			this.rows = new ArrayList<>(Math.min(rowGroupSize, 4096));
+
+			ParquetOutputFormatProperties props = new ParquetOutputFormatProperties();
+			ClassUtils.setBeanProperties(props, config.getServiceProperties(), true);
+			if ( !props.isValid() ) {
+				throw new RuntimeException("Parquet output service configuration is not valid.");
+			}
+
+			this.props = props;
+		}
+
+		@Override
+		public void start(long estimatedResultCount) throws IOException {
+			setEstimatedResultCount(estimatedResultCount);
+			final OutputStream rawOut;
+			if ( streamOut != null ) {
+				// write directly to stream
+				rawOut = StreamUtils.nonClosing(streamOut);
+			} else {
+				temporaryFile = createTemporaryResource(config);
+				rawOut = new BufferedOutputStream(new FileOutputStream(temporaryFile));
+			}
+			final OutputStream out = createCompressedOutputStream(rawOut);
+			final ParquetFileWriter writer = new ParquetFileWriter(out, props.isCompressPages());
+			writer.setPageRowLimit(pageRowLimit);
+			for ( Column col : CORE_COLUMNS ) {
+				writer.addColumn(col);
+				columnNames.put(col.name(), new PropertyColumn(col.name()));
+			}
+			this.out = out;
+			this.writer = writer;
+			log.info("Starting Parquet export with estimated row count {} for config {}",
+					estimatedResultCount, config);
+		}
+
+		@Override
+		public void appendDatumMatch(Iterable<? extends GeneralNodeDatumFilterMatch> iterable,
+				@Nullable ProgressListener<DatumExportService> progressListener) throws IOException {
+			final ParquetFileWriter writer = this.writer;
+			if ( writer == null ) {
+				throw new UnsupportedOperationException("The start method must be called first.");
+			}
+			for ( GeneralNodeDatumFilterMatch m : iterable ) {
+				final Row row = row(m);
+				if ( row != null ) {
+					rows.add(row);
+					rowsSize += rowSize(row);
+					if ( rows.size() >= rowGroupSize || rowsSize >= rowGroupMaxSize ) {
+						writeRowGroup(writer);
+					}
+				}
+				incrementProgress(ParquetDatumExportOutputFormatService.this, 1, progressListener);
+			}
+		}
+
+		private @Nullable Row row(GeneralNodeDatumFilterMatch match) {
+			final GeneralNodeDatumPK id = (match != null ? match.getId() : null);
+			if ( id == null ) {
+				return null;
+			}
+			final Instant created = id.getCreated();
+			final Long nodeId = id.getNodeId();
+			final String sourceId = id.getSourceId();
+			if ( created == null || nodeId == null || sourceId == null ) {
+				return null;
+			}
+			final Map<String, ?> sampleData = match.getSampleData();
+			if ( sampleData != null ) {
+				for ( Map.Entry<String, ?> me : sampleData.entrySet() ) {
+					if ( me.getValue() != null && !CORE_COLUMN_NAMES.contains(me.getKey())
+							&& !propertyIndexes.containsKey(me.getKey()) ) {
+						propertyIndexes.put(me.getKey(), properties.size());
+						properties.add(newColumn(me.getKey()));
+					}
+				}
+			}
+			final @Nullable Object[] values = new Object[propertyIndexes.size()];
+			if ( sampleData != null ) {
+				for ( Map.Entry<String, ?> me : sampleData.entrySet() ) {
+					final Integer idx = propertyIndexes.get(me.getKey());
+					if ( idx != null ) {
+						values[idx] = me.getValue();
+					}
+				}
+			}
+			final LocalDate localDate = match.getLocalDate();
+			final LocalTime localTime = match.getLocalTime();
+			return new Row(created.toEpochMilli(), nodeId, sourceId,
+					localDate != null ? (int) localDate.toEpochDay() : null,
+					localTime != null ? (int) (localTime.toNanoOfDay() / 1_000_000L) : null, values);
+		}
+
+		/**
+		 * Create a new column with a name not used by any other column.
+		 */
+		private PropertyColumn newColumn(String name) {
+			String colName = name;
+			while ( columnNames.containsKey(colName) ) {
+				colName += "_";
+			}
+			final PropertyColumn col = new PropertyColumn(colName);
+			columnNames.put(colName, col);
+			return col;
+		}
+
+		private static long rowSize(Row row) {
+			long size = 64 + row.sourceId().length() * 2L;
+			for ( Object v : row.properties() ) {
+				size += 16;
+				if ( v instanceof CharSequence s ) {
+					size += s.length() * 2L;
+				}
+			}
+			return size;
+		}
+
+		/**
+		 * Type a new property column from the values in the buffered rows.
+		 */
+		private void type(PropertyColumn col, int p) {
+			boolean allIntegral = true;
+			boolean anyDecimal = false;
+			int scale = 0;
+			for ( Row row : rows ) {
+				final @Nullable Object[] rowProps = row.properties();
+				final Object v = (p < rowProps.length ? rowProps[p] : null);
+				if ( v == null || integral(v) != null ) {
+					continue;
+				}
+				allIntegral = false;
+				if ( !(v instanceof Double || v instanceof Float) ) {
+					final BigDecimal d = decimal(v);
+					if ( d == null ) {
+						col.kind = Kind.STRING;
+						return;
+					}
+					anyDecimal = true;
+					scale = Math.max(scale, d.stripTrailingZeros().scale());
+				}
+			}
+			if ( allIntegral ) {
+				col.kind = Kind.INTEGER;
+			} else if ( anyDecimal ) {
+				if ( scale > DECIMAL_PRECISION ) {
+					col.kind = Kind.STRING;
+				} else {
+					col.kind = Kind.DECIMAL;
+					col.scale = scale;
+				}
+			} else {
+				col.kind = Kind.FLOAT;
+			}
+		}
+
+		private PropertyColumn textColumn(ParquetFileWriter writer, PropertyColumn col) {
+			PropertyColumn text = col.text;
+			if ( text == null ) {
+				text = newColumn(col.name + TEXT_COLUMN_SUFFIX);
+				text.kind = Kind.STRING;
+				text.writerIndex = writer.addColumn(text.column());
+				col.text = text;
+			}
+			return text;
+		}
+
+		private void writeRowGroup(ParquetFileWriter writer) throws IOException {
+			if ( rows.isEmpty() ) {
+				return;
+			}
+			rows.sort(ROW_ORDER);
+			final int count = rows.size();
+
+			// add columns for properties first seen in this row group
+			for ( int p = 0, len = properties.size(); p < len; p++ ) {
+				final PropertyColumn col = properties.get(p);
+				if ( col.kind == null ) {
+					type(col, p);
+					col.writerIndex = writer.addColumn(col.column());
+				}
+			}
+
+			// convert property values, adding string companion columns as needed
+			final Map<PropertyColumn, @Nullable Object[]> propValues = new LinkedHashMap<>(
+					properties.size());
+			for ( int r = 0; r < count; r++ ) {
+				final @Nullable Object[] rowProps = rows.get(r).properties();
+				for ( int p = 0; p < rowProps.length; p++ ) {
+					final Object v = rowProps[p];
+					if ( v == null ) {
+						continue;
+					}
+					PropertyColumn col = properties.get(p);
+					Object converted = col.convert(v);
+					if ( converted == null ) {
+						col = textColumn(writer, col);
+						converted = col.convert(v);
+					}
+					propValues.computeIfAbsent(col, _ -> new Object[count])[r] = converted;
+				}
+			}
+
+			final @Nullable Object[] created = new Object[count];
+			final @Nullable Object[] nodeIds = new Object[count];
+			final @Nullable Object[] sourceIds = new Object[count];
+			final @Nullable Object[] localDates = new Object[count];
+			final @Nullable Object[] localTimes = new Object[count];
+			for ( int r = 0; r < count; r++ ) {
+				final Row row = rows.get(r);
+				created[r] = row.created();
+				nodeIds[r] = row.nodeId();
+				sourceIds[r] = row.sourceId();
+				localDates[r] = row.localDate();
+				localTimes[r] = row.localTime();
+			}
+			final @Nullable Object[][] values = new Object[writer.getColumnCount()][];
+			values[0] = created;
+			values[1] = nodeIds;
+			values[2] = sourceIds;
+			values[3] = localDates;
+			values[4] = localTimes;
+			for ( Map.Entry<PropertyColumn, @Nullable Object[]> e : propValues.entrySet() ) {
+				values[e.getKey().writerIndex] = e.getValue();
+			}
+			writer.writeRowGroup(count, values, CREATED_COLUMN);
+			log.debug("Wrote Parquet row group of {} rows with {} columns", count, values.length);
+			rows.clear();
+			rowsSize = 0;
+		}
+
+		@Override
+		public Iterable<DatumExportResource> finish() throws IOException {
+			final ParquetFileWriter writer = this.writer;
+			if ( writer != null ) {
+				writeRowGroup(writer);
+				writer.finish();
+			}
+			flush();
+			close();
+			final File temporaryFile = this.temporaryFile;
+			if ( temporaryFile == null ) {
+				return List.of();
+			}
+			log.info("Wrote {} bytes to temporary file [{}]", temporaryFile.length(), temporaryFile);
+			return Set.of(new BasicDatumExportResource(
+					new DeleteOnCloseFileResource(new FileSystemResource(temporaryFile)),
+					getContentType(config), getExportContentType()));
+		}
+
+		@Override
+		public void flush() throws IOException {
+			if ( out != null ) {
+				out.flush();
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			if ( out != null ) {
+				out.close();
+				out = null;
+			}
+		}
+
+	}
+
+	/**
+	 * Set the maximum number of rows to include in each row group.
+	 *
+	 * <p>
+	 * Rows are buffered in memory until a row group is written, so this
+	 * setting has a direct impact on the memory required by each export.
+	 * </p>
+	 *
+	 * @param rowGroupSize
+	 *        the row group size; defaults to {@link #DEFAULT_ROW_GROUP_SIZE}
+	 */
+	public void setRowGroupSize(int rowGroupSize) {
+		this.rowGroupSize = Math.max(1, rowGroupSize);
+	}
+
+	/**
+	 * Set the approximate maximum size of the rows buffered for each row
+	 * group.
+	 *
+	 * <p>
+	 * A row group is written once either this size or {@code rowGroupSize}
+	 * rows is reached, to bound the memory required by exports of datum with
+	 * many or large properties.
+	 * </p>
+	 *
+	 * @param rowGroupMaxSize
+	 *        the maximum size, in bytes; defaults to
+	 *        {@link #DEFAULT_ROW_GROUP_MAX_SIZE}
+	 */
+	public void setRowGroupMaxSize(long rowGroupMaxSize) {
+		this.rowGroupMaxSize = Math.max(1, rowGroupMaxSize);
+	}
+
+	/**
+	 * Set the maximum number of rows to include in each data page.
+	 *
+	 * @param pageRowLimit
+	 *        the page row limit; defaults to
+	 *        {@link ParquetFileWriter#DEFAULT_PAGE_ROW_LIMIT}
+	 */
+	public void setPageRowLimit(int pageRowLimit) {
+		this.pageRowLimit = Math.max(1, pageRowLimit);
+	}
+
+}
@@ -0,0 +1,65 @@
+/* ==================================================================
+ * ParquetOutputFormatProperties.java - 17/10/2026 5:48:02 pm
+ *
+ * Copyright 2026 SolarNetwork.net Dev Team
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation; either version 2 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA
+ * 02111-1307 USA
+ * ==================================================================
+ */
+
+package net.solarnetwork.central.datum.export.standard;
+
+/**
+ * Configurable runtime properties for the
+ * {@link ParquetDatumExportOutputFormatService}.
+ *
+ * @author matt
+ * @version 1.0
+ */
+public class ParquetOutputFormatProperties {
+
+	private boolean compressPages = true;
+
+	/**
+	 * Get the page compression flag.
+	 *
+	 * @return {@literal true} to compress Parquet pages; defaults to
+	 *         {@literal true}
+	 */
+	public boolean isCompressPages() {
+		return compressPages;
+	}
+
+	/**
+	 * Toggle the compression of Parquet pages.
+	 *
+	 * @param compressPages
+	 *        {@literal true} to compress Parquet pages
+	 */
+	public void setCompressPages(boolean compressPages) {
+		this.compressPages = compressPages;
+	}
+
+	/**
+	 * Test if the configuration appears valid.
+	 *
+	 * @return {@literal true} if the configuration appears valid
+	 */
+	public boolean isValid() {
+		return true;
+	}
+
+}
@@ -0,0 +1,856 @@
+/* ==================================================================
+ * ParquetFileWriter.java - 17/10/2026 5:12:44 pm
+ *
+ * Copyright 2026 SolarNetwork.net Dev Team
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation; either version 2 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA
+ * 02111-1307 USA
+ * ==================================================================
+ */
+
+package net.solarnetwork.central.datum.export.support;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static net.solarnetwork.util.ObjectUtils.requireNonNullArgument;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A minimal Apache Parquet file writer.
+ *
+ * <p>
+ * This writer supports a flat schema of {@code INT32}, {@code INT64},
+ * {@code DOUBLE}, and {@code BYTE_ARRAY} columns, each stored as version 1
+ * data pages of at most {@code pageRowLimit} rows and about
+ * {@link #MAX_PAGE_SIZE} bytes. Values are {@code PLAIN} encoded, or
+ * dictionary encoded for columns configured that way. Pages can optionally be
+ * {@code GZIP} compressed. Every column declares the type defined sort order,
+ * and integer column chunks include minimum and maximum statistics.
+ * </p>
+ *
+ * <p>
+ * Columns can be added between row groups, as long as they are optional. Row
+ * groups written before a column was added have an all-null chunk for that
+ * column appended when {@link #finish()} is called. The file footer is written
+ * by {@link #finish()}, so the entire file is written in a single pass and
+ * can be written to a stream.
+ * </p>
+ *
+ * <p>
+ * The Apache {@code parquet-java} writer is not used because it requires the
+ * complete schema before the first row group is written, while datum export
+ * property columns are only discovered as datum are streamed. It also
+ * requires the Hadoop client libraries at runtime. The {@code parquet-java}
+ * reader is used in the unit tests to verify the files this class writes.
+ * </p>
+ *
+ * <p>
+ * This class is not thread safe.
+ * </p>
+ *
+ * @author matt
+ * @version 1.0
+ */
+public class ParquetFileWriter {
+
+	/** The Parquet file magic bytes. */
+	private static final byte[] MAGIC = new byte[] { 'P', 'A', 'R', '1' };
+
+	// Parquet enumeration values
+	private static final int PAGE_TYPE_DATA = 0;
+	private static final int PAGE_TYPE_DICTIONARY = 2;
+	private static final int ENCODING_PLAIN = 0;
+	private static final int ENCODING_RLE = 3;
+	private static final int ENCODING_RLE_DICTIONARY = 8;
+	private static final int CODEC_UNCOMPRESSED = 0;
+	private static final int CODEC_GZIP = 2;
+	private static final int REPETITION_REQUIRED = 0;
+	private static final int REPETITION_OPTIONAL = 1;
+
+	/** The default maximum number of rows per data page. */
+	public static final int DEFAULT_PAGE_ROW_LIMIT = 20_000;
+
+	/** The approximate maximum uncompressed size of a data page, in bytes. */
+	public static final int MAX_PAGE_SIZE = 1024 * 1024;
+
+	/**
+	 * Parquet physical column types.
+	 *
+	 * <p>
+	 * The expected Java value type of each column type is: {@link Integer}
+	 * for {@code INT32}, {@link Long} for {@code INT64}, {@link Double} for
+	 * {@code DOUBLE}, and {@link String} for {@code BYTE_ARRAY}, or
+	 * {@link BigDecimal} for {@code BYTE_ARRAY} with the {@code DECIMAL}
+	 * converted type.
+	 * </p>
+	 */
+	public enum PhysicalType {
+
+		/** A 32-bit signed integer. */
+		INT32(1),
+
+		/** A 64-bit signed integer. */
+		INT64(2),
+
+		/** A 64-bit floating point number. */
+		DOUBLE(5),
+
+		/** A byte array, used for UTF-8 strings. */
+		BYTE_ARRAY(6);
+
+		private final int code;
+
+		PhysicalType(int code) {
+			this.code = code;
+		}
+
+	}
+
+	/**
+	 * Parquet converted (logical) column types.
+	 */
+	public enum ConvertedType {
+
+		/** No converted type. */
+		NONE(-1),
+
+		/** A UTF-8 string, for {@code BYTE_ARRAY} columns. */
+		UTF8(0),
+
+		/**
+		 * A decimal as an unscaled two's complement big-endian integer, for
+		 * {@code BYTE_ARRAY} columns.
+		 */
+		DECIMAL(5),
+
+		/** A date as days since the epoch, for {@code INT32} columns. */
+		DATE(6),
+
+		/** A time as milliseconds since midnight, for {@code INT32} columns. */
+		TIME_MILLIS(7),
+
+		/**
+		 * A UTC timestamp as milliseconds since the epoch, for {@code INT64}
+		 * columns.
+		 */
+		TIMESTAMP_MILLIS(9);
+
+		private final int code;
+
+		ConvertedType(int code) {
+			this.code = code;
+		}
+
+	}
+
+	/**
+	 * A column definition.
+	 *
+	 * @param name
+	 *        the column name
+	 * @param type
+	 *        the physical type
+	 * @param convertedType
+	 *        the converted type
+	 * @param required
+	 *        {@code true} if the column does not allow {@code null} values
+	 * @param dictionary
+	 *        {@code true} to dictionary encode the column values
+	 * @param scale
+	 *        the decimal scale, for {@code DECIMAL} columns
+	 * @param precision
+	 *        the decimal precision, for {@code DECIMAL} columns
+	 */
+	public record Column(String name, PhysicalType type, ConvertedType convertedType,
+			boolean required, boolean dictionary, int scale, int precision) {
+
+		/**
+		 * Constructor.
+		 *
+		 * @param name
+		 *        the column name
+		 * @param type
+		 *        the physical type
+		 * @param convertedType
+		 *        the converted type
+		 * @param required
+		 *        {@code true} if the column does not allow {@code null}
+		 *        values
+		 * @param dictionary
+		 *        {@code true} to dictionary encode the column values
+		 * @param scale
+		 *        the decimal scale, for {@code DECIMAL} columns
+		 * @param precision
+		 *        the decimal precision, for {@code DECIMAL} columns
+		 * @throws IllegalArgumentException
+		 *         if any argument is {@code null}, or a {@code DECIMAL}
+		 *         column is not a {@code BYTE_ARRAY} with a valid scale and
+		 *         precision
+		 */
+		public Column {
+			requireNonNullArgument(name, "name");
+			requireNonNullArgument(type, "type");
+			requireNonNullArgument(convertedType, "convertedType");
+			if ( convertedType == ConvertedType.DECIMAL && (type != PhysicalType.BYTE_ARRAY
+					|| precision < 1 || scale < 0 || scale > precision) ) {
+				throw new IllegalArgumentException(
+						"Decimal column [%s] must be a BYTE_ARRAY with 0 <= scale <= precision."
+								.formatted(name));
+			}
+		}
+
+		/**
+		 * Constructor for a non-decimal column.
+		 *
+		 * @param name
+		 *        the column name
+		 * @param type
+		 *        the physical type
+		 * @param convertedType
+		 *        the converted type
+		 * @param required
+		 *        {@code true} if the column does not allow {@code null}
+		 *        values
+		 * @param dictionary
+		 *        {@code true} to dictionary encode the column values
+		 * @throws IllegalArgumentException
+		 *         if any argument is {@code null}
+		 */
+		public Column(String name, PhysicalType type, ConvertedType convertedType,
+				boolean required, boolean dictionary) {
+			this(name, type, convertedType, required, dictionary, 0, 0);
+		}
+
+	}
+
+	/** Metadata about a written column chunk. */
+	private record ChunkMeta(Column column, long valueCount, long nullCount, long dataPageOffset,
+			long dictionaryPageOffset, long uncompressedSize, long compressedSize,
+			byte @Nullable [] min, byte @Nullable [] max) {
+
+	}
+
+	/** Metadata about a written row group. */
+	private record RowGroupMeta(long rowCount, int sortColumn, List<ChunkMeta> chunks) {
+
+	}
+
+	private final OutputStream out;
+	private final boolean compress;
+	private final List<Column> columns = new ArrayList<>(16);
+	private final List<RowGroupMeta> rowGroups = new ArrayList<>(16);
+	private int pageRowLimit = DEFAULT_PAGE_ROW_LIMIT;
+	private long position;
+	private long rowCount;
+	private boolean finished;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param out
+	 *        the stream to write to; it will not be closed by this class
+	 * @param compress
+	 *        {@code true} to compress pages with {@code GZIP}
+	 * @throws IllegalArgumentException
+	 *         if {@code out} is {@code null}
+	 */
+	public ParquetFileWriter(OutputStream out, boolean compress) {
+		super();
+		this.out = requireNonNullArgument(out, "out");
+		this.compress = compress;
+	}
+
+	/**
+	 * Add a column.
+	 *
+	 * @param column
+	 *        the column to add
+	 * @return the index of the added column
+	 * @throws IllegalArgumentException
+	 *         if {@code column} is {@code null}
+	 * @throws IllegalStateException
+	 *         if a required column is added after a row group has been
+	 *         written, or the file has been finished
+	 */
+	public int addColumn(Column column) {
+		requireNonNullArgument(column, "column");
+		if ( finished ) {
+			throw new IllegalStateException("The file has been finished.");
+		}
+		if ( column.required() && !rowGroups.isEmpty() ) {
+			throw new IllegalStateException(
+					"Required column [%s] cannot be added after row groups have been written."
+							.formatted(column.name()));
+		}
+		columns.add(column);
+		return columns.size() - 1;
+	}
+
+	/**
+	 * Get the number of columns.
+	 *
+	 * @return the column count
+	 */
+	public int getColumnCount() {
+		return columns.size();
+	}
+
+	/**
+	 * Get the total number of rows written.
+	 *
+	 * @return the row count
+	 */
+	public long getRowCount() {
+		return rowCount;
+	}
+
+	/**
+	 * Write a row group.
+	 *
+	 * @param count
+	 *        the number of rows in the row group
+	 * @param values
+	 *        the column values, with one array of at least {@code count}
+	 *        values for each column, in column order; {@code null} arrays are
+	 *        treated as all {@code null} values
+	 * @param sortColumn
+	 *        the index of the column the rows are sorted by in ascending
+	 *        order, or {@literal -1} if not sorted
+	 * @throws IOException
+	 *         if an IO error occurs
+	 * @throws IllegalArgumentException
+	 *         if the number of value arrays does not match the number of
+	 *         columns, or a required column has {@code null} values
+	 */
+	public void writeRowGroup(int count, @Nullable Object[] @Nullable [] values, int sortColumn)
+			throws IOException {
+		if ( finished ) {
+			throw new IllegalStateException("The file has been finished.");
+		}
+		if ( values.length != columns.size() ) {
+			throw new IllegalArgumentException("Expected %d column value arrays but got %d."
+					.formatted(columns.size(), values.length));
+		}
+		if ( count < 1 ) {
+			return;
+		}
+		if ( position == 0 ) {
+			write(MAGIC);
+		}
+		List<ChunkMeta> chunks = new ArrayList<>(columns.size());
+		for ( int i = 0, len = columns.size(); i < len; i++ ) {
+			chunks.add(writeChunk(columns.get(i), count, values[i]));
+		}
+		rowGroups.add(new RowGroupMeta(count, sortColumn, chunks));
+		rowCount += count;
+	}
+
+	/**
+	 * Finish the file by writing the footer.
+	 *
+	 * <p>
+	 * Calling this method more than once has no effect.
+	 * </p>
+	 *
+	 * @throws IOException
+	 *         if an IO error occurs
+	 */
+	public void finish() throws IOException {
+		if ( finished ) {
+			return;
+		}
+		finished = true;
+		if ( position == 0 ) {
+			write(MAGIC);
+		}
+
+		// add null chunks for columns added after each row group was written
+		for ( RowGroupMeta rg : rowGroups ) {
+			for ( int i = rg.chunks().size(), len = columns.size(); i < len; i++ ) {
+				rg.chunks().add(writeChunk(columns.get(i), (int) rg.rowCount(), null));
+			}
+		}
+
+		byte[] footer = fileMetaData();
+		write(footer);
+		write(intLE(footer.length));
+		write(MAGIC);
+		out.flush();
+	}
+
+	/**
+	 * Set the maximum number of rows to include in each data page.
+	 *
+	 * @param pageRowLimit
+	 *        the page row limit; defaults to {@link #DEFAULT_PAGE_ROW_LIMIT}
+	 */
+	public void setPageRowLimit(int pageRowLimit) {
+		this.pageRowLimit = Math.max(1, pageRowLimit);
+	}
+
+	private void write(byte[] data) throws IOException {
+		out.write(data);
+		position += data.length;
+	}
+
+	private ChunkMeta writeChunk(Column col, int count, @Nullable Object @Nullable [] values)
+			throws IOException {
+		long nullCount = 0;
+		for ( int i = 0; i < count; i++ ) {
+			if ( values == null || values[i] == null ) {
+				if ( col.required() ) {
+					throw new IllegalArgumentException(
+							"Required column [%s] has null value.".formatted(col.name()));
+				}
+				nullCount++;
+			}
+		}
+
+		long dictionaryPageOffset = -1;
+		long uncompressedSize = 0;
+		long compressedSize = 0;
+		byte[] min = null;
+		byte[] max = null;
+
+		int[] indices = null;
+		int bitWidth = 0;
+		if ( col.dictionary() && values != null && nullCount < count ) {
+			// no dictionary for all-null chunks
+			final Map<Object, Integer> dict = new LinkedHashMap<>(16);
+			indices = new int[count];
+			for ( int i = 0; i < count; i++ ) {
+				Object v = values[i];
+				if ( v != null ) {
+					indices[i] = dict.computeIfAbsent(v, _ -> dict.size());
+				}
+			}
+			ByteArrayOutputStream dictPage = new ByteArrayOutputStream(dict.size() * 16);
+			for ( Object v : dict.keySet() ) {
+				writePlain(dictPage, col, v);
+			}
+			dictionaryPageOffset = position;
+			long[] sizes = writePage(PAGE_TYPE_DICTIONARY, dictPage.toByteArray(), dict.size(),
+					ENCODING_PLAIN);
+			uncompressedSize += sizes[0];
+			compressedSize += sizes[1];
+			bitWidth = Math.max(1, 32 - Integer.numberOfLeadingZeros(dict.size() - 1));
+		} else if ( values != null
+				&& (col.type() == PhysicalType.INT32 || col.type() == PhysicalType.INT64) ) {
+			long lo = Long.MAX_VALUE;
+			long hi = Long.MIN_VALUE;
+			for ( int i = 0; i < count; i++ ) {
+				if ( values[i] instanceof Number n ) {
+					lo = Math.min(lo, n.longValue());
+					hi = Math.max(hi, n.longValue());
+				}
+			}
+			if ( lo <= hi ) {
+				min = (col.type() == PhysicalType.INT32 ? intLE((int) lo) : longLE(lo));
+				max = (col.type() == PhysicalType.INT32 ? intLE((int) hi) : longLE(hi));
+			}
+		}
+
+		long dataPageOffset = -1;
+		int start = 0;
+		do {
+			final int end = pageEnd(col, values, start, count, indices != null);
+			final int pageCount = end - start;
+			final ByteArrayOutputStream page = new ByteArrayOutputStream(pageCount * 4 + 64);
+			if ( !col.required() ) {
+				// definition levels, with max level 1
+				final int[] levels = new int[pageCount];
+				for ( int i = start; i < end; i++ ) {
+					levels[i - start] = (values != null && values[i] != null ? 1 : 0);
+				}
+				ByteArrayOutputStream rle = new ByteArrayOutputStream(16);
+				writeRleRuns(rle, levels, pageCount, 1);
+				page.write(intLE(rle.size()));
+				rle.writeTo(page);
+			}
+			if ( indices != null && values != null ) {
+				final int[] pageIndices = new int[pageCount];
+				int idxCount = 0;
+				for ( int i = start; i < end; i++ ) {
+					if ( values[i] != null ) {
+						pageIndices[idxCount++] = indices[i];
+					}
+				}
+				page.write(bitWidth);
+				writeRleRuns(page, pageIndices, idxCount, bitWidth);
+			} else if ( values != null ) {
+				for ( int i = start; i < end; i++ ) {
+					Object v = values[i];
+					if ( v != null ) {
+						writePlain(page, col, v);
+					}
+				}
+			}
+			if ( dataPageOffset < 0 ) {
+				dataPageOffset = position;
+			}
+			long[] sizes = writePage(PAGE_TYPE_DATA, page.toByteArray(), pageCount,
+					indices != null ? ENCODING_RLE_DICTIONARY : ENCODING_PLAIN);
+			uncompressedSize += sizes[0];
+			compressedSize += sizes[1];
+			start = end;
+		} while ( start < count );
+
+		return new ChunkMeta(col, count, nullCount, dataPageOffset, dictionaryPageOffset,
+				uncompressedSize, compressedSize, min, max);
+	}
+
+	/**
+	 * Get the exclusive end row of a data page.
+	 *
+	 * <p>
+	 * Pages are limited to {@code pageRowLimit} rows, and {@code PLAIN}
+	 * encoded pages are also limited to about {@link #MAX_PAGE_SIZE} bytes.
+	 * </p>
+	 */
+	private int pageEnd(Column col, @Nullable Object @Nullable [] values, int start, int count,
+			boolean dictionary) {
+		final int end = Math.min(count, start + pageRowLimit);
+		if ( dictionary || values == null ) {
+			return end;
+		}
+		long size = 0;
+		for ( int i = start; i < end; i++ ) {
+			Object v = values[i];
+			if ( v == null ) {
+				continue;
+			}
+			size += switch (col.type()) {
+				case INT32 -> 4;
+				case INT64, DOUBLE -> 8;
+				case BYTE_ARRAY -> 4 + (v instanceof BigDecimal d
+						? d.unscaledValue().bitLength() / 8 + 1
+						: v.toString().length());
+			};
+			if ( size >= MAX_PAGE_SIZE ) {
+				return i + 1;
+			}
+		}
+		return end;
+	}
+
+	/**
+	 * Write a page.
+	 *
+	 * @return the total uncompressed and compressed sizes, including the page
+	 *         header
+	 */
+	private long[] writePage(int pageType, byte[] data, int valueCount, int encoding)
+			throws IOException {
+		byte[] body = data;
+		if ( compress ) {
+			ByteArrayOutputStream buf = new ByteArrayOutputStream(data.length / 2 + 64);
+			try (GZIPOutputStream gzip = new GZIPOutputStream(buf)) {
+				gzip.write(data);
+			}
+			body = buf.toByteArray();
+		}
+		CompactWriter h = new CompactWriter();
+		h.i32(1, pageType);
+		h.i32(2, data.length);
+		h.i32(3, body.length);
+		if ( pageType == PAGE_TYPE_DICTIONARY ) {
+			h.beginStruct(7);
+			h.i32(1, valueCount);
+			h.i32(2, encoding);
+			h.endStruct();
+		} else {
+			h.beginStruct(5);
+			h.i32(1, valueCount);
+			h.i32(2, encoding);
+			h.i32(3, ENCODING_RLE);
+			h.i32(4, ENCODING_RLE);
+			h.endStruct();
+		}
+		byte[] header = h.finish();
+		write(header);
+		write(body);
+		return new long[] { header.length + data.length, header.length + body.length };
+	}
+
+	private static void writePlain(ByteArrayOutputStream out, Column col, Object v) {
+		switch (col.type()) {
+			case INT32 -> out.writeBytes(intLE(((Number) v).intValue()));
+			case INT64 -> out.writeBytes(longLE(((Number) v).longValue()));
+			case DOUBLE -> out
+					.writeBytes(longLE(Double.doubleToLongBits(((Number) v).doubleValue())));
+			case BYTE_ARRAY -> {
+				byte[] s = (v instanceof BigDecimal d ? d.unscaledValue().toByteArray()
+						: v.toString().getBytes(UTF_8));
+				out.writeBytes(intLE(s.length));
+				out.writeBytes(s);
+			}
+		}
+	}
+
+	/**
+	 * Write values using the RLE part of the RLE/bit-packing hybrid encoding.
+	 */
+	private static void writeRleRuns(ByteArrayOutputStream out, int[] values, int count,
+			int bitWidth) {
+		final int byteWidth = (bitWidth + 7) / 8;
+		int i = 0;
+		while ( i < count ) {
+			final int v = values[i];
+			int j = i + 1;
+			while ( j < count && values[j] == v ) {
+				j++;
+			}
+			writeVarint(out, (long) (j - i) << 1);
+			for ( int b = 0; b < byteWidth; b++ ) {
+				out.write((v >>> (8 * b)) & 0xFF);
+			}
+			i = j;
+		}
+	}
+
+	private byte[] fileMetaData() {
+		CompactWriter w = new CompactWriter();
+		w.i32(1, 1);
+
+		// schema
+		w.beginList(2, CompactWriter.TYPE_STRUCT, columns.size() + 1);
+		w.beginElement();
+		w.string(4, "schema");
+		w.i32(5, columns.size());
+		w.endStruct();
+		for ( Column col : columns ) {
+			w.beginElement();
+			w.i32(1, col.type().code);
+			w.i32(3, col.required() ? REPETITION_REQUIRED : REPETITION_OPTIONAL);
+			w.string(4, col.name());
+			if ( col.convertedType() != ConvertedType.NONE ) {
+				w.i32(6, col.convertedType().code);
+			}
+			if ( col.convertedType() == ConvertedType.DECIMAL ) {
+				w.i32(7, col.scale());
+				w.i32(8, col.precision());
+			}
+			w.endStruct();
+		}
+
+		w.i64(3, rowCount);
+
+		// row groups
+		w.beginList(4, CompactWriter.TYPE_STRUCT, rowGroups.size());
+		for ( RowGroupMeta rg : rowGroups ) {
+			w.beginElement();
+			w.beginList(1, CompactWriter.TYPE_STRUCT, rg.chunks().size());
+			long totalSize = 0;
+			for ( ChunkMeta c : rg.chunks() ) {
+				totalSize += c.uncompressedSize();
+				columnChunk(w, c);
+			}
+			w.i64(2, totalSize);
+			w.i64(3, rg.rowCount());
+			if ( rg.sortColumn() >= 0 ) {
+				w.beginList(4, CompactWriter.TYPE_STRUCT, 1);
+				w.beginElement();
+				w.i32(1, rg.sortColumn());
+				w.bool(2, false);
+				w.bool(3, false);
+				w.endStruct();
+			}
+			w.endStruct();
+		}
+
+		w.string(6, "SolarNetwork");
+
+		// column orders, so readers can use the min and max statistics
+		w.beginList(7, CompactWriter.TYPE_STRUCT, columns.size());
+		for ( int i = 0, len = columns.size(); i < len; i++ ) {
+			w.beginElement();
+			w.beginStruct(1);
+			w.endStruct();
+			w.endStruct();
+		}
+		return w.finish();
+	}
+
+	private void columnChunk(CompactWriter w, ChunkMeta c) {
+		final Column col = c.column();
+		w.beginElement();
+		w.i64(2, c.dictionaryPageOffset() >= 0 ? c.dictionaryPageOffset() : c.dataPageOffset());
+		w.beginStruct(3);
+		w.i32(1, col.type().code);
+		if ( c.dictionaryPageOffset() >= 0 ) {
+			w.beginList(2, CompactWriter.TYPE_I32, 3);
+			w.listI32(ENCODING_PLAIN);
+			w.listI32(ENCODING_RLE);
+			w.listI32(ENCODING_RLE_DICTIONARY);
+		} else {
+			w.beginList(2, CompactWriter.TYPE_I32, 2);
+			w.listI32(ENCODING_PLAIN);
+			w.listI32(ENCODING_RLE);
+		}
+		w.beginList(3, CompactWriter.TYPE_BINARY, 1);
+		w.listString(col.name());
+		w.i32(4, compress ? CODEC_GZIP : CODEC_UNCOMPRESSED);
+		w.i64(5, c.valueCount());
+		w.i64(6, c.uncompressedSize());
+		w.i64(7, c.compressedSize());
+		w.i64(9, c.dataPageOffset());
+		if ( c.dictionaryPageOffset() >= 0 ) {
+			w.i64(11, c.dictionaryPageOffset());
+		}
+		w.beginStruct(12);
+		w.i64(3, c.nullCount());
+		final byte[] max = c.max();
+		final byte[] min = c.min();
+		if ( max != null && min != null ) {
+			w.binary(5, max);
+			w.binary(6, min);
+		}
+		w.endStruct();
+		w.endStruct();
+		w.endStruct();
+	}
+
+	private static byte[] intLE(int v) {
+		return new byte[] { (byte) v, (byte) (v >>> 8), (byte) (v >>> 16), (byte) (v >>> 24) };
+	}
+
+	private static byte[] longLE(long v) {
+		byte[] b = new byte[8];
+		for ( int i = 0; i < 8; i++ ) {
+			b[i] = (byte) (v >>> (8 * i));
+		}
+		return b;
+	}
+
+	private static void writeVarint(ByteArrayOutputStream out, long v) {
+		while ( (v & ~0x7FL) != 0 ) {
+			out.write((int) ((v & 0x7F) | 0x80));
+			v >>>= 7;
+		}
+		out.write((int) v);
+	}
+
+	/**
+	 * Encoder for the Thrift compact protocol, as used by Parquet metadata.
+	 */
+	private static final class CompactWriter {
+
+		private static final int TYPE_BOOLEAN_TRUE = 1;
+		private static final int TYPE_BOOLEAN_FALSE = 2;
+		private static final int TYPE_I32 = 5;
+		private static final int TYPE_I64 = 6;
+		private static final int TYPE_BINARY = 8;
+		private static final int TYPE_LIST = 9;
+		private static final int TYPE_STRUCT = 12;
+
+		private final ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+		private final int[] fieldStack = new int[16];
+		private int depth;
+		private int lastField;
+
+		private void fieldHeader(int type, int id) {
+			final int delta = id - lastField;
+			if ( delta > 0 && delta <= 15 ) {
+				out.write((delta << 4) | type);
+			} else {
+				out.write(type);
+				writeVarint(out, zigzag(id));
+			}
+			lastField = id;
+		}
+
+		private void i32(int id, int v) {
+			fieldHeader(TYPE_I32, id);
+			writeVarint(out, zigzag(v));
+		}
+
+		private void i64(int id, long v) {
+			fieldHeader(TYPE_I64, id);
+			writeVarint(out, zigzag(v));
+		}
+
+		private void bool(int id, boolean v) {
+			fieldHeader(v ? TYPE_BOOLEAN_TRUE : TYPE_BOOLEAN_FALSE, id);
+		}
+
+		private void binary(int id, byte[] v) {
+			fieldHeader(TYPE_BINARY, id);
+			writeVarint(out, v.length);
+			out.writeBytes(v);
+		}
+
+		private void string(int id, String v) {
+			binary(id, v.getBytes(UTF_8));
+		}
+
+		private void beginStruct(int id) {
+			fieldHeader(TYPE_STRUCT, id);
+			beginElement();
+		}
+
+		private void beginElement() {
+			fieldStack[depth++] = lastField;
+			lastField = 0;
+		}
+
+		private void endStruct() {
+			out.write(0);
+			lastField = fieldStack[--depth];
+		}
+
+		private void beginList(int id, int elementType, int size) {
+			fieldHeader(TYPE_LIST, id);
+			if ( size < 15 ) {
+				out.write((size << 4) | elementType);
+			} else {
+				out.write(0xF0 | elementType);
+				writeVarint(out, size);
+			}
+		}
+
+		private void listI32(int v) {
+			writeVarint(out, zigzag(v));
+		}
+
+		private void listString(String v) {
+			byte[] b = v.getBytes(UTF_8);
+			writeVarint(out, b.length);
+			out.writeBytes(b);
+		}
+
+		private byte[] finish() {
+			out.write(0);
+			return out.toByteArray();
+		}
+
+		private static long zigzag(int v) {
+			return ((v << 1) ^ (v >> 31)) & 0xFFFFFFFFL;
+		}
+
+		private static long zigzag(long v) {
+			return (v << 1) ^ (v >> 63);
+		}
+
+	}
+
+}
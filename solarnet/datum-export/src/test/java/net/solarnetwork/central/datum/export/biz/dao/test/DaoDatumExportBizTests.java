@@ -32,9 +32,11 @@ import static org.assertj.core.api.BDDAssertions.and;
 import static org.assertj.core.api.BDDAssertions.from;
 import static org.assertj.core.api.InstanceOfAssertFactories.map;
 import static org.assertj.core.api.InstanceOfAssertFactories.type;
+import static org.assertj.core.groups.Tuple.tuple;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.times;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
@@ -50,6 +52,7 @@ import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -61,9 +64,11 @@ import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.TaskScheduler;
 import org.springframework.util.FileCopyUtils;
 import net.solarnetwork.central.biz.InMemoryUserEventAppenderBiz;
+import net.solarnetwork.central.datum.biz.QueryAuditor;
 import net.solarnetwork.central.datum.domain.DatumFilterCommand;
 import net.solarnetwork.central.datum.domain.GeneralNodeDatumFilterMatch;
 import net.solarnetwork.central.datum.domain.GeneralNodeDatumMatch;
+import net.solarnetwork.central.datum.domain.GeneralNodeDatumPK;
 import net.solarnetwork.central.datum.export.biz.DatumExportOutputFormatService;
 import net.solarnetwork.central.datum.export.biz.DatumExportService;
 import net.solarnetwork.central.datum.export.biz.dao.DaoDatumExportBiz;
@@ -98,7 +103,7 @@ import net.solarnetwork.settings.support.BasicTextFieldSettingSpecifier;
  * Test cases for the {@link DaoDatumExportBiz} class.
  *
  * @author matt
- * @version 1.2
+ * @version 1.3
  */
 @SuppressWarnings("static-access")
 @ExtendWith(MockitoExtension.class)
@@ -115,9 +120,15 @@ public class DaoDatumExportBizTests implements DatumExportUserEvents {
 	@Mock
 	private TaskScheduler scheduler;
 
+	@Mock
+	private QueryAuditor queryAuditor;
+
 	@Captor
 	private ArgumentCaptor<ExportOptions> exportOptionsCaptor;
 
+	@Captor
+	private ArgumentCaptor<Map<GeneralNodeDatumPK, Integer>> auditCaptor;
+
 	private PrefixedTextEncryptor textEncryptor = PrefixedTextEncryptor.aesTextEncryptor(randomString(),
 			randomString());
 
@@ -371,4 +382,104 @@ public class DaoDatumExportBizTests implements DatumExportUserEvents {
 		thenStartEndEventsGenerated(req, 1L, Map.of(d.getSourceId(), 1L));
 	}
 
+	@Test
+	public void performExport_adhoc_partitioned() throws IOException {
+		// GIVEN
+		service.setPartitionCount(4);
+		service.setPartitionExecutor(new SimpleAsyncTaskExecutor());
+		service.setQueryAuditor(queryAuditor);
+
+		final Long nodeId = randomLong();
+		final DatumFilterCommand filter = new DatumFilterCommand();
+		filter.setNodeIds(new Long[] { nodeId });
+		filter.setLocalStartDate(LocalDateTime.of(2023, 1, 1, 0, 0));
+		filter.setLocalEndDate(LocalDateTime.of(2023, 1, 2, 0, 0));
+
+		final BasicDataConfiguration dataConf = new BasicDataConfiguration();
+		dataConf.setName(randomString());
+		dataConf.setServiceIdentifier(randomString());
+		dataConf.setDatumFilter(filter);
+
+		final BasicOutputConfiguration outputConf = new BasicOutputConfiguration();
+		outputConf.setName(randomString());
+		outputConf.setServiceIdentifier(csvOutput.getId());
+
+		final BasicDestinationConfiguration destConf = new BasicDestinationConfiguration();
+		destConf.setName(randomString());
+		destConf.setServiceIdentifier(destService.getId());
+
+		final BasicConfiguration conf = new BasicConfiguration(randomString(), ScheduleType.Adhoc, 0);
+		conf.setDataConfiguration(dataConf);
+		conf.setOutputConfiguration(outputConf);
+		conf.setDestinationConfiguration(destConf);
+
+		final Long userId = randomLong();
+		final DatumExportTaskInfo req = new DatumExportTaskInfo(randomUUID());
+		req.setUserId(userId);
+		req.setExportDate(Instant.now());
+		req.setConfig(conf);
+
+		// export two datum per partition, with a source ID unique to each partition
+		final AtomicInteger partitionCounter = new AtomicInteger();
+		given(datumDao.bulkExport(any(), any())).will(i -> {
+			ExportCallback<GeneralNodeDatumFilterMatch> cb = i.getArgument(0);
+			String sourceId = "s" + partitionCounter.incrementAndGet();
+			cb.didBegin(2L);
+			for ( int j = 0; j < 2; j++ ) {
+				GeneralNodeDatumMatch d = new GeneralNodeDatumMatch(nodeId,
+						Instant.now().truncatedTo(ChronoUnit.SECONDS), sourceId);
+				d.setSamples(new DatumSamples(singletonMap("a", j), null, null));
+				cb.handle(d);
+			}
+			return new BasicBulkExportResult(2);
+		});
+
+		// WHEN
+		DatumExportStatus result = service.performExport(req);
+
+		// THEN
+		// @formatter:off
+		and.then(result)
+			.as("Export completes")
+			.succeedsWithin(Duration.ofDays(1))
+			.as("Export was successfull")
+			.returns(true, from(DatumExportResult::isSuccess))
+			;
+
+		and.then(destService.exports)
+			.as("Resource exported for each partition")
+			.hasSize(4)
+			;
+
+		then(datumDao).should(times(4)).bulkExport(any(), exportOptionsCaptor.capture());
+		and.then(exportOptionsCaptor.getAllValues())
+			.as("Criteria for each partition provided")
+			.extracting(o -> (BasicDatumCriteria) o.getParameters().get("filter"))
+			.extracting(BasicDatumCriteria::getLocalStartDate, BasicDatumCriteria::getLocalEndDate)
+			.as("Time range split into equal partitions")
+			.containsExactlyInAnyOrder(
+					tuple(LocalDateTime.of(2023, 1, 1, 0, 0), LocalDateTime.of(2023, 1, 1, 6, 0)),
+					tuple(LocalDateTime.of(2023, 1, 1, 6, 0), LocalDateTime.of(2023, 1, 1, 12, 0)),
+					tuple(LocalDateTime.of(2023, 1, 1, 12, 0), LocalDateTime.of(2023, 1, 1, 18, 0)),
+					tuple(LocalDateTime.of(2023, 1, 1, 18, 0), LocalDateTime.of(2023, 1, 2, 0, 0))
+			)
+			;
+
+		then(queryAuditor).should(times(4)).addNodeDatumAuditResults(auditCaptor.capture());
+		and.then(auditCaptor.getAllValues())
+			.as("Audit counts aggregated and added once per partition")
+			.allSatisfy(m -> {
+				and.then(m)
+					.as("Single audit key for partition")
+					.hasSize(1)
+					.as("Count aggregated for partition datum")
+					.containsValue(2)
+					;
+			})
+			;
+		// @formatter:on
+
+		thenStartEndEventsGenerated(req, 8L, Map.of("s1", 2L, "s2", 2L, "s3", 2L, "s4", 2L));
+	}
+
 }
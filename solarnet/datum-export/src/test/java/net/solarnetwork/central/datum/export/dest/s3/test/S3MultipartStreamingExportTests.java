@@ -0,0 +1,227 @@
+/* ==================================================================
+ * S3MultipartStreamingExportTests.java - 17/10/2026 4:28:51 pm
+ *
+ * Copyright 2026 SolarNetwork.net Dev Team
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation; either version 2 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA
+ * 02111-1307 USA
+ * ==================================================================
+ */
+
+package net.solarnetwork.central.datum.export.dest.s3.test;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.assertj.core.api.BDDAssertions.and;
+import static org.assertj.core.groups.Tuple.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import net.solarnetwork.central.datum.export.biz.DatumExportService;
+import net.solarnetwork.central.datum.export.dest.s3.S3MultipartStreamingExport;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+
+/**
+ * Test cases for the {@link S3MultipartStreamingExport} class.
+ *
+ * @author matt
+ * @version 1.0
+ */
+@ExtendWith(MockitoExtension.class)
+public class S3MultipartStreamingExportTests {
+
+	private static final String TEST_BUCKET = "test-bucket";
+	private static final String TEST_KEY = "test/export.csv.gz";
+	private static final String TEST_CONTENT_TYPE = "application/gzip";
+	private static final String TEST_UPLOAD_ID = "test-upload-id";
+
+	@Mock
+	private DatumExportService service;
+
+	@Mock
+	private S3AsyncClient client;
+
+	@Captor
+	private ArgumentCaptor<PutObjectRequest> putObjectCaptor;
+
+	@Captor
+	private ArgumentCaptor<UploadPartRequest> uploadPartCaptor;
+
+	@Captor
+	private ArgumentCaptor<CompleteMultipartUploadRequest> completeCaptor;
+
+	@Captor
+	private ArgumentCaptor<AbortMultipartUploadRequest> abortCaptor;
+
+	private List<Double> progress;
+
+	@BeforeEach
+	public void setup() {
+		progress = new ArrayList<>(8);
+	}
+
+	private S3MultipartStreamingExport createExport() {
+		return new S3MultipartStreamingExport(service, client, TEST_BUCKET, TEST_KEY,
+				TEST_CONTENT_TYPE, null, 0, 2, (_, amountComplete) -> {
+					synchronized ( progress ) {
+						progress.add(amountComplete);
+					}
+				});
+	}
+
+	private void givenMultipartUpload() {
+		given(client.createMultipartUpload(any(CreateMultipartUploadRequest.class))).willReturn(
+				completedFuture(CreateMultipartUploadResponse.builder().uploadId(TEST_UPLOAD_ID).build()));
+		given(client.uploadPart(any(UploadPartRequest.class), any(AsyncRequestBody.class)))
+				.willAnswer(inv -> {
+					UploadPartRequest req = inv.getArgument(0);
+					return completedFuture(
+							UploadPartResponse.builder().eTag("etag-" + req.partNumber()).build());
+				});
+	}
+
+	@Test
+	public void smallObject() throws IOException {
+		// GIVEN
+		given(client.putObject(any(PutObjectRequest.class), any(AsyncRequestBody.class)))
+				.willReturn(completedFuture(PutObjectResponse.builder().build()));
+
+		// WHEN
+		try (S3MultipartStreamingExport export = createExport()) {
+			OutputStream out = export.getOutputStream();
+			out.write(new byte[100]);
+			export.finish();
+		}
+
+		// THEN
+		then(client).should(never()).createMultipartUpload(any(CreateMultipartUploadRequest.class));
+		then(client).should().putObject(putObjectCaptor.capture(), any(AsyncRequestBody.class));
+		and.then(putObjectCaptor.getValue())
+			.as("Bucket provided")
+			.returns(TEST_BUCKET, PutObjectRequest::bucket)
+			.as("Key provided")
+			.returns(TEST_KEY, PutObjectRequest::key)
+			.as("Content type provided")
+			.returns(TEST_CONTENT_TYPE, PutObjectRequest::contentType)
+			.as("Content length is bytes written")
+			.returns(100L, PutObjectRequest::contentLength)
+			;
+		and.then(progress).as("Upload complete progress provided").containsExactly(1.0);
+		then(client).should().close();
+	}
+
+	@Test
+	public void multipart() throws IOException {
+		// GIVEN
+		givenMultipartUpload();
+		given(client.completeMultipartUpload(any(CompleteMultipartUploadRequest.class)))
+				.willReturn(completedFuture(CompleteMultipartUploadResponse.builder().build()));
+
+		final int partSize = S3MultipartStreamingExport.MIN_PART_SIZE;
+
+		// WHEN
+		try (S3MultipartStreamingExport export = createExport()) {
+			OutputStream out = export.getOutputStream();
+			byte[] chunk = new byte[64 * 1024];
+			long remaining = partSize * 2L + 10;
+			while ( remaining > 0 ) {
+				int len = (int) Math.min(chunk.length, remaining);
+				out.write(chunk, 0, len);
+				remaining -= len;
+			}
+			export.finish();
+		}
+
+		// THEN
+		then(client).should(never()).putObject(any(PutObjectRequest.class),
+				any(AsyncRequestBody.class));
+		then(client).should(times(3)).uploadPart(uploadPartCaptor.capture(),
+				any(AsyncRequestBody.class));
+		and.then(uploadPartCaptor.getAllValues())
+			.as("Parts uploaded in order")
+			.extracting(UploadPartRequest::partNumber)
+			.containsExactly(1, 2, 3)
+			;
+		and.then(uploadPartCaptor.getAllValues())
+			.as("Part sizes split at part size")
+			.extracting(UploadPartRequest::contentLength)
+			.containsExactly((long) partSize, (long) partSize, 10L)
+			;
+
+		then(client).should().completeMultipartUpload(completeCaptor.capture());
+		and.then(completeCaptor.getValue())
+			.as("Upload ID provided")
+			.returns(TEST_UPLOAD_ID, CompleteMultipartUploadRequest::uploadId)
+			;
+		and.then(completeCaptor.getValue().multipartUpload().parts())
+			.as("Completed parts provided with ETags")
+			.extracting(CompletedPart::partNumber, CompletedPart::eTag)
+			.containsExactly(tuple(1, "etag-1"), tuple(2, "etag-2"), tuple(3, "etag-3"))
+			;
+		and.then(progress).as("Progress provided for each part").hasSize(3).last().isEqualTo(1.0);
+
+		then(client).should(never()).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+		then(client).should().close();
+	}
+
+	@Test
+	public void abortWhenNotFinished() throws IOException {
+		// GIVEN
+		givenMultipartUpload();
+		given(client.abortMultipartUpload(any(AbortMultipartUploadRequest.class)))
+				.willReturn(completedFuture(AbortMultipartUploadResponse.builder().build()));
+
+		// WHEN
+		try (S3MultipartStreamingExport export = createExport()) {
+			OutputStream out = export.getOutputStream();
+			out.write(new byte[S3MultipartStreamingExport.MIN_PART_SIZE + 1]);
+		}
+
+		// THEN
+		then(client).should(never())
+				.completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+		then(client).should().abortMultipartUpload(abortCaptor.capture());
+		and.then(abortCaptor.getValue())
+			.as("Upload ID provided")
+			.returns(TEST_UPLOAD_ID, AbortMultipartUploadRequest::uploadId)
+			;
+		then(client).should().close();
+	}
+
+}
@@ -29,9 +29,13 @@ import static org.assertj.core.api.InstanceOfAssertFactories.type;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.endsWith;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.emptyIterable;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.Matchers.sameInstance;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStreamReader;
@@ -66,7 +70,7 @@ import net.solarnetwork.service.ProgressListener;
  * Test cases for the {@link CsvDatumExportOutputFormatService} class.
  *
  * @author matt
- * @version 2.0
+ * @version 2.1
  */
 public class CsvDatumExportOutputFormatServiceTests {
 
@@ -500,4 +504,77 @@ public class CsvDatumExportOutputFormatServiceTests {
 		assertThat("Generated CSV", csv, equalTo(buf.toString()));
 	}
 
+	@Test
+	public void exportStreaming_withHeader() {
+		// given
+		CsvDatumExportOutputFormatService service = new CsvDatumExportOutputFormatService();
+		BasicOutputConfiguration config = new BasicOutputConfiguration();
+		config.setCompressionType(OutputCompressionType.GZIP);
+
+		// when
+		DatumExportOutputFormatService.ExportContext context = service
+				.createStreamingExportContext(config, new ByteArrayOutputStream());
+
+		// then
+		assertThat("Streaming not supported when header included", context, nullValue());
+	}
+
+	@Test
+	public void exportStreamingGzipNoHeader() throws IOException {
+		// given
+		CsvDatumExportOutputFormatService service = new CsvDatumExportOutputFormatService();
+		BasicOutputConfiguration config = new BasicOutputConfiguration();
+		config.setCompressionType(OutputCompressionType.GZIP);
+		config.setServiceProps(Map.of("includeHeader", "false"));
+
+		List<GeneralNodeDatumFilterMatch> data = new ArrayList<>(100);
+		Instant start = LocalDateTime.of(2018, 4, 23, 11, 19).atZone(ZoneOffset.UTC).toInstant();
+		for ( int i = 0; i < 100; i++ ) {
+			GeneralNodeDatumMatch d1 = new GeneralNodeDatumMatch(TEST_NODE_ID,
+					start.plus(i, ChronoUnit.MINUTES), TEST_SOURCE_ID);
+			d1.setLocalDateTime(d1.getCreated().atZone(ZoneOffset.UTC).toLocalDateTime());
+			d1.setSampleJson("{\"i\":{\"watts\":123.456}}");
+			data.add(d1);
+		}
+
+		List<Double> progress = new ArrayList<>(4);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+		// when
+		Iterable<DatumExportResource> results = null;
+		try (DatumExportOutputFormatService.ExportContext context = service
+				.createStreamingExportContext(config, out)) {
+			assertThat("Streaming context created", context, notNullValue());
+
+			context.start(100);
+			context.appendDatumMatch(data, (ctx, amountComplete) -> {
+				assertThat("Same context", ctx, sameInstance(service));
+				progress.add(amountComplete);
+			});
+			results = context.finish();
+		}
+
+		// then
+		assertThat("No resources created when streaming", results, emptyIterable());
+		assertThat("Progress provided", progress, hasSize(100));
+
+		String csv = FileCopyUtils.copyToString(new InputStreamReader(
+				new GZIPInputStream(new ByteArrayInputStream(out.toByteArray())), UTF_8));
+
+		StringBuilder buf = new StringBuilder();
+		DateTimeFormatter tsFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'hh:mm:ss.SSS'Z'")
+				.withZone(ZoneOffset.UTC);
+		DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd")
+				.withZone(ZoneOffset.UTC);
+		DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("hh:mm:ss.SSS")
+				.withZone(ZoneOffset.UTC);
+		for ( int i = 0; i < 100; i++ ) {
+			Instant date = start.plus(i, ChronoUnit.MINUTES);
+			buf.append(String.format("%s,-1,test.source,%s,%s,123.456\r\n", tsFormatter.format(date),
+					dateFormatter.format(date), timeFormatter.format(date)));
+		}
+
+		assertThat("Streamed CSV", csv, equalTo(buf.toString()));
+	}
+
 }
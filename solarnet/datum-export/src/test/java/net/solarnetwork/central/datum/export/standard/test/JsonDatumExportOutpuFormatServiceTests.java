@@ -26,9 +26,12 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.endsWith;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.emptyIterable;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.sameInstance;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStreamReader;
@@ -61,7 +64,7 @@ import net.solarnetwork.service.ProgressListener;
  * Test cases for the {@link JsonDatumExportOutputFormatService} class.
  *
  * @author matt
- * @version 2.0
+ * @version 2.1
  */
 public class JsonDatumExportOutpuFormatServiceTests {
 
@@ -203,4 +206,67 @@ public class JsonDatumExportOutpuFormatServiceTests {
 		assertThat("Generated JSON", json, equalTo(buf.toString()));
 	}
 
+	@Test
+	public void exportStreaming() throws IOException {
+		// given
+		JsonDatumExportOutputFormatService service = new JsonDatumExportOutputFormatService();
+		BasicOutputConfiguration config = new BasicOutputConfiguration();
+		config.setCompressionType(OutputCompressionType.GZIP);
+
+		final int count = 10;
+		List<GeneralNodeDatumFilterMatch> data = new ArrayList<>(count);
+		ZonedDateTime start = LocalDateTime.of(2018, 4, 23, 11, 19).atZone(ZoneOffset.UTC);
+		for ( int i = 0; i < count; i++ ) {
+			GeneralNodeDatumMatch d1 = new GeneralNodeDatumMatch(TEST_NODE_ID,
+					start.plusMinutes(i).toInstant(), TEST_SOURCE_ID);
+			d1.setLocalDateTime(d1.getCreated().atZone(ZoneOffset.UTC).toLocalDateTime());
+			d1.setSampleJson("{\"i\":{\"watts\":123.456}}");
+			data.add(d1);
+		}
+
+		List<Double> progress = new ArrayList<>(4);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+		// when
+		Iterable<DatumExportResource> results = null;
+		try (DatumExportOutputFormatService.ExportContext context = service
+				.createStreamingExportContext(config, out)) {
+			assertThat("Streaming context created", context, notNullValue());
+
+			context.start(count);
+			context.appendDatumMatch(data, (ctx, amountComplete) -> {
+				assertThat("Same context", ctx, sameInstance(service));
+				progress.add(amountComplete);
+			});
+			results = context.finish();
+		}
+
+		// then
+		assertThat("No resources created when streaming", results, emptyIterable());
+		assertThat("Progress provided", progress, hasSize(count));
+
+		String json = FileCopyUtils.copyToString(new InputStreamReader(
+				new GZIPInputStream(new ByteArrayInputStream(out.toByteArray())), UTF_8));
+
+		StringBuilder buf = new StringBuilder("[");
+		DateTimeFormatter tsFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd hh:mm:ss'Z'")
+				.withZone(ZoneOffset.UTC);
+		DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd")
+				.withZone(ZoneOffset.UTC);
+		DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("hh:mm").withZone(ZoneOffset.UTC);
+		for ( int i = 0; i < count; i++ ) {
+			ZonedDateTime date = start.plus(i, ChronoUnit.MINUTES);
+			if ( i > 0 ) {
+				buf.append(",");
+			}
+			buf.append(String.format(
+					"{\"created\":\"%s\",\"nodeId\":-1,\"sourceId\":\"test.source\""
+							+ ",\"localDate\":\"%s\",\"localTime\":\"%s\",\"watts\":123.456}",
+					tsFormatter.format(date), dateFormatter.format(date), timeFormatter.format(date)));
+		}
+		buf.append("]");
+
+		assertThat("Streamed JSON", json, equalTo(buf.toString()));
+	}
+
 }
@@ -0,0 +1,647 @@
+/* ==================================================================
+ * ParquetDatumExportOutputFormatServiceTests.java - 17/10/2026 6:24:13 pm
+ *
+ * Copyright 2026 SolarNetwork.net Dev Team
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation; either version 2 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA
+ * 02111-1307 USA
+ * ==================================================================
+ */
+
+package net.solarnetwork.central.datum.export.standard.test;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.BDDAssertions.and;
+import static org.assertj.core.api.InstanceOfAssertFactories.type;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.column.page.PageReader;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.example.data.simple.convert.GroupRecordConverter;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.io.ColumnIOFactory;
+import org.apache.parquet.io.LocalInputFile;
+import org.apache.parquet.io.MessageColumnIO;
+import org.apache.parquet.io.RecordReader;
+import org.apache.parquet.schema.ColumnOrder;
+import org.apache.parquet.schema.LogicalTypeAnnotation;
+import org.apache.parquet.schema.LogicalTypeAnnotation.TimeUnit;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
+import org.apache.parquet.schema.Type;
+import org.apache.parquet.schema.Type.Repetition;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.FileCopyUtils;
+import net.solarnetwork.central.datum.domain.GeneralNodeDatumFilterMatch;
+import net.solarnetwork.central.datum.domain.GeneralNodeDatumMatch;
+import net.solarnetwork.central.datum.export.biz.DatumExportOutputFormatService;
+import net.solarnetwork.central.datum.export.domain.BasicDatumExportResource;
+import net.solarnetwork.central.datum.export.domain.BasicOutputConfiguration;
+import net.solarnetwork.central.datum.export.domain.DatumExportResource;
+import net.solarnetwork.central.datum.export.domain.OutputCompressionType;
+import net.solarnetwork.central.datum.export.standard.ParquetDatumExportOutputFormatService;
+import net.solarnetwork.domain.datum.DatumSamples;
+
+/**
+ * Test cases for the {@link ParquetDatumExportOutputFormatService} class.
+ *
+ * @author matt
+ * @version 1.1
+ */
+public class ParquetDatumExportOutputFormatServiceTests {
+
+	private static final Long TEST_NODE_ID = -1L;
+	private static final String TEST_SOURCE_ID = "test.source";
+	private static final String TEST_SOURCE_ID_2 = "test.source.2";
+
+	private static final Instant TEST_START = LocalDateTime.of(2018, 4, 23, 11, 19)
+			.atZone(ZoneOffset.UTC).toInstant();
+
+	private static List<GeneralNodeDatumFilterMatch> testData(int count) {
+		List<GeneralNodeDatumFilterMatch> data = new ArrayList<>(count);
+		for ( int i = count - 1; i >= 0; i-- ) {
+			GeneralNodeDatumMatch d = new GeneralNodeDatumMatch(TEST_NODE_ID,
+					TEST_START.plus(i, ChronoUnit.MINUTES),
+					(i % 2 == 0 ? TEST_SOURCE_ID : TEST_SOURCE_ID_2));
+			d.setLocalDateTime(d.getCreated().atZone(ZoneOffset.UTC).toLocalDateTime());
+			d.setSampleJson("{\"i\":{\"watts\":%d},\"s\":{\"status\":\"ok\"}}".formatted(i));
+			data.add(d);
+		}
+		return data;
+	}
+
+	/**
+	 * Create test data with optional properties.
+	 *
+	 * <p>
+	 * Every third datum has no {@code status} property, and only the first 3
+	 * datum have a {@code voltage} property. The datum are returned in reverse
+	 * time order, so {@code voltage} is only seen after other rows have been
+	 * processed.
+	 * </p>
+	 */
+	private static List<GeneralNodeDatumFilterMatch> sparseTestData(int count) {
+		List<GeneralNodeDatumFilterMatch> data = new ArrayList<>(count);
+		for ( int i = count - 1; i >= 0; i-- ) {
+			GeneralNodeDatumMatch d = new GeneralNodeDatumMatch(TEST_NODE_ID,
+					TEST_START.plus(i, ChronoUnit.MINUTES),
+					(i % 2 == 0 ? TEST_SOURCE_ID : TEST_SOURCE_ID_2));
+			d.setLocalDateTime(d.getCreated().atZone(ZoneOffset.UTC).toLocalDateTime());
+			d.setSampleJson("{\"i\":{\"watts\":%d%s}%s}".formatted(i,
+					(i < 3 ? ",\"voltage\":%d".formatted(240 + i) : ""),
+					(i % 3 == 0 ? "" : ",\"s\":{\"status\":\"s%d\"}".formatted(i % 2))));
+			data.add(d);
+		}
+		return data;
+	}
+
+	/**
+	 * Create test data with mixed property value types.
+	 *
+	 * <p>
+	 * The {@code energy} property has decimal values with a scale of 2, except
+	 * datum 6 that has a scale of 3. The {@code temp} property has floating
+	 * point values. The {@code mode} property has integer values, except datum
+	 * 5 that has a string value.
+	 * </p>
+	 */
+	private static List<GeneralNodeDatumFilterMatch> typedTestData(int count) {
+		List<GeneralNodeDatumFilterMatch> data = new ArrayList<>(count);
+		for ( int i = 0; i < count; i++ ) {
+			GeneralNodeDatumMatch d = new GeneralNodeDatumMatch(TEST_NODE_ID,
+					TEST_START.plus(i, ChronoUnit.MINUTES), TEST_SOURCE_ID);
+			d.setLocalDateTime(d.getCreated().atZone(ZoneOffset.UTC).toLocalDateTime());
+			DatumSamples s = new DatumSamples();
+			s.putInstantaneousSampleValue("energy",
+					i == 6 ? new BigDecimal("7.123") : BigDecimal.valueOf(125L * i, 2));
+			s.putAccumulatingSampleValue("temp", i + 0.5);
+			s.putStatusSampleValue("mode", i == 5 ? "auto" : i);
+			d.setSamples(s);
+			data.add(d);
+		}
+		return data;
+	}
+
+	private record ParquetContent(MessageType schema, long rowCount, List<Group> rows) {
+
+	}
+
+	/**
+	 * Count the data pages of a column in the first row group of a Parquet
+	 * file.
+	 */
+	private static int dataPageCount(Path path, String column) throws IOException {
+		try (ParquetFileReader reader = ParquetFileReader.open(new LocalInputFile(path))) {
+			final MessageType schema = reader.getFooter().getFileMetaData().getSchema();
+			final PageReadStore rowGroup = reader.readNextRowGroup();
+			final PageReader pages = rowGroup
+					.getPageReader(schema.getColumnDescription(new String[] { column }));
+			int count = 0;
+			while ( pages.readPage() != null ) {
+				count++;
+			}
+			return count;
+		}
+	}
+
+	/**
+	 * Read a Parquet file with the Apache Parquet reader.
+	 */
+	private static ParquetContent readParquet(Path path) throws IOException {
+		try (ParquetFileReader reader = ParquetFileReader.open(new LocalInputFile(path))) {
+			final MessageType schema = reader.getFooter().getFileMetaData().getSchema();
+			final MessageColumnIO columnIO = new ColumnIOFactory().getColumnIO(schema);
+			final List<Group> rows = new ArrayList<>();
+			PageReadStore rowGroup;
+			while ( (rowGroup = reader.readNextRowGroup()) != null ) {
+				RecordReader<Group> recordReader = columnIO.getRecordReader(rowGroup,
+						new GroupRecordConverter(schema));
+				for ( long i = 0, len = rowGroup.getRowCount(); i < len; i++ ) {
+					rows.add(recordReader.read());
+				}
+			}
+			return new ParquetContent(schema, reader.getRecordCount(), rows);
+		}
+	}
+
+	private static void thenColumn(MessageType schema, String name, PrimitiveTypeName type,
+			LogicalTypeAnnotation logicalType, Repetition repetition) {
+		final Type col = schema.getType(name);
+		// @formatter:off
+		and.then(col.isPrimitive())
+			.as("Column %s is primitive", name)
+			.isTrue()
+			;
+		and.then(col.asPrimitiveType().getPrimitiveTypeName())
+			.as("Column %s type", name)
+			.isEqualTo(type)
+			;
+		and.then(col.getLogicalTypeAnnotation())
+			.as("Column %s logical type", name)
+			.isEqualTo(logicalType)
+			;
+		and.then(col.getRepetition())
+			.as("Column %s repetition", name)
+			.isEqualTo(repetition)
+			;
+		// @formatter:on
+	}
+
+	private static void thenParquetFile(byte[] data) {
+		// @formatter:off
+		and.then(data)
+			.as("File has content")
+			.hasSizeGreaterThan(12)
+			;
+		and.then(new String(data, 0, 4, US_ASCII))
+			.as("File starts with Parquet magic")
+			.isEqualTo("PAR1")
+			;
+		and.then(new String(data, data.length - 4, 4, US_ASCII))
+			.as("File ends with Parquet magic")
+			.isEqualTo("PAR1")
+			;
+		final int footerLength = ByteBuffer.wrap(data, data.length - 8, 4)
+				.order(ByteOrder.LITTLE_ENDIAN).getInt();
+		and.then(footerLength)
+			.as("Footer length fits within file")
+			.isPositive()
+			.isLessThan(data.length - 12)
+			;
+		// @formatter:on
+	}
+
+	private static int indexOf(byte[] data, byte[] search) {
+		outer: for ( int i = 0, len = data.length - search.length; i <= len; i++ ) {
+			for ( int j = 0; j < search.length; j++ ) {
+				if ( data[i + j] != search[j] ) {
+					continue outer;
+				}
+			}
+			return i;
+		}
+		return -1;
+	}
+
+	@Test
+	public void export() throws IOException {
+		// GIVEN
+		ParquetDatumExportOutputFormatService service = new ParquetDatumExportOutputFormatService();
+		BasicOutputConfiguration config = new BasicOutputConfiguration();
+		config.setCompressionType(OutputCompressionType.None);
+		config.setServiceProps(Map.of("compressPages", "false"));
+
+		List<GeneralNodeDatumFilterMatch> data = testData(10);
+		List<Double> progress = new ArrayList<>(10);
+
+		// WHEN
+		Iterable<DatumExportResource> results = null;
+		try (DatumExportOutputFormatService.ExportContext context = service
+				.createExportContext(config)) {
+			context.start(data.size());
+			context.appendDatumMatch(data, (_, amountComplete) -> progress.add(amountComplete));
+			results = context.finish();
+		}
+
+		// THEN
+		// @formatter:off
+		and.then(progress)
+			.as("Progress provided for each datum")
+			.hasSize(data.size())
+			.last()
+			.isEqualTo(1.0)
+			;
+
+		and.then(results)
+			.as("Generated one resource")
+			.hasSize(1)
+			.element(0, type(BasicDatumExportResource.class))
+			.satisfies(r -> {
+				and.then(r.getContentType())
+					.as("Resource has Parquet content type")
+					.isEqualTo(service.getExportContentType())
+					;
+				and.then(r.getDelegate().getFile())
+					.as("Temp file has Parquet extension")
+					.hasExtension("parquet")
+					;
+
+				final byte[] parquet = FileCopyUtils.copyToByteArray(r.getInputStream());
+				thenParquetFile(parquet);
+
+				final int source1 = indexOf(parquet, TEST_SOURCE_ID.getBytes(UTF_8));
+				final int source2 = indexOf(parquet, TEST_SOURCE_ID_2.getBytes(UTF_8));
+				and.then(source1)
+					.as("Uncompressed source ID dictionary value present")
+					.isPositive()
+					;
+				and.then(source2)
+					.as("Uncompressed source ID dictionary value present")
+					.isPositive()
+					;
+				and.then(source1)
+					.as("Dictionary ordered by time-sorted rows (earliest datum uses first source ID)")
+					.isLessThan(source2)
+					;
+				and.then(indexOf(parquet, "watts".getBytes(UTF_8)))
+					.as("Property column present in schema")
+					.isPositive()
+					;
+			})
+			;
+		// @formatter:on
+	}
+
+	@Test
+	public void export_compressedPages() throws IOException {
+		// GIVEN
+		ParquetDatumExportOutputFormatService service = new ParquetDatumExportOutputFormatService();
+		service.setRowGroupSize(4);
+		BasicOutputConfiguration config = new BasicOutputConfiguration();
+		config.setCompressionType(OutputCompressionType.None);
+
+		List<GeneralNodeDatumFilterMatch> data = testData(10);
+
+		// WHEN
+		Iterable<DatumExportResource> results = null;
+		try (DatumExportOutputFormatService.ExportContext context = service
+				.createExportContext(config)) {
+			context.start(data.size());
+			context.appendDatumMatch(data, null);
+			results = context.finish();
+		}
+
+		// THEN
+		// @formatter:off
+		and.then(results)
+			.as("Generated one resource")
+			.hasSize(1)
+			.element(0)
+			.satisfies(r -> {
+				final byte[] parquet = FileCopyUtils.copyToByteArray(r.getInputStream());
+				thenParquetFile(parquet);
+			})
+			;
+		// @formatter:on
+	}
+
+	@Test
+	public void export_readBack() throws IOException {
+		// GIVEN
+		ParquetDatumExportOutputFormatService service = new ParquetDatumExportOutputFormatService();
+		service.setRowGroupSize(4);
+		BasicOutputConfiguration config = new BasicOutputConfiguration();
+		config.setCompressionType(OutputCompressionType.None);
+
+		final int count = 10;
+		List<GeneralNodeDatumFilterMatch> data = sparseTestData(count);
+
+		// WHEN
+		Iterable<DatumExportResource> results = null;
+		try (DatumExportOutputFormatService.ExportContext context = service
+				.createExportContext(config)) {
+			context.start(data.size());
+			context.appendDatumMatch(data, null);
+			results = context.finish();
+		}
+
+		// THEN
+		and.then(results).as("Generated one resource").hasSize(1);
+		final BasicDatumExportResource r = (BasicDatumExportResource) results.iterator().next();
+		final ParquetContent parquet = readParquet(r.getDelegate().getFile().toPath());
+
+		// @formatter:off
+		and.then(parquet.schema().getFields())
+			.as("Schema has core columns followed by property columns in order first seen")
+			.extracting(Type::getName)
+			.containsExactly("created", "nodeId", "sourceId", "localDate", "localTime",
+					"watts", "status", "voltage")
+			;
+		// @formatter:on
+		final MessageType schema = parquet.schema();
+		thenColumn(schema, "created", PrimitiveTypeName.INT64,
+				LogicalTypeAnnotation.timestampType(true, TimeUnit.MILLIS), Repetition.REQUIRED);
+		thenColumn(schema, "nodeId", PrimitiveTypeName.INT64, null, Repetition.REQUIRED);
+		thenColumn(schema, "sourceId", PrimitiveTypeName.BINARY, LogicalTypeAnnotation.stringType(),
+				Repetition.REQUIRED);
+		thenColumn(schema, "localDate", PrimitiveTypeName.INT32, LogicalTypeAnnotation.dateType(),
+				Repetition.OPTIONAL);
+		thenColumn(schema, "localTime", PrimitiveTypeName.INT32,
+				LogicalTypeAnnotation.timeType(true, TimeUnit.MILLIS), Repetition.OPTIONAL);
+		thenColumn(schema, "watts", PrimitiveTypeName.INT64, null, Repetition.OPTIONAL);
+		thenColumn(schema, "status", PrimitiveTypeName.BINARY, LogicalTypeAnnotation.stringType(),
+				Repetition.OPTIONAL);
+		thenColumn(schema, "voltage", PrimitiveTypeName.INT64, null, Repetition.OPTIONAL);
+
+		// @formatter:off
+		and.then(parquet.rowCount())
+			.as("File row count matches datum count")
+			.isEqualTo(count)
+			;
+		and.then(parquet.rows())
+			.as("Read all rows")
+			.hasSize(count)
+			;
+		// @formatter:on
+
+		final List<Group> rows = new ArrayList<>(parquet.rows());
+		rows.sort(Comparator.comparingLong(g -> g.getLong("created", 0)));
+		for ( int i = 0; i < count; i++ ) {
+			final Group row = rows.get(i);
+			final Instant created = TEST_START.plus(i, ChronoUnit.MINUTES);
+			// @formatter:off
+			and.then(row.getLong("created", 0))
+				.as("Row %d created", i)
+				.isEqualTo(created.toEpochMilli())
+				;
+			and.then(row.getLong("nodeId", 0))
+				.as("Row %d node ID", i)
+				.isEqualTo(TEST_NODE_ID)
+				;
+			and.then(row.getString("sourceId", 0))
+				.as("Row %d source ID", i)
+				.isEqualTo(i % 2 == 0 ? TEST_SOURCE_ID : TEST_SOURCE_ID_2)
+				;
+			and.then(row.getInteger("localDate", 0))
+				.as("Row %d local date", i)
+				.isEqualTo((int) created.atZone(ZoneOffset.UTC).toLocalDate().toEpochDay())
+				;
+			and.then(row.getInteger("localTime", 0))
+				.as("Row %d local time", i)
+				.isEqualTo(created.atZone(ZoneOffset.UTC).toLocalTime().toSecondOfDay() * 1000)
+				;
+			and.then(row.getLong("watts", 0))
+				.as("Row %d watts", i)
+				.isEqualTo(i)
+				;
+			if ( i % 3 == 0 ) {
+				and.then(row.getFieldRepetitionCount("status"))
+					.as("Row %d status is null", i)
+					.isZero()
+					;
+			} else {
+				and.then(row.getString("status", 0))
+					.as("Row %d status", i)
+					.isEqualTo("s%d".formatted(i % 2))
+					;
+			}
+			if ( i < 3 ) {
+				and.then(row.getLong("voltage", 0))
+					.as("Row %d voltage", i)
+					.isEqualTo(240 + i)
+					;
+			} else {
+				and.then(row.getFieldRepetitionCount("voltage"))
+					.as("Row %d voltage is null (including row groups written before column added)", i)
+					.isZero()
+					;
+			}
+			// @formatter:on
+		}
+	}
+
+	@Test
+	public void exportStreaming() throws IOException {
+		// GIVEN
+		ParquetDatumExportOutputFormatService service = new ParquetDatumExportOutputFormatService();
+		BasicOutputConfiguration config = new BasicOutputConfiguration();
+		config.setCompressionType(OutputCompressionType.None);
+
+		List<GeneralNodeDatumFilterMatch> data = testData(5);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+		// WHEN
+		Iterable<DatumExportResource> results = null;
+		try (DatumExportOutputFormatService.ExportContext context = service
+				.createStreamingExportContext(config, out)) {
+			and.then(context).as("Streaming context created").isNotNull();
+			context.start(data.size());
+			context.appendDatumMatch(data, null);
+			results = context.finish();
+		}
+
+		// THEN
+		// @formatter:off
+		and.then(results)
+			.as("No resources created when streaming")
+			.isEmpty()
+			;
+		// @formatter:on
+		thenParquetFile(out.toByteArray());
+		and.then(Arrays.copyOf(out.toByteArray(), 4)).as("Streamed Parquet magic")
+				.isEqualTo("PAR1".getBytes(US_ASCII));
+	}
+
+	private static Path export(ParquetDatumExportOutputFormatService service,
+			List<GeneralNodeDatumFilterMatch> data) throws IOException {
+		BasicOutputConfiguration config = new BasicOutputConfiguration();
+		config.setCompressionType(OutputCompressionType.None);
+		Iterable<DatumExportResource> results = null;
+		try (DatumExportOutputFormatService.ExportContext context = service
+				.createExportContext(config)) {
+			context.start(data.size());
+			context.appendDatumMatch(data, null);
+			results = context.finish();
+		}
+		and.then(results).as("Generated one resource").hasSize(1);
+		return ((BasicDatumExportResource) results.iterator().next()).getDelegate().getFile()
+				.toPath();
+	}
+
+	@Test
+	public void export_readBack_propertyTypes() throws IOException {
+		// GIVEN
+		ParquetDatumExportOutputFormatService service = new ParquetDatumExportOutputFormatService();
+		service.setRowGroupSize(4);
+
+		final int count = 8;
+		List<GeneralNodeDatumFilterMatch> data = typedTestData(count);
+
+		// WHEN
+		final ParquetContent parquet = readParquet(export(service, data));
+
+		// THEN
+		final MessageType schema = parquet.schema();
+		// @formatter:off
+		and.then(schema.getFields())
+			.as("Schema has string companion columns for values that do not fit the property type")
+			.extracting(Type::getName)
+			.containsExactly("created", "nodeId", "sourceId", "localDate", "localTime",
+					"energy", "temp", "mode", "mode_text", "energy_text")
+			;
+		and.then(schema.getColumns())
+			.as("Every column declares the type defined sort order")
+			.allSatisfy(c -> and.then(c.getPrimitiveType().columnOrder())
+					.isEqualTo(ColumnOrder.typeDefined()))
+			;
+		// @formatter:on
+		thenColumn(schema, "energy", PrimitiveTypeName.BINARY,
+				LogicalTypeAnnotation.decimalType(2, 38), Repetition.OPTIONAL);
+		thenColumn(schema, "temp", PrimitiveTypeName.DOUBLE, null, Repetition.OPTIONAL);
+		thenColumn(schema, "mode", PrimitiveTypeName.INT64, null, Repetition.OPTIONAL);
+		thenColumn(schema, "mode_text", PrimitiveTypeName.BINARY,
+				LogicalTypeAnnotation.stringType(), Repetition.OPTIONAL);
+		thenColumn(schema, "energy_text", PrimitiveTypeName.BINARY,
+				LogicalTypeAnnotation.stringType(), Repetition.OPTIONAL);
+
+		and.then(parquet.rows()).as("Read all rows").hasSize(count);
+		final List<Group> rows = new ArrayList<>(parquet.rows());
+		rows.sort(Comparator.comparingLong(g -> g.getLong("created", 0)));
+		for ( int i = 0; i < count; i++ ) {
+			final Group row = rows.get(i);
+			// @formatter:off
+			if ( i == 6 ) {
+				and.then(row.getFieldRepetitionCount("energy"))
+					.as("Row %d energy with larger scale not in decimal column", i)
+					.isZero()
+					;
+				and.then(row.getString("energy_text", 0))
+					.as("Row %d energy with larger scale in string column", i)
+					.isEqualTo("7.123")
+					;
+			} else {
+				and.then(new BigDecimal(new BigInteger(row.getBinary("energy", 0).getBytes()), 2))
+					.as("Row %d energy decimal value is exact", i)
+					.isEqualTo(BigDecimal.valueOf(125L * i, 2))
+					;
+				and.then(row.getFieldRepetitionCount("energy_text"))
+					.as("Row %d energy string is null", i)
+					.isZero()
+					;
+			}
+			and.then(row.getDouble("temp", 0))
+				.as("Row %d temp", i)
+				.isEqualTo(i + 0.5)
+				;
+			if ( i == 5 ) {
+				and.then(row.getFieldRepetitionCount("mode"))
+					.as("Row %d string mode not in integer column", i)
+					.isZero()
+					;
+				and.then(row.getString("mode_text", 0))
+					.as("Row %d string mode in string column", i)
+					.isEqualTo("auto")
+					;
+			} else {
+				and.then(row.getLong("mode", 0))
+					.as("Row %d mode", i)
+					.isEqualTo(i)
+					;
+			}
+			// @formatter:on
+		}
+	}
+
+	@Test
+	public void export_readBack_pages() throws IOException {
+		// GIVEN
+		ParquetDatumExportOutputFormatService service = new ParquetDatumExportOutputFormatService();
+		service.setPageRowLimit(3);
+
+		final int count = 10;
+		List<GeneralNodeDatumFilterMatch> data = sparseTestData(count);
+
+		// WHEN
+		final Path path = export(service, data);
+
+		// THEN
+		final ParquetContent parquet = readParquet(path);
+		// @formatter:off
+		and.then(dataPageCount(path, "watts"))
+			.as("Column chunk split into pages of at most 3 rows")
+			.isEqualTo(4)
+			;
+		and.then(dataPageCount(path, "sourceId"))
+			.as("Dictionary encoded column chunk split into pages of at most 3 rows")
+			.isEqualTo(4)
+			;
+		and.then(parquet.rows())
+			.as("Read all rows across pages")
+			.hasSize(count)
+			;
+		// @formatter:on
+		final List<Group> rows = new ArrayList<>(parquet.rows());
+		rows.sort(Comparator.comparingLong(g -> g.getLong("created", 0)));
+		for ( int i = 0; i < count; i++ ) {
+			// @formatter:off
+			and.then(rows.get(i).getLong("watts", 0))
+				.as("Row %d watts", i)
+				.isEqualTo(i)
+				;
+			and.then(rows.get(i).getString("sourceId", 0))
+				.as("Row %d source ID", i)
+				.isEqualTo(i % 2 == 0 ? TEST_SOURCE_ID : TEST_SOURCE_ID_2)
+				;
+			// @formatter:on
+		}
+	}
+
+}
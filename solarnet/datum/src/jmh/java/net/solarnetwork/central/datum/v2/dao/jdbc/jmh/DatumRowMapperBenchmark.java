@@ -0,0 +1,312 @@
+/* ==================================================================
+ * DatumRowMapperBenchmark.java - 17/10/2026 6:04:51 pm
+ *
+ * Copyright 2026 SolarNetwork.net Dev Team
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation; either version 2 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA
+ * 02111-1307 USA
+ * ==================================================================
+ */
+
+package net.solarnetwork.central.datum.v2.dao.jdbc.jmh;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.jdbc.core.RowMapper;
+import net.solarnetwork.central.datum.v2.dao.jdbc.AggregateDatumEntityRowMapper;
+import net.solarnetwork.central.datum.v2.dao.jdbc.DatumEntityRowMapper;
+import net.solarnetwork.central.datum.v2.dao.jdbc.DirectDatumEntityRowMapper;
+import net.solarnetwork.central.datum.v2.dao.jdbc.ReadingDatumEntityRowMapper;
+
+/**
+ * Compare the cost of mapping large datum result sets with the various datum
+ * row mappers.
+ *
+ * <p>
+ * The result sets are simulated in memory, to exclude the database from the
+ * measurements. The simulated driver behaves like the Postgres JDBC driver:
+ * UUID columns are decoded from binary values, while array columns are
+ * transferred as text and {@link Array#getArray()} parses the text into a new
+ * Java array on each call.
+ * </p>
+ *
+ * <p>
+ * Run with {@code ./gradlew :solarnet-datum:jmh}. Add {@code profilers = ['gc']}
+ * to the {@code jmh} build configuration to compare allocation rates.
+ * </p>
+ *
+ * @author matt
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DatumRowMapperBenchmark {
+
+	private static final int STREAM_COUNT = 20;
+
+	/** The number of rows in each result set. */
+	@Param({ "100000", "500000" })
+	public int rowCount;
+
+	private Object[][] datumRows;
+	private Object[][] aggRows;
+	private Object[][] readingRows;
+
+	/**
+	 * Setup the benchmark state.
+	 */
+	@Setup
+	public void setup() {
+		final RandomGenerator rng = RandomGenerator.of("L64X128MixRandom");
+		final UUID[] streamIds = new UUID[STREAM_COUNT];
+		for ( int i = 0; i < STREAM_COUNT; i++ ) {
+			streamIds[i] = UUID.randomUUID();
+		}
+		final int rowsPerStream = rowCount / STREAM_COUNT;
+		final Instant start = Instant.parse("2026-01-01T00:00:00Z");
+		datumRows = new Object[rowCount][];
+		aggRows = new Object[rowCount][];
+		readingRows = new Object[rowCount][];
+		for ( int r = 0; r < rowCount; r++ ) {
+			final UUID streamId = streamIds[Math.min(r / rowsPerStream, STREAM_COUNT - 1)];
+			final Timestamp ts = Timestamp.from(start.plusSeconds(60L * (r % rowsPerStream)));
+			final Timestamp recv = Timestamp.from(ts.toInstant().plusMillis(250));
+			final byte[] i = decimals(rng, 8, 3);
+			final byte[] a = decimals(rng, 3, 1);
+			final byte[] s = "{Normal}".getBytes(US_ASCII);
+			final byte[] t = "{\"_v2\",\"phase A\"}".getBytes(US_ASCII);
+			final byte[] stat_i = statistics(rng, 8);
+			final byte[] stat_a = statistics(rng, 3);
+			datumRows[r] = new Object[] { streamId, ts, recv, i, a, s, t };
+			aggRows[r] = new Object[] { streamId, ts, i, a, s, t, stat_i, stat_a };
+			readingRows[r] = new Object[] { streamId, ts, recv, i, a, s, t, stat_i, stat_a };
+		}
+	}
+
+	private static byte[] decimals(RandomGenerator rng, int count, int scale) {
+		StringBuilder buf = new StringBuilder("{");
+		for ( int i = 0; i < count; i++ ) {
+			if ( i > 0 ) {
+				buf.append(',');
+			}
+			buf.append(BigDecimal.valueOf(rng.nextLong(1_000_000_000L), scale).toPlainString());
+		}
+		return buf.append('}').toString().getBytes(US_ASCII);
+	}
+
+	private static byte[] statistics(RandomGenerator rng, int count) {
+		StringBuilder buf = new StringBuilder("{");
+		for ( int i = 0; i < count; i++ ) {
+			if ( i > 0 ) {
+				buf.append(',');
+			}
+			buf.append('{').append(rng.nextInt(60)).append(',');
+			buf.append(BigDecimal.valueOf(rng.nextLong(1_000_000L), 3).toPlainString()).append(',');
+			buf.append(BigDecimal.valueOf(rng.nextLong(1_000_000L), 3).toPlainString()).append('}');
+		}
+		return buf.append('}').toString().getBytes(US_ASCII);
+	}
+
+	private static <T> void mapAll(Object[][] rows, RowMapper<T> mapper, Blackhole bh)
+			throws SQLException {
+		final SimulatedResultSet handler = new SimulatedResultSet();
+		final ResultSet rs = (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+				new Class<?>[] { ResultSet.class }, handler);
+		for ( int r = 0; r < rows.length; r++ ) {
+			handler.row = rows[r];
+			bh.consume(mapper.mapRow(rs, r + 1));
+		}
+	}
+
+	/**
+	 * Map datum rows with {@link DatumEntityRowMapper}.
+	 *
+	 * @param bh
+	 *        the black hole
+	 * @throws SQLException
+	 *         if any SQL error occurs
+	 */
+	@Benchmark
+	public void datumEntityRowMapper(Blackhole bh) throws SQLException {
+		mapAll(datumRows, DatumEntityRowMapper.INSTANCE, bh);
+	}
+
+	/**
+	 * Map datum rows with {@link DirectDatumEntityRowMapper}.
+	 *
+	 * @param bh
+	 *        the black hole
+	 * @throws SQLException
+	 *         if any SQL error occurs
+	 */
+	@Benchmark
+	public void directDatumEntityRowMapper(Blackhole bh) throws SQLException {
+		mapAll(datumRows, new DirectDatumEntityRowMapper(), bh);
+	}
+
+	/**
+	 * Map hourly aggregate rows with {@link AggregateDatumEntityRowMapper}.
+	 *
+	 * @param bh
+	 *        the black hole
+	 * @throws SQLException
+	 *         if any SQL error occurs
+	 */
+	@Benchmark
+	public void aggregateDatumEntityRowMapper(Blackhole bh) throws SQLException {
+		mapAll(aggRows, AggregateDatumEntityRowMapper.HOUR_INSTANCE, bh);
+	}
+
+	/**
+	 * Map hourly reading rows with {@link ReadingDatumEntityRowMapper}.
+	 *
+	 * @param bh
+	 *        the black hole
+	 * @throws SQLException
+	 *         if any SQL error occurs
+	 */
+	@Benchmark
+	public void readingDatumEntityRowMapper(Blackhole bh) throws SQLException {
+		mapAll(readingRows, ReadingDatumEntityRowMapper.HOUR_INSTANCE, bh);
+	}
+
+	/**
+	 * A result set positioned on a single row, where {@link UUID} and
+	 * {@link Timestamp} values are returned as-is and {@code byte[]} values are
+	 * treated as text-encoded arrays.
+	 */
+	private static final class SimulatedResultSet implements java.lang.reflect.InvocationHandler {
+
+		private Object[] row;
+
+		@Override
+		public Object invoke(Object proxy, java.lang.reflect.Method method, Object[] args)
+				throws Throwable {
+			final Object val = row[(Integer) args[0] - 1];
+			return switch (method.getName()) {
+				case "getObject" -> val instanceof byte[] b ? new String(b, US_ASCII) : val;
+				case "getString" -> val instanceof byte[] b ? new String(b, US_ASCII) : val.toString();
+				case "getTimestamp" -> val;
+				case "getArray" -> val == null ? null
+						: Proxy.newProxyInstance(Array.class.getClassLoader(),
+								new Class<?>[] { Array.class },
+								new SimulatedArray(new String((byte[]) val, US_ASCII)));
+				default -> throw new UnsupportedOperationException(method.getName());
+			};
+		}
+
+	}
+
+	/**
+	 * An array that parses its text form on each call to
+	 * {@link Array#getArray()}, as the Postgres JDBC driver does.
+	 */
+	private static final class SimulatedArray implements java.lang.reflect.InvocationHandler {
+
+		private final String literal;
+
+		private SimulatedArray(String literal) {
+			super();
+			this.literal = literal;
+		}
+
+		@Override
+		public Object invoke(Object proxy, java.lang.reflect.Method method, Object[] args)
+				throws Throwable {
+			if ( !"getArray".equals(method.getName()) ) {
+				throw new UnsupportedOperationException(method.getName());
+			}
+			final int[] pos = new int[] { 0 };
+			return toArray(parse(literal, pos));
+		}
+
+		private static List<Object> parse(String s, int[] pos) {
+			List<Object> result = new ArrayList<>();
+			pos[0]++; // skip {
+			while ( pos[0] < s.length() ) {
+				char c = s.charAt(pos[0]);
+				if ( c == '{' ) {
+					result.add(parse(s, pos));
+				} else if ( c == '"' ) {
+					int end = s.indexOf('"', pos[0] + 1);
+					result.add(s.substring(pos[0] + 1, end));
+					pos[0] = end + 1;
+				} else {
+					int start = pos[0];
+					while ( s.charAt(pos[0]) != ',' && s.charAt(pos[0]) != '}' ) {
+						pos[0]++;
+					}
+					result.add(s.substring(start, pos[0]));
+				}
+				c = s.charAt(pos[0]++);
+				if ( c == '}' ) {
+					break;
+				}
+			}
+			return result;
+		}
+
+		private static Object toArray(List<Object> list) {
+			if ( !list.isEmpty() && list.getFirst() instanceof List<?> ) {
+				BigDecimal[][] result = new BigDecimal[list.size()][];
+				for ( int i = 0; i < result.length; i++ ) {
+					@SuppressWarnings("unchecked")
+					List<Object> nested = (List<Object>) list.get(i);
+					result[i] = (BigDecimal[]) toArray(nested);
+				}
+				return result;
+			}
+			final String first = (list.isEmpty() ? null : (String) list.getFirst());
+			if ( first != null && !first.isEmpty()
+					&& (Character.isDigit(first.charAt(0)) || first.charAt(0) == '-') ) {
+				BigDecimal[] result = new BigDecimal[list.size()];
+				for ( int i = 0; i < result.length; i++ ) {
+					result[i] = new BigDecimal((String) list.get(i));
+				}
+				return result;
+			}
+			return list.toArray(String[]::new);
+		}
+
+	}
+
+}
@@ -26,6 +26,7 @@ import static net.solarnetwork.util.ObjectUtils.nonnull;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import org.jspecify.annotations.Nullable;
 import org.springframework.core.task.AsyncTaskExecutor;
@@ -52,12 +53,22 @@ import net.solarnetwork.domain.datum.ObjectDatumKind;
  * </p>
  *
  * <p>
+ * If {@code aggregateProcessMax} is greater than {@literal 1} then the
+ * {@link #DEFAULT_BATCH_SQL} procedure is used instead (unless a custom
+ * {@code jdbcCall} has been configured), which processes up to that many stale
+ * records per call and returns a result row for each. The resulting
+ * {@link AggregateUpdatedEventInfo#AGGREGATE_UPDATED_TOPIC} events for each
+ * call are then offered to the configured {@link DatumAppEventAcceptor}
+ * services as a single task.
+ * </p>
+ *
+ * <p>
  * If {@code taskCount} is higher than {@code 1} then {@code taskCount} threads
  * will be spawned and each process {@code maximumRowCount / taskCount} rows.
  * </p>
  *
  * @author matt
- * @version 3.1
+ * @version 3.2
  * @since 1.14
  */
 public class StaleDatumStreamProcessor extends TieredStoredProcedureStaleRecordProcessor {
@@ -65,6 +76,14 @@ public class StaleDatumStreamProcessor extends TieredStoredProcedureStaleRecordP
 	/** The default {@code jdbcCall} value. */
 	public static final String DEFAULT_SQL = "{call solardatm.process_one_agg_stale_datm(?)}";
 
+	/**
+	 * The default {@code jdbcCall} value when {@code aggregateProcessMax} is
+	 * greater than {@literal 1}.
+	 *
+	 * @since 3.2
+	 */
+	public static final String DEFAULT_BATCH_SQL = "{call solardatm.process_agg_stale_datm(?, ?)}";
+
 	private @Nullable List<DatumAppEventAcceptor> datumAppEventAcceptors;
 
 	/**
@@ -106,21 +125,64 @@ public class StaleDatumStreamProcessor extends TieredStoredProcedureStaleRecordP
 			return;
 		}
 
+		offerDatumEvents(List.of(event), services);
+	}
+
+	@Override
+	protected int processResultSet(ResultSet rs, Duration duration) throws SQLException {
+		if ( getAggregateProcessMax() < 2 ) {
+			return super.processResultSet(rs, duration);
+		}
+		final List<DatumAppEventAcceptor> services = getDatumAppEventAcceptors();
+		final boolean publish = services != null && !services.isEmpty();
+		final List<ObjectDatumId> ids = new ArrayList<>(getAggregateProcessMax());
+		final List<BasicDatumAppEvent> events = new ArrayList<>(publish ? getAggregateProcessMax() : 0);
+		int count = 0;
+		while ( rs.next() ) {
+			count++;
+			final ObjectDatumId id = ObjectDatumIdRowMapper.INSTANCE.mapRow(rs, count);
+			ids.add(id);
+			if ( publish ) {
+				final BasicDatumAppEvent event = extractAppEvent(id);
+				if ( event != null ) {
+					events.add(event);
+				}
+			}
+		}
+
+		// warn if the average time per aggregate exceeds the threshold
+		final Duration warnThresholdTime = getWarnThresholdTime();
+		if ( count > 0 && warnThresholdTime != null
+				&& duration.dividedBy(count).compareTo(warnThresholdTime) >= 0 ) {
+			log.warn("Slow aggregate batch of {} processed in {}s: {}", count, duration.toSeconds(),
+					ids);
+		}
+
+		if ( services != null && !events.isEmpty() ) {
+			offerDatumEvents(events, services);
+		}
+		return count;
+	}
+
+	private void offerDatumEvents(final List<BasicDatumAppEvent> events,
+			final List<DatumAppEventAcceptor> services) {
 		final AsyncTaskExecutor executor = getParallelTaskExecutor();
 		Runnable task = () -> {
-			for ( DatumAppEventAcceptor acceptor : services ) {
-				try {
-					acceptor.offerDatumEvent(event);
-				} catch ( CannotCreateTransactionException | TransientDataAccessException
-						| DataAccessResourceFailureException e ) {
-					log.warn("Transient DB error offering datum event {} to {}: {}", event, acceptor,
-							e.toString());
-				} catch ( Throwable t ) {
-					Throwable root = t;
-					while ( root.getCause() != null ) {
-						root = root.getCause();
+			for ( BasicDatumAppEvent event : events ) {
+				for ( DatumAppEventAcceptor acceptor : services ) {
+					try {
+						acceptor.offerDatumEvent(event);
+					} catch ( CannotCreateTransactionException | TransientDataAccessException
+							| DataAccessResourceFailureException e ) {
+						log.warn("Transient DB error offering datum event {} to {}: {}", event,
+								acceptor, e.toString());
+					} catch ( Throwable t ) {
+						Throwable root = t;
+						while ( root.getCause() != null ) {
+							root = root.getCause();
+						}
+						log.error("Error offering datum event {} to {}: {}", event, acceptor, root, t);
 					}
-					log.error("Error offering datum event {} to {}: {}", event, acceptor, root, t);
 				}
 			}
 		};
@@ -193,7 +255,10 @@ public class StaleDatumStreamProcessor extends TieredStoredProcedureStaleRecordP
 	 *
 	 * <p>
 	 * This is the second parameter passed to the JDBC procedure. Default is
-	 * {@code 1}.
+	 * {@code 1}. If set to more than {@literal 1} and the {@code jdbcCall} is
+	 * {@link #DEFAULT_SQL}, the {@code jdbcCall} will be changed to
+	 * {@link #DEFAULT_BATCH_SQL} (and back again if later set to
+	 * {@literal 1}).
 	 * </p>
 	 *
 	 * @param aggregateProcessMax
@@ -201,6 +266,12 @@ public class StaleDatumStreamProcessor extends TieredStoredProcedureStaleRecordP
 	 */
 	public final void setAggregateProcessMax(int aggregateProcessMax) {
 		setTierProcessMax(aggregateProcessMax);
+		final String call = getJdbcCall();
+		if ( aggregateProcessMax > 1 && DEFAULT_SQL.equals(call) ) {
+			setJdbcCall(DEFAULT_BATCH_SQL);
+		} else if ( aggregateProcessMax < 2 && DEFAULT_BATCH_SQL.equals(call) ) {
+			setJdbcCall(DEFAULT_SQL);
+		}
 	}
 
 	/**
@@ -28,6 +28,7 @@ import javax.cache.CacheManager;
 import javax.sql.DataSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -42,7 +43,7 @@ import net.solarnetwork.domain.datum.ObjectDatumStreamMetadataId;
  * JDBC datum entity DAO configuration.
  *
  * @author matt
- * @version 1.3
+ * @version 1.4
  */
 @Configuration(proxyBeanMethods = false)
 public class JdbcDatumEntityDaoConfig {
@@ -115,12 +116,14 @@ public class JdbcDatumEntityDaoConfig {
 	@Bean
 	public JdbcDatumEntityDao datumEntityDao(
 			@Qualifier(STREAM_METADATA_CACHE_NAME) Cache<UUID, ObjectDatumStreamMetadata> streamMetadataCache,
-			@Qualifier(STREAM_OBJECT_METADATA_CACHE_NAME) Cache<ObjectDatumStreamMetadataId, ObjectDatumStreamMetadata> streamObjectMetadataCache) {
+			@Qualifier(STREAM_OBJECT_METADATA_CACHE_NAME) Cache<ObjectDatumStreamMetadataId, ObjectDatumStreamMetadata> streamObjectMetadataCache,
+			@Value("${app.datum.bulk-load-copy:false}") boolean bulkLoadCopy) {
 		JdbcDatumEntityDao dao = new JdbcDatumEntityDao(jdbcOperations);
 		dao.setStreamMetadataCache(streamMetadataCache);
 		dao.setStreamObjectMetadataCache(streamObjectMetadataCache);
 		dao.setBulkLoadDataSource(dataSource);
 		dao.setBulkLoadTransactionManager(txManager);
+		dao.setBulkLoadCopy(bulkLoadCopy);
 		return dao;
 	}
 
@@ -41,6 +41,7 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.annotation.JsonSetter;
+import net.solarnetwork.central.common.dao.KeysetCriteria;
 import net.solarnetwork.central.domain.AggregationFilter;
 import net.solarnetwork.central.domain.Location;
 import net.solarnetwork.central.domain.SolarLocation;
@@ -57,7 +58,7 @@ import net.solarnetwork.util.StringUtils;
  * {@link AggregateNodeDatumFilter}, and {@link GeneralNodeDatumFilter}.
  *
  * @author matt
- * @version 2.11
+ * @version 2.12
  */
 @JsonPropertyOrder({ "locationIds", "nodeIds", "sourceIds", "userIds", "aggregation", "aggregationKey",
 		"partialAggregation", "partialAggregationKey", "readingType", "datumAuxiliaryType",
@@ -65,12 +66,12 @@ import net.solarnetwork.util.StringUtils;
 		"instantaneousPropertyNames", "accumulatingPropertyNames", "statusPropertyNames", "rollupTypes",
 		"rollupTypeKeys", "tags", "metadataFilter", "dataPath", "mostRecent", "startDate", "endDate",
 		"localStartDate", "localEndDate", "max", "offset", "sorts", "type", "location",
-		"withoutTotalResultsCount" })
+		"withoutTotalResultsCount", "cursor" })
 public class DatumFilterCommand extends FilterSupport implements LocationDatumFilter, NodeDatumFilter,
 		AggregateNodeDatumFilter, GeneralLocationDatumFilter, AggregateGeneralLocationDatumFilter,
 		GeneralNodeDatumFilter, AggregateGeneralNodeDatumFilter, GeneralLocationDatumMetadataFilter,
 		GeneralNodeDatumAuxiliaryFilter, GeneralNodeDatumMetadataFilter, SolarNodeMetadataFilter,
-		ReadingTypeFilter, Serializable {
+		ReadingTypeFilter, KeysetCriteria, Serializable {
 
 	@Serial
 	private static final long serialVersionUID = -2340410285910280329L;
@@ -91,6 +92,7 @@ public class DatumFilterCommand extends FilterSupport implements LocationDatumFi
 	private @Nullable Aggregation aggregation;
 	private @Nullable Aggregation partialAggregation;
 	private boolean withoutTotalResultsCount;
+	private @Nullable String cursor;
 	private @Nullable Boolean includeStreamAliases;
 
 	private @Nullable DatumAuxiliaryType datumAuxiliaryType;
@@ -186,6 +188,9 @@ public class DatumFilterCommand extends FilterSupport implements LocationDatumFi
 		setStartDate(other.getStartDate());
 		setMostRecent(other.isMostRecent());
 		setWithoutTotalResultsCount(other.isWithoutTotalResultsCount());
+		if ( other instanceof KeysetCriteria f ) {
+			setCursor(f.getCursor());
+		}
 		if ( other instanceof DatumRollupFilter f ) {
 			setDatumRollupTypes(f.getDatumRollupTypes());
 		}
@@ -298,6 +303,11 @@ public class DatumFilterCommand extends FilterSupport implements LocationDatumFi
 		builder.append("withoutTotalResultsCount=");
 		builder.append(withoutTotalResultsCount);
 		builder.append(", ");
+		if ( cursor != null ) {
+			builder.append("cursor=");
+			builder.append(cursor);
+			builder.append(", ");
+		}
 		if ( includeStreamAliases != null ) {
 			builder.append("includeStreamAliases=");
 			builder.append(includeStreamAliases);
@@ -422,7 +432,7 @@ public class DatumFilterCommand extends FilterSupport implements LocationDatumFi
 		result = prime * result + Arrays.hashCode(datumRollupTypes);
 		result = prime * result + Objects.hash(aggregation, readingType, datumAuxiliaryType,
 				combiningType, dataPath, endDate, localEndDate, localStartDate, location, max,
-				nodeIdMappings, offset, sorts, sourceIdMappings, startDate, type, includeStreamAliases);
+				nodeIdMappings, offset, sorts, sourceIdMappings, startDate, type, includeStreamAliases, cursor);
 		result = prime * result + Boolean.hashCode(mostRecent);
 		result = prime * result + Boolean.hashCode(withoutTotalResultsCount);
 		result = prime * result + Arrays.hashCode(propertyNames);
@@ -465,6 +475,7 @@ public class DatumFilterCommand extends FilterSupport implements LocationDatumFi
 				&& Objects.equals(startDate, other.startDate)
 				&& Objects.equals(type, other.type)
 				&& withoutTotalResultsCount == other.withoutTotalResultsCount
+				&& Objects.equals(cursor, other.cursor)
 				&& Objects.equals(includeStreamAliases, other.includeStreamAliases)
 				&& Arrays.equals(propertyNames, other.propertyNames)
 				&& Arrays.equals(instantaneousPropertyNames, other.instantaneousPropertyNames)
@@ -747,6 +758,27 @@ public class DatumFilterCommand extends FilterSupport implements LocationDatumFi
 		this.withoutTotalResultsCount = withoutTotalResultsCount;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @since 2.12
+	 */
+	@Override
+	public final @Nullable String getCursor() {
+		return cursor;
+	}
+
+	/**
+	 * Set the keyset pagination cursor.
+	 *
+	 * @param cursor
+	 *        the cursor to set, from a previous result's next cursor value
+	 * @since 2.12
+	 */
+	public final void setCursor(@Nullable String cursor) {
+		this.cursor = cursor;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 *
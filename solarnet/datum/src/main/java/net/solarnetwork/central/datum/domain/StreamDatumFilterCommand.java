@@ -41,6 +41,7 @@ import com.fasterxml.jackson.annotation.JsonGetter;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.annotation.JsonSetter;
+import net.solarnetwork.central.common.dao.KeysetCriteria;
 import net.solarnetwork.central.domain.AggregationFilter;
 import net.solarnetwork.central.domain.NodeMappingFilter;
 import net.solarnetwork.central.domain.SourceMappingFilter;
@@ -56,16 +57,16 @@ import net.solarnetwork.util.StringUtils;
  * Implementation of {@link StreamDatumFilter}.
  *
  * @author matt
- * @version 1.7
+ * @version 1.8
  * @since 1.3
  */
 @JsonPropertyOrder({ "streamIds", "kind", "objectIds", "sourceIds", "userIds", "aggregation",
 		"partialAggregation", "combiningType", "nodeIdMappings", "sourceIdMappings", "rollupTypes",
 		"tags", "metadataFilter", "mostRecent", "startDate", "endDate", "localStartDate", "localEndDate",
-		"propertyNames", "max", "offset", "sorts", "withoutTotalResultsCount" })
+		"propertyNames", "max", "offset", "sorts", "withoutTotalResultsCount", "cursor" })
 public class StreamDatumFilterCommand extends BaseFilterSupport
 		implements StreamDatumFilter, AggregationFilter, CombiningFilter, DatumRollupFilter,
-		NodeMappingFilter, SourceMappingFilter, OptimizedQueryCriteria {
+		NodeMappingFilter, SourceMappingFilter, OptimizedQueryCriteria, KeysetCriteria {
 
 	@Serial
 	private static final long serialVersionUID = 5720733579900923990L;
@@ -89,6 +90,7 @@ public class StreamDatumFilterCommand extends BaseFilterSupport
 	private @Nullable Aggregation aggregation;
 	private @Nullable Aggregation partialAggregation;
 	private boolean withoutTotalResultsCount;
+	private @Nullable String cursor;
 	private @Nullable Boolean includeStreamAliases;
 
 	private @Nullable CombiningType combiningType;
@@ -108,7 +110,7 @@ public class StreamDatumFilterCommand extends BaseFilterSupport
 		result = prime * result + Arrays.hashCode(propertyNames);
 		result = prime * result + Objects.hash(aggregation, combiningType, endDate, kind, localEndDate,
 				localStartDate, max, nodeIdMappings, offset, partialAggregation, sorts, sourceIdMappings,
-				startDate, includeStreamAliases);
+				startDate, includeStreamAliases, cursor);
 		result = prime * result + Boolean.hashCode(mostRecent);
 		result = prime * result + Boolean.hashCode(withoutTotalResultsCount);
 		return result;
@@ -143,6 +145,7 @@ public class StreamDatumFilterCommand extends BaseFilterSupport
 				&& Arrays.equals(streamIds, other.streamIds)
 				&& Arrays.equals(propertyNames, other.propertyNames)
 				&& withoutTotalResultsCount == other.withoutTotalResultsCount
+				&& Objects.equals(cursor, other.cursor)
 				&& Objects.equals(includeStreamAliases, other.includeStreamAliases)
 				;
 		// @formatter:on
@@ -223,6 +226,11 @@ public class StreamDatumFilterCommand extends BaseFilterSupport
 		if ( !withoutTotalResultsCount ) {
 			builder.append("withoutTotalResultsCount=false,");
 		}
+		if ( cursor != null ) {
+			builder.append("cursor=");
+			builder.append(cursor);
+			builder.append(", ");
+		}
 		if ( includeStreamAliases != null && includeStreamAliases ) {
 			builder.append("includeStreamAliases=true,");
 		}
@@ -725,6 +733,27 @@ public class StreamDatumFilterCommand extends BaseFilterSupport
 		this.withoutTotalResultsCount = withoutTotalResultsCount;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @since 1.8
+	 */
+	@Override
+	public final @Nullable String getCursor() {
+		return cursor;
+	}
+
+	/**
+	 * Set the keyset pagination cursor.
+	 *
+	 * @param cursor
+	 *        the cursor to set, from a previous result's next cursor value
+	 * @since 1.8
+	 */
+	public final void setCursor(@Nullable String cursor) {
+		this.cursor = cursor;
+	}
+
 	@Override
 	public final @Nullable CombiningType getCombiningType() {
 		return combiningType;
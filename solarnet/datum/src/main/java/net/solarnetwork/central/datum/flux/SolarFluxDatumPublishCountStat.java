@@ -25,8 +25,14 @@ package net.solarnetwork.central.datum.flux;
 /**
  * MQTT status for datum publishing.
  *
+ * <p>
+ * The {@code PublishLatency*} values form a histogram of the time taken for
+ * each publish to be acknowledged, and {@link #PublishLatencyTotalMs} the
+ * total of all acknowledged publish times.
+ * </p>
+ *
  * @author matt
- * @version 1.1
+ * @version 1.2
  */
 public enum SolarFluxDatumPublishCountStat {
 
@@ -36,7 +42,51 @@ public enum SolarFluxDatumPublishCountStat {
 
 	DailyDatumPublished("daily datum published"),
 
-	MonthlyDatumPublished("monthly datum published");
+	MonthlyDatumPublished("monthly datum published"),
+
+	/**
+	 * Publish latency under 1ms.
+	 *
+	 * @since 1.2
+	 */
+	PublishLatencyUnder1ms("publish latency < 1ms"),
+
+	/**
+	 * Publish latency under 10ms.
+	 *
+	 * @since 1.2
+	 */
+	PublishLatencyUnder10ms("publish latency < 10ms"),
+
+	/**
+	 * Publish latency under 100ms.
+	 *
+	 * @since 1.2
+	 */
+	PublishLatencyUnder100ms("publish latency < 100ms"),
+
+	/**
+	 * Publish latency under 1s.
+	 *
+	 * @since 1.2
+	 */
+	PublishLatencyUnder1s("publish latency < 1s"),
+
+	/**
+	 * Publish latency of 1s or more.
+	 *
+	 * @since 1.2
+	 */
+	PublishLatencyOver1s("publish latency >= 1s"),
+
+	/**
+	 * The total publish latency, in milliseconds.
+	 *
+	 * @since 1.2
+	 */
+	PublishLatencyTotalMs("publish latency total ms"),
+
+	;
 
 	private final String description;
 
@@ -44,6 +94,27 @@ public enum SolarFluxDatumPublishCountStat {
 		this.description = description;
 	}
 
+	/**
+	 * Get the publish latency histogram statistic for a given latency.
+	 *
+	 * @param nanos
+	 *        the latency, in nanoseconds
+	 * @return the latency statistic
+	 * @since 1.2
+	 */
+	public static SolarFluxDatumPublishCountStat publishLatencyStat(long nanos) {
+		if ( nanos < 1_000_000L ) {
+			return PublishLatencyUnder1ms;
+		} else if ( nanos < 10_000_000L ) {
+			return PublishLatencyUnder10ms;
+		} else if ( nanos < 100_000_000L ) {
+			return PublishLatencyUnder100ms;
+		} else if ( nanos < 1_000_000_000L ) {
+			return PublishLatencyUnder1s;
+		}
+		return PublishLatencyOver1s;
+	}
+
 	/**
 	 * Get the description.
 	 *
@@ -22,7 +22,13 @@
 
 package net.solarnetwork.central.datum.flux;
 
+import static net.solarnetwork.util.ObjectUtils.nonnull;
 import static net.solarnetwork.util.ObjectUtils.requireNonNullArgument;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
@@ -39,14 +45,24 @@ import net.solarnetwork.common.mqtt.MqttQos;
 import net.solarnetwork.domain.Identity;
 import net.solarnetwork.domain.datum.Aggregation;
 import net.solarnetwork.service.RemoteServiceException;
+import net.solarnetwork.util.CachedResult;
 import net.solarnetwork.util.StatTracker;
 import tools.jackson.databind.ObjectMapper;
 
 /**
  * Publish datum to SolarFlux.
  *
+ * <p>
+ * When {@code publishWindowSize} is greater than {@literal 1} and a
+ * {@code publishTimeoutSeconds} is configured, up to that many publish
+ * operations are allowed to be in flight at once, rather than waiting for
+ * each publish to complete before publishing the next datum. The MQTT topic
+ * and publish settings for each user, node, source, and aggregation
+ * combination are cached for {@code publishTargetCacheSeconds}.
+ * </p>
+ *
  * @author matt
- * @version 3.0
+ * @version 3.1
  */
 public class SolarFluxDatumPublisher extends MqttJsonPublisher<Identity<GeneralNodeDatumPK>>
 		implements DatumProcessor {
@@ -70,9 +86,32 @@ public class SolarFluxDatumPublisher extends MqttJsonPublisher<Identity<GeneralN
 	/** The {@code errorLogLimitMs} property default value. */
 	public static final long ERROR_LOG_LIMIT_MS_DEFAULT = 60_000L;
 
+	/**
+	 * The {@code publishWindowSize} property default value.
+	 *
+	 * @since 3.1
+	 */
+	public static final int DEFAULT_PUBLISH_WINDOW_SIZE = 1;
+
+	/**
+	 * The {@code publishTargetCacheSeconds} property default value.
+	 *
+	 * @since 3.1
+	 */
+	public static final long DEFAULT_PUBLISH_TARGET_CACHE_SECONDS = 60L;
+
+	/** The maximum number of cached publish targets. */
+	private static final int PUBLISH_TARGET_CACHE_MAX_SIZE = 100_000;
+
+	private static final PublishTarget NO_PUBLISH = new PublishTarget("", false, false);
+
 	private final SolarNodeOwnershipDao supportDao;
 	private final FluxPublishSettingsDao fluxPublishSettingsDao;
+	private final ConcurrentMap<PublishTargetKey, CachedResult<PublishTarget>> publishTargetCache = new ConcurrentHashMap<>(
+			256, 0.9f, 4);
 	private long errorLogLimitMs = ERROR_LOG_LIMIT_MS_DEFAULT;
+	private int publishWindowSize = DEFAULT_PUBLISH_WINDOW_SIZE;
+	private long publishTargetCacheSeconds = DEFAULT_PUBLISH_TARGET_CACHE_SECONDS;
 
 	private long lastErrorTime = 0; // ignoring thread safety for performance
 
@@ -128,8 +167,10 @@ public class SolarFluxDatumPublisher extends MqttJsonPublisher<Identity<GeneralN
 			return true;
 		}
 		final Aggregation agg = (aggregation != null ? aggregation : Aggregation.None);
+		final int timeout = getPublishTimeoutSeconds();
+		final int windowSize = Math.max(1, publishWindowSize);
+		final Deque<InFlightPublish> inFlight = new ArrayDeque<>(Math.min(windowSize, 64));
 		try {
-			final int timeout = getPublishTimeoutSeconds();
 			for ( Identity<GeneralNodeDatumPK> d : datum ) {
 				final GeneralNodeDatumPK pk = d.getId();
 				if ( pk == null ) {
@@ -142,55 +183,39 @@ public class SolarFluxDatumPublisher extends MqttJsonPublisher<Identity<GeneralN
 					continue;
 				}
 
-				final Long userId = ownership.getUserId();
-				final Long nodeId = ownership.getNodeId();
-				String sourceId = pk.getSourceId();
+				final String sourceId = pk.getSourceId();
 				if ( sourceId == null || sourceId.isEmpty() ) {
 					continue;
 				}
 
-				// if datum is for aggregate, check agg publish settings
-				final FluxPublishSettings pubSettings;
-				if ( agg != Aggregation.None ) {
-					pubSettings = fluxPublishSettingsDao.nodeSourcePublishConfiguration(userId, nodeId,
-							sourceId);
-					if ( pubSettings == null || !pubSettings.isPublish() ) {
-						continue;
-					}
-				} else {
-					pubSettings = null;
-				}
-				if ( sourceId.startsWith("/") ) {
-					sourceId = sourceId.substring(1);
+				final PublishTarget target = publishTarget(ownership.getUserId(),
+						ownership.getNodeId(), sourceId, agg);
+				if ( !target.publish() ) {
+					continue;
 				}
-				final String topic = String.format(NODE_AGGREGATE_DATUM_TOPIC_TEMPLATE, userId, nodeId,
-						agg.getKey(), sourceId);
 
-				Future<?> f = publish(d, topic, (pubSettings != null ? pubSettings.isRetain() : false),
-						getPublishQos());
-				if ( timeout > 0 ) {
-					try {
-						f.get(timeout, TimeUnit.SECONDS);
-					} catch ( ExecutionException e ) {
-						if ( e.getCause() instanceof IllegalArgumentException iae ) {
-							// assume too large, etc
-							log.warn("Problem publishing {} datum to SolarFlux ({}); datum: {}",
-									aggDisplayName(agg), iae.getMessage(), d);
-							continue;
-						} else {
-							throw e;
+				final long start = System.nanoTime();
+				Future<?> f = publish(d, target.topic(), target.retain(), getPublishQos());
+				if ( f instanceof CompletableFuture<?> cf ) {
+					// record latency when acknowledged, not when the in-flight window is drained
+					f = cf.whenComplete((_, t) -> {
+						if ( t == null ) {
+							recordPublishLatency(System.nanoTime() - start);
 						}
-					}
+					});
 				}
-
-				SolarFluxDatumPublishCountStat stat = publishStat(agg);
-				if ( stat != null ) {
-					StatTracker stats = getMqttStats();
-					if ( stats != null ) {
-						stats.increment(stat);
+				if ( timeout > 0 ) {
+					inFlight.add(new InFlightPublish(d, f, start));
+					while ( inFlight.size() >= windowSize ) {
+						awaitPublish(inFlight.remove(), agg, timeout);
 					}
+				} else {
+					incrementStat(publishStat(agg));
 				}
 			}
+			while ( !inFlight.isEmpty() ) {
+				awaitPublish(inFlight.remove(), agg, timeout);
+			}
 			return true;
 		} catch ( TimeoutException e ) {
 			// don't generate error for timeout; just assume the problem is transient, e.g.
@@ -218,6 +243,128 @@ public class SolarFluxDatumPublisher extends MqttJsonPublisher<Identity<GeneralN
 		return false;
 	}
 
+	/**
+	 * A publish operation that has not been acknowledged yet.
+	 *
+	 * @param datum
+	 *        the datum being published
+	 * @param future
+	 *        the publish future
+	 * @param start
+	 *        the publish start time, in nanoseconds, for futures that do not
+	 *        support completion callbacks
+	 */
+	private record InFlightPublish(Identity<GeneralNodeDatumPK> datum, Future<?> future, long start) {
+
+	}
+
+	private void awaitPublish(InFlightPublish p, Aggregation agg, int timeout)
+			throws InterruptedException, ExecutionException, TimeoutException {
+		try {
+			p.future().get(timeout, TimeUnit.SECONDS);
+		} catch ( ExecutionException e ) {
+			if ( e.getCause() instanceof IllegalArgumentException iae ) {
+				// assume too large, etc
+				log.warn("Problem publishing {} datum to SolarFlux ({}); datum: {}",
+						aggDisplayName(agg), iae.getMessage(), p.datum());
+				return;
+			}
+			throw e;
+		}
+		if ( !(p.future() instanceof CompletableFuture<?>) ) {
+			recordPublishLatency(System.nanoTime() - p.start());
+		}
+		incrementStat(publishStat(agg));
+	}
+
+	private void recordPublishLatency(long latency) {
+		final StatTracker stats = getMqttStats();
+		if ( stats == null ) {
+			return;
+		}
+		stats.increment(SolarFluxDatumPublishCountStat.publishLatencyStat(latency), true);
+		stats.add(SolarFluxDatumPublishCountStat.PublishLatencyTotalMs,
+				TimeUnit.NANOSECONDS.toMillis(latency), true);
+	}
+
+	private void incrementStat(@Nullable SolarFluxDatumPublishCountStat stat) {
+		if ( stat != null ) {
+			StatTracker stats = getMqttStats();
+			if ( stats != null ) {
+				stats.increment(stat);
+			}
+		}
+	}
+
+	/**
+	 * Publish details for a specific user, node, source, and aggregation.
+	 *
+	 * @param topic
+	 *        the MQTT topic
+	 * @param publish
+	 *        {@code true} if datum should be published
+	 * @param retain
+	 *        {@code true} if datum should be published as retained
+	 */
+	private record PublishTarget(String topic, boolean publish, boolean retain) {
+
+	}
+
+	/**
+	 * Cache key for publish targets.
+	 *
+	 * @param userId
+	 *        the user ID
+	 * @param nodeId
+	 *        the node ID
+	 * @param sourceId
+	 *        the source ID
+	 * @param agg
+	 *        the aggregation
+	 */
+	private record PublishTargetKey(Long userId, Long nodeId, String sourceId, Aggregation agg) {
+
+	}
+
+	private PublishTarget publishTarget(Long userId, Long nodeId, String sourceId, Aggregation agg) {
+		final long ttl = publishTargetCacheSeconds;
+		if ( ttl < 1 ) {
+			return resolvePublishTarget(userId, nodeId, sourceId, agg);
+		}
+		final PublishTargetKey key = new PublishTargetKey(userId, nodeId, sourceId, agg);
+		final CachedResult<PublishTarget> cached = publishTargetCache.get(key);
+		if ( cached != null && cached.isValid() ) {
+			return nonnull(cached.getResult(), "result");
+		}
+		final PublishTarget result = resolvePublishTarget(userId, nodeId, sourceId, agg);
+		if ( publishTargetCache.size() >= PUBLISH_TARGET_CACHE_MAX_SIZE ) {
+			publishTargetCache.values().removeIf(e -> !e.isValid());
+			if ( publishTargetCache.size() >= PUBLISH_TARGET_CACHE_MAX_SIZE ) {
+				publishTargetCache.clear();
+			}
+		}
+		publishTargetCache.put(key, new CachedResult<>(result, ttl, TimeUnit.SECONDS));
+		return result;
+	}
+
+	private PublishTarget resolvePublishTarget(Long userId, Long nodeId, String sourceId,
+			Aggregation agg) {
+		// if datum is for aggregate, check agg publish settings
+		final FluxPublishSettings pubSettings;
+		if ( agg != Aggregation.None ) {
+			pubSettings = fluxPublishSettingsDao.nodeSourcePublishConfiguration(userId, nodeId,
+					sourceId);
+			if ( pubSettings == null || !pubSettings.isPublish() ) {
+				return NO_PUBLISH;
+			}
+		} else {
+			pubSettings = null;
+		}
+		final String topic = String.format(NODE_AGGREGATE_DATUM_TOPIC_TEMPLATE, userId, nodeId,
+				agg.getKey(), sourceId.startsWith("/") ? sourceId.substring(1) : sourceId);
+		return new PublishTarget(topic, true, (pubSettings != null ? pubSettings.isRetain() : false));
+	}
+
 	private void logPublishError(Throwable e, Throwable root, Aggregation aggregation) {
 		if ( root instanceof RemoteServiceException ) {
 			log.warn("Problem publishing {} datum to SolarFlux: {}", aggDisplayName(aggregation),
@@ -262,4 +409,60 @@ public class SolarFluxDatumPublisher extends MqttJsonPublisher<Identity<GeneralN
 		this.errorLogLimitMs = errorLogLimitMs;
 	}
 
+	/**
+	 * Get the publish window size.
+	 *
+	 * @return the maximum number of publish operations to allow in flight at
+	 *         once; defaults to {@link #DEFAULT_PUBLISH_WINDOW_SIZE}
+	 * @since 3.1
+	 */
+	public int getPublishWindowSize() {
+		return publishWindowSize;
+	}
+
+	/**
+	 * Set the publish window size.
+	 *
+	 * <p>
+	 * This setting only applies when {@code publishTimeoutSeconds} is greater
+	 * than {@literal 0}. A value of {@literal 1} or less causes each publish
+	 * to complete before the next datum is published.
+	 * </p>
+	 *
+	 * @param publishWindowSize
+	 *        the maximum number of publish operations to allow in flight at
+	 *        once
+	 * @since 3.1
+	 */
+	public void setPublishWindowSize(int publishWindowSize) {
+		this.publishWindowSize = publishWindowSize;
+	}
+
+	/**
+	 * Get the publish target cache time.
+	 *
+	 * @return the number of seconds to cache publish topic and settings
+	 *         information, or {@literal 0} to disable; defaults to
+	 *         {@link #DEFAULT_PUBLISH_TARGET_CACHE_SECONDS}
+	 * @since 3.1
+	 */
+	public long getPublishTargetCacheSeconds() {
+		return publishTargetCacheSeconds;
+	}
+
+	/**
+	 * Set the publish target cache time.
+	 *
+	 * @param publishTargetCacheSeconds
+	 *        the number of seconds to cache publish topic and settings
+	 *        information, or {@literal 0} to disable
+	 * @since 3.1
+	 */
+	public void setPublishTargetCacheSeconds(long publishTargetCacheSeconds) {
+		this.publishTargetCacheSeconds = publishTargetCacheSeconds;
+		if ( publishTargetCacheSeconds < 1 ) {
+			publishTargetCache.clear();
+		}
+	}
+
 }
@@ -25,13 +25,18 @@ package net.solarnetwork.central.datum.mqtt;
 import static net.solarnetwork.util.ObjectUtils.requireNonEmptyArgument;
 import static net.solarnetwork.util.ObjectUtils.requireNonNullArgument;
 import java.io.IOException;
+import java.util.Queue;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -63,8 +68,18 @@ import tools.jackson.databind.ObjectMapper;
 /**
  * Observer of SolarInput datum streams.
  *
+ * <p>
+ * A single MQTT subscription is made for each observed node, regardless of
+ * how many observers are registered for that node. Each message is decoded
+ * into an {@link ObjectDatum} once and then passed to all observers of the
+ * message's node. If an {@code observerExecutor} is configured, each observer
+ * is given its own delivery lane on that executor, so a slow observer does not
+ * delay the others; otherwise observers are invoked on the MQTT message
+ * thread.
+ * </p>
+ *
  * @author matt
- * @version 2.0
+ * @version 2.1
  */
 public class SolarInputDatumObserver extends BaseMqttConnectionObserver
 		implements NodeEventObservationRegistrar<ObjectDatum> {
@@ -97,6 +112,13 @@ public class SolarInputDatumObserver extends BaseMqttConnectionObserver
 	/** The JSON field name for an instruction ID on an instruction datum. */
 	public static final String INSTRUCTION_ID_FIELD = "instructionId";
 
+	/**
+	 * The {@code observerQueueCapacity} property default value.
+	 *
+	 * @since 2.1
+	 */
+	public static final int DEFAULT_OBSERVER_QUEUE_CAPACITY = 1000;
+
 	private final Executor executor;
 	private final ObjectMapper objectMapper;
 	private final SolarNodeOwnershipDao nodeOwnershipDao;
@@ -105,9 +127,12 @@ public class SolarInputDatumObserver extends BaseMqttConnectionObserver
 	private @Nullable Cache<DatumId, ObjectDatumStreamMetadata> metadataCache;
 	private String nodeDatumTopicTemplate = DEFAULT_NODE_DATUM_TOPIC_TEMPLATE;
 	private Pattern nodeDatumTopicRegex = DEFAULT_NODE_TOPIC_REGEX;
+	private @Nullable Executor observerExecutor;
+	private int observerQueueCapacity = DEFAULT_OBSERVER_QUEUE_CAPACITY;
 
 	private final ConcurrentMap<Long, CopyOnWriteArrayList<Consumer<ObjectDatum>>> observers;
-	private final ConcurrentMap<Consumer<ObjectDatum>, MessageHandler> handlers;
+	private final ConcurrentMap<Consumer<ObjectDatum>, ObserverLane> lanes;
+	private final MessageHandler messageHandler;
 
 	/**
 	 * Constructor.
@@ -150,7 +175,8 @@ public class SolarInputDatumObserver extends BaseMqttConnectionObserver
 			Executor executor, ObjectMapper objectMapper, SolarNodeOwnershipDao nodeOwnershipDao,
 			DatumStreamMetadataDao datumStreamMetadataDao) {
 		this.observers = requireNonNullArgument(observers, "observers");
-		this.handlers = new ConcurrentHashMap<>(64, 0.9f, 4);
+		this.lanes = new ConcurrentHashMap<>(64, 0.9f, 4);
+		this.messageHandler = new MessageHandler();
 		this.executor = executor;
 		this.objectMapper = requireNonNullArgument(objectMapper, "objectMapper");
 		this.nodeOwnershipDao = requireNonNullArgument(nodeOwnershipDao, "nodeOwnershipDao");
@@ -160,19 +186,21 @@ public class SolarInputDatumObserver extends BaseMqttConnectionObserver
 	}
 
 	@Override
-	public void registerNodeObserver(final Consumer<ObjectDatum> observer, final Long... nodeIds) {
+	public synchronized void registerNodeObserver(final Consumer<ObjectDatum> observer,
+			final Long... nodeIds) {
 		requireNonNullArgument(observer, "observer");
-		final var handler = handlers.computeIfAbsent(observer, MessageHandler::new);
+		lanes.computeIfAbsent(observer, ObserverLane::new);
 		for ( Long nodeId : requireNonEmptyArgument(nodeIds, "nodeIds") ) {
-			if ( observers.computeIfAbsent(nodeId, _ -> new CopyOnWriteArrayList<>())
-					.addIfAbsent(observer) ) {
-				subscribe(mqttConnection.get(), nodeId, handler);
+			var list = observers.computeIfAbsent(nodeId, _ -> new CopyOnWriteArrayList<>());
+			if ( list.addIfAbsent(observer) && list.size() == 1 ) {
+				// first observer of node: subscribe to node topic
+				subscribe(mqttConnection.get(), nodeId);
 			}
 		}
 	}
 
 	@Override
-	public void unregisterNodeObserver(final Consumer<ObjectDatum> observer,
+	public synchronized void unregisterNodeObserver(final Consumer<ObjectDatum> observer,
 			final Long @Nullable... nodeIds) {
 		if ( observer == null ) {
 			return;
@@ -180,23 +208,21 @@ public class SolarInputDatumObserver extends BaseMqttConnectionObserver
 		if ( nodeIds != null && nodeIds.length > 0 ) {
 			for ( Long nodeId : nodeIds ) {
 				var list = observers.get(nodeId);
-				if ( list != null ) {
-					if ( list.remove(observer) ) {
-						var handler = handlers.get(observer);
-						if ( handler != null ) {
-							unsubscribe(mqttConnection.get(), nodeId, handler);
-						}
-					}
+				if ( list != null && list.remove(observer) && list.isEmpty() ) {
+					// last observer of node: unsubscribe from node topic
+					unsubscribe(mqttConnection.get(), nodeId);
 				}
 			}
+			if ( observers.values().stream().noneMatch(l -> l.contains(observer)) ) {
+				lanes.remove(observer);
+			}
 		} else {
-			MessageHandler handler = handlers.remove(observer);
-			if ( handler == null ) {
+			if ( lanes.remove(observer) == null ) {
 				return;
 			}
 			for ( var entry : observers.entrySet() ) {
-				if ( entry.getValue().remove(observer) ) {
-					unsubscribe(mqttConnection.get(), entry.getKey(), handler);
+				if ( entry.getValue().remove(observer) && entry.getValue().isEmpty() ) {
+					unsubscribe(mqttConnection.get(), entry.getKey());
 				}
 			}
 		}
@@ -207,64 +233,123 @@ public class SolarInputDatumObserver extends BaseMqttConnectionObserver
 		super.onMqttServerConnectionEstablished(connection, reconnected);
 		executor.execute(() -> {
 			for ( var entry : observers.entrySet() ) {
-				for ( var observer : entry.getValue() ) {
-					var handler = handlers.get(observer);
-					if ( handler != null ) {
-						subscribe(connection, entry.getKey(), handler);
-					}
+				if ( !entry.getValue().isEmpty() ) {
+					subscribe(connection, entry.getKey());
 				}
 			}
 		});
 	}
 
-	private void subscribe(@Nullable MqttConnection connection, Long nodeId,
-			MqttMessageHandler handler) {
+	private void subscribe(@Nullable MqttConnection connection, Long nodeId) {
 		if ( connection == null || !connection.isEstablished() ) {
 			return;
 		}
 		final String topic = String.format(nodeDatumTopicTemplate, nodeId.toString());
 		try {
-			connection.subscribe(topic, getSubscribeQos(), handler).get(getSubscribeTimeoutSeconds(),
-					TimeUnit.SECONDS);
-			log.info("Subscribed to MQTT topic {} @ {} for {}", topic, connection, handler);
+			connection.subscribe(topic, getSubscribeQos(), messageHandler)
+					.get(getSubscribeTimeoutSeconds(), TimeUnit.SECONDS);
+			log.info("Subscribed to MQTT topic {} @ {}", topic, connection);
 		} catch ( InterruptedException | ExecutionException | TimeoutException e ) {
-			log.error("Failed to subscribe to MQTT topic {} @ {} for {}: {}", topic, connection, handler,
+			log.error("Failed to subscribe to MQTT topic {} @ {}: {}", topic, connection,
 					e.toString());
 		}
 	}
 
-	private void unsubscribe(@Nullable MqttConnection connection, Long nodeId,
-			MqttMessageHandler handler) {
+	private void unsubscribe(@Nullable MqttConnection connection, Long nodeId) {
 		if ( connection == null || !connection.isEstablished() ) {
 			return;
 		}
 		final String topic = String.format(nodeDatumTopicTemplate, nodeId.toString());
 		try {
-			connection.unsubscribe(topic, handler).get(getSubscribeTimeoutSeconds(), TimeUnit.SECONDS);
-			log.info("Unsubscribed from MQTT topic {} @ {} for {}", topic, connection, handler);
+			connection.unsubscribe(topic, messageHandler).get(getSubscribeTimeoutSeconds(),
+					TimeUnit.SECONDS);
+			log.info("Unsubscribed from MQTT topic {} @ {}", topic, connection);
 		} catch ( InterruptedException | ExecutionException | TimeoutException e ) {
-			log.error("Failed to unsubscribe from MQTT topic {} @ {} for {}: {}", topic, connection,
-					handler, e.toString());
+			log.error("Failed to unsubscribe from MQTT topic {} @ {}: {}", topic, connection,
+					e.toString());
 		}
 	}
 
-	private final class MessageHandler implements MqttMessageHandler, Consumer<ObjectDatum> {
+	/**
+	 * A delivery lane for a single observer.
+	 *
+	 * <p>
+	 * When an {@code observerExecutor} is configured, datum are queued and
+	 * delivered to the observer in order by at most one executor task at a
+	 * time.
+	 * </p>
+	 */
+	private final class ObserverLane implements Runnable {
 
 		private final Consumer<ObjectDatum> observer;
+		private final Queue<ObjectDatum> queue = new ConcurrentLinkedQueue<>();
+		private final AtomicInteger queueSize = new AtomicInteger();
+		private final AtomicBoolean scheduled = new AtomicBoolean();
 
-		private MessageHandler(Consumer<ObjectDatum> observer) {
+		private ObserverLane(Consumer<ObjectDatum> observer) {
 			super();
 			this.observer = observer;
 		}
 
+		private void deliver(ObjectDatum datum) {
+			final Executor laneExecutor = observerExecutor;
+			if ( laneExecutor == null ) {
+				accept(datum);
+				return;
+			}
+			if ( queueSize.incrementAndGet() > observerQueueCapacity ) {
+				queueSize.decrementAndGet();
+				log.warn("Observer {} queue full, dropping datum {}", observer, datum.getId());
+				return;
+			}
+			queue.add(datum);
+			schedule(laneExecutor);
+		}
+
+		private void schedule(Executor laneExecutor) {
+			if ( scheduled.compareAndSet(false, true) ) {
+				try {
+					laneExecutor.execute(this);
+				} catch ( RejectedExecutionException e ) {
+					scheduled.set(false);
+					log.warn("Observer {} delivery rejected: {}", observer, e.getMessage());
+				}
+			}
+		}
+
 		@Override
-		public void accept(ObjectDatum t) {
-			observer.accept(t);
+		public void run() {
+			try {
+				ObjectDatum datum;
+				while ( (datum = queue.poll()) != null ) {
+					queueSize.decrementAndGet();
+					accept(datum);
+				}
+			} finally {
+				scheduled.set(false);
+			}
+			final Executor laneExecutor = observerExecutor;
+			if ( !queue.isEmpty() && laneExecutor != null ) {
+				// datum added after poll() but before scheduled reset
+				schedule(laneExecutor);
+			}
+		}
+
+		private void accept(ObjectDatum datum) {
+			try {
+				observer.accept(datum);
+			} catch ( Exception e ) {
+				log.error("Error passing datum {} to observer {}", datum.getId(), observer, e);
+			}
 		}
 
+	}
+
+	private final class MessageHandler implements MqttMessageHandler {
+
 		@Override
 		public String toString() {
-			return observer.toString();
+			return getDisplayName();
 		}
 
 		@Override
@@ -277,6 +362,11 @@ public class SolarInputDatumObserver extends BaseMqttConnectionObserver
 					return;
 				}
 				final Long nodeId = Long.valueOf(m.group(1));
+				final var nodeObservers = observers.get(nodeId);
+				if ( nodeObservers == null || nodeObservers.isEmpty() ) {
+					log.debug("No observers for node {}, ignoring", nodeId);
+					return;
+				}
 				final SolarNodeOwnership owner = nodeOwnershipDao.ownershipForNodeId(nodeId);
 				if ( owner == null ) {
 					log.debug("Unknown owner for node {}, ignoring", nodeId);
@@ -287,9 +377,15 @@ public class SolarInputDatumObserver extends BaseMqttConnectionObserver
 					return;
 				}
 
+				// decode once, then share with all observers of the node
 				ObjectDatum datum = parseMqttMessage(objectMapper, message, topic, nodeId, owner);
 				if ( datum != null ) {
-					observer.accept(datum);
+					for ( Consumer<ObjectDatum> observer : nodeObservers ) {
+						ObserverLane lane = lanes.get(observer);
+						if ( lane != null ) {
+							lane.deliver(datum);
+						}
+					}
 				}
 			} catch ( IOException e ) {
 				log.debug("Communication error handling message on MQTT topic {}", topic, e);
@@ -397,7 +493,11 @@ public class SolarInputDatumObserver extends BaseMqttConnectionObserver
 		criteria.setNodeId(id.getObjectId());
 		criteria.setSourceId(id.getSourceId());
 		var results = datumStreamMetadataDao.findDatumStreamMetadata(criteria);
-		return StreamSupport.stream(results.spliterator(), false).findFirst().orElse(null);
+		result = StreamSupport.stream(results.spliterator(), false).findFirst().orElse(null);
+		if ( result != null && cache != null ) {
+			cache.put(id, result);
+		}
+		return result;
 	}
 
 	private @Nullable ObjectDatumStreamMetadata metadataForStreamId(Long userId, UUID id) {
@@ -483,4 +583,61 @@ public class SolarInputDatumObserver extends BaseMqttConnectionObserver
 				: DEFAULT_NODE_TOPIC_REGEX);
 	}
 
+	/**
+	 * Get the observer executor.
+	 *
+	 * @return the executor to deliver datum to observers with, or
+	 *         {@code null} to deliver on the MQTT message thread
+	 * @since 2.1
+	 */
+	public final @Nullable Executor getObserverExecutor() {
+		return observerExecutor;
+	}
+
+	/**
+	 * Set the observer executor.
+	 *
+	 * <p>
+	 * If configured, each observer is given its own delivery lane on this
+	 * executor, so datum are delivered to each observer in order without
+	 * blocking the delivery to other observers.
+	 * </p>
+	 *
+	 * @param observerExecutor
+	 *        the executor to deliver datum to observers with, or {@code null}
+	 *        to deliver on the MQTT message thread
+	 * @since 2.1
+	 */
+	public final void setObserverExecutor(@Nullable Executor observerExecutor) {
+		this.observerExecutor = observerExecutor;
+	}
+
+	/**
+	 * Get the maximum number of datum queued for delivery to a single observer.
+	 *
+	 * @return the capacity; defaults to
+	 *         {@link #DEFAULT_OBSERVER_QUEUE_CAPACITY}
+	 * @since 2.1
+	 */
+	public final int getObserverQueueCapacity() {
+		return observerQueueCapacity;
+	}
+
+	/**
+	 * Set the maximum number of datum queued for delivery to a single observer.
+	 *
+	 * <p>
+	 * This only applies when an {@code observerExecutor} is configured. Datum
+	 * received while an observer's queue is full are dropped for that
+	 * observer.
+	 * </p>
+	 *
+	 * @param observerQueueCapacity
+	 *        the capacity to set
+	 * @since 2.1
+	 */
+	public final void setObserverQueueCapacity(int observerQueueCapacity) {
+		this.observerQueueCapacity = observerQueueCapacity;
+	}
+
 }
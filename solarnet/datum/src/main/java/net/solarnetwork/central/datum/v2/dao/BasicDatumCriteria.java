@@ -34,6 +34,7 @@ import org.jspecify.annotations.Nullable;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonSetter;
 import net.solarnetwork.central.common.dao.BasicCoreCriteria;
+import net.solarnetwork.central.common.dao.KeysetCriteria;
 import net.solarnetwork.central.datum.domain.CombiningType;
 import net.solarnetwork.central.datum.domain.DatumReadingType;
 import net.solarnetwork.central.datum.domain.DatumRollupType;
@@ -49,11 +50,11 @@ import net.solarnetwork.domain.datum.ObjectDatumKind;
  * Basic implementation of {@link DatumCriteria}.
  *
  * @author matt
- * @version 1.7
+ * @version 1.8
  * @since 2.8
  */
 public class BasicDatumCriteria extends BasicCoreCriteria implements DatumCriteria, AuditDatumCriteria,
-		DatumAuxiliaryCriteria, ObjectDatumStreamAliasFilter {
+		DatumAuxiliaryCriteria, ObjectDatumStreamAliasFilter, KeysetCriteria {
 
 	private UUID @Nullable [] streamIds;
 	private @Nullable Instant startDate;
@@ -82,6 +83,7 @@ public class BasicDatumCriteria extends BasicCoreCriteria implements DatumCriter
 	private String @Nullable [] instantaneousPropertyNames;
 	private String @Nullable [] accumulatingPropertyNames;
 	private String @Nullable [] statusPropertyNames;
+	private @Nullable String cursor;
 
 	/**
 	 * Default constructor.
@@ -111,7 +113,7 @@ public class BasicDatumCriteria extends BasicCoreCriteria implements DatumCriter
 		result = prime * result + Objects.hash(aggregation, combiningType, datumAuxiliaryType, endDate,
 				localEndDate, localStartDate, mostRecent, objectIdMappings, objectKind,
 				partialAggregation, readingType, sourceIdMappings, startDate, timeTolerance,
-				withoutTotalResultsCount, includeStreamAliases, streamAliasMatchType);
+				withoutTotalResultsCount, includeStreamAliases, streamAliasMatchType, cursor);
 		result = prime * result + Arrays.hashCode(propertyNames);
 		result = prime * result + Arrays.hashCode(instantaneousPropertyNames);
 		result = prime * result + Arrays.hashCode(accumulatingPropertyNames);
@@ -150,7 +152,8 @@ public class BasicDatumCriteria extends BasicCoreCriteria implements DatumCriter
 				&& Arrays.equals(propertyNames, other.propertyNames)
 				&& Arrays.equals(instantaneousPropertyNames, other.instantaneousPropertyNames)
 				&& Arrays.equals(accumulatingPropertyNames, other.accumulatingPropertyNames)
-				&& Arrays.equals(statusPropertyNames, other.statusPropertyNames);
+				&& Arrays.equals(statusPropertyNames, other.statusPropertyNames)
+				&& Objects.equals(cursor, other.cursor);
 		// @formatter:on
 	}
 
@@ -198,6 +201,7 @@ public class BasicDatumCriteria extends BasicCoreCriteria implements DatumCriter
 			setDatumAuxiliaryType(c.getDatumAuxiliaryType());
 			setDatumRollupTypes(c.getDatumRollupTypes());
 			setStreamAliasMatchType(c.getStreamAliasMatchType());
+			setCursor(c.getCursor());
 		} else {
 			if ( criteria instanceof RecentCriteria c ) {
 				setMostRecent(c.isMostRecent());
@@ -220,6 +224,9 @@ public class BasicDatumCriteria extends BasicCoreCriteria implements DatumCriter
 			if ( criteria instanceof StreamAliasMatchCriteria c ) {
 				setStreamAliasMatchType(c.getStreamAliasMatchType());
 			}
+			if ( criteria instanceof KeysetCriteria c ) {
+				setCursor(c.getCursor());
+			}
 		}
 	}
 
@@ -356,7 +363,7 @@ public class BasicDatumCriteria extends BasicCoreCriteria implements DatumCriter
 				|| (statusPropertyNames != null && statusPropertyNames.length > 0)
 				|| (streamIds != null && streamIds.length > 0)
 				|| timeTolerance != null
-				// withoutTotalResultsCount, includeStreamAliases ignored
+				// withoutTotalResultsCount, includeStreamAliases, cursor ignored
 				;
 		// @formatter:on
 	}
@@ -889,4 +896,20 @@ public class BasicDatumCriteria extends BasicCoreCriteria implements DatumCriter
 		this.streamAliasMatchType = streamAliasMatchType;
 	}
 
+	@Override
+	public final @Nullable String getCursor() {
+		return cursor;
+	}
+
+	/**
+	 * Set the keyset pagination cursor.
+	 *
+	 * @param cursor
+	 *        the cursor to set
+	 * @since 1.8
+	 */
+	public final void setCursor(@Nullable String cursor) {
+		this.cursor = cursor;
+	}
+
 }
@@ -27,6 +27,7 @@ import java.util.Collection;
 import java.util.Map;
 import java.util.UUID;
 import org.jspecify.annotations.Nullable;
+import net.solarnetwork.central.common.dao.KeysetFilterResults;
 import net.solarnetwork.dao.BasicFilterResults;
 import net.solarnetwork.domain.Identity;
 import net.solarnetwork.domain.datum.ObjectDatumStreamMetadata;
@@ -35,13 +36,15 @@ import net.solarnetwork.domain.datum.ObjectDatumStreamMetadata;
  * Basic implementation of {@link ObjectDatumStreamFilterResults}.
  *
  * @author matt
- * @version 2.0
+ * @version 2.1
  * @since 2.8
  */
 public class BasicObjectDatumStreamFilterResults<M extends Identity<K>, K extends Comparable<K>>
-		extends BasicFilterResults<M, K> implements ObjectDatumStreamFilterResults<M, K> {
+		extends BasicFilterResults<M, K>
+		implements ObjectDatumStreamFilterResults<M, K>, KeysetFilterResults<M, K> {
 
 	private final Map<UUID, ObjectDatumStreamMetadata> streamMetadata;
+	private final @Nullable String nextCursor;
 
 	/**
 	 * Constructor.
@@ -62,8 +65,34 @@ public class BasicObjectDatumStreamFilterResults<M extends Identity<K>, K extend
 	public BasicObjectDatumStreamFilterResults(Map<UUID, ObjectDatumStreamMetadata> streamMetadata,
 			Iterable<M> results, @Nullable Long totalResults, long startingOffset,
 			int returnedResultCount) {
+		this(streamMetadata, results, totalResults, startingOffset, returnedResultCount, null);
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param streamMetadata
+	 *        the stream metadata to associate with the results
+	 * @param results
+	 *        the results iterable
+	 * @param totalResults
+	 *        the total available results, or {@code null}
+	 * @param startingOffset
+	 *        the starting offset
+	 * @param returnedResultCount
+	 *        the count of objects in {@code results}
+	 * @param nextCursor
+	 *        the cursor for the next page of results, or {@code null}
+	 * @throws IllegalArgumentException
+	 *         if {@code streamMetadata} is {@code null}
+	 * @since 2.1
+	 */
+	public BasicObjectDatumStreamFilterResults(Map<UUID, ObjectDatumStreamMetadata> streamMetadata,
+			Iterable<M> results, @Nullable Long totalResults, long startingOffset,
+			int returnedResultCount, @Nullable String nextCursor) {
 		super(results, totalResults, startingOffset, returnedResultCount);
 		this.streamMetadata = requireNonNullArgument(streamMetadata, "streamMetadata");
+		this.nextCursor = nextCursor;
 	}
 
 	/**
@@ -86,6 +115,7 @@ public class BasicObjectDatumStreamFilterResults<M extends Identity<K>, K extend
 			Iterable<M> results) {
 		super(results);
 		this.streamMetadata = requireNonNullArgument(streamMetadata, "streamMetadata");
+		this.nextCursor = null;
 	}
 
 	@Override
@@ -98,4 +128,14 @@ public class BasicObjectDatumStreamFilterResults<M extends Identity<K>, K extend
 		return streamMetadata.get(streamId);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @since 2.1
+	 */
+	@Override
+	public @Nullable String getNextCursor() {
+		return nextCursor;
+	}
+
 }
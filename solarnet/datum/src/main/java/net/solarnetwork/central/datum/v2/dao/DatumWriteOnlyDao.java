@@ -22,6 +22,9 @@
 
 package net.solarnetwork.central.datum.v2.dao;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import org.jspecify.annotations.Nullable;
 import net.solarnetwork.central.common.dao.GenericWriteOnlyDao;
 import net.solarnetwork.central.datum.domain.GeneralObjectDatum;
@@ -34,7 +37,7 @@ import net.solarnetwork.domain.datum.StreamDatum;
  * API for a write-only datum DAO.
  *
  * @author matt
- * @version 1.2
+ * @version 1.3
  */
 public interface DatumWriteOnlyDao
 		extends GenericWriteOnlyDao<GeneralObjectDatum<? extends GeneralObjectDatumKey>, DatumPK> {
@@ -62,4 +65,37 @@ public interface DatumWriteOnlyDao
 	@Nullable
 	DatumPK store(Datum datum);
 
+	/**
+	 * Store a collection of datum.
+	 *
+	 * <p>
+	 * Each element must be one of {@link GeneralObjectDatum},
+	 * {@link StreamDatum}, or {@link Datum}. This default implementation
+	 * stores each datum individually. Implementations are encouraged to
+	 * store the datum more efficiently as a batch.
+	 * </p>
+	 *
+	 * @param datum
+	 *        the datum to store
+	 * @return the stored primary keys, in the same order as {@code datum};
+	 *         each key will be {@code null} if the associated datum was not
+	 *         stored
+	 * @throws IllegalArgumentException
+	 *         if an unsupported datum type is provided
+	 * @since 1.3
+	 */
+	default List<@Nullable DatumPK> storeAll(Collection<?> datum) {
+		final List<@Nullable DatumPK> result = new ArrayList<>(datum.size());
+		for ( Object d : datum ) {
+			result.add(switch (d) {
+				case GeneralObjectDatum<?> gd -> persist(gd);
+				case StreamDatum sd -> store(sd);
+				case Datum cd -> store(cd);
+				case null, default -> throw new IllegalArgumentException(
+						"Unsupported datum type: " + d);
+			});
+		}
+		return result;
+	}
+
 }
@@ -23,6 +23,8 @@
 package net.solarnetwork.central.datum.v2.dao;
 
 import static net.solarnetwork.util.ObjectUtils.requireNonNullArgument;
+import java.util.Collection;
+import java.util.List;
 import org.jspecify.annotations.Nullable;
 import net.solarnetwork.central.common.dao.GenericWriteOnlyDao;
 import net.solarnetwork.central.datum.domain.GeneralObjectDatum;
@@ -39,7 +41,7 @@ import net.solarnetwork.domain.datum.StreamDatum;
  * </p>
  *
  * @author matt
- * @version 1.0
+ * @version 1.1
  */
 public final class DatumWriteOnlyDaoGenericAdapter implements GenericWriteOnlyDao<Object, DatumPK> {
 
@@ -68,4 +70,19 @@ public final class DatumWriteOnlyDaoGenericAdapter implements GenericWriteOnlyDa
 		};
 	}
 
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>
+	 * All entities are passed to {@link DatumWriteOnlyDao#storeAll(Collection)}
+	 * on the delegate DAO.
+	 * </p>
+	 *
+	 * @since 1.1
+	 */
+	@Override
+	public List<@Nullable DatumPK> persistAll(List<? extends Object> entities) {
+		return delegate.storeAll(entities);
+	}
+
 }
@@ -23,6 +23,9 @@
 package net.solarnetwork.central.datum.v2.dao;
 
 import static net.solarnetwork.util.ObjectUtils.requireNonNullArgument;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import org.jspecify.annotations.Nullable;
 import net.solarnetwork.central.common.dao.GenericWriteOnlyDao;
 import net.solarnetwork.central.datum.domain.GeneralObjectDatum;
@@ -40,7 +43,7 @@ import net.solarnetwork.domain.datum.StreamDatum;
  * </p>
  *
  * @author matt
- * @version 1.0
+ * @version 1.1
  */
 public final class GenericWriteOnlyDaoDatumAdapter implements DatumWriteOnlyDao {
 
@@ -73,4 +76,19 @@ public final class GenericWriteOnlyDaoDatumAdapter implements DatumWriteOnlyDao
 		return queue.persist(datum);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>
+	 * All datum are passed to {@link GenericWriteOnlyDao#persistAll(List)} on
+	 * the queue.
+	 * </p>
+	 *
+	 * @since 1.1
+	 */
+	@Override
+	public List<@Nullable DatumPK> storeAll(Collection<?> datum) {
+		return queue.persistAll(new ArrayList<>(datum));
+	}
+
 }
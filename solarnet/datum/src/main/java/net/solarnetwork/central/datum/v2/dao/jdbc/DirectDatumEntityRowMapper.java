@@ -0,0 +1,146 @@
+/* ==================================================================
+ * DirectDatumEntityRowMapper.java - 17/10/2026 5:02:37 pm
+ *
+ * Copyright 2026 SolarNetwork.net Dev Team
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation; either version 2 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA
+ * 02111-1307 USA
+ * ==================================================================
+ */
+
+package net.solarnetwork.central.datum.v2.dao.jdbc;
+
+import static net.solarnetwork.central.common.dao.jdbc.sql.CommonJdbcUtils.getDecimalArray;
+import static net.solarnetwork.central.common.dao.jdbc.sql.CommonJdbcUtils.timestampInstant;
+import static net.solarnetwork.central.common.dao.jdbc.sql.CommonJdbcUtils.uuid;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.UUID;
+import org.jspecify.annotations.Nullable;
+import org.springframework.jdbc.core.RowMapper;
+import net.solarnetwork.central.common.dao.jdbc.sql.CommonJdbcUtils;
+import net.solarnetwork.central.datum.v2.dao.DatumEntity;
+import net.solarnetwork.central.datum.v2.domain.Datum;
+import net.solarnetwork.domain.datum.DatumProperties;
+
+/**
+ * Map datum rows into {@link DatumEntity} instances, decoding column values
+ * directly rather than through {@link java.sql.Array} instances.
+ *
+ * <p>
+ * The expected column order in the SQL results is the same as
+ * {@link DatumEntityRowMapper}. The stream ID column is read as a native
+ * {@link UUID} value when the JDBC driver supports that, and the array columns
+ * are decoded from their text form with
+ * {@link CommonJdbcUtils#getDecimalArray(ResultSet, int)} and
+ * {@link CommonJdbcUtils#parseStringArrayLiteral(String)}.
+ * </p>
+ *
+ * <p>
+ * Rows are expected to be mostly ordered by stream, so the stream ID and the
+ * status and tag arrays of the previous row are kept and re-used for the next
+ * row when they have not changed. That makes this class <b>not</b> thread
+ * safe: a new instance should be used for each query.
+ * </p>
+ *
+ * @author matt
+ * @version 1.0
+ * @since 3.9
+ */
+public class DirectDatumEntityRowMapper implements RowMapper<Datum> {
+
+	private final StringArrayColumn status = new StringArrayColumn(6);
+	private final StringArrayColumn tags = new StringArrayColumn(7);
+	private @Nullable UUID streamId;
+
+	/**
+	 * Constructor.
+	 */
+	public DirectDatumEntityRowMapper() {
+		super();
+	}
+
+	@Override
+	public Datum mapRow(ResultSet rs, int rowNum) throws SQLException {
+		final UUID prevStreamId = streamId;
+		UUID sid = uuid(rs, 1);
+		if ( prevStreamId != null && prevStreamId.equals(sid) ) {
+			sid = prevStreamId;
+		} else {
+			streamId = sid;
+			status.reset();
+			tags.reset();
+		}
+		Instant ts = timestampInstant(rs, 2);
+		Instant recv = timestampInstant(rs, 3);
+		BigDecimal[] data_i = getDecimalArray(rs, 4);
+		BigDecimal[] data_a = getDecimalArray(rs, 5);
+		String[] data_s = status.value(rs);
+		String[] data_t = tags.value(rs);
+
+		return new DatumEntity(sid, ts, recv,
+				DatumProperties.propertiesOf(data_i, data_a, data_s, data_t));
+	}
+
+	/**
+	 * A text array column whose decoded value is re-used while its text form
+	 * does not change.
+	 */
+	private static final class StringArrayColumn {
+
+		private final int colNum;
+		private @Nullable String literal;
+		private String @Nullable [] value;
+
+		private StringArrayColumn(int colNum) {
+			super();
+			this.colNum = colNum;
+		}
+
+		private void reset() {
+			literal = null;
+			value = null;
+		}
+
+		private String @Nullable [] value(ResultSet rs) throws SQLException {
+			final String s = rs.getString(colNum);
+			if ( s == null ) {
+				return null;
+			}
+			final String[] prev = value;
+			if ( prev != null && s.equals(literal) ) {
+				// copy, so the returned array can be changed without affecting later rows
+				return prev.clone();
+			}
+			String[] result;
+			try {
+				result = CommonJdbcUtils.parseStringArrayLiteral(s);
+			} catch ( IllegalArgumentException e ) {
+				result = CommonJdbcUtils.getArray(rs, colNum);
+			}
+			if ( result != null ) {
+				literal = s;
+				value = result.clone();
+			} else {
+				reset();
+			}
+			return result;
+		}
+
+	}
+
+}
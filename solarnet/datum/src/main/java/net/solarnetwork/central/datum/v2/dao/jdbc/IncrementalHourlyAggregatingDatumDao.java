@@ -0,0 +1,233 @@
+/* ==================================================================
+ * IncrementalHourlyAggregatingDatumDao.java - 17/10/2026 11:24:16 pm
+ *
+ * Copyright 2026 SolarNetwork.net Dev Team
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation; either version 2 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA
+ * 02111-1307 USA
+ * ==================================================================
+ */
+
+package net.solarnetwork.central.datum.v2.dao.jdbc;
+
+import static net.solarnetwork.util.ObjectUtils.requireNonNullArgument;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcOperations;
+import net.solarnetwork.central.datum.domain.GeneralObjectDatum;
+import net.solarnetwork.central.datum.domain.GeneralObjectDatumKey;
+import net.solarnetwork.central.datum.v2.dao.AggregateDatumEntity;
+import net.solarnetwork.central.datum.v2.dao.BasicDatumCriteria;
+import net.solarnetwork.central.datum.v2.dao.DatumStreamMetadataDao;
+import net.solarnetwork.central.datum.v2.dao.DatumWriteOnlyDao;
+import net.solarnetwork.central.datum.v2.dao.jdbc.sql.StoreIncrementalHourlyAggregateDatum;
+import net.solarnetwork.central.datum.v2.domain.DatumPK;
+import net.solarnetwork.central.datum.v2.support.IncrementalHourlyAggregator;
+import net.solarnetwork.central.datum.v2.support.IncrementalHourlyAggregator.CompletedHour;
+import net.solarnetwork.domain.datum.Datum;
+import net.solarnetwork.domain.datum.ObjectDatumStreamMetadata;
+import net.solarnetwork.domain.datum.StreamDatum;
+import net.solarnetwork.util.StatTracker;
+
+/**
+ * {@link DatumWriteOnlyDao} that maintains hourly aggregates as datum are
+ * stored.
+ *
+ * <p>
+ * Each datum is stored by a delegate DAO, and then passed to an
+ * {@link IncrementalHourlyAggregator}. When an hour completes the aggregate is
+ * stored directly in the {@literal solardatm.agg_datm_hourly} table, removing
+ * the need for the stale aggregate processor to compute that hour. Hours that
+ * cannot be computed incrementally, for example because of out-of-order datum,
+ * are left to the stale aggregate processor.
+ * </p>
+ *
+ * <p>
+ * Failing to store an hourly aggregate does not affect storing datum: the
+ * stale aggregate record is only removed after the aggregate has been stored.
+ * </p>
+ *
+ * @author matt
+ * @version 1.0
+ */
+public class IncrementalHourlyAggregatingDatumDao implements DatumWriteOnlyDao {
+
+	/** The default value for the {@code statLogUpdateCount} property. */
+	public static final int DEFAULT_STAT_LOG_UPDATE_COUNT = 1000;
+
+	/**
+	 * Statistic counts.
+	 */
+	public enum Stats {
+
+		/** A completed hour was stored. */
+		HoursStored,
+
+		/**
+		 * A completed hour was not stored, because it did not match the
+		 * database state.
+		 */
+		HoursSkipped,
+
+		/** A completed hour was not stored because of an error. */
+		HoursFailed,
+
+		/** Datum discarded from incremental aggregation. */
+		DatumDiscarded,
+
+	}
+
+	private static final Logger log = LoggerFactory.getLogger(IncrementalHourlyAggregatingDatumDao.class);
+
+	private final DatumWriteOnlyDao delegate;
+	private final DatumStreamMetadataDao metaDao;
+	private final JdbcOperations jdbcOps;
+	private final IncrementalHourlyAggregator aggregator;
+	private final StatTracker stats;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param delegate
+	 *        the DAO to store datum with
+	 * @param metaDao
+	 *        the stream metadata DAO
+	 * @param jdbcOps
+	 *        the JDBC operations to store aggregates with
+	 * @param aggregator
+	 *        the aggregator
+	 * @throws IllegalArgumentException
+	 *         if any argument is {@code null}
+	 */
+	public IncrementalHourlyAggregatingDatumDao(DatumWriteOnlyDao delegate,
+			DatumStreamMetadataDao metaDao, JdbcOperations jdbcOps,
+			IncrementalHourlyAggregator aggregator) {
+		super();
+		this.delegate = requireNonNullArgument(delegate, "delegate");
+		this.metaDao = requireNonNullArgument(metaDao, "metaDao");
+		this.jdbcOps = requireNonNullArgument(jdbcOps, "jdbcOps");
+		this.aggregator = requireNonNullArgument(aggregator, "aggregator");
+		this.stats = new StatTracker("IncrementalHourlyAggregation", null, log,
+				DEFAULT_STAT_LOG_UPDATE_COUNT);
+	}
+
+	@Override
+	public @Nullable DatumPK persist(GeneralObjectDatum<? extends GeneralObjectDatumKey> entity) {
+		DatumPK result = delegate.persist(entity);
+		accept(result, entity);
+		return result;
+	}
+
+	@Override
+	public @Nullable DatumPK store(StreamDatum datum) {
+		DatumPK result = delegate.store(datum);
+		discard(result);
+		return result;
+	}
+
+	@Override
+	public @Nullable DatumPK store(Datum datum) {
+		DatumPK result = delegate.store(datum);
+		accept(result, datum);
+		return result;
+	}
+
+	@Override
+	public List<@Nullable DatumPK> storeAll(Collection<?> datum) {
+		List<@Nullable DatumPK> result = delegate.storeAll(datum);
+		Iterator<?> datumItr = datum.iterator();
+		for ( DatumPK pk : result ) {
+			if ( !datumItr.hasNext() ) {
+				break;
+			}
+			switch (datumItr.next()) {
+				case StreamDatum _ -> discard(pk);
+				case Datum d -> accept(pk, d);
+				case null, default -> discard(pk);
+			}
+		}
+		return result;
+	}
+
+	private void discard(@Nullable DatumPK pk) {
+		final var streamId = (pk != null ? pk.getStreamId() : null);
+		if ( streamId != null ) {
+			aggregator.discard(streamId);
+			stats.increment(Stats.DatumDiscarded, true);
+		}
+	}
+
+	private void accept(@Nullable DatumPK pk, Datum datum) {
+		final var streamId = (pk != null ? pk.getStreamId() : null);
+		final var ts = (pk != null ? pk.getTimestamp() : null);
+		if ( streamId == null || ts == null ) {
+			return;
+		}
+		final CompletedHour hour = aggregator.accept(streamId, ts, datum.asSampleOperations());
+		if ( hour != null ) {
+			storeHour(hour);
+		}
+	}
+
+	private void storeHour(CompletedHour hour) {
+		try {
+			final var filter = new BasicDatumCriteria();
+			filter.setStreamId(hour.getStreamId());
+			final ObjectDatumStreamMetadata meta = metaDao.findStreamMetadata(filter);
+			final AggregateDatumEntity agg = (meta != null ? hour.toAggregateDatum(meta) : null);
+			if ( meta == null || agg == null ) {
+				stats.increment(Stats.HoursSkipped);
+				return;
+			}
+			final String tz = (meta.getTimeZoneId() != null ? meta.getTimeZoneId() : "UTC");
+			final Long count = jdbcOps.query(new StoreIncrementalHourlyAggregateDatum(hour, agg, tz),
+					rs -> rs.next() ? rs.getLong(1) : 0L);
+			if ( count != null && count > 0 ) {
+				stats.increment(Stats.HoursStored);
+			} else {
+				log.debug("Hourly aggregate {} for stream {} did not match stored datum; "
+						+ "leaving for stale processing", hour.getHourStart(), hour.getStreamId());
+				stats.increment(Stats.HoursSkipped);
+			}
+		} catch ( DataAccessException e ) {
+			log.warn("Error storing hourly aggregate {} for stream {}: {}", hour.getHourStart(),
+					hour.getStreamId(), e.getMessage());
+			stats.increment(Stats.HoursFailed);
+		}
+	}
+
+	/**
+	 * Set the statistic log update count.
+	 *
+	 * <p>
+	 * Setting this to something greater than {@literal 0} will cause
+	 * {@literal INFO} level statistic log entries to be emitted every
+	 * {@code statLogUpdateCount} times an hour has been completed.
+	 * </p>
+	 *
+	 * @param statLogUpdateCount
+	 *        the update count; defaults to
+	 *        {@link #DEFAULT_STAT_LOG_UPDATE_COUNT}
+	 */
+	public final void setStatLogUpdateCount(int statLogUpdateCount) {
+		this.stats.setLogFrequency(statLogUpdateCount);
+	}
+
+}
@@ -26,6 +26,7 @@ import static net.solarnetwork.central.common.dao.jdbc.sql.CommonJdbcUtils.execu
 import static net.solarnetwork.util.ObjectUtils.requireNonNullArgument;
 import org.springframework.jdbc.core.JdbcOperations;
 import org.springframework.jdbc.core.PreparedStatementCreator;
+import net.solarnetwork.central.common.dao.KeysetCursor;
 import net.solarnetwork.central.datum.v2.dao.AuditDatumCriteria;
 import net.solarnetwork.central.datum.v2.dao.AuditDatumDao;
 import net.solarnetwork.central.datum.v2.dao.jdbc.sql.SelectAccumulativeAuditDatum;
@@ -38,7 +39,7 @@ import net.solarnetwork.dao.FilterResults;
  * {@link JdbcOperations} based implementation of {@link AuditDatumDao}.
  * 
  * @author matt
- * @version 1.0
+ * @version 1.1
  */
 public class JdbcAuditDatumEntityDao implements AuditDatumDao {
 
@@ -62,6 +63,11 @@ public class JdbcAuditDatumEntityDao implements AuditDatumDao {
 		if ( filter == null ) {
 			throw new IllegalArgumentException("The filter must be provided.");
 		}
+		if ( sql instanceof SelectAuditDatum s && s.isKeysetSupported() ) {
+			return executeFilterQuery(jdbcTemplate, filter, sql,
+					AuditDatumEntityRollupRowMapper.INSTANCE,
+					e -> KeysetCursor.of(e.getTimestamp(), e.getNodeId(), e.getSourceId()));
+		}
 		return executeFilterQuery(jdbcTemplate, filter, sql, AuditDatumEntityRollupRowMapper.INSTANCE);
 	}
 
@@ -63,7 +63,7 @@ import net.solarnetwork.domain.datum.StreamDatum;
  * Support for bulk loading datum.
  *
  * @author matt
- * @version 1.0
+ * @version 1.1
  */
 public class JdbcDatumBulkLoadingSupport {
 
@@ -207,6 +207,32 @@ public class JdbcDatumBulkLoadingSupport {
 			pcount += d.getProperties().getLength();
 		}
 
+		/**
+		 * Add statistics for a set of datum.
+		 *
+		 * @param start
+		 *        the minimum datum timestamp
+		 * @param end
+		 *        the maximum datum timestamp
+		 * @param datumCount
+		 *        the datum count
+		 * @param propCount
+		 *        the datum property count
+		 * @since 1.1
+		 */
+		public void updateStats(final Instant start, final Instant end, int datumCount,
+				int propCount) {
+			if ( getStartDate() == null || start.isBefore(getStartDate()) ) {
+				setStartDate(start);
+			}
+			if ( getEndDate() == null || end.isAfter(getEndDate()) ) {
+				setEndDate(end);
+			}
+
+			dcount += datumCount;
+			pcount += propCount;
+		}
+
 	}
 
 	/**
@@ -376,6 +402,30 @@ public class JdbcDatumBulkLoadingSupport {
 		stats.updateStatsForDatum(d);
 	}
 
+	/**
+	 * Update the stream statistics for a set of persisted datum.
+	 *
+	 * @param streamId
+	 *        the stream ID
+	 * @param kind
+	 *        the stream kind
+	 * @param start
+	 *        the minimum datum timestamp
+	 * @param end
+	 *        the maximum datum timestamp
+	 * @param datumCount
+	 *        the datum count
+	 * @param propCount
+	 *        the datum property count
+	 * @since 1.1
+	 */
+	public void updateStatsForStream(UUID streamId, ObjectDatumKind kind, Instant start,
+			Instant end, int datumCount, int propCount) {
+		StreamBulkLoadStats stats = streamStats.compute(streamId,
+				(k, v) -> (v != null ? v : new StreamBulkLoadStats(k, kind)));
+		stats.updateStats(start, end, datumCount, propCount);
+	}
+
 	/**
 	 * Persist stream statistics.
 	 *
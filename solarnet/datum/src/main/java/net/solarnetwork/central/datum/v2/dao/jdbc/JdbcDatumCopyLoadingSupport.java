@@ -0,0 +1,343 @@
+/* ==================================================================
+ * JdbcDatumCopyLoadingSupport.java - 17/10/2026 2:14:37 pm
+ *
+ * Copyright 2026 SolarNetwork.net Dev Team
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation; either version 2 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA
+ * 02111-1307 USA
+ * ==================================================================
+ */
+
+package net.solarnetwork.central.datum.v2.dao.jdbc;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static net.solarnetwork.util.ObjectUtils.requireNonNullArgument;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+import org.jspecify.annotations.Nullable;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import net.solarnetwork.central.common.dao.jdbc.sql.CommonJdbcUtils;
+import net.solarnetwork.domain.datum.ObjectDatumKind;
+
+/**
+ * Support for bulk loading node datum via the PostgreSQL {@literal COPY}
+ * protocol.
+ *
+ * <p>
+ * Datum are streamed into a temporary staging table using the binary
+ * {@literal COPY} format, and then merged into the datum tables with a single
+ * call to the {@literal solardatm.store_staged_datum()} database function.
+ * This avoids a database round trip for each datum loaded. The merge function
+ * returns statistics for each stream, which are added to a
+ * {@link JdbcDatumBulkLoadingSupport} so the audit and stale aggregate records
+ * can be updated once per stream.
+ * </p>
+ *
+ * <p>
+ * This class is not thread safe, and is designed to be used with a single
+ * connection and transaction at a time.
+ * </p>
+ *
+ * @author matt
+ * @version 1.0
+ */
+public class JdbcDatumCopyLoadingSupport {
+
+	/** The {@code stageTableName} property default value. */
+	public static final String DEFAULT_STAGE_TABLE_NAME = "datm_import_stage";
+
+	/** The {@code bufferSize} property default value. */
+	public static final int DEFAULT_BUFFER_SIZE = 65536;
+
+	/** The {@code storeStagedDatumSql} property default value. */
+	public static final String DEFAULT_STORE_STAGED_DATUM_SQL = "SELECT stream_id, ts_min, ts_max, datum_count, prop_count FROM solardatm.store_staged_datum(?::regclass)";
+
+	/** The binary {@literal COPY} header, with no flags or header extension. */
+	private static final byte[] COPY_HEADER = new byte[] { 'P', 'G', 'C', 'O', 'P', 'Y', '\n',
+			(byte) 0xFF, '\r', '\n', 0, 0, 0, 0, 0, 0, 0, 0, 0 };
+
+	/** The number of fields in each staged row. */
+	private static final short COPY_FIELD_COUNT = 6;
+
+	/** The PostgreSQL epoch (2000-01-01) as microseconds from the Unix epoch. */
+	private static final long PG_EPOCH_MICROS = 946_684_800_000_000L;
+
+	private final String stageTableName;
+	private final int bufferSize;
+	private final ByteArrayOutputStream buf;
+	private final DataOutputStream out;
+	private String storeStagedDatumSql = DEFAULT_STORE_STAGED_DATUM_SQL;
+	private @Nullable CopyIn copy;
+	private long stagedCount;
+
+	/**
+	 * Constructor.
+	 *
+	 * <p>
+	 * The {@link #DEFAULT_STAGE_TABLE_NAME} and {@link #DEFAULT_BUFFER_SIZE}
+	 * values will be used.
+	 * </p>
+	 */
+	public JdbcDatumCopyLoadingSupport() {
+		this(DEFAULT_STAGE_TABLE_NAME, DEFAULT_BUFFER_SIZE);
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param stageTableName
+	 *        the name of the temporary table to stage datum in
+	 * @param bufferSize
+	 *        the number of bytes to buffer before writing to the
+	 *        {@literal COPY} stream
+	 * @throws IllegalArgumentException
+	 *         if {@code stageTableName} is {@code null} or {@code bufferSize}
+	 *         is less than {@literal 1}
+	 */
+	public JdbcDatumCopyLoadingSupport(String stageTableName, int bufferSize) {
+		super();
+		this.stageTableName = requireNonNullArgument(stageTableName, "stageTableName");
+		if ( bufferSize < 1 ) {
+			throw new IllegalArgumentException("The bufferSize argument must be greater than 0.");
+		}
+		this.bufferSize = bufferSize;
+		this.buf = new ByteArrayOutputStream(bufferSize + 1024);
+		this.out = new DataOutputStream(buf);
+	}
+
+	/**
+	 * Stage a node datum.
+	 *
+	 * <p>
+	 * The first datum staged after construction or after a call to
+	 * {@link #merge(Connection, JdbcDatumBulkLoadingSupport)} or
+	 * {@link #cancel()} will create (if necessary) and truncate the staging
+	 * table, and then start a new {@literal COPY} operation on the given
+	 * connection. The same connection must be used for all datum staged before
+	 * the next merge.
+	 * </p>
+	 *
+	 * @param con
+	 *        the connection to use
+	 * @param ts
+	 *        the datum timestamp
+	 * @param nodeId
+	 *        the node ID
+	 * @param sourceId
+	 *        the source ID
+	 * @param received
+	 *        the datum received date
+	 * @param sampleJson
+	 *        the datum sample JSON
+	 * @throws SQLException
+	 *         if any SQL error occurs
+	 */
+	public void stage(Connection con, Instant ts, Long nodeId, String sourceId, Instant received,
+			@Nullable String sampleJson) throws SQLException {
+		try {
+			if ( copy == null ) {
+				copy = startCopy(con);
+				out.write(COPY_HEADER);
+			}
+			out.writeShort(COPY_FIELD_COUNT);
+			writeLong(++stagedCount);
+			writeTimestamp(ts);
+			writeLong(nodeId);
+			writeText(sourceId);
+			writeTimestamp(received);
+			writeText(sampleJson);
+			if ( buf.size() >= bufferSize ) {
+				flush();
+			}
+		} catch ( IOException e ) {
+			// writing to byte array does not throw IOException
+			throw new SQLException("Error encoding staged datum.", e);
+		}
+	}
+
+	private CopyIn startCopy(Connection con) throws SQLException {
+		try (Statement stmt = con.createStatement()) {
+			stmt.execute("""
+					CREATE TEMPORARY TABLE IF NOT EXISTS %s (
+						idx BIGINT NOT NULL,
+						ts TIMESTAMP WITH TIME ZONE NOT NULL,
+						node_id BIGINT NOT NULL,
+						source_id TEXT NOT NULL,
+						received TIMESTAMP WITH TIME ZONE NOT NULL,
+						jdata TEXT
+					)""".formatted(stageTableName));
+			stmt.execute("TRUNCATE " + stageTableName);
+		}
+		return con.unwrap(PGConnection.class).getCopyAPI()
+				.copyIn("COPY %s (idx, ts, node_id, source_id, received, jdata) FROM STDIN (FORMAT binary)"
+						.formatted(stageTableName));
+	}
+
+	private void writeLong(long value) throws IOException {
+		out.writeInt(8);
+		out.writeLong(value);
+	}
+
+	private void writeTimestamp(Instant ts) throws IOException {
+		writeLong(ChronoUnit.MICROS.between(Instant.EPOCH, ts) - PG_EPOCH_MICROS);
+	}
+
+	private void writeText(@Nullable String value) throws IOException {
+		if ( value == null ) {
+			out.writeInt(-1);
+			return;
+		}
+		byte[] data = value.getBytes(UTF_8);
+		out.writeInt(data.length);
+		out.write(data);
+	}
+
+	private void flush() throws SQLException {
+		final CopyIn c = copy;
+		if ( c != null && buf.size() > 0 ) {
+			c.writeToCopy(buf.toByteArray(), 0, buf.size());
+		}
+		buf.reset();
+	}
+
+	/**
+	 * Merge all staged datum into the datum tables.
+	 *
+	 * <p>
+	 * The stream statistics returned by the merge are added to {@code support}
+	 * via
+	 * {@link JdbcDatumBulkLoadingSupport#updateStatsForStream(UUID, ObjectDatumKind, Instant, Instant, int, int)}.
+	 * If no datum have been staged, nothing is done.
+	 * </p>
+	 *
+	 * @param con
+	 *        the connection to use; must be the same connection passed to
+	 *        {@link #stage(Connection, Instant, Long, String, Instant, String)}
+	 * @param support
+	 *        the support to add the stream statistics to
+	 * @return the number of datum merged
+	 * @throws SQLException
+	 *         if any SQL error occurs
+	 */
+	public long merge(Connection con, JdbcDatumBulkLoadingSupport support) throws SQLException {
+		final CopyIn c = copy;
+		if ( c == null ) {
+			return 0;
+		}
+		try {
+			out.writeShort(-1);
+			flush();
+			c.endCopy();
+		} catch ( IOException e ) {
+			throw new SQLException("Error encoding staged datum trailer.", e);
+		} finally {
+			copy = null;
+			buf.reset();
+		}
+		long count = 0;
+		try (PreparedStatement stmt = con.prepareStatement(storeStagedDatumSql)) {
+			stmt.setString(1, stageTableName);
+			try (ResultSet rs = stmt.executeQuery()) {
+				while ( rs.next() ) {
+					UUID streamId = CommonJdbcUtils.getUuid(rs, 1);
+					if ( streamId == null ) {
+						continue;
+					}
+					int datumCount = rs.getInt(4);
+					support.updateStatsForStream(streamId, ObjectDatumKind.Node,
+							rs.getTimestamp(2).toInstant(), rs.getTimestamp(3).toInstant(), datumCount,
+							rs.getInt(5));
+					count += datumCount;
+				}
+			}
+		}
+		stagedCount = 0;
+		return count;
+	}
+
+	/**
+	 * Cancel any active {@literal COPY} operation, discarding all staged
+	 * datum.
+	 */
+	public void cancel() {
+		final CopyIn c = copy;
+		copy = null;
+		buf.reset();
+		stagedCount = 0;
+		if ( c != null && c.isActive() ) {
+			try {
+				c.cancelCopy();
+			} catch ( SQLException e ) {
+				// ignore
+			}
+		}
+	}
+
+	/**
+	 * Get the number of datum staged since the last merge.
+	 *
+	 * @return the staged count
+	 */
+	public long getStagedCount() {
+		return stagedCount;
+	}
+
+	/**
+	 * Get the staging table name.
+	 *
+	 * @return the table name
+	 */
+	public final String getStageTableName() {
+		return stageTableName;
+	}
+
+	/**
+	 * Get the "store staged datum" SQL.
+	 *
+	 * @return the SQL; defaults to {@link #DEFAULT_STORE_STAGED_DATUM_SQL}
+	 */
+	public final String getStoreStagedDatumSql() {
+		return storeStagedDatumSql;
+	}
+
+	/**
+	 * Set the "store staged datum" SQL.
+	 *
+	 * <p>
+	 * The SQL must accept a single table name parameter, and return the stream
+	 * ID, minimum timestamp, maximum timestamp, datum count, and property count
+	 * columns for each stream merged.
+	 * </p>
+	 *
+	 * @param storeStagedDatumSql
+	 *        the SQL to set; if {@code null} then
+	 *        {@link #DEFAULT_STORE_STAGED_DATUM_SQL} will be used
+	 */
+	public final void setStoreStagedDatumSql(@Nullable String storeStagedDatumSql) {
+		this.storeStagedDatumSql = (storeStagedDatumSql != null ? storeStagedDatumSql
+				: DEFAULT_STORE_STAGED_DATUM_SQL);
+	}
+
+}
@@ -49,6 +49,7 @@ import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
@@ -67,8 +68,11 @@ import org.springframework.jdbc.core.PreparedStatementCreator;
 import org.springframework.jdbc.core.ResultSetExtractor;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.transaction.PlatformTransactionManager;
+import net.solarnetwork.central.common.dao.KeysetCursor;
+import net.solarnetwork.central.common.dao.KeysetFilterResults;
 import net.solarnetwork.central.common.dao.jdbc.CountPreparedStatementCreatorProvider;
 import net.solarnetwork.central.common.dao.jdbc.ObjectDatumStreamMetadataIdRowMapper;
+import net.solarnetwork.central.common.dao.jdbc.sql.CommonJdbcUtils;
 import net.solarnetwork.central.datum.domain.DatumReadingType;
 import net.solarnetwork.central.datum.domain.GeneralLocationDatum;
 import net.solarnetwork.central.datum.domain.GeneralNodeDatum;
@@ -111,6 +115,8 @@ import net.solarnetwork.central.datum.v2.dao.jdbc.sql.SelectStaleAggregateDatum;
 import net.solarnetwork.central.datum.v2.dao.jdbc.sql.SelectStreamMetadata;
 import net.solarnetwork.central.datum.v2.dao.jdbc.sql.StoreDatum;
 import net.solarnetwork.central.datum.v2.dao.jdbc.sql.StoreGeneralObjectDatum;
+import net.solarnetwork.central.datum.v2.dao.jdbc.sql.StoreGeneralObjectDatumBatch;
+import net.solarnetwork.central.datum.v2.dao.jdbc.sql.StoreStreamDatumBatch;
 import net.solarnetwork.central.datum.v2.dao.jdbc.sql.UpdateObjectStreamMetadataAttributes;
 import net.solarnetwork.central.datum.v2.dao.jdbc.sql.UpdateObjectStreamMetadataJson;
 import net.solarnetwork.central.datum.v2.domain.AuditDatum;
@@ -148,7 +154,7 @@ import net.solarnetwork.util.StringLongMapping;
  * {@link JdbcOperations} based implementation of {@link DatumEntityDao}.
  *
  * @author matt
- * @version 3.2
+ * @version 3.5
  * @since 3.8
  */
 public class JdbcDatumEntityDao
@@ -183,6 +189,13 @@ public class JdbcDatumEntityDao
 	 */
 	public static final int DEFAULT_MAX_MINUTE_AGG_HOURS = (24 * 7 * 5);
 
+	/**
+	 * The {@code streamFetchSize} property default value.
+	 *
+	 * @since 3.3
+	 */
+	public static final int DEFAULT_STREAM_FETCH_SIZE = 1000;
+
 	private final JdbcOperations jdbcTemplate;
 	private @Nullable Cache<UUID, ObjectDatumStreamMetadata> streamMetadataCache;
 	private @Nullable Cache<net.solarnetwork.domain.datum.ObjectDatumStreamMetadataId, ObjectDatumStreamMetadata> streamObjectMetadataCache;
@@ -193,6 +206,8 @@ public class JdbcDatumEntityDao
 	private String bulkLoadMarkStaleJdbcCall = DEFAULT_BULK_LOADING_MARK_STALE_JDBC_CALL;
 	private String bulkLoadAuditJdbcCall = DEFAULT_BULK_LOADING_AUDIT_CALL;
 	private int maxMinuteAggregationHours = DEFAULT_MAX_MINUTE_AGG_HOURS;
+	private int streamFetchSize = DEFAULT_STREAM_FETCH_SIZE;
+	private boolean bulkLoadCopy;
 
 	/**
 	 * Constructor.
@@ -240,6 +255,94 @@ public class JdbcDatumEntityDao
 		});
 	}
 
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>
+	 * This implementation delegates to {@link #storeAll(Collection)}.
+	 * </p>
+	 *
+	 * @since 3.3
+	 */
+	@Override
+	public List<@Nullable DatumPK> persistAll(
+			List<? extends GeneralObjectDatum<? extends GeneralObjectDatumKey>> datum) {
+		return storeAll(datum);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>
+	 * This implementation stores all node datum with a single call to the
+	 * {@code solardatm.store_datum_batch()} database function, and all stream
+	 * datum with a single call to the
+	 * {@code solardatm.store_stream_datum_batch()} database function. Both
+	 * update the stale aggregate and audit count data once for the entire batch
+	 * rather than once per datum. Location datum are still stored individually.
+	 * </p>
+	 *
+	 * @since 3.3
+	 */
+	@Override
+	public List<@Nullable DatumPK> storeAll(Collection<?> datum) {
+		if ( datum == null || datum.isEmpty() ) {
+			return new ArrayList<>(0);
+		}
+		final Instant now = Instant.now();
+		final List<@Nullable DatumPK> result = new ArrayList<>(datum.size());
+		final List<GeneralObjectDatum<? extends GeneralObjectDatumKey>> nodeDatum = new ArrayList<>(
+				datum.size());
+		final List<Integer> nodeDatumIdxs = new ArrayList<>(datum.size());
+		final List<DatumEntity> streamDatum = new ArrayList<>(datum.size());
+		for ( Object o : datum ) {
+			if ( o instanceof StreamDatum sd ) {
+				DatumEntity entity = switch (sd) {
+					case DatumEntity d -> d;
+					default -> new DatumEntity(sd.getStreamId(), sd.getTimestamp(), now,
+							sd.getProperties());
+				};
+				streamDatum.add(entity);
+				result.add(entity.pk());
+				continue;
+			}
+			final GeneralObjectDatum<? extends GeneralObjectDatumKey> d = switch (o) {
+				case GeneralObjectDatum<?> gd -> gd;
+				case net.solarnetwork.domain.datum.Datum gd -> (gd.getObjectId() != null
+						&& gd.getSourceId() != null ? convertGeneralDatum(gd, now) : null);
+				case null, default -> throw new IllegalArgumentException(
+						"Unsupported datum type: " + o);
+			};
+			if ( d == null || d.getId() == null || d.getId().getObjectId() == null
+					|| d.getId().getSourceId() == null || d.getSamples() == null
+					|| d.getSamples().isEmpty() ) {
+				result.add(null);
+			} else if ( d.getId().getKind() == ObjectDatumKind.Location ) {
+				result.add(persist(d));
+			} else {
+				nodeDatumIdxs.add(result.size());
+				nodeDatum.add(d);
+				result.add(null);
+			}
+		}
+		if ( !streamDatum.isEmpty() ) {
+			jdbcTemplate.execute(new StoreStreamDatumBatch(streamDatum), PreparedStatement::execute);
+		}
+		if ( nodeDatum.isEmpty() ) {
+			return result;
+		}
+		final var sql = new StoreGeneralObjectDatumBatch(nodeDatum);
+		jdbcTemplate.query(sql, rs -> {
+			// datum_idx is 1-based
+			final int idx = rs.getInt(1) - 1;
+			final UUID streamId = CommonJdbcUtils.getUuid(rs, 2);
+			if ( streamId != null ) {
+				result.set(nodeDatumIdxs.get(idx), new DatumPK(streamId, sql.getTimestamp(idx)));
+			}
+		});
+		return result;
+	}
+
 	private static @Nullable UUID uuidFromCall(CallableStatement call, int parameterIndex)
 			throws SQLException {
 		Object streamId = call.getObject(parameterIndex);
@@ -341,7 +444,7 @@ public class JdbcDatumEntityDao
 		} else if ( filter.getReadingType() != null ) {
 			return (RowMapper) ReadingDatumEntityRowMapper.INSTANCE;
 		}
-		return DatumEntityRowMapper.INSTANCE;
+		return new DirectDatumEntityRowMapper();
 	}
 
 	private void validateFilter(DatumCriteria filter) {
@@ -375,7 +478,13 @@ public class JdbcDatumEntityDao
 		final PreparedStatementCreator sql = filterSql(filter);
 		final RowMapper<Datum> mapper = mapper(filter);
 
-		FilterResults<Datum, DatumPK> results = executeFilterQuery(jdbcTemplate, filter, sql, mapper);
+		final FilterResults<Datum, DatumPK> results;
+		if ( sql instanceof SelectDatum s && s.isKeysetSupported() ) {
+			results = executeFilterQuery(jdbcTemplate, filter, sql, mapper,
+					d -> KeysetCursor.of(d.getStreamId(), d.getTimestamp()));
+		} else {
+			results = executeFilterQuery(jdbcTemplate, filter, sql, mapper);
+		}
 
 		if ( mapper instanceof ObjectDatumStreamMetadataProvider p ) {
 			// virtual streams use this
@@ -400,7 +509,8 @@ public class JdbcDatumEntityDao
 		}
 		return new BasicObjectDatumStreamFilterResults<>(metaMap, results.getResults(),
 				results.getTotalResults(), results.getStartingOffset(),
-				results.getReturnedResultCount());
+				results.getReturnedResultCount(),
+				results instanceof KeysetFilterResults<?, ?> k ? k.getNextCursor() : null);
 	}
 
 	@Override
@@ -430,9 +540,35 @@ public class JdbcDatumEntityDao
 			throw new DataRetrievalFailureException(
 					"No streams available that match the given criteria.");
 		}
-		processor.start(null, null, null, singletonMap(METADATA_PROVIDER_ATTR, metadataProvider)); // TODO: support count total results/offset/max
+
+		// count total results only for paged queries, like executeFilterQuery() does
+		final Integer pageSize = filter.getMax();
+		Long totalCount = null;
+		Integer startingOffset = null;
+		Integer expectedCount = null;
+		if ( pageSize != null ) {
+			final Long offsetValue = filter.getOffset();
+			final long offset = (offsetValue != null ? offsetValue : 0L);
+			startingOffset = (int) Math.min(offset, Integer.MAX_VALUE);
+			if ( !filter.isMostRecent() && !filter.isWithoutTotalResultsCount()
+					&& sql instanceof CountPreparedStatementCreatorProvider c ) {
+				totalCount = executeCountQuery(jdbcTemplate, c.countPreparedStatementCreator());
+				if ( totalCount != null ) {
+					expectedCount = (int) Math.min(pageSize, Math.max(0L, totalCount - offset));
+				}
+			}
+		}
+
+		processor.start(totalCount, startingOffset, expectedCount,
+				singletonMap(METADATA_PROVIDER_ATTR, metadataProvider));
+		final int fetchSize = streamFetchSize;
 		try {
 			jdbcTemplate.execute(sql, (PreparedStatement ps) -> {
+				if ( fetchSize > 0 && ps.getFetchSize() < 1 ) {
+					// stream rows with a cursor, rather than loading all into memory; this only
+					// happens within a transaction when using Postgres
+					ps.setFetchSize(fetchSize);
+				}
 				try (ResultSet rs = ps.executeQuery()) {
 					int row = 0;
 					while ( rs.next() ) {
@@ -440,6 +576,8 @@ public class JdbcDatumEntityDao
 						processor.handleResultItem(d);
 					}
 				} catch ( IOException e ) {
+					// the client has most likely gone away: stop reading rows; closing the result
+					// set ends the cursor so no more rows are fetched from the database
 					throw new RuntimeException(e);
 				}
 				return null;
@@ -760,7 +898,7 @@ public class JdbcDatumEntityDao
 		PreparedStatementCreator sql = filterSql(filter);
 		RowMapper<? extends Datum> mapper = (agg != Aggregation.None
 				? mapperForAggregate(agg, filter.getReadingType() != null)
-				: DatumEntityRowMapper.INSTANCE);
+				: new DirectDatumEntityRowMapper());
 
 		// attempt count first, if NOT mostRecent query and NOT a *Minute, *DayOfWeek, or *HourOfDay, or RunningTotal aggregate levels
 		Long totalCount = null;
@@ -936,6 +1074,9 @@ public class JdbcDatumEntityDao
 	@Override
 	public LoadingContext<GeneralNodeDatum> createBulkLoadingContext(LoadingOptions options,
 			LoadingExceptionHandler<GeneralNodeDatum> exceptionHandler) {
+		if ( bulkLoadCopy && options.getTransactionMode() != LoadingTransactionMode.NoTransaction ) {
+			return new CopyBulkLoadingContext(options, exceptionHandler);
+		}
 		return new BulkLoadingContext(options, exceptionHandler);
 	}
 
@@ -1015,6 +1156,64 @@ public class JdbcDatumEntityDao
 
 	}
 
+	private class CopyBulkLoadingContext
+			extends JdbcDatumBulkLoadingContextSupport<GeneralNodeDatum> {
+
+		private final Instant start;
+		private final JdbcDatumBulkLoadingSupport support;
+		private final JdbcDatumCopyLoadingSupport copySupport;
+
+		private CopyBulkLoadingContext(LoadingOptions options,
+				LoadingExceptionHandler<GeneralNodeDatum> exceptionHandler) {
+			super(bulkLoadTransactionManager, nonnull(bulkLoadDataSource, "bulkLoadDataSource"),
+					bulkLoadJdbcCall, options, exceptionHandler);
+			start = Instant.now();
+			support = new JdbcDatumBulkLoadingSupport(Clock.systemUTC());
+			copySupport = new JdbcDatumCopyLoadingSupport();
+			setCountTrackerProvider(StringLongMapping::new);
+		}
+
+		@Override
+		protected boolean doLoadDatum(GeneralNodeDatum d, PreparedStatement stmt, long index)
+				throws SQLException {
+			final Instant posted = d.getPosted();
+			copySupport.stage(stmt.getConnection(), d.getCreated(), d.getNodeId(), d.getSourceId(),
+					posted != null ? posted : start, d.getSampleJson());
+			return true;
+		}
+
+		@Override
+		public void commit() {
+			try {
+				copySupport.merge(getConnection(), support);
+				support.persistStreamStats(getConnection());
+			} catch ( SQLException e ) {
+				BulkLoadingDao.LoadingExceptionHandler<GeneralNodeDatum> handler = getExceptionHandler();
+				String msg = "Error storing staged datum or updating audit/stale datum records.";
+				if ( handler != null ) {
+					handler.handleLoadingException(new RuntimeException(msg, e), this);
+				} else {
+					log.error(msg, e);
+				}
+			}
+			super.commit();
+		}
+
+		@Override
+		public void rollback() {
+			copySupport.cancel();
+			support.getStreamStats().clear();
+			super.rollback();
+		}
+
+		@Override
+		public void close() {
+			copySupport.cancel();
+			super.close();
+		}
+
+	}
+
 	/**
 	 * Get the stream metadata cache.
 	 *
@@ -1163,6 +1362,69 @@ public class JdbcDatumEntityDao
 		this.maxMinuteAggregationHours = maxMinuteAggregationHours;
 	}
 
+	/**
+	 * Get the JDBC fetch size to use for streaming queries.
+	 *
+	 * @return the fetch size; defaults to {@link #DEFAULT_STREAM_FETCH_SIZE}
+	 * @since 3.3
+	 */
+	public final int getStreamFetchSize() {
+		return streamFetchSize;
+	}
+
+	/**
+	 * Set the JDBC fetch size to use for streaming queries.
+	 *
+	 * <p>
+	 * This is applied to the streaming query methods like
+	 * {@link #findFilteredStream(DatumCriteria, StreamDatumFilteredResultsProcessor, List, Long, Integer)}
+	 * when the query does not already define a fetch size, so that results can
+	 * be read from a database cursor in chunks rather than all at once. The
+	 * Postgres JDBC driver only does this when the query runs within a
+	 * transaction.
+	 * </p>
+	 *
+	 * @param streamFetchSize
+	 *        the fetch size to set; anything less than {@literal 1} means use
+	 *        the JDBC driver default
+	 * @since 3.3
+	 */
+	public final void setStreamFetchSize(int streamFetchSize) {
+		this.streamFetchSize = streamFetchSize;
+	}
+
+	/**
+	 * Get the bulk loading {@literal COPY} mode.
+	 *
+	 * @return {@code true} to bulk load datum with the PostgreSQL
+	 *         {@literal COPY} protocol; defaults to {@code false}
+	 * @since 3.4
+	 */
+	public final boolean isBulkLoadCopy() {
+		return bulkLoadCopy;
+	}
+
+	/**
+	 * Set the bulk loading {@literal COPY} mode.
+	 *
+	 * <p>
+	 * When enabled, bulk loading contexts that use transactions stream datum
+	 * into a temporary staging table with the PostgreSQL {@literal COPY}
+	 * protocol, and merge the staged datum into the datum tables when
+	 * committed. This avoids one database round trip per datum. Contexts
+	 * using {@link LoadingTransactionMode#NoTransaction} always store each
+	 * datum individually.
+	 * </p>
+	 *
+	 * @param bulkLoadCopy
+	 *        {@code true} to bulk load datum with the PostgreSQL
+	 *        {@literal COPY} protocol
+	 * @since 3.4
+	 */
+	public final void setBulkLoadCopy(boolean bulkLoadCopy) {
+		this.bulkLoadCopy = bulkLoadCopy;
+	}
+
 	/**
 	 * Get the bulk loading stream JDBC call.
 	 *
@@ -28,8 +28,12 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Timestamp;
+import org.jspecify.annotations.Nullable;
 import org.springframework.jdbc.core.PreparedStatementCreator;
 import org.springframework.jdbc.core.SqlProvider;
+import net.solarnetwork.central.common.dao.KeysetCriteria;
+import net.solarnetwork.central.common.dao.KeysetCursor;
 import net.solarnetwork.central.common.dao.jdbc.CountPreparedStatementCreatorProvider;
 import net.solarnetwork.central.common.dao.jdbc.sql.CommonSqlUtils;
 import net.solarnetwork.central.datum.domain.DatumRollupType;
@@ -42,7 +46,7 @@ import net.solarnetwork.domain.datum.Aggregation;
  * filter.
  *
  * @author matt
- * @version 1.4
+ * @version 1.5
  * @since 3.8
  */
 public sealed class SelectAuditDatum implements PreparedStatementCreator, SqlProvider,
@@ -51,6 +55,15 @@ public sealed class SelectAuditDatum implements PreparedStatementCreator, SqlPro
 	protected final AuditDatumCriteria filter;
 	protected final Aggregation aggregation;
 
+	/**
+	 * The keyset columns, matching the default sort order.
+	 *
+	 * @since 1.5
+	 */
+	public static final String[] KEYSET_COLUMNS = { "datum.ts_start", "s.node_id", "s.source_id" };
+
+	private final @Nullable KeysetCursor cursor;
+
 	@SuppressWarnings("StatementSwitchToExpressionSwitch")
 	private static Aggregation aggregation(AuditDatumCriteria filter) {
 		// limit aggregation to specific supported ones
@@ -70,6 +83,25 @@ public sealed class SelectAuditDatum implements PreparedStatementCreator, SqlPro
 		return aggregation;
 	}
 
+	private static boolean keysetSupported(AuditDatumCriteria filter) {
+		return !(filter.isMostRecent() || filter.hasDatumRollupCriteria() || filter.hasSorts());
+	}
+
+	private static @Nullable KeysetCursor cursor(AuditDatumCriteria filter) {
+		if ( !(filter instanceof KeysetCriteria k) ) {
+			return null;
+		}
+		final String c = k.getCursor();
+		if ( c == null || c.isEmpty() ) {
+			return null;
+		}
+		if ( !keysetSupported(filter) ) {
+			throw new IllegalArgumentException(
+					"A cursor is only supported with the default sort order and no rollups.");
+		}
+		return KeysetCursor.parse(c, KEYSET_COLUMNS.length);
+	}
+
 	/**
 	 * Constructor.
 	 *
@@ -90,12 +122,29 @@ public sealed class SelectAuditDatum implements PreparedStatementCreator, SqlPro
 	 * @param aggregation
 	 *        the aggregation
 	 * @throws IllegalArgumentException
-	 *         if any argument is {@code null}
+	 *         if any argument is {@code null}, or the filter provides a
+	 *         cursor that is invalid or not supported by the other criteria
 	 */
 	protected SelectAuditDatum(AuditDatumCriteria filter, Aggregation aggregation) {
 		super();
 		this.filter = requireNonNullArgument(filter, "filter");
 		this.aggregation = requireNonNullArgument(aggregation, "aggregation");
+		this.cursor = cursor(filter);
+	}
+
+	/**
+	 * Test if keyset pagination is supported by the configured criteria.
+	 *
+	 * <p>
+	 * Keyset pagination is only supported for queries without rollups using
+	 * the default time, node, and source sort order.
+	 * </p>
+	 *
+	 * @return {@code true} if a keyset cursor can be used
+	 * @since 1.5
+	 */
+	public boolean isKeysetSupported() {
+		return keysetSupported(filter);
 	}
 
 	/**
@@ -204,6 +253,10 @@ public sealed class SelectAuditDatum implements PreparedStatementCreator, SqlPro
 	 *        the buffer to append the SQL to
 	 */
 	protected void sqlCore(StringBuilder buf) {
+		sqlCore(buf, false);
+	}
+
+	private void sqlCore(StringBuilder buf, boolean keyset) {
 		sqlCte(buf);
 		buf.append("SELECT ");
 		sqlSelectPk(buf);
@@ -215,7 +268,7 @@ public sealed class SelectAuditDatum implements PreparedStatementCreator, SqlPro
 			sqlSelectDay(buf);
 		}
 		sqlFrom(buf);
-		sqlWhere(buf);
+		sqlWhere(buf, keyset);
 		sqlRollupGroup(buf);
 	}
 
@@ -268,11 +321,18 @@ public sealed class SelectAuditDatum implements PreparedStatementCreator, SqlPro
 	 *        the buffer to append the SQL to
 	 */
 	protected void sqlWhere(StringBuilder buf) {
+		sqlWhere(buf, false);
+	}
+
+	private void sqlWhere(StringBuilder buf, boolean keyset) {
 		StringBuilder where = new StringBuilder();
 		int idx = filter.hasLocalDateRange()
 				? DatumSqlUtils.whereLocalDateRange(filter, aggregation,
 						DatumSqlUtils.SQL_AT_STREAM_METADATA_TIME_ZONE, where)
 				: DatumSqlUtils.whereDateRange(filter, aggregation, where);
+		if ( keyset ) {
+			idx += CommonSqlUtils.whereKeysetAfter(KEYSET_COLUMNS, where);
+		}
 		if ( idx > 0 ) {
 			buf.append("WHERE").append(where.substring(4));
 		}
@@ -337,9 +397,13 @@ public sealed class SelectAuditDatum implements PreparedStatementCreator, SqlPro
 	@Override
 	public String getSql() {
 		StringBuilder buf = new StringBuilder();
-		sqlCore(buf);
+		sqlCore(buf, cursor != null);
 		sqlOrderBy(buf);
-		CommonSqlUtils.limitOffset(filter, buf);
+		if ( cursor != null ) {
+			CommonSqlUtils.limit(filter, buf);
+		} else {
+			CommonSqlUtils.limitOffset(filter, buf);
+		}
 		return buf.toString();
 	}
 
@@ -358,7 +422,15 @@ public sealed class SelectAuditDatum implements PreparedStatementCreator, SqlPro
 		PreparedStatement stmt = con.prepareStatement(getSql(), ResultSet.TYPE_FORWARD_ONLY,
 				ResultSet.CONCUR_READ_ONLY, ResultSet.CLOSE_CURSORS_AT_COMMIT);
 		int p = prepareCore(con, stmt, 0);
-		DatumSqlUtils.preparePaginationFilter(filter, con, stmt, p);
+		final KeysetCursor c = cursor;
+		if ( c != null ) {
+			stmt.setTimestamp(++p, Timestamp.from(c.instantValue(0)));
+			stmt.setObject(++p, c.longValue(1));
+			stmt.setString(++p, c.stringValue(2));
+			CommonSqlUtils.prepareLimit(filter, stmt, p);
+		} else {
+			DatumSqlUtils.preparePaginationFilter(filter, con, stmt, p);
+		}
 		return stmt;
 	}
 
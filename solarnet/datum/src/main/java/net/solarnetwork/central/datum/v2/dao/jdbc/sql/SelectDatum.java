@@ -34,11 +34,14 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.sql.Types;
 import java.time.LocalDate;
 import org.jspecify.annotations.Nullable;
 import org.springframework.jdbc.core.PreparedStatementCreator;
 import org.springframework.jdbc.core.SqlProvider;
+import net.solarnetwork.central.common.dao.KeysetCriteria;
+import net.solarnetwork.central.common.dao.KeysetCursor;
 import net.solarnetwork.central.common.dao.jdbc.CountPreparedStatementCreatorProvider;
 import net.solarnetwork.central.common.dao.jdbc.sql.CommonSqlUtils;
 import net.solarnetwork.central.datum.domain.DatumRollupType;
@@ -51,7 +54,7 @@ import net.solarnetwork.domain.datum.Aggregation;
  * Select for {@link DatumEntity} instances via a {@link DatumCriteria} filter.
  *
  * @author matt
- * @version 1.7
+ * @version 1.9
  * @since 3.8
  */
 public final class SelectDatum
@@ -71,6 +74,7 @@ public final class SelectDatum
 	private final @Nullable CombiningConfig combine;
 	private final @Nullable DatumRollupType rollup;
 	private final int fetchSize;
+	private final @Nullable KeysetCursor cursor;
 
 	/**
 	 * Constructor.
@@ -136,6 +140,56 @@ public final class SelectDatum
 		this.fetchSize = fetchSize;
 		this.aliased = (filter.includeStreamAliases() && filter.getObjectKind() != Location);
 		this.metaStreamIdColumnName = (aliased ? "s.orig_stream_id" : "s.stream_id");
+
+		// support keyset pagination for raw datum in the default sort order
+		final String c = (filter instanceof KeysetCriteria k ? k.getCursor() : null);
+		if ( c != null && !c.isEmpty() ) {
+			if ( !isKeysetSupported() ) {
+				throw new IllegalArgumentException(
+						"A cursor is only supported for raw datum in the default sort order.");
+			}
+			this.cursor = KeysetCursor.parse(c, 2);
+		} else {
+			this.cursor = null;
+		}
+	}
+
+	/**
+	 * Test if keyset pagination is supported by the configured criteria.
+	 *
+	 * <p>
+	 * Keyset pagination is only supported for raw datum queries using the
+	 * default stream and time sort order.
+	 * </p>
+	 *
+	 * @return {@code true} if a keyset cursor can be used
+	 * @since 1.8
+	 */
+	public boolean isKeysetSupported() {
+		return (aggregation == Aggregation.None && combine == null && rollup == null
+				&& !filter.isMostRecent() && !filter.hasSorts());
+	}
+
+	/**
+	 * Test if the latest datum table can be used to find the most recent datum
+	 * per stream.
+	 *
+	 * <p>
+	 * The {@code solardatm.da_datm_latest} table tracks the latest datum
+	 * timestamp per stream, so a raw most-recent query without any date
+	 * criteria can add that timestamp as an upper bound to the per-stream
+	 * {@code ORDER BY ts DESC LIMIT 1} search. That lets the database skip
+	 * datum partitions after the bound, but each stream is still searched
+	 * with its own index scan. The table is outer-joined, so streams without
+	 * a latest datum row are still searched, just without the timestamp
+	 * bound.
+	 * </p>
+	 *
+	 * @return {@code true} if the latest datum table can be used
+	 */
+	private boolean isMostRecentLatest() {
+		return (filter.isMostRecent() && aggregation == Aggregation.None
+				&& !filter.hasDateOrLocalDate());
 	}
 
 	private boolean isDateOrLocalDateRangeRequired() {
@@ -340,12 +394,20 @@ public final class SelectDatum
 	private void sqlFrom(StringBuilder buf) {
 		buf.append("FROM s\n");
 		if ( filter.isMostRecent() ) {
+			final boolean latest = isMostRecentLatest();
+			if ( latest ) {
+				buf.append("LEFT OUTER JOIN solardatm.da_datm_latest latest ON latest.stream_id = ")
+						.append(metaStreamIdColumnName).append("\n");
+			}
 			buf.append("INNER JOIN LATERAL (\n");
 			buf.append("		SELECT datum.*\n");
 			buf.append("		FROM ").append(sqlTableName()).append(" datum\n");
 			buf.append("		WHERE datum.stream_id = ").append(metaStreamIdColumnName).append("\n");
+			if ( latest ) {
+				buf.append("		AND datum.ts <= COALESCE(latest.ts, 'infinity'::timestamptz)\n");
+			}
 			if ( filter.hasDateOrLocalDate() ) {
-				addSqlWhere(buf, true);
+				addSqlWhere(buf, true, false);
 			}
 			buf.append("		ORDER BY datum.").append(timeColumnName(aggregation)).append(" DESC\n");
 			buf.append("		LIMIT 1\n");
@@ -356,19 +418,23 @@ public final class SelectDatum
 		}
 	}
 
-	private void sqlWhere(StringBuilder buf) {
+	private void sqlWhere(StringBuilder buf, boolean keyset) {
 		if ( isDateRangeInJoin() ) {
 			return;
 		}
-		addSqlWhere(buf, false);
+		addSqlWhere(buf, false, keyset);
 	}
 
-	private void addSqlWhere(StringBuilder buf, boolean and) {
+	private void addSqlWhere(StringBuilder buf, boolean and, boolean keyset) {
 		StringBuilder where = new StringBuilder();
 		int idx = filter.hasLocalDate()
 				? DatumSqlUtils.whereLocalDateRange(filter, aggregation,
 						DatumSqlUtils.SQL_AT_STREAM_METADATA_TIME_ZONE, where)
 				: DatumSqlUtils.whereDateRange(filter, aggregation, where);
+		if ( keyset ) {
+			idx += CommonSqlUtils.whereKeysetAfter(
+					new String[] { aliased ? "s.stream_id" : "datum.stream_id", "datum.ts" }, where);
+		}
 		if ( idx > 0 ) {
 			if ( and ) {
 				buf.append(where);
@@ -396,14 +462,14 @@ public final class SelectDatum
 		}
 	}
 
-	private void sqlCore(StringBuilder buf) {
+	private void sqlCore(StringBuilder buf, boolean keyset) {
 		sqlCte(buf);
 		if ( combine != null ) {
 			buf.append(", d AS (\n");
 		}
 		sqlSelect(buf);
 		sqlFrom(buf);
-		sqlWhere(buf);
+		sqlWhere(buf, keyset);
 		if ( aggregation == Aggregation.Week ) {
 			buf.append("GROUP BY ");
 			if ( combine != null ) {
@@ -431,7 +497,7 @@ public final class SelectDatum
 	@Override
 	public String getSql() {
 		StringBuilder buf = new StringBuilder();
-		sqlCore(buf);
+		sqlCore(buf, cursor != null);
 		sqlOrderByJoins(buf);
 		if ( rollup != null ) {
 			buf.append("""
@@ -442,7 +508,11 @@ public final class SelectDatum
 		} else {
 			sqlOrderBy(buf);
 		}
-		CommonSqlUtils.limitOffset(filter, buf);
+		if ( cursor != null ) {
+			CommonSqlUtils.limit(filter, buf);
+		} else {
+			CommonSqlUtils.limitOffset(filter, buf);
+		}
 		return buf.toString();
 	}
 
@@ -469,7 +539,14 @@ public final class SelectDatum
 		PreparedStatement stmt = con.prepareStatement(getSql(), ResultSet.TYPE_FORWARD_ONLY,
 				ResultSet.CONCUR_READ_ONLY, ResultSet.CLOSE_CURSORS_AT_COMMIT);
 		int p = prepareCore(con, stmt, 0);
-		DatumSqlUtils.preparePaginationFilter(filter, con, stmt, p);
+		final KeysetCursor c = cursor;
+		if ( c != null ) {
+			stmt.setObject(++p, c.uuidValue(0));
+			stmt.setTimestamp(++p, Timestamp.from(c.instantValue(1)));
+			CommonSqlUtils.prepareLimit(filter, stmt, p);
+		} else {
+			DatumSqlUtils.preparePaginationFilter(filter, con, stmt, p);
+		}
 		if ( fetchSize > 0 ) {
 			stmt.setFetchSize(fetchSize);
 		}
@@ -505,7 +582,7 @@ public final class SelectDatum
 			}
 
 			// non-minute aggregation; use normal wrapped count query
-			sqlCore(buf);
+			sqlCore(buf, false);
 			return DatumSqlUtils.wrappedCountQuery(buf.toString());
 		}
 
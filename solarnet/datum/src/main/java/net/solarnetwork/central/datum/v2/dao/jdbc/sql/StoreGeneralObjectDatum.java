@@ -49,7 +49,7 @@ import net.solarnetwork.domain.datum.ObjectDatumKind;
  * </p>
  *
  * @author matt
- * @version 1.1
+ * @version 1.2
  */
 public final class StoreGeneralObjectDatum implements CallableStatementCreator, SqlProvider {
 
@@ -107,8 +107,9 @@ public final class StoreGeneralObjectDatum implements CallableStatementCreator,
 	 * @param s
 	 *        the samples to inspect
 	 * @return {@code samples} or a copy with non-finite numbers removed
+	 * @since 1.2
 	 */
-	private DatumSamples samplesWithOnlyFiniteNumbers(DatumSamples s) {
+	public static DatumSamples samplesWithOnlyFiniteNumbers(DatumSamples s) {
 		DatumSamples copy = null;
 		if ( s.getInstantaneous() != null ) {
 			for ( Entry<String, Number> e : s.getInstantaneous().entrySet() ) {
@@ -156,7 +157,7 @@ public final class StoreGeneralObjectDatum implements CallableStatementCreator,
 		return (copy != null ? copy : s);
 	}
 
-	private boolean numberIsFinite(Number n) {
+	private static boolean numberIsFinite(Number n) {
 		return switch (n) {
 			case Float f -> Float.isFinite(f);
 			case Double d -> Double.isFinite(d);
@@ -0,0 +1,130 @@
+/* ==================================================================
+ * StoreGeneralObjectDatumBatch.java - 17/10/2026 9:12:44 am
+ *
+ * Copyright 2026 SolarNetwork.net Dev Team
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation; either version 2 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA
+ * 02111-1307 USA
+ * ==================================================================
+ */
+
+package net.solarnetwork.central.datum.v2.dao.jdbc.sql;
+
+import static net.solarnetwork.central.datum.v2.dao.jdbc.sql.StoreGeneralObjectDatum.samplesWithOnlyFiniteNumbers;
+import static net.solarnetwork.util.ObjectUtils.requireNonNullArgument;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.SqlProvider;
+import net.solarnetwork.central.common.dao.jdbc.sql.CommonSqlUtils;
+import net.solarnetwork.central.datum.domain.GeneralObjectDatum;
+import net.solarnetwork.central.datum.domain.GeneralObjectDatumKey;
+import net.solarnetwork.codec.jackson.JsonUtils;
+
+/**
+ * Store a batch of node {@link GeneralObjectDatum} with a single call to the
+ * {@code solardatm.store_datum_batch()} set-based database function.
+ *
+ * <p>
+ * The result set contains a {@code datum_idx} column with the 1-based index of
+ * each stored datum within the batch, and a {@code datum_sid} column with the
+ * associated stream ID. As with {@link StoreGeneralObjectDatum}, non-finite
+ * number values will be dropped from the sample properties.
+ * </p>
+ *
+ * @author matt
+ * @version 1.0
+ */
+public final class StoreGeneralObjectDatumBatch implements PreparedStatementCreator, SqlProvider {
+
+	/** The SQL to store a batch of node datum. */
+	public static final String STORE_NODE_DATUM_BATCH_SQL = "SELECT datum_idx, datum_sid FROM solardatm.store_datum_batch(?,?,?,?,?)";
+
+	private final List<? extends GeneralObjectDatum<? extends GeneralObjectDatumKey>> datum;
+	private final Instant[] timestamps;
+
+	/**
+	 * Constructor.
+	 *
+	 * <p>
+	 * Every datum must have an ID with a non-null object ID and source ID, and
+	 * non-null samples.
+	 * </p>
+	 *
+	 * @param datum
+	 *        the datum to store
+	 * @throws IllegalArgumentException
+	 *         if any argument is {@code null}
+	 */
+	public StoreGeneralObjectDatumBatch(
+			List<? extends GeneralObjectDatum<? extends GeneralObjectDatumKey>> datum) {
+		super();
+		this.datum = requireNonNullArgument(datum, "datum");
+		final Instant now = Instant.now();
+		this.timestamps = new Instant[datum.size()];
+		for ( int i = 0, len = datum.size(); i < len; i++ ) {
+			Instant ts = datum.get(i).getCreated();
+			timestamps[i] = (ts != null ? ts : now);
+		}
+	}
+
+	@Override
+	public String getSql() {
+		return STORE_NODE_DATUM_BATCH_SQL;
+	}
+
+	@Override
+	public PreparedStatement createPreparedStatement(Connection con) throws SQLException {
+		final int len = datum.size();
+		final Timestamp[] ddates = new Timestamp[len];
+		final Long[] nodes = new Long[len];
+		final String[] srcs = new String[len];
+		final Timestamp[] rdates = new Timestamp[len];
+		final String[] jdatas = new String[len];
+		final Timestamp received = Timestamp.from(Instant.now());
+		for ( int i = 0; i < len; i++ ) {
+			GeneralObjectDatum<? extends GeneralObjectDatumKey> d = datum.get(i);
+			ddates[i] = Timestamp.from(timestamps[i]);
+			nodes[i] = d.getId().getObjectId();
+			srcs[i] = d.getId().getSourceId();
+			rdates[i] = received;
+			jdatas[i] = JsonUtils.getJSONString(samplesWithOnlyFiniteNumbers(d.getSamples()), null);
+		}
+		PreparedStatement stmt = con.prepareStatement(getSql());
+		int p = 0;
+		p = CommonSqlUtils.prepareArrayParameter(con, stmt, p, "timestamptz", ddates, true);
+		p = CommonSqlUtils.prepareArrayParameter(con, stmt, p, nodes, true);
+		p = CommonSqlUtils.prepareArrayParameter(con, stmt, p, srcs, true);
+		p = CommonSqlUtils.prepareArrayParameter(con, stmt, p, "timestamptz", rdates, true);
+		CommonSqlUtils.prepareArrayParameter(con, stmt, p, jdatas, true);
+		return stmt;
+	}
+
+	/**
+	 * Get the timestamp computed for a datum in the batch.
+	 *
+	 * @param index
+	 *        the 0-based index of the datum within the batch
+	 * @return the timestamp computed for the datum
+	 */
+	public Instant getTimestamp(int index) {
+		return timestamps[index];
+	}
+
+}
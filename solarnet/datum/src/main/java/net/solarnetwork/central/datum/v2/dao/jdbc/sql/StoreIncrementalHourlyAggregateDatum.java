@@ -0,0 +1,198 @@
+/* ==================================================================
+ * StoreIncrementalHourlyAggregateDatum.java - 17/10/2026 11:08:52 pm
+ *
+ * Copyright 2026 SolarNetwork.net Dev Team
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation; either version 2 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA
+ * 02111-1307 USA
+ * ==================================================================
+ */
+
+package net.solarnetwork.central.datum.v2.dao.jdbc.sql;
+
+import static net.solarnetwork.central.common.dao.jdbc.sql.CommonSqlUtils.prepareArrayParameter;
+import static net.solarnetwork.util.ObjectUtils.requireNonNullArgument;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.SqlProvider;
+import net.solarnetwork.central.datum.v2.dao.AggregateDatumEntity;
+import net.solarnetwork.central.datum.v2.support.IncrementalHourlyAggregator.CompletedHour;
+import net.solarnetwork.domain.datum.DatumProperties;
+import net.solarnetwork.domain.datum.DatumPropertiesStatistics;
+
+/**
+ * Store an hourly aggregate computed by
+ * {@link net.solarnetwork.central.datum.v2.support.IncrementalHourlyAggregator}
+ * into the {@literal solardatm.agg_datm_hourly} table.
+ *
+ * <p>
+ * The aggregate is only stored if the number of raw datum rows within the
+ * aggregate time range matches the number of datum used to compute the
+ * aggregate, no datum in that range has a received date after the date it was
+ * accepted by the aggregator (which would mean the datum was updated, for
+ * example by another application instance), and there are no auxiliary datum
+ * within that range. Otherwise nothing is changed, so the hourly stale
+ * aggregate row remains for normal stale processing. When stored,
+ * the hourly stale aggregate row is deleted and a daily stale aggregate row is
+ * inserted, just like {@code solardatm.process_agg_stale_datm_row()} does. The
+ * query returns a single row with the count of stored aggregates, which will
+ * be either {@literal 0} or {@literal 1}.
+ * </p>
+ *
+ * @author matt
+ * @version 1.0
+ */
+public final class StoreIncrementalHourlyAggregateDatum
+		implements PreparedStatementCreator, SqlProvider {
+
+	private static final String SQL = """
+			WITH chk AS (
+				SELECT (
+					SELECT COUNT(*) FROM solardatm.da_datm d
+					WHERE d.stream_id = ?::uuid AND d.ts >= ? AND d.ts <= ?
+				) = ? AND NOT EXISTS (
+					SELECT 1 FROM (
+						SELECT d.received, row_number() OVER (ORDER BY d.ts) AS rn
+						FROM solardatm.da_datm d
+						WHERE d.stream_id = ?::uuid AND d.ts >= ? AND d.ts <= ?
+					) d
+					INNER JOIN unnest(?::timestamptz[]) WITH ORDINALITY AS a(accepted, rn) ON a.rn = d.rn
+					WHERE d.received > a.accepted
+				) AND NOT EXISTS (
+					SELECT 1 FROM solardatm.da_datm_aux a
+					WHERE a.stream_id = ?::uuid AND a.ts >= ? AND a.ts <= ?
+				) AS ok
+			)
+			, agg AS (
+				INSERT INTO solardatm.agg_datm_hourly (stream_id,ts_start,data_i,data_a,data_s,data_t,stat_i,read_a)
+				SELECT ?::uuid,?,?::numeric[],?::numeric[],?::text[],?::text[],?::numeric[][],?::numeric[][]
+				FROM chk
+				WHERE chk.ok
+				ON CONFLICT (stream_id, ts_start) DO UPDATE
+				SET data_i = EXCLUDED.data_i
+					, data_a = EXCLUDED.data_a
+					, data_s = EXCLUDED.data_s
+					, data_t = EXCLUDED.data_t
+					, stat_i = EXCLUDED.stat_i
+					, read_a = EXCLUDED.read_a
+				RETURNING stream_id, ts_start
+			)
+			, stale_h AS (
+				DELETE FROM solardatm.agg_stale_datm s
+				USING agg
+				WHERE s.agg_kind = 'h' AND s.stream_id = agg.stream_id AND s.ts_start = agg.ts_start
+			)
+			, stale_d AS (
+				INSERT INTO solardatm.agg_stale_datm (stream_id, ts_start, agg_kind)
+				SELECT agg.stream_id, date_trunc('day', agg.ts_start AT TIME ZONE ?) AT TIME ZONE ?, 'd'
+				FROM agg
+				ON CONFLICT DO NOTHING
+			)
+			SELECT COUNT(*) FROM agg
+			""";
+
+	private final CompletedHour hour;
+	private final AggregateDatumEntity datum;
+	private final String timeZoneId;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param hour
+	 *        the completed hour
+	 * @param datum
+	 *        the aggregate datum computed from {@code hour}
+	 * @param timeZoneId
+	 *        the stream time zone ID
+	 * @throws IllegalArgumentException
+	 *         if any argument is {@code null}
+	 */
+	public StoreIncrementalHourlyAggregateDatum(CompletedHour hour, AggregateDatumEntity datum,
+			String timeZoneId) {
+		super();
+		this.hour = requireNonNullArgument(hour, "hour");
+		this.datum = requireNonNullArgument(datum, "datum");
+		this.timeZoneId = requireNonNullArgument(timeZoneId, "timeZoneId");
+	}
+
+	@Override
+	public String getSql() {
+		return SQL;
+	}
+
+	@Override
+	public PreparedStatement createPreparedStatement(Connection con) throws SQLException {
+		PreparedStatement stmt = con.prepareStatement(getSql());
+		final Timestamp start = Timestamp.from(hour.getFirstTimestamp());
+		final Timestamp end = Timestamp.from(hour.getLastTimestamp());
+		int p = 0;
+
+		// datum count check
+		stmt.setObject(++p, hour.getStreamId(), Types.OTHER);
+		stmt.setTimestamp(++p, start);
+		stmt.setTimestamp(++p, end);
+		stmt.setLong(++p, hour.getDatumCount());
+
+		// datum received check
+		stmt.setObject(++p, hour.getStreamId(), Types.OTHER);
+		stmt.setTimestamp(++p, start);
+		stmt.setTimestamp(++p, end);
+		final Instant[] acceptedDates = hour.getDatumAcceptedDates();
+		final Timestamp[] accepted = new Timestamp[acceptedDates.length];
+		for ( int i = 0; i < accepted.length; i++ ) {
+			accepted[i] = Timestamp.from(acceptedDates[i]);
+		}
+		p = prepareArrayParameter(con, stmt, p, "timestamptz", accepted, true);
+
+		// auxiliary check
+		stmt.setObject(++p, hour.getStreamId(), Types.OTHER);
+		stmt.setTimestamp(++p, start);
+		stmt.setTimestamp(++p, end);
+
+		// aggregate
+		stmt.setObject(++p, datum.getStreamId(), Types.OTHER);
+		stmt.setTimestamp(++p, Timestamp.from(datum.getTimestamp()));
+		DatumProperties props = datum.getProperties();
+		p = prepareArrayParameter(con, stmt, p, "NUMERIC",
+				props != null && props.getInstantaneousLength() > 0 ? props.getInstantaneous() : null,
+				true);
+		p = prepareArrayParameter(con, stmt, p, "NUMERIC",
+				props != null && props.getAccumulatingLength() > 0 ? props.getAccumulating() : null,
+				true);
+		p = prepareArrayParameter(con, stmt, p, "TEXT",
+				props != null && props.getStatusLength() > 0 ? props.getStatus() : null, true);
+		p = prepareArrayParameter(con, stmt, p, "TEXT",
+				props != null && props.getTagsLength() > 0 ? props.getTags() : null, true);
+		DatumPropertiesStatistics stats = datum.getStatistics();
+		p = prepareArrayParameter(con, stmt, p, "NUMERIC",
+				stats != null && stats.getInstantaneousLength() > 0 ? stats.getInstantaneous() : null,
+				true);
+		p = prepareArrayParameter(con, stmt, p, "NUMERIC",
+				stats != null && stats.getAccumulatingLength() > 0 ? stats.getAccumulating() : null,
+				true);
+
+		// daily stale
+		stmt.setString(++p, timeZoneId);
+		stmt.setString(++p, timeZoneId);
+
+		return stmt;
+	}
+
+}
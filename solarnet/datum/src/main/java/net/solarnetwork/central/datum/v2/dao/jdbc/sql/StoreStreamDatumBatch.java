@@ -0,0 +1,127 @@
+/* ==================================================================
+ * StoreStreamDatumBatch.java - 17/10/2026 4:18:27 pm
+ *
+ * Copyright 2026 SolarNetwork.net Dev Team
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation; either version 2 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA
+ * 02111-1307 USA
+ * ==================================================================
+ */
+
+package net.solarnetwork.central.datum.v2.dao.jdbc.sql;
+
+import static net.solarnetwork.util.ObjectUtils.requireNonNullArgument;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.SqlProvider;
+import net.solarnetwork.central.common.dao.jdbc.sql.CommonSqlUtils;
+import net.solarnetwork.central.datum.v2.dao.DatumEntity;
+import net.solarnetwork.codec.jackson.JsonUtils;
+import net.solarnetwork.domain.datum.DatumProperties;
+
+/**
+ * Store a batch of {@link DatumEntity} with a single call to the
+ * {@code solardatm.store_stream_datum_batch()} set-based database function.
+ *
+ * <p>
+ * Every datum must have a stream ID assigned. The properties of each datum are
+ * passed as a JSON object with {@code i}, {@code a}, {@code s}, and {@code t}
+ * array properties.
+ * </p>
+ *
+ * @author matt
+ * @version 1.0
+ */
+public final class StoreStreamDatumBatch implements PreparedStatementCreator, SqlProvider {
+
+	/** The SQL to store a batch of stream datum. */
+	public static final String STORE_STREAM_DATUM_BATCH_SQL = "SELECT solardatm.store_stream_datum_batch(?,?,?,?)";
+
+	private final List<DatumEntity> datum;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param datum
+	 *        the datum to store
+	 * @throws IllegalArgumentException
+	 *         if {@code datum} is {@code null} or any datum does not have a
+	 *         stream ID assigned
+	 */
+	public StoreStreamDatumBatch(List<DatumEntity> datum) {
+		super();
+		this.datum = requireNonNullArgument(datum, "datum");
+		for ( DatumEntity d : datum ) {
+			if ( !d.hasId() ) {
+				throw new IllegalArgumentException("Stream ID must be assigned.");
+			}
+		}
+	}
+
+	@Override
+	public String getSql() {
+		return STORE_STREAM_DATUM_BATCH_SQL;
+	}
+
+	@Override
+	public PreparedStatement createPreparedStatement(Connection con) throws SQLException {
+		final int len = datum.size();
+		final UUID[] sids = new UUID[len];
+		final Timestamp[] ddates = new Timestamp[len];
+		final Timestamp[] rdates = new Timestamp[len];
+		final String[] jdatas = new String[len];
+		final Instant now = Instant.now();
+		for ( int i = 0; i < len; i++ ) {
+			DatumEntity d = datum.get(i);
+			sids[i] = d.getStreamId();
+			ddates[i] = Timestamp.from(d.getTimestamp());
+			rdates[i] = Timestamp.from(d.getReceived() != null ? d.getReceived() : now);
+			jdatas[i] = JsonUtils.getJSONString(propertiesMap(d.getProperties()), "{}");
+		}
+		PreparedStatement stmt = con.prepareStatement(getSql());
+		int p = 0;
+		p = CommonSqlUtils.prepareArrayParameter(con, stmt, p, sids, true);
+		p = CommonSqlUtils.prepareArrayParameter(con, stmt, p, "timestamptz", ddates, true);
+		p = CommonSqlUtils.prepareArrayParameter(con, stmt, p, "timestamptz", rdates, true);
+		CommonSqlUtils.prepareArrayParameter(con, stmt, p, jdatas, true);
+		return stmt;
+	}
+
+	private static Map<String, Object> propertiesMap(DatumProperties p) {
+		Map<String, Object> m = new LinkedHashMap<>(4);
+		if ( p.getInstantaneousLength() > 0 ) {
+			m.put("i", p.getInstantaneous());
+		}
+		if ( p.getAccumulatingLength() > 0 ) {
+			m.put("a", p.getAccumulating());
+		}
+		if ( p.getStatusLength() > 0 ) {
+			m.put("s", p.getStatus());
+		}
+		if ( p.getTagsLength() > 0 ) {
+			m.put("t", p.getTags());
+		}
+		return m;
+	}
+
+}
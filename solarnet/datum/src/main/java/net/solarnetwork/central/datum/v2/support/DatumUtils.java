@@ -45,6 +45,7 @@ import java.util.UUID;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 import org.jspecify.annotations.Nullable;
+import net.solarnetwork.central.common.dao.KeysetCriteria;
 import net.solarnetwork.central.datum.domain.AuditDatumRecordCounts;
 import net.solarnetwork.central.datum.domain.CombiningFilter;
 import net.solarnetwork.central.datum.domain.DatumAuxiliaryFilter;
@@ -115,7 +116,7 @@ import net.solarnetwork.util.SearchFilter.LogicOperator;
  * General datum utility methods.
  *
  * @author matt
- * @version 2.13
+ * @version 2.14
  * @since 2.8
  */
 public final class DatumUtils {
@@ -178,6 +179,7 @@ public final class DatumUtils {
 			c.setMostRecent(f.isMostRecent());
 			c.setDatumRollupTypes(f.getDatumRollupTypes());
 			c.setWithoutTotalResultsCount(f.isWithoutTotalResultsCount());
+			c.setCursor(f.getCursor());
 			c.setIncludeStreamAliases(f.getIncludeStreamAliases());
 			c.setCombiningType(f.getCombiningType());
 			c.setObjectIdMappings(f.getNodeIdMappings());
@@ -217,6 +219,7 @@ public final class DatumUtils {
 			c.setMostRecent(f.isMostRecent());
 			c.setDatumRollupTypes(f.getDatumRollupTypes());
 			c.setWithoutTotalResultsCount(f.isWithoutTotalResultsCount());
+			c.setCursor(f.getCursor());
 			c.setIncludeStreamAliases(f.getIncludeStreamAliases());
 			c.setCombiningType(f.getCombiningType());
 			c.setObjectIdMappings(f.getNodeIdMappings());
@@ -285,6 +288,9 @@ public final class DatumUtils {
 			if ( filter instanceof OptimizedQueryFilter f ) {
 				c.setWithoutTotalResultsCount(f.isWithoutTotalResultsCount());
 			}
+			if ( filter instanceof KeysetCriteria f ) {
+				c.setCursor(f.getCursor());
+			}
 			if ( filter instanceof CombiningFilter f ) {
 				c.setCombiningType(f.getCombiningType());
 			}
@@ -0,0 +1,843 @@
+/* ==================================================================
+ * IncrementalHourlyAggregator.java - 17/10/2026 10:41:27 pm
+ *
+ * Copyright 2026 SolarNetwork.net Dev Team
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation; either version 2 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA
+ * 02111-1307 USA
+ * ==================================================================
+ */
+
+package net.solarnetwork.central.datum.v2.support;
+
+import static net.solarnetwork.util.ObjectUtils.nonnull;
+import static net.solarnetwork.util.ObjectUtils.requireNonNullArgument;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.jspecify.annotations.Nullable;
+import net.solarnetwork.central.datum.v2.dao.AggregateDatumEntity;
+import net.solarnetwork.domain.datum.Aggregation;
+import net.solarnetwork.domain.datum.DatumProperties;
+import net.solarnetwork.domain.datum.DatumPropertiesStatistics;
+import net.solarnetwork.domain.datum.DatumSamplesOperations;
+import net.solarnetwork.domain.datum.DatumSamplesType;
+import net.solarnetwork.domain.datum.ObjectDatumStreamMetadata;
+
+/**
+ * Maintain running hourly aggregates for datum streams as datum are stored.
+ *
+ * <p>
+ * Datum are passed to {@link #accept(UUID, Instant, DatumSamplesOperations)}
+ * in the order they are stored. Each stream keeps a partial aggregate of the
+ * current hour, following the same rules as the
+ * {@code solardatm.rollup_datm_for_time_span()} database function: the
+ * instantaneous count, minimum, maximum, and average; the accumulating
+ * clock-hour difference (including the portion of the difference from the
+ * datum surrounding the hour) and the start, end, and difference readings; the
+ * status mode; and the set of tags.
+ * </p>
+ *
+ * <p>
+ * The datum used for each hour are chosen like the
+ * {@code solardatm.find_datm_for_time_slot()} database function does: the
+ * starting reading comes from the most recent datum before the hour that has
+ * accumulating properties, unless a datum with accumulating properties falls
+ * exactly on the hour start, and the final reading comes from the first datum
+ * after the hour. Averages and clock difference portions are computed with the
+ * same scale as the database numeric division, so the aggregate values match
+ * those computed by the database exactly.
+ * </p>
+ *
+ * <p>
+ * When the first datum of a later hour is accepted, the previous hour is
+ * returned as a {@link CompletedHour} if it is <i>eligible</i>: all datum the
+ * database would use for the hour were observed and no datum were accepted out
+ * of order. Otherwise the hour must be left to the normal stale aggregate
+ * processing.
+ * </p>
+ *
+ * <p>
+ * The date each datum was accepted is also tracked, so the stored datum can be
+ * verified to not have been updated since being accepted, for example by
+ * another application instance, before the completed hour is stored.
+ * </p>
+ *
+ * <p>
+ * This class is thread-safe.
+ * </p>
+ *
+ * @author matt
+ * @version 1.1
+ */
+public class IncrementalHourlyAggregator {
+
+	/** The default {@code maxStreams} property value. */
+	public static final int DEFAULT_MAX_STREAMS = 100_000;
+
+	/**
+	 * The maximum time to look backwards for the datum preceding an hour,
+	 * matching the {@code solardatm.rollup_datm_for_time_span()} function.
+	 */
+	public static final Duration READING_TOLERANCE = Duration.ofDays(365);
+
+	/** The maximum time between datum to calculate a clock difference. */
+	public static final Duration CLOCK_TOLERANCE = Duration.ofHours(1);
+
+	/**
+	 * The maximum time to look backwards for a datum with accumulating
+	 * properties preceding an hour, matching the
+	 * {@code solardatm.find_datm_for_time_slot()} function.
+	 *
+	 * @since 1.1
+	 */
+	public static final Duration ACCUMULATING_TOLERANCE = Duration.ofDays(14);
+
+	/**
+	 * The maximum number of datum without accumulating properties to track
+	 * after the most recent datum with accumulating properties.
+	 */
+	private static final int MAX_TRAILING_ROWS = 64;
+
+	/** The Postgres {@code NUMERIC_MIN_SIG_DIGITS} constant. */
+	private static final int NUMERIC_MIN_SIG_DIGITS = 16;
+
+	/** The Postgres {@code NUMERIC_MAX_DISPLAY_SCALE} constant. */
+	private static final int NUMERIC_MAX_DISPLAY_SCALE = 1000;
+
+	/** The Postgres {@code DEC_DIGITS} constant. */
+	private static final int DEC_DIGITS = 4;
+
+	/** The significant digits of a Postgres double to numeric cast. */
+	private static final MathContext FLOAT8_NUMERIC_CONTEXT = new MathContext(15,
+			RoundingMode.HALF_EVEN);
+
+	private final ConcurrentMap<UUID, StreamState> streams = new ConcurrentHashMap<>(64, 0.9f, 4);
+	private int maxStreams = DEFAULT_MAX_STREAMS;
+	private boolean floatingPointEpoch;
+
+	/**
+	 * Constructor.
+	 */
+	public IncrementalHourlyAggregator() {
+		super();
+	}
+
+	/**
+	 * Accept a stored datum.
+	 *
+	 * @param streamId
+	 *        the stream ID of the datum
+	 * @param timestamp
+	 *        the datum timestamp
+	 * @param samples
+	 *        the datum samples
+	 * @return the completed hour, if {@code timestamp} is the first datum of a
+	 *         later hour and the previous hour is eligible for storage, or
+	 *         {@code null}
+	 * @throws IllegalArgumentException
+	 *         if any argument is {@code null}
+	 */
+	public @Nullable CompletedHour accept(UUID streamId, Instant timestamp,
+			DatumSamplesOperations samples) {
+		requireNonNullArgument(streamId, "streamId");
+		requireNonNullArgument(timestamp, "timestamp");
+		final Row row = Row.of(timestamp, requireNonNullArgument(samples, "samples"),
+				Instant.now());
+		StreamState state = streams.get(streamId);
+		if ( state == null ) {
+			purgeStreams();
+			state = streams.computeIfAbsent(streamId, _ -> new StreamState());
+		}
+		synchronized ( state ) {
+			final HourAccumulator prev = state.hour;
+			final Row last = state.last;
+			if ( prev != null && last != null && !timestamp.isAfter(last.ts) ) {
+				// out of order or updated datum: leave hour to stale processing
+				prev.eligible = false;
+				state.outOfOrder(row);
+				return null;
+			}
+			CompletedHour result = null;
+			final Instant hourStart = timestamp.truncatedTo(ChronoUnit.HOURS);
+			if ( prev == null || hourStart.isAfter(prev.start) ) {
+				if ( prev != null ) {
+					if ( !timestamp.isAfter(prev.end.plus(READING_TOLERANCE)) ) {
+						prev.add(row, false);
+					}
+					if ( prev.eligible ) {
+						result = new CompletedHour(streamId, prev);
+					}
+				}
+				state.start(row, floatingPointEpoch);
+			} else {
+				prev.add(row, true);
+			}
+			state.observe(row);
+			return result;
+		}
+	}
+
+	/**
+	 * Discard any partial aggregate for a stream.
+	 *
+	 * <p>
+	 * This should be called when a datum is stored for a stream without passing
+	 * it to {@link #accept(UUID, Instant, DatumSamplesOperations)}, so the
+	 * partial aggregate would no longer match the stored data.
+	 * </p>
+	 *
+	 * @param streamId
+	 *        the stream ID to discard
+	 */
+	public void discard(UUID streamId) {
+		if ( streamId != null ) {
+			streams.remove(streamId);
+		}
+	}
+
+	/**
+	 * Get the number of streams with a partial aggregate.
+	 *
+	 * @return the stream count
+	 */
+	public int getStreamCount() {
+		return streams.size();
+	}
+
+	private void purgeStreams() {
+		if ( streams.size() >= maxStreams ) {
+			// evict the oldest partial aggregates; those hours will be left to stale processing
+			final Instant cutoff = Instant.now().truncatedTo(ChronoUnit.HOURS);
+			for ( Iterator<StreamState> itr = streams.values().iterator(); itr.hasNext(); ) {
+				StreamState s = itr.next();
+				HourAccumulator h = s.hour;
+				if ( h == null || h.start.isBefore(cutoff) ) {
+					itr.remove();
+				}
+			}
+			if ( streams.size() >= maxStreams ) {
+				streams.clear();
+			}
+		}
+	}
+
+	/**
+	 * A completed hour aggregate.
+	 */
+	public static final class CompletedHour {
+
+		private final UUID streamId;
+		private final HourAccumulator hour;
+
+		private CompletedHour(UUID streamId, HourAccumulator hour) {
+			super();
+			this.streamId = streamId;
+			this.hour = hour;
+		}
+
+		/**
+		 * Get the stream ID.
+		 *
+		 * @return the stream ID
+		 */
+		public UUID getStreamId() {
+			return streamId;
+		}
+
+		/**
+		 * Get the hour start date.
+		 *
+		 * @return the hour start
+		 */
+		public Instant getHourStart() {
+			return hour.start;
+		}
+
+		/**
+		 * Get the timestamp of the first datum used in the aggregate.
+		 *
+		 * <p>
+		 * This is the datum before the hour that provides the starting
+		 * accumulating reading, or the first datum within the hour if there
+		 * is no such datum.
+		 * </p>
+		 *
+		 * @return the first datum timestamp
+		 */
+		public Instant getFirstTimestamp() {
+			return hour.firstTs;
+		}
+
+		/**
+		 * Get the timestamp of the last datum used in the aggregate.
+		 *
+		 * <p>
+		 * This is the datum immediately after the hour.
+		 * </p>
+		 *
+		 * @return the last datum timestamp
+		 */
+		public Instant getLastTimestamp() {
+			return hour.lastTs;
+		}
+
+		/**
+		 * Get the number of datum used in the aggregate, including the datum
+		 * before and after the hour.
+		 *
+		 * @return the datum count
+		 */
+		public int getDatumCount() {
+			return hour.count;
+		}
+
+		/**
+		 * Get the dates each datum used in the aggregate was accepted.
+		 *
+		 * <p>
+		 * The dates are ordered by datum timestamp, and each date is after the
+		 * associated datum was stored. A stored datum with a received date
+		 * later than its accepted date has thus been updated since it was
+		 * accepted.
+		 * </p>
+		 *
+		 * @return the accepted dates, with a length of {@link #getDatumCount()}
+		 */
+		public Instant[] getDatumAcceptedDates() {
+			final Instant[] result = new Instant[hour.count];
+			for ( int i = 0; i < result.length; i++ ) {
+				result[i] = Instant.EPOCH.plus(hour.accepted[i], ChronoUnit.MICROS);
+			}
+			return result;
+		}
+
+		/**
+		 * Create an aggregate datum entity for the completed hour.
+		 *
+		 * @param meta
+		 *        the stream metadata, which defines the property order
+		 * @return the aggregate, or {@code null} if the aggregate properties
+		 *         are not compatible with {@code meta}
+		 */
+		public @Nullable AggregateDatumEntity toAggregateDatum(ObjectDatumStreamMetadata meta) {
+			return hour.toAggregateDatum(streamId, meta);
+		}
+
+	}
+
+	private static final class StreamState {
+
+		private @Nullable HourAccumulator hour;
+		private @Nullable Row last;
+
+		// the timestamp of the first datum observed, after which all datum have been observed
+		private @Nullable Instant historyStart;
+
+		// the most recent datum with accumulating properties
+		private @Nullable Row lastAcc;
+
+		// the datum without accumulating properties observed after lastAcc
+		private final List<Row> trailing = new ArrayList<>(4);
+		private @Nullable Instant trailingStart;
+		private boolean trailingOverflow;
+
+		private void start(Row row, boolean floatingPointEpoch) {
+			final Instant hourStart = row.ts.truncatedTo(ChronoUnit.HOURS);
+			final HourAccumulator h = new HourAccumulator(hourStart, floatingPointEpoch);
+
+			// the hour can only be eligible if a datum before the hour was observed, so
+			// that no datum within the hour before this one can exist
+			final Instant historyStart = this.historyStart;
+			h.eligible = (historyStart != null && historyStart.isBefore(hourStart));
+			if ( h.eligible ) {
+				final Row prior = prior(row, h);
+				if ( prior != null ) {
+					h.add(prior, false);
+					if ( trailingOverflow ) {
+						h.eligible = false;
+					}
+					for ( Row r : trailing ) {
+						h.add(r, false);
+					}
+				}
+			}
+			h.add(row, true);
+			this.hour = h;
+		}
+
+		/**
+		 * Find the datum before an hour that provides the starting
+		 * accumulating reading, like {@code find_datm_for_time_slot()}.
+		 *
+		 * @param row
+		 *        the first datum within the hour
+		 * @param h
+		 *        the hour
+		 * @return the datum, or {@code null} if there is none
+		 */
+		private @Nullable Row prior(Row row, HourAccumulator h) {
+			final boolean rowHasAcc = row.hasAccumulating();
+			if ( rowHasAcc && row.ts.equals(h.start) ) {
+				// datum exactly at the hour start provides the starting reading
+				return null;
+			}
+			final Instant cutoff = h.start.minus(ACCUMULATING_TOLERANCE);
+			final Row acc = this.lastAcc;
+			if ( acc != null && !acc.ts.isBefore(cutoff) ) {
+				return acc;
+			}
+
+			// no accumulating datum within tolerance: the database then only uses the most recent
+			// datum before a further cutoff, if that has accumulating properties
+			final Instant wayBackCutoff = (rowHasAcc ? row.ts : h.start)
+					.minus(ACCUMULATING_TOLERANCE);
+			final Instant trailingStart = this.trailingStart;
+			if ( acc != null ) {
+				if ( trailingStart != null && trailingStart.isBefore(wayBackCutoff) ) {
+					return null;
+				}
+				return (acc.ts.isBefore(h.start.minus(READING_TOLERANCE)) ? null : acc);
+			}
+			final Instant historyStart = this.historyStart;
+			if ( historyStart == null || historyStart.isAfter(cutoff)
+					|| !historyStart.isBefore(wayBackCutoff) ) {
+				// an unobserved datum with accumulating properties might exist
+				h.accumulatingUnknown = true;
+			}
+			return null;
+		}
+
+		private void observe(Row row) {
+			if ( historyStart == null ) {
+				historyStart = row.ts;
+			}
+			if ( row.hasAccumulating() ) {
+				lastAcc = row;
+				trailing.clear();
+				trailingStart = null;
+				trailingOverflow = false;
+			} else {
+				if ( trailingStart == null ) {
+					trailingStart = row.ts;
+				}
+				if ( lastAcc != null ) {
+					if ( trailing.size() < MAX_TRAILING_ROWS ) {
+						trailing.add(row);
+					} else {
+						trailingOverflow = true;
+					}
+				}
+			}
+			last = row;
+		}
+
+		private void outOfOrder(Row row) {
+			final Row acc = this.lastAcc;
+			if ( acc != null && row.ts.isBefore(acc.ts) ) {
+				// does not change the datum used for the start of following hours
+				return;
+			}
+			historyStart = null;
+			lastAcc = null;
+			trailing.clear();
+			trailingStart = null;
+			trailingOverflow = false;
+		}
+
+	}
+
+	private record Row(Instant ts, @Nullable Map<String, ?> inst, @Nullable Map<String, ?> acc,
+			@Nullable Map<String, ?> status, @Nullable Set<String> tags, boolean eligible,
+			Instant accepted) {
+
+		private static Row of(Instant ts, DatumSamplesOperations s, Instant accepted) {
+			Map<String, ?> i = s.getSampleData(DatumSamplesType.Instantaneous);
+			Map<String, ?> a = s.getSampleData(DatumSamplesType.Accumulating);
+			return new Row(ts, i, a, s.getSampleData(DatumSamplesType.Status), s.getTags(),
+					numeric(i) && numeric(a), accepted);
+		}
+
+		private boolean hasAccumulating() {
+			return (acc != null && !acc.isEmpty());
+		}
+
+		private static boolean numeric(@Nullable Map<String, ?> data) {
+			if ( data != null ) {
+				for ( Object v : data.values() ) {
+					if ( v != null && !(v instanceof Number) ) {
+						return false;
+					}
+				}
+			}
+			return true;
+		}
+
+	}
+
+	private static final class InstantaneousStat {
+
+		private long count;
+		private BigDecimal sum = BigDecimal.ZERO;
+		private @Nullable BigDecimal min;
+		private @Nullable BigDecimal max;
+
+		private void add(BigDecimal v) {
+			count++;
+			sum = sum.add(v);
+			if ( min == null || v.compareTo(min) < 0 ) {
+				min = v;
+			}
+			if ( max == null || v.compareTo(max) > 0 ) {
+				max = v;
+			}
+		}
+
+	}
+
+	private static final class AccumulatingStat {
+
+		private BigDecimal clockDiff = BigDecimal.ZERO;
+		private BigDecimal readingDiff = BigDecimal.ZERO;
+		private @Nullable BigDecimal readingStart;
+		private @Nullable BigDecimal readingEnd;
+		private @Nullable Instant lastTs;
+		private @Nullable BigDecimal lastValue;
+
+	}
+
+	private static final class HourAccumulator {
+
+		private final Instant start;
+		private final Instant end;
+		private final boolean floatingPointEpoch;
+		private final Map<String, InstantaneousStat> inst = new LinkedHashMap<>(8);
+		private final Map<String, AccumulatingStat> acc = new LinkedHashMap<>(8);
+		private final Map<String, Map<String, Integer>> status = new LinkedHashMap<>(4);
+		private final Set<String> tags = new TreeSet<>();
+		private boolean eligible;
+		private boolean accumulatingUnknown;
+		private int count;
+		private long[] accepted = new long[16];
+		private Instant firstTs;
+		private Instant lastTs;
+
+		private HourAccumulator(Instant start, boolean floatingPointEpoch) {
+			super();
+			this.start = start;
+			this.end = start.plus(1, ChronoUnit.HOURS);
+			this.floatingPointEpoch = floatingPointEpoch;
+			this.firstTs = start;
+			this.lastTs = start;
+		}
+
+		private void add(Row row, boolean inHour) {
+			if ( count++ == 0 ) {
+				firstTs = row.ts;
+			}
+			lastTs = row.ts;
+			if ( count > accepted.length ) {
+				accepted = Arrays.copyOf(accepted, accepted.length * 2);
+			}
+			// round up to microseconds, so the date is never before the datum received date
+			accepted[count - 1] = ChronoUnit.MICROS.between(Instant.EPOCH, row.accepted) + 1;
+			if ( !row.eligible ) {
+				eligible = false;
+			}
+			if ( inHour ) {
+				if ( row.tags != null ) {
+					tags.addAll(row.tags);
+				}
+				if ( row.inst != null ) {
+					for ( Map.Entry<String, ?> e : row.inst.entrySet() ) {
+						if ( e.getValue() instanceof Number n ) {
+							inst.computeIfAbsent(e.getKey(), _ -> new InstantaneousStat())
+									.add(decimal(n));
+						}
+					}
+				}
+				if ( row.status != null ) {
+					for ( Map.Entry<String, ?> e : row.status.entrySet() ) {
+						if ( e.getValue() != null ) {
+							status.computeIfAbsent(e.getKey(), _ -> new LinkedHashMap<>(4))
+									.merge(e.getValue().toString(), 1, Integer::sum);
+						}
+					}
+				}
+			}
+			if ( row.acc != null ) {
+				final boolean readingIncluded = !row.ts.isAfter(end);
+				for ( Map.Entry<String, ?> e : row.acc.entrySet() ) {
+					if ( !(e.getValue() instanceof Number n) ) {
+						continue;
+					}
+					final BigDecimal v = decimal(n);
+					final AccumulatingStat s = acc.computeIfAbsent(e.getKey(),
+							_ -> new AccumulatingStat());
+					if ( s.lastValue != null && s.lastTs != null ) {
+						final BigDecimal diff = v.subtract(s.lastValue);
+						s.clockDiff = s.clockDiff.add(diff.multiply(portion(s.lastTs, row.ts)));
+						if ( readingIncluded ) {
+							s.readingDiff = s.readingDiff.add(diff);
+						}
+					}
+					if ( readingIncluded ) {
+						if ( s.readingStart == null ) {
+							s.readingStart = v;
+						}
+						s.readingEnd = v;
+					}
+					s.lastTs = row.ts;
+					s.lastValue = v;
+				}
+			}
+		}
+
+		private BigDecimal portion(Instant l, Instant r) {
+			final long gap = ChronoUnit.MICROS.between(l, r);
+			if ( gap <= 0 || gap > CLOCK_TOLERANCE.toNanos() / 1000 || r.isBefore(start) ) {
+				return BigDecimal.ZERO;
+			} else if ( l.isBefore(start) ) {
+				return epochDivide(ChronoUnit.MICROS.between(start, r), gap);
+			} else if ( r.isAfter(end) && l.isBefore(end) ) {
+				return epochDivide(ChronoUnit.MICROS.between(l, end), gap);
+			}
+			return BigDecimal.ONE;
+		}
+
+		/**
+		 * Divide two intervals like
+		 * {@code EXTRACT(epoch FROM a) / EXTRACT(epoch FROM b)} in the
+		 * database.
+		 */
+		private BigDecimal epochDivide(long a, long b) {
+			if ( floatingPointEpoch ) {
+				// double precision division, then cast to numeric with 15 significant digits
+				final double d = (a / 1_000_000.0) / (b / 1_000_000.0);
+				return new BigDecimal(d).round(FLOAT8_NUMERIC_CONTEXT).stripTrailingZeros();
+			}
+			return numericDivide(BigDecimal.valueOf(a, 6), BigDecimal.valueOf(b, 6));
+		}
+
+		private @Nullable AggregateDatumEntity toAggregateDatum(UUID streamId,
+				ObjectDatumStreamMetadata meta) {
+			final String[] iNames = meta.propertyNamesForType(DatumSamplesType.Instantaneous);
+			final String[] aNames = meta.propertyNamesForType(DatumSamplesType.Accumulating);
+			final String[] sNames = meta.propertyNamesForType(DatumSamplesType.Status);
+
+			// the starting accumulating reading is not known
+			if ( accumulatingUnknown && aNames != null && aNames.length > 0 ) {
+				return null;
+			}
+
+			// only handle hours where every stream property is present, otherwise leave the
+			// hour to the database to handle
+			if ( !matches(inst.keySet(), iNames) || !matches(acc.keySet(), aNames)
+					|| !(status.isEmpty() || matches(status.keySet(), sNames)) ) {
+				return null;
+			}
+
+			BigDecimal[] dataI = null;
+			BigDecimal[][] statI = null;
+			if ( iNames != null && iNames.length > 0 ) {
+				dataI = new BigDecimal[iNames.length];
+				statI = new BigDecimal[iNames.length][];
+				for ( int i = 0; i < iNames.length; i++ ) {
+					InstantaneousStat s = nonnull(inst.get(iNames[i]), iNames[i]);
+					BigDecimal min = s.min;
+					BigDecimal max = s.max;
+					if ( min == null || max == null ) {
+						return null;
+					}
+					dataI[i] = trim(numericDivide(s.sum, BigDecimal.valueOf(s.count)));
+					statI[i] = new BigDecimal[] { BigDecimal.valueOf(s.count), min, max };
+				}
+			}
+
+			BigDecimal[] dataA = null;
+			BigDecimal[][] readA = null;
+			if ( aNames != null && aNames.length > 0 ) {
+				dataA = new BigDecimal[aNames.length];
+				readA = new BigDecimal[aNames.length][];
+				for ( int i = 0; i < aNames.length; i++ ) {
+					AccumulatingStat s = nonnull(acc.get(aNames[i]), aNames[i]);
+					BigDecimal readingStart = s.readingStart;
+					BigDecimal readingEnd = s.readingEnd;
+					if ( readingStart == null || readingEnd == null ) {
+						return null;
+					}
+					dataA[i] = trim(s.clockDiff);
+					readA[i] = new BigDecimal[] { s.readingDiff, readingStart, readingEnd };
+				}
+			}
+
+			String[] dataS = null;
+			if ( sNames != null && sNames.length > 0 && !status.isEmpty() ) {
+				dataS = new String[sNames.length];
+				for ( int i = 0; i < sNames.length; i++ ) {
+					dataS[i] = mode(nonnull(status.get(sNames[i]), sNames[i]));
+				}
+			}
+
+			final String[] dataT = (tags.isEmpty() ? null : tags.toArray(String[]::new));
+			if ( dataI == null && dataA == null && dataS == null && dataT == null ) {
+				return null;
+			}
+			return new AggregateDatumEntity(streamId, start, Aggregation.Hour,
+					DatumProperties.propertiesOf(dataI, dataA, dataS, dataT),
+					DatumPropertiesStatistics.statisticsOf(statI, readA));
+		}
+
+	}
+
+	private static boolean matches(Set<String> names, String @Nullable [] metaNames) {
+		if ( metaNames == null || metaNames.length < 1 ) {
+			return names.isEmpty();
+		}
+		return names.size() == metaNames.length && names.containsAll(Arrays.asList(metaNames));
+	}
+
+	private static String mode(Map<String, Integer> freq) {
+		// most frequent value, with ties resolved to the smallest value like the database
+		return freq.entrySet().stream()
+				.max(Map.Entry.<String, Integer> comparingByValue()
+						.thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder())))
+				.orElseThrow().getKey();
+	}
+
+	private static BigDecimal decimal(Number n) {
+		return (n instanceof BigDecimal d ? d : new BigDecimal(n.toString()));
+	}
+
+	/**
+	 * Divide two numbers like the Postgres numeric division operator does,
+	 * including the result scale it selects.
+	 *
+	 * @param n
+	 *        the dividend
+	 * @param d
+	 *        the divisor
+	 * @return the quotient
+	 */
+	private static BigDecimal numericDivide(BigDecimal n, BigDecimal d) {
+		// see select_div_scale() in the Postgres numeric.c source
+		final int[] nw = numericWeight(n);
+		final int[] dw = numericWeight(d);
+		int qweight = nw[0] - dw[0];
+		if ( nw[1] <= dw[1] ) {
+			qweight--;
+		}
+		int rscale = NUMERIC_MIN_SIG_DIGITS - qweight * DEC_DIGITS;
+		rscale = Math.max(rscale, Math.max(n.scale(), 0));
+		rscale = Math.max(rscale, Math.max(d.scale(), 0));
+		rscale = Math.min(rscale, NUMERIC_MAX_DISPLAY_SCALE);
+		return n.divide(d, rscale, RoundingMode.HALF_UP);
+	}
+
+	/**
+	 * Get the Postgres numeric weight and first base-10000 digit of a number.
+	 *
+	 * @param n
+	 *        the number
+	 * @return the weight and first digit
+	 */
+	private static int[] numericWeight(BigDecimal n) {
+		if ( n.signum() == 0 ) {
+			return new int[] { 0, 0 };
+		}
+		final BigDecimal a = n.abs();
+		final int weight = Math.floorDiv(a.precision() - a.scale() - 1, DEC_DIGITS);
+		final int first = a.movePointLeft(weight * DEC_DIGITS).setScale(0, RoundingMode.DOWN)
+				.intValue();
+		return new int[] { weight, first };
+	}
+
+	private static BigDecimal trim(BigDecimal n) {
+		BigDecimal result = n.stripTrailingZeros();
+		return (result.scale() < 0 ? result.setScale(0) : result);
+	}
+
+	/**
+	 * Get the maximum number of streams to maintain partial aggregates for.
+	 *
+	 * @return the maximum stream count; defaults to
+	 *         {@link #DEFAULT_MAX_STREAMS}
+	 */
+	public final int getMaxStreams() {
+		return maxStreams;
+	}
+
+	/**
+	 * Set the maximum number of streams to maintain partial aggregates for.
+	 *
+	 * <p>
+	 * When this limit is reached, partial aggregates for hours before the
+	 * current hour are discarded.
+	 * </p>
+	 *
+	 * @param maxStreams
+	 *        the maximum stream count
+	 */
+	public final void setMaxStreams(int maxStreams) {
+		this.maxStreams = maxStreams;
+	}
+
+	/**
+	 * Get the floating point epoch mode.
+	 *
+	 * @return {@code true} if clock difference portions are computed with
+	 *         floating point division; defaults to {@code false}
+	 * @since 1.1
+	 */
+	public final boolean isFloatingPointEpoch() {
+		return floatingPointEpoch;
+	}
+
+	/**
+	 * Set the floating point epoch mode.
+	 *
+	 * <p>
+	 * The database computes clock difference portions by dividing
+	 * {@code EXTRACT(epoch FROM ...)} values. Before Postgres 14 that returns a
+	 * {@code double precision} value, and from Postgres 14 a {@code numeric}
+	 * value, which produce different portions. Set this to {@code true} when
+	 * the database is older than Postgres 14.
+	 * </p>
+	 *
+	 * @param floatingPointEpoch
+	 *        {@code true} to compute clock difference portions with floating
+	 *        point division
+	 * @since 1.1
+	 */
+	public final void setFloatingPointEpoch(boolean floatingPointEpoch) {
+		this.floatingPointEpoch = floatingPointEpoch;
+	}
+
+}
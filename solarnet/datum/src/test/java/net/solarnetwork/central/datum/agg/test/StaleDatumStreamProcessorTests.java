@@ -31,6 +31,7 @@ import static org.easymock.EasyMock.expect;
 import static org.easymock.EasyMock.expectLastCall;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasEntry;
 import static org.hamcrest.Matchers.notNullValue;
 import java.sql.CallableStatement;
@@ -46,6 +47,7 @@ import java.util.UUID;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.easymock.Capture;
+import org.easymock.CaptureType;
 import org.easymock.EasyMock;
 import org.easymock.IAnswer;
 import org.junit.jupiter.api.AfterEach;
@@ -66,7 +68,7 @@ import net.solarnetwork.test.Assertion;
  * Test cases for the [@link StaleDatumStreamProcessor} class.
  *
  * @author matt
- * @version 2.1
+ * @version 2.2
  */
 public class StaleDatumStreamProcessorTests {
 
@@ -435,4 +437,107 @@ public class StaleDatumStreamProcessorTests {
 		assertThat("Info aggregation", info.getTimeStart(), equalTo(date.toInstant()));
 	}
 
+	@Test
+	public void aggregateProcessMax_batchSql() {
+		// WHEN
+		replayAll();
+		job.setAggregateProcessMax(10);
+
+		// THEN
+		assertThat("Batch SQL used for max > 1", job.getJdbcCall(),
+				equalTo(StaleDatumStreamProcessor.DEFAULT_BATCH_SQL));
+
+		// WHEN
+		job.setAggregateProcessMax(1);
+
+		// THEN
+		assertThat("Default SQL restored for max 1", job.getJdbcCall(),
+				equalTo(StaleDatumStreamProcessor.DEFAULT_SQL));
+	}
+
+	@Test
+	public void runBatch_emitDatumAppEvents() throws Exception {
+		// GIVEN
+		DatumAppEventAcceptor acceptor = EasyMock.createMock(DatumAppEventAcceptor.class);
+		job.setDatumAppEventAcceptors(singletonList(acceptor));
+		job.setAggregateProcessMax(3);
+
+		Connection con = EasyMock.createMock(Connection.class);
+		CallableStatement stmt = EasyMock.createMock(CallableStatement.class);
+
+		int[] cbResult = new int[] { -1 };
+		expect(jdbcTemplate.execute(assertWith(new Assertion<ConnectionCallback<Integer>>() {
+
+			@Override
+			public void check(ConnectionCallback<Integer> cb) throws Throwable {
+				Integer res = cb.doInConnection(con);
+				if ( res != null ) {
+					cbResult[0] = res.intValue();
+				}
+			}
+
+		}))).andAnswer(new IAnswer<Integer>() {
+
+			@Override
+			public Integer answer() throws Throwable {
+				return cbResult[0];
+			}
+		});
+
+		con.setAutoCommit(true);
+		expectLastCall().anyTimes();
+
+		// execute batch call & indicate a ResultSet is available
+		expect(con.prepareCall(StaleDatumStreamProcessor.DEFAULT_BATCH_SQL)).andReturn(stmt);
+		stmt.setString(1, Aggregation.Hour.getKey());
+		stmt.setInt(2, 3);
+		expect(stmt.execute()).andReturn(true).andReturn(true);
+
+		// give two result rows back first time, none second
+		final ZonedDateTime date = ZonedDateTime.now().truncatedTo(ChronoUnit.HOURS);
+		final NodeDatumId rowId1 = new NodeDatumId(UUID.randomUUID(), TEST_NODE_ID, TEST_SOURCE_ID,
+				date.toInstant(), Aggregation.Hour);
+		final NodeDatumId rowId2 = new NodeDatumId(UUID.randomUUID(), TEST_NODE_ID,
+				TEST_SOURCE_ID + ".2", date.minusHours(1).toInstant(), Aggregation.Hour);
+
+		ResultSet resultSet1 = EasyMock.createMock(ResultSet.class);
+		expect(stmt.getResultSet()).andReturn(resultSet1);
+		expect(resultSet1.next()).andReturn(true).times(2).andReturn(false);
+		expect(resultSet1.getObject(1)).andReturn(rowId1.getStreamId())
+				.andReturn(rowId2.getStreamId());
+		expect(resultSet1.getTimestamp(2)).andReturn(Timestamp.from(rowId1.getTimestamp()))
+				.andReturn(Timestamp.from(rowId2.getTimestamp()));
+		expect(resultSet1.getString(3)).andReturn(Aggregation.Hour.getKey()).times(2);
+		expect(resultSet1.getObject(4)).andReturn(TEST_NODE_ID).times(2);
+		expect(resultSet1.getString(5)).andReturn(rowId1.getSourceId())
+				.andReturn(rowId2.getSourceId());
+		expect(resultSet1.getString(6)).andReturn(Character.toString(rowId1.getKind().getKey()))
+				.times(2);
+		resultSet1.close();
+
+		ResultSet resultSet2 = EasyMock.createMock(ResultSet.class);
+		expect(stmt.getResultSet()).andReturn(resultSet2);
+		expect(resultSet2.next()).andReturn(false);
+		resultSet2.close();
+
+		stmt.close();
+
+		Capture<DatumAppEvent> eventCaptor = EasyMock.newCapture(CaptureType.ALL);
+		acceptor.offerDatumEvent(capture(eventCaptor));
+		expectLastCall().times(2);
+
+		// WHEN
+		replayAll(acceptor, con, stmt, resultSet1, resultSet2);
+		job.run();
+		job.executor.setAwaitTerminationSeconds(10);
+		job.executor.shutdown();
+
+		// THEN
+		assertThat("DatumAppEvent published for each row",
+				eventCaptor.getValues().stream().map(DatumAppEvent::getSourceId).toList(),
+				contains(rowId1.getSourceId(), rowId2.getSourceId()));
+		assertThat("DatumAppEvent prop agg timestamp", eventCaptor.getValues().get(1)
+				.getEventProperties(), hasEntry("timestamp", rowId2.getTimestamp().toEpochMilli()));
+	}
+
 }
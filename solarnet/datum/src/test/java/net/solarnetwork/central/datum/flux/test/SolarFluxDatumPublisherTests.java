@@ -25,6 +25,11 @@ package net.solarnetwork.central.datum.flux.test;
 import static net.solarnetwork.central.datum.flux.SolarFluxDatumPublishCountStat.DailyDatumPublished;
 import static net.solarnetwork.central.datum.flux.SolarFluxDatumPublishCountStat.HourlyDatumPublished;
 import static net.solarnetwork.central.datum.flux.SolarFluxDatumPublishCountStat.MonthlyDatumPublished;
+import static net.solarnetwork.central.datum.flux.SolarFluxDatumPublishCountStat.PublishLatencyOver1s;
+import static net.solarnetwork.central.datum.flux.SolarFluxDatumPublishCountStat.PublishLatencyUnder100ms;
+import static net.solarnetwork.central.datum.flux.SolarFluxDatumPublishCountStat.PublishLatencyUnder10ms;
+import static net.solarnetwork.central.datum.flux.SolarFluxDatumPublishCountStat.PublishLatencyUnder1ms;
+import static net.solarnetwork.central.datum.flux.SolarFluxDatumPublishCountStat.PublishLatencyUnder1s;
 import static net.solarnetwork.central.datum.flux.SolarFluxDatumPublishCountStat.RawDatumPublished;
 import static net.solarnetwork.central.domain.BasicSolarNodeOwnership.ownershipFor;
 import static net.solarnetwork.central.test.CommonTestUtils.randomString;
@@ -43,6 +48,7 @@ import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
 import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
@@ -81,7 +87,7 @@ import tools.jackson.databind.cfg.DateTimeFeature;
  * Unit tests for the {@link SolarFluxDatumPublisher}.
  *
  * @author matt
- * @version 2.2
+ * @version 2.3
  */
 public class SolarFluxDatumPublisherTests extends MqttServerSupport {
 
@@ -317,4 +323,92 @@ public class SolarFluxDatumPublisherTests extends MqttServerSupport {
 				session.getPublishPayloadAtIndex(0), datum, true);
 	}
 
+	@Test
+	public void publishHourDatum_pipelined() throws Exception {
+		// GIVEN
+		publisher.setPublishWindowSize(4);
+
+		final int count = 10;
+		final Instant start = Instant.now().truncatedTo(ChronoUnit.HOURS);
+		final String sourceId = randomString();
+		final List<GeneralNodeDatum> datum = new ArrayList<>(count);
+		for ( int i = 0; i < count; i++ ) {
+			ReportingGeneralNodeDatum d = new ReportingGeneralNodeDatum(TEST_NODE_ID,
+					start.minus(i, ChronoUnit.HOURS), sourceId);
+			DatumSamples samples = new DatumSamples();
+			samples.putInstantaneousSampleValue("foo", i);
+			d.setSamples(samples);
+			datum.add(d);
+		}
+
+		expect(datumSupportDao.ownershipForNodeId(TEST_NODE_ID))
+				.andReturn(ownershipFor(TEST_NODE_ID, TEST_USER_ID)).times(count);
+
+		// publish settings looked up only once, then cached
+		expect(fluxPublishSettingsDao.nodeSourcePublishConfiguration(TEST_USER_ID, TEST_NODE_ID,
+				sourceId)).andReturn(PUB_RETAINED);
+
+		final TestingInterceptHandler session = getTestingInterceptHandler();
+
+		// WHEN
+		replayAll();
+		boolean success = publisher.processDatumCollection(datum, Hour);
+
+		stopMqttServer(); // to flush messages
+
+		// THEN
+		assertThat("Datum published", success, equalTo(true));
+		assertThat("Stat published count", publisher.getMqttStats().get(HourlyDatumPublished),
+				equalTo((long) count));
+		final Map<String, Long> stats = publisher.getMqttStats().allCounts();
+		long latencyCount = 0;
+		for ( var stat : List.of(PublishLatencyUnder1ms, PublishLatencyUnder10ms,
+				PublishLatencyUnder100ms, PublishLatencyUnder1s, PublishLatencyOver1s) ) {
+			Long c = stats.get(stat.name());
+			if ( c != null ) {
+				latencyCount += c;
+			}
+		}
+		assertThat("Latency histogram counts each publish", latencyCount, equalTo((long) count));
+		assertThat("All messages published", session.publishMessages, hasSize(count));
+		for ( int i = 0; i < count; i++ ) {
+			InterceptPublishMessage msg = session.getPublishMessageAtIndex(i);
+			assertThat("Published in order " + i, msg.getTopicName(),
+					equalTo(datumTopic(TEST_USER_ID, TEST_NODE_ID, Hour, sourceId)));
+			assertPublishedDatumEqualTo("MQTT published datum " + i, msg,
+					session.getPublishPayloadAtIndex(i), datum.get(i), true);
+		}
+	}
+
+	@Test
+	public void publishHourDatum_notPublishedCached() throws Exception {
+		// GIVEN
+		final String sourceId = randomString();
+		final Instant start = Instant.now().truncatedTo(ChronoUnit.HOURS);
+		final List<GeneralNodeDatum> datum = new ArrayList<>(2);
+		for ( int i = 0; i < 2; i++ ) {
+			datum.add(new ReportingGeneralNodeDatum(TEST_NODE_ID, start.minus(i, ChronoUnit.HOURS),
+					sourceId));
+		}
+
+		expect(datumSupportDao.ownershipForNodeId(TEST_NODE_ID))
+				.andReturn(ownershipFor(TEST_NODE_ID, TEST_USER_ID)).times(2);
+
+		// publish settings looked up only once, then cached
+		expect(fluxPublishSettingsDao.nodeSourcePublishConfiguration(TEST_USER_ID, TEST_NODE_ID,
+				sourceId)).andReturn(FluxPublishSettingsInfo.NOT_PUBLISHED);
+
+		final TestingInterceptHandler session = getTestingInterceptHandler();
+
+		// WHEN
+		replayAll();
+		boolean success = publisher.processDatumCollection(datum, Hour);
+
+		stopMqttServer(); // to flush messages
+
+		// THEN
+		assertThat("Processing successful", success, equalTo(true));
+		assertThat("No messages published", session.publishMessages, hasSize(0));
+	}
+
 }
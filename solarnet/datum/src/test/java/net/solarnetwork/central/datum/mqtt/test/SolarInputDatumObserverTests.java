@@ -76,7 +76,7 @@ import tools.jackson.databind.ObjectMapper;
  * Test cases for the {@link SolarInputDatumObserver} class.
  *
  * @author matt
- * @version 1.1
+ * @version 1.2
  */
 @ExtendWith(MockitoExtension.class)
 public class SolarInputDatumObserverTests extends MqttServerSupport {
@@ -203,7 +203,7 @@ public class SolarInputDatumObserverTests extends MqttServerSupport {
 		verifyNoInteractions(datumStreamMetadataDao);
 	}
 
-	private static final class TestHandler implements Consumer<ObjectDatum> {
+	private static class TestHandler implements Consumer<ObjectDatum> {
 
 		private final CopyOnWriteArrayList<ObjectDatum> accepted = new CopyOnWriteArrayList<>();
 
@@ -417,7 +417,7 @@ public class SolarInputDatumObserverTests extends MqttServerSupport {
 		final var owner = ownershipFor(nodeId, userId);
 		final IMqttClient client = startConnectionAndClient();
 
-		given(nodeOwnershipDao.ownershipForNodeId(nodeId)).willReturn(owner).willReturn(owner);
+		given(nodeOwnershipDao.ownershipForNodeId(nodeId)).willReturn(owner);
 		given(datumStreamMetadataDao.findDatumStreamMetadata(any())).willAnswer(_ -> {
 			return singleton(new BasicObjectDatumStreamMetadata(streamId, "UTC", Node, nodeId, sourceId,
 					new String[] { "a" }, new String[] { "b" }, new String[] { "c" }));
@@ -432,10 +432,11 @@ public class SolarInputDatumObserverTests extends MqttServerSupport {
 		then(handler1.latch.await(5, TimeUnit.SECONDS)).as("Handler 1 handled in time").isTrue();
 		then(handler2.latch.await(5, TimeUnit.SECONDS)).as("Handler 2 handled in time").isTrue();
 
-		verify(datumStreamMetadataDao, times(2)).findDatumStreamMetadata(streamCriteriaCaptor.capture());
+		verify(nodeOwnershipDao, times(1)).ownershipForNodeId(nodeId);
+		verify(datumStreamMetadataDao, times(1)).findDatumStreamMetadata(streamCriteriaCaptor.capture());
 
 		// @formatter:off
-		then(streamCriteriaCaptor.getAllValues()).hasSize(2).allSatisfy(c -> {
+		then(streamCriteriaCaptor.getAllValues()).as("Message decoded once for all observers").hasSize(1).allSatisfy(c -> {
 			then(c).as("User ID criteria included")
 				.returns(userId, ObjectStreamCriteria::getUserId)
 				.as("Node type criteria included")
@@ -469,4 +470,61 @@ public class SolarInputDatumObserverTests extends MqttServerSupport {
 		// @formatter:on
 	}
 
+	@Test
+	public void addSubscribers_sameNodeId_observerExecutor() throws Exception {
+		// GIVEN
+		final CountDownLatch blockLatch = new CountDownLatch(1);
+		final var handler1 = new TestHandler(1) {
+
+			@Override
+			public void accept(ObjectDatum t) {
+				try {
+					// simulate slow observer
+					blockLatch.await(5, TimeUnit.SECONDS);
+				} catch ( InterruptedException e ) {
+					// ignore
+				}
+				super.accept(t);
+			}
+
+		};
+		final var handler2 = new TestHandler(1);
+		final var userId = randomUUID().getMostSignificantBits();
+		final var nodeId = Math.abs(randomUUID().getMostSignificantBits());
+		final var streamId = randomUUID();
+		final var sourceId = randomUUID().toString();
+		final var owner = ownershipFor(nodeId, userId);
+		final ExecutorService observerExecutor = Executors.newFixedThreadPool(2);
+		service.setObserverExecutor(observerExecutor);
+		final IMqttClient client = startConnectionAndClient();
+
+		given(nodeOwnershipDao.ownershipForNodeId(nodeId)).willReturn(owner);
+		given(datumStreamMetadataDao.findDatumStreamMetadata(any())).willAnswer(_ -> {
+			return singleton(new BasicObjectDatumStreamMetadata(streamId, "UTC", Node, nodeId, sourceId,
+					new String[] { "a" }, new String[] { "b" }, new String[] { "c" }));
+		});
+
+		try {
+			// WHEN
+			service.registerNodeObserver(handler1, nodeId);
+			service.registerNodeObserver(handler2, nodeId);
+			publishDatum(client, nodeId, sourceId);
+
+			// THEN
+			then(handler2.latch.await(5, TimeUnit.SECONDS))
+					.as("Handler 2 handled in time while handler 1 blocked").isTrue();
+			then(handler1.accepted).as("Handler 1 still blocked").isEmpty();
+
+			blockLatch.countDown();
+			then(handler1.latch.await(5, TimeUnit.SECONDS)).as("Handler 1 handled in time")
+					.isTrue();
+
+			verify(datumStreamMetadataDao, times(1)).findDatumStreamMetadata(any());
+			then(handler1.accepted.get(0)).as("Same decoded datum passed to all observers")
+					.isSameAs(handler2.accepted.get(0));
+		} finally {
+			observerExecutor.shutdownNow();
+		}
+	}
+
 }
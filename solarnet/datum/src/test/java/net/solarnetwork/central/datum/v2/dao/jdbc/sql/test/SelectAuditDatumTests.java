@@ -46,6 +46,7 @@ import org.easymock.EasyMock;
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import net.solarnetwork.central.common.dao.KeysetCursor;
 import net.solarnetwork.central.datum.v2.dao.BasicDatumCriteria;
 import net.solarnetwork.central.datum.v2.dao.jdbc.sql.SelectAuditDatum;
 import net.solarnetwork.domain.datum.Aggregation;
@@ -54,7 +55,7 @@ import net.solarnetwork.domain.datum.Aggregation;
  * Test cases for the {@link SelectAuditDatum} class.
  *
  * @author matt
- * @version 1.1
+ * @version 1.2
  */
 public class SelectAuditDatumTests {
 
@@ -111,6 +112,27 @@ public class SelectAuditDatumTests {
 				equalToTextResource("select-audit-datum-day-users-dates.sql", TestSqlResources.class));
 	}
 
+	@Test
+	public void sql_day_users_absoluteDates_keyset() {
+		// GIVEN
+		ZonedDateTime start = ZonedDateTime.of(2020, 10, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+		BasicDatumCriteria filter = new BasicDatumCriteria();
+		filter.setAggregation(Aggregation.Day);
+		filter.setUserIds(new Long[] { 2L, 3L });
+		filter.setStartDate(start.toInstant());
+		filter.setEndDate(start.plusMonths(1).toInstant());
+		filter.setCursor(KeysetCursor.of(start.toInstant(), 1L, "a").token());
+		filter.setMax(10);
+
+		// WHEN
+		String sql = new SelectAuditDatum(filter).getSql();
+
+		// THEN
+		log.debug("Generated SQL:\n{}", sql);
+		assertThat("SQL matches", sql, equalToTextResource(
+				"select-audit-datum-day-users-dates-keyset.sql", TestSqlResources.class));
+	}
+
 	@Test
 	public void sql_day_users_localDates() {
 		// GIVEN
@@ -186,6 +208,48 @@ public class SelectAuditDatumTests {
 		verify(con, stmt, userIdsArray);
 	}
 
+	@Test
+	public void prep_users_absoluteDates_keyset() throws SQLException {
+		// GIVEN
+		ZonedDateTime start = ZonedDateTime.of(2020, 10, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+		BasicDatumCriteria filter = new BasicDatumCriteria();
+		filter.setUserIds(new Long[] { 2L, 3L });
+		filter.setStartDate(start.toInstant());
+		filter.setEndDate(start.plusMonths(1).toInstant());
+		filter.setCursor(KeysetCursor.of(start.plusDays(1).toInstant(), 1L, "a").token());
+		filter.setMax(10);
+
+		Connection con = EasyMock.createMock(Connection.class);
+		PreparedStatement stmt = EasyMock.createMock(PreparedStatement.class);
+
+		Capture<String> sqlCaptor = new Capture<>();
+		expect(con.prepareStatement(capture(sqlCaptor), eq(ResultSet.TYPE_FORWARD_ONLY),
+				eq(ResultSet.CONCUR_READ_ONLY), eq(ResultSet.CLOSE_CURSORS_AT_COMMIT))).andReturn(stmt);
+
+		Array userIdsArray = EasyMock.createMock(Array.class);
+		expect(con.createArrayOf(eq("bigint"), aryEq(filter.getUserIds()))).andReturn(userIdsArray);
+		stmt.setArray(1, userIdsArray);
+		userIdsArray.free();
+
+		stmt.setTimestamp(2, Timestamp.from(filter.getStartDate()));
+		stmt.setTimestamp(3, Timestamp.from(filter.getEndDate()));
+		stmt.setTimestamp(4, Timestamp.from(start.plusDays(1).toInstant()));
+		stmt.setObject(5, 1L);
+		stmt.setString(6, "a");
+		stmt.setInt(7, 10);
+
+		// WHEN
+		replay(con, stmt, userIdsArray);
+		PreparedStatement result = new SelectAuditDatum(filter).createPreparedStatement(con);
+
+		// THEN
+		log.debug("Generated SQL:\n{}", sqlCaptor.getValue());
+		assertThat("Connection statement returned", result, sameInstance(stmt));
+		assertThat("SQL matches", sqlCaptor.getValue(), equalToTextResource(
+				"select-audit-datum-day-users-dates-keyset.sql", TestSqlResources.class));
+		verify(con, stmt, userIdsArray);
+	}
+
 	@Test
 	public void prep_users_localDates() throws SQLException {
 		// GIVEN
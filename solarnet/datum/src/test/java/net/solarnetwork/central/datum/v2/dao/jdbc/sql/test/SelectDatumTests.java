@@ -55,6 +55,7 @@ import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.EnumSet;
 import java.util.List;
+import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -66,6 +67,7 @@ import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.jdbc.core.SqlProvider;
+import net.solarnetwork.central.common.dao.KeysetCursor;
 import net.solarnetwork.central.datum.domain.CombiningType;
 import net.solarnetwork.central.datum.domain.DatumReadingType;
 import net.solarnetwork.central.datum.domain.DatumRollupType;
@@ -80,7 +82,7 @@ import net.solarnetwork.domain.datum.ObjectDatumKind;
  * Test cases for the {@link SelectDatum} class.
  *
  * @author matt
- * @version 1.4
+ * @version 1.5
  */
 @ParameterizedClass
 @ValueSource(booleans = { false, true }) // for aliased or not
@@ -997,6 +999,43 @@ public class SelectDatumTests {
 		thenSqlEqualsResource(sql, "select-datum-node-source-user-time-reverse-limit.sql");
 	}
 
+	@Test
+	public void sql_find_keyset_limit() {
+		// GIVEN
+		BasicDatumCriteria filter = new BasicDatumCriteria();
+		filter.setIncludeStreamAliases(aliased);
+		filter.setObjectKind(ObjectDatumKind.Node);
+		filter.setNodeId(randomLong());
+		filter.setSourceId(randomString());
+		filter.setUserId(randomLong());
+		filter.setStartDate(Instant.now().minusSeconds(1));
+		filter.setEndDate(filter.getStartDate().plusSeconds(1));
+		filter.setCursor(KeysetCursor.of(UUID.randomUUID(), filter.getStartDate()).token());
+		filter.setMax(1);
+
+		// WHEN
+		String sql = new SelectDatum(filter).getSql();
+
+		// THEN
+		thenSqlEqualsResource(sql, "select-datum-node-source-user-keyset-limit.sql");
+	}
+
+	@Test
+	public void sql_find_keyset_aggregate() {
+		// GIVEN
+		BasicDatumCriteria filter = new BasicDatumCriteria();
+		filter.setIncludeStreamAliases(aliased);
+		filter.setAggregation(Aggregation.Day);
+		filter.setNodeId(randomLong());
+		filter.setStartDate(Instant.now().minusSeconds(1));
+		filter.setEndDate(filter.getStartDate().plusSeconds(1));
+		filter.setCursor(KeysetCursor.of(UUID.randomUUID(), filter.getStartDate()).token());
+
+		// THEN
+		thenIllegalArgumentException().as("Cursor not supported with aggregation")
+				.isThrownBy(() -> new SelectDatum(filter));
+	}
+
 	@Test
 	public void sql_find_reading_month_rollup_all() {
 		// GIVEN
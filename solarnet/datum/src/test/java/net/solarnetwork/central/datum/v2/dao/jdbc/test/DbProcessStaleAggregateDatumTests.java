@@ -106,7 +106,7 @@ import net.solarnetwork.domain.datum.ObjectDatumStreamMetadata;
  * Test cases for DB stored procedures that process stale aggregate datum.
  *
  * @author matt
- * @version 1.1
+ * @version 1.2
  */
 public class DbProcessStaleAggregateDatumTests extends BaseDatumJdbcTestSupport {
 
@@ -210,6 +210,43 @@ public class DbProcessStaleAggregateDatumTests extends BaseDatumJdbcTestSupport
 		assertThat("No stale flux record created for time in past", staleFluxRows, hasSize(0));
 	}
 
+	private static final String SQL_PROCESS_STALE_BATCH = "SELECT * FROM solardatm.process_agg_stale_datm(?, ?)";
+
+	@Test
+	public void processStaleHour_batch() throws IOException {
+		// GIVEN
+		List<GeneralNodeDatum> datums = loadJson("test-datum-01.txt", 0, 8);
+		Map<NodeSourcePK, ObjectDatumStreamMetadata> metas = ingestDatumStream(log, jdbcTemplate, datums,
+				"UTC");
+		ObjectDatumStreamMetadata meta = metas.values().iterator().next();
+		final List<StaleAggregateDatum> staleHours = listStaleAggregateDatum(jdbcTemplate).stream()
+				.filter(e -> e.getKind() == Hour).toList();
+		then(staleHours).as("Multiple stale hours to process").hasSizeGreaterThan(1);
+
+		// WHEN
+		List<Map<String, Object>> rows1 = jdbcTemplate.queryForList(SQL_PROCESS_STALE_BATCH, "h", 1);
+		List<Map<String, Object>> rows2 = jdbcTemplate.queryForList(SQL_PROCESS_STALE_BATCH, "h",
+				staleHours.size() + 1);
+
+		// THEN
+		then(rows1).as("Batch limited to max count").hasSize(1);
+		then(rows2).as("Remaining stale hours processed in one call")
+				.hasSize(staleHours.size() - 1);
+		final List<Map<String, Object>> allRows = new ArrayList<>(rows1);
+		allRows.addAll(rows2);
+		then(allRows).as("Stream ID returned for each processed row")
+				.allSatisfy(row -> then(row).containsEntry("stream_id", meta.getStreamId())
+						.containsEntry("agg_kind", "h").containsEntry("source_id", "a"));
+		then(allRows.stream().map(row -> ((Timestamp) row.get("ts")).toInstant()).toList())
+				.as("Each stale hour processed once").containsExactlyInAnyOrderElementsOf(
+						staleHours.stream().map(StaleAggregateDatum::getTimestamp).toList());
+
+		then(listStaleAggregateDatum(jdbcTemplate)).as("No stale hours remain")
+				.noneMatch(e -> e.getKind() == Hour).as("Stale day created for next rollup level")
+				.anyMatch(e -> e.getKind() == Day);
+		then(aggDatum(Hour)).as("Hour rollups stored").isNotEmpty();
+	}
+
 	private static final String SQL_LOCK_STALE_ROW = "SELECT * FROM solardatm.agg_stale_datm "
 			+ "WHERE agg_kind = ? AND stream_id = ?::uuid AND ts_start = ? FOR UPDATE";
 
@@ -0,0 +1,160 @@
+/* ==================================================================
+ * DirectDatumEntityRowMapperTests.java - 17/10/2026 5:38:12 pm
+ *
+ * Copyright 2026 SolarNetwork.net Dev Team
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation; either version 2 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA
+ * 02111-1307 USA
+ * ==================================================================
+ */
+
+package net.solarnetwork.central.datum.v2.dao.jdbc.test;
+
+import static java.time.Instant.now;
+import static java.time.temporal.ChronoUnit.MILLIS;
+import static net.solarnetwork.central.test.CommonDbTestUtils.allTableData;
+import static net.solarnetwork.central.test.CommonTestUtils.randomLong;
+import static net.solarnetwork.central.test.CommonTestUtils.randomString;
+import static net.solarnetwork.domain.datum.ObjectDatumKind.Node;
+import static net.solarnetwork.util.NumberUtils.decimalArray;
+import static org.assertj.core.api.BDDAssertions.from;
+import static org.assertj.core.api.BDDAssertions.then;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import net.solarnetwork.central.datum.dao.jdbc.test.BaseDatumJdbcTestSupport;
+import net.solarnetwork.central.datum.v2.dao.jdbc.DatumDbUtils;
+import net.solarnetwork.central.datum.v2.dao.jdbc.DatumEntityRowMapper;
+import net.solarnetwork.central.datum.v2.dao.jdbc.DirectDatumEntityRowMapper;
+import net.solarnetwork.central.datum.v2.domain.Datum;
+
+/**
+ * Test cases for the {@link DirectDatumEntityRowMapper} class.
+ *
+ * @author matt
+ * @version 1.0
+ */
+public class DirectDatumEntityRowMapperTests extends BaseDatumJdbcTestSupport {
+
+	private static final String LIST_ALL_SQL = """
+			select stream_id,ts,received,data_i,data_a,data_s,data_t
+			from solardatm.da_datm
+			order by stream_id, ts
+			""";
+
+	private Long userId;
+	private Long nodeId;
+
+	@BeforeEach
+	public void setup() {
+		setupTestLocation();
+		userId = randomLong();
+		setupTestUser(userId);
+		nodeId = randomLong();
+		setupTestNode(nodeId);
+		setupTestUserNode(userId, nodeId);
+	}
+
+	private UUID insertStream(String iNames, String aNames, String sNames) {
+		final UUID streamId = UUID.randomUUID();
+		jdbcTemplate.update(DatumDbUtils.insertDatumMetaSql(Node), streamId.toString(), nodeId,
+				randomString(), iNames, aNames, sNames, null);
+		return streamId;
+	}
+
+	private void insertDatum(UUID streamId, Instant ts, String i, String a, String s, String t) {
+		jdbcTemplate.update(DatumDbUtils.insertDatumSql(), streamId.toString(), Timestamp.from(ts), i,
+				a, s, t, Timestamp.from(ts));
+	}
+
+	@Test
+	public void mapRow_InfinityInMiddle() {
+		// GIVEN
+		final UUID streamId = insertStream("{a,b,c}", "{c,d,e}", null);
+		final Instant ts = now().truncatedTo(MILLIS);
+		insertDatum(streamId, ts, "{12345,Infinity,34567}", "{10,-Infinity,30}", null, null);
+
+		// WHEN
+		allTableData(log, jdbcTemplate, "solardatm.da_datm", "stream_id,ts");
+
+		List<Datum> result = jdbcTemplate.query(LIST_ALL_SQL, new DirectDatumEntityRowMapper());
+
+		// THEN
+		// @formatter:off
+		then(result)
+			.as("Returned datum row")
+			.hasSize(1)
+			.first()
+			.as("Stream ID mapped")
+			.returns(streamId, from(Datum::getStreamId))
+			.as("Timestamp mapped")
+			.returns(ts, from(Datum::getTimestamp))
+			.satisfies(datum -> {
+				then(datum.getProperties().getInstantaneous())
+					.as("Has 3 instantaneous properties, with Infinity mapped to null")
+					.containsExactly(decimalArray("12345", null, "34567"))
+					;
+				then(datum.getProperties().getAccumulating())
+					.as("Has 3 accumulating properties, with Infinity mapped to null")
+					.containsExactly(decimalArray("10", null, "30"))
+					;
+			})
+			;
+		// @formatter:on
+	}
+
+	@Test
+	public void mapRow_sameAsDatumEntityRowMapper() {
+		// GIVEN
+		final UUID streamId1 = insertStream("{a,b}", "{c}", "{s}");
+		final UUID streamId2 = insertStream("{a}", null, "{s,t}");
+		final Instant start = now().truncatedTo(MILLIS);
+		insertDatum(streamId1, start, "{1.23,NULL}", "{100}", "{\"with space\"}", "{one,two}");
+		insertDatum(streamId1, start.plusSeconds(1), "{2.34,3.45}", "{101}", "{\"with space\"}",
+				"{one,two}");
+		insertDatum(streamId1, start.plusSeconds(2), "{NaN,4.56}", "{102}", "{\"with \\\"quote\\\"\"}",
+				null);
+		insertDatum(streamId2, start, "{5}", null, "{NULL,\"NULL\"}", "{one,two}");
+		insertDatum(streamId2, start.plusSeconds(1), "{6}", null, "{x,y}", "{\"a,b\"}");
+
+		// WHEN
+		allTableData(log, jdbcTemplate, "solardatm.da_datm", "stream_id,ts");
+
+		List<Datum> result = jdbcTemplate.query(LIST_ALL_SQL, new DirectDatumEntityRowMapper());
+		List<Datum> expected = jdbcTemplate.query(LIST_ALL_SQL, DatumEntityRowMapper.INSTANCE);
+
+		// THEN
+		// @formatter:off
+		then(result)
+			.as("Same rows mapped as DatumEntityRowMapper")
+			.usingRecursiveFieldByFieldElementComparator()
+			.containsExactlyElementsOf(expected)
+			;
+		List<Datum> stream1 = result.stream()
+				.filter(d -> streamId1.equals(d.getStreamId()))
+				.toList();
+		then(stream1.get(1).getProperties().getTags())
+			.as("Tags same as previous row in stream")
+			.containsExactly("one", "two")
+			.as("Tags array not shared with previous row")
+			.isNotSameAs(stream1.get(0).getProperties().getTags())
+			;
+		// @formatter:on
+	}
+
+}
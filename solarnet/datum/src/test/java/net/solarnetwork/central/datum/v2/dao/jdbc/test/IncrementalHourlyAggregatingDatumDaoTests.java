@@ -0,0 +1,235 @@
+/* ==================================================================
+ * IncrementalHourlyAggregatingDatumDaoTests.java - 17/10/2026 3:12:45 pm
+ *
+ * Copyright 2026 SolarNetwork.net Dev Team
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation; either version 2 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA
+ * 02111-1307 USA
+ * ==================================================================
+ */
+
+package net.solarnetwork.central.datum.v2.dao.jdbc.test;
+
+import static java.time.temporal.ChronoUnit.HOURS;
+import static java.time.temporal.ChronoUnit.MINUTES;
+import static net.solarnetwork.central.test.CommonTestUtils.randomSourceId;
+import static net.solarnetwork.central.test.CommonTestUtils.randomString;
+import static net.solarnetwork.domain.datum.DatumId.nodeId;
+import static org.assertj.core.api.BDDAssertions.and;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import net.solarnetwork.central.datum.dao.jdbc.test.BaseDatumJdbcTestSupport;
+import net.solarnetwork.central.datum.v2.dao.jdbc.AggregateDatumEntityRowMapper;
+import net.solarnetwork.central.datum.v2.dao.jdbc.DatumDbUtils;
+import net.solarnetwork.central.datum.v2.dao.jdbc.IncrementalHourlyAggregatingDatumDao;
+import net.solarnetwork.central.datum.v2.dao.jdbc.JdbcDatumEntityDao;
+import net.solarnetwork.central.datum.v2.domain.AggregateDatum;
+import net.solarnetwork.central.datum.v2.domain.DatumPK;
+import net.solarnetwork.central.datum.v2.domain.StaleAggregateDatum;
+import net.solarnetwork.central.datum.v2.support.IncrementalHourlyAggregator;
+import net.solarnetwork.central.test.CommonDbTestUtils;
+import net.solarnetwork.domain.datum.Aggregation;
+import net.solarnetwork.domain.datum.DatumSamples;
+import net.solarnetwork.domain.datum.GeneralDatum;
+
+/**
+ * Test cases for the {@link IncrementalHourlyAggregatingDatumDao} class.
+ *
+ * @author matt
+ * @version 1.1
+ */
+@SuppressWarnings("static-access")
+public class IncrementalHourlyAggregatingDatumDaoTests extends BaseDatumJdbcTestSupport {
+
+	private JdbcDatumEntityDao datumDao;
+	private IncrementalHourlyAggregator aggregator;
+	private IncrementalHourlyAggregatingDatumDao dao;
+
+	private Long nodeId;
+	private Instant start;
+
+	@BeforeEach
+	public void setup() {
+		final Long locId = CommonDbTestUtils.insertLocation(jdbcTemplate, TEST_LOC_COUNTRY, "UTC");
+		final Long userId = CommonDbTestUtils.insertUser(jdbcTemplate, randomString() + "@localhost");
+		nodeId = CommonDbTestUtils.insertNode(jdbcTemplate, locId);
+		CommonDbTestUtils.insertUserNode(jdbcTemplate, userId, nodeId);
+
+		datumDao = new JdbcDatumEntityDao(jdbcTemplate);
+		aggregator = new IncrementalHourlyAggregator();
+		// EXTRACT(epoch FROM interval) returns double precision before Postgres 14
+		final Integer serverVersion = jdbcTemplate.queryForObject("SHOW server_version_num",
+				Integer.class);
+		aggregator.setFloatingPointEpoch(serverVersion != null && serverVersion < 140000);
+		dao = new IncrementalHourlyAggregatingDatumDao(datumDao, datumDao, jdbcTemplate,
+				aggregator);
+
+		start = Instant.now().truncatedTo(HOURS).minus(3, HOURS);
+	}
+
+	private GeneralDatum datum(String sourceId, int minutes, int watts, Integer wattHours,
+			String tag) {
+		final DatumSamples samples = new DatumSamples();
+		samples.putInstantaneousSampleValue("watts", watts);
+		if ( wattHours != null ) {
+			samples.putAccumulatingSampleValue("wattHours", wattHours);
+		}
+		if ( tag != null ) {
+			samples.addTag(tag);
+		}
+		return new GeneralDatum(nodeId(nodeId, sourceId, start.plus(minutes, MINUTES)), samples);
+	}
+
+	private UUID storeHour(String sourceId) {
+		final DatumPK pk = dao.store(datum(sourceId, -10, 100, 1000, "y"));
+		dao.store(datum(sourceId, 10, 200, 1100, null));
+		dao.store(datum(sourceId, 30, 300, 1300, "x"));
+		dao.store(datum(sourceId, 50, 400, 1500, null));
+		return pk.getStreamId();
+	}
+
+	private List<AggregateDatum> rollup(UUID streamId) {
+		return jdbcTemplate.query("select * from solardatm.rollup_datm_for_time_span(?::uuid,?,?)",
+				AggregateDatumEntityRowMapper.INSTANCE, streamId.toString(), Timestamp.from(start),
+				Timestamp.from(start.plus(1, HOURS)));
+	}
+
+	private void thenStoredMatchesRollup(UUID streamId) {
+		final List<AggregateDatum> stored = DatumDbUtils.listAggregateDatum(jdbcTemplate,
+				Aggregation.Hour);
+		final List<AggregateDatum> expected = rollup(streamId);
+
+		// @formatter:off
+		and.then(stored)
+			.as("Hourly aggregate stored incrementally")
+			.hasSize(1)
+			.element(0)
+			.as("Stored aggregate for stream hour")
+			.returns(streamId, AggregateDatum::getStreamId)
+			.returns(start, AggregateDatum::getTimestamp)
+			.usingRecursiveComparison()
+			.comparingOnlyFields("properties", "statistics")
+			.withEqualsForType(BigDecimal::equals, BigDecimal.class)
+			.as("Stored aggregate matches database rollup of same datum, including scale")
+			.isEqualTo(expected.getFirst())
+			;
+
+		and.then(staleHours(streamId))
+			.as("Stale hour removed after aggregate stored")
+			.isEmpty()
+			;
+		// @formatter:on
+	}
+
+	private List<StaleAggregateDatum> staleHours(UUID streamId) {
+		return DatumDbUtils.listStaleAggregateDatum(jdbcTemplate, Aggregation.Hour).stream()
+				.filter(s -> streamId.equals(s.getStreamId()) && start.equals(s.getTimestamp()))
+				.toList();
+	}
+
+	@Test
+	public void completeHour_matchesRollup() {
+		// GIVEN
+		final String sourceId = randomSourceId();
+		final UUID streamId = storeHour(sourceId);
+
+		// WHEN
+		dao.store(datum(sourceId, 70, 999, 1700, "z"));
+
+		// THEN
+		thenStoredMatchesRollup(streamId);
+	}
+
+	@Test
+	public void completeHour_datumAtHourStart() {
+		// GIVEN
+		final String sourceId = randomSourceId();
+		final UUID streamId = dao.store(datum(sourceId, -10, 100, 1000, null)).getStreamId();
+		dao.store(datum(sourceId, 0, 200, 1100, null));
+		dao.store(datum(sourceId, 30, 300, 1300, null));
+		dao.store(datum(sourceId, 50, 400, 1500, null));
+
+		// WHEN
+		dao.store(datum(sourceId, 70, 999, 1700, null));
+
+		// THEN
+		thenStoredMatchesRollup(streamId);
+	}
+
+	@Test
+	public void completeHour_priorWithoutAccumulating() {
+		// GIVEN
+		final String sourceId = randomSourceId();
+		final UUID streamId = dao.store(datum(sourceId, -20, 100, 1000, null)).getStreamId();
+		dao.store(datum(sourceId, -10, 150, null, null));
+		dao.store(datum(sourceId, 10, 200, 1100, null));
+		dao.store(datum(sourceId, 30, 300, 1300, null));
+		dao.store(datum(sourceId, 50, 400, 1500, null));
+
+		// WHEN
+		dao.store(datum(sourceId, 70, 999, 1700, null));
+
+		// THEN
+		thenStoredMatchesRollup(streamId);
+	}
+
+	@Test
+	public void completeHour_inexactDivision() {
+		// GIVEN
+		final String sourceId = randomSourceId();
+		final UUID streamId = dao.store(datum(sourceId, -10, 100, 1000, null)).getStreamId();
+		dao.store(datum(sourceId, 20, 100, 1300, null));
+		dao.store(datum(sourceId, 40, 100, 1500, null));
+		dao.store(datum(sourceId, 50, 200, 1600, null));
+
+		// WHEN
+		dao.store(datum(sourceId, 70, 999, 1700, null));
+
+		// THEN
+		thenStoredMatchesRollup(streamId);
+	}
+
+	@Test
+	public void completeHour_datumUpdated() {
+		// GIVEN
+		final String sourceId = randomSourceId();
+		final UUID streamId = storeHour(sourceId);
+
+		// update datum within hour without the aggregating DAO, like another instance would
+		datumDao.store(datum(sourceId, 30, 333, 1300, "x"));
+
+		// WHEN
+		dao.store(datum(sourceId, 70, 999, 1700, "z"));
+
+		// THEN
+		// @formatter:off
+		and.then(DatumDbUtils.listAggregateDatum(jdbcTemplate, Aggregation.Hour))
+			.as("Hourly aggregate not stored because datum updated since accepted")
+			.isEmpty()
+			;
+
+		and.then(staleHours(streamId))
+			.as("Stale hour left for stale processing")
+			.hasSize(1)
+			;
+		// @formatter:on
+	}
+
+}
@@ -76,7 +76,7 @@ import net.solarnetwork.domain.datum.ObjectDatumStreamMetadata;
  * {@link FilterableDao}.
  *
  * @author matt
- * @version 1.1
+ * @version 1.2
  */
 public class JdbcDatumEntityDao_FilterableDaoTests extends BaseDatumJdbcTestSupport {
 
@@ -636,4 +636,106 @@ public class JdbcDatumEntityDao_FilterableDaoTests extends BaseDatumJdbcTestSupp
 		}
 	}
 
+	private Instant latestDatumTimestamp(UUID streamId) {
+		List<Timestamp> l = jdbcTemplate.queryForList(
+				"SELECT ts FROM solardatm.da_datm_latest WHERE stream_id = ?::uuid", Timestamp.class,
+				streamId.toString());
+		return (l.isEmpty() ? null : l.getFirst().toInstant());
+	}
+
+	private Instant mostRecentDatumTimestamp(Long nodeId) {
+		BasicDatumCriteria filter = new BasicDatumCriteria();
+		filter.setNodeId(nodeId);
+		filter.setMostRecent(true);
+		ObjectDatumStreamFilterResults<Datum, DatumPK> results = dao.findFiltered(filter);
+		assertThat("One result returned", results.getReturnedResultCount(), equalTo(1));
+		return results.iterator().next().getTimestamp();
+	}
+
+	@Test
+	public void find_mostRecent_latestMaintainedOnInsert() {
+		// GIVEN
+		final ZonedDateTime start = ZonedDateTime.of(2020, 10, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+		final Duration freq = Duration.ofMinutes(30);
+		insertDatum(1L, "s1", "foo", start, freq, 4);
+
+		final UUID streamId = listNodeMetadata(jdbcTemplate).getFirst().getStreamId();
+		final Instant maxTs = start.plusMinutes(3 * 30).toInstant();
+		assertThat("Latest timestamp maintained on insert", latestDatumTimestamp(streamId),
+				equalTo(maxTs));
+
+		// insert older datum, which should not change the latest timestamp
+		insertDatum(1L, "s1", "foo", start.minusDays(1), freq, 2);
+
+		// WHEN
+		Instant result = mostRecentDatumTimestamp(1L);
+
+		// THEN
+		assertThat("Latest timestamp not changed by older datum", latestDatumTimestamp(streamId),
+				equalTo(maxTs));
+		assertThat("Most recent datum returned", result, equalTo(maxTs));
+	}
+
+	@Test
+	public void find_mostRecent_afterDelete() {
+		// GIVEN
+		final ZonedDateTime start = ZonedDateTime.of(2020, 10, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+		final Duration freq = Duration.ofMinutes(30);
+		insertDatum(1L, "s1", "foo", start, freq, 4);
+
+		final UUID streamId = listNodeMetadata(jdbcTemplate).getFirst().getStreamId();
+		final Instant maxTs = start.plusMinutes(3 * 30).toInstant();
+		jdbcTemplate.update("DELETE FROM solardatm.da_datm WHERE stream_id = ?::uuid AND ts = ?",
+				streamId.toString(), Timestamp.from(maxTs));
+
+		// WHEN
+		Instant result = mostRecentDatumTimestamp(1L);
+
+		// THEN
+		assertThat("Latest timestamp not changed by delete", latestDatumTimestamp(streamId),
+				equalTo(maxTs));
+		assertThat("Most recent remaining datum returned", result,
+				equalTo(start.plusMinutes(2 * 30).toInstant()));
+	}
+
+	@Test
+	public void find_mostRecent_noLatestRow() {
+		// GIVEN
+		final ZonedDateTime start = ZonedDateTime.of(2020, 10, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+		final Duration freq = Duration.ofMinutes(30);
+		insertDatum(1L, "s1", "foo", start, freq, 4);
+
+		final UUID streamId = listNodeMetadata(jdbcTemplate).getFirst().getStreamId();
+		jdbcTemplate.update("DELETE FROM solardatm.da_datm_latest WHERE stream_id = ?::uuid",
+				streamId.toString());
+
+		// WHEN
+		Instant result = mostRecentDatumTimestamp(1L);
+
+		// THEN
+		assertThat("No latest timestamp available", latestDatumTimestamp(streamId), nullValue());
+		assertThat("Most recent datum returned without latest row", result,
+				equalTo(start.plusMinutes(3 * 30).toInstant()));
+	}
+
+	@Test
+	public void latest_deletedWithStream() {
+		// GIVEN
+		final ZonedDateTime start = ZonedDateTime.of(2020, 10, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+		final Duration freq = Duration.ofMinutes(30);
+		insertDatum(1L, "s1", "foo", start, freq, 4);
+
+		final UUID streamId = listNodeMetadata(jdbcTemplate).getFirst().getStreamId();
+		assertThat("Latest timestamp maintained on insert", latestDatumTimestamp(streamId),
+				notNullValue());
+
+		// WHEN
+		jdbcTemplate.update("DELETE FROM solardatm.da_datm_meta WHERE stream_id = ?::uuid",
+				streamId.toString());
+
+		// THEN
+		assertThat("Latest timestamp deleted with stream", latestDatumTimestamp(streamId),
+				nullValue());
+	}
+
 }
@@ -31,8 +31,12 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.lessThan;
 import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import java.io.IOException;
 import java.time.Duration;
 import java.time.Instant;
@@ -59,7 +63,7 @@ import net.solarnetwork.domain.datum.StreamDatum;
  * Test cases for stream filter results in {@link JdbcDatumEntityDao}.
  * 
  * @author matt
- * @version 1.0
+ * @version 1.1
  */
 public class JdbcDatumEntityDao_StreamingFilterResultsTests extends BaseDatumJdbcTestSupport {
 
@@ -109,4 +113,104 @@ public class JdbcDatumEntityDao_StreamingFilterResultsTests extends BaseDatumJdb
 		}
 	}
 
+	private static final class PageCapturingProcessor extends BasicStreamDatumFilteredResultsProcessor {
+
+		private Long totalResultCount;
+		private Integer startingOffset;
+		private Integer expectedResultCount;
+
+		@Override
+		public void start(Long totalResultCount, Integer startingOffset,
+				Integer expectedResultCount, Map<String, ?> attributes) throws IOException {
+			this.totalResultCount = totalResultCount;
+			this.startingOffset = startingOffset;
+			this.expectedResultCount = expectedResultCount;
+			super.start(totalResultCount, startingOffset, expectedResultCount, attributes);
+		}
+
+	}
+
+	@Test
+	public void stream_paged() throws IOException {
+		// GIVEN
+		final ZonedDateTime start = ZonedDateTime.of(2020, 10, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+		final Duration freq = Duration.ofMinutes(30);
+		populateBasicDatumStream(jdbcTemplate, log, 1L, "s1", "foo", start, freq, 4);
+
+		final UUID streamId = listNodeMetadata(jdbcTemplate).getFirst().getStreamId();
+
+		// WHEN
+		final PageCapturingProcessor processor = new PageCapturingProcessor();
+		BasicDatumCriteria filter = new BasicDatumCriteria();
+		filter.setStreamId(streamId);
+		filter.setOffset(1L);
+		filter.setMax(2);
+		dao.findFilteredStream(filter, processor);
+
+		// THEN
+		List<StreamDatum> datumList = processor.getData();
+		assertThat("Page of results collected", datumList, hasSize(2));
+		assertThat("First result is at offset", datumList.getFirst().getTimestamp(),
+				equalTo(start.plus(freq).toInstant()));
+		assertThat("Total result count provided", processor.totalResultCount, equalTo(4L));
+		assertThat("Starting offset provided", processor.startingOffset, equalTo(1));
+		assertThat("Expected result count provided", processor.expectedResultCount, equalTo(2));
+	}
+
+	@Test
+	public void stream_paged_withoutTotalResultsCount() throws IOException {
+		// GIVEN
+		final ZonedDateTime start = ZonedDateTime.of(2020, 10, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+		final Duration freq = Duration.ofMinutes(30);
+		populateBasicDatumStream(jdbcTemplate, log, 1L, "s1", "foo", start, freq, 4);
+
+		final UUID streamId = listNodeMetadata(jdbcTemplate).getFirst().getStreamId();
+
+		// WHEN
+		final PageCapturingProcessor processor = new PageCapturingProcessor();
+		BasicDatumCriteria filter = new BasicDatumCriteria();
+		filter.setStreamId(streamId);
+		filter.setMax(3);
+		filter.setWithoutTotalResultsCount(true);
+		dao.findFilteredStream(filter, processor);
+
+		// THEN
+		assertThat("Page of results collected", processor.getData(), hasSize(3));
+		assertThat("Total result count not provided", processor.totalResultCount,
+				is(nullValue()));
+		assertThat("Starting offset provided", processor.startingOffset, equalTo(0));
+		assertThat("Expected result count not provided", processor.expectedResultCount,
+				is(nullValue()));
+	}
+
+	@Test
+	public void stream_stopOnIoException() throws IOException {
+		// GIVEN
+		final ZonedDateTime start = ZonedDateTime.of(2020, 10, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+		final Duration freq = Duration.ofMinutes(30);
+		populateBasicDatumStream(jdbcTemplate, log, 1L, "s1", "foo", start, freq, 4);
+
+		final UUID streamId = listNodeMetadata(jdbcTemplate).getFirst().getStreamId();
+
+		// WHEN
+		final IOException clientGone = new IOException("Client went away.");
+		final BasicStreamDatumFilteredResultsProcessor processor = new BasicStreamDatumFilteredResultsProcessor() {
+
+			@Override
+			public void handleResultItem(StreamDatum resultItem) throws IOException {
+				super.handleResultItem(resultItem);
+				throw clientGone;
+			}
+
+		};
+		BasicDatumCriteria filter = new BasicDatumCriteria();
+		filter.setStreamId(streamId);
+		IOException ex = assertThrows(IOException.class,
+				() -> dao.findFilteredStream(filter, processor));
+
+		// THEN
+		assertThat("Processor exception propagated", ex, is(sameInstance(clientGone)));
+		assertThat("Processing stopped after exception", processor.getData(), hasSize(1));
+	}
+
 }
@@ -28,6 +28,7 @@ import static java.util.stream.Collectors.joining;
 import static net.solarnetwork.central.test.CommonTestUtils.randomSourceId;
 import static net.solarnetwork.central.test.CommonTestUtils.randomString;
 import static net.solarnetwork.domain.datum.DatumId.nodeId;
+import static net.solarnetwork.util.NumberUtils.decimalArray;
 import static org.assertj.core.api.BDDAssertions.then;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
@@ -38,12 +39,15 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import net.solarnetwork.central.datum.dao.jdbc.test.BaseDatumJdbcTestSupport;
+import net.solarnetwork.central.datum.v2.dao.DatumEntity;
 import net.solarnetwork.central.datum.v2.dao.jdbc.DatumDbUtils;
 import net.solarnetwork.central.datum.v2.dao.jdbc.JdbcDatumEntityDao;
+import net.solarnetwork.central.datum.v2.domain.Datum;
 import net.solarnetwork.central.datum.v2.domain.DatumPK;
 import net.solarnetwork.central.datum.v2.domain.StaleAggregateDatum;
 import net.solarnetwork.central.test.CommonDbTestUtils;
 import net.solarnetwork.central.test.CommonTestUtils;
+import net.solarnetwork.domain.datum.DatumProperties;
 import net.solarnetwork.domain.datum.DatumSamples;
 import net.solarnetwork.domain.datum.GeneralDatum;
 
@@ -51,7 +55,7 @@ import net.solarnetwork.domain.datum.GeneralDatum;
  * Test write-only DAO concurrent transactions.
  *
  * @author matt
- * @version 1.0
+ * @version 1.1
  */
 public class JdbcDatumEntityDao_WriteOnlyDaoAggregateTrackingTests extends BaseDatumJdbcTestSupport {
 
@@ -746,4 +750,74 @@ public class JdbcDatumEntityDao_WriteOnlyDaoAggregateTrackingTests extends BaseD
 		// @formatter:on
 	}
 
+	@Test
+	public void storeAll_newStream_afterGap_exactHour() {
+		// GIVEN
+		final String sourceId = randomSourceId();
+		final GeneralDatum d1 = datum(sourceId, start);
+		final GeneralDatum d2 = datum(sourceId, start.plus(24, HOURS));
+
+		// WHEN
+		final List<DatumPK> pks = dao.storeAll(List.of(d1, d2));
+
+		// THEN
+		// @formatter:off
+		then(pks)
+			.as("Primary key returned for each datum")
+			.hasSize(2)
+			.doesNotContainNull()
+			.extracting(DatumPK::getStreamId)
+			.as("Same stream used for both datum")
+			.containsOnly(pks.getFirst().getStreamId())
+			;
+
+		thenStaleHoursCreated("Batch stored stream after gap", pks.getFirst().getStreamId(),
+			start,
+			start.plus(23, HOURS), // because 2nd datum exactly on hour
+			start.plus(24, HOURS)
+		);
+		// @formatter:on
+	}
+
+	@Test
+	public void storeAll_streamDatum_afterGap_exactHour() {
+		// GIVEN
+		// setup stream with existing hour
+		final String sourceId = randomSourceId();
+		final GeneralDatum startDatum = datum(sourceId, start);
+		final DatumPK startDatumPk = dao.store(startDatum);
+
+		deleteStaleDatumRecords();
+
+		// WHEN
+		final Instant ts = start.plus(24, HOURS);
+		final DatumProperties props = DatumProperties.propertiesOf(decimalArray("1.23"),
+				decimalArray("2.34"), null, new String[] { "t" });
+		final DatumEntity d = new DatumEntity(startDatumPk.getStreamId(), ts, null, props);
+		final List<DatumPK> pks = dao.storeAll(List.of(d));
+
+		// THEN
+		// @formatter:off
+		then(pks)
+			.as("Primary key returned for stream datum")
+			.containsExactly(new DatumPK(startDatumPk.getStreamId(), ts))
+			;
+
+		then(DatumDbUtils.listDatum(jdbcTemplate))
+			.as("Stream datum stored")
+			.filteredOn(e -> ts.equals(e.getTimestamp()))
+			.singleElement()
+			.extracting(Datum::getProperties)
+			.as("Properties stored")
+			.isEqualTo(props)
+			;
+
+		thenStaleHoursCreated("Batch stored stream datum after gap", startDatumPk.getStreamId(),
+			start,
+			start.plus(23, HOURS), // because datum exactly on hour
+			start.plus(24, HOURS)
+		);
+		// @formatter:on
+	}
+
 }
@@ -30,6 +30,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
@@ -54,7 +55,7 @@ import net.solarnetwork.util.NumberUtils;
  * Test cases for the {@link DatumWriteOnlyDaoGenericAdapter} class.
  *
  * @author matt
- * @version 1.0
+ * @version 1.1
  */
 @ExtendWith(MockitoExtension.class)
 @SuppressWarnings("static-access")
@@ -131,4 +132,27 @@ public class DatumWriteOnlyDaoGenericAdapterTests {
 		and.then(result).as("Delegate DAO result returned").isSameAs(delegateDaoResult);
 	}
 
+	@Test
+	public void persistAll() {
+		// GIVEN
+		final Long nodeId = randomLong();
+		final String sourceId = randomString();
+		final Instant ts = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+		final GeneralNodeDatum entity1 = new GeneralNodeDatum(nodeId, ts, sourceId);
+		entity1.setSamples(new DatumSamples(Map.of("a", 1), null, null));
+		final GeneralNodeDatum entity2 = new GeneralNodeDatum(nodeId, ts.plusSeconds(1), sourceId);
+		entity2.setSamples(new DatumSamples(Map.of("a", 2), null, null));
+
+		final List<DatumPK> delegateDaoResult = List.of(
+				unassignedStream(ObjectDatumKind.Node, nodeId, sourceId, entity1.getCreated()),
+				unassignedStream(ObjectDatumKind.Node, nodeId, sourceId, entity2.getCreated()));
+		given(delegateDao.storeAll(any())).willReturn(delegateDaoResult);
+
+		// WHEN
+		final List<DatumPK> result = dao.persistAll(List.of(entity1, entity2));
+
+		// THEN
+		and.then(result).as("Delegate DAO result returned").isSameAs(delegateDaoResult);
+	}
+
 }
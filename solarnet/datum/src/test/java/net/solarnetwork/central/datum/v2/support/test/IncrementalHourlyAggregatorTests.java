@@ -0,0 +1,349 @@
+/* ==================================================================
+ * IncrementalHourlyAggregatorTests.java - 17/10/2026 11:52:38 pm
+ *
+ * Copyright 2026 SolarNetwork.net Dev Team
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation; either version 2 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA
+ * 02111-1307 USA
+ * ==================================================================
+ */
+
+package net.solarnetwork.central.datum.v2.support.test;
+
+import static net.solarnetwork.util.NumberUtils.decimalArray;
+import static org.assertj.core.api.BDDAssertions.then;
+import java.time.Instant;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import net.solarnetwork.central.datum.v2.dao.AggregateDatumEntity;
+import net.solarnetwork.central.datum.v2.domain.BasicObjectDatumStreamMetadata;
+import net.solarnetwork.central.datum.v2.support.IncrementalHourlyAggregator;
+import net.solarnetwork.central.datum.v2.support.IncrementalHourlyAggregator.CompletedHour;
+import net.solarnetwork.domain.datum.Aggregation;
+import net.solarnetwork.domain.datum.DatumSamples;
+import net.solarnetwork.domain.datum.ObjectDatumKind;
+import net.solarnetwork.domain.datum.ObjectDatumStreamMetadata;
+
+/**
+ * Test cases for the {@link IncrementalHourlyAggregator} class.
+ *
+ * @author matt
+ * @version 1.1
+ */
+public class IncrementalHourlyAggregatorTests {
+
+	private static final Instant HOUR = Instant.parse("2026-10-17T11:00:00Z");
+
+	private UUID streamId;
+	private ObjectDatumStreamMetadata meta;
+	private IncrementalHourlyAggregator aggregator;
+
+	@BeforeEach
+	public void setup() {
+		streamId = UUID.randomUUID();
+		meta = new BasicObjectDatumStreamMetadata(streamId, "UTC", ObjectDatumKind.Node, 1L, "a",
+				new String[] { "watts" }, new String[] { "wattHours" }, new String[] { "mode" });
+		aggregator = new IncrementalHourlyAggregator();
+	}
+
+	private static DatumSamples samples(int watts, int wattHours, String mode, String tag) {
+		DatumSamples s = new DatumSamples();
+		s.putInstantaneousSampleValue("watts", watts);
+		s.putAccumulatingSampleValue("wattHours", wattHours);
+		if ( mode != null ) {
+			s.putStatusSampleValue("mode", mode);
+		}
+		if ( tag != null ) {
+			s.addTag(tag);
+		}
+		return s;
+	}
+
+	private CompletedHour accept(int minutes, int watts, int wattHours, String mode, String tag) {
+		return aggregator.accept(streamId, HOUR.plusSeconds(minutes * 60L),
+				samples(watts, wattHours, mode, tag));
+	}
+
+	private CompletedHour acceptInstantaneous(int minutes, int watts) {
+		DatumSamples s = new DatumSamples();
+		s.putInstantaneousSampleValue("watts", watts);
+		return aggregator.accept(streamId, HOUR.plusSeconds(minutes * 60L), s);
+	}
+
+	@Test
+	public void firstHourNotEligible() {
+		// WHEN
+		CompletedHour r1 = accept(-40, 50, 900, "a", null);
+		CompletedHour r2 = accept(-10, 100, 1000, "a", null);
+		CompletedHour r3 = accept(10, 200, 1100, "a", null);
+
+		// THEN
+		then(r1).as("First datum does not complete hour").isNull();
+		then(r2).as("Datum within hour does not complete hour").isNull();
+		then(r3).as("Partially observed first hour not completed").isNull();
+		then(aggregator.getStreamCount()).as("Stream tracked").isEqualTo(1);
+	}
+
+	@Test
+	public void completeHour() {
+		// GIVEN
+		accept(-40, 50, 900, "a", null);
+		accept(-10, 100, 1000, "a", "y");
+		accept(10, 200, 1100, "a", null);
+		accept(30, 300, 1300, "b", null);
+		accept(50, 400, 1500, "a", "x");
+
+		// WHEN
+		CompletedHour result = accept(70, 999, 1700, "c", "z");
+
+		// THEN
+		then(result).as("Hour completed").isNotNull();
+		then(result.getStreamId()).as("Stream ID").isEqualTo(streamId);
+		then(result.getHourStart()).as("Hour start").isEqualTo(HOUR);
+		then(result.getFirstTimestamp()).as("First datum is datum before hour")
+				.isEqualTo(HOUR.minusSeconds(600));
+		then(result.getLastTimestamp()).as("Last datum is datum after hour")
+				.isEqualTo(HOUR.plusSeconds(4200));
+		then(result.getDatumCount()).as("Datum count includes surrounding datum").isEqualTo(5);
+
+		AggregateDatumEntity agg = result.toAggregateDatum(meta);
+		then(agg).as("Aggregate created").isNotNull();
+		then(agg.getStreamId()).as("Aggregate stream ID").isEqualTo(streamId);
+		then(agg.getTimestamp()).as("Aggregate timestamp").isEqualTo(HOUR);
+		then(agg.getAggregation()).as("Aggregate kind").isEqualTo(Aggregation.Hour);
+		then(agg.getProperties().getInstantaneous()).as("Average instantaneous within hour")
+				.containsExactly(decimalArray("300"));
+		then(agg.getStatistics().getInstantaneous()).as("Instantaneous count, min, max")
+				.containsExactly(decimalArray("3", "200", "400"));
+		then(agg.getProperties().getAccumulating())
+				.as("Clock difference includes portions of surrounding datum")
+				.containsExactly(decimalArray("550"));
+		then(agg.getStatistics().getAccumulating()).as("Reading difference, start, end")
+				.containsExactly(decimalArray("500", "1000", "1500"));
+		then(agg.getProperties().getStatus()).as("Most frequent status").containsExactly("a");
+		then(agg.getProperties().getTags()).as("Tags only from datum within hour")
+				.containsExactly("x");
+	}
+
+	@Test
+	public void outOfOrder() {
+		// GIVEN
+		accept(-10, 100, 1000, "a", null);
+		accept(10, 200, 1100, "a", null);
+		accept(50, 400, 1500, "a", null);
+
+		// WHEN
+		CompletedHour r1 = accept(30, 300, 1300, "a", null);
+		CompletedHour r2 = accept(70, 999, 1700, "a", null);
+
+		// THEN
+		then(r1).as("Out of order datum does not complete hour").isNull();
+		then(r2).as("Hour with out of order datum not completed").isNull();
+	}
+
+	@Test
+	public void nextHourEligible() {
+		// GIVEN
+		accept(-10, 100, 1000, "a", null);
+		accept(10, 200, 1100, "a", null);
+		accept(50, 400, 1500, "a", null);
+		accept(30, 300, 1300, "a", null);
+		accept(70, 500, 1700, "a", null);
+
+		// WHEN
+		CompletedHour result = accept(130, 600, 1900, "a", null);
+
+		// THEN
+		then(result).as("Hour after out of order hour completed").isNotNull();
+		then(result.getHourStart()).as("Hour start").isEqualTo(HOUR.plusSeconds(3600));
+		then(result.getDatumCount()).as("Datum count").isEqualTo(3);
+	}
+
+	@Test
+	public void discard() {
+		// GIVEN
+		accept(-10, 100, 1000, "a", null);
+		accept(10, 200, 1100, "a", null);
+
+		// WHEN
+		aggregator.discard(streamId);
+		accept(30, 300, 1300, "a", null);
+		CompletedHour result = accept(70, 999, 1700, "a", null);
+
+		// THEN
+		then(result).as("Hour not completed after discard").isNull();
+	}
+
+	@Test
+	public void propertyNotInMetadata() {
+		// GIVEN
+		accept(-10, 100, 1000, "a", null);
+		accept(10, 200, 1100, "a", null);
+		CompletedHour result = accept(70, 999, 1700, "a", null);
+		ObjectDatumStreamMetadata otherMeta = new BasicObjectDatumStreamMetadata(streamId, "UTC",
+				ObjectDatumKind.Node, 1L, "a", new String[] { "current" },
+				new String[] { "wattHours" }, new String[] { "mode" });
+
+		// WHEN
+		AggregateDatumEntity agg = result.toAggregateDatum(otherMeta);
+
+		// THEN
+		then(agg).as("Aggregate not created when properties do not match metadata").isNull();
+	}
+
+	@Test
+	public void clockGapOverTolerance() {
+		// GIVEN
+		accept(-90, 100, 1000, null, null);
+		accept(10, 200, 1100, null, null);
+		accept(50, 400, 1500, null, null);
+
+		// WHEN
+		CompletedHour result = accept(60, 500, 1600, null, null);
+
+		// THEN
+		then(result).as("Hour completed by datum exactly at next hour").isNotNull();
+		AggregateDatumEntity agg = result.toAggregateDatum(meta);
+		then(agg.getProperties().getAccumulating())
+				.as("Clock difference excludes difference from datum over 1 hour apart")
+				.containsExactly(decimalArray("500"));
+		then(agg.getStatistics().getAccumulating())
+				.as("Reading includes datum before hour and datum exactly at end of hour")
+				.containsExactly(decimalArray("600", "1000", "1600"));
+		then(agg.getProperties().getStatus()).as("No status").isNull();
+	}
+
+	@Test
+	public void datumAtHourStart() {
+		// GIVEN
+		accept(-40, 50, 900, null, null);
+		accept(-10, 100, 1000, null, null);
+		accept(0, 200, 1100, null, null);
+		accept(30, 300, 1300, null, null);
+		accept(50, 400, 1500, null, null);
+
+		// WHEN
+		CompletedHour result = accept(70, 999, 1700, null, null);
+
+		// THEN
+		then(result).as("Hour completed").isNotNull();
+		then(result.getFirstTimestamp()).as("First datum is datum at hour start")
+				.isEqualTo(HOUR);
+		then(result.getDatumCount()).as("Datum count excludes datum before hour").isEqualTo(4);
+		AggregateDatumEntity agg = result.toAggregateDatum(meta);
+		then(agg.getProperties().getAccumulating()).as("Clock difference from hour start")
+				.containsExactly(decimalArray("500"));
+		then(agg.getStatistics().getAccumulating()).as("Reading difference from hour start")
+				.containsExactly(decimalArray("400", "1100", "1500"));
+	}
+
+	@Test
+	public void priorWithoutAccumulating() {
+		// GIVEN
+		accept(-40, 50, 900, null, null);
+		accept(-20, 100, 1000, null, null);
+		acceptInstantaneous(-10, 150);
+		accept(10, 200, 1100, null, null);
+		accept(50, 400, 1500, null, null);
+
+		// WHEN
+		CompletedHour result = accept(70, 999, 1700, null, null);
+
+		// THEN
+		then(result).as("Hour completed").isNotNull();
+		then(result.getFirstTimestamp())
+				.as("First datum is latest datum before hour with accumulating properties")
+				.isEqualTo(HOUR.minusSeconds(1200));
+		then(result.getDatumCount()).as("Datum count includes all datum from first")
+				.isEqualTo(5);
+		AggregateDatumEntity agg = result.toAggregateDatum(meta);
+		then(agg.getProperties().getInstantaneous()).as("Average only from datum within hour")
+				.containsExactly(decimalArray("300"));
+		then(agg.getStatistics().getAccumulating())
+				.as("Reading difference from accumulating datum before hour")
+				.containsExactly(decimalArray("500", "1000", "1500"));
+	}
+
+	@Test
+	public void accumulatingPriorUnknown() {
+		// GIVEN
+		acceptInstantaneous(-10, 100);
+		accept(10, 200, 1100, null, null);
+		accept(50, 400, 1500, null, null);
+
+		// WHEN
+		CompletedHour result = accept(70, 999, 1700, null, null);
+
+		// THEN
+		then(result).as("Hour completed").isNotNull();
+		then(result.toAggregateDatum(meta))
+				.as("Aggregate not created when unobserved accumulating datum might precede hour")
+				.isNull();
+	}
+
+	@Test
+	public void unevenMean() {
+		// GIVEN
+		accept(-10, 100, 1000, null, null);
+		accept(10, 100, 1100, null, null);
+		accept(30, 100, 1300, null, null);
+		accept(50, 200, 1500, null, null);
+
+		// WHEN
+		CompletedHour result = accept(70, 999, 1700, null, null);
+
+		// THEN
+		AggregateDatumEntity agg = result.toAggregateDatum(meta);
+		then(agg.getProperties().getInstantaneous()).as("Average with database numeric scale")
+				.containsExactly(decimalArray("133.3333333333333333"));
+	}
+
+	@Test
+	public void inexactPortion() {
+		// GIVEN
+		accept(-10, 100, 1000, null, null);
+		accept(20, 200, 1300, null, null);
+		accept(50, 400, 1500, null, null);
+
+		// WHEN
+		CompletedHour result = accept(70, 999, 1700, null, null);
+
+		// THEN
+		AggregateDatumEntity agg = result.toAggregateDatum(meta);
+		then(agg.getProperties().getAccumulating())
+				.as("Clock difference with database numeric scale")
+				.containsExactly(decimalArray("500.000000000000000001"));
+	}
+
+	@Test
+	public void inexactPortion_floatingPointEpoch() {
+		// GIVEN
+		aggregator.setFloatingPointEpoch(true);
+		accept(-10, 100, 1000, null, null);
+		accept(20, 200, 1300, null, null);
+		accept(50, 400, 1500, null, null);
+
+		// WHEN
+		CompletedHour result = accept(70, 999, 1700, null, null);
+
+		// THEN
+		AggregateDatumEntity agg = result.toAggregateDatum(meta);
+		then(agg.getProperties().getAccumulating())
+				.as("Clock difference with double precision portions cast to numeric")
+				.containsExactly(decimalArray("500.0000000000001"));
+	}
+
+}
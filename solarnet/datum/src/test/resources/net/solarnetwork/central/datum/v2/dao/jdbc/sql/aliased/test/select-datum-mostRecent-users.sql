@@ -12,10 +12,12 @@ SELECT s.stream_id,
 	datum.data_s, 
 	datum.data_t
 FROM s
+LEFT OUTER JOIN solardatm.da_datm_latest latest ON latest.stream_id = s.orig_stream_id
 INNER JOIN LATERAL (
 		SELECT datum.*
 		FROM solardatm.da_datm datum
 		WHERE datum.stream_id = s.orig_stream_id
+		AND datum.ts <= COALESCE(latest.ts, 'infinity'::timestamptz)
 		-- this style lateral join was found to execute fastest under Timescale's ChunkAppend scan
 		-- but was only selected if the ORDER BY was by time only, even though the index is defined
 		-- as (stream_id, ts)
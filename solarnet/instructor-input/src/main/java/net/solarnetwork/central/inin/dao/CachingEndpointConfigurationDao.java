@@ -38,7 +38,7 @@ import net.solarnetwork.domain.SortDescriptor;
  * Caching proxy for {@link EndpointConfigurationDao}.
  *
  * @author matt
- * @version 1.1
+ * @version 1.2
  */
 public class CachingEndpointConfigurationDao
 		extends CachingGenericDao<EndpointConfiguration, UserUuidPK, EndpointConfigurationDao>
@@ -87,10 +87,16 @@ public class CachingEndpointConfigurationDao
 		UserUuidPK id = endpointOnlyKey(endpointId);
 		EndpointConfiguration result = cache.get(id);
 		if ( result == null ) {
+			// invalidating the full key also invalidates the endpoint-only key
+			final long version = invalidationVersion(id);
 			result = delegate.getForEndpointId(endpointId);
 			if ( result != null ) {
-				cache.put(id, result);
-				cache.put(result.getId(), result);
+				cachePut(id, result);
+				cachePut(result.getId(), result);
+				if ( invalidatedSince(id, version) ) {
+					cache.remove(id);
+					cache.remove(result.getId());
+				}
 			}
 		}
 		return result;
@@ -100,19 +106,23 @@ public class CachingEndpointConfigurationDao
 	public UserUuidPK save(EndpointConfiguration entity) {
 		UserUuidPK result = super.save(entity);
 		if ( result != null ) {
-			UserUuidPK id = endpointOnlyKey(result.getUuid());
-			cache.remove(id);
+			evict(endpointOnlyKey(result.getUuid()));
 		}
 		return result;
 	}
 
+	@Override
+	protected void cacheKeyInvalidated(UserUuidPK key) {
+		super.cacheKeyInvalidated(key);
+		evict(endpointOnlyKey(key.getUuid()));
+	}
+
 	@Override
 	public int updateEnabledStatus(Long userId, @Nullable EndpointFilter filter, boolean enabled) {
 		int result = delegate.updateEnabledStatus(userId, filter, enabled);
-		evictKeysMatching((id) -> {
-			if ( !userId.equals(id.getUserId()) ) {
-				return false;
-			}
+		// endpoint-only keys are indexed by the user ID of their cached entity, so
+		// match on endpoint ID alone to evict both key types
+		evictUserKeysMatching(userId, (id) -> {
 			if ( filter != null && filter.hasEndpointCriteria() ) {
 				for ( UUID endpointId : filter.endpointIds() ) {
 					if ( endpointId.equals(id.getUuid()) ) {
@@ -32,6 +32,7 @@ import java.util.HashMap;
 import java.util.Map;
 import org.apache.ibatis.session.ResultHandler;
 import org.jspecify.annotations.Nullable;
+import net.solarnetwork.central.common.dao.KeysetCursor;
 import net.solarnetwork.central.dao.EntityMatch;
 import net.solarnetwork.central.dao.mybatis.support.BaseMyBatisFilterableDao;
 import net.solarnetwork.central.instructor.dao.NodeInstructionDao;
@@ -46,7 +47,7 @@ import net.solarnetwork.domain.InstructionStatus.InstructionState;
  * MyBatis implementation of {@link NodeInstructionDao}.
  *
  * @author matt
- * @version 1.11
+ * @version 1.12
  */
 public class MyBatisNodeInstructionDao
 		extends BaseMyBatisFilterableDao<NodeInstruction, EntityMatch, InstructionFilter, Long>
@@ -182,6 +183,16 @@ public class MyBatisNodeInstructionDao
 		return null;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @since 1.12
+	 */
+	@Override
+	protected @Nullable KeysetCursor keysetCursor(EntityMatch match) {
+		return KeysetCursor.of(match.getId());
+	}
+
 	@Override
 	public void findFilteredStream(InstructionFilter filter,
 			FilteredResultsProcessor<NodeInstruction> processor) throws IOException {
@@ -24,6 +24,8 @@ package net.solarnetwork.central.instructor.domain;
 
 import java.util.List;
 import org.jspecify.annotations.Nullable;
+import net.solarnetwork.central.common.dao.KeysetCriteria;
+import net.solarnetwork.central.common.dao.KeysetCursor;
 import net.solarnetwork.central.domain.Filter;
 import net.solarnetwork.dao.DateRangeCriteria;
 import net.solarnetwork.domain.InstructionStatus.InstructionState;
@@ -32,9 +34,9 @@ import net.solarnetwork.domain.InstructionStatus.InstructionState;
  * Filter for Instruction entities.
  *
  * @author matt
- * @version 1.5
+ * @version 1.6
  */
-public interface InstructionFilter extends Filter, DateRangeCriteria {
+public interface InstructionFilter extends Filter, DateRangeCriteria, KeysetCriteria {
 
 	/**
 	 * Filter based on a node ID.
@@ -108,4 +110,31 @@ public interface InstructionFilter extends Filter, DateRangeCriteria {
 		return getState() != null;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>
+	 * This implementation returns {@code null}.
+	 * </p>
+	 *
+	 * @since 1.6
+	 */
+	@Override
+	default @Nullable String getCursor() {
+		return null;
+	}
+
+	/**
+	 * Get the instruction ID to return results after, from the keyset cursor.
+	 *
+	 * @return the instruction ID, or {@code null} if no cursor is available
+	 * @throws IllegalArgumentException
+	 *         if the cursor is not valid
+	 * @since 1.6
+	 */
+	default @Nullable Long getCursorInstructionId() {
+		final String c = getCursor();
+		return (c != null && !c.isEmpty() ? KeysetCursor.parse(c, 1).longValue(0) : null);
+	}
+
 }
@@ -38,7 +38,7 @@ import net.solarnetwork.domain.SerializeIgnore;
  * Simple implementation of {@link InstructionFilter}.
  *
  * @author matt
- * @version 2.2
+ * @version 2.3
  */
 public class SimpleInstructionFilter implements InstructionFilter {
 
@@ -47,6 +47,7 @@ public class SimpleInstructionFilter implements InstructionFilter {
 	private @Nullable List<InstructionState> states;
 	private @Nullable Instant startDate;
 	private @Nullable Instant endDate;
+	private @Nullable String cursor;
 
 	@Override
 	@SerializeIgnore
@@ -215,4 +216,25 @@ public class SimpleInstructionFilter implements InstructionFilter {
 		this.endDate = endDate;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @since 2.3
+	 */
+	@Override
+	public final @Nullable String getCursor() {
+		return cursor;
+	}
+
+	/**
+	 * Set the keyset pagination cursor.
+	 *
+	 * @param cursor
+	 *        the cursor to set, from a previous result's next cursor value
+	 * @since 2.3
+	 */
+	public final void setCursor(@Nullable String cursor) {
+		this.cursor = cursor;
+	}
+
 }
@@ -22,12 +22,15 @@
 
 package net.solarnetwork.central.oscp.fp.config;
 
+import static net.solarnetwork.central.oscp.jobs.OscpJobs.MEASUREMENT_SEND;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
 import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.transaction.support.TransactionTemplate;
 import net.solarnetwork.central.oscp.dao.AssetConfigurationDao;
 import net.solarnetwork.central.oscp.dao.CapacityGroupConfigurationDao;
@@ -45,7 +48,7 @@ import net.solarnetwork.central.scheduler.ManagedJob;
  * Configuration for jobs.
  *
  * @author matt
- * @version 1.0
+ * @version 1.1
  */
 @Configuration(proxyBeanMethods = false)
 @Profile(OscpJobs.JOBS_PROFILE)
@@ -103,33 +106,58 @@ public class JobConfig {
 		return job;
 	}
 
+	/**
+	 * A task executor specific for use with posting OSCP measurements.
+	 *
+	 * @return the task executor
+	 */
+	@Bean
+	@Qualifier(MEASUREMENT_SEND)
+	@ConfigurationProperties(prefix = "app.job.oscp.measurement.executor")
+	public ThreadPoolTaskExecutor measurementSendTaskExecutor() {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setThreadNamePrefix("OSCP-Measurement-");
+		executor.setCorePoolSize(4);
+		executor.setMaxPoolSize(4);
+		executor.setAllowCoreThreadTimeOut(true);
+		return executor;
+	}
+
 	/**
 	 * The OSCP Heartbeat job for capacity provider systems.
 	 *
+	 * @param sendExecutor
+	 *        the executor to post measurements with
 	 * @return the job
 	 */
 	@ConfigurationProperties(prefix = "app.job.oscp.measurement.cp")
 	@Bean
-	public ManagedJob capacityProviderMeasurementJob() {
+	public CapacityGroupMeasurementJob capacityProviderMeasurementJob(
+			@Qualifier(MEASUREMENT_SEND) ThreadPoolTaskExecutor sendExecutor) {
 		var job = new CapacityGroupMeasurementJob(OscpRole.CapacityProvider, capacityProviderDao,
 				capacityGroupDao, assetDao, measurementDao, externalSystemClient)
 						.withTxTemplate(txTemplate);
 		job.setParallelTaskExecutor(taskExecutor);
+		job.setSendExecutor(sendExecutor);
 		return job;
 	}
 
 	/**
 	 * The OSCP Heartbeat job for capacity optimizer systems.
 	 *
+	 * @param sendExecutor
+	 *        the executor to post measurements with
 	 * @return the job
 	 */
 	@ConfigurationProperties(prefix = "app.job.oscp.measurement.co")
 	@Bean
-	public ManagedJob capacityOptimizerMeasurementJob() {
+	public CapacityGroupMeasurementJob capacityOptimizerMeasurementJob(
+			@Qualifier(MEASUREMENT_SEND) ThreadPoolTaskExecutor sendExecutor) {
 		var job = new CapacityGroupMeasurementJob(OscpRole.CapacityOptimizer, capacityOptimizerDao,
 				capacityGroupDao, assetDao, measurementDao, externalSystemClient)
 						.withTxTemplate(txTemplate);
 		job.setParallelTaskExecutor(taskExecutor);
+		job.setSendExecutor(sendExecutor);
 		return job;
 	}
 
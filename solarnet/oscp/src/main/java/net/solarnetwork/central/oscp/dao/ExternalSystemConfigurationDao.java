@@ -22,6 +22,7 @@
 
 package net.solarnetwork.central.oscp.dao;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 import java.util.function.Function;
@@ -40,7 +41,7 @@ import net.solarnetwork.dao.FilterableDao;
  * DAO API for external system configuration DAOs.
  *
  * @author matt
- * @version 1.1
+ * @version 1.2
  */
 public interface ExternalSystemConfigurationDao<C extends BaseOscpExternalSystemConfiguration<C>>
 		extends GenericCompositeKey2Dao<C, UserLongCompositePK, Long, Long>,
@@ -173,4 +174,51 @@ public interface ExternalSystemConfigurationDao<C extends BaseOscpExternalSystem
 	boolean processExternalSystemWithExpiredMeasurement(
 			Function<CapacityGroupTaskContext<C>, @Nullable Instant> handler);
 
+	/**
+	 * Lay claim to external systems and capacity groups that need to have a
+	 * measurement sent.
+	 *
+	 * <p>
+	 * Each returned task is claimed until {@code claimDuration} elapses, or
+	 * until it is released via
+	 * {@link #completeExternalSystemMeasurement(CapacityGroupTaskContext, Instant)}.
+	 * While claimed, a task will not be returned by other calls to this
+	 * method. This allows the measurement to be sent outside of any
+	 * transaction, so database locks and connections are only held while
+	 * claiming and completing tasks.
+	 * </p>
+	 *
+	 * @param max
+	 *        the maximum number of tasks to claim
+	 * @param claimDuration
+	 *        the amount of time to claim each task for
+	 * @return the claimed tasks, never {@code null}
+	 * @since 1.2
+	 */
+	List<CapacityGroupTaskContext<C>> claimExternalSystemsWithExpiredMeasurement(int max,
+			Duration claimDuration);
+
+	/**
+	 * Complete a measurement task previously claimed via
+	 * {@link #claimExternalSystemsWithExpiredMeasurement(int, Duration)}.
+	 *
+	 * <p>
+	 * The claim on the task is released, unless the claim has expired and the
+	 * task has since been claimed again. If {@code ts} is provided, the
+	 * measurement date is also updated, as long as it has not changed since
+	 * the task was claimed.
+	 * </p>
+	 *
+	 * @param context
+	 *        the claimed task
+	 * @param ts
+	 *        the new measurement date if a measurement was successfully sent,
+	 *        or {@code null} otherwise
+	 * @return {@literal true} if the measurement date was updated with
+	 *         {@code ts}
+	 * @since 1.2
+	 */
+	boolean completeExternalSystemMeasurement(CapacityGroupTaskContext<C> context,
+			@Nullable Instant ts);
+
 }
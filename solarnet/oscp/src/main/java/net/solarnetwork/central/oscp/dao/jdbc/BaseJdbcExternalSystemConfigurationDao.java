@@ -24,8 +24,11 @@ package net.solarnetwork.central.oscp.dao.jdbc;
 
 import static net.solarnetwork.central.oscp.dao.BasicLockingFilter.ONE_FOR_UPDATE_SKIP;
 import static net.solarnetwork.util.ObjectUtils.requireNonNullArgument;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
@@ -37,17 +40,21 @@ import net.solarnetwork.central.common.dao.jdbc.ColumnCountProvider;
 import net.solarnetwork.central.common.dao.jdbc.sql.CommonJdbcUtils;
 import net.solarnetwork.central.domain.UserLongCompositePK;
 import net.solarnetwork.central.oscp.dao.BasicConfigurationFilter;
+import net.solarnetwork.central.oscp.dao.BasicLockingFilter;
 import net.solarnetwork.central.oscp.dao.ExternalSystemConfigurationDao;
+import net.solarnetwork.central.oscp.dao.LockingFilter;
 import net.solarnetwork.central.oscp.dao.jdbc.sql.InsertAuthToken;
 import net.solarnetwork.central.oscp.dao.jdbc.sql.InsertHeartbeatDate;
 import net.solarnetwork.central.oscp.dao.jdbc.sql.SelectAuthToken;
 import net.solarnetwork.central.oscp.dao.jdbc.sql.SelectExternalSystemForHeartbeat;
 import net.solarnetwork.central.oscp.dao.jdbc.sql.SelectExternalSystemForMeasurement;
+import net.solarnetwork.central.oscp.dao.jdbc.sql.UpdateCapacityGroupMeasurementClaim;
 import net.solarnetwork.central.oscp.dao.jdbc.sql.UpdateCapacityGroupMeasurementDate;
 import net.solarnetwork.central.oscp.dao.jdbc.sql.UpdateHeartbeatDate;
 import net.solarnetwork.central.oscp.dao.jdbc.sql.UpdateOfflineDate;
 import net.solarnetwork.central.oscp.dao.jdbc.sql.UpdateSystemSettings;
 import net.solarnetwork.central.oscp.domain.BaseOscpExternalSystemConfiguration;
+import net.solarnetwork.central.oscp.domain.CapacityGroupConfiguration;
 import net.solarnetwork.central.oscp.domain.ExternalSystemAndGroup;
 import net.solarnetwork.central.oscp.domain.MeasurementPeriod;
 import net.solarnetwork.central.oscp.domain.OscpRole;
@@ -64,11 +71,19 @@ import net.solarnetwork.domain.SortDescriptor;
  * @param <C>
  *        the configuration type
  * @author matt
- * @version 1.1
+ * @version 1.2
  */
 public abstract class BaseJdbcExternalSystemConfigurationDao<C extends BaseOscpExternalSystemConfiguration<C>>
 		implements ExternalSystemConfigurationDao<C> {
 
+	/**
+	 * The task context parameter for the claim expiration date of a claimed
+	 * measurement task.
+	 *
+	 * @since 1.2
+	 */
+	public static final String MEASUREMENT_CLAIM_UNTIL_PARAM = "measurementClaimUntil";
+
 	/** The JDBC template to use. */
 	protected final JdbcOperations jdbcOps;
 
@@ -249,42 +264,102 @@ public abstract class BaseJdbcExternalSystemConfigurationDao<C extends BaseOscpE
 	@Override
 	public boolean processExternalSystemWithExpiredMeasurement(
 			Function<CapacityGroupTaskContext<C>, @Nullable Instant> handler) {
-		PreparedStatementCreator sql = new SelectExternalSystemForMeasurement(role, ONE_FOR_UPDATE_SKIP);
-		RowMapper<C> entityMapper = rowMapperForEntity();
-		if ( !(entityMapper instanceof ColumnCountProvider ccp) ) {
-			throw new RuntimeException(
-					"The configured entity RowMapper must implement ColumnCountProvider: "
-							+ entityMapper);
-		}
-		List<ExternalSystemAndGroup<C>> rows = jdbcOps.query(sql,
-				new ExternalSystemAndGroupConfigurationRowMapper<>(rowMapperForEntity(),
-						new CapacityGroupConfigurationRowMapper(ccp.getColumnCount())));
+		List<ExternalSystemAndGroup<C>> rows = expiredMeasurementRows(ONE_FOR_UPDATE_SKIP);
 		if ( !rows.isEmpty() ) {
 			ExternalSystemAndGroup<C> row = rows.getFirst();
-			Instant measurementDate = (role == OscpRole.CapacityProvider
-					? row.group().getCapacityProviderMeasurementDate()
-					: row.group().getCapacityOptimizerMeasurementDate());
-			Instant taskDate;
-			if ( measurementDate != null ) {
-				taskDate = measurementDate;
-			} else {
-				// no previous task date; set the date to the start of the _previous_ period
-				MeasurementPeriod p = (role == OscpRole.CapacityProvider
-						? row.group().getCapacityProviderMeasurementPeriod()
-						: row.group().getCapacityOptimizerMeasurementPeriod());
-				taskDate = p.previousPeriodStart(Instant.now());
-			}
-			CapacityGroupSystemTaskContext<C> context = new CapacityGroupSystemTaskContext<>(
-					"Measurement", role, row.conf(), row.group(), taskDate,
-					expiredMeasurementEventErrorTags(), expiredMeasurementEventSuccessTags(), this,
-					Map.of());
+			CapacityGroupSystemTaskContext<C> context = measurementTaskContext(row, Map.of());
 			Instant ts = handler.apply(context);
 			if ( ts != null ) {
-				compareAndSetMeasurement(row.group().id(), measurementDate, ts);
+				compareAndSetMeasurement(row.group().id(), measurementDate(row.group()), ts);
 			}
 			return (ts != null);
 		}
 		return false;
 	}
 
+	@Override
+	public List<CapacityGroupTaskContext<C>> claimExternalSystemsWithExpiredMeasurement(int max,
+			Duration claimDuration) {
+		if ( max < 1 ) {
+			return List.of();
+		}
+		List<ExternalSystemAndGroup<C>> rows = expiredMeasurementRows(
+				new BasicLockingFilter(max, null, true, true));
+		if ( rows.isEmpty() ) {
+			return List.of();
+		}
+		// the asset join can produce the same group more than once
+		final Map<UserLongCompositePK, ExternalSystemAndGroup<C>> groups = new LinkedHashMap<>(
+				rows.size());
+		for ( ExternalSystemAndGroup<C> row : rows ) {
+			groups.putIfAbsent(row.group().id(), row);
+		}
+		final List<CapacityGroupTaskContext<C>> result = new ArrayList<>(groups.size());
+		for ( ExternalSystemAndGroup<C> row : groups.values() ) {
+			// the database computes the claim date, so it is compared against its own clock
+			List<Instant> claimUntil = jdbcOps.query(
+					new UpdateCapacityGroupMeasurementClaim(role, row.group().id(), claimDuration),
+					(rs, _) -> CommonJdbcUtils.timestampInstant(rs, 1));
+			if ( claimUntil.isEmpty() ) {
+				continue;
+			}
+			result.add(measurementTaskContext(row,
+					Map.of(MEASUREMENT_CLAIM_UNTIL_PARAM, claimUntil.getFirst())));
+		}
+		return result;
+	}
+
+	@Override
+	public boolean completeExternalSystemMeasurement(CapacityGroupTaskContext<C> context,
+			@Nullable Instant ts) {
+		if ( !(requireNonNullArgument(context,
+				"context") instanceof CapacityGroupSystemTaskContext<C> ctx) ) {
+			throw new IllegalArgumentException("Unsupported context type: " + context);
+		}
+		if ( !(ctx.parameters().get(MEASUREMENT_CLAIM_UNTIL_PARAM) instanceof Instant claimUntil) ) {
+			throw new IllegalArgumentException("The context has not been claimed: " + context);
+		}
+		final UserLongCompositePK groupId = ctx.group().id();
+		final boolean result = (ts != null
+				&& compareAndSetMeasurement(groupId, measurementDate(ctx.group()), ts));
+		// only release our own claim, not one made by another instance after ours expired
+		jdbcOps.update(new UpdateCapacityGroupMeasurementClaim(role, groupId, null, claimUntil));
+		return result;
+	}
+
+	private List<ExternalSystemAndGroup<C>> expiredMeasurementRows(LockingFilter filter) {
+		PreparedStatementCreator sql = new SelectExternalSystemForMeasurement(role, filter);
+		RowMapper<C> entityMapper = rowMapperForEntity();
+		if ( !(entityMapper instanceof ColumnCountProvider ccp) ) {
+			throw new RuntimeException(
+					"The configured entity RowMapper must implement ColumnCountProvider: "
+							+ entityMapper);
+		}
+		return jdbcOps.query(sql, new ExternalSystemAndGroupConfigurationRowMapper<>(
+				rowMapperForEntity(), new CapacityGroupConfigurationRowMapper(ccp.getColumnCount())));
+	}
+
+	private @Nullable Instant measurementDate(CapacityGroupConfiguration group) {
+		return (role == OscpRole.CapacityProvider ? group.getCapacityProviderMeasurementDate()
+				: group.getCapacityOptimizerMeasurementDate());
+	}
+
+	private CapacityGroupSystemTaskContext<C> measurementTaskContext(ExternalSystemAndGroup<C> row,
+			Map<String, ?> parameters) {
+		Instant measurementDate = measurementDate(row.group());
+		Instant taskDate;
+		if ( measurementDate != null ) {
+			taskDate = measurementDate;
+		} else {
+			// no previous task date; set the date to the start of the _previous_ period
+			MeasurementPeriod p = (role == OscpRole.CapacityProvider
+					? row.group().getCapacityProviderMeasurementPeriod()
+					: row.group().getCapacityOptimizerMeasurementPeriod());
+			taskDate = p.previousPeriodStart(Instant.now());
+		}
+		return new CapacityGroupSystemTaskContext<>("Measurement", role, row.conf(), row.group(),
+				taskDate, expiredMeasurementEventErrorTags(), expiredMeasurementEventSuccessTags(), this,
+				parameters);
+	}
+
 }
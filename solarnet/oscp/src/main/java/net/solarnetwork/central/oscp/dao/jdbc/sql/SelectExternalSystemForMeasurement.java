@@ -37,7 +37,7 @@ import net.solarnetwork.central.oscp.domain.OscpRole;
  * Select for expired system measurement rows.
  *
  * @author matt
- * @version 1.0
+ * @version 1.1
  */
 public final class SelectExternalSystemForMeasurement implements PreparedStatementCreator, SqlProvider {
 
@@ -92,7 +92,8 @@ public final class SelectExternalSystemForMeasurement implements PreparedStateme
 				WHERE c.reg_status = ascii('r')
 					AND c.enabled = TRUE
 					AND (m.meas_at IS NULL OR m.meas_at + (g.""");
-		buf.append(type.getAlias()).append("_meas_secs * INTERVAL '1 second') < CURRENT_TIMESTAMP)");
+		buf.append(type.getAlias()).append("_meas_secs * INTERVAL '1 second') < CURRENT_TIMESTAMP)\n");
+		buf.append("\tAND (m.claim_until IS NULL OR m.claim_until < CURRENT_TIMESTAMP)");
 		CommonSqlUtils.limitOffset(filter, buf);
 		if ( filter.isLockResults() ) {
 			CommonSqlUtils.forUpdate(filter.isSkipLockedResults(), LOCK_TABLE_NAMES, buf);
@@ -0,0 +1,143 @@
+/* ==================================================================
+ * UpdateCapacityGroupMeasurementClaim.java - 17/10/2026 10:02:41 pm
+ *
+ * Copyright 2026 SolarNetwork.net Dev Team
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation; either version 2 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA
+ * 02111-1307 USA
+ * ==================================================================
+ */
+
+package net.solarnetwork.central.oscp.dao.jdbc.sql;
+
+import static net.solarnetwork.util.ObjectUtils.requireNonNullArgument;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.Instant;
+import org.jspecify.annotations.Nullable;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.SqlProvider;
+import net.solarnetwork.central.domain.UserLongCompositePK;
+import net.solarnetwork.central.oscp.domain.OscpRole;
+
+/**
+ * Update the measurement claim expiration date of a capacity group
+ * configuration.
+ *
+ * <p>
+ * A claim expires {@code claimDuration} after the current database time, so
+ * claims are always compared against the same clock. When a claim is made the
+ * statement returns the new {@code claim_until} date, so it must be executed as
+ * a query.
+ * </p>
+ *
+ * <p>
+ * If an expected claim date is provided, the update only applies if the
+ * current claim date matches it. This makes it safe for a claim holder to
+ * release its claim, without releasing a newer claim made by someone else
+ * after the original claim expired.
+ * </p>
+ *
+ * @author matt
+ * @version 1.1
+ */
+public final class UpdateCapacityGroupMeasurementClaim implements PreparedStatementCreator, SqlProvider {
+
+	private final OscpRole type;
+	private final UserLongCompositePK id;
+	private final @Nullable Duration claimDuration;
+	private final @Nullable Instant expectedClaimUntil;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param type
+	 *        the type of measurement
+	 * @param id
+	 *        the ID of the capacity group
+	 * @param claimDuration
+	 *        the amount of time from now to claim the group for, or
+	 *        {@code null} to release the claim
+	 * @throws IllegalArgumentException
+	 *         if any argument except {@code claimDuration} is {@code null} or
+	 *         the {@code id} is not assigned
+	 */
+	public UpdateCapacityGroupMeasurementClaim(OscpRole type, UserLongCompositePK id,
+			@Nullable Duration claimDuration) {
+		this(type, id, claimDuration, null);
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param type
+	 *        the type of measurement
+	 * @param id
+	 *        the ID of the capacity group
+	 * @param claimDuration
+	 *        the amount of time from now to claim the group for, or
+	 *        {@code null} to release the claim
+	 * @param expectedClaimUntil
+	 *        the claim expiration date the row must currently have to be
+	 *        updated, or {@code null} to update regardless of the current date
+	 * @throws IllegalArgumentException
+	 *         if {@code type} or {@code id} is {@code null} or the {@code id}
+	 *         is not assigned
+	 * @since 1.1
+	 */
+	public UpdateCapacityGroupMeasurementClaim(OscpRole type, UserLongCompositePK id,
+			@Nullable Duration claimDuration, @Nullable Instant expectedClaimUntil) {
+		super();
+		this.type = requireNonNullArgument(type, "type");
+		this.id = requireNonNullArgument(id, "id");
+		if ( !id.entityIdIsAssigned() ) {
+			throw new IllegalArgumentException("The entity ID must be assigned.");
+		}
+		this.claimDuration = claimDuration;
+		this.expectedClaimUntil = expectedClaimUntil;
+	}
+
+	@Override
+	public String getSql() {
+		return """
+				UPDATE solaroscp.oscp_cg_%s_meas
+				SET claim_until = %s
+				WHERE user_id = ? AND cg_id = ?%s
+				%s""".formatted(type.getAlias(),
+				claimDuration != null ? "CURRENT_TIMESTAMP + (? * INTERVAL '1 millisecond')" : "NULL",
+				expectedClaimUntil != null ? " AND claim_until = ?" : "",
+				claimDuration != null ? "RETURNING claim_until\n" : "");
+	}
+
+	@Override
+	public PreparedStatement createPreparedStatement(Connection con) throws SQLException {
+		PreparedStatement stmt = con.prepareStatement(getSql());
+		int p = 0;
+		if ( claimDuration != null ) {
+			stmt.setLong(++p, claimDuration.toMillis());
+		}
+		stmt.setObject(++p, id.getUserId(), Types.BIGINT);
+		stmt.setObject(++p, id.getEntityId(), Types.BIGINT);
+		if ( expectedClaimUntil != null ) {
+			stmt.setTimestamp(++p, Timestamp.from(expectedClaimUntil));
+		}
+		return stmt;
+	}
+
+}
@@ -28,12 +28,23 @@ import static net.solarnetwork.central.oscp.web.OscpWebUtils.UrlPaths_20.UPDATE_
 import static net.solarnetwork.central.oscp.web.OscpWebUtils.UrlPaths_20.V20;
 import static net.solarnetwork.util.ObjectUtils.nonnull;
 import static net.solarnetwork.util.ObjectUtils.requireNonNullArgument;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
 import org.jspecify.annotations.Nullable;
 import org.springframework.http.HttpMethod;
 import org.springframework.transaction.support.TransactionTemplate;
@@ -43,13 +54,17 @@ import net.solarnetwork.central.oscp.dao.CapacityGroupConfigurationDao;
 import net.solarnetwork.central.oscp.dao.ExternalSystemConfigurationDao;
 import net.solarnetwork.central.oscp.dao.MeasurementDao;
 import net.solarnetwork.central.oscp.domain.AssetConfiguration;
+import net.solarnetwork.central.oscp.domain.BaseOscpExternalSystemConfiguration;
 import net.solarnetwork.central.oscp.domain.CapacityGroupConfiguration;
 import net.solarnetwork.central.oscp.domain.Measurement;
 import net.solarnetwork.central.oscp.domain.MeasurementPeriod;
 import net.solarnetwork.central.oscp.domain.OscpRole;
 import net.solarnetwork.central.oscp.http.ExternalSystemClient;
+import net.solarnetwork.central.oscp.util.CapacityGroupTaskContext;
 import net.solarnetwork.central.scheduler.JobSupport;
 import net.solarnetwork.dao.DateRangeCriteria;
+import net.solarnetwork.service.PingTest;
+import net.solarnetwork.service.PingTestResult;
 import oscp.v20.AssetMeasurement;
 import oscp.v20.EnergyMeasurement;
 import oscp.v20.InstantaneousMeasurement;
@@ -59,10 +74,30 @@ import oscp.v20.UpdateGroupMeasurements;
 /**
  * Job to post OSCP measurement messages to external systems.
  *
+ * <p>
+ * Each iteration claims a batch of capacity groups needing a measurement in a
+ * short transaction, then computes and posts the measurements outside of any
+ * transaction, and finally records the outcome of each task in its own short
+ * transaction. Posting can be spread across a {@code sendExecutor} so that
+ * slow external systems do not hold up others.
+ * </p>
+ *
  * @author matt
- * @version 1.2
+ * @version 1.3
  */
-public class CapacityGroupMeasurementJob extends JobSupport {
+public class CapacityGroupMeasurementJob extends JobSupport implements PingTest {
+
+	/** The {@code claimBatchSize} property default value. */
+	public static final int DEFAULT_CLAIM_BATCH_SIZE = 10;
+
+	/** The {@code claimDuration} property default value. */
+	public static final Duration DEFAULT_CLAIM_DURATION = Duration.ofMinutes(5);
+
+	/** The {@code maxSendAttempts} property default value. */
+	public static final int DEFAULT_MAX_SEND_ATTEMPTS = 2;
+
+	/** The {@code retryDelay} property default value. */
+	public static final Duration DEFAULT_RETRY_DELAY = Duration.ofSeconds(2);
 
 	private final OscpRole role;
 	private final ExternalSystemConfigurationDao<?> dao;
@@ -70,7 +105,14 @@ public class CapacityGroupMeasurementJob extends JobSupport {
 	private final AssetConfigurationDao assetDao;
 	private final MeasurementDao measurementDao;
 	private final ExternalSystemClient client;
+	private final ConcurrentMap<String, SystemStats> systemStats = new ConcurrentHashMap<>(8, 0.9f,
+			2);
 	private @Nullable TransactionTemplate txTemplate;
+	private @Nullable Executor sendExecutor;
+	private int claimBatchSize = DEFAULT_CLAIM_BATCH_SIZE;
+	private Duration claimDuration = DEFAULT_CLAIM_DURATION;
+	private int maxSendAttempts = DEFAULT_MAX_SEND_ATTEMPTS;
+	private Duration retryDelay = DEFAULT_RETRY_DELAY;
 
 	/**
 	 * Construct with properties.
@@ -106,6 +148,11 @@ public class CapacityGroupMeasurementJob extends JobSupport {
 	/**
 	 * Configure a transaction template.
 	 *
+	 * <p>
+	 * The template is used for claiming tasks and recording their outcome;
+	 * measurements are posted to external systems outside of any transaction.
+	 * </p>
+	 *
 	 * @param txTemplate
 	 *        the template
 	 * @return this instance for method chaining
@@ -124,95 +171,226 @@ public class CapacityGroupMeasurementJob extends JobSupport {
 
 	@Override
 	protected int executeJobTask(AtomicInteger remainingIterations) throws Exception {
+		return executeJobTask(dao, remainingIterations);
+	}
+
+	private <C extends BaseOscpExternalSystemConfiguration<C>> int executeJobTask(
+			ExternalSystemConfigurationDao<C> dao, AtomicInteger remainingIterations) {
 		int totalProcessedCount = 0;
-		Set<String> supportedOscpVersions = singleton(V20);
+		final Set<String> supportedOscpVersions = singleton(V20);
+		while ( remainingIterations.get() > 0 ) {
+			final int max = Math.min(claimBatchSize, remainingIterations.get());
+			final List<CapacityGroupTaskContext<C>> tasks = inTransaction(
+					() -> dao.claimExternalSystemsWithExpiredMeasurement(max, claimDuration));
+			if ( tasks == null || tasks.isEmpty() ) {
+				break;
+			}
+			remainingIterations.addAndGet(-tasks.size());
+			totalProcessedCount += processTasks(dao, tasks, supportedOscpVersions);
+		}
+		return totalProcessedCount;
+	}
+
+	private <C extends BaseOscpExternalSystemConfiguration<C>> int processTasks(
+			ExternalSystemConfigurationDao<C> dao, List<CapacityGroupTaskContext<C>> tasks,
+			Set<String> supportedOscpVersions) {
+		final Executor executor = this.sendExecutor;
+		int count = 0;
+		if ( executor == null || tasks.size() < 2 ) {
+			for ( CapacityGroupTaskContext<C> ctx : tasks ) {
+				if ( processTask(dao, ctx, supportedOscpVersions) ) {
+					count++;
+				}
+			}
+			return count;
+		}
+		final List<CompletableFuture<Boolean>> futures = new ArrayList<>(tasks.size());
+		for ( CapacityGroupTaskContext<C> ctx : tasks ) {
+			futures.add(CompletableFuture
+					.supplyAsync(() -> processTask(dao, ctx, supportedOscpVersions), executor));
+		}
+		for ( CompletableFuture<Boolean> f : futures ) {
+			if ( f.join() ) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	private <C extends BaseOscpExternalSystemConfiguration<C>> boolean processTask(
+			ExternalSystemConfigurationDao<C> dao, CapacityGroupTaskContext<C> ctx,
+			Set<String> supportedOscpVersions) {
+		Instant ts = null;
+		try {
+			ts = exchange(ctx, supportedOscpVersions);
+		} catch ( RuntimeException e ) {
+			log.warn("Error processing {} measurement for capacity group {}: {}", role,
+					ctx.groupIdentifier(), e.toString());
+		}
+		final Instant endDate = ts;
+		try {
+			Boolean result = inTransaction(() -> dao.completeExternalSystemMeasurement(ctx, endDate));
+			return (result != null && result);
+		} catch ( RuntimeException e ) {
+			// claim will expire on its own
+			log.error("Error completing {} measurement for capacity group {}: {}", role,
+					ctx.groupIdentifier(), e.toString(), e);
+			return false;
+		}
+	}
+
+	private <T> @Nullable T inTransaction(Supplier<T> action) {
 		final TransactionTemplate txTemplate = this.txTemplate;
-		boolean processed = false;
-		do {
-			processed = false;
-			if ( txTemplate != null ) {
-				processed = txTemplate.execute(_ -> {
-					return exchange(supportedOscpVersions, remainingIterations);
-				});
+		if ( txTemplate != null ) {
+			return txTemplate.execute(_ -> action.get());
+		}
+		return action.get();
+	}
+
+	private @Nullable Instant exchange(CapacityGroupTaskContext<?> ctx,
+			Set<String> supportedOscpVersions) {
+		final CapacityGroupConfiguration group = nonnull(switch (role) {
+			case CapacityProvider -> capacityGroupDao.findForCapacityProvider(ctx.config().getUserId(),
+					ctx.config().getEntityId(), ctx.groupIdentifier());
+			case CapacityOptimizer -> capacityGroupDao.findForCapacityOptimizer(
+					ctx.config().getUserId(), ctx.config().getEntityId(), ctx.groupIdentifier());
+			default -> throw new IllegalArgumentException(
+					"OSCP role [%s] not supported.".formatted(role));
+		}, "Group");
+		final String combinedAssetId = group.combinedGroupAssetId() != null
+				? group.combinedGroupAssetId()
+				: ctx.config().combinedGroupAssetId();
+		final MeasurementPeriod period = switch (role) {
+			case CapacityProvider -> group.getCapacityProviderMeasurementPeriod();
+			case CapacityOptimizer -> group.getCapacityOptimizerMeasurementPeriod();
+			default -> throw new IllegalArgumentException(
+					"OSCP role [%s] not supported.".formatted(role));
+		};
+
+		List<AssetConfiguration> assets = assetDao
+				.findAllForCapacityGroup(group.getUserId(), group.getEntityId(), null).stream()
+				.filter(e -> role == e.getAudience()).toList();
+
+		Instant startDate = ctx.taskDate();
+		Instant endDate = period.nextPeriodStart(startDate);
+		BasicDatumCriteria dateCriteria = new BasicDatumCriteria();
+		dateCriteria.setStartDate(startDate);
+		dateCriteria.setEndDate(endDate);
+
+		if ( !assets.isEmpty() ) {
+			// get measurements
+			final boolean useAssetMeasurement = ctx.config().useGroupAssetMeasurement();
+			Object msg;
+			if ( useAssetMeasurement ) {
+				List<AssetMeasurement> measurements = assetMeasurements(assets, dateCriteria);
+				if ( combinedAssetId != null ) {
+					AssetMeasurement combined = combineAssetMeasurements(combinedAssetId, measurements);
+					measurements = (combined == null ? List.of() : List.of(combined));
+				}
+				msg = new UpdateAssetMeasurement(group.getIdentifier(), measurements);
 			} else {
-				processed = exchange(supportedOscpVersions, remainingIterations);
+				List<EnergyMeasurement> measurements = energyMeasurements(assets, dateCriteria);
+				if ( combinedAssetId != null ) {
+					EnergyMeasurement combined = combineEnergyMeasurements(measurements);
+					measurements = (combined == null ? List.of() : List.of(combined));
+				}
+				msg = new UpdateGroupMeasurements(group.getIdentifier(), measurements);
 			}
-			if ( processed ) {
-				totalProcessedCount += 1;
+			if ( !send(ctx, useAssetMeasurement, msg, supportedOscpVersions) ) {
+				return null;
 			}
-		} while ( processed && remainingIterations.get() > 0 );
-		return totalProcessedCount;
+		}
+
+		return endDate;
 	}
 
-	private boolean exchange(Set<String> supportedOscpVersions, AtomicInteger remainingIterataions) {
-		return dao.processExternalSystemWithExpiredMeasurement((ctx) -> {
-			remainingIterataions.decrementAndGet();
-
-			final CapacityGroupConfiguration group = nonnull(switch (role) {
-				case CapacityProvider -> capacityGroupDao.findForCapacityProvider(
-						ctx.config().getUserId(), ctx.config().getEntityId(), ctx.groupIdentifier());
-				case CapacityOptimizer -> capacityGroupDao.findForCapacityOptimizer(
-						ctx.config().getUserId(), ctx.config().getEntityId(), ctx.groupIdentifier());
-				default -> throw new IllegalArgumentException(
-						"OSCP role [%s] not supported.".formatted(role));
-			}, "Group");
-			final String combinedAssetId = group.combinedGroupAssetId() != null
-					? group.combinedGroupAssetId()
-					: ctx.config().combinedGroupAssetId();
-			final MeasurementPeriod period = switch (role) {
-				case CapacityProvider -> group.getCapacityProviderMeasurementPeriod();
-				case CapacityOptimizer -> group.getCapacityOptimizerMeasurementPeriod();
-				default -> throw new IllegalArgumentException(
-						"OSCP role [%s] not supported.".formatted(role));
-			};
-
-			List<AssetConfiguration> assets = assetDao
-					.findAllForCapacityGroup(group.getUserId(), group.getEntityId(), null).stream()
-					.filter(e -> role == e.getAudience()).toList();
-
-			Instant startDate = ctx.taskDate();
-			Instant endDate = period.nextPeriodStart(startDate);
-			BasicDatumCriteria dateCriteria = new BasicDatumCriteria();
-			dateCriteria.setStartDate(startDate);
-			dateCriteria.setEndDate(endDate);
-
-			if ( !assets.isEmpty() ) {
-				// get measurements
-				final boolean useAssetMeasurement = ctx.config().useGroupAssetMeasurement();
-				Object msg;
-				if ( useAssetMeasurement ) {
-					List<AssetMeasurement> measurements = assetMeasurements(assets, dateCriteria);
-					if ( combinedAssetId != null ) {
-						AssetMeasurement combined = combineAssetMeasurements(combinedAssetId,
-								measurements);
-						measurements = (combined == null ? List.of() : List.of(combined));
+	private boolean send(CapacityGroupTaskContext<?> ctx, boolean useAssetMeasurement, Object msg,
+			Set<String> supportedOscpVersions) {
+		final SystemStats stats = systemStats.computeIfAbsent(
+				"%d-%d".formatted(ctx.config().getUserId(), ctx.config().getEntityId()),
+				_ -> new SystemStats());
+		final int attempts = Math.max(1, maxSendAttempts);
+		for ( int attempt = 1; attempt <= attempts; attempt++ ) {
+			final long start = System.nanoTime();
+			try {
+				client.systemExchange(ctx, HttpMethod.POST, () -> {
+					ctx.verifySystemOscpVersion(supportedOscpVersions);
+					return ctx.config().customUrlPath(
+							useAssetMeasurement ? "UpdateAssetMeasurements" : "UpdateGroupMeasurements",
+							useAssetMeasurement ? UPDATE_ASSET_MEASUREMENTS_URL_PATH
+									: UPDATE_GROUP_MEASUREMENTS_URL_PATH);
+				}, msg);
+				stats.record(System.nanoTime() - start, false);
+				return true;
+			} catch ( RuntimeException e ) {
+				// assume event logged in client.systemExchange()
+				stats.record(System.nanoTime() - start, true);
+				if ( attempt < attempts && !retryDelay.isZero() ) {
+					try {
+						Thread.sleep(retryDelay);
+					} catch ( InterruptedException ie ) {
+						Thread.currentThread().interrupt();
+						return false;
 					}
-					msg = new UpdateAssetMeasurement(group.getIdentifier(), measurements);
-				} else {
-					List<EnergyMeasurement> measurements = energyMeasurements(assets, dateCriteria);
-					if ( combinedAssetId != null ) {
-						EnergyMeasurement combined = combineEnergyMeasurements(measurements);
-						measurements = (combined == null ? List.of() : List.of(combined));
-					}
-					msg = new UpdateGroupMeasurements(group.getIdentifier(), measurements);
-				}
-				try {
-					client.systemExchange(ctx, HttpMethod.POST, () -> {
-						ctx.verifySystemOscpVersion(supportedOscpVersions);
-						return ctx.config().customUrlPath(
-								useAssetMeasurement ? "UpdateAssetMeasurements"
-										: "UpdateGroupMeasurements",
-								useAssetMeasurement ? UPDATE_ASSET_MEASUREMENTS_URL_PATH
-										: UPDATE_GROUP_MEASUREMENTS_URL_PATH);
-					}, msg);
-				} catch ( RuntimeException e ) {
-					// ignore and continue; assume event logged in client.systemExchange()
-					return null;
 				}
 			}
+		}
+		return false;
+	}
+
+	/**
+	 * Exchange statistics for a single external system.
+	 */
+	private static final class SystemStats {
+
+		private final LongAdder count = new LongAdder();
+		private final LongAdder errors = new LongAdder();
+		private final LongAdder totalNanos = new LongAdder();
+		private final AtomicLong maxNanos = new AtomicLong();
+		private final AtomicLong lastNanos = new AtomicLong();
+
+		private void record(long nanos, boolean error) {
+			count.increment();
+			if ( error ) {
+				errors.increment();
+			}
+			totalNanos.add(nanos);
+			maxNanos.accumulateAndGet(nanos, Math::max);
+			lastNanos.set(nanos);
+		}
+
+	}
+
+	@Override
+	public String getPingTestId() {
+		return getClass().getName() + "-" + role;
+	}
+
+	@Override
+	public String getPingTestName() {
+		return "OSCP %s Measurement".formatted(role);
+	}
+
+	@Override
+	public long getPingTestMaximumExecutionMilliseconds() {
+		return 1000L;
+	}
 
-			return endDate;
-		});
+	@Override
+	public Result performPingTest() throws Exception {
+		final var props = new TreeMap<String, Object>();
+		for ( Map.Entry<String, SystemStats> e : systemStats.entrySet() ) {
+			final String key = e.getKey();
+			final SystemStats stats = e.getValue();
+			final long count = stats.count.sum();
+			props.put(key + "_count", count);
+			props.put(key + "_errors", stats.errors.sum());
+			props.put(key + "_latency_avg",
+					count > 0 ? TimeUnit.NANOSECONDS.toMillis(stats.totalNanos.sum() / count) : 0L);
+			props.put(key + "_latency_max", TimeUnit.NANOSECONDS.toMillis(stats.maxNanos.get()));
+			props.put(key + "_latency_last", TimeUnit.NANOSECONDS.toMillis(stats.lastNanos.get()));
+		}
+		return new PingTestResult(true, null, props);
 	}
 
 	private @Nullable EnergyMeasurement combineEnergyMeasurements(
@@ -346,4 +524,123 @@ public class CapacityGroupMeasurementJob extends JobSupport {
 		return result;
 	}
 
+	/**
+	 * Get the executor used to post measurements to external systems.
+	 *
+	 * @return the executor, or {@code null} to post measurements sequentially
+	 *         on the job thread
+	 * @since 1.3
+	 */
+	public final @Nullable Executor getSendExecutor() {
+		return sendExecutor;
+	}
+
+	/**
+	 * Set the executor used to post measurements to external systems.
+	 *
+	 * @param sendExecutor
+	 *        the executor to use, or {@code null} to post measurements
+	 *        sequentially on the job thread
+	 * @since 1.3
+	 */
+	public final void setSendExecutor(@Nullable Executor sendExecutor) {
+		this.sendExecutor = sendExecutor;
+	}
+
+	/**
+	 * Get the maximum number of tasks to claim at once.
+	 *
+	 * @return the batch size; defaults to {@link #DEFAULT_CLAIM_BATCH_SIZE}
+	 * @since 1.3
+	 */
+	public final int getClaimBatchSize() {
+		return claimBatchSize;
+	}
+
+	/**
+	 * Set the maximum number of tasks to claim at once.
+	 *
+	 * @param claimBatchSize
+	 *        the batch size; anything less than {@code 1} will be treated as
+	 *        {@code 1}
+	 * @since 1.3
+	 */
+	public final void setClaimBatchSize(int claimBatchSize) {
+		this.claimBatchSize = Math.max(1, claimBatchSize);
+	}
+
+	/**
+	 * Get the amount of time a claimed task is reserved for.
+	 *
+	 * @return the duration; defaults to {@link #DEFAULT_CLAIM_DURATION}
+	 * @since 1.3
+	 */
+	public final Duration getClaimDuration() {
+		return claimDuration;
+	}
+
+	/**
+	 * Set the amount of time a claimed task is reserved for.
+	 *
+	 * <p>
+	 * If the job fails to complete a task within this time, the task becomes
+	 * available to be claimed again.
+	 * </p>
+	 *
+	 * @param claimDuration
+	 *        the duration to set
+	 * @throws IllegalArgumentException
+	 *         if the argument is {@code null}
+	 * @since 1.3
+	 */
+	public final void setClaimDuration(Duration claimDuration) {
+		this.claimDuration = requireNonNullArgument(claimDuration, "claimDuration");
+	}
+
+	/**
+	 * Get the maximum number of attempts to post a measurement.
+	 *
+	 * @return the maximum attempts; defaults to
+	 *         {@link #DEFAULT_MAX_SEND_ATTEMPTS}
+	 * @since 1.3
+	 */
+	public final int getMaxSendAttempts() {
+		return maxSendAttempts;
+	}
+
+	/**
+	 * Set the maximum number of attempts to post a measurement.
+	 *
+	 * @param maxSendAttempts
+	 *        the maximum attempts; anything less than {@code 1} will be
+	 *        treated as {@code 1}
+	 * @since 1.3
+	 */
+	public final void setMaxSendAttempts(int maxSendAttempts) {
+		this.maxSendAttempts = Math.max(1, maxSendAttempts);
+	}
+
+	/**
+	 * Get the delay between attempts to post a measurement.
+	 *
+	 * @return the delay; defaults to {@link #DEFAULT_RETRY_DELAY}
+	 * @since 1.3
+	 */
+	public final Duration getRetryDelay() {
+		return retryDelay;
+	}
+
+	/**
+	 * Set the delay between attempts to post a measurement.
+	 *
+	 * @param retryDelay
+	 *        the delay to set
+	 * @throws IllegalArgumentException
+	 *         if the argument is {@code null}
+	 * @since 1.3
+	 */
+	public final void setRetryDelay(Duration retryDelay) {
+		this.retryDelay = requireNonNullArgument(retryDelay, "retryDelay");
+	}
+
 }
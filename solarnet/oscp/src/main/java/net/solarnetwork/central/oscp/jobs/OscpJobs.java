@@ -26,11 +26,18 @@ package net.solarnetwork.central.oscp.jobs;
  * Marker interface for OSCP job constants.
  * 
  * @author matt
- * @version 1.0
+ * @version 1.1
  */
 public interface OscpJobs {
 
 	/** An OSCP jobs profile name. */
 	String JOBS_PROFILE = "oscp-jobs";
 
+	/**
+	 * A qualifier for the measurement job send executor.
+	 *
+	 * @since 1.1
+	 */
+	String MEASUREMENT_SEND = "oscp-measurement-send";
+
 }
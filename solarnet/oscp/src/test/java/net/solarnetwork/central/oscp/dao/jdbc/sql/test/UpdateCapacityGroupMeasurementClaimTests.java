@@ -0,0 +1,157 @@
+/* ==================================================================
+ * UpdateCapacityGroupMeasurementClaimTests.java - 17/10/2026 10:11:05 pm
+ *
+ * Copyright 2026 SolarNetwork.net Dev Team
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation; either version 2 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA
+ * 02111-1307 USA
+ * ==================================================================
+ */
+
+package net.solarnetwork.central.oscp.dao.jdbc.sql.test;
+
+import static java.util.UUID.randomUUID;
+import static org.assertj.core.api.BDDAssertions.and;
+import static org.assertj.core.api.BDDAssertions.thenIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import net.solarnetwork.central.domain.UserLongCompositePK;
+import net.solarnetwork.central.oscp.dao.jdbc.sql.UpdateCapacityGroupMeasurementClaim;
+import net.solarnetwork.central.oscp.domain.OscpRole;
+
+/**
+ * Test cases for the {@link UpdateCapacityGroupMeasurementClaim} class.
+ *
+ * @author matt
+ * @version 1.1
+ */
+@ExtendWith(MockitoExtension.class)
+public class UpdateCapacityGroupMeasurementClaimTests {
+
+	@Mock
+	private Connection con;
+
+	@Mock
+	private PreparedStatement stmt;
+
+	@Captor
+	private ArgumentCaptor<String> sqlCaptor;
+
+	@Test
+	public void unassignedId() {
+		// GIVEN
+		UserLongCompositePK id = UserLongCompositePK
+				.unassignedEntityIdKey(randomUUID().getMostSignificantBits());
+
+		// THEN
+		thenIllegalArgumentException().isThrownBy(() -> {
+			new UpdateCapacityGroupMeasurementClaim(OscpRole.CapacityProvider, id,
+					Duration.ofMinutes(1));
+		});
+	}
+
+	@Test
+	public void capacityProvider_claim_prep() throws SQLException {
+		// GIVEN
+		UserLongCompositePK id = new UserLongCompositePK(randomUUID().getMostSignificantBits(),
+				randomUUID().getMostSignificantBits());
+		Duration claimDuration = Duration.ofSeconds(60);
+
+		given(con.prepareStatement(any())).willReturn(stmt);
+
+		// WHEN
+		PreparedStatement result = new UpdateCapacityGroupMeasurementClaim(OscpRole.CapacityProvider,
+				id, claimDuration).createPreparedStatement(con);
+
+		// THEN
+		then(con).should().prepareStatement(sqlCaptor.capture());
+		and.then(sqlCaptor.getValue()).as("Generated SQL").isEqualTo("""
+				UPDATE solaroscp.oscp_cg_cp_meas
+				SET claim_until = CURRENT_TIMESTAMP + (? * INTERVAL '1 millisecond')
+				WHERE user_id = ? AND cg_id = ?
+				RETURNING claim_until
+				""");
+		and.then(result).as("Connection statement returned").isSameAs(stmt);
+		then(stmt).should().setLong(1, claimDuration.toMillis());
+		then(stmt).should().setObject(2, id.getUserId(), Types.BIGINT);
+		then(stmt).should().setObject(3, id.getEntityId(), Types.BIGINT);
+	}
+
+	@Test
+	public void capacityOptimizer_release_prep() throws SQLException {
+		// GIVEN
+		UserLongCompositePK id = new UserLongCompositePK(randomUUID().getMostSignificantBits(),
+				randomUUID().getMostSignificantBits());
+
+		given(con.prepareStatement(any())).willReturn(stmt);
+
+		// WHEN
+		PreparedStatement result = new UpdateCapacityGroupMeasurementClaim(OscpRole.CapacityOptimizer,
+				id, null).createPreparedStatement(con);
+
+		// THEN
+		then(con).should().prepareStatement(sqlCaptor.capture());
+		and.then(sqlCaptor.getValue()).as("Generated SQL").isEqualTo("""
+				UPDATE solaroscp.oscp_cg_co_meas
+				SET claim_until = NULL
+				WHERE user_id = ? AND cg_id = ?
+				""");
+		and.then(result).as("Connection statement returned").isSameAs(stmt);
+		then(stmt).should().setObject(1, id.getUserId(), Types.BIGINT);
+		then(stmt).should().setObject(2, id.getEntityId(), Types.BIGINT);
+		then(stmt).shouldHaveNoMoreInteractions();
+	}
+
+	@Test
+	public void capacityProvider_release_fenced_prep() throws SQLException {
+		// GIVEN
+		UserLongCompositePK id = new UserLongCompositePK(randomUUID().getMostSignificantBits(),
+				randomUUID().getMostSignificantBits());
+		Instant claimUntil = Instant.now().plusSeconds(60);
+
+		given(con.prepareStatement(any())).willReturn(stmt);
+
+		// WHEN
+		PreparedStatement result = new UpdateCapacityGroupMeasurementClaim(OscpRole.CapacityProvider,
+				id, null, claimUntil).createPreparedStatement(con);
+
+		// THEN
+		then(con).should().prepareStatement(sqlCaptor.capture());
+		and.then(sqlCaptor.getValue()).as("Generated SQL").isEqualTo("""
+				UPDATE solaroscp.oscp_cg_cp_meas
+				SET claim_until = NULL
+				WHERE user_id = ? AND cg_id = ? AND claim_until = ?
+				""");
+		and.then(result).as("Connection statement returned").isSameAs(stmt);
+		then(stmt).should().setObject(1, id.getUserId(), Types.BIGINT);
+		then(stmt).should().setObject(2, id.getEntityId(), Types.BIGINT);
+		then(stmt).should().setTimestamp(3, Timestamp.from(claimUntil));
+	}
+
+}
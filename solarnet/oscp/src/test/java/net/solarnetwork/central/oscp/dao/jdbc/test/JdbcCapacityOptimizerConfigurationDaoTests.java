@@ -40,7 +40,9 @@ import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
 import java.sql.Timestamp;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
@@ -72,6 +74,7 @@ import net.solarnetwork.central.oscp.domain.MeasurementStyle;
 import net.solarnetwork.central.oscp.domain.OscpRole;
 import net.solarnetwork.central.oscp.domain.RegistrationStatus;
 import net.solarnetwork.central.oscp.domain.SystemSettings;
+import net.solarnetwork.central.oscp.util.CapacityGroupTaskContext;
 import net.solarnetwork.central.test.AbstractJUnit5JdbcDaoTestSupport;
 import net.solarnetwork.central.test.CommonDbTestUtils;
 
@@ -79,7 +82,7 @@ import net.solarnetwork.central.test.CommonDbTestUtils;
  * Test cases for the {@link JdbcCapacityOptimizerConfigurationDao} class.
  *
  * @author matt
- * @version 1.0
+ * @version 1.1
  */
 public class JdbcCapacityOptimizerConfigurationDaoTests extends AbstractJUnit5JdbcDaoTestSupport {
 
@@ -617,4 +620,129 @@ public class JdbcCapacityOptimizerConfigurationDaoTests extends AbstractJUnit5Jd
 		assertThat("Update 2 failed", updateFailed.get(), is(equalTo(true)));
 	}
 
+	private CapacityGroupConfiguration createMeasurementGroup() {
+		CapacityOptimizerConfiguration conf = OscpJdbcTestUtils.newCapacityOptimizerConf(userId,
+				flexibilityProviderId, Instant.now());
+		UserLongCompositePK id = dao.create(userId, conf);
+		jdbcTemplate.update("UPDATE solaroscp.oscp_co_conf SET reg_status = ?",
+				RegistrationStatus.Registered.getCode());
+		last = dao.get(id);
+
+		CapacityProviderConfiguration provConf = capacityProviderDao
+				.get(capacityProviderDao.create(userId, OscpJdbcTestUtils.newCapacityProviderConf(userId,
+						flexibilityProviderId, Instant.now())));
+
+		CapacityGroupConfiguration group = capacityGroupDao.get(
+				capacityGroupDao.create(userId, OscpJdbcTestUtils.newCapacityGroupConfiguration(userId,
+						provConf.getEntityId(), id.getEntityId(), Instant.now())));
+
+		assetDao.create(userId, OscpJdbcTestUtils.newAssetConfiguration(userId, now(),
+				group.getEntityId(), OscpRole.CapacityOptimizer));
+		return group;
+	}
+
+	private Map<String, Object> measurementRow() {
+		List<Map<String, Object>> data = allCapacityGroupMeasurementData(jdbcTemplate,
+				OscpRole.CapacityOptimizer);
+		assertThat("Table has 1 row", data, hasSize(1));
+		return data.get(0);
+	}
+
+	@Test
+	public void claimExpiredMeasurement() {
+		// GIVEN
+		CapacityGroupConfiguration group = createMeasurementGroup();
+
+		// WHEN
+		final Duration claimDuration = Duration.ofMinutes(5);
+		List<CapacityGroupTaskContext<CapacityOptimizerConfiguration>> result = dao
+				.claimExternalSystemsWithExpiredMeasurement(10, claimDuration);
+
+		// THEN
+		assertThat("One task claimed", result, hasSize(1));
+		CapacityGroupTaskContext<?> ctx = result.get(0);
+		assertThat("Role is optimizer", ctx.role(), is(equalTo(OscpRole.CapacityOptimizer)));
+		assertThat("Found optimizer row", ctx.config().getId(), is(equalTo(last.getId())));
+		assertThat("Found group", ctx.groupIdentifier(), is(equalTo(group.getIdentifier())));
+
+		Map<String, Object> row = measurementRow();
+		assertThat("Claim date set", row.get("claim_until"), is(notNullValue()));
+		final Instant dbNow = jdbcTemplate.queryForObject("SELECT CURRENT_TIMESTAMP", Timestamp.class)
+				.toInstant();
+		assertThat("Claim date is claim duration from database time",
+				((Timestamp) row.get("claim_until")).toInstant(),
+				is(equalTo(dbNow.plus(claimDuration))));
+	}
+
+	@Test
+	public void claimExpiredMeasurement_skipClaimed() {
+		// GIVEN
+		createMeasurementGroup();
+		assertThat("First claim returns task",
+				dao.claimExternalSystemsWithExpiredMeasurement(10, Duration.ofMinutes(5)), hasSize(1));
+
+		// WHEN
+		var result = dao.claimExternalSystemsWithExpiredMeasurement(10, Duration.ofMinutes(5));
+
+		// THEN
+		assertThat("Claimed task not returned again", result, hasSize(0));
+	}
+
+	@Test
+	public void claimExpiredMeasurement_claimExpired() {
+		// GIVEN
+		createMeasurementGroup();
+		assertThat("First claim returns task",
+				dao.claimExternalSystemsWithExpiredMeasurement(10, Duration.ofMinutes(5)), hasSize(1));
+
+		// claim duration elapses
+		jdbcTemplate.update(
+				"UPDATE solaroscp.oscp_cg_co_meas SET claim_until = CURRENT_TIMESTAMP - INTERVAL '1 second'");
+
+		// WHEN
+		var result = dao.claimExternalSystemsWithExpiredMeasurement(10, Duration.ofMinutes(5));
+
+		// THEN
+		assertThat("Task with expired claim returned again", result, hasSize(1));
+	}
+
+	@Test
+	public void completeExpiredMeasurement() {
+		// GIVEN
+		CapacityGroupConfiguration group = createMeasurementGroup();
+		var claimed = dao.claimExternalSystemsWithExpiredMeasurement(10, Duration.ofMinutes(5));
+		assertThat("Task claimed", claimed, hasSize(1));
+		var ctx = claimed.get(0);
+
+		// WHEN
+		Instant newTs = group.getCapacityOptimizerMeasurementPeriod().nextPeriodStart(ctx.taskDate());
+		boolean result = dao.completeExternalSystemMeasurement(ctx, newTs);
+
+		// THEN
+		assertThat("Measurement date updated", result, is(equalTo(true)));
+		Map<String, Object> row = measurementRow();
+		assertThat("Row measurement date updated", row, hasEntry("meas_at", Timestamp.from(newTs)));
+		assertThat("Claim released", row.get("claim_until"), is(nullValue()));
+	}
+
+	@Test
+	public void completeExpiredMeasurement_reclaimed() {
+		// GIVEN
+		createMeasurementGroup();
+		var claimed = dao.claimExternalSystemsWithExpiredMeasurement(10, Duration.ofMinutes(5));
+		assertThat("Task claimed", claimed, hasSize(1));
+
+		// claim expires and task is claimed again by someone else
+		final Timestamp otherClaim = Timestamp
+				.from(Instant.now().plus(1, ChronoUnit.HOURS).truncatedTo(ChronoUnit.MILLIS));
+		jdbcTemplate.update("UPDATE solaroscp.oscp_cg_co_meas SET claim_until = ?", otherClaim);
+
+		// WHEN
+		dao.completeExternalSystemMeasurement(claimed.get(0), null);
+
+		// THEN
+		Map<String, Object> row = measurementRow();
+		assertThat("Other claim not released", row, hasEntry("claim_until", otherClaim));
+	}
+
 }
@@ -35,19 +35,24 @@ import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.then;
-import static org.mockito.BDDMockito.will;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.times;
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
-import java.util.ArrayList;
 import java.util.EnumSet;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-import java.util.function.Function;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -56,7 +61,6 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.mockito.stubbing.Answer;
 import org.springframework.http.HttpMethod;
 import net.solarnetwork.central.domain.UserLongCompositePK;
 import net.solarnetwork.central.oscp.dao.AssetConfigurationDao;
@@ -82,6 +86,7 @@ import net.solarnetwork.central.oscp.jobs.CapacityGroupMeasurementJob;
 import net.solarnetwork.central.oscp.util.CapacityGroupSystemTaskContext;
 import net.solarnetwork.central.oscp.web.OscpWebUtils.UrlPaths_20;
 import net.solarnetwork.dao.DateRangeCriteria;
+import net.solarnetwork.service.PingTest;
 import oscp.v20.AssetMeasurement;
 import oscp.v20.EnergyMeasurement;
 import oscp.v20.InstantaneousMeasurement;
@@ -91,7 +96,7 @@ import oscp.v20.UpdateAssetMeasurement;
  * Test cases for the {@link CapacityGroupMeasurementJob} class.
  *
  * @author matt
- * @version 1.1
+ * @version 1.2
  */
 @ExtendWith(MockitoExtension.class)
 public class CapacityGroupMeasurementJob_CapacityProviderTests {
@@ -151,23 +156,12 @@ public class CapacityGroupMeasurementJob_CapacityProviderTests {
 				.copyWithId(new UserLongCompositePK(systemConf.getUserId(),
 						randomUUID().getMostSignificantBits()));
 
-		final var results = new ArrayList<Instant>();
-
 		// iterate over expired configurations
 		final var ctx = new CapacityGroupSystemTaskContext<CapacityProviderConfiguration>(
 				"Measurement Test", OscpRole.CapacityProvider, systemConf, group, start, null, null,
 				capacityProviderDao, Map.of());
-		will((Answer<Void>) invocation -> {
-			Function<CapacityGroupSystemTaskContext<CapacityProviderConfiguration>, Instant> handler = invocation
-					.getArgument(0);
-			if ( !results.isEmpty() ) {
-				return null;
-			}
-			Instant result = handler.apply(ctx);
-			results.add(result);
-
-			return null;
-		}).given(capacityProviderDao).processExternalSystemWithExpiredMeasurement(any());
+		given(capacityProviderDao.claimExternalSystemsWithExpiredMeasurement(anyInt(), any()))
+				.willReturn(List.of(ctx), List.of());
 
 		// get group configuration for expired system configuration
 		given(capacityGroupDao.findForCapacityProvider(systemConf.getUserId(), systemConf.getEntityId(),
@@ -198,7 +192,7 @@ public class CapacityGroupMeasurementJob_CapacityProviderTests {
 		job.run();
 
 		// THEN
-		assertThat("Result processed", results, hasSize(1));
+		then(capacityProviderDao).should().completeExternalSystemMeasurement(same(ctx), eq(end));
 
 		then(measurementDao).should().getMeasurements(same(cpAsset), criteriaCaptor.capture());
 		assertThat("Measurement criteria start date from task date",
@@ -233,23 +227,12 @@ public class CapacityGroupMeasurementJob_CapacityProviderTests {
 				.copyWithId(new UserLongCompositePK(systemConf.getUserId(),
 						randomUUID().getMostSignificantBits()));
 
-		final var results = new ArrayList<Instant>();
-
 		// iterate over expired configurations
 		final var ctx = new CapacityGroupSystemTaskContext<CapacityProviderConfiguration>(
 				"Measurement Test", OscpRole.CapacityProvider, systemConf, group, start, null, null,
 				capacityProviderDao, Map.of());
-		will((Answer<Void>) invocation -> {
-			Function<CapacityGroupSystemTaskContext<CapacityProviderConfiguration>, Instant> handler = invocation
-					.getArgument(0);
-			if ( !results.isEmpty() ) {
-				return null;
-			}
-			Instant result = handler.apply(ctx);
-			results.add(result);
-
-			return null;
-		}).given(capacityProviderDao).processExternalSystemWithExpiredMeasurement(any());
+		given(capacityProviderDao.claimExternalSystemsWithExpiredMeasurement(anyInt(), any()))
+				.willReturn(List.of(ctx), List.of());
 
 		// get group configuration for expired system configuration
 		given(capacityGroupDao.findForCapacityProvider(systemConf.getUserId(), systemConf.getEntityId(),
@@ -282,7 +265,7 @@ public class CapacityGroupMeasurementJob_CapacityProviderTests {
 		job.run();
 
 		// THEN
-		assertThat("Result processed", results, hasSize(1));
+		then(capacityProviderDao).should().completeExternalSystemMeasurement(same(ctx), eq(end));
 
 		then(measurementDao).should().getMeasurements(same(cpAsset), criteriaCaptor.capture());
 		assertThat("Measurement criteria start date from task date",
@@ -369,23 +352,12 @@ public class CapacityGroupMeasurementJob_CapacityProviderTests {
 				.copyWithId(new UserLongCompositePK(systemConf.getUserId(),
 						randomUUID().getMostSignificantBits()));
 
-		final var results = new ArrayList<Instant>();
-
 		// iterate over expired configurations
 		final var ctx = new CapacityGroupSystemTaskContext<CapacityProviderConfiguration>(
 				"Measurement Test", OscpRole.CapacityProvider, systemConf, group, start, null, null,
 				capacityProviderDao, Map.of());
-		will((Answer<Void>) invocation -> {
-			Function<CapacityGroupSystemTaskContext<CapacityProviderConfiguration>, Instant> handler = invocation
-					.getArgument(0);
-			if ( !results.isEmpty() ) {
-				return null;
-			}
-			Instant result = handler.apply(ctx);
-			results.add(result);
-
-			return null;
-		}).given(capacityProviderDao).processExternalSystemWithExpiredMeasurement(any());
+		given(capacityProviderDao.claimExternalSystemsWithExpiredMeasurement(anyInt(), any()))
+				.willReturn(List.of(ctx), List.of());
 
 		// get group configuration for expired system configuration
 		given(capacityGroupDao.findForCapacityProvider(systemConf.getUserId(), systemConf.getEntityId(),
@@ -426,7 +398,7 @@ public class CapacityGroupMeasurementJob_CapacityProviderTests {
 		job.run();
 
 		// THEN
-		assertThat("Result processed", results, hasSize(1));
+		then(capacityProviderDao).should().completeExternalSystemMeasurement(same(ctx), eq(end));
 
 		then(measurementDao).should().getMeasurements(same(cpAsset1), criteriaCaptor.capture());
 		assertThat("Measurement criteria 1 start date from task date",
@@ -474,23 +446,12 @@ public class CapacityGroupMeasurementJob_CapacityProviderTests {
 		final String combinedAssetId = "combined.asset";
 		systemConf.putServiceProp(ExternalSystemServiceProperties.COMBINED_ASSET_ID, combinedAssetId);
 
-		final var results = new ArrayList<Instant>();
-
 		// iterate over expired configurations
 		final var ctx = new CapacityGroupSystemTaskContext<CapacityProviderConfiguration>(
 				"Measurement Test", OscpRole.CapacityProvider, systemConf, group, start, null, null,
 				capacityProviderDao, Map.of());
-		will((Answer<Void>) invocation -> {
-			Function<CapacityGroupSystemTaskContext<CapacityProviderConfiguration>, Instant> handler = invocation
-					.getArgument(0);
-			if ( !results.isEmpty() ) {
-				return null;
-			}
-			Instant result = handler.apply(ctx);
-			results.add(result);
-
-			return null;
-		}).given(capacityProviderDao).processExternalSystemWithExpiredMeasurement(any());
+		given(capacityProviderDao.claimExternalSystemsWithExpiredMeasurement(anyInt(), any()))
+				.willReturn(List.of(ctx), List.of());
 
 		// get group configuration for expired system configuration
 		given(capacityGroupDao.findForCapacityProvider(systemConf.getUserId(), systemConf.getEntityId(),
@@ -531,7 +492,7 @@ public class CapacityGroupMeasurementJob_CapacityProviderTests {
 		job.run();
 
 		// THEN
-		assertThat("Result processed", results, hasSize(1));
+		then(capacityProviderDao).should().completeExternalSystemMeasurement(same(ctx), eq(end));
 
 		then(measurementDao).should().getMeasurements(same(cpAsset1), criteriaCaptor.capture());
 		assertThat("Measurement criteria 1 start date from task date",
@@ -582,23 +543,12 @@ public class CapacityGroupMeasurementJob_CapacityProviderTests {
 		final String combinedAssetId = UUID.randomUUID().toString();
 		group.putServiceProp(ExternalSystemServiceProperties.COMBINED_ASSET_ID, combinedAssetId);
 
-		final var results = new ArrayList<Instant>();
-
 		// iterate over expired configurations
 		final var ctx = new CapacityGroupSystemTaskContext<CapacityProviderConfiguration>(
 				"Measurement Test", OscpRole.CapacityProvider, systemConf, group, start, null, null,
 				capacityProviderDao, Map.of());
-		will((Answer<Void>) invocation -> {
-			Function<CapacityGroupSystemTaskContext<CapacityProviderConfiguration>, Instant> handler = invocation
-					.getArgument(0);
-			if ( !results.isEmpty() ) {
-				return null;
-			}
-			Instant result = handler.apply(ctx);
-			results.add(result);
-
-			return null;
-		}).given(capacityProviderDao).processExternalSystemWithExpiredMeasurement(any());
+		given(capacityProviderDao.claimExternalSystemsWithExpiredMeasurement(anyInt(), any()))
+				.willReturn(List.of(ctx), List.of());
 
 		// get group configuration for expired system configuration
 		given(capacityGroupDao.findForCapacityProvider(systemConf.getUserId(), systemConf.getEntityId(),
@@ -639,7 +589,7 @@ public class CapacityGroupMeasurementJob_CapacityProviderTests {
 		job.run();
 
 		// THEN
-		assertThat("Result processed", results, hasSize(1));
+		then(capacityProviderDao).should().completeExternalSystemMeasurement(same(ctx), eq(end));
 
 		then(measurementDao).should().getMeasurements(same(cpAsset1), criteriaCaptor.capture());
 		assertThat("Measurement criteria 1 start date from task date",
@@ -675,4 +625,99 @@ public class CapacityGroupMeasurementJob_CapacityProviderTests {
 				start, end);
 	}
 
+	private CapacityGroupConfiguration groupWithAsset(CapacityProviderConfiguration systemConf,
+			Instant start, Instant end) {
+		final CapacityGroupConfiguration group = OscpJdbcTestUtils
+				.newCapacityGroupConfiguration(systemConf.getUserId(), systemConf.getEntityId(),
+						randomLong(), start)
+				.copyWithId(new UserLongCompositePK(systemConf.getUserId(),
+						randomUUID().getMostSignificantBits()));
+		given(capacityGroupDao.findForCapacityProvider(systemConf.getUserId(), systemConf.getEntityId(),
+				group.getIdentifier())).willReturn(group);
+
+		AssetConfiguration cpAsset = OscpJdbcTestUtils
+				.newAssetConfiguration(systemConf.getUserId(), Instant.now(), group.getEntityId())
+				.copyWithId(new UserLongCompositePK(systemConf.getUserId(),
+						randomUUID().getMostSignificantBits()));
+		given(assetDao.findAllForCapacityGroup(systemConf.getUserId(), group.getEntityId(), null))
+				.willReturn(asList(cpAsset));
+
+		Measurement em = Measurement.energyMeasurement(new BigDecimal("123"), Phase.All,
+				MeasurementUnit.kWh, end, EnergyType.Total, EnergyDirection.Import, start);
+		given(measurementDao.getMeasurements(same(cpAsset), any())).willReturn(asList(em));
+		return group;
+	}
+
+	@Test
+	public void runJob_provider_sendError_retried() throws Exception {
+		// GIVEN
+		job.setMaxSendAttempts(2);
+		job.setRetryDelay(Duration.ZERO);
+
+		final Instant start = Instant.now().truncatedTo(ChronoUnit.HOURS);
+		final Instant end = start.plus(10, ChronoUnit.MINUTES);
+		final CapacityProviderConfiguration systemConf = systemConf();
+		final CapacityGroupConfiguration group = groupWithAsset(systemConf, start, end);
+
+		final var ctx = new CapacityGroupSystemTaskContext<CapacityProviderConfiguration>(
+				"Measurement Test", OscpRole.CapacityProvider, systemConf, group, start, null, null,
+				capacityProviderDao, Map.of());
+		given(capacityProviderDao.claimExternalSystemsWithExpiredMeasurement(anyInt(), any()))
+				.willReturn(List.of(ctx), List.of());
+
+		// every exchange attempt fails
+		willThrow(new RuntimeException("Boom")).given(client).systemExchange(same(ctx),
+				eq(HttpMethod.POST), any(), any());
+
+		// WHEN
+		job.run();
+
+		// THEN
+		then(client).should(times(2)).systemExchange(same(ctx), eq(HttpMethod.POST), any(), any());
+		then(capacityProviderDao).should().completeExternalSystemMeasurement(same(ctx), isNull());
+
+		PingTest.Result pingResult = job.performPingTest();
+		String key = "%d-%d".formatted(systemConf.getUserId(), systemConf.getEntityId());
+		assertThat("Exchange attempts counted", pingResult.getProperties().get(key + "_count"),
+				is(equalTo(2L)));
+		assertThat("Exchange errors counted", pingResult.getProperties().get(key + "_errors"),
+				is(equalTo(2L)));
+	}
+
+	@Test
+	public void runJob_provider_sendExecutor() {
+		// GIVEN
+		final var executed = new AtomicInteger();
+		final Executor executor = (r) -> {
+			executed.incrementAndGet();
+			r.run();
+		};
+		job.setSendExecutor(executor);
+
+		final Instant start = Instant.now().truncatedTo(ChronoUnit.HOURS);
+		final Instant end = start.plus(10, ChronoUnit.MINUTES);
+		final CapacityProviderConfiguration systemConf = systemConf();
+		final CapacityGroupConfiguration group1 = groupWithAsset(systemConf, start, end);
+		final CapacityGroupConfiguration group2 = groupWithAsset(systemConf, start, end);
+
+		final var ctx1 = new CapacityGroupSystemTaskContext<CapacityProviderConfiguration>(
+				"Measurement Test", OscpRole.CapacityProvider, systemConf, group1, start, null, null,
+				capacityProviderDao, Map.of());
+		final var ctx2 = new CapacityGroupSystemTaskContext<CapacityProviderConfiguration>(
+				"Measurement Test", OscpRole.CapacityProvider, systemConf, group2, start, null, null,
+				capacityProviderDao, Map.of());
+		given(capacityProviderDao.claimExternalSystemsWithExpiredMeasurement(anyInt(), any()))
+				.willReturn(List.of(ctx1, ctx2), List.of());
+
+		// WHEN
+		job.run();
+
+		// THEN
+		assertThat("Each task sent via executor", executed.get(), is(equalTo(2)));
+		then(client).should().systemExchange(same(ctx1), eq(HttpMethod.POST), any(), any());
+		then(client).should().systemExchange(same(ctx2), eq(HttpMethod.POST), any(), any());
+		then(capacityProviderDao).should().completeExternalSystemMeasurement(same(ctx1), eq(end));
+		then(capacityProviderDao).should().completeExternalSystemMeasurement(same(ctx2), eq(end));
+	}
+
 }
@@ -15,5 +15,6 @@ INNER JOIN solaroscp.oscp_cg_co_meas m
 WHERE c.reg_status = ascii('r')
 	AND c.enabled = TRUE
 	AND (m.meas_at IS NULL OR m.meas_at + (g.co_meas_secs * INTERVAL '1 second') < CURRENT_TIMESTAMP)
+	AND (m.claim_until IS NULL OR m.claim_until < CURRENT_TIMESTAMP)
 LIMIT ?
 FOR UPDATE OF m SKIP LOCKED
\ No newline at end of file
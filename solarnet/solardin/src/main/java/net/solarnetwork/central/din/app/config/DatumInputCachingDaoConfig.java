@@ -30,6 +30,7 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import net.solarnetwork.central.common.dao.CacheInvalidationBus;
 import net.solarnetwork.central.din.dao.CachingEndpointConfigurationDao;
 import net.solarnetwork.central.din.dao.CachingTransformConfigurationDao;
 import net.solarnetwork.central.din.dao.EndpointConfigurationDao;
@@ -43,7 +44,7 @@ import net.solarnetwork.central.domain.UserUuidPK;
  * DAO configuration.
  *
  * @author matt
- * @version 1.1
+ * @version 1.2
  */
 @Configuration(proxyBeanMethods = false)
 public class DatumInputCachingDaoConfig implements DatumInputConfiguration {
@@ -51,6 +52,9 @@ public class DatumInputCachingDaoConfig implements DatumInputConfiguration {
 	@Autowired
 	private Executor executor;
 
+	@Autowired(required = false)
+	private CacheInvalidationBus cacheInvalidationBus;
+
 	/**
 	 * A caching datum input endpoint configuration DAO.
 	 *
@@ -61,7 +65,10 @@ public class DatumInputCachingDaoConfig implements DatumInputConfiguration {
 	@Primary
 	public EndpointConfigurationDao cachingDatumEndpointConfigurationDao(EndpointConfigurationDao dao,
 			@Qualifier(ENDPOINT_CONF) Cache<UserUuidPK, EndpointConfiguration> cache) {
-		return new CachingEndpointConfigurationDao(dao, cache, executor);
+		var result = new CachingEndpointConfigurationDao(dao, cache, executor);
+		result.setInvalidationTopic("solardin.din_endpoint");
+		result.setInvalidationBus(cacheInvalidationBus);
+		return result;
 	}
 
 	/**
@@ -74,7 +81,10 @@ public class DatumInputCachingDaoConfig implements DatumInputConfiguration {
 	@Primary
 	public TransformConfigurationDao cachingDatumTransformConfigurationDao(TransformConfigurationDao dao,
 			@Qualifier(TRANSFORM_CONF) Cache<UserLongCompositePK, TransformConfiguration> cache) {
-		return new CachingTransformConfigurationDao(dao, cache, executor);
+		var result = new CachingTransformConfigurationDao(dao, cache, executor);
+		result.setInvalidationTopic("solardin.din_xform");
+		result.setInvalidationBus(cacheInvalidationBus);
+		return result;
 	}
 
 }
@@ -30,6 +30,7 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import net.solarnetwork.central.common.dao.CacheInvalidationBus;
 import net.solarnetwork.central.dao.CachingUserMetadataDao;
 import net.solarnetwork.central.dao.UserMetadataDao;
 import net.solarnetwork.central.domain.UserLongCompositePK;
@@ -49,7 +50,7 @@ import net.solarnetwork.central.user.config.SolarNetUserConfiguration;
  * DAO configuration.
  *
  * @author matt
- * @version 1.1
+ * @version 1.2
  */
 @Configuration(proxyBeanMethods = false)
 public class InstructionInputCachingDaoConfig
@@ -58,6 +59,9 @@ public class InstructionInputCachingDaoConfig
 	@Autowired
 	private Executor executor;
 
+	@Autowired(required = false)
+	private CacheInvalidationBus cacheInvalidationBus;
+
 	/**
 	 * A caching instruction input endpoint configuration DAO.
 	 *
@@ -69,7 +73,10 @@ public class InstructionInputCachingDaoConfig
 	public EndpointConfigurationDao cachingInstructionEndpointConfigurationDao(
 			EndpointConfigurationDao dao,
 			@Qualifier(INSTR_ENDPOINT_CONF) Cache<UserUuidPK, EndpointConfiguration> cache) {
-		return new CachingEndpointConfigurationDao(dao, cache, executor);
+		var result = new CachingEndpointConfigurationDao(dao, cache, executor);
+		result.setInvalidationTopic("solardin.inin_endpoint");
+		result.setInvalidationBus(cacheInvalidationBus);
+		return result;
 	}
 
 	/**
@@ -83,7 +90,10 @@ public class InstructionInputCachingDaoConfig
 	public TransformConfigurationDao<RequestTransformConfiguration> cachingInstructionRequestTransformConfigurationDao(
 			TransformConfigurationDao<RequestTransformConfiguration> dao,
 			@Qualifier(REQ_TRANSFORM_CONF) Cache<UserLongCompositePK, RequestTransformConfiguration> cache) {
-		return new CachingTransformConfigurationDao<>(dao, cache, executor);
+		var result = new CachingTransformConfigurationDao<>(dao, cache, executor);
+		result.setInvalidationTopic("solardin.inin_req_xform");
+		result.setInvalidationBus(cacheInvalidationBus);
+		return result;
 	}
 
 	/**
@@ -97,7 +107,10 @@ public class InstructionInputCachingDaoConfig
 	public TransformConfigurationDao<ResponseTransformConfiguration> cachingInstructionResponseTransformConfigurationDao(
 			TransformConfigurationDao<ResponseTransformConfiguration> dao,
 			@Qualifier(RES_TRANSFORM_CONF) Cache<UserLongCompositePK, ResponseTransformConfiguration> cache) {
-		return new CachingTransformConfigurationDao<>(dao, cache, executor);
+		var result = new CachingTransformConfigurationDao<>(dao, cache, executor);
+		result.setInvalidationTopic("solardin.inin_res_xform");
+		result.setInvalidationBus(cacheInvalidationBus);
+		return result;
 	}
 
 	/**
@@ -111,7 +124,10 @@ public class InstructionInputCachingDaoConfig
 	public UserMetadataDao cachingInstructionUserMetadataDao(UserMetadataDao dao,
 			@Qualifier(USER_METADATA) Cache<Long, UserMetadataEntity> entityCache,
 			@Qualifier(USER_METADATA_PATH) Cache<UserStringCompositePK, String> pathCache) {
-		return new CachingUserMetadataDao(dao, entityCache, executor, pathCache);
+		var result = new CachingUserMetadataDao(dao, entityCache, executor, pathCache);
+		result.setInvalidationTopic("solaruser.user_meta");
+		result.setInvalidationBus(cacheInvalidationBus);
+		return result;
 	}
 
 }
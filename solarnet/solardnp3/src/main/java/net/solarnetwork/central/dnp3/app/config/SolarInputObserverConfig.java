@@ -42,7 +42,7 @@ import tools.jackson.dataformat.cbor.CBORMapper;
  * Configuration for the SolarInput observer service.
  *
  * @author matt
- * @version 2.0
+ * @version 2.1
  */
 @Profile("mqtt")
 @Configuration(proxyBeanMethods = false)
@@ -76,6 +76,7 @@ public class SolarInputObserverConfig {
 		SolarInputDatumObserver service = new SolarInputDatumObserver(taskExecutor, cborMapper,
 				solarNodeOwnershipDao, datumStreamMetadataDao);
 		service.setMetadataCache(datumMetadataCache);
+		service.setObserverExecutor(taskExecutor);
 		return service;
 	}
 
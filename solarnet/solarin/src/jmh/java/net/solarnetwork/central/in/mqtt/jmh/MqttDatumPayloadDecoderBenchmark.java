@@ -0,0 +1,193 @@
+/* ==================================================================
+ * MqttDatumPayloadDecoderBenchmark.java - 17/10/2026 2:36:51 pm
+ *
+ * Copyright 2026 SolarNetwork.net Dev Team
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation; either version 2 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA
+ * 02111-1307 USA
+ * ==================================================================
+ */
+
+package net.solarnetwork.central.in.mqtt.jmh;
+
+import static net.solarnetwork.domain.datum.DatumProperties.propertiesOf;
+import static net.solarnetwork.util.NumberUtils.decimalArray;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import net.solarnetwork.central.datum.domain.GeneralNodeDatum;
+import net.solarnetwork.central.datum.v2.support.DatumJsonUtils;
+import net.solarnetwork.central.in.mqtt.MqttDatumPayloadDecoder;
+import net.solarnetwork.codec.jackson.CborUtils;
+import net.solarnetwork.codec.jackson.JsonUtils;
+import net.solarnetwork.domain.datum.BasicStreamDatum;
+import net.solarnetwork.domain.datum.Datum;
+import net.solarnetwork.domain.datum.DatumId;
+import net.solarnetwork.domain.datum.DatumSamples;
+import net.solarnetwork.domain.datum.DatumSamplesType;
+import net.solarnetwork.domain.datum.GeneralDatum;
+import net.solarnetwork.domain.datum.StreamDatum;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Compare the tree-based and streaming decoding of SolarNode MQTT payloads.
+ *
+ * <p>
+ * Run with {@code ./gradlew :solarapp-in:jmh}. Add {@code profilers = ['gc']} to
+ * the {@code jmh} build configuration to compare allocation rates.
+ * </p>
+ *
+ * @author matt
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MqttDatumPayloadDecoderBenchmark {
+
+	private static final Long NODE_ID = 123L;
+
+	/** A legacy (non-V2) power meter datum, as published by SolarNode. */
+	private static final String LEGACY_DATUM_HEX = "A467637265617465641B0000016F0D13D080666E6F6465496419016D68736F7572636549646F2F44452F47322F474D2F47454E2F316773616D706C6573A26169A365766F6C7473C482031A0004503B657761747473C482031A0027B8B4696672657175656E6379183C6161A26977617474486F757273C482031A027F57DF7077617474486F757273526576657273651905A0";
+
+	/** The payload type to decode. */
+	@Param({ "legacy", "os-stats", "stream" })
+	public String payloadType;
+
+	private ObjectMapper objectMapper;
+	private MqttDatumPayloadDecoder decoder;
+	private byte[] payload;
+
+	/**
+	 * Setup the benchmark state.
+	 */
+	@Setup
+	public void setup() {
+		objectMapper = CborUtils.CBOR_OBJECT_MAPPER.rebuild()
+				.addModules(JsonUtils.DATUM_MODULE, DatumJsonUtils.DATUM_MODULE).build();
+		decoder = new MqttDatumPayloadDecoder(objectMapper);
+		payload = switch (payloadType) {
+			case "os-stats" -> objectMapper.writeValueAsBytes(osStatsDatum());
+			case "stream" -> objectMapper.writeValueAsBytes(new BasicStreamDatum(UUID.randomUUID(),
+					Instant.now(),
+					propertiesOf(
+							decimalArray("230.1", "229.8", "231.0", "4821.5", "50.01", "0.98", "12.3"),
+							decimalArray("7463524.123", "1234.5"), new String[] { "Normal" },
+							null)));
+			default -> HexFormat.of().parseHex(LEGACY_DATUM_HEX);
+		};
+	}
+
+	private static Map<String, Object> osStatsDatum() {
+		Map<String, Object> i = new LinkedHashMap<>(24);
+		i.put("cpu_user", new BigDecimal("1.2"));
+		i.put("cpu_system", new BigDecimal("0.8"));
+		i.put("cpu_idle", new BigDecimal("98.0"));
+		i.put("fs_size_/", 3651829760L);
+		i.put("fs_used_/", 855937024L);
+		i.put("fs_used_percent_/", 24);
+		i.put("fs_size_/run", 484552704L);
+		i.put("fs_used_/run", 11993088L);
+		i.put("fs_used_percent_/run", 3);
+		i.put("ram_total", 969105408L);
+		i.put("ram_avail", 615411712L);
+		i.put("ram_used_percent", new BigDecimal("36.5"));
+		i.put("sys_load_1min", new BigDecimal("0.19"));
+		i.put("sys_load_5min", new BigDecimal("0.70"));
+		i.put("sys_load_15min", new BigDecimal("0.48"));
+		i.put("net_bytes_in_eth0", 1024);
+		i.put("net_bytes_out_eth0", 2048);
+		i.put("net_packets_in_eth0", 12);
+		i.put("net_packets_out_eth0", 24);
+
+		Map<String, Object> samples = new LinkedHashMap<>(4);
+		samples.put("i", i);
+		samples.put("a", Map.of("sys_up", new BigDecimal("679245.22")));
+		samples.put("t", new String[] { "_v2" });
+
+		Map<String, Object> d = new LinkedHashMap<>(4);
+		d.put("created", System.currentTimeMillis());
+		d.put("sourceId", "OS Stats");
+		d.put("samples", samples);
+		return d;
+	}
+
+	/**
+	 * Decode via a {@link JsonNode} tree, as done before streaming decoding.
+	 *
+	 * @return the decoded object
+	 */
+	@Benchmark
+	public Object tree() {
+		JsonNode root = objectMapper.readTree(payload);
+		if ( root.isArray() ) {
+			return objectMapper.treeToValue(root, StreamDatum.class);
+		}
+		final Datum d = objectMapper.treeToValue(root, Datum.class);
+		final GeneralDatum gd = (d instanceof GeneralDatum g ? g
+				: new GeneralDatum(DatumId.datumId(d.getKind(), d.getObjectId(),
+						d.getSourceId(), d.getTimestamp()), new DatumSamples(d.asSampleOperations())));
+		if ( !gd.asSampleOperations().hasTag("_v2") ) {
+			for ( DatumSamplesType type : new DatumSamplesType[] { DatumSamplesType.Instantaneous,
+					DatumSamplesType.Accumulating, DatumSamplesType.Status } ) {
+				@SuppressWarnings({ "rawtypes", "unchecked" })
+				Map<String, Object> m = (Map) gd.getSampleData(type);
+				if ( m == null ) {
+					continue;
+				}
+				for ( Entry<String, Object> e : m.entrySet() ) {
+					if ( e.getValue() instanceof BigDecimal n && n.scale() != 0 ) {
+						e.setValue(new BigDecimal(n.unscaledValue(), -n.scale()));
+					}
+				}
+			}
+		}
+		gd.asMutableSampleOperations().removeTag("_v2");
+		GeneralNodeDatum gnd = new GeneralNodeDatum(NODE_ID, gd.getTimestamp(), gd.getSourceId());
+		gnd.setSamples(new DatumSamples(gd.asSampleOperations()));
+		return gnd;
+	}
+
+	/**
+	 * Decode via {@link MqttDatumPayloadDecoder}.
+	 *
+	 * @return the decoded object
+	 */
+	@Benchmark
+	public Object streaming() {
+		return decoder.decode(payload, NODE_ID, true);
+	}
+
+}
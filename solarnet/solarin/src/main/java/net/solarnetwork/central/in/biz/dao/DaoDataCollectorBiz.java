@@ -86,8 +86,14 @@ import net.solarnetwork.domain.datum.StreamDatum;
  * service will set the node ID to the authenticated node ID automatically.
  * </p>
  *
+ * <p>
+ * When more than one datum is posted in a single call, all datum are first
+ * validated and then passed to {@link DatumWriteOnlyDao#storeAll(java.util.Collection)}
+ * so they can be stored as a batch.
+ * </p>
+ *
  * @author matt
- * @version 4.4
+ * @version 4.5
  */
 public class DaoDataCollectorBiz implements DataCollectorBiz {
 
@@ -139,6 +145,7 @@ public class DaoDataCollectorBiz implements DataCollectorBiz {
 			throw new AuthorizationException(Reason.ANONYMOUS_ACCESS_DENIED, null);
 		}
 
+		final List<GeneralNodeDatum> toStore = new ArrayList<>();
 		for ( GeneralNodeDatum d : datums ) {
 			if ( !d.getNodeId().equals(authNode.getNodeId()) ) {
 				if ( log.isWarnEnabled() ) {
@@ -147,13 +154,23 @@ public class DaoDataCollectorBiz implements DataCollectorBiz {
 				}
 				throw new AuthorizationException(Reason.ACCESS_DENIED, d.getNodeId());
 			}
+			toStore.add(d);
+		}
+		if ( toStore.size() > 1 ) {
+			try {
+				datumDao.storeAll(toStore);
+			} catch ( TransientDataAccessException e ) {
+				throw new RepeatableTaskException(
+						"Transient error storing %d datum".formatted(toStore.size()), e);
+			}
+		} else if ( !toStore.isEmpty() ) {
+			final GeneralNodeDatum d = toStore.getFirst();
 			try {
 				datumDao.persist(d);
 			} catch ( TransientDataAccessException e ) {
 				throw new RepeatableTaskException("Transient error storing datum " + d.getId(), e);
 			}
 		}
-
 	}
 
 	@Override
@@ -193,6 +210,7 @@ public class DaoDataCollectorBiz implements DataCollectorBiz {
 		}
 		final Instant now = Instant.now();
 
+		final List<DatumEntity> toStore = new ArrayList<>();
 		for ( StreamDatum d : datums ) {
 			if ( d.getStreamId() == null ) {
 				throw new IllegalArgumentException("A streamId value is required for StreamDatum");
@@ -219,8 +237,17 @@ public class DaoDataCollectorBiz implements DataCollectorBiz {
 			DatumProperties dp = DatumProperties.propertiesOf(d.getProperties().getInstantaneous(),
 					d.getProperties().getAccumulating(), d.getProperties().getStatus(),
 					d.getProperties().getTags());
-			DatumEntity datum = new DatumEntity(d.getStreamId(), d.getTimestamp(), now, dp);
-
+			toStore.add(new DatumEntity(d.getStreamId(), d.getTimestamp(), now, dp));
+		}
+		if ( toStore.size() > 1 ) {
+			try {
+				datumDao.storeAll(toStore);
+			} catch ( TransientDataAccessException e ) {
+				throw new RepeatableTaskException(
+						"Transient error storing %d stream datum".formatted(toStore.size()), e);
+			}
+		} else if ( !toStore.isEmpty() ) {
+			final DatumEntity datum = toStore.getFirst();
 			try {
 				datumDao.store(datum);
 			} catch ( TransientDataAccessException e ) {
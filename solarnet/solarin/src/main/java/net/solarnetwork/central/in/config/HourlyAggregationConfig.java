@@ -0,0 +1,57 @@
+/* ==================================================================
+ * HourlyAggregationConfig.java - 17/10/2026 11:46:03 pm
+ *
+ * Copyright 2026 SolarNetwork.net Dev Team
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation; either version 2 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA
+ * 02111-1307 USA
+ * ==================================================================
+ */
+
+package net.solarnetwork.central.in.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import net.solarnetwork.central.datum.v2.support.IncrementalHourlyAggregator;
+
+/**
+ * Configuration for incremental hourly datum aggregation.
+ *
+ * <p>
+ * When enabled, the {@link SqsDatumCollectorConfig} datum DAO stores completed
+ * hourly aggregates as datum are collected.
+ * </p>
+ *
+ * @author matt
+ * @version 1.0
+ */
+@Profile("datum-hourly-agg")
+@Configuration(proxyBeanMethods = false)
+public class HourlyAggregationConfig {
+
+	/**
+	 * The incremental hourly aggregator.
+	 *
+	 * @return the aggregator
+	 */
+	@ConfigurationProperties(prefix = "app.solarin.hourly-agg")
+	@Bean
+	public IncrementalHourlyAggregator incrementalHourlyAggregator() {
+		return new IncrementalHourlyAggregator();
+	}
+
+}
@@ -39,7 +39,7 @@ import tools.jackson.dataformat.cbor.CBORMapper;
  * MQTT instruction publishing configuration.
  * 
  * @author matt
- * @version 2.0
+ * @version 2.1
  */
 @Configuration(proxyBeanMethods = false)
 @Profile("mqtt")
@@ -55,7 +55,7 @@ public class SolarQueueDataCollectorConfig {
 	@Qualifier(JsonConfig.CBOR_MAPPER)
 	private CBORMapper cborMapper;
 
-	@Bean
+	@Bean(initMethod = "serviceDidStartup", destroyMethod = "serviceDidShutdown")
 	@Qualifier(SOLARQUEUE)
 	@ConfigurationProperties(prefix = "app.solarqueue.data-collector")
 	public MqttDataCollector mqttDataCollector(@Qualifier(SOLARQUEUE) StatTracker mqttStats) {
@@ -30,14 +30,18 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcOperations;
 import net.solarnetwork.central.common.biz.impl.SqsOverflowQueue;
 import net.solarnetwork.central.datum.support.DatumJsonEntityCodec;
 import net.solarnetwork.central.datum.v2.dao.DatumEntityDao;
+import net.solarnetwork.central.datum.v2.dao.DatumStreamMetadataDao;
 import net.solarnetwork.central.datum.v2.dao.DatumWriteOnlyDao;
 import net.solarnetwork.central.datum.v2.dao.DatumWriteOnlyDaoGenericAdapter;
 import net.solarnetwork.central.datum.v2.dao.GenericWriteOnlyDaoDatumAdapter;
+import net.solarnetwork.central.datum.v2.dao.jdbc.IncrementalHourlyAggregatingDatumDao;
 import net.solarnetwork.central.datum.v2.domain.DatumPK;
 import net.solarnetwork.central.datum.v2.support.DatumJsonUtils;
+import net.solarnetwork.central.datum.v2.support.IncrementalHourlyAggregator;
 import net.solarnetwork.central.support.LinkedHashSetBlockingQueue;
 import net.solarnetwork.central.support.SqsOverflowQueueSettings;
 import net.solarnetwork.util.StatTracker;
@@ -46,7 +50,7 @@ import net.solarnetwork.util.StatTracker;
  * Configuration for the {@link DatumWriteOnlyDao}, using SQS.
  * 
  * @author matt
- * @version 2.0
+ * @version 2.1
  */
 @Profile("datum-collector-sqs")
 @Configuration(proxyBeanMethods = false)
@@ -55,6 +59,15 @@ public class SqsDatumCollectorConfig implements SolarInConfiguration {
 	@Autowired
 	private DatumEntityDao datumDao;
 
+	@Autowired
+	private DatumStreamMetadataDao metaDao;
+
+	@Autowired
+	private JdbcOperations jdbcOperations;
+
+	@Autowired(required = false)
+	private IncrementalHourlyAggregator hourlyAggregator;
+
 	@ConfigurationProperties(prefix = "app.solarin.sqs-collector")
 	@Qualifier(DATUM_COLLECTOR)
 	@Bean
@@ -71,10 +84,16 @@ public class SqsDatumCollectorConfig implements SolarInConfiguration {
 
 		var entityCodec = new DatumJsonEntityCodec(stats, DatumJsonUtils.DATUM_JSON_OBJECT_MAPPER);
 
+		DatumWriteOnlyDao dao = datumDao;
+		if ( hourlyAggregator != null ) {
+			dao = new IncrementalHourlyAggregatingDatumDao(datumDao, metaDao, jdbcOperations,
+					hourlyAggregator);
+		}
+
 		var collector = new SqsOverflowQueue<Object, DatumPK>(stats, "DatumQueue-SQS",
 				settings.newAsyncClient(), settings.getUrl(),
 				new ArrayBlockingQueue<>(settings.getWorkQueueSize()),
-				new LinkedHashSetBlockingQueue<>(9), new DatumWriteOnlyDaoGenericAdapter(datumDao),
+				new LinkedHashSetBlockingQueue<>(9), new DatumWriteOnlyDaoGenericAdapter(dao),
 				entityCodec);
 		collector.setPingTestName("SQS Datum Collector");
 		settings.configure(collector);
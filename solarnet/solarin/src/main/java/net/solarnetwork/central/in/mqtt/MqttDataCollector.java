@@ -27,11 +27,16 @@ import static net.solarnetwork.util.ByteUtils.encodeHexString;
 import static net.solarnetwork.util.ObjectUtils.requireNonNullArgument;
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import org.springframework.transaction.TransactionException;
@@ -55,6 +60,7 @@ import net.solarnetwork.domain.datum.DatumSamplesType;
 import net.solarnetwork.domain.datum.GeneralDatum;
 import net.solarnetwork.domain.datum.ObjectDatumKind;
 import net.solarnetwork.domain.datum.StreamDatum;
+import net.solarnetwork.service.ServiceLifecycleObserver;
 import net.solarnetwork.util.StatTracker;
 import tools.jackson.core.JacksonException;
 import tools.jackson.databind.JsonNode;
@@ -63,10 +69,33 @@ import tools.jackson.databind.ObjectMapper;
 /**
  * MQTT implementation of upload service.
  *
+ * <p>
+ * By default message payloads are decoded in a single pass with a
+ * {@link MqttDatumPayloadDecoder}, without first building a JSON tree.
+ * Payloads not supported by that decoder are handled by a full tree-based
+ * deserialization.
+ * </p>
+ *
+ * <p>
+ * If {@code laneCount} is configured to a positive value, messages are not
+ * processed on the MQTT client callback thread. Instead they are handed off to
+ * a set of "ingest lanes", each with a bounded queue and a dedicated thread.
+ * Messages are assigned to a lane based on their node ID, so the order of
+ * messages from a given node is preserved. Each lane drains up to
+ * {@code laneBatchSize} queued messages at a time, and persists consecutive node
+ * or stream datum from the same node with a single {@link DataCollectorBiz}
+ * call. When a lane queue is full the MQTT callback thread waits for space,
+ * which applies back pressure to the MQTT connection. Note that in this mode a
+ * message is acknowledged once it has been queued, so a message that fails to
+ * persist after all retries will be logged and dropped, rather than be
+ * redelivered.
+ * </p>
+ *
  * @author matt
- * @version 4.0
+ * @version 4.2
  */
-public class MqttDataCollector extends BaseMqttConnectionObserver implements MqttMessageHandler {
+public class MqttDataCollector extends BaseMqttConnectionObserver
+		implements MqttMessageHandler, ServiceLifecycleObserver {
 
 	/** A datum tag that indicates v2 CBOR encoding. */
 	public static final String TAG_V2 = "_v2";
@@ -109,10 +138,43 @@ public class MqttDataCollector extends BaseMqttConnectionObserver implements Mqt
 	 */
 	public static final String INSTRUCTION_ID_FIELD = "instructionId";
 
+	/**
+	 * The default {@code laneCapacity} property value.
+	 *
+	 * @since 4.2
+	 */
+	public static final int DEFAULT_LANE_CAPACITY = 1000;
+
+	/**
+	 * The default {@code laneBatchSize} property value.
+	 *
+	 * @since 4.2
+	 */
+	public static final int DEFAULT_LANE_BATCH_SIZE = 50;
+
+	/**
+	 * The default {@code laneShutdownTimeoutMs} property value.
+	 *
+	 * @since 4.2
+	 */
+	public static final long DEFAULT_LANE_SHUTDOWN_TIMEOUT_MS = 30_000L;
+
+	/** The maximum time an idle lane waits for a message, in milliseconds. */
+	private static final long LANE_POLL_MS = 1_000L;
+
+	private static final AtomicInteger LANE_COUNTER = new AtomicInteger(0);
+
 	private final ObjectMapper objectMapper;
 	private final DataCollectorBiz dataCollectorBiz;
 	private final NodeInstructionDao nodeInstructionDao;
+	private final MqttDatumPayloadDecoder payloadDecoder;
 	private String nodeDatumTopicTemplate = DEFAULT_NODE_DATUM_TOPIC_TEMPLATE;
+	private boolean streamingDecoding = true;
+	private int laneCount = 0;
+	private int laneCapacity = DEFAULT_LANE_CAPACITY;
+	private int laneBatchSize = DEFAULT_LANE_BATCH_SIZE;
+	private long laneShutdownTimeoutMs = DEFAULT_LANE_SHUTDOWN_TIMEOUT_MS;
+	private volatile IngestLane[] lanes;
 
 	/**
 	 * Constructor.
@@ -133,10 +195,84 @@ public class MqttDataCollector extends BaseMqttConnectionObserver implements Mqt
 		this.objectMapper = requireNonNullArgument(objectMapper, "objectMapper");
 		this.dataCollectorBiz = requireNonNullArgument(dataCollectorBiz, "dataCollectorBiz");
 		this.nodeInstructionDao = requireNonNullArgument(nodeInstructionDao, "nodeInstructionDao");
+		this.payloadDecoder = new MqttDatumPayloadDecoder(objectMapper);
 		setMqttStats(requireNonNullArgument(mqttStats, "mqttStats"));
 		setDisplayName("SolarIn MQTT");
 	}
 
+	/**
+	 * Call after configured to start up the ingest lanes, if
+	 * {@code laneCount} is greater than {@code 0}.
+	 *
+	 * @since 4.2
+	 */
+	@Override
+	public synchronized void serviceDidStartup() {
+		if ( lanes != null ) {
+			serviceDidShutdown();
+		}
+		final int count = laneCount;
+		if ( count < 1 ) {
+			return;
+		}
+		final IngestLane[] newLanes = new IngestLane[count];
+		for ( int i = 0; i < count; i++ ) {
+			newLanes[i] = new IngestLane(Math.max(1, laneCapacity), Math.max(1, laneBatchSize));
+		}
+		for ( IngestLane lane : newLanes ) {
+			lane.start();
+		}
+		lanes = newLanes;
+		log.info("Started {} MQTT ingest lanes with capacity {}", count, laneCapacity);
+	}
+
+	/**
+	 * Call when no longer needed to stop the ingest lanes.
+	 *
+	 * <p>
+	 * Each lane is signaled to stop, and then allowed to process all messages
+	 * already queued in it before its thread exits. This method waits up to
+	 * {@code laneShutdownTimeoutMs} for all lanes to finish, after which any
+	 * lane still running is interrupted and its remaining queued messages are
+	 * discarded. Messages for a lane that has been signaled to stop are
+	 * rejected with a {@link RepeatableTaskException} rather than queued, so
+	 * they are not acknowledged.
+	 * </p>
+	 *
+	 * @since 4.2
+	 */
+	@Override
+	public synchronized void serviceDidShutdown() {
+		final IngestLane[] oldLanes = lanes;
+		lanes = null;
+		if ( oldLanes == null ) {
+			return;
+		}
+		for ( IngestLane lane : oldLanes ) {
+			lane.running = false;
+		}
+		final long deadline = System.currentTimeMillis() + Math.max(0L, laneShutdownTimeoutMs);
+		boolean interrupted = false;
+		for ( IngestLane lane : oldLanes ) {
+			if ( !interrupted ) {
+				try {
+					lane.join(Math.max(1L, deadline - System.currentTimeMillis()));
+				} catch ( InterruptedException e ) {
+					interrupted = true;
+				}
+			}
+			if ( lane.isAlive() ) {
+				log.warn(
+						"MQTT ingest lane {} did not finish within {}ms; discarding {} queued messages.",
+						lane.getName(), laneShutdownTimeoutMs, lane.queue.size());
+				lane.interrupt();
+			}
+		}
+		if ( interrupted ) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
 	@Override
 	public void onMqttServerConnectionEstablished(MqttConnection connection, boolean reconnected) {
 		super.onMqttServerConnectionEstablished(connection, reconnected);
@@ -164,10 +300,17 @@ public class MqttDataCollector extends BaseMqttConnectionObserver implements Mqt
 			final String subTopic = m.group(2);
 			assert "datum".equals(subTopic);
 
+			final IngestLane[] lanes = this.lanes;
+			if ( lanes != null ) {
+				enqueue(lanes[Math.floorMod(nodeId, lanes.length)],
+						new LaneMessage(nodeId, topic, message.getPayload()));
+				return;
+			}
+
 			// assume node security role
 			SecurityUtils.becomeNode(nodeId);
 
-			parseMqttMessage(objectMapper, message, topic, nodeId, true);
+			parseMqttMessage(objectMapper, message.getPayload(), topic, nodeId, true);
 		} catch ( JacksonException | IOException e ) {
 			log.debug("Communication error handling message on MQTT topic {}", topic, e);
 			if ( e instanceof JacksonException ) {
@@ -186,34 +329,105 @@ public class MqttDataCollector extends BaseMqttConnectionObserver implements Mqt
 		}
 	}
 
-	private void parseMqttMessage(ObjectMapper objectMapper, MqttMessage message, final String topic,
+	private void enqueue(final IngestLane lane, final LaneMessage msg) {
+		if ( !lane.running ) {
+			throw laneStopped(msg);
+		}
+		getMqttStats().add(SolarInCountStat.LaneQueueDepth, 1, true);
+		if ( !lane.queue.offer(msg) ) {
+			getMqttStats().increment(SolarInCountStat.LaneBackPressure);
+			try {
+				while ( !lane.queue.offer(msg, LANE_POLL_MS, TimeUnit.MILLISECONDS) ) {
+					if ( !lane.running ) {
+						getMqttStats().add(SolarInCountStat.LaneQueueDepth, -1, true);
+						throw laneStopped(msg);
+					}
+				}
+			} catch ( InterruptedException e ) {
+				getMqttStats().add(SolarInCountStat.LaneQueueDepth, -1, true);
+				Thread.currentThread().interrupt();
+				throw new RepeatableTaskException(
+						"Interrupted waiting to queue message on MQTT topic " + msg.topic(), e);
+			}
+		}
+		if ( !lane.running && lane.queue.remove(msg) ) {
+			// the lane was stopped after the message was queued, and might have already
+			// exited without processing it
+			getMqttStats().add(SolarInCountStat.LaneQueueDepth, -1, true);
+			throw laneStopped(msg);
+		}
+	}
+
+	private static RepeatableTaskException laneStopped(final LaneMessage msg) {
+		return new RepeatableTaskException(
+				"MQTT ingest lane stopped; unable to queue message on MQTT topic " + msg.topic());
+	}
+
+	private void parseMqttMessage(ObjectMapper objectMapper, byte[] payload, final String topic,
 			final Long nodeId, final boolean checkVersion) throws IOException {
-		JsonNode root = objectMapper.readTree(message.getPayload());
+		if ( streamingDecoding ) {
+			final Object msg = payloadDecoder.decode(payload, nodeId, checkVersion);
+			if ( msg != null ) {
+				executeWithRetries(topic, () -> handleDecodedMessage(nodeId, msg, checkVersion));
+				return;
+			}
+			getMqttStats().increment(SolarInCountStat.StreamingDecodeFallback);
+		}
+		parseMqttMessageTree(objectMapper, payload, topic, nodeId, checkVersion);
+	}
+
+	private void parseMqttMessageTree(ObjectMapper objectMapper, byte[] payload, final String topic,
+			final Long nodeId, final boolean checkVersion) throws IOException {
+		JsonNode root = objectMapper.readTree(payload);
 		if ( root.isObject() || root.isArray() ) {
-			int remainingTries = getTransientErrorTries();
-			while ( remainingTries > 0 ) {
-				try {
-					if ( root.isObject() ) {
-						handleNode(nodeId, root, checkVersion);
-					} else {
-						// V2 stream datum array
-						handleStreamDatumNode(root);
-					}
-					break;
-				} catch ( RepeatableTaskException | TransactionException e ) {
-					remainingTries--;
-					if ( remainingTries > 0 ) {
-						log.warn(
-								"Transient error handling MQTT message on topic {}; will try {} more times",
-								topic, remainingTries, e);
-					} else {
-						throw e;
-					}
+			executeWithRetries(topic, () -> {
+				if ( root.isObject() ) {
+					handleNode(nodeId, root, checkVersion);
+				} else {
+					// V2 stream datum array
+					handleStreamDatumNode(root);
+				}
+			});
+		}
+	}
+
+	private void executeWithRetries(final String topic, final Runnable task) {
+		int remainingTries = getTransientErrorTries();
+		while ( remainingTries > 0 ) {
+			try {
+				task.run();
+				break;
+			} catch ( RepeatableTaskException | TransactionException e ) {
+				remainingTries--;
+				if ( remainingTries > 0 ) {
+					log.warn(
+							"Transient error handling MQTT message on topic {}; will try {} more times",
+							topic, remainingTries, e);
+				} else {
+					throw e;
 				}
 			}
 		}
 	}
 
+	private void handleDecodedMessage(final Long nodeId, final Object msg, final boolean checkVersion) {
+		switch (msg) {
+			case MqttDatumPayloadDecoder.InstructionStatusMessage s -> {
+				getMqttStats().increment(SolarInCountStat.InstructionStatusReceived);
+				updateInstructionState(nodeId, s.instructionId(), s.state(), s.resultParameters());
+			}
+			case StreamDatum d -> {
+				dataCollectorBiz.postStreamDatum(singleton(d));
+				getMqttStats().increment(SolarInCountStat.StreamDatumReceived);
+			}
+			case GeneralLocationDatum d -> postGeneralDatum(nodeId, d, d.getSourceId(),
+					ObjectDatumKind.Location, checkVersion, d);
+			case GeneralNodeDatum d -> postGeneralDatum(nodeId, d, d.getSourceId(),
+					ObjectDatumKind.Node, checkVersion, d);
+			default -> log.debug("Ignoring unsupported MQTT message: {}", msg);
+		}
+	}
+
 	private void handleNode(final Long nodeId, final JsonNode node, final boolean checkVersion) {
 		String nodeType = getStringFieldValue(node, OBJECT_TYPE_FIELD, GENERAL_NODE_DATUM_TYPE);
 		JsonNode instrId = node.get(INSTRUCTION_ID_FIELD);
@@ -234,6 +448,11 @@ public class MqttDataCollector extends BaseMqttConnectionObserver implements Mqt
 			instructionState = getStringFieldValue(node, "status", null);
 		}
 		Map<String, Object> resultParams = JsonUtils.getStringMapFromTree(node.get("resultParameters"));
+		updateInstructionState(nodeId, instructionId, instructionState, resultParams);
+	}
+
+	private void updateInstructionState(final Long nodeId, final String instructionId,
+			final String instructionState, final Map<String, Object> resultParams) {
 		if ( instructionId != null && nodeId != null && instructionState != null ) {
 			Long id = Long.valueOf(instructionId);
 			InstructionState state;
@@ -290,27 +509,32 @@ public class MqttDataCollector extends BaseMqttConnectionObserver implements Mqt
 				gd.setTags(null);
 			}
 
-			Object ld = convertGeneralDatum(nodeId, gd);
-			if ( d.getSourceId() == null ) {
-				// ignore, source ID is required
-				log.warn("Ignoring datum for node {} with missing source ID: {}", nodeId, node);
-			} else {
-				if ( ld instanceof GeneralLocationDatum g ) {
-					dataCollectorBiz.postGeneralLocationDatum(singleton(g));
-				} else if ( ld instanceof GeneralNodeDatum g ) {
-					dataCollectorBiz.postGeneralNodeDatum(singleton(g));
-				}
-			}
-			getMqttStats().increment(d.getKind() == ObjectDatumKind.Location
-					? checkVersion ? SolarInCountStat.LocationDatumReceived
-							: SolarInCountStat.LegacyLocationDatumReceived
-					: checkVersion ? SolarInCountStat.NodeDatumReceived
-							: SolarInCountStat.LegacyNodeDatumReceived);
+			postGeneralDatum(nodeId, convertGeneralDatum(nodeId, gd), d.getSourceId(), d.getKind(),
+					checkVersion, node);
 		} catch ( JacksonException e ) {
 			log.debug("Unable to parse GeneralDatum: {}", e.getMessage());
 		}
 	}
 
+	private void postGeneralDatum(final Long nodeId, final Object ld, final String sourceId,
+			final ObjectDatumKind kind, final boolean checkVersion, final Object logDetail) {
+		if ( sourceId == null ) {
+			// ignore, source ID is required
+			log.warn("Ignoring datum for node {} with missing source ID: {}", nodeId, logDetail);
+		} else {
+			if ( ld instanceof GeneralLocationDatum g ) {
+				dataCollectorBiz.postGeneralLocationDatum(singleton(g));
+			} else if ( ld instanceof GeneralNodeDatum g ) {
+				dataCollectorBiz.postGeneralNodeDatum(singleton(g));
+			}
+		}
+		getMqttStats().increment(kind == ObjectDatumKind.Location
+				? checkVersion ? SolarInCountStat.LocationDatumReceived
+						: SolarInCountStat.LegacyLocationDatumReceived
+				: checkVersion ? SolarInCountStat.NodeDatumReceived
+						: SolarInCountStat.LegacyNodeDatumReceived);
+	}
+
 	private Object convertGeneralDatum(Long nodeId, Datum gd) {
 		DatumSamples s = new DatumSamples(gd.asSampleOperations());
 		if ( gd.getKind() == ObjectDatumKind.Location ) {
@@ -329,6 +553,179 @@ public class MqttDataCollector extends BaseMqttConnectionObserver implements Mqt
 		return (child == null ? placeholder : child.asString());
 	}
 
+	/**
+	 * A message queued for processing by an ingest lane.
+	 *
+	 * @param nodeId
+	 *        the node ID the message was published by
+	 * @param topic
+	 *        the MQTT topic
+	 * @param payload
+	 *        the message payload
+	 */
+	private record LaneMessage(Long nodeId, String topic, byte[] payload) {
+
+	}
+
+	/**
+	 * Thread for processing messages for a subset of nodes.
+	 */
+	private final class IngestLane extends Thread {
+
+		private final BlockingQueue<LaneMessage> queue;
+		private final int batchSize;
+		private final List<LaneMessage> messages;
+		private final List<Object> pending;
+		private volatile boolean running = true;
+		private Class<?> pendingType;
+		private Long pendingNodeId;
+		private String pendingTopic;
+
+		private IngestLane(int capacity, int batchSize) {
+			super("SolarIn-MQTT-Lane-%d".formatted(LANE_COUNTER.incrementAndGet()));
+			setDaemon(true);
+			this.queue = new ArrayBlockingQueue<>(capacity);
+			this.batchSize = batchSize;
+			this.messages = new ArrayList<>(batchSize);
+			this.pending = new ArrayList<>(batchSize);
+		}
+
+		@Override
+		public void run() {
+			while ( running ) {
+				final LaneMessage msg;
+				try {
+					msg = queue.poll(LANE_POLL_MS, TimeUnit.MILLISECONDS);
+				} catch ( InterruptedException e ) {
+					log.info("MQTT ingest lane {} interrupted.", getName());
+					return;
+				}
+				if ( msg == null ) {
+					continue;
+				}
+				messages.add(msg);
+				queue.drainTo(messages, batchSize - 1);
+				processMessages();
+			}
+			// stopped: drain remaining queued messages
+			while ( !isInterrupted() && queue.drainTo(messages, batchSize) > 0 ) {
+				processMessages();
+			}
+			log.info("MQTT ingest lane {} exiting.", getName());
+		}
+
+		private void processMessages() {
+			getMqttStats().add(SolarInCountStat.LaneQueueDepth, -messages.size(), true);
+			try {
+				for ( LaneMessage msg : messages ) {
+					processMessage(msg);
+				}
+				flushPending();
+			} finally {
+				messages.clear();
+			}
+		}
+
+		private void processMessage(final LaneMessage msg) {
+			final Object decoded = (streamingDecoding
+					? payloadDecoder.decode(msg.payload(), msg.nodeId(), true)
+					: null);
+			final Class<?> type = switch (decoded) {
+				case GeneralNodeDatum d when d.getSourceId() != null -> GeneralNodeDatum.class;
+				case StreamDatum d -> StreamDatum.class;
+				case null, default -> null;
+			};
+			if ( type == null ) {
+				// not batchable, so handle individually (after any pending datum to preserve order)
+				flushPending();
+				handleMessage(msg, decoded);
+				return;
+			}
+			if ( type != pendingType || !msg.nodeId().equals(pendingNodeId) ) {
+				flushPending();
+			}
+			pendingType = type;
+			pendingNodeId = msg.nodeId();
+			pendingTopic = msg.topic();
+			pending.add(decoded);
+		}
+
+		private void handleMessage(final LaneMessage msg, final Object decoded) {
+			final String topic = msg.topic();
+			try {
+				SecurityUtils.becomeNode(msg.nodeId());
+				if ( decoded != null ) {
+					executeWithRetries(topic, () -> handleDecodedMessage(msg.nodeId(), decoded, true));
+				} else {
+					if ( streamingDecoding ) {
+						getMqttStats().increment(SolarInCountStat.StreamingDecodeFallback);
+					}
+					parseMqttMessageTree(objectMapper, msg.payload(), topic, msg.nodeId(), true);
+				}
+			} catch ( net.solarnetwork.central.security.AuthorizationException e ) {
+				log.warn("Authorization exception on MQTT topic [{}]: {}", topic, e.getMessage());
+			} catch ( IOException | RuntimeException e ) {
+				final byte[] payload = msg.payload();
+				log.error("Error handling MQTT message on topic {} [{}]: {}", topic,
+						encodeHexString(payload, 0, payload.length, false), e.getMessage(), e);
+			}
+		}
+
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		private void flushPending() {
+			if ( pending.isEmpty() ) {
+				return;
+			}
+			final Long nodeId = pendingNodeId;
+			final String topic = pendingTopic;
+			final boolean nodeDatum = (pendingType == GeneralNodeDatum.class);
+			try {
+				SecurityUtils.becomeNode(nodeId);
+				if ( pending.size() > 1 ) {
+					try {
+						final List batch = List.copyOf(pending);
+						executeWithRetries(topic, () -> {
+							if ( nodeDatum ) {
+								dataCollectorBiz.postGeneralNodeDatum(batch);
+							} else {
+								dataCollectorBiz.postStreamDatum(batch);
+							}
+						});
+						getMqttStats().increment(SolarInCountStat.LaneBatchPersists);
+						getMqttStats().add(nodeDatum ? SolarInCountStat.NodeDatumReceived
+								: SolarInCountStat.StreamDatumReceived, pending.size(), false);
+						return;
+					} catch ( net.solarnetwork.central.security.AuthorizationException e ) {
+						log.warn("Authorization exception on MQTT topic [{}]: {}", topic,
+								e.getMessage());
+						return;
+					} catch ( RuntimeException e ) {
+						getMqttStats().increment(SolarInCountStat.LaneBatchFallbacks);
+						log.debug("Error persisting batch of {} datum for node {}, "
+								+ "will persist individually: {}", pending.size(), nodeId,
+								e.getMessage(), e);
+					}
+				}
+				for ( Object d : pending ) {
+					try {
+						executeWithRetries(topic, () -> handleDecodedMessage(nodeId, d, true));
+					} catch ( RuntimeException e ) {
+						log.error("Error persisting datum {} from MQTT topic {}: {}", d, topic,
+								e.getMessage(), e);
+					}
+				}
+			} catch ( net.solarnetwork.central.security.AuthorizationException e ) {
+				log.warn("Authorization exception on MQTT topic [{}]: {}", topic, e.getMessage());
+			} finally {
+				pending.clear();
+				pendingType = null;
+				pendingNodeId = null;
+				pendingTopic = null;
+			}
+		}
+
+	}
+
 	/*---------------------
 	 * Accessors
 	 *------------------ */
@@ -349,4 +746,122 @@ public class MqttDataCollector extends BaseMqttConnectionObserver implements Mqt
 		this.nodeDatumTopicTemplate = nodeDatumTopicTemplate;
 	}
 
+	/**
+	 * Get the streaming decoding mode.
+	 *
+	 * @return {@code true} to decode messages with a
+	 *         {@link MqttDatumPayloadDecoder} when possible; defaults to
+	 *         {@code true}
+	 * @since 4.1
+	 */
+	public boolean isStreamingDecoding() {
+		return streamingDecoding;
+	}
+
+	/**
+	 * Set the streaming decoding mode.
+	 *
+	 * @param streamingDecoding
+	 *        {@code true} to decode messages with a
+	 *        {@link MqttDatumPayloadDecoder} when possible, or {@code false}
+	 *        to always decode messages into a JSON tree first
+	 * @since 4.1
+	 */
+	public void setStreamingDecoding(boolean streamingDecoding) {
+		this.streamingDecoding = streamingDecoding;
+	}
+
+	/**
+	 * Get the number of ingest lanes.
+	 *
+	 * @return the number of lanes, or {@code 0} to process messages directly
+	 *         on the MQTT client callback thread; defaults to {@code 0}
+	 * @since 4.2
+	 */
+	public int getLaneCount() {
+		return laneCount;
+	}
+
+	/**
+	 * Set the number of ingest lanes.
+	 *
+	 * <p>
+	 * Changes take effect after {@link #serviceDidStartup()} is called.
+	 * </p>
+	 *
+	 * @param laneCount
+	 *        the number of lanes, or {@code 0} to process messages directly on
+	 *        the MQTT client callback thread
+	 * @since 4.2
+	 */
+	public void setLaneCount(int laneCount) {
+		this.laneCount = laneCount;
+	}
+
+	/**
+	 * Get the maximum number of messages each ingest lane can queue.
+	 *
+	 * @return the lane capacity; defaults to {@link #DEFAULT_LANE_CAPACITY}
+	 * @since 4.2
+	 */
+	public int getLaneCapacity() {
+		return laneCapacity;
+	}
+
+	/**
+	 * Set the maximum number of messages each ingest lane can queue.
+	 *
+	 * @param laneCapacity
+	 *        the lane capacity
+	 * @since 4.2
+	 */
+	public void setLaneCapacity(int laneCapacity) {
+		this.laneCapacity = laneCapacity;
+	}
+
+	/**
+	 * Get the maximum number of messages an ingest lane processes at once.
+	 *
+	 * @return the batch size; defaults to {@link #DEFAULT_LANE_BATCH_SIZE}
+	 * @since 4.2
+	 */
+	public int getLaneBatchSize() {
+		return laneBatchSize;
+	}
+
+	/**
+	 * Set the maximum number of messages an ingest lane processes at once.
+	 *
+	 * @param laneBatchSize
+	 *        the batch size
+	 * @since 4.2
+	 */
+	public void setLaneBatchSize(int laneBatchSize) {
+		this.laneBatchSize = laneBatchSize;
+	}
+
+	/**
+	 * Get the maximum amount of time to wait for the ingest lanes to process
+	 * their queued messages when shutting down.
+	 *
+	 * @return the timeout, in milliseconds; defaults to
+	 *         {@link #DEFAULT_LANE_SHUTDOWN_TIMEOUT_MS}
+	 * @since 4.2
+	 */
+	public long getLaneShutdownTimeoutMs() {
+		return laneShutdownTimeoutMs;
+	}
+
+	/**
+	 * Set the maximum amount of time to wait for the ingest lanes to process
+	 * their queued messages when shutting down.
+	 *
+	 * @param laneShutdownTimeoutMs
+	 *        the timeout, in milliseconds
+	 * @since 4.2
+	 */
+	public void setLaneShutdownTimeoutMs(long laneShutdownTimeoutMs) {
+		this.laneShutdownTimeoutMs = laneShutdownTimeoutMs;
+	}
+
 }
@@ -0,0 +1,506 @@
+/* ==================================================================
+ * MqttDatumPayloadDecoder.java - 17/10/2026 10:41:08 am
+ *
+ * Copyright 2026 SolarNetwork.net Dev Team
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation; either version 2 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA
+ * 02111-1307 USA
+ * ==================================================================
+ */
+
+package net.solarnetwork.central.in.mqtt;
+
+import static net.solarnetwork.central.in.mqtt.MqttDataCollector.INSTRUCTION_ID_FIELD;
+import static net.solarnetwork.central.in.mqtt.MqttDataCollector.INSTRUCTION_STATUS_TYPE;
+import static net.solarnetwork.central.in.mqtt.MqttDataCollector.LOCATION_ID_FIELD;
+import static net.solarnetwork.central.in.mqtt.MqttDataCollector.OBJECT_TYPE_FIELD;
+import static net.solarnetwork.central.in.mqtt.MqttDataCollector.TAG_V2;
+import static net.solarnetwork.util.ObjectUtils.requireNonNullArgument;
+import java.math.BigDecimal;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import net.solarnetwork.central.datum.domain.GeneralLocationDatum;
+import net.solarnetwork.central.datum.domain.GeneralNodeDatum;
+import net.solarnetwork.central.datum.v2.dao.DatumEntity;
+import net.solarnetwork.central.datum.v2.support.DatumJsonUtils;
+import net.solarnetwork.domain.datum.DatumProperties;
+import net.solarnetwork.domain.datum.DatumSamples;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Single-pass streaming decoder for SolarNode MQTT datum message payloads.
+ *
+ * <p>
+ * This decoder reads a message payload directly from a {@link JsonParser}
+ * created by the configured {@link ObjectMapper} (a {@code CBORParser} when
+ * the mapper is a {@code CBORMapper}), without first building a
+ * {@code JsonNode} tree. The following payload types are supported:
+ * </p>
+ *
+ * <ul>
+ * <li>a datum object, decoded as a {@link GeneralNodeDatum} or, if a
+ * {@code locationId} is provided, a {@link GeneralLocationDatum}</li>
+ * <li>an instruction status object, decoded as an
+ * {@link InstructionStatusMessage}</li>
+ * <li>a V2 stream datum array, decoded as a {@link DatumEntity}</li>
+ * </ul>
+ *
+ * <p>
+ * For legacy datum payloads (those without a {@link MqttDataCollector#TAG_V2}
+ * tag) the scale of every decimal sample value is corrected as it is read.
+ * Because the tag may appear after the sample values in the payload, the
+ * affected values are tracked while reading and only the scale-adjusted values
+ * are re-written once the datum has been fully read.
+ * </p>
+ *
+ * <p>
+ * If a payload contains a structure this decoder does not handle, such as an
+ * unknown datum property or a nested sample value, {@code null} is returned
+ * and callers should fall back to a full {@code Datum} or {@code StreamDatum}
+ * deserialization.
+ * </p>
+ *
+ * @author matt
+ * @version 1.0
+ */
+public final class MqttDatumPayloadDecoder {
+
+	private static final TypeReference<Map<String, Object>> STRING_MAP_TYPE = new TypeReference<>() {
+		// nothing
+	};
+
+	private final ObjectMapper objectMapper;
+
+	/**
+	 * An instruction status message.
+	 *
+	 * @param instructionId
+	 *        the instruction ID
+	 * @param state
+	 *        the instruction state name
+	 * @param resultParameters
+	 *        the optional result parameters
+	 */
+	public record InstructionStatusMessage(String instructionId, String state,
+			Map<String, Object> resultParameters) {
+
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param objectMapper
+	 *        the mapper to create parsers with
+	 * @throws IllegalArgumentException
+	 *         if any argument is {@code null}
+	 */
+	public MqttDatumPayloadDecoder(ObjectMapper objectMapper) {
+		super();
+		this.objectMapper = requireNonNullArgument(objectMapper, "objectMapper");
+	}
+
+	/**
+	 * Decode a message payload.
+	 *
+	 * @param payload
+	 *        the payload to decode
+	 * @param nodeId
+	 *        the ID of the node that published the message
+	 * @param checkVersion
+	 *        {@code true} to correct the scale of decimal sample values in
+	 *        legacy datum payloads
+	 * @return the decoded message, as a {@link GeneralNodeDatum},
+	 *         {@link GeneralLocationDatum}, {@link DatumEntity}, or
+	 *         {@link InstructionStatusMessage}, or {@code null} if the payload
+	 *         is not supported by this decoder
+	 * @throws JacksonException
+	 *         if the payload cannot be parsed
+	 */
+	public Object decode(byte[] payload, Long nodeId, boolean checkVersion) {
+		try (JsonParser p = objectMapper.createParser(payload)) {
+			JsonToken t = p.nextToken();
+			if ( t == JsonToken.START_OBJECT ) {
+				return decodeObject(p, nodeId, checkVersion);
+			} else if ( t == JsonToken.START_ARRAY ) {
+				return decodeStreamDatum(p);
+			}
+			return null;
+		}
+	}
+
+	@SuppressWarnings("StatementSwitchToExpressionSwitch")
+	private Object decodeObject(JsonParser p, Long nodeId, boolean checkVersion) {
+		String type = null;
+		String instructionId = null;
+		boolean instructionIdNumber = false;
+		String state = null;
+		String status = null;
+		Map<String, Object> resultParams = null;
+		boolean unknownField = false;
+
+		Instant created = null;
+		String sourceId = null;
+		Long locationId = null;
+		final DatumSamples samples = new DatumSamples();
+		final List<LegacyDecimal> legacyDecimals = (checkVersion ? new ArrayList<>() : null);
+
+		String f;
+		while ( (f = p.nextName()) != null ) {
+			JsonToken t = p.nextToken();
+			switch (f) {
+				case OBJECT_TYPE_FIELD:
+					type = scalarString(p, t);
+					break;
+
+				case INSTRUCTION_ID_FIELD:
+					instructionIdNumber = t.isNumeric();
+					instructionId = scalarString(p, t);
+					break;
+
+				case "state":
+					state = scalarString(p, t);
+					break;
+
+				case "status":
+					status = scalarString(p, t);
+					break;
+
+				case "resultParameters":
+					if ( t == JsonToken.START_OBJECT ) {
+						resultParams = objectMapper.readValue(p, STRING_MAP_TYPE);
+					} else {
+						p.skipChildren();
+					}
+					break;
+
+				case "created":
+					if ( t != JsonToken.VALUE_NULL ) {
+						try {
+							created = DatumJsonUtils.parseInstant(p);
+						} catch ( DateTimeException e ) {
+							return null;
+						}
+					}
+					break;
+
+				case "sourceId":
+					sourceId = scalarString(p, t);
+					break;
+
+				case "nodeId":
+					// the node ID is taken from the message topic
+					p.skipChildren();
+					break;
+
+				case LOCATION_ID_FIELD:
+					if ( t.isNumeric() ) {
+						locationId = p.getLongValue();
+					} else if ( t != JsonToken.VALUE_NULL ) {
+						return null;
+					}
+					break;
+
+				case "samples":
+					if ( t == JsonToken.START_OBJECT ) {
+						String sf;
+						while ( (sf = p.nextName()) != null ) {
+							if ( !readSamplesProperty(p, p.nextToken(), sf, samples, legacyDecimals) ) {
+								return null;
+							}
+						}
+					} else if ( t != JsonToken.VALUE_NULL ) {
+						return null;
+					}
+					break;
+
+				case "i":
+				case "a":
+				case "s":
+				case "t":
+					if ( !readSamplesProperty(p, t, f, samples, legacyDecimals) ) {
+						return null;
+					}
+					break;
+
+				default:
+					// ignored by instruction status, but not supported by datum
+					unknownField = true;
+					p.skipChildren();
+					break;
+			}
+		}
+
+		if ( instructionIdNumber || INSTRUCTION_STATUS_TYPE.equalsIgnoreCase(type) ) {
+			return new InstructionStatusMessage(instructionId, (state != null ? state : status),
+					resultParams);
+		}
+
+		if ( unknownField || type != null || instructionId != null || state != null || status != null
+				|| resultParams != null ) {
+			return null;
+		}
+
+		final Set<String> tags = samples.getTags();
+		if ( legacyDecimals != null && !legacyDecimals.isEmpty()
+				&& (tags == null || !tags.contains(TAG_V2)) ) {
+			// work-around for all BigDecimal encodings being backwards
+			for ( LegacyDecimal d : legacyDecimals ) {
+				d.map().put(d.key(),
+						new BigDecimal(d.value().unscaledValue(), -d.value().scale()));
+			}
+		}
+		if ( tags != null ) {
+			tags.remove(TAG_V2);
+			if ( tags.isEmpty() ) {
+				samples.setTags(null);
+			}
+		}
+
+		if ( locationId != null ) {
+			GeneralLocationDatum d = new GeneralLocationDatum(locationId, created, sourceId);
+			d.setSamples(samples);
+			return d;
+		}
+		GeneralNodeDatum d = new GeneralNodeDatum(nodeId, created, sourceId);
+		d.setSamples(samples);
+		return d;
+	}
+
+	/**
+	 * A decimal sample value read from a payload that might need its scale
+	 * corrected.
+	 *
+	 * @param map
+	 *        the sample map the value was added to
+	 * @param key
+	 *        the sample property name
+	 * @param value
+	 *        the value as read
+	 */
+	private record LegacyDecimal(Map<String, ? super BigDecimal> map, String key, BigDecimal value) {
+
+	}
+
+	/**
+	 * Read a datum samples property.
+	 *
+	 * @param p
+	 *        the parser, positioned on the property value
+	 * @param t
+	 *        the current token
+	 * @param type
+	 *        the samples type key, one of {@code i}, {@code a}, {@code s}, or
+	 *        {@code t}
+	 * @param samples
+	 *        the samples to populate
+	 * @param legacyDecimals
+	 *        if not {@code null}, a list to add decimal values with a non-zero
+	 *        scale to
+	 * @return {@code true} if the property was read, {@code false} if it is
+	 *         not supported
+	 */
+	private static boolean readSamplesProperty(JsonParser p, JsonToken t, String type,
+			DatumSamples samples, List<LegacyDecimal> legacyDecimals) {
+		if ( t == JsonToken.VALUE_NULL ) {
+			return true;
+		}
+		switch (type) {
+			case "i", "a": {
+				if ( t != JsonToken.START_OBJECT ) {
+					return false;
+				}
+				Map<String, Number> m = new LinkedHashMap<>(8);
+				String n;
+				while ( (n = p.nextName()) != null ) {
+					JsonToken vt = p.nextToken();
+					if ( vt.isNumeric() ) {
+						m.put(n, numberValue(p, m, n, legacyDecimals));
+					} else if ( vt != JsonToken.VALUE_NULL ) {
+						return false;
+					}
+				}
+				if ( "i".equals(type) ) {
+					samples.setInstantaneous(m);
+				} else {
+					samples.setAccumulating(m);
+				}
+				return true;
+			}
+
+			case "s": {
+				if ( t != JsonToken.START_OBJECT ) {
+					return false;
+				}
+				Map<String, Object> m = new LinkedHashMap<>(8);
+				String n;
+				while ( (n = p.nextName()) != null ) {
+					JsonToken vt = p.nextToken();
+					if ( vt.isNumeric() ) {
+						m.put(n, numberValue(p, m, n, legacyDecimals));
+					} else if ( vt == JsonToken.VALUE_STRING ) {
+						m.put(n, p.getString());
+					} else if ( vt != JsonToken.VALUE_NULL ) {
+						return false;
+					}
+				}
+				samples.setStatus(m);
+				return true;
+			}
+
+			case "t": {
+				if ( t != JsonToken.START_ARRAY ) {
+					return false;
+				}
+				Set<String> tags = new LinkedHashSet<>(4);
+				JsonToken vt;
+				while ( (vt = p.nextToken()) != JsonToken.END_ARRAY ) {
+					if ( vt != JsonToken.VALUE_STRING ) {
+						return false;
+					}
+					tags.add(p.getString());
+				}
+				samples.setTags(tags);
+				return true;
+			}
+
+			default:
+				return false;
+		}
+	}
+
+	private static String scalarString(JsonParser p, JsonToken t) {
+		if ( t.isStructStart() ) {
+			p.skipChildren();
+			return null;
+		}
+		return p.getValueAsString();
+	}
+
+	private static Number numberValue(JsonParser p, Map<String, ? super BigDecimal> map, String key,
+			List<LegacyDecimal> legacyDecimals) {
+		if ( p.getNumberType() == JsonParser.NumberType.BIG_DECIMAL ) {
+			BigDecimal n = p.getDecimalValue();
+			if ( legacyDecimals != null && n.scale() != 0 ) {
+				legacyDecimals.add(new LegacyDecimal(map, key, n));
+			}
+			return n;
+		}
+		return p.getNumberValue();
+	}
+
+	/**
+	 * Decode a V2 stream datum array.
+	 *
+	 * <p>
+	 * The array elements are: timestamp (epoch milliseconds), stream ID most
+	 * significant bits, stream ID least significant bits, instantaneous
+	 * values, accumulating values, status values, and tags.
+	 * </p>
+	 *
+	 * @param p
+	 *        the parser, positioned on the array start
+	 * @return the datum, or {@code null} if the array is not supported
+	 */
+	private static DatumEntity decodeStreamDatum(JsonParser p) {
+		if ( p.nextToken() != JsonToken.VALUE_NUMBER_INT ) {
+			return null;
+		}
+		final Instant ts = Instant.ofEpochMilli(p.getLongValue());
+		if ( p.nextToken() != JsonToken.VALUE_NUMBER_INT ) {
+			return null;
+		}
+		final long msb = p.getLongValue();
+		if ( p.nextToken() != JsonToken.VALUE_NUMBER_INT ) {
+			return null;
+		}
+		final long lsb = p.getLongValue();
+
+		BigDecimal[] i = null;
+		BigDecimal[] a = null;
+		String[] s = null;
+		String[] t = null;
+		int idx = 0;
+		JsonToken tok;
+		while ( (tok = p.nextToken()) != JsonToken.END_ARRAY ) {
+			if ( tok == null ) {
+				return null;
+			}
+			if ( tok == JsonToken.VALUE_NULL ) {
+				idx++;
+				continue;
+			}
+			if ( tok != JsonToken.START_ARRAY ) {
+				return null;
+			}
+			switch (idx++) {
+				case 0 -> i = readDecimalArray(p);
+				case 1 -> a = readDecimalArray(p);
+				case 2 -> s = readStringArray(p);
+				case 3 -> t = readStringArray(p);
+				default -> {
+					return null;
+				}
+			}
+			if ( (idx == 1 && i == null) || (idx == 2 && a == null) || (idx == 3 && s == null)
+					|| (idx == 4 && t == null) ) {
+				return null;
+			}
+		}
+		return new DatumEntity(new UUID(msb, lsb), ts, Instant.now(),
+				DatumProperties.propertiesOf(i, a, s, t));
+	}
+
+	private static BigDecimal[] readDecimalArray(JsonParser p) {
+		List<BigDecimal> l = new ArrayList<>(8);
+		JsonToken t;
+		while ( (t = p.nextToken()) != JsonToken.END_ARRAY ) {
+			if ( t.isNumeric() ) {
+				l.add(p.getDecimalValue());
+			} else if ( t == JsonToken.VALUE_NULL ) {
+				l.add(null);
+			} else {
+				return null;
+			}
+		}
+		return l.toArray(BigDecimal[]::new);
+	}
+
+	private static String[] readStringArray(JsonParser p) {
+		List<String> l = new ArrayList<>(4);
+		JsonToken t;
+		while ( (t = p.nextToken()) != JsonToken.END_ARRAY ) {
+			if ( t == JsonToken.VALUE_STRING ) {
+				l.add(p.getString());
+			} else if ( t == JsonToken.VALUE_NULL ) {
+				l.add(null);
+			} else {
+				return null;
+			}
+		}
+		return l.toArray(String[]::new);
+	}
+
+}
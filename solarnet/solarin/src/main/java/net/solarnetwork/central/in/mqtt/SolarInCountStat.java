@@ -26,7 +26,7 @@ package net.solarnetwork.central.in.mqtt;
  * SolarIn MQTT statistic types.
  *
  * @author matt
- * @version 2.1
+ * @version 2.3
  * @since 1.1
  */
 public enum SolarInCountStat {
@@ -43,6 +43,43 @@ public enum SolarInCountStat {
 
 	StreamDatumReceived("stream datum received"),
 
+	/**
+	 * A message could not be decoded by the streaming decoder, and was decoded
+	 * via a JSON tree instead.
+	 *
+	 * @since 2.2
+	 */
+	StreamingDecodeFallback("streaming decode fallbacks"),
+
+	/**
+	 * The number of messages waiting in ingest lane queues.
+	 *
+	 * @since 2.3
+	 */
+	LaneQueueDepth("ingest lane queue depth"),
+
+	/**
+	 * A message had to wait for space in a full ingest lane queue.
+	 *
+	 * @since 2.3
+	 */
+	LaneBackPressure("ingest lane back pressure waits"),
+
+	/**
+	 * A batch of datum was persisted by an ingest lane.
+	 *
+	 * @since 2.3
+	 */
+	LaneBatchPersists("ingest lane batch persists"),
+
+	/**
+	 * A batch of datum failed to persist in an ingest lane, and was persisted
+	 * individually instead.
+	 *
+	 * @since 2.3
+	 */
+	LaneBatchFallbacks("ingest lane batch fallbacks"),
+
 	;
 
 	private final String description;
@@ -173,6 +173,32 @@ public class DaoDataCollectorBizTests {
 		// THEN
 	}
 
+	@Test
+	public void postGeneralNodeDatum_multi() {
+		// GIVEN
+		final Long nodeId = randomLong();
+		final Instant now = Instant.now();
+		GeneralNodeDatum d1 = new GeneralNodeDatum(nodeId, now, TEST_SOURCE_ID);
+		d1.setSamples(new DatumSamples());
+		d1.getSamples().putInstantaneousSampleValue("foo", 1);
+		GeneralNodeDatum d2 = new GeneralNodeDatum(nodeId, now.plusSeconds(1), TEST_SOURCE_ID);
+		d2.setSamples(new DatumSamples());
+		d2.getSamples().putInstantaneousSampleValue("foo", 2);
+
+		final UUID streamId = UUID.randomUUID();
+		Capture<List<?>> datumCaptor = new Capture<>();
+		expect(datumDao.storeAll(capture(datumCaptor))).andReturn(List.of(
+				new DatumPK(streamId, d1.getCreated()), new DatumPK(streamId, d2.getCreated())));
+
+		// WHEN
+		replayAll();
+		SecurityUtils.becomeNode(nodeId);
+		biz.postGeneralNodeDatum(List.of(d1, d2));
+
+		// THEN
+		assertThat("All datum stored as batch", datumCaptor.getValue(), is(equalTo(List.of(d1, d2))));
+	}
+
 	@Test
 	public void postStreamDatum_kindNotCached() {
 		// GIVEN
@@ -0,0 +1,352 @@
+/* ==================================================================
+ * MqttDataCollector_LanesTests.java - 17/10/2026 4:12:08 pm
+ *
+ * Copyright 2026 SolarNetwork.net Dev Team
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation; either version 2 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA
+ * 02111-1307 USA
+ * ==================================================================
+ */
+
+package net.solarnetwork.central.in.mqtt.test;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.easymock.EasyMock.capture;
+import static org.easymock.EasyMock.expectLastCall;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.easymock.Capture;
+import org.easymock.CaptureType;
+import org.easymock.EasyMock;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import net.solarnetwork.central.RepeatableTaskException;
+import net.solarnetwork.central.datum.domain.GeneralNodeDatum;
+import net.solarnetwork.central.datum.v2.support.DatumJsonUtils;
+import net.solarnetwork.central.in.biz.DataCollectorBiz;
+import net.solarnetwork.central.in.mqtt.MqttDataCollector;
+import net.solarnetwork.central.in.mqtt.SolarInCountStat;
+import net.solarnetwork.central.instructor.dao.NodeInstructionDao;
+import net.solarnetwork.common.mqtt.BasicMqttMessage;
+import net.solarnetwork.common.mqtt.MqttQos;
+import net.solarnetwork.util.StatTracker;
+
+/**
+ * Test cases for the {@link MqttDataCollector} class using ingest lanes.
+ *
+ * @author matt
+ * @version 1.1
+ */
+public class MqttDataCollector_LanesTests {
+
+	private static final Long TEST_NODE_ID = 123L;
+	private static final String TEST_SOURCE_ID = "test.source";
+	private static final long WAIT_SECS = 10;
+
+	private DataCollectorBiz dataCollectorBiz;
+	private NodeInstructionDao nodeInstructionDao;
+	private StatTracker mqttStats;
+	private MqttDataCollector service;
+
+	@BeforeEach
+	public void setup() {
+		dataCollectorBiz = EasyMock.createMock(DataCollectorBiz.class);
+		nodeInstructionDao = EasyMock.createMock(NodeInstructionDao.class);
+		mqttStats = new StatTracker("Test", null, LoggerFactory.getLogger(getClass()), 1);
+		service = new MqttDataCollector(DatumJsonUtils.DATUM_JSON_OBJECT_MAPPER, dataCollectorBiz,
+				nodeInstructionDao, mqttStats);
+		service.setLaneCount(2);
+	}
+
+	@AfterEach
+	public void teardown() {
+		service.serviceDidShutdown();
+		EasyMock.verify(dataCollectorBiz, nodeInstructionDao);
+	}
+
+	private void replayAll() {
+		EasyMock.replay(dataCollectorBiz, nodeInstructionDao);
+	}
+
+	private static BasicMqttMessage datumMessage(Long nodeId, Instant ts, int value) {
+		String json = "{\"created\":" + ts.toEpochMilli() + ",\"sourceId\":\"" + TEST_SOURCE_ID
+				+ "\",\"i\":{\"foo\":" + value + "}}";
+		return new BasicMqttMessage(
+				String.format(MqttDataCollector.DEFAULT_NODE_DATUM_TOPIC_TEMPLATE, nodeId), false,
+				MqttQos.AtLeastOnce, json.getBytes(UTF_8));
+	}
+
+	private static List<GeneralNodeDatum> datumList(Iterable<GeneralNodeDatum> datum) {
+		List<GeneralNodeDatum> result = new ArrayList<>();
+		datum.forEach(result::add);
+		return result;
+	}
+
+	@Test
+	public void batchQueuedDatum() throws Exception {
+		// GIVEN
+		final CountDownLatch firstStarted = new CountDownLatch(1);
+		final CountDownLatch firstRelease = new CountDownLatch(1);
+		final CountDownLatch finished = new CountDownLatch(1);
+
+		final Capture<Iterable<GeneralNodeDatum>> postDatumCaptor = new Capture<>(CaptureType.ALL);
+		dataCollectorBiz.postGeneralNodeDatum(capture(postDatumCaptor));
+		expectLastCall().andAnswer(() -> {
+			// block the lane, so more messages queue up
+			firstStarted.countDown();
+			firstRelease.await(WAIT_SECS, TimeUnit.SECONDS);
+			return null;
+		});
+		dataCollectorBiz.postGeneralNodeDatum(capture(postDatumCaptor));
+		expectLastCall().andAnswer(() -> {
+			finished.countDown();
+			return null;
+		});
+
+		replayAll();
+
+		// WHEN
+		service.serviceDidStartup();
+		final Instant start = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+		service.onMqttMessage(datumMessage(TEST_NODE_ID, start, 0));
+		then(firstStarted.await(WAIT_SECS, TimeUnit.SECONDS)).as("First datum persisting").isTrue();
+		for ( int i = 1; i < 4; i++ ) {
+			service.onMqttMessage(datumMessage(TEST_NODE_ID, start.plusSeconds(i), i));
+		}
+		firstRelease.countDown();
+
+		// THEN
+		then(finished.await(WAIT_SECS, TimeUnit.SECONDS)).as("Queued datum persisted").isTrue();
+		final long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(WAIT_SECS);
+		while ( mqttStats.get(SolarInCountStat.NodeDatumReceived) < 4
+				&& System.currentTimeMillis() < deadline ) {
+			Thread.sleep(10);
+		}
+		List<Iterable<GeneralNodeDatum>> posts = postDatumCaptor.getValues();
+		// @formatter:off
+		then(datumList(posts.get(0)))
+			.as("First datum persisted alone")
+			.extracting(GeneralNodeDatum::getCreated)
+			.containsExactly(start);
+		then(datumList(posts.get(1)))
+			.as("Queued datum persisted as a single batch, in order")
+			.extracting(GeneralNodeDatum::getCreated)
+			.containsExactly(start.plusSeconds(1), start.plusSeconds(2), start.plusSeconds(3));
+		then(mqttStats.get(SolarInCountStat.LaneBatchPersists))
+			.as("Batch persist counted")
+			.isEqualTo(1L);
+		then(mqttStats.get(SolarInCountStat.NodeDatumReceived))
+			.as("All datum counted")
+			.isEqualTo(4L);
+		then(mqttStats.get(SolarInCountStat.LaneQueueDepth))
+			.as("Queue drained")
+			.isEqualTo(0L);
+		// @formatter:on
+	}
+
+	@Test
+	public void backPressure() throws Exception {
+		// GIVEN
+		service.setLaneCount(1);
+		service.setLaneCapacity(1);
+
+		final CountDownLatch firstStarted = new CountDownLatch(1);
+		final CountDownLatch firstRelease = new CountDownLatch(1);
+
+		dataCollectorBiz.postGeneralNodeDatum(EasyMock.anyObject());
+		expectLastCall().andAnswer(() -> {
+			firstStarted.countDown();
+			firstRelease.await(WAIT_SECS, TimeUnit.SECONDS);
+			return null;
+		}).times(1, 3);
+
+		replayAll();
+
+		// WHEN
+		service.serviceDidStartup();
+		final Instant start = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+		service.onMqttMessage(datumMessage(TEST_NODE_ID, start, 0));
+		then(firstStarted.await(WAIT_SECS, TimeUnit.SECONDS)).as("First datum persisting").isTrue();
+
+		// fills the lane queue
+		service.onMqttMessage(datumMessage(TEST_NODE_ID, start.plusSeconds(1), 1));
+
+		// must wait for space in the lane queue
+		Thread publisher = new Thread(
+				() -> service.onMqttMessage(datumMessage(TEST_NODE_ID, start.plusSeconds(2), 2)));
+		publisher.start();
+		final long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(WAIT_SECS);
+		while ( mqttStats.get(SolarInCountStat.LaneBackPressure) < 1
+				&& System.currentTimeMillis() < deadline ) {
+			Thread.sleep(10);
+		}
+
+		// THEN
+		// @formatter:off
+		then(mqttStats.get(SolarInCountStat.LaneBackPressure))
+			.as("Back pressure counted")
+			.isEqualTo(1L);
+		// @formatter:on
+		then(publisher.isAlive()).as("Publisher waiting for lane capacity").isTrue();
+
+		firstRelease.countDown();
+		publisher.join(TimeUnit.SECONDS.toMillis(WAIT_SECS));
+		then(publisher.isAlive()).as("Publisher released once lane has capacity").isFalse();
+
+		while ( mqttStats.get(SolarInCountStat.NodeDatumReceived) < 3
+				&& System.currentTimeMillis() < deadline ) {
+			Thread.sleep(10);
+		}
+		// @formatter:off
+		then(mqttStats.get(SolarInCountStat.NodeDatumReceived))
+			.as("All datum persisted")
+			.isEqualTo(3L);
+		// @formatter:on
+	}
+
+	@Test
+	public void shutdownDrainsQueue() throws Exception {
+		// GIVEN
+		service.setLaneCount(1);
+
+		final CountDownLatch firstStarted = new CountDownLatch(1);
+		final CountDownLatch firstRelease = new CountDownLatch(1);
+
+		final Capture<Iterable<GeneralNodeDatum>> postDatumCaptor = new Capture<>(CaptureType.ALL);
+		dataCollectorBiz.postGeneralNodeDatum(capture(postDatumCaptor));
+		expectLastCall().andAnswer(() -> {
+			// block the lane, so more messages queue up
+			firstStarted.countDown();
+			firstRelease.await(WAIT_SECS, TimeUnit.SECONDS);
+			return null;
+		});
+		dataCollectorBiz.postGeneralNodeDatum(capture(postDatumCaptor));
+
+		replayAll();
+
+		// WHEN
+		service.serviceDidStartup();
+		final Instant start = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+		service.onMqttMessage(datumMessage(TEST_NODE_ID, start, 0));
+		then(firstStarted.await(WAIT_SECS, TimeUnit.SECONDS)).as("First datum persisting").isTrue();
+		for ( int i = 1; i < 3; i++ ) {
+			service.onMqttMessage(datumMessage(TEST_NODE_ID, start.plusSeconds(i), i));
+		}
+
+		Thread shutdown = new Thread(service::serviceDidShutdown);
+		shutdown.start();
+		Thread.sleep(200);
+		then(shutdown.isAlive()).as("Shutdown waiting for lane to finish").isTrue();
+
+		firstRelease.countDown();
+		shutdown.join(TimeUnit.SECONDS.toMillis(WAIT_SECS));
+
+		// THEN
+		then(shutdown.isAlive()).as("Shutdown complete once lane drained").isFalse();
+		List<Iterable<GeneralNodeDatum>> posts = postDatumCaptor.getValues();
+		// @formatter:off
+		then(posts)
+			.as("Queued datum persisted before shutdown completed")
+			.hasSize(2)
+			;
+		then(datumList(posts.get(1)))
+			.as("Queued datum persisted as a single batch, in order")
+			.extracting(GeneralNodeDatum::getCreated)
+			.containsExactly(start.plusSeconds(1), start.plusSeconds(2))
+			;
+		then(mqttStats.get(SolarInCountStat.LaneQueueDepth))
+			.as("Queue drained")
+			.isEqualTo(0L);
+		// @formatter:on
+	}
+
+	@Test
+	public void shutdown_rejectsWaitingMessage() throws Exception {
+		// GIVEN
+		service.setLaneCount(1);
+		service.setLaneCapacity(1);
+
+		final CountDownLatch firstStarted = new CountDownLatch(1);
+		final CountDownLatch firstRelease = new CountDownLatch(1);
+
+		dataCollectorBiz.postGeneralNodeDatum(EasyMock.anyObject());
+		expectLastCall().andAnswer(() -> {
+			firstStarted.countDown();
+			firstRelease.await(WAIT_SECS, TimeUnit.SECONDS);
+			return null;
+		}).times(2);
+
+		replayAll();
+
+		// WHEN
+		service.serviceDidStartup();
+		final Instant start = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+		service.onMqttMessage(datumMessage(TEST_NODE_ID, start, 0));
+		then(firstStarted.await(WAIT_SECS, TimeUnit.SECONDS)).as("First datum persisting").isTrue();
+
+		// fills the lane queue
+		service.onMqttMessage(datumMessage(TEST_NODE_ID, start.plusSeconds(1), 1));
+
+		// must wait for space in the lane queue
+		final AtomicReference<Throwable> publishError = new AtomicReference<>();
+		Thread publisher = new Thread(() -> {
+			try {
+				service.onMqttMessage(datumMessage(TEST_NODE_ID, start.plusSeconds(2), 2));
+			} catch ( Throwable t ) {
+				publishError.set(t);
+			}
+		});
+		publisher.start();
+		final long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(WAIT_SECS);
+		while ( mqttStats.get(SolarInCountStat.LaneBackPressure) < 1
+				&& System.currentTimeMillis() < deadline ) {
+			Thread.sleep(10);
+		}
+
+		Thread shutdown = new Thread(service::serviceDidShutdown);
+		shutdown.start();
+		publisher.join(TimeUnit.SECONDS.toMillis(WAIT_SECS));
+
+		firstRelease.countDown();
+		shutdown.join(TimeUnit.SECONDS.toMillis(WAIT_SECS));
+
+		// THEN
+		then(publisher.isAlive()).as("Publisher released once lane stopped").isFalse();
+		// @formatter:off
+		then(publishError.get())
+			.as("Message for stopped lane rejected so it is not acknowledged")
+			.isInstanceOf(RepeatableTaskException.class)
+			;
+		// @formatter:on
+		then(shutdown.isAlive()).as("Shutdown complete once lane drained").isFalse();
+		// @formatter:off
+		then(mqttStats.get(SolarInCountStat.NodeDatumReceived))
+			.as("Datum queued before shutdown persisted")
+			.isEqualTo(2L);
+		then(mqttStats.get(SolarInCountStat.LaneQueueDepth))
+			.as("Queue depth does not include rejected message")
+			.isEqualTo(0L);
+		// @formatter:on
+	}
+
+}
@@ -0,0 +1,230 @@
+/* ==================================================================
+ * MqttDatumPayloadDecoderTests.java - 17/10/2026 1:52:19 pm
+ *
+ * Copyright 2026 SolarNetwork.net Dev Team
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation; either version 2 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA
+ * 02111-1307 USA
+ * ==================================================================
+ */
+
+package net.solarnetwork.central.in.mqtt.test;
+
+import static net.solarnetwork.domain.datum.DatumProperties.propertiesOf;
+import static net.solarnetwork.util.NumberUtils.decimalArray;
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.assertj.core.api.InstanceOfAssertFactories.type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import net.solarnetwork.central.datum.domain.GeneralLocationDatum;
+import net.solarnetwork.central.datum.domain.GeneralNodeDatum;
+import net.solarnetwork.central.datum.v2.dao.DatumEntity;
+import net.solarnetwork.central.datum.v2.support.DatumJsonUtils;
+import net.solarnetwork.central.in.mqtt.MqttDatumPayloadDecoder;
+import net.solarnetwork.central.in.mqtt.MqttDatumPayloadDecoder.InstructionStatusMessage;
+import net.solarnetwork.codec.jackson.CborUtils;
+import net.solarnetwork.codec.jackson.JsonUtils;
+import net.solarnetwork.domain.datum.BasicStreamDatum;
+import net.solarnetwork.domain.datum.DatumSamples;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Test cases for the {@link MqttDatumPayloadDecoder} class.
+ *
+ * @author matt
+ * @version 1.0
+ */
+public class MqttDatumPayloadDecoderTests {
+
+	private static final Long TEST_NODE_ID = 123L;
+
+	// this does not have t:["_v2"] included, so incorrectly encoded positive typed big decimal exponents
+	private static final String LEGACY_DATUM_HEX = "A467637265617465641B0000016F0D13D080666E6F6465496419016D68736F7572636549646F2F44452F47322F474D2F47454E2F316773616D706C6573A26169A365766F6C7473C482031A0004503B657761747473C482031A0027B8B4696672657175656E6379183C6161A26977617474486F757273C482031A027F57DF7077617474486F757273526576657273651905A0";
+
+	// this has t:["_v2"] included, and negative typed big decimal exponents
+	private static final String V2_DATUM_HEX = "A467637265617465641B0000016F0D13D080666E6F6465496419016D68736F7572636549646F2F44452F47322F474D2F47454E2F316773616D706C6573A36169A365766F6C7473C482221A0004503B657761747473C482221A0027B8B4696672657175656E6379183C6161A26977617474486F757273C482221A027F57DF7077617474486F757273526576657273651905A0617481635F7632";
+
+	private ObjectMapper objectMapper;
+	private MqttDatumPayloadDecoder decoder;
+
+	@BeforeEach
+	public void setup() {
+		objectMapper = CborUtils.CBOR_OBJECT_MAPPER.rebuild()
+				.addModules(JsonUtils.DATUM_MODULE, DatumJsonUtils.DATUM_MODULE).build();
+		decoder = new MqttDatumPayloadDecoder(objectMapper);
+	}
+
+	private void thenDecodedSamplesAsExpected(GeneralNodeDatum d) {
+		// @formatter:off
+		then(d)
+			.as("Node ID from argument")
+			.returns(TEST_NODE_ID, GeneralNodeDatum::getNodeId)
+			.as("Source ID decoded")
+			.returns("/DE/G2/GM/GEN/1", GeneralNodeDatum::getSourceId)
+			.as("Timestamp decoded")
+			.returns(Instant.ofEpochMilli(1576472400000L), GeneralNodeDatum::getCreated)
+			;
+		DatumSamples s = d.getSamples();
+		then(s.getInstantaneousSampleBigDecimal("volts"))
+			.as("Decimal scale is correct")
+			.isEqualTo(new BigDecimal(new BigInteger("282683"), 3));
+		then(s.getInstantaneousSampleBigDecimal("watts"))
+			.as("Decimal scale is correct")
+			.isEqualTo(new BigDecimal(new BigInteger("2603188"), 3));
+		then(s.getInstantaneousSampleInteger("frequency"))
+			.as("Integer decoded")
+			.isEqualTo(60);
+		then(s.getAccumulatingSampleBigDecimal("wattHours"))
+			.as("Decimal scale is correct")
+			.isEqualTo(new BigDecimal(new BigInteger("41899999"), 3));
+		then(s.getAccumulatingSampleInteger("wattHoursReverse"))
+			.as("Integer decoded")
+			.isEqualTo(1440);
+		then(s.getTags())
+			.as("V2 tag removed")
+			.isNull();
+		// @formatter:on
+	}
+
+	@Test
+	public void datum_legacy() {
+		// WHEN
+		Object result = decoder.decode(HexFormat.of().parseHex(LEGACY_DATUM_HEX), TEST_NODE_ID, true);
+
+		// THEN
+		then(result).as("Node datum decoded").isInstanceOf(GeneralNodeDatum.class);
+		thenDecodedSamplesAsExpected((GeneralNodeDatum) result);
+	}
+
+	@Test
+	public void datum_v2() {
+		// WHEN
+		Object result = decoder.decode(HexFormat.of().parseHex(V2_DATUM_HEX), TEST_NODE_ID, true);
+
+		// THEN
+		then(result).as("Node datum decoded").isInstanceOf(GeneralNodeDatum.class);
+		thenDecodedSamplesAsExpected((GeneralNodeDatum) result);
+	}
+
+	@Test
+	public void datum_location_otherTags() {
+		// GIVEN
+		final Instant ts = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+		final Map<String, Object> msg = new LinkedHashMap<>(4);
+		msg.put("created", ts.toEpochMilli());
+		msg.put("sourceId", "test.source");
+		msg.put("locationId", 321L);
+		msg.put("samples", Map.of("i", Map.of("foo", new BigDecimal("1.23")), "s",
+				Map.of("bar", "bam"), "t", new String[] { "_v2", "tag" }));
+
+		// WHEN
+		Object result = decoder.decode(objectMapper.writeValueAsBytes(msg), TEST_NODE_ID, true);
+
+		// THEN
+		// @formatter:off
+		then(result)
+			.as("Location datum decoded")
+			.asInstanceOf(type(GeneralLocationDatum.class))
+			.as("Location ID decoded")
+			.returns(321L, GeneralLocationDatum::getLocationId)
+			.as("Timestamp decoded")
+			.returns(ts, GeneralLocationDatum::getCreated)
+			.extracting(GeneralLocationDatum::getSamples)
+			.as("Decimal value unchanged because of V2 tag")
+			.returns(new BigDecimal("1.23"), s -> s.getInstantaneousSampleBigDecimal("foo"))
+			.as("Status value decoded")
+			.returns("bam", s -> s.getStatusSampleString("bar"))
+			.as("V2 tag removed, other tags preserved")
+			.returns(Set.of("tag"), DatumSamples::getTags)
+			;
+		// @formatter:on
+	}
+
+	@Test
+	public void streamDatum() {
+		// GIVEN
+		final BasicStreamDatum datum = new BasicStreamDatum(UUID.randomUUID(),
+				Instant.now().truncatedTo(ChronoUnit.MILLIS),
+				propertiesOf(decimalArray("1.23", "2.34"), decimalArray("3.45"),
+						new String[] { "one" }, null));
+
+		// WHEN
+		Object result = decoder.decode(objectMapper.writeValueAsBytes(datum), TEST_NODE_ID, true);
+
+		// THEN
+		// @formatter:off
+		then(result)
+			.as("Stream datum decoded")
+			.asInstanceOf(type(DatumEntity.class))
+			.as("Stream ID decoded")
+			.returns(datum.getStreamId(), DatumEntity::getStreamId)
+			.as("Timestamp decoded")
+			.returns(datum.getTimestamp(), DatumEntity::getTimestamp)
+			.extracting(DatumEntity::getProperties)
+			.usingRecursiveComparison()
+			.as("Properties decoded")
+			.isEqualTo(datum.getProperties())
+			;
+		// @formatter:on
+	}
+
+	@Test
+	public void instructionStatus() {
+		// GIVEN
+		final Map<String, Object> msg = new LinkedHashMap<>(4);
+		msg.put("__type__", "InstructionStatus");
+		msg.put("id", 1L);
+		msg.put("instructionId", 2L);
+		msg.put("topic", "test.topic");
+		msg.put("status", "Completed");
+		msg.put("resultParameters", Map.of("foo", "bar"));
+
+		// WHEN
+		Object result = decoder.decode(objectMapper.writeValueAsBytes(msg), TEST_NODE_ID, true);
+
+		// THEN
+		// @formatter:off
+		then(result)
+			.as("Instruction status decoded, with legacy status field as state")
+			.isEqualTo(new InstructionStatusMessage("2", "Completed", Map.of("foo", "bar")))
+			;
+		// @formatter:on
+	}
+
+	@Test
+	public void datum_unsupportedProperty() {
+		// GIVEN
+		final Map<String, Object> msg = new LinkedHashMap<>(4);
+		msg.put("created", System.currentTimeMillis());
+		msg.put("sourceId", "test.source");
+		msg.put("i", Map.of("foo", Map.of("nested", 1)));
+
+		// WHEN
+		Object result = decoder.decode(objectMapper.writeValueAsBytes(msg), TEST_NODE_ID, true);
+
+		// THEN
+		then(result).as("Unsupported structure not decoded").isNull();
+	}
+
+}
@@ -47,6 +47,8 @@ import net.solarnetwork.central.c2c.dao.CloudControlConfigurationDao;
 import net.solarnetwork.central.c2c.support.CloudControlInstructionQueueHook;
 import net.solarnetwork.central.common.http.CachableRequestEntity;
 import net.solarnetwork.central.dao.SolarNodeOwnershipDao;
+import net.solarnetwork.central.domain.SolarNodeMetadata;
+import net.solarnetwork.central.domain.SolarNodeOwnership;
 import net.solarnetwork.central.domain.UserLongCompositePK;
 import net.solarnetwork.central.instructor.dao.NodeInstructionDao;
 import net.solarnetwork.central.security.PrefixedTextEncryptor;
@@ -61,7 +63,7 @@ import net.solarnetwork.util.StatTracker;
  * Cloud integrations general configuration.
  *
  * @author matt
- * @version 1.3
+ * @version 1.4
  */
 @Profile(CLOUD_INTEGRATIONS)
 @Configuration(proxyBeanMethods = false)
@@ -134,6 +136,64 @@ public class CloudIntegrationsConfig implements SolarNetCloudIntegrationsConfigu
 				TariffSchedule.class, CLOUD_INTEGRATIONS_TARIFF + "-cache");
 	}
 
+	@Bean
+	@Qualifier(CLOUD_INTEGRATIONS_EXPRESSIONS_NODE_OWNERSHIP)
+	@ConfigurationProperties(prefix = "app.c2c.cache.expression-node-ownership-cache")
+	public CacheSettings cloudIntegrationsExpressionNodeOwnershipCacheSettings() {
+		return new CacheSettings();
+	}
+
+	/**
+	 * A node ownership cache for expression evaluation.
+	 *
+	 * <p>
+	 * This cache should be configured as heap-only, with a
+	 * {@code disk-max-size-mb} of {@literal 0}, so values are held by
+	 * reference. That avoids the serialization overhead of the shared node
+	 * ownership cache when expressions are evaluated against many datum.
+	 * </p>
+	 *
+	 * @param settings
+	 *        the cache settings
+	 * @return the cache
+	 * @since 1.4
+	 */
+	@Bean
+	@Qualifier(CLOUD_INTEGRATIONS_EXPRESSIONS_NODE_OWNERSHIP)
+	public Cache<Long, SolarNodeOwnership> cloudIntegrationsExpressionNodeOwnershipCache(
+			@Qualifier(CLOUD_INTEGRATIONS_EXPRESSIONS_NODE_OWNERSHIP) CacheSettings settings) {
+		return settings.createCache(cacheManager, Long.class, SolarNodeOwnership.class,
+				CLOUD_INTEGRATIONS_EXPRESSIONS_NODE_OWNERSHIP + "-cache");
+	}
+
+	@Bean
+	@Qualifier(CLOUD_INTEGRATIONS_EXPRESSIONS_NODE_METADATA)
+	@ConfigurationProperties(prefix = "app.c2c.cache.expression-node-meta-cache")
+	public CacheSettings cloudIntegrationsExpressionNodeMetadataCacheSettings() {
+		return new CacheSettings();
+	}
+
+	/**
+	 * A node metadata cache for expression evaluation.
+	 *
+	 * <p>
+	 * Like the node ownership cache, this cache should be configured as
+	 * heap-only.
+	 * </p>
+	 *
+	 * @param settings
+	 *        the cache settings
+	 * @return the cache
+	 * @since 1.4
+	 */
+	@Bean
+	@Qualifier(CLOUD_INTEGRATIONS_EXPRESSIONS_NODE_METADATA)
+	public Cache<Long, SolarNodeMetadata> cloudIntegrationsExpressionNodeMetadataCache(
+			@Qualifier(CLOUD_INTEGRATIONS_EXPRESSIONS_NODE_METADATA) CacheSettings settings) {
+		return settings.createCache(cacheManager, Long.class, SolarNodeMetadata.class,
+				CLOUD_INTEGRATIONS_EXPRESSIONS_NODE_METADATA + "-cache");
+	}
+
 	@Bean
 	@Qualifier(CLOUD_INTEGRATIONS)
 	public PrefixedTextEncryptor cloudIntegrationsTextEncryptor(
@@ -43,6 +43,7 @@ import net.solarnetwork.central.c2c.dao.CloudDatumStreamConfigurationDao;
 import net.solarnetwork.central.c2c.dao.CloudDatumStreamPollTaskDao;
 import net.solarnetwork.central.c2c.dao.CloudDatumStreamRakeTaskDao;
 import net.solarnetwork.central.c2c.dao.CloudDatumStreamSettingsEntityDao;
+import net.solarnetwork.central.c2c.support.AdaptiveServiceBulkhead;
 import net.solarnetwork.central.dao.SolarNodeOwnershipDao;
 import net.solarnetwork.central.datum.biz.DatumProcessor;
 import net.solarnetwork.central.datum.v2.dao.DatumAuxiliaryEntityDao;
@@ -56,7 +57,7 @@ import net.solarnetwork.service.PingTest;
  * Cloud integrations datum stream poll configuration.
  *
  * @author matt
- * @version 1.5
+ * @version 1.6
  */
 @Profile(CLOUD_INTEGRATIONS)
 @Configuration(proxyBeanMethods = false)
@@ -116,10 +117,24 @@ public class CloudIntegrationsDatumStreamPollConfig implements SolarNetCloudInte
 		return new ThreadPoolTaskExecutorPingTest(taskExecutor);
 	}
 
+	/**
+	 * Per-service bulkhead for poll tasks.
+	 *
+	 * @return the bulkhead
+	 * @since 1.6
+	 */
+	@ConfigurationProperties(prefix = "app.c2c.ds-poll.bulkhead")
+	@Qualifier(CLOUD_INTEGRATIONS_POLL)
+	@Bean
+	public AdaptiveServiceBulkhead cloudDatumStreamPollBulkhead() {
+		return new AdaptiveServiceBulkhead(Clock.systemUTC());
+	}
+
 	@ConfigurationProperties(prefix = "app.c2c.ds-poll.service")
 	@Bean(initMethod = "serviceDidStartup", destroyMethod = "serviceDidShutdown")
 	public DaoCloudDatumStreamPollService cloudDatumStreamPollService(
 			@Qualifier(CLOUD_INTEGRATIONS_POLL) ThreadPoolTaskExecutor taskExecutor,
+			@Qualifier(CLOUD_INTEGRATIONS_POLL) AdaptiveServiceBulkhead bulkhead,
 			Collection<CloudDatumStreamService> datumStreamServices) {
 		var dsMap = datumStreamServices.stream()
 				.collect(Collectors.toMap(CloudDatumStreamService::getId, Function.identity()));
@@ -128,6 +143,7 @@ public class CloudIntegrationsDatumStreamPollConfig implements SolarNetCloudInte
 				datumStreamMetadataDao, datumWriteOnlyDao, datumAuxiliaryDao,
 				taskExecutor.getThreadPoolExecutor(), dsMap::get);
 		service.setFluxPublisher(fluxPublisher);
+		service.setBulkhead(bulkhead);
 		return service;
 	}
 
@@ -53,6 +53,8 @@ import org.springframework.validation.BindException;
 import org.springframework.validation.Errors;
 import org.springframework.validation.Validator;
 import net.solarnetwork.central.ValidationException;
+import net.solarnetwork.central.common.dao.BasicKeysetFilterResults;
+import net.solarnetwork.central.common.dao.KeysetFilterResults;
 import net.solarnetwork.central.dao.SolarLocationDao;
 import net.solarnetwork.central.dao.SolarNodeOwnershipDao;
 import net.solarnetwork.central.datum.domain.AggregateGeneralLocationDatumFilter;
@@ -109,7 +111,7 @@ import net.solarnetwork.domain.datum.ObjectDatumStreamMetadataProvider;
  * Implementation of {@link QueryBiz}.
  *
  * @author matt
- * @version 4.7
+ * @version 4.9
  */
 @Securable
 public class DaoQueryBiz implements QueryBiz {
@@ -277,6 +279,11 @@ public class DaoQueryBiz implements QueryBiz {
 				.map(e -> toGeneralNodeDatum(e,
 						metadataForStreamId(e.getStreamId(), daoResults, filter, metaCache)))
 				.collect(toList());
+		if ( daoResults instanceof KeysetFilterResults<?, ?> k && k.getNextCursor() != null ) {
+			return new BasicKeysetFilterResults<>(data, daoResults.getTotalResults(),
+					daoResults.getStartingOffset(), daoResults.getReturnedResultCount(),
+					k.getNextCursor());
+		}
 		return new BasicFilterResults<>(data, daoResults.getTotalResults(),
 				daoResults.getStartingOffset(), daoResults.getReturnedResultCount());
 	}
@@ -500,7 +507,7 @@ public class DaoQueryBiz implements QueryBiz {
 	}
 
 	@Override
-	@Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+	@Transactional(readOnly = true)
 	public void findFilteredStreamDatum(StreamDatumFilter filter,
 			StreamDatumFilteredResultsProcessor processor,
 			List<net.solarnetwork.domain.SortDescriptor> sortDescriptors, Long offset, Integer max)
@@ -512,7 +519,7 @@ public class DaoQueryBiz implements QueryBiz {
 	}
 
 	@Override
-	@Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+	@Transactional(readOnly = true)
 	public void findFilteredStreamReadings(StreamDatumFilter filter, DatumReadingType readingType,
 			Period tolerance, StreamDatumFilteredResultsProcessor processor,
 			List<SortDescriptor> sortDescriptors, Long offset, Integer max) throws IOException {
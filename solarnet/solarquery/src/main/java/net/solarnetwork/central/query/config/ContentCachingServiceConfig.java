@@ -22,6 +22,7 @@
 
 package net.solarnetwork.central.query.config;
 
+import java.util.List;
 import javax.cache.Cache;
 import javax.cache.CacheManager;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -35,13 +36,14 @@ import net.solarnetwork.central.datum.biz.QueryAuditor;
 import net.solarnetwork.central.query.web.support.AuditingJCacheContentCachingService;
 import net.solarnetwork.central.support.CacheSettings;
 import net.solarnetwork.central.web.support.CachedContent;
+import net.solarnetwork.central.web.support.CachedContentCodec;
 import net.solarnetwork.central.web.support.JCacheContentCachingService;
 
 /**
  * Content caching service configuration.
  * 
  * @author matt
- * @version 1.1
+ * @version 1.2
  */
 @Configuration(proxyBeanMethods = false)
 @ConditionalOnProperty("app.query-cache.enabled")
@@ -60,6 +62,8 @@ public class ContentCachingServiceConfig {
 
 		private int compressMinimumLength = 512;
 		private int statLogAccessCount = 500;
+		private List<CachedContentCodec.Standard> codecs = List
+				.of(CachedContentCodec.Standard.values());
 
 		public int getCompressMinimumLength() {
 			return compressMinimumLength;
@@ -77,6 +81,22 @@ public class ContentCachingServiceConfig {
 			this.statLogAccessCount = statLogAccessCount;
 		}
 
+		public List<CachedContentCodec.Standard> getCodecs() {
+			return codecs;
+		}
+
+		public void setCodecs(List<CachedContentCodec.Standard> codecs) {
+			this.codecs = codecs;
+		}
+
+		private void configure(JCacheContentCachingService service) {
+			service.setCompressMinimumLength(compressMinimumLength);
+			service.setStatLogAccessCount(statLogAccessCount);
+			if ( codecs != null ) {
+				service.setCodecs(List.copyOf(codecs));
+			}
+		}
+
 	}
 
 	@Bean
@@ -104,8 +124,7 @@ public class ContentCachingServiceConfig {
 			@Qualifier(QUERY_CACHE) QueryCacheSettings settings,
 			@Qualifier(QUERY_CACHE) Cache<String, CachedContent> queryCache) {
 		JCacheContentCachingService service = new JCacheContentCachingService(queryCache);
-		service.setCompressMinimumLength(settings.compressMinimumLength);
-		service.setStatLogAccessCount(settings.statLogAccessCount);
+		settings.configure(service);
 		return service;
 	}
 
@@ -117,8 +136,7 @@ public class ContentCachingServiceConfig {
 			@Qualifier(QUERY_CACHE) Cache<String, CachedContent> queryCache, QueryAuditor queryAuditor) {
 		AuditingJCacheContentCachingService service = new AuditingJCacheContentCachingService(queryCache,
 				queryAuditor);
-		service.setCompressMinimumLength(settings.compressMinimumLength);
-		service.setStatLogAccessCount(settings.statLogAccessCount);
+		settings.configure(service);
 		return service;
 	}
 
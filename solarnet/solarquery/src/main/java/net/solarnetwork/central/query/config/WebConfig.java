@@ -25,6 +25,7 @@ package net.solarnetwork.central.query.config;
 import static net.solarnetwork.central.query.config.ContentCachingServiceConfig.QUERY_CACHE;
 import static net.solarnetwork.central.query.config.ContentCachingServiceConfig.QUERY_CACHING_SERVICE;
 import static net.solarnetwork.central.query.config.RateLimitConfig.RATE_LIMIT;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -86,7 +87,7 @@ import tools.jackson.dataformat.cbor.CBORMapper;
  * Web layer configuration.
  *
  * @author matt
- * @version 2.1
+ * @version 2.2
  */
 @Configuration
 @Import({ WebServiceErrorAttributes.class, WebServiceControllerSupport.class,
@@ -270,9 +271,13 @@ public class WebConfig implements WebMvcConfigurer {
 			@Qualifier(RATE_LIMIT) ProxyManager<Long> proxyManager,
 			@Qualifier(RATE_LIMIT) Supplier<BucketConfiguration> configurationProvider,
 			@Value("${app.web.rate-limit.key-prefix:}") String keyPrefix,
+			@Value("${app.web.rate-limit.lease-size:0}") int leaseSize,
+			@Value("${app.web.rate-limit.lease-duration:1s}") Duration leaseDuration,
 			HandlerExceptionResolver handlerExceptionResolver) {
 		var filter = new RateLimitingFilter(proxyManager, configurationProvider, keyPrefix);
 		filter.setExceptionResolver(handlerExceptionResolver);
+		filter.setLeaseSize(leaseSize);
+		filter.setLeaseDuration(leaseDuration);
 		FilterRegistrationBean<RateLimitingFilter> reg = new FilterRegistrationBean<>();
 		reg.setOrder(1);
 		reg.setFilter(filter);
@@ -23,11 +23,16 @@
 package net.solarnetwork.central.query.config;
 
 import static org.springframework.security.config.http.SessionCreationPolicy.STATELESS;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
 import javax.sql.DataSource;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationEventPublisher;
@@ -39,6 +44,7 @@ import org.springframework.security.authentication.dao.DaoAuthenticationProvider
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
@@ -48,11 +54,13 @@ import org.springframework.util.AntPathMatcher;
 import org.springframework.web.servlet.HandlerExceptionResolver;
 import net.solarnetwork.central.security.Role;
 import net.solarnetwork.central.security.jdbc.JdbcUserDetailsService;
+import net.solarnetwork.central.security.service.CachingUserDetailsService;
 import net.solarnetwork.central.security.web.AuthenticationTokenService;
 import net.solarnetwork.central.security.web.HandlerExceptionResolverRequestRejectedHandler;
 import net.solarnetwork.central.security.web.SecurityTokenAuthenticationFilter;
 import net.solarnetwork.central.security.web.config.SecurityTokenFilterSettings;
 import net.solarnetwork.central.security.web.support.UserDetailsAuthenticationTokenService;
+import net.solarnetwork.central.support.CacheSettings;
 import net.solarnetwork.web.jakarta.security.SecurityTokenAuthenticationEntryPoint;
 import tools.jackson.databind.ObjectMapper;
 
@@ -60,12 +68,19 @@ import tools.jackson.databind.ObjectMapper;
  * Security configuration.
  *
  * @author matt
- * @version 2.0
+ * @version 2.1
  */
 @Configuration
 @EnableWebSecurity
 public class WebSecurityConfig {
 
+	/**
+	 * The qualifier for the token user details cache.
+	 *
+	 * @since 2.1
+	 */
+	public static final String TOKEN_USER_DETAILS = "token-user-details";
+
 	private static final String[] READ_AUTHORITIES = new String[] { Role.ROLE_USER.toString(),
 			Role.ROLE_NODE.toString(), Role.ROLE_READNODEDATA.toString(), };
 
@@ -89,6 +104,7 @@ public class WebSecurityConfig {
 		return new HandlerExceptionResolverRequestRejectedHandler(handlerExceptionResolver);
 	}
 
+	@Primary
 	@Bean
 	public UserDetailsService userDetailsService() {
 		JdbcUserDetailsService service = new JdbcUserDetailsService(objectMapper);
@@ -175,13 +191,31 @@ public class WebSecurityConfig {
 		@Autowired
 		private SecurityTokenFilterSettings securityTokenFilterSettings;
 
-		private UserDetailsService tokenUserDetailsService() {
+		@Autowired
+		private CacheManager cacheManager;
+
+		@Bean
+		@Qualifier(TOKEN_USER_DETAILS)
+		@ConfigurationProperties(prefix = "app.token-user-details-cache")
+		public CacheSettings tokenUserDetailsCacheSettings() {
+			return new CacheSettings();
+		}
+
+		@Bean
+		@Qualifier(TOKEN_USER_DETAILS)
+		public Cache<String, UserDetails> tokenUserDetailsCache() {
+			return tokenUserDetailsCacheSettings().createCache(cacheManager, String.class,
+					UserDetails.class, TOKEN_USER_DETAILS + "-cache");
+		}
+
+		@Bean
+		public CachingUserDetailsService tokenUserDetailsService() {
 			JdbcUserDetailsService service = new JdbcUserDetailsService(objectMapper);
 			service.setDataSource(dataSource);
 			service.setUsersByUsernameQuery(JdbcUserDetailsService.DEFAULT_TOKEN_USERS_BY_USERNAME_SQL);
 			service.setAuthoritiesByUsernameQuery(
 					JdbcUserDetailsService.DEFAULT_TOKEN_AUTHORITIES_BY_USERNAME_SQL);
-			return service;
+			return new CachingUserDetailsService(tokenUserDetailsCache(), service);
 		}
 
 		@Bean
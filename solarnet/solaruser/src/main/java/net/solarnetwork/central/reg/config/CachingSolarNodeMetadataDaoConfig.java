@@ -31,6 +31,7 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import net.solarnetwork.central.common.dao.CacheInvalidationBus;
 import net.solarnetwork.central.common.dao.CachingSolarNodeMetadataDao;
 import net.solarnetwork.central.common.dao.SolarNodeMetadataDao;
 import net.solarnetwork.central.domain.SolarNodeMetadata;
@@ -40,7 +41,7 @@ import net.solarnetwork.central.support.CacheSettings;
  * Caching {@link SolarNodeMetadataDao} configuration.
  *
  * @author matt
- * @version 1.0
+ * @version 1.1
  */
 @Configuration(proxyBeanMethods = false)
 public class CachingSolarNodeMetadataDaoConfig {
@@ -51,6 +52,9 @@ public class CachingSolarNodeMetadataDaoConfig {
 	@Autowired
 	private Executor executor;
 
+	@Autowired(required = false)
+	private CacheInvalidationBus cacheInvalidationBus;
+
 	@Autowired
 	private CacheManager cacheManager;
 
@@ -93,7 +97,10 @@ public class CachingSolarNodeMetadataDaoConfig {
 	public SolarNodeMetadataDao cachingNodeMetadataDao(
 			@Qualifier(NODE_METADATA_CACHE) Cache<Long, SolarNodeMetadata> cache,
 			SolarNodeMetadataDao delegate) {
-		return new CachingSolarNodeMetadataDao(delegate, cache, executor);
+		var result = new CachingSolarNodeMetadataDao(delegate, cache, executor);
+		result.setInvalidationTopic("solarnet.sn_node_meta");
+		result.setInvalidationBus(cacheInvalidationBus);
+		return result;
 	}
 
 }
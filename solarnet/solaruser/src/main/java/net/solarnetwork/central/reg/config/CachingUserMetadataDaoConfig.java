@@ -29,6 +29,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import net.solarnetwork.central.common.dao.CacheInvalidationBus;
 import net.solarnetwork.central.dao.CachingUserMetadataDao;
 import net.solarnetwork.central.dao.UserMetadataDao;
 import net.solarnetwork.central.domain.UserMetadataEntity;
@@ -39,7 +40,7 @@ import net.solarnetwork.central.user.config.SolarNetUserConfiguration;
  * Caching {@link UserMetadataDao} configuration.
  *
  * @author matt
- * @version 1.0
+ * @version 1.1
  */
 @Configuration(proxyBeanMethods = false)
 public class CachingUserMetadataDaoConfig implements SolarNetUserConfiguration {
@@ -47,6 +48,9 @@ public class CachingUserMetadataDaoConfig implements SolarNetUserConfiguration {
 	@Autowired
 	private Executor executor;
 
+	@Autowired(required = false)
+	private CacheInvalidationBus cacheInvalidationBus;
+
 	/**
 	 * A caching user metadata configuration DAO.
 	 *
@@ -57,7 +61,10 @@ public class CachingUserMetadataDaoConfig implements SolarNetUserConfiguration {
 	public UserMetadataDao cachingUserMetadataDao(UserMetadataDao dao,
 			@Qualifier(USER_METADATA) Cache<Long, UserMetadataEntity> entityCache,
 			@Qualifier(USER_METADATA_PATH) Cache<UserStringCompositePK, String> pathCache) {
-		return new CachingUserMetadataDao(dao, entityCache, executor, pathCache);
+		var result = new CachingUserMetadataDao(dao, entityCache, executor, pathCache);
+		result.setInvalidationTopic("solaruser.user_meta");
+		result.setInvalidationBus(cacheInvalidationBus);
+		return result;
 	}
 
 }
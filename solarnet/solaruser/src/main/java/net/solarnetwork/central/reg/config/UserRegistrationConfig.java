@@ -30,6 +30,7 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.validation.Validator;
 import net.solarnetwork.central.domain.UserStringCompositePK;
 import net.solarnetwork.central.support.CacheSettings;
@@ -41,7 +42,7 @@ import net.solarnetwork.central.user.domain.UserAuthToken;
  * Configuration for user registration.
  *
  * @author matt
- * @version 1.1
+ * @version 1.2
  */
 @Configuration(proxyBeanMethods = false)
 public class UserRegistrationConfig implements SolarNetUserConfiguration {
@@ -70,4 +71,19 @@ public class UserRegistrationConfig implements SolarNetUserConfiguration {
 				USER_AUTH_TOKEN + "-cache");
 	}
 
+	@Bean
+	@Qualifier(TOKEN_USER_DETAILS)
+	@ConfigurationProperties(prefix = "app.user.cache.token-user-details")
+	public CacheSettings tokenUserDetailsCacheSettings() {
+		return new CacheSettings();
+	}
+
+	@Bean
+	@Qualifier(TOKEN_USER_DETAILS)
+	public Cache<String, UserDetails> tokenUserDetailsCache(
+			@Qualifier(TOKEN_USER_DETAILS) CacheSettings settings) {
+		return settings.createCache(cacheManager, String.class, UserDetails.class,
+				TOKEN_USER_DETAILS + "-cache");
+	}
+
 }
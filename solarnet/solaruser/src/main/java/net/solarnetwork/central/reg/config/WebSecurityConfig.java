@@ -23,18 +23,22 @@
 package net.solarnetwork.central.reg.config;
 
 import static java.lang.String.format;
+import static net.solarnetwork.central.user.config.SolarNetUserConfiguration.TOKEN_USER_DETAILS;
 import static org.springframework.security.config.http.SessionCreationPolicy.IF_REQUIRED;
 import static org.springframework.security.config.http.SessionCreationPolicy.STATELESS;
 import java.io.IOException;
 import java.nio.file.Files;
+import javax.cache.Cache;
 import javax.sql.DataSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationEventPublisher;
@@ -46,6 +50,7 @@ import org.springframework.security.authentication.dao.DaoAuthenticationProvider
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
@@ -63,6 +68,7 @@ import net.solarnetwork.central.biz.UserEventAppenderBiz;
 import net.solarnetwork.central.security.Role;
 import net.solarnetwork.central.security.jdbc.JdbcUserDetailsService;
 import net.solarnetwork.central.security.service.AuthenticationUserEventPublisher;
+import net.solarnetwork.central.security.service.CachingUserDetailsService;
 import net.solarnetwork.central.security.web.AuthenticationTokenService;
 import net.solarnetwork.central.security.web.HandlerExceptionResolverRequestRejectedHandler;
 import net.solarnetwork.central.security.web.SecurityTokenAuthenticationFilter;
@@ -75,7 +81,7 @@ import tools.jackson.databind.ObjectMapper;
  * Security configuration.
  *
  * @author matt
- * @version 2.0
+ * @version 2.1
  */
 @Configuration
 @EnableWebSecurity
@@ -142,6 +148,7 @@ public class WebSecurityConfig {
 		return new HandlerExceptionResolverRequestRejectedHandler(handlerExceptionResolver);
 	}
 
+	@Primary
 	@Bean
 	public UserDetailsService userDetailsService() {
 		JdbcUserDetailsService service = new JdbcUserDetailsService(objectMapper);
@@ -278,13 +285,18 @@ public class WebSecurityConfig {
 		@Autowired
 		private ObjectMapper objectMapper;
 
-		private UserDetailsService tokenUserDetailsService() {
+		@Autowired
+		@Qualifier(TOKEN_USER_DETAILS)
+		private Cache<String, UserDetails> tokenUserDetailsCache;
+
+		@Bean
+		public CachingUserDetailsService tokenUserDetailsService() {
 			JdbcUserDetailsService service = new JdbcUserDetailsService(objectMapper);
 			service.setDataSource(dataSource);
 			service.setUsersByUsernameQuery(JdbcUserDetailsService.DEFAULT_TOKEN_USERS_BY_USERNAME_SQL);
 			service.setAuthoritiesByUsernameQuery(
 					JdbcUserDetailsService.DEFAULT_TOKEN_AUTHORITIES_BY_USERNAME_SQL);
-			return service;
+			return new CachingUserDetailsService(tokenUserDetailsCache, service);
 		}
 
 		@Bean
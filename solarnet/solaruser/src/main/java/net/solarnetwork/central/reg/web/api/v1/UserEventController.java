@@ -60,7 +60,7 @@ import tools.jackson.databind.ObjectMapper;
  * Web service API for user event management.
  *
  * @author matt
- * @version 2.0
+ * @version 2.1
  */
 @GlobalExceptionRestController
 @RestController("v1UserEventsController")
@@ -102,7 +102,13 @@ public class UserEventController {
 	}
 
 	/**
-	 * Query for a listing of datum.
+	 * Query for a listing of user events.
+	 *
+	 * <p>
+	 * When {@code max} is given and a full page of results is returned, the
+	 * response includes a {@code nextCursor} value to pass as the
+	 * {@code cursor} parameter to get the next page of results.
+	 * </p>
 	 *
 	 * @param cmd
 	 *        the query criteria
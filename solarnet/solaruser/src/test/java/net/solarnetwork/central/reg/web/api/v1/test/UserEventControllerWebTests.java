@@ -0,0 +1,162 @@
+/* ==================================================================
+ * UserEventControllerWebTests.java - 17/10/2026 9:12:44 pm
+ *
+ * Copyright 2026 SolarNetwork.net Dev Team
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation; either version 2 of
+ * the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA
+ * 02111-1307 USA
+ * ==================================================================
+ */
+
+package net.solarnetwork.central.reg.web.api.v1.test;
+
+import static org.assertj.core.api.BDDAssertions.and;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import net.solarnetwork.central.common.dao.jdbc.JdbcUserEventDao;
+import net.solarnetwork.central.domain.UserEvent;
+import net.solarnetwork.central.reg.web.api.v1.UserEventController;
+import net.solarnetwork.central.test.AbstractJUnit5CentralTransactionalTest;
+import net.solarnetwork.central.test.security.WithMockSecurityUser;
+import net.solarnetwork.util.TimeBasedV7UuidGenerator;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Web API level integration tests for the {@link UserEventController} class.
+ *
+ * @author matt
+ * @version 1.0
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class UserEventControllerWebTests extends AbstractJUnit5CentralTransactionalTest {
+
+	private static final Long TEST_USER_ID = 1L;
+	private static final String TEST_EMAIL = "test1@localhost";
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private MockMvc mvc;
+
+	private JdbcUserEventDao userEventDao;
+
+	@BeforeEach
+	public void setup() {
+		setupTestUser(TEST_USER_ID, TEST_EMAIL);
+		userEventDao = new JdbcUserEventDao(jdbcTemplate);
+	}
+
+	private JsonNode listEvents(Instant start, Instant end, int max, String cursor)
+			throws Exception {
+		MockHttpServletRequestBuilder req = get("/api/v1/sec/user/events")
+				.param("startDate", start.toString()).param("endDate", end.toString())
+				.param("max", String.valueOf(max)).accept(MediaType.APPLICATION_JSON);
+		if ( cursor != null ) {
+			req = req.param("cursor", cursor);
+		}
+		// @formatter:off
+		final String result = mvc.perform(req)
+			.andExpect(status().isOk())
+			.andExpect(content().contentType(MediaType.APPLICATION_JSON))
+			.andReturn()
+			.getResponse()
+			.getContentAsString()
+			;
+		// @formatter:on
+		return objectMapper.readTree(result);
+	}
+
+	private static List<String> eventIds(JsonNode json) {
+		List<String> result = new ArrayList<>(4);
+		for ( JsonNode event : json.path("data") ) {
+			result.add(event.path("eventId").asString());
+		}
+		return result;
+	}
+
+	@Test
+	@WithMockSecurityUser
+	public void listEvents_cursorPages() throws Exception {
+		// GIVEN
+		final Instant start = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+		final List<String> eventIds = new ArrayList<>(3);
+		for ( int i = 0; i < 3; i++ ) {
+			UserEvent event = new UserEvent(TEST_USER_ID,
+					TimeBasedV7UuidGenerator.INSTANCE_MICROS.generate(), new String[] { "test" },
+					"Test " + i, null);
+			userEventDao.persist(event);
+			eventIds.add(event.getEventId().toString());
+		}
+		final Instant end = start.plus(1, ChronoUnit.HOURS);
+
+		// WHEN
+		final JsonNode page1 = listEvents(start.minus(1, ChronoUnit.HOURS), end, 2, null);
+
+		// THEN
+		// @formatter:off
+		and.then(page1.path("success").asBoolean())
+			.as("First page successful")
+			.isTrue()
+			;
+		and.then(eventIds(page1))
+			.as("First page is full")
+			.hasSize(2)
+			;
+		and.then(page1.path("nextCursor").isString())
+			.as("First page provides cursor for next page")
+			.isTrue()
+			;
+		// @formatter:on
+
+		// WHEN
+		final JsonNode page2 = listEvents(start.minus(1, ChronoUnit.HOURS), end, 2,
+				page1.path("nextCursor").asString());
+
+		// THEN
+		final List<String> allIds = new ArrayList<>(eventIds(page1));
+		allIds.addAll(eventIds(page2));
+		// @formatter:off
+		and.then(eventIds(page2))
+			.as("Second page has remaining event")
+			.hasSize(1)
+			;
+		and.then(page2.has("nextCursor"))
+			.as("Second page is not full so provides no cursor")
+			.isFalse()
+			;
+		and.then(allIds)
+			.as("Pages return every event once")
+			.containsExactlyInAnyOrderElementsOf(eventIds)
+			;
+		// @formatter:on
+	}
+
+}
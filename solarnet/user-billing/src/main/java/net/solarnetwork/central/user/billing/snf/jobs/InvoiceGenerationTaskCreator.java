@@ -35,6 +35,7 @@ import java.util.Map;
 import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import net.solarnetwork.central.common.dao.KeysetFilterResults;
 import net.solarnetwork.central.domain.UserFilterCommand;
 import net.solarnetwork.central.user.billing.domain.BillingDataConstants;
 import net.solarnetwork.central.user.billing.snf.SnfBillingSystem;
@@ -54,7 +55,7 @@ import net.solarnetwork.dao.FilterResults;
  * generated.
  *
  * @author matt
- * @version 2.3
+ * @version 2.5
  */
 public class InvoiceGenerationTaskCreator {
 
@@ -116,7 +117,10 @@ public class InvoiceGenerationTaskCreator {
 		final int max = this.batchSize;
 		long offset = 0L;
 		FilterResults<UserFilterMatch, Long> userResults;
+		boolean more;
 		do {
+			// seek past the last user of the previous batch when the DAO supports keyset
+			// paging, otherwise fall back to offset paging
 			userResults = userDao.findFiltered(criteria, null, offset, max);
 			for ( UserFilterMatch match : userResults ) {
 				try {
@@ -126,9 +130,23 @@ public class InvoiceGenerationTaskCreator {
 					log.error("Error generating invoice for user {}", match.getEmail(), e);
 				}
 			}
-			offset += max;
-		} while ( userResults.getTotalResults() != null && (userResults.getStartingOffset()
-				+ userResults.getReturnedResultCount() < userResults.getTotalResults()) );
+			if ( userResults instanceof KeysetFilterResults<?, ?> k ) {
+				criteria.setCursor(k.getNextCursor());
+				more = (criteria.getCursor() != null);
+			} else {
+				offset += userResults.getReturnedResultCount();
+				more = hasMoreResults(userResults, offset, max);
+			}
+		} while ( more );
+	}
+
+	private static boolean hasMoreResults(FilterResults<?, ?> results, long offset, int max) {
+		final Long total = results.getTotalResults();
+		if ( total != null ) {
+			return offset < total;
+		}
+		// without a total count, assume more results when the page was full
+		return results.getReturnedResultCount() >= max;
 	}
 
 	private void processOneAccount(final UserFilterMatch user, final LocalDate endDate) {
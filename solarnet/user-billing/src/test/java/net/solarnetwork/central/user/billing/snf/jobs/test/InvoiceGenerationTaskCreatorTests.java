@@ -27,11 +27,13 @@ import static java.util.Arrays.asList;
 import static java.util.UUID.randomUUID;
 import static net.solarnetwork.central.test.CommonTestUtils.randomLong;
 import static net.solarnetwork.central.test.CommonTestUtils.randomString;
+import static org.easymock.EasyMock.anyObject;
 import static org.easymock.EasyMock.capture;
 import static org.easymock.EasyMock.eq;
 import static org.easymock.EasyMock.expect;
 import static org.easymock.EasyMock.isNull;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasEntry;
 import static org.hamcrest.Matchers.hasSize;
@@ -39,6 +41,7 @@ import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
 import java.time.Instant;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import org.easymock.Capture;
 import org.easymock.CaptureType;
@@ -46,6 +49,8 @@ import org.easymock.EasyMock;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import net.solarnetwork.central.common.dao.BasicKeysetFilterResults;
+import net.solarnetwork.central.common.dao.KeysetCursor;
 import net.solarnetwork.central.domain.UserFilter;
 import net.solarnetwork.central.user.billing.domain.BillingDataConstants;
 import net.solarnetwork.central.user.billing.snf.SnfBillingSystem;
@@ -67,7 +72,7 @@ import net.solarnetwork.dao.FilterResults;
  * Test cases for the {@link InvoiceGenerationTaskCreator} class.
  *
  * @author matt
- * @version 2.1
+ * @version 2.3
  */
 public class InvoiceGenerationTaskCreatorTests {
 
@@ -246,4 +251,61 @@ public class InvoiceGenerationTaskCreatorTests {
 		}
 	}
 
+	@Test
+	public void multipleBatches_keyset() {
+		// GIVEN
+		final LocalDate endDate = LocalDate.of(2020, 1, 1);
+		creator.setBatchSize(1);
+		final UserMatch user1 = new UserMatch(TEST_USER_ID, TEST_EMAIL);
+		final UserMatch user2 = new UserMatch(TEST_USER_ID + 1, TEST_EMAIL);
+		final String cursor = KeysetCursor.of(user1.getId()).token();
+
+		// find users configured with SNF billing, one batch at a time
+		final List<String> cursors = new ArrayList<>(2);
+		expect(userDao.findFiltered(anyObject(), isNull(), eq(0L), eq(1))).andAnswer(() -> {
+			cursors.add(((UserFilter) EasyMock.getCurrentArguments()[0]).getCursor());
+			return new BasicKeysetFilterResults<>(asList(user1), null, 0L, 1, cursor);
+		}).andAnswer(() -> {
+			cursors.add(((UserFilter) EasyMock.getCurrentArguments()[0]).getCursor());
+			return new BasicKeysetFilterResults<>(asList(user2), null, 0L, 1, null);
+		});
+
+		// no accounts available for found users
+		expect(invoicingSystem.accountForUser(user1.getId())).andReturn(null);
+		expect(invoicingSystem.accountForUser(user2.getId())).andReturn(null);
+
+		// WHEN
+		replayAll();
+		creator.createTasks(endDate);
+
+		// THEN
+		assertThat("Second batch seeks from first batch cursor", cursors, contains(null, cursor));
+	}
+
+	@Test
+	public void multipleBatches_offsetFallback() {
+		// GIVEN
+		final LocalDate endDate = LocalDate.of(2020, 1, 1);
+		creator.setBatchSize(1);
+		final UserMatch user1 = new UserMatch(TEST_USER_ID, TEST_EMAIL);
+		final UserMatch user2 = new UserMatch(TEST_USER_ID + 1, TEST_EMAIL);
+
+		// DAO without keyset support, so page by offset
+		expect(userDao.findFiltered(anyObject(), isNull(), eq(0L), eq(1)))
+				.andReturn(new BasicFilterResults<>(asList(user1), 2L, 0L, 1));
+		expect(userDao.findFiltered(anyObject(), isNull(), eq(1L), eq(1)))
+				.andReturn(new BasicFilterResults<>(asList(user2), 2L, 1L, 1));
+
+		// no accounts available for found users
+		expect(invoicingSystem.accountForUser(user1.getId())).andReturn(null);
+		expect(invoicingSystem.accountForUser(user2.getId())).andReturn(null);
+
+		// WHEN
+		replayAll();
+		creator.createTasks(endDate);
+
+		// THEN
+		// all batches requested, verified by mocks
+	}
+
 }
@@ -27,6 +27,8 @@ import static net.solarnetwork.central.security.AuthorizationException.requireNo
 import static net.solarnetwork.central.user.dao.BasicUserAuthTokenFilter.filterForIdentifier;
 import static net.solarnetwork.util.ObjectUtils.nonnull;
 import static net.solarnetwork.util.ObjectUtils.requireNonNullArgument;
+import static org.springframework.transaction.support.TransactionSynchronizationManager.isActualTransactionActive;
+import static org.springframework.transaction.support.TransactionSynchronizationManager.registerSynchronization;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.time.Instant;
@@ -39,6 +41,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
 import net.solarnetwork.central.dao.SolarLocationDao;
 import net.solarnetwork.central.dao.SolarNodeDao;
 import net.solarnetwork.central.domain.SolarLocation;
@@ -48,6 +51,7 @@ import net.solarnetwork.central.security.AuthorizationException;
 import net.solarnetwork.central.security.AuthorizationException.Reason;
 import net.solarnetwork.central.security.SecurityTokenStatus;
 import net.solarnetwork.central.security.SecurityTokenType;
+import net.solarnetwork.central.security.service.CachingUserDetailsService;
 import net.solarnetwork.central.user.biz.NodeOwnershipBiz;
 import net.solarnetwork.central.user.biz.UserBiz;
 import net.solarnetwork.central.user.dao.BasicUserAuthTokenFilter;
@@ -78,7 +82,7 @@ import net.solarnetwork.security.Snws2AuthorizationBuilder;
  * DAO-based implementation of {@link UserBiz}.
  *
  * @author matt
- * @version 3.1
+ * @version 3.2
  */
 public class DaoUserBiz implements UserBiz, NodeOwnershipBiz {
 
@@ -94,6 +98,7 @@ public class DaoUserBiz implements UserBiz, NodeOwnershipBiz {
 	private final SolarNodeDao solarNodeDao;
 
 	private @Nullable Cache<UserStringCompositePK, UserAuthToken> userAuthTokenCache;
+	private @Nullable CachingUserDetailsService tokenUserDetailsService;
 
 	/**
 	 * Constructor.
@@ -352,6 +357,7 @@ public class DaoUserBiz implements UserBiz, NodeOwnershipBiz {
 			throw new AuthorizationException(Reason.ACCESS_DENIED, tokenId);
 		}
 		userAuthTokenDao.delete(token);
+		evictTokenUserDetails(tokenId);
 	}
 
 	@Override
@@ -366,6 +372,7 @@ public class DaoUserBiz implements UserBiz, NodeOwnershipBiz {
 		if ( token.getStatus() != newStatus ) {
 			token.setStatus(newStatus);
 			userAuthTokenDao.save(token);
+			evictTokenUserDetails(tokenId);
 		}
 		return token;
 	}
@@ -389,6 +396,7 @@ public class DaoUserBiz implements UserBiz, NodeOwnershipBiz {
 		if ( !newBasicPolicy.equals(token.getPolicy()) ) {
 			token.setPolicy(newBasicPolicy);
 			userAuthTokenDao.save(token);
+			evictTokenUserDetails(tokenId);
 		}
 		return token;
 	}
@@ -469,6 +477,7 @@ public class DaoUserBiz implements UserBiz, NodeOwnershipBiz {
 						log.debug("Deleting UserAuthToken {} for node ownership transfer",
 								token.getId());
 						userAuthTokenDao.delete(token);
+						evictTokenUserDetails(token.getToken());
 					} else {
 						// other node IDs associated, so remove the node ID from this token
 						log.debug(
@@ -481,6 +490,7 @@ public class DaoUserBiz implements UserBiz, NodeOwnershipBiz {
 						token.setPolicy(secPolicyBuilder.build());
 
 						userAuthTokenDao.save(token);
+						evictTokenUserDetails(token.getToken());
 					}
 				}
 			}
@@ -512,6 +522,25 @@ public class DaoUserBiz implements UserBiz, NodeOwnershipBiz {
 		return userAuthTokenDao.createSnws2AuthorizationBuilder(tokenId, signingDate);
 	}
 
+	private void evictTokenUserDetails(String tokenId) {
+		final CachingUserDetailsService service = getTokenUserDetailsService();
+		if ( service == null ) {
+			return;
+		}
+		service.evictUser(tokenId);
+		if ( isActualTransactionActive() ) {
+			// evict again once committed, in case the token was re-cached before the commit
+			registerSynchronization(new TransactionSynchronization() {
+
+				@Override
+				public void afterCommit() {
+					service.evictUser(tokenId);
+				}
+
+			});
+		}
+	}
+
 	/**
 	 * Get the token cache.
 	 * 
@@ -532,4 +561,31 @@ public class DaoUserBiz implements UserBiz, NodeOwnershipBiz {
 		this.userAuthTokenCache = userAuthTokenCache;
 	}
 
+	/**
+	 * Get the token user details service.
+	 *
+	 * @return the service
+	 * @since 3.2
+	 */
+	public @Nullable CachingUserDetailsService getTokenUserDetailsService() {
+		return tokenUserDetailsService;
+	}
+
+	/**
+	 * Set the token user details service.
+	 *
+	 * <p>
+	 * If configured, tokens are evicted from this service's cache when the
+	 * tokens are updated or deleted.
+	 * </p>
+	 *
+	 * @param tokenUserDetailsService
+	 *        the service to set
+	 * @since 3.2
+	 */
+	public void setTokenUserDetailsService(
+			@Nullable CachingUserDetailsService tokenUserDetailsService) {
+		this.tokenUserDetailsService = tokenUserDetailsService;
+	}
+
 }
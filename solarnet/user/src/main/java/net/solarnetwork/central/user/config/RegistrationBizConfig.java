@@ -36,6 +36,7 @@ import net.solarnetwork.central.dao.SolarNodeDao;
 import net.solarnetwork.central.dao.UserMetadataDao;
 import net.solarnetwork.central.domain.UserStringCompositePK;
 import net.solarnetwork.central.instructor.biz.InstructorBiz;
+import net.solarnetwork.central.security.service.CachingUserDetailsService;
 import net.solarnetwork.central.user.biz.NodePKIBiz;
 import net.solarnetwork.central.user.biz.dao.DaoRegistrationBiz;
 import net.solarnetwork.central.user.biz.dao.DaoUserAlertBiz;
@@ -55,7 +56,7 @@ import net.solarnetwork.service.PasswordEncoder;
  * Configuration for the registration service.
  * 
  * @author matt
- * @version 1.1
+ * @version 1.2
  */
 @Configuration(proxyBeanMethods = false)
 public class RegistrationBizConfig implements SolarNetUserConfiguration {
@@ -123,6 +124,9 @@ public class RegistrationBizConfig implements SolarNetUserConfiguration {
 	@Qualifier(USER_AUTH_TOKEN)
 	private Cache<UserStringCompositePK, UserAuthToken> userAuthTokenCache;
 
+	@Autowired(required = false)
+	private CachingUserDetailsService tokenUserDetailsService;
+
 	@ConfigurationProperties(prefix = "app.user.reg.biz")
 	@Bean
 	public DaoRegistrationBiz registrationBiz() {
@@ -139,6 +143,7 @@ public class RegistrationBizConfig implements SolarNetUserConfiguration {
 		DaoUserBiz biz = new DaoUserBiz(userDao, userNodeDao, userNodeConfirmationDao,
 				userNodeCertificateDao, solarNodeDao, solarLocationDao, userAuthTokenDao, userAlertDao);
 		biz.setUserAuthTokenCache(userAuthTokenCache);
+		biz.setTokenUserDetailsService(tokenUserDetailsService);
 		return biz;
 	}
 
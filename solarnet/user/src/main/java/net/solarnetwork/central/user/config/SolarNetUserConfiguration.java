@@ -26,7 +26,7 @@ package net.solarnetwork.central.user.config;
  * Marker interface for the Instructor configuration package.
  * 
  * @author matt
- * @version 1.3
+ * @version 1.4
  */
 public interface SolarNetUserConfiguration {
 
@@ -42,6 +42,13 @@ public interface SolarNetUserConfiguration {
 	/** The qualifier for the token related services. */
 	String USER_AUTH_TOKEN = "user-auth-token";
 
+	/**
+	 * The qualifier for the token user details cache.
+	 *
+	 * @since 1.4
+	 */
+	String TOKEN_USER_DETAILS = "token-user-details";
+
 	/**
 	 * A qualifier for user instructions support.
 	 * 
@@ -28,6 +28,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
 import org.jspecify.annotations.Nullable;
+import net.solarnetwork.central.common.dao.KeysetCursor;
 import net.solarnetwork.central.dao.mybatis.support.BaseMyBatisFilterableDao;
 import net.solarnetwork.central.domain.UserFilter;
 import net.solarnetwork.central.user.dao.UserDao;
@@ -40,7 +41,7 @@ import net.solarnetwork.codec.jackson.JsonUtils;
  * MyBatis implementation of {@link UserDao}.
  *
  * @author matt
- * @version 2.1
+ * @version 2.2
  */
 public class MyBatisUserDao extends BaseMyBatisFilterableDao<User, UserFilterMatch, UserFilter, Long>
 		implements UserDao {
@@ -93,6 +94,16 @@ public class MyBatisUserDao extends BaseMyBatisFilterableDao<User, UserFilterMat
 		super(User.class, Long.class, UserMatch.class);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @since 2.2
+	 */
+	@Override
+	protected @Nullable KeysetCursor keysetCursor(UserFilterMatch match) {
+		return KeysetCursor.of(match.getId());
+	}
+
 	@Override
 	public @Nullable User getUserByEmail(String email) {
 		return selectFirst(QUERY_FOR_EMAIL, email == null ? null : email.trim());
@@ -65,6 +65,7 @@ import net.solarnetwork.central.domain.UserStringCompositePK;
 import net.solarnetwork.central.security.AuthorizationException;
 import net.solarnetwork.central.security.SecurityTokenStatus;
 import net.solarnetwork.central.security.SecurityTokenType;
+import net.solarnetwork.central.security.service.CachingUserDetailsService;
 import net.solarnetwork.central.user.biz.dao.DaoUserBiz;
 import net.solarnetwork.central.user.biz.dao.UserBizConstants;
 import net.solarnetwork.central.user.dao.BasicUserAuthTokenFilter;
@@ -92,7 +93,7 @@ import net.solarnetwork.security.Snws2AuthorizationBuilder;
  * Test cases for the {@link DaoUserBiz} class.
  * 
  * @author matt
- * @version 2.4
+ * @version 2.5
  */
 @ExtendWith(MockitoExtension.class)
 @SuppressWarnings("static-access")
@@ -137,6 +138,9 @@ public class DaoUserBizTests {
 	@Mock
 	private Cache<UserStringCompositePK, UserAuthToken> tokenCache;
 
+	@Mock
+	private CachingUserDetailsService tokenUserDetailsService;
+
 	@Captor
 	private ArgumentCaptor<UserAuthToken> tokenCaptor;
 
@@ -298,6 +302,41 @@ public class DaoUserBizTests {
 		and.then(updated.getStatus()).as("Token state").isEqualTo(SecurityTokenStatus.Disabled);
 	}
 
+	@Test
+	public void updateSecurityTokenStatus_evictTokenUserDetails() {
+		// GIVEN
+		userBiz.setTokenUserDetailsService(tokenUserDetailsService);
+
+		final UserAuthToken token = new UserAuthToken(TEST_AUTH_TOKEN, TEST_USER_ID, TEST_AUTH_SECRET,
+				SecurityTokenType.User);
+		given(userAuthTokenDao.get(TEST_AUTH_TOKEN)).willReturn(token);
+
+		given(userAuthTokenDao.save(any())).willReturn(TEST_AUTH_TOKEN);
+
+		// WHEN
+		userBiz.updateUserAuthTokenStatus(TEST_USER_ID, TEST_AUTH_TOKEN, SecurityTokenStatus.Disabled);
+
+		// THEN
+		then(tokenUserDetailsService).should().evictUser(TEST_AUTH_TOKEN);
+	}
+
+	@Test
+	public void deleteUserAuthToken_evictTokenUserDetails() {
+		// GIVEN
+		userBiz.setTokenUserDetailsService(tokenUserDetailsService);
+
+		final UserAuthToken token = new UserAuthToken(TEST_AUTH_TOKEN, TEST_USER_ID, TEST_AUTH_SECRET,
+				SecurityTokenType.User);
+		given(userAuthTokenDao.get(TEST_AUTH_TOKEN)).willReturn(token);
+
+		// WHEN
+		userBiz.deleteUserAuthToken(TEST_USER_ID, TEST_AUTH_TOKEN);
+
+		// THEN
+		then(userAuthTokenDao).should().delete(same(token));
+		then(tokenUserDetailsService).should().evictUser(TEST_AUTH_TOKEN);
+	}
+
 	@Test
 	public void replaceUserAuthTokenPolicy() {
 		// GIVEN
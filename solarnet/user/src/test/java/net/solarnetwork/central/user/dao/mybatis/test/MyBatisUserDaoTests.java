@@ -24,26 +24,30 @@ package net.solarnetwork.central.user.dao.mybatis.test;
 
 import static org.assertj.core.api.BDDAssertions.from;
 import static org.assertj.core.api.BDDAssertions.then;
+import static org.assertj.core.api.BDDAssertions.thenIllegalArgumentException;
 import java.time.Instant;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.test.jdbc.JdbcTestUtils;
+import net.solarnetwork.central.common.dao.KeysetFilterResults;
 import net.solarnetwork.central.domain.UserFilterCommand;
 import net.solarnetwork.central.user.dao.mybatis.MyBatisUserDao;
 import net.solarnetwork.central.user.domain.User;
 import net.solarnetwork.central.user.domain.UserFilterMatch;
 import net.solarnetwork.dao.FilterResults;
+import net.solarnetwork.domain.SimpleSortDescriptor;
 
 /**
  * Test cases for the {@link MyBatisUserDao} class.
  * 
  * @author matt
- * @version 2.1
+ * @version 2.2
  */
 public class MyBatisUserDaoTests extends AbstractMyBatisUserDaoTestSupport {
 
@@ -271,6 +275,52 @@ public class MyBatisUserDaoTests extends AbstractMyBatisUserDaoTestSupport {
 		then(results).first().returns(userId2, from(UserFilterMatch::getId));
 	}
 
+	@Test
+	public void findFilteredWithCursor() {
+		storeNewUser();
+		Long userId2 = storeTestUser("bar@example.com");
+
+		UserFilterCommand criteria = new UserFilterCommand();
+		FilterResults<UserFilterMatch, Long> results = userDao.findFiltered(criteria, null, null, 1);
+		then(results).isInstanceOf(KeysetFilterResults.class);
+		then(results).singleElement().returns(userId, from(UserFilterMatch::getId));
+
+		String next = ((KeysetFilterResults<UserFilterMatch, Long>) results).getNextCursor();
+		then(next).as("Next cursor provided for full page").isNotNull();
+
+		criteria.setCursor(next);
+		results = userDao.findFiltered(criteria, null, null, 1);
+		then(results.getTotalResults()).as("Total not counted when seeking with cursor").isNull();
+		then(results).singleElement().returns(userId2, from(UserFilterMatch::getId));
+	}
+
+	@Test
+	public void findFilteredWithSort_noCursor() {
+		storeNewUser();
+		storeTestUser("bar@example.com");
+
+		UserFilterCommand criteria = new UserFilterCommand();
+		FilterResults<UserFilterMatch, Long> results = userDao.findFiltered(criteria,
+				List.of(new SimpleSortDescriptor("email")), null, 1);
+		then(results).as("No cursor for non-default sort").isNotInstanceOf(KeysetFilterResults.class);
+		then(results).singleElement().returns("bar@example.com", from(UserFilterMatch::getEmail));
+	}
+
+	@Test
+	public void findFilteredWithCursorAndSort() {
+		storeNewUser();
+		storeTestUser("bar@example.com");
+
+		UserFilterCommand criteria = new UserFilterCommand();
+		String next = ((KeysetFilterResults<UserFilterMatch, Long>) userDao.findFiltered(criteria, null,
+				null, 1)).getNextCursor();
+		criteria.setCursor(next);
+
+		thenIllegalArgumentException().as("Cursor cannot be combined with non-default sort")
+				.isThrownBy(() -> userDao.findFiltered(criteria, List.of(new SimpleSortDescriptor("email")),
+						null, 1));
+	}
+
 	@Test
 	public void storeInternalPropertyNullColumn() {
 		storeNewUser();